@@ -2,6 +2,8 @@ package com.codeops;
 
 import com.codeops.config.JwtProperties;
 import com.codeops.config.MailProperties;
+import com.codeops.config.OutboundHttpProperties;
+import com.codeops.config.RateLimitProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -11,15 +13,19 @@ import org.springframework.scheduling.annotation.EnableScheduling;
  * Main entry point for the CodeOps Server application.
  *
  * <p>Bootstraps the Spring Boot application context with auto-configuration and
- * enables binding of {@link JwtProperties} and {@link MailProperties} from their
- * respective configuration property prefixes. Scheduling is enabled for periodic
- * tasks such as expired MFA email code cleanup.</p>
+ * enables binding of {@link JwtProperties}, {@link MailProperties}, {@link RateLimitProperties}
+ * and {@link OutboundHttpProperties} from their respective configuration property prefixes.
+ * Scheduling is enabled for periodic tasks such as expired MFA email code cleanup
+ * and idle rate limit bucket eviction.</p>
  *
  * @see JwtProperties
  * @see MailProperties
+ * @see RateLimitProperties
+ * @see OutboundHttpProperties
  */
 @SpringBootApplication
-@EnableConfigurationProperties({JwtProperties.class, MailProperties.class})
+@EnableConfigurationProperties({JwtProperties.class, MailProperties.class, RateLimitProperties.class,
+        OutboundHttpProperties.class})
 @EnableScheduling
 public class CodeOpsApplication {
     /**
@@ -28,23 +28,64 @@ public final class AppConstants {
     // Auth
     public static final int JWT_EXPIRY_HOURS = 24;
     public static final int REFRESH_TOKEN_EXPIRY_DAYS = 30;
+    public static final int JWT_VERIFIED_TOKEN_CACHE_SIZE = 10_000;
+    public static final long TOKEN_BLACKLIST_SYNC_INTERVAL_MS = 5_000;
+    public static final long TOKEN_BLACKLIST_PURGE_INTERVAL_MS = 600_000;
+    public static final int TEAM_MEMBERSHIP_CACHE_TTL_SECONDS = 30;
+    public static final int TEAM_MEMBERSHIP_CACHE_MAX_ENTRIES = 50_000;
     public static final int INVITATION_EXPIRY_DAYS = 7;
     public static final int MIN_PASSWORD_LENGTH = 1;
 
+    // Audit log
+    public static final int AUDIT_LOG_BUFFER_CAPACITY = 16_384;  // power of two
+    public static final int AUDIT_LOG_BATCH_SIZE = 500;
+    public static final long AUDIT_LOG_FLUSH_INTERVAL_MS = 100;
+    public static final long AUDIT_LOG_SHUTDOWN_TIMEOUT_MS = 10_000;
+    public static final int AUDIT_LOG_RETENTION_MONTHS = 12;
+    public static final int AUDIT_LOG_ARCHIVE_PAGE_SIZE = 5_000;
+    public static final int AUDIT_LOG_ARCHIVE_ROWS_PER_PART = 100_000;
+    public static final int AUDIT_LOG_EXPORT_FETCH_SIZE = 1_000;
+
     // Notifications
     public static final int HEALTH_DIGEST_DAY = 1;  // Monday
     public static final int HEALTH_DIGEST_HOUR = 8;  // 8 AM
+    public static final int HEALTH_DIGEST_TEAM_PAGE_SIZE = 200;
+    public static final int NOTIFICATION_OUTBOX_BATCH_SIZE = 50;
+    public static final long NOTIFICATION_OUTBOX_POLL_INTERVAL_MS = 2_000;
+    public static final int NOTIFICATION_OUTBOX_LEASE_SECONDS = 300;
+    public static final int NOTIFICATION_OUTBOX_SENT_RETENTION_DAYS = 7;
+    public static final int NOTIFICATION_DELIVERY_THREADS = 4;
+    public static final int NOTIFICATION_MAX_ATTEMPTS = 8;
+    public static final long NOTIFICATION_RETRY_BASE_SECONDS = 30;
+    public static final long NOTIFICATION_RETRY_MAX_SECONDS = 3_600;
 
     // S3 prefixes
     public static final String S3_REPORTS = "reports/";
     public static final String S3_SPECS = "specs/";
     public static final String S3_PERSONAS = "personas/";
     public static final String S3_RELEASES = "releases/";
+    public static final String S3_AUDIT_ARCHIVE = "audit-archive/";
+    public static final long S3_MULTIPART_THRESHOLD_BYTES = 16 * 1024 * 1024;
+    public static final long S3_MULTIPART_PART_SIZE_BYTES = 8 * 1024 * 1024;  // S3 minimum is 5 MB
+    public static final int S3_UPLOAD_THREADS = 8;
+    public static final int PRESIGNED_URL_EXPIRY_MINUTES = 15;
+    public static final int STORAGE_COMPRESSION_MIN_BYTES = 1024;
+
+    // Local storage
+    public static final long LOCAL_STORAGE_MMAP_THRESHOLD_BYTES = 1024 * 1024;
+    public static final long LOCAL_STORAGE_MMAP_WINDOW_BYTES = 16 * 1024 * 1024;
 
     // QA
     public static final int MAX_CONCURRENT_AGENTS = 5;
     public static final int AGENT_TIMEOUT_MINUTES = 15;
     public static final int DEFAULT_HEALTH_SCORE = 100;
+    public static final long HEALTH_SCHEDULE_POLL_INTERVAL_MS = 30_000;
+    public static final int HEALTH_SCHEDULE_BATCH_SIZE = 50;
+    public static final int HEALTH_SCHEDULE_MAX_JITTER_MINUTES = 30;
+    public static final int HEALTH_TREND_RAW_MAX_HOURS = 48;
+    public static final int HEALTH_TREND_MAX_POINTS = 400;
+    public static final int HEALTH_SNAPSHOT_BACKFILL_BATCH_SIZE = 500;
+    public static final int FINDING_INGEST_BATCH_SIZE = 50;  // matches hibernate.jdbc.batch_size
 
     // Pagination
     public static final int DEFAULT_PAGE_SIZE = 20;
@@ -12,6 +12,10 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * {@link org.springframework.mail.javamail.JavaMailSender} auto-configured from
  * {@code spring.mail.*} properties.</p>
  *
+ * <p>When {@code bcc-batch-size} is greater than 1, alerts sent to many team members at once are
+ * grouped into messages addressed to the sender and blind-copied to up to that many recipients.
+ * The default of 0 sends one message per recipient.</p>
+ *
  * @see com.codeops.notification.EmailService
  */
 @ConfigurationProperties(prefix = "codeops.mail")
@@ -19,6 +23,7 @@ public class MailProperties {
 
     private boolean enabled = false;
     private String fromEmail = "noreply@codeops.dev";
+    private int bccBatchSize = 0;
 
     /**
      * Returns whether SMTP email sending is enabled.
@@ -55,4 +60,22 @@ public class MailProperties {
     public void setFromEmail(String fromEmail) {
         this.fromEmail = fromEmail;
     }
+
+    /**
+     * Returns the maximum number of recipients blind-copied on one fan-out email.
+     *
+     * @return the BCC batch size; 0 or 1 sends one message per recipient
+     */
+    public int getBccBatchSize() {
+        return bccBatchSize;
+    }
+
+    /**
+     * Sets the maximum number of recipients blind-copied on one fan-out email.
+     *
+     * @param bccBatchSize the BCC batch size; 0 or 1 sends one message per recipient
+     */
+    public void setBccBatchSize(int bccBatchSize) {
+        this.bccBatchSize = bccBatchSize;
+    }
 }
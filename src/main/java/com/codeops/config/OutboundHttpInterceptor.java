@@ -0,0 +1,143 @@
+package com.codeops.config;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps concurrent outbound requests per host and records their latency in
+ * {@link OutboundHttpMetrics}.
+ *
+ * <p>Each host gets a fair {@link Semaphore} with {@code max-connections-per-host} permits. A
+ * request that cannot get a permit within the acquire timeout fails with an {@link IOException}
+ * (surfaced by {@code RestTemplate} as a {@code ResourceAccessException}), so a slow endpoint
+ * cannot tie up every caller. The permit is held until the response is closed, which
+ * {@code RestTemplate} does once it has read the body.</p>
+ *
+ * @see RestTemplateConfig
+ */
+public class OutboundHttpInterceptor implements ClientHttpRequestInterceptor {
+
+    private final int maxConnectionsPerHost;
+    private final long acquireTimeoutNanos;
+    private final OutboundHttpMetrics metrics;
+    private final ConcurrentHashMap<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the interceptor.
+     *
+     * @param maxConnectionsPerHost the number of concurrent requests allowed to one host
+     * @param acquireTimeout        how long a request may wait for a free slot
+     * @param metrics               the latency recorder
+     */
+    public OutboundHttpInterceptor(int maxConnectionsPerHost, Duration acquireTimeout, OutboundHttpMetrics metrics) {
+        if (maxConnectionsPerHost < 1) {
+            throw new IllegalArgumentException("max-connections-per-host must be at least 1");
+        }
+        this.maxConnectionsPerHost = maxConnectionsPerHost;
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        this.metrics = metrics;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String host = request.getURI().getHost();
+        Semaphore permits = hostPermits.computeIfAbsent(host, h -> new Semaphore(maxConnectionsPerHost, true));
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                metrics.record(host, System.nanoTime() - start, true);
+                throw new IOException("Too many concurrent requests to host " + host);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for a connection to host " + host);
+        }
+
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (IOException | RuntimeException e) {
+            permits.release();
+            metrics.record(host, System.nanoTime() - start, true);
+            throw e;
+        }
+        metrics.record(host, System.nanoTime() - start, isError(response));
+        return new PermitReleasingResponse(response, permits);
+    }
+
+    private static boolean isError(ClientHttpResponse response) {
+        try {
+            return response.getStatusCode().isError();
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Returns the number of requests currently holding a slot for the given host.
+     *
+     * @param host the target host
+     * @return the in-flight request count
+     */
+    int inFlight(String host) {
+        Semaphore permits = hostPermits.get(host);
+        return permits == null ? 0 : maxConnectionsPerHost - permits.availablePermits();
+    }
+
+    private static final class PermitReleasingResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final Semaphore permits;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        PermitReleasingResponse(ClientHttpResponse delegate, Semaphore permits) {
+            this.delegate = delegate;
+            this.permits = permits;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    permits.release();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.codeops.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-host request counts and latency for outbound HTTP calls, recorded by
+ * {@link OutboundHttpInterceptor}.
+ *
+ * <p>Latency is measured from the start of the request until the response headers arrive,
+ * including any wait for a per-host connection slot. Counters are lock-free and are reported and
+ * reset every five minutes by {@link #logAndReset()}.</p>
+ *
+ * @see RestTemplateConfig
+ */
+@Component
+@Slf4j
+public class OutboundHttpMetrics {
+
+    private final ConcurrentHashMap<String, HostCounters> hosts = new ConcurrentHashMap<>();
+
+    /**
+     * Counters for one host since the last reset.
+     *
+     * @param host       the target host
+     * @param requests   the number of completed requests
+     * @param errors     requests that failed with an I/O error or returned a 4xx/5xx status
+     * @param meanMillis the mean latency in milliseconds
+     * @param maxMillis  the highest latency in milliseconds
+     */
+    public record HostStats(String host, long requests, long errors, double meanMillis, double maxMillis) {}
+
+    private static final class HostCounters {
+        final LongAdder requests = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final AtomicLong maxNanos = new AtomicLong();
+    }
+
+    /**
+     * Records one completed request.
+     *
+     * @param host         the target host
+     * @param elapsedNanos the request latency in nanoseconds
+     * @param error        whether the request failed
+     */
+    public void record(String host, long elapsedNanos, boolean error) {
+        HostCounters counters = hosts.computeIfAbsent(host, h -> new HostCounters());
+        counters.requests.increment();
+        counters.totalNanos.add(elapsedNanos);
+        if (error) counters.errors.increment();
+        counters.maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+    }
+
+    /**
+     * Returns the counters for every host seen since the last reset, busiest first.
+     *
+     * @return the per-host statistics
+     */
+    public List<HostStats> snapshot() {
+        return hosts.entrySet().stream()
+                .map(e -> toStats(e.getKey(), e.getValue().requests.sum(), e.getValue().errors.sum(),
+                        e.getValue().totalNanos.sum(), e.getValue().maxNanos.get()))
+                .filter(stats -> stats.requests() > 0)
+                .sorted(Comparator.comparingLong(HostStats::requests).reversed())
+                .toList();
+    }
+
+    /**
+     * Logs the counters for every host with traffic since the last call and resets them. Runs every
+     * five minutes.
+     */
+    @Scheduled(fixedDelay = 300_000)
+    public void logAndReset() {
+        hosts.forEach((host, counters) -> {
+            HostStats stats = toStats(host, counters.requests.sumThenReset(), counters.errors.sumThenReset(),
+                    counters.totalNanos.sumThenReset(), counters.maxNanos.getAndSet(0));
+            if (stats.requests() > 0) {
+                log.info("Outbound HTTP host={} requests={} errors={} meanMs={} maxMs={}", stats.host(),
+                        stats.requests(), stats.errors(), String.format("%.1f", stats.meanMillis()),
+                        String.format("%.1f", stats.maxMillis()));
+            }
+        });
+    }
+
+    private static HostStats toStats(String host, long requests, long errors, long totalNanos, long maxNanos) {
+        double nanosPerMilli = TimeUnit.MILLISECONDS.toNanos(1);
+        double mean = requests == 0 ? 0 : totalNanos / nanosPerMilli / requests;
+        return new HostStats(host, requests, errors, mean, maxNanos / nanosPerMilli);
+    }
+}
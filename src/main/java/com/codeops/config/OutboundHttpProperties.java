@@ -0,0 +1,51 @@
+package com.codeops.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for outbound HTTP calls such as Teams webhooks, bound to the
+ * {@code codeops.outbound-http} prefix in application properties.
+ *
+ * <p>Properties:</p>
+ * <ul>
+ *   <li>{@code codeops.outbound-http.connect-timeout} — TCP/TLS connect timeout, also the longest a
+ *       request waits for a free per-host connection slot (default: 3s)</li>
+ *   <li>{@code codeops.outbound-http.read-timeout} — how long to wait for the response (default: 10s)</li>
+ *   <li>{@code codeops.outbound-http.max-connections-per-host} — concurrent requests allowed to a
+ *       single host (default: 8)</li>
+ *   <li>{@code codeops.outbound-http.host-validation-ttl} — how long the SSRF check result for a
+ *       webhook host is cached (default: 5m)</li>
+ *   <li>{@code codeops.outbound-http.circuit-breaker.failure-threshold} — consecutive failures that
+ *       open the circuit for a webhook URL (default: 5)</li>
+ *   <li>{@code codeops.outbound-http.circuit-breaker.open-duration} — how long an open circuit rejects
+ *       calls before a trial call is let through (default: 1m)</li>
+ * </ul>
+ *
+ * @see RestTemplateConfig
+ * @see com.codeops.notification.WebhookUrlValidator
+ * @see com.codeops.notification.WebhookCircuitBreaker
+ */
+@ConfigurationProperties(prefix = "codeops.outbound-http")
+@Getter
+@Setter
+public class OutboundHttpProperties {
+    private Duration connectTimeout = Duration.ofSeconds(3);
+    private Duration readTimeout = Duration.ofSeconds(10);
+    private int maxConnectionsPerHost = 8;
+    private Duration hostValidationTtl = Duration.ofMinutes(5);
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    /**
+     * Per-URL circuit breaker settings for webhook delivery.
+     */
+    @Getter
+    @Setter
+    public static class CircuitBreaker {
+        private int failureThreshold = 5;
+        private Duration openDuration = Duration.ofMinutes(1);
+    }
+}
@@ -0,0 +1,79 @@
+package com.codeops.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for request rate limiting, bound to the {@code codeops.rate-limit}
+ * prefix in application properties.
+ *
+ * <p>Properties:</p>
+ * <ul>
+ *   <li>{@code codeops.rate-limit.enabled} — whether requests are rate limited at all (default: true)</li>
+ *   <li>{@code codeops.rate-limit.max-tracked-clients} — upper bound on the number of per-client
+ *       buckets held in memory (default: 100000)</li>
+ *   <li>{@code codeops.rate-limit.policies} — the per-route token bucket policies, matched in order;
+ *       setting this list replaces the defaults below</li>
+ * </ul>
+ *
+ * <p>Default policies: {@code auth} (10 requests per minute on {@code /api/v1/auth/}),
+ * {@code finding-ingest} (20 bulk finding uploads per minute) and {@code report-upload}
+ * (60 report uploads per minute).</p>
+ *
+ * @see com.codeops.security.RateLimiter
+ * @see com.codeops.security.RateLimitFilter
+ */
+@ConfigurationProperties(prefix = "codeops.rate-limit")
+@Getter
+@Setter
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private int maxTrackedClients = 100_000;
+    private List<Policy> policies = new ArrayList<>(List.of(
+            Policy.of("auth", 10, Duration.ofMinutes(1), List.of(), "/api/v1/auth/"),
+            Policy.of("finding-ingest", 20, Duration.ofMinutes(1), List.of("POST"),
+                    "/api/v1/findings/stream", "/api/v1/findings/batch"),
+            Policy.of("report-upload", 60, Duration.ofMinutes(1), List.of("POST", "PUT"),
+                    "/api/v1/reports/")));
+
+    /**
+     * A token bucket applied to every request whose path starts with one of {@code paths} and,
+     * when {@code methods} is non-empty, whose HTTP method is listed. Each client may burst up to
+     * {@code capacity} requests; tokens are then refilled evenly so that {@code capacity} requests
+     * are allowed per {@code refill-period}.
+     */
+    @Getter
+    @Setter
+    public static class Policy {
+        private String name;
+        private List<String> paths = new ArrayList<>();
+        private List<String> methods = new ArrayList<>();
+        private int capacity;
+        private Duration refillPeriod = Duration.ofMinutes(1);
+
+        /**
+         * Creates a policy.
+         *
+         * @param name         the policy name, used in bucket keys and log messages
+         * @param capacity     the burst size and the number of requests allowed per refill period
+         * @param refillPeriod the period over which {@code capacity} tokens are refilled
+         * @param methods      the HTTP methods to match, or an empty list for all methods
+         * @param paths        the request path prefixes to match
+         * @return the new policy
+         */
+        public static Policy of(String name, int capacity, Duration refillPeriod, List<String> methods, String... paths) {
+            Policy policy = new Policy();
+            policy.setName(name);
+            policy.setCapacity(capacity);
+            policy.setRefillPeriod(refillPeriod);
+            policy.setMethods(new ArrayList<>(methods));
+            policy.setPaths(new ArrayList<>(List.of(paths)));
+            return policy;
+        }
+    }
+}
@@ -2,24 +2,58 @@ package com.codeops.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+
 /**
- * Provides a default {@link RestTemplate} bean for making outbound HTTP requests
- * throughout the CodeOps application (e.g., webhook notifications, external API calls).
+ * Provides the {@link RestTemplate} bean for making outbound HTTP requests throughout the CodeOps
+ * application (e.g., webhook notifications, external API calls).
+ *
+ * <p>Requests go through a shared JDK {@link HttpClient}, which pools and reuses connections and
+ * negotiates HTTP/2 where the server supports it. Connect and read timeouts come from
+ * {@link OutboundHttpProperties}, redirects are never followed (a redirect could otherwise bypass
+ * the webhook SSRF check), and {@link OutboundHttpInterceptor} caps concurrent requests per host
+ * and records latency.</p>
  *
+ * @see OutboundHttpProperties
  * @see com.codeops.notification.TeamsWebhookService
  */
 @Configuration
 public class RestTemplateConfig {
 
     /**
-     * Creates a default {@link RestTemplate} instance with no custom configuration.
+     * Creates the pooled HTTP client shared by outbound requests. It is closed on shutdown.
+     *
+     * @param properties the outbound HTTP configuration
+     * @return the HTTP client
+     */
+    @Bean
+    public HttpClient outboundHttpClient(OutboundHttpProperties properties) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(properties.getConnectTimeout())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+    }
+
+    /**
+     * Creates the {@link RestTemplate} used for outbound requests.
      *
-     * @return a new {@link RestTemplate}
+     * @param outboundHttpClient the pooled HTTP client
+     * @param properties         the outbound HTTP configuration
+     * @param metrics            the per-host latency recorder
+     * @return the configured {@link RestTemplate}
      */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(HttpClient outboundHttpClient, OutboundHttpProperties properties,
+                                     OutboundHttpMetrics metrics) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(outboundHttpClient);
+        requestFactory.setReadTimeout(properties.getReadTimeout());
+        RestTemplate restTemplate = new RestTemplate(requestFactory);
+        restTemplate.getInterceptors().add(new OutboundHttpInterceptor(
+                properties.getMaxConnectionsPerHost(), properties.getConnectTimeout(), metrics));
+        return restTemplate;
     }
 }
@@ -6,9 +6,11 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 
 /**
- * Configures the AWS S3 client bean for file storage operations (reports, specs, personas, releases).
+ * Configures the AWS S3 client and presigner beans for file storage operations (reports, specs,
+ * personas, releases).
  *
  * <p>The S3 client is only created when the {@code codeops.aws.s3.enabled} property is set to
  * {@code "true"}. When disabled (the default for local development), file storage falls back to
@@ -37,4 +39,22 @@ public class S3Config {
                 .region(Region.of(region))
                 .build();
     }
+
+    /**
+     * Creates an {@link S3Presigner} for generating presigned GET and PUT URLs, so clients can
+     * transfer objects directly to and from the bucket.
+     *
+     * <p>Like the client, this bean is only instantiated when {@code codeops.aws.s3.enabled=true}
+     * and signs with credentials from the default AWS SDK credential chain.</p>
+     *
+     * @param region the AWS region identifier from the {@code codeops.aws.s3.region} property
+     * @return the configured presigner
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "codeops.aws.s3.enabled", havingValue = "true")
+    public S3Presigner s3Presigner(@Value("${codeops.aws.s3.region}") String region) {
+        return S3Presigner.builder()
+                .region(Region.of(region))
+                .build();
+    }
 }
@@ -2,8 +2,10 @@ package com.codeops.controller;
 
 import com.codeops.config.AppConstants;
 import com.codeops.dto.request.AdminUpdateUserRequest;
+import com.codeops.dto.request.AuditLogExportFormat;
 import com.codeops.dto.request.UpdateSystemSettingRequest;
 import com.codeops.dto.response.AuditLogResponse;
+import com.codeops.dto.response.CursorPageResponse;
 import com.codeops.dto.response.SystemSettingResponse;
 import com.codeops.dto.response.UserResponse;
 import com.codeops.security.SecurityUtils;
@@ -18,9 +20,12 @@ import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -176,6 +181,53 @@ public class AdminController {
         return ResponseEntity.ok(auditLogService.getTeamAuditLog(teamId, pageable));
     }
 
+    /**
+     * Retrieves a keyset-paginated audit log for a specific team. Selected instead of
+     * {@link #getTeamAuditLog} when the {@code after} parameter is present.
+     *
+     * <p>GET {@code /api/v1/admin/audit-log/team/{teamId}?after=<cursor>}</p>
+     *
+     * @param teamId the UUID of the team whose audit log to retrieve
+     * @param after  the cursor returned with the previous page; empty for the first page
+     * @param size   number of items per page (defaults to 20, capped at {@link AppConstants#MAX_PAGE_SIZE})
+     * @return a cursor page of audit log entries for the team, without a total count
+     */
+    @GetMapping(value = "/audit-log/team/{teamId}", params = "after")
+    public ResponseEntity<CursorPageResponse<AuditLogResponse>> getTeamAuditLogAfter(@PathVariable UUID teamId,
+                                                                                      @RequestParam String after,
+                                                                                      @RequestParam(defaultValue = "20") int size) {
+        log.debug("getTeamAuditLogAfter called with teamId={}, size={}", teamId, size);
+        return ResponseEntity.ok(auditLogService.getTeamAuditLogAfter(teamId, after,
+                Math.min(size, AppConstants.MAX_PAGE_SIZE)));
+    }
+
+    /**
+     * Streams a team's complete audit log, newest first, as a file download.
+     *
+     * <p>GET {@code /api/v1/admin/audit-log/team/{teamId}/export?format=csv|ndjson}</p>
+     *
+     * <p>Side effect: logs an {@code AUDIT_LOG_EXPORTED} audit entry for the team.</p>
+     *
+     * @param teamId the UUID of the team whose audit log to export
+     * @param format {@code ndjson} (default) or {@code csv}
+     * @return the export, streamed without loading the full log into memory
+     */
+    @GetMapping("/audit-log/team/{teamId}/export")
+    public ResponseEntity<StreamingResponseBody> exportTeamAuditLog(@PathVariable UUID teamId,
+                                                                     @RequestParam(defaultValue = "ndjson") String format) {
+        log.debug("exportTeamAuditLog called with teamId={}, format={}", teamId, format);
+        AuditLogExportFormat exportFormat = AuditLogExportFormat.parse(format);
+        StreamingResponseBody body = auditLogService.exportTeamAuditLog(teamId, exportFormat);
+        auditLogService.log(SecurityUtils.getCurrentUserId(), teamId, "AUDIT_LOG_EXPORTED", "TEAM", teamId,
+                exportFormat.name());
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("audit-log-" + teamId + "." + exportFormat.getFileExtension())
+                        .build().toString())
+                .body(body);
+    }
+
     /**
      * Retrieves a paginated audit log for a specific user.
      *
@@ -195,6 +247,43 @@ public class AdminController {
         return ResponseEntity.ok(auditLogService.getUserAuditLog(userId, pageable));
     }
 
+    /**
+     * Retrieves a keyset-paginated audit log for a specific user. Selected instead of
+     * {@link #getUserAuditLog} when the {@code after} parameter is present.
+     *
+     * <p>GET {@code /api/v1/admin/audit-log/user/{userId}?after=<cursor>}</p>
+     *
+     * @param userId the UUID of the user whose audit log to retrieve
+     * @param after  the cursor returned with the previous page; empty for the first page
+     * @param size   number of items per page (defaults to 20, capped at {@link AppConstants#MAX_PAGE_SIZE})
+     * @return a cursor page of audit log entries for the user, without a total count
+     */
+    @GetMapping(value = "/audit-log/user/{userId}", params = "after")
+    public ResponseEntity<CursorPageResponse<AuditLogResponse>> getUserAuditLogAfter(@PathVariable UUID userId,
+                                                                                      @RequestParam String after,
+                                                                                      @RequestParam(defaultValue = "20") int size) {
+        log.debug("getUserAuditLogAfter called with userId={}, size={}", userId, size);
+        return ResponseEntity.ok(auditLogService.getUserAuditLogAfter(userId, after,
+                Math.min(size, AppConstants.MAX_PAGE_SIZE)));
+    }
+
+    /**
+     * Rebuilds the per-project metrics rollup from the source tables to repair drift.
+     *
+     * <p>POST {@code /api/v1/admin/metrics/rollup/rebuild}</p>
+     *
+     * <p>Side effect: logs a {@code METRICS_ROLLUP_REBUILT} audit entry.</p>
+     *
+     * @return HTTP 200 OK with the number of projects rebuilt
+     */
+    @PostMapping("/metrics/rollup/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildMetricsRollup() {
+        log.debug("rebuildMetricsRollup called");
+        int rebuilt = adminService.rebuildMetricsRollup();
+        auditLogService.log(SecurityUtils.getCurrentUserId(), null, "METRICS_ROLLUP_REBUILT", "PROJECT", null, "projects=" + rebuilt);
+        return ResponseEntity.ok(Map.of("projectsRebuilt", rebuilt));
+    }
+
     /**
      * Force-resets MFA for a target user without requiring the user's password.
      *
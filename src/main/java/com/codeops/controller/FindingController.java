@@ -4,6 +4,8 @@ import com.codeops.config.AppConstants;
 import com.codeops.dto.request.BulkUpdateFindingsRequest;
 import com.codeops.dto.request.CreateFindingRequest;
 import com.codeops.dto.request.UpdateFindingStatusRequest;
+import com.codeops.dto.response.CursorPageResponse;
+import com.codeops.dto.response.FindingIngestResponse;
 import com.codeops.dto.response.FindingResponse;
 import com.codeops.dto.response.PageResponse;
 import com.codeops.entity.enums.AgentType;
@@ -11,6 +13,7 @@ import com.codeops.entity.enums.FindingStatus;
 import com.codeops.entity.enums.Severity;
 import com.codeops.security.SecurityUtils;
 import com.codeops.service.AuditLogService;
+import com.codeops.service.FindingIngestService;
 import com.codeops.service.FindingService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -24,6 +27,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -48,6 +53,7 @@ public class FindingController {
 
     private final FindingService findingService;
     private final AuditLogService auditLogService;
+    private final FindingIngestService findingIngestService;
 
     /**
      * Creates a single finding.
@@ -88,6 +94,30 @@ public class FindingController {
         return ResponseEntity.status(201).body(responses);
     }
 
+    /**
+     * Ingests a stream of findings sent as newline-delimited JSON, one
+     * {@link CreateFindingRequest} per line, without buffering the request body.
+     *
+     * <p>POST {@code /api/v1/findings/stream} with {@code Content-Type: application/x-ndjson}</p>
+     *
+     * <p>Side effect: logs a single {@code FINDINGS_INGESTED} audit entry for the job.</p>
+     *
+     * @param body the raw NDJSON request body
+     * @return counts and IDs of the created findings (HTTP 201)
+     * @throws IOException if reading the request body fails
+     */
+    @PostMapping(value = "/stream", consumes = "application/x-ndjson")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<FindingIngestResponse> ingestFindingStream(InputStream body) throws IOException {
+        log.debug("ingestFindingStream called");
+        FindingIngestResponse response = findingIngestService.ingest(body);
+        if (response.jobId() != null) {
+            auditLogService.log(SecurityUtils.getCurrentUserId(), null, "FINDINGS_INGESTED", "JOB",
+                    response.jobId(), "count=" + response.created());
+        }
+        return ResponseEntity.status(201).body(response);
+    }
+
     /**
      * Retrieves a single finding by its identifier.
      *
@@ -125,6 +155,28 @@ public class FindingController {
         return ResponseEntity.ok(findingService.getFindingsForJob(jobId, pageable));
     }
 
+    /**
+     * Retrieves a keyset-paginated list of all findings for a given job. Selected instead of
+     * {@link #getFindingsForJob} when the {@code after} parameter is present.
+     *
+     * <p>GET {@code /api/v1/findings/job/{jobId}?after=<cursor>}</p>
+     *
+     * @param jobId the UUID of the job
+     * @param after the cursor returned with the previous page; empty for the first page
+     * @param size  number of items per page (defaults to 20, capped at {@link AppConstants#MAX_PAGE_SIZE})
+     * @return a cursor page of findings, sorted by creation date descending, without a total count
+     */
+    @GetMapping(value = "/job/{jobId}", params = "after")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<CursorPageResponse<FindingResponse>> getFindingsForJobAfter(
+            @PathVariable UUID jobId,
+            @RequestParam String after,
+            @RequestParam(defaultValue = "20") int size) {
+        log.debug("getFindingsForJobAfter called with jobId={}, size={}", jobId, size);
+        return ResponseEntity.ok(findingService.getFindingsForJobAfter(jobId, after,
+                Math.min(size, AppConstants.MAX_PAGE_SIZE)));
+    }
+
     /**
      * Retrieves a paginated list of findings for a job filtered by severity level.
      *
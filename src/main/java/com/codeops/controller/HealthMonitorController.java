@@ -5,6 +5,7 @@ import com.codeops.dto.request.CreateHealthScheduleRequest;
 import com.codeops.dto.request.CreateHealthSnapshotRequest;
 import com.codeops.dto.response.HealthScheduleResponse;
 import com.codeops.dto.response.HealthSnapshotResponse;
+import com.codeops.dto.response.CursorPageResponse;
 import com.codeops.dto.response.PageResponse;
 import com.codeops.security.SecurityUtils;
 import com.codeops.service.AuditLogService;
@@ -152,6 +153,28 @@ public class HealthMonitorController {
         return ResponseEntity.ok(healthMonitorService.getSnapshots(projectId, pageable));
     }
 
+    /**
+     * Retrieves a keyset-paginated list of health snapshots for a given project. Selected
+     * instead of {@link #getSnapshots} when the {@code after} parameter is present.
+     *
+     * <p>GET {@code /api/v1/health-monitor/snapshots/project/{projectId}?after=<cursor>}</p>
+     *
+     * @param projectId the UUID of the project
+     * @param after     the cursor returned with the previous page; empty for the first page
+     * @param size      number of items per page (defaults to 20, capped at {@link AppConstants#MAX_PAGE_SIZE})
+     * @return a cursor page of health snapshots, sorted by capture time descending, without a total count
+     */
+    @GetMapping(value = "/snapshots/project/{projectId}", params = "after")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<CursorPageResponse<HealthSnapshotResponse>> getSnapshotsAfter(
+            @PathVariable UUID projectId,
+            @RequestParam String after,
+            @RequestParam(defaultValue = "20") int size) {
+        log.debug("getSnapshotsAfter called with projectId={}", projectId);
+        return ResponseEntity.ok(healthMonitorService.getSnapshotsAfter(projectId, after,
+                Math.min(size, AppConstants.MAX_PAGE_SIZE)));
+    }
+
     /**
      * Retrieves the most recent health snapshot for a given project.
      *
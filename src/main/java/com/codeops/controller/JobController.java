@@ -11,6 +11,7 @@ import com.codeops.dto.response.AgentRunResponse;
 import com.codeops.dto.response.BugInvestigationResponse;
 import com.codeops.dto.response.JobResponse;
 import com.codeops.dto.response.JobSummaryResponse;
+import com.codeops.dto.response.CursorPageResponse;
 import com.codeops.dto.response.PageResponse;
 import com.codeops.entity.enums.AgentType;
 import com.codeops.security.SecurityUtils;
@@ -115,6 +116,28 @@ public class JobController {
         return ResponseEntity.ok(qaJobService.getJobsForProject(projectId, pageable));
     }
 
+    /**
+     * Retrieves a keyset-paginated list of job summaries for a given project. Selected instead
+     * of {@link #getJobsForProject} when the {@code after} parameter is present.
+     *
+     * <p>GET {@code /api/v1/jobs/project/{projectId}?after=<cursor>}</p>
+     *
+     * @param projectId the UUID of the project
+     * @param after     the cursor returned with the previous page; empty for the first page
+     * @param size      number of items per page (defaults to 20, capped at {@link AppConstants#MAX_PAGE_SIZE})
+     * @return a cursor page of job summaries, sorted by creation date descending, without a total count
+     */
+    @GetMapping(value = "/project/{projectId}", params = "after")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<CursorPageResponse<JobSummaryResponse>> getJobsForProjectAfter(
+            @PathVariable UUID projectId,
+            @RequestParam String after,
+            @RequestParam(defaultValue = "20") int size) {
+        log.debug("getJobsForProjectAfter called with projectId={}, size={}", projectId, size);
+        return ResponseEntity.ok(qaJobService.getJobsForProjectAfter(projectId, after,
+                Math.min(size, AppConstants.MAX_PAGE_SIZE)));
+    }
+
     /**
      * Retrieves a paginated list of jobs created by the currently authenticated user.
      *
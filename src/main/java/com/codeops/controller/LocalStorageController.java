@@ -0,0 +1,123 @@
+package com.codeops.controller;
+
+import com.codeops.config.AppConstants;
+import com.codeops.exception.AuthorizationException;
+import com.codeops.service.LocalStorageService;
+import com.codeops.service.LocalStorageUrlSigner;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Serves signed local storage URLs, the dev-mode counterpart of S3 presigned URLs.
+ *
+ * <p>Only registered when S3 is disabled. Requests are authorized by the URL signature from
+ * {@link LocalStorageUrlSigner} rather than a JWT, so this handler does no authentication, user
+ * lookup or database work: a download is served straight from the file with
+ * {@link LocalStorageService#transferTo} (honoring a single-range {@code Range} header, and sent
+ * still compressed to clients that accept the stored encoding), and an upload is written with
+ * {@link LocalStorageService#write}.</p>
+ *
+ * @see LocalStorageUrlSigner
+ * @see ReportController#createDownloadUrl
+ * @see ReportController#createSpecificationUploadUrl
+ */
+@RestController
+@RequestMapping(LocalStorageUrlSigner.PATH)
+@ConditionalOnProperty(name = "codeops.aws.s3.enabled", havingValue = "false", matchIfMissing = true)
+@RequiredArgsConstructor
+@Tag(name = "Storage")
+public class LocalStorageController {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalStorageController.class);
+
+    private static final long MAX_UPLOAD_SIZE = AppConstants.MAX_SPEC_FILE_SIZE_MB * 1024L * 1024L;
+
+    private final LocalStorageService localStorageService;
+    private final LocalStorageUrlSigner urlSigner;
+
+    /**
+     * Downloads a stored object through a signed URL.
+     *
+     * <p>GET /api/v1/storage/local?key={key}&amp;expires={expires}&amp;signature={signature}</p>
+     *
+     * @param key            the storage key
+     * @param expires        the expiry time of the URL in epoch seconds
+     * @param signature      the URL signature
+     * @param range          the {@code Range} request header, if any
+     * @param acceptEncoding the {@code Accept-Encoding} request header, if any
+     * @return the object, or the requested part of it
+     * @throws IOException            if the object cannot be read
+     * @throws AuthorizationException if the signature is invalid or has expired
+     */
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> download(
+            @RequestParam String key,
+            @RequestParam long expires,
+            @RequestParam String signature,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding)
+            throws IOException {
+        log.debug("download called with key={}", key);
+        if (!urlSigner.isValidDownload(key, expires, signature)) {
+            throw new AuthorizationException("Invalid or expired storage URL");
+        }
+        MediaType contentType = MediaTypeFactory.getMediaType(key).orElse(MediaType.APPLICATION_OCTET_STREAM);
+        return RangedDownloads.respond(localStorageService.stat(key), range, acceptEncoding, contentType,
+                (offset, length, out) -> localStorageService.transferTo(key, offset, length, out),
+                out -> localStorageService.copyTo(key, out));
+    }
+
+    /**
+     * Uploads an object through a signed URL. The request must declare the content type and
+     * length the URL was signed for.
+     *
+     * <p>PUT /api/v1/storage/local?key={key}&amp;expires={expires}&amp;signature={signature}</p>
+     *
+     * @param key           the storage key
+     * @param expires       the expiry time of the URL in epoch seconds
+     * @param signature     the URL signature
+     * @param contentType   the {@code Content-Type} request header
+     * @param contentLength the {@code Content-Length} request header
+     * @param body          the object content
+     * @return HTTP 200 once the object is stored, or 411 without a {@code Content-Length}
+     * @throws IOException              if the object cannot be written
+     * @throws AuthorizationException   if the signature is invalid or has expired
+     * @throws IllegalArgumentException if the declared length exceeds
+     *                                  {@value AppConstants#MAX_SPEC_FILE_SIZE_MB} MB
+     */
+    @PutMapping
+    public ResponseEntity<Void> upload(
+            @RequestParam String key,
+            @RequestParam long expires,
+            @RequestParam String signature,
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            @RequestHeader(value = HttpHeaders.CONTENT_LENGTH, required = false) Long contentLength,
+            InputStream body) throws IOException {
+        log.debug("upload called with key={}, contentType={}, contentLength={}", key, contentType, contentLength);
+        if (contentLength == null) {
+            return ResponseEntity.status(HttpStatus.LENGTH_REQUIRED).build();
+        }
+        if (!urlSigner.isValidUpload(key, expires, contentType, contentLength, signature)) {
+            throw new AuthorizationException("Invalid or expired storage URL");
+        }
+        if (contentLength > MAX_UPLOAD_SIZE) {
+            throw new IllegalArgumentException("File too large (max " + AppConstants.MAX_SPEC_FILE_SIZE_MB + "MB)");
+        }
+        long size = localStorageService.write(key, body);
+        log.info("Stored object through signed URL: key={}, size={}", key, size);
+        return ResponseEntity.ok().build();
+    }
+}
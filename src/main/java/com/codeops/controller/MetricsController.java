@@ -1,5 +1,6 @@
 package com.codeops.controller;
 
+import com.codeops.dto.response.CriticalRegressionResponse;
 import com.codeops.dto.response.HealthSnapshotResponse;
 import com.codeops.dto.response.ProjectMetricsResponse;
 import com.codeops.dto.response.TeamMetricsResponse;
@@ -67,13 +68,32 @@ public class MetricsController {
         return ResponseEntity.ok(metricsService.getTeamMetrics(teamId));
     }
 
+    /**
+     * Lists a team's projects whose critical finding count rose week over week.
+     *
+     * <p>GET /api/v1/metrics/team/{teamId}/critical-regressions</p>
+     *
+     * <p>Requires authentication.</p>
+     *
+     * @param teamId the UUID of the team
+     * @return the regressed projects, largest increase first
+     */
+    @GetMapping("/team/{teamId}/critical-regressions")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<List<CriticalRegressionResponse>> getCriticalRegressions(@PathVariable UUID teamId) {
+        log.debug("getCriticalRegressions called with teamId={}", teamId);
+        return ResponseEntity.ok(metricsService.getCriticalRegressions(teamId));
+    }
+
     /**
      * Retrieves the health score trend for a project over a specified number of days.
      *
      * <p>GET /api/v1/metrics/project/{projectId}/trend?days={days}</p>
      *
      * <p>Requires authentication. Returns a list of health snapshots ordered chronologically,
-     * allowing clients to render trend charts.</p>
+     * allowing clients to render trend charts. Windows longer than two days return hourly,
+     * daily or weekly averages instead of individual snapshots; those points carry the bucket
+     * start as {@code capturedAt} and have no {@code id}.</p>
      *
      * @param projectId the UUID of the project to retrieve the health trend for
      * @param days      the number of days of history to include (defaults to 30)
@@ -0,0 +1,167 @@
+package com.codeops.controller;
+
+import com.codeops.service.StoredObjectInfo;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Builds streamed download responses that honor a single-range {@code Range} header.
+ *
+ * <p>A satisfiable byte range yields 206 with {@code Content-Range}; an unsatisfiable one yields
+ * 416. Malformed or multi-range headers are ignored and the whole object is returned, as RFC 9110
+ * permits. Every response carries {@code Content-Length} and {@code Accept-Ranges: bytes}.</p>
+ *
+ * <p>An object stored compressed is sent as stored, with its {@code Content-Encoding}, to clients
+ * whose {@code Accept-Encoding} allows it; ranges then apply to the compressed bytes. Other
+ * clients receive the decompressed content as a whole, without {@code Content-Length} or range
+ * support.</p>
+ */
+final class RangedDownloads {
+
+    private RangedDownloads() {}
+
+    /**
+     * Writes a byte range of a stored object.
+     */
+    @FunctionalInterface
+    interface RangeWriter {
+        long write(long offset, long length, OutputStream out) throws IOException;
+    }
+
+    /**
+     * Builds the response for a download.
+     *
+     * @param size        the size of the object in bytes
+     * @param rangeHeader the {@code Range} request header, or {@code null}
+     * @param contentType the content type of the object
+     * @param writer      writes the selected range when the body is streamed
+     * @return the 200, 206 or 416 response
+     */
+    static ResponseEntity<StreamingResponseBody> respond(long size, String rangeHeader, MediaType contentType,
+                                                         RangeWriter writer) {
+        return respond(size, rangeHeader, contentType, writer, new HttpHeaders());
+    }
+
+    /**
+     * Builds the response for a download of an object that may be stored compressed.
+     *
+     * @param object         the stored size and content encoding of the object
+     * @param rangeHeader    the {@code Range} request header, or {@code null}
+     * @param acceptEncoding the {@code Accept-Encoding} request header, or {@code null}
+     * @param contentType    the content type of the object
+     * @param writer         writes the selected range of the stored bytes
+     * @param decoded        writes the whole decompressed object, for clients that do not accept
+     *                       the stored encoding
+     * @return the 200, 206 or 416 response
+     */
+    static ResponseEntity<StreamingResponseBody> respond(StoredObjectInfo object, String rangeHeader,
+                                                         String acceptEncoding, MediaType contentType,
+                                                         RangeWriter writer, StreamingResponseBody decoded) {
+        String encoding = object.contentEncoding();
+        if (encoding == null) {
+            return respond(object.size(), rangeHeader, contentType, writer);
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (accepts(acceptEncoding, encoding)) {
+            headers.add(HttpHeaders.CONTENT_ENCODING, encoding);
+            return respond(object.size(), rangeHeader, contentType, writer, headers);
+        }
+        return ResponseEntity.ok()
+                .headers(headers)
+                .contentType(contentType)
+                .body(decoded);
+    }
+
+    /**
+     * Checks whether an {@code Accept-Encoding} header allows the given encoding, either by name
+     * or through {@code *}, with a non-zero quality value.
+     *
+     * @param acceptEncoding the header value, or {@code null}
+     * @param encoding       the content encoding
+     * @return {@code true} if the encoding is acceptable
+     */
+    static boolean accepts(String acceptEncoding, String encoding) {
+        if (acceptEncoding == null) return false;
+        Boolean wildcard = null;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim();
+            boolean acceptable = quality(parts) > 0;
+            if (coding.equalsIgnoreCase(encoding)) return acceptable;
+            if (coding.equals("*")) wildcard = acceptable;
+        }
+        return Boolean.TRUE.equals(wildcard);
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.startsWith("q=") || parameter.startsWith("Q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static ResponseEntity<StreamingResponseBody> respond(long size, String rangeHeader, MediaType contentType,
+                                                                 RangeWriter writer, HttpHeaders headers) {
+        HttpRange range = singleRange(rangeHeader);
+        if (range == null) {
+            StreamingResponseBody body = out -> writer.write(0, size, out);
+            return ResponseEntity.ok()
+                    .headers(headers)
+                    .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                    .contentType(contentType)
+                    .contentLength(size)
+                    .body(body);
+        }
+        long start;
+        long end;
+        try {
+            start = range.getRangeStart(size);
+            end = range.getRangeEnd(size);
+        } catch (IllegalArgumentException e) {
+            start = 0;
+            end = -1;
+        }
+        if (end < start) {
+            return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                    .headers(h -> h.addAll(HttpHeaders.VARY, headers.getOrEmpty(HttpHeaders.VARY)))
+                    .header(HttpHeaders.CONTENT_RANGE, "bytes */" + size)
+                    .build();
+        }
+        long offset = start;
+        long length = end - start + 1;
+        StreamingResponseBody body = out -> writer.write(offset, length, out);
+        return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                .headers(headers)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .header(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size)
+                .contentType(contentType)
+                .contentLength(length)
+                .body(body);
+    }
+
+    private static HttpRange singleRange(String rangeHeader) {
+        if (rangeHeader == null || rangeHeader.isBlank()) return null;
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -1,18 +1,25 @@
 package com.codeops.controller;
 
+import com.codeops.config.AppConstants;
+import com.codeops.dto.response.PresignedUrlResponse;
 import com.codeops.entity.enums.AgentType;
 import com.codeops.service.ReportStorageService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -30,6 +37,13 @@ import java.util.regex.Pattern;
  * an allow-list. Download endpoints validate S3 keys against path traversal
  * and format rules before delegating to storage.</p>
  *
+ * <p>Request and response bodies are streamed between the connection and storage,
+ * so a report or specification is never held in memory in full. Downloads honor a
+ * single-range {@code Range} header so interrupted transfers can be resumed, and send compressed
+ * objects as stored, with {@code Content-Encoding: gzip}, to clients that accept it. Clients that can
+ * reach storage directly should instead request a presigned URL and transfer the file without
+ * involving this service.</p>
+ *
  * @see ReportStorageService
  */
 @RestController
@@ -66,21 +80,25 @@ public class ReportController {
      *
      * <p>POST /api/v1/reports/job/{jobId}/agent/{agentType}</p>
      *
-     * <p>Requires authentication. The report is stored keyed by job ID and agent type.</p>
+     * <p>Requires authentication. The report is stored keyed by job ID and agent type.
+     * The request body is streamed to storage.</p>
      *
      * @param jobId           the UUID of the job the report belongs to
      * @param agentType       the type of agent that generated the report
+     * @param contentLength   the declared length of the request body, if any
      * @param markdownContent the raw markdown content of the report
      * @return a map containing the S3 key of the stored report with HTTP 201 status
+     * @throws IllegalArgumentException if the report exceeds 25 MB
      */
     @PostMapping("/job/{jobId}/agent/{agentType}")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<Map<String, String>> uploadAgentReport(
             @PathVariable UUID jobId,
             @PathVariable AgentType agentType,
-            @RequestBody String markdownContent) {
+            @RequestHeader(value = HttpHeaders.CONTENT_LENGTH, required = false) Long contentLength,
+            InputStream markdownContent) {
         log.debug("uploadAgentReport called with jobId={}, agentType={}", jobId, agentType);
-        String key = reportStorageService.uploadReport(jobId, agentType, markdownContent);
+        String key = reportStorageService.uploadReport(jobId, agentType, markdownContent, lengthOrUnknown(contentLength));
         return ResponseEntity.status(201).body(Map.of("s3Key", key));
     }
 
@@ -90,19 +108,22 @@ public class ReportController {
      * <p>POST /api/v1/reports/job/{jobId}/summary</p>
      *
      * <p>Requires authentication. The summary report consolidates findings
-     * from all agents for the given job.</p>
+     * from all agents for the given job. The request body is streamed to storage.</p>
      *
      * @param jobId           the UUID of the job the summary belongs to
+     * @param contentLength   the declared length of the request body, if any
      * @param markdownContent the raw markdown content of the summary report
      * @return a map containing the S3 key of the stored summary with HTTP 201 status
+     * @throws IllegalArgumentException if the report exceeds 25 MB
      */
     @PostMapping("/job/{jobId}/summary")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<Map<String, String>> uploadSummaryReport(
             @PathVariable UUID jobId,
-            @RequestBody String markdownContent) {
+            @RequestHeader(value = HttpHeaders.CONTENT_LENGTH, required = false) Long contentLength,
+            InputStream markdownContent) {
         log.debug("uploadSummaryReport called with jobId={}", jobId);
-        String key = reportStorageService.uploadSummaryReport(jobId, markdownContent);
+        String key = reportStorageService.uploadSummaryReport(jobId, markdownContent, lengthOrUnknown(contentLength));
         return ResponseEntity.status(201).body(Map.of("s3Key", key));
     }
 
@@ -113,22 +134,24 @@ public class ReportController {
      *
      * <p>Requires authentication. The S3 key is validated for path traversal
      * and format safety before retrieval. Returns content with {@code text/markdown}
-     * media type.</p>
+     * media type, streamed from storage; a {@code Range} header yields a 206 partial response.</p>
      *
-     * @param s3Key the S3 storage key of the report to download
-     * @return the markdown content of the report
+     * @param s3Key          the S3 storage key of the report to download
+     * @param range          the {@code Range} request header, if any
+     * @param acceptEncoding the {@code Accept-Encoding} request header, if any
+     * @return the markdown content of the report, or the requested part of it
      * @throws IllegalArgumentException if the S3 key is null, blank, contains path
      *                                  traversal characters, or has an invalid format
      */
     @GetMapping("/download")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<String> downloadReport(@RequestParam String s3Key) {
+    public ResponseEntity<StreamingResponseBody> downloadReport(
+            @RequestParam String s3Key,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         log.debug("downloadReport called with s3Key={}", s3Key);
         validateS3Key(s3Key);
-        String content = reportStorageService.downloadReport(s3Key);
-        return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType("text/markdown"))
-                .body(content);
+        return rangedDownload(s3Key, range, acceptEncoding, MediaType.parseMediaType("text/markdown;charset=UTF-8"));
     }
 
     /**
@@ -139,12 +162,13 @@ public class ReportController {
      * <p>Requires authentication. The file is validated against a maximum size of
      * 50 MB and an allow-list of content types (PDF, plain text, markdown, CSV, JSON,
      * XML, PNG, JPEG, GIF). Path separators in the original filename are sanitized
-     * before storage.</p>
+     * before storage. The multipart temporary file is moved aside and uploaded from disk,
+     * so the file is never loaded into memory.</p>
      *
      * @param jobId the UUID of the job the specification belongs to
      * @param file  the multipart file to upload
      * @return a map containing the S3 key of the stored specification with HTTP 201 status
-     * @throws IOException              if reading the file bytes fails
+     * @throws IOException              if reading the uploaded file fails
      * @throws IllegalArgumentException if the file exceeds 50 MB or has an unsupported content type
      */
     @PostMapping("/job/{jobId}/spec")
@@ -153,20 +177,17 @@ public class ReportController {
             @PathVariable UUID jobId,
             @RequestParam("file") MultipartFile file) throws IOException {
         log.debug("uploadSpecification called with jobId={}", jobId);
-        if (file.getSize() > MAX_UPLOAD_SIZE) {
-            throw new IllegalArgumentException("File too large (max 50MB)");
-        }
         String contentType = file.getContentType();
-        if (contentType == null || !ALLOWED_CONTENT_TYPES.contains(contentType)) {
-            throw new IllegalArgumentException("Unsupported file type");
-        }
-        String filename = file.getOriginalFilename();
-        if (filename != null) {
-            filename = filename.replaceAll("[/\\\\]", "_"); // Strip path separators
+        validateSpecification(file.getSize(), contentType);
+        String filename = sanitizeFileName(file.getOriginalFilename());
+        Path upload = Files.createTempFile("codeops-spec-", ".upload");
+        try {
+            file.transferTo(upload.toFile());
+            String key = reportStorageService.uploadSpecification(jobId, filename, upload, contentType);
+            return ResponseEntity.status(201).body(Map.of("s3Key", key));
+        } finally {
+            Files.deleteIfExists(upload);
         }
-        String key = reportStorageService.uploadSpecification(
-                jobId, filename, file.getBytes(), contentType);
-        return ResponseEntity.status(201).body(Map.of("s3Key", key));
     }
 
     /**
@@ -176,21 +197,110 @@ public class ReportController {
      *
      * <p>Requires authentication. The S3 key is validated for path traversal
      * and format safety before retrieval. Returns the raw file bytes with
-     * {@code application/octet-stream} media type.</p>
+     * {@code application/octet-stream} media type, streamed from storage; a {@code Range}
+     * header yields a 206 partial response.</p>
      *
-     * @param s3Key the S3 storage key of the specification to download
-     * @return the raw bytes of the specification file
+     * @param s3Key          the S3 storage key of the specification to download
+     * @param range          the {@code Range} request header, if any
+     * @param acceptEncoding the {@code Accept-Encoding} request header, if any
+     * @return the raw bytes of the specification file, or the requested part of them
      * @throws IllegalArgumentException if the S3 key is null, blank, contains path
      *                                  traversal characters, or has an invalid format
      */
     @GetMapping("/spec/download")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<byte[]> downloadSpecification(@RequestParam String s3Key) {
+    public ResponseEntity<StreamingResponseBody> downloadSpecification(
+            @RequestParam String s3Key,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         log.debug("downloadSpecification called with s3Key={}", s3Key);
         validateS3Key(s3Key);
-        byte[] data = reportStorageService.downloadSpecification(s3Key);
-        return ResponseEntity.ok()
-                .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .body(data);
+        return rangedDownload(s3Key, range, acceptEncoding, MediaType.APPLICATION_OCTET_STREAM);
+    }
+
+    /**
+     * Creates a presigned URL from which a report or specification file can be downloaded
+     * directly from storage, bypassing this service.
+     *
+     * <p>GET /api/v1/reports/download-url?s3Key={s3Key}</p>
+     *
+     * <p>Requires authentication. The S3 key is validated like the download endpoints. The URL is
+     * valid for {@value AppConstants#PRESIGNED_URL_EXPIRY_MINUTES} minutes; it is an S3 presigned
+     * URL, or a signed local storage URL in dev mode.</p>
+     *
+     * @param s3Key the S3 storage key of the object to download
+     * @return the S3 key, the presigned URL and its expiry time
+     * @throws IllegalArgumentException if the S3 key is null, blank, contains path
+     *                                  traversal characters, or has an invalid format
+     */
+    @GetMapping("/download-url")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<PresignedUrlResponse> createDownloadUrl(@RequestParam String s3Key) {
+        log.debug("createDownloadUrl called with s3Key={}", s3Key);
+        validateS3Key(s3Key);
+        return ResponseEntity.ok(reportStorageService.createDownloadUrl(s3Key));
+    }
+
+    /**
+     * Creates a presigned URL to which a specification file can be uploaded directly with an
+     * HTTP {@code PUT}, bypassing this service.
+     *
+     * <p>POST /api/v1/reports/job/{jobId}/spec/upload-url?fileName={fileName}&amp;contentType={contentType}&amp;size={size}</p>
+     *
+     * <p>Requires authentication. The declared size and content type are validated like the
+     * multipart upload, and the upload must send exactly that {@code Content-Type} and
+     * {@code Content-Length}. The URL is valid for {@value AppConstants#PRESIGNED_URL_EXPIRY_MINUTES}
+     * minutes; the returned S3 key is where the file will be stored.</p>
+     *
+     * @param jobId       the UUID of the job the specification belongs to
+     * @param fileName    the original filename of the specification
+     * @param contentType the content type of the file
+     * @param size        the size of the file in bytes
+     * @return the S3 key, the presigned URL and its expiry time with HTTP 201 status
+     * @throws IllegalArgumentException if the file exceeds 50 MB, has an unsupported content type,
+     *                                  or the file name is blank, {@code .} or {@code ..}
+     */
+    @PostMapping("/job/{jobId}/spec/upload-url")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<PresignedUrlResponse> createSpecificationUploadUrl(
+            @PathVariable UUID jobId,
+            @RequestParam String fileName,
+            @RequestParam String contentType,
+            @RequestParam long size) {
+        log.debug("createSpecificationUploadUrl called with jobId={}, contentType={}, size={}", jobId, contentType, size);
+        validateSpecification(size, contentType);
+        String filename = sanitizeFileName(fileName);
+        if (filename.isBlank()) {
+            throw new IllegalArgumentException("File name is required");
+        }
+        if (filename.equals(".") || filename.equals("..")) {
+            throw new IllegalArgumentException("Invalid file name");
+        }
+        return ResponseEntity.status(201)
+                .body(reportStorageService.createSpecificationUploadUrl(jobId, filename, contentType, size));
+    }
+
+    private static void validateSpecification(long size, String contentType) {
+        if (size < 0 || size > MAX_UPLOAD_SIZE) {
+            throw new IllegalArgumentException("File too large (max 50MB)");
+        }
+        if (contentType == null || !ALLOWED_CONTENT_TYPES.contains(contentType)) {
+            throw new IllegalArgumentException("Unsupported file type");
+        }
+    }
+
+    private static String sanitizeFileName(String filename) {
+        return filename == null ? null : filename.replaceAll("[/\\\\]", "_"); // Strip path separators
+    }
+
+    private ResponseEntity<StreamingResponseBody> rangedDownload(String s3Key, String rangeHeader,
+                                                                 String acceptEncoding, MediaType contentType) {
+        return RangedDownloads.respond(reportStorageService.getStoredObject(s3Key), rangeHeader, acceptEncoding,
+                contentType, (offset, length, out) -> reportStorageService.download(s3Key, offset, length, out),
+                out -> reportStorageService.download(s3Key, out));
+    }
+
+    private static long lengthOrUnknown(Long contentLength) {
+        return contentLength != null ? contentLength : -1;
     }
 }
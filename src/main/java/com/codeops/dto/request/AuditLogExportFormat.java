@@ -0,0 +1,49 @@
+package com.codeops.dto.request;
+
+import com.codeops.exception.ValidationException;
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+/**
+ * File format of a streamed audit log export.
+ */
+public enum AuditLogExportFormat {
+
+    /** Comma-separated values with a header row, quoted per RFC 4180. */
+    CSV(new MediaType("text", "csv"), "csv"),
+
+    /** One JSON object per line. */
+    NDJSON(new MediaType("application", "x-ndjson"), "ndjson");
+
+    private final MediaType mediaType;
+    private final String fileExtension;
+
+    AuditLogExportFormat(MediaType mediaType, String fileExtension) {
+        this.mediaType = mediaType;
+        this.fileExtension = fileExtension;
+    }
+
+    /**
+     * Parses the {@code format} request parameter, ignoring case.
+     *
+     * @param value the parameter value, e.g. {@code csv} or {@code ndjson}
+     * @return the matching format
+     * @throws ValidationException if the value names no supported format
+     */
+    public static AuditLogExportFormat parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new ValidationException("Unsupported export format: " + value);
+        }
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+}
@@ -0,0 +1,83 @@
+package com.codeops.dto.request;
+
+import com.codeops.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a keyset-paginated listing ordered by {@code (timestamp DESC, id DESC)}.
+ *
+ * <p>Encoded for clients as an opaque, URL-safe Base64 token of {@code <timestamp>,<id>}.
+ * An empty {@code after} parameter requests the first page in keyset mode.</p>
+ *
+ * @param timestamp the sort timestamp of the last item seen
+ * @param id        the ID of the last item seen, as a string
+ */
+public record KeysetCursor(Instant timestamp, String id) {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /**
+     * Encodes the position of a row as an opaque cursor.
+     *
+     * @param timestamp the row's sort timestamp
+     * @param id        the row's ID
+     * @return the encoded cursor
+     */
+    public static String encode(Instant timestamp, Object id) {
+        String raw = timestamp + "," + id;
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor supplied by a client.
+     *
+     * @param cursor the encoded cursor; {@code null} or blank means "start from the first page"
+     * @return the decoded cursor, or {@code null} for the first page
+     * @throws ValidationException if the cursor is malformed
+     */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String raw = new String(DECODER.decode(cursor), StandardCharsets.UTF_8);
+            int comma = raw.indexOf(',');
+            if (comma < 0) throw new ValidationException("Invalid pagination cursor");
+            return new KeysetCursor(Instant.parse(raw.substring(0, comma)), raw.substring(comma + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("Invalid pagination cursor");
+        }
+    }
+
+    /**
+     * Returns the ID as a UUID.
+     *
+     * @return the UUID ID
+     * @throws ValidationException if the ID is not a UUID
+     */
+    public UUID uuidId() {
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid pagination cursor");
+        }
+    }
+
+    /**
+     * Returns the ID as a long.
+     *
+     * @return the numeric ID
+     * @throws ValidationException if the ID is not numeric
+     */
+    public long longId() {
+        try {
+            return Long.parseLong(id);
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Invalid pagination cursor");
+        }
+    }
+}
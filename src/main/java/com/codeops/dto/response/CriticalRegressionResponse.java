@@ -0,0 +1,6 @@
+package com.codeops.dto.response;
+
+import java.util.UUID;
+
+public record CriticalRegressionResponse(UUID projectId, String projectName, int previousCriticalCount,
+                                         int currentCriticalCount) {}
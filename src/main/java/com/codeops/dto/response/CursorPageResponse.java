@@ -0,0 +1,57 @@
+package com.codeops.dto.response;
+
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A page of results from a keyset-paginated query.
+ *
+ * <p>Unlike {@link PageResponse}, no total count is computed. Clients pass {@code nextCursor}
+ * back as the {@code after} request parameter to fetch the following page.
+ * {@code nextCursor} is {@code null} when there are no more results.</p>
+ *
+ * @param content    the items on this page
+ * @param size       the requested page size
+ * @param nextCursor the opaque cursor of the last item, or {@code null} on the last page
+ * @param hasNext    whether another page follows this one
+ * @param <T>        the item type
+ */
+public record CursorPageResponse<T>(List<T> content, int size, String nextCursor, boolean hasNext) {
+
+    /**
+     * Returns the query limit for a page of the given size: one extra row is fetched to
+     * detect whether another page follows.
+     *
+     * @param size the requested page size
+     * @return the limit to pass to the keyset query
+     * @throws IllegalArgumentException if {@code size} is less than one
+     */
+    public static Limit fetchLimit(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must not be less than one");
+        }
+        return Limit.of(size + 1);
+    }
+
+    /**
+     * Builds a page from rows fetched with a limit of {@code size + 1}. The extra row, if
+     * present, only signals that another page exists and is not returned.
+     *
+     * @param rows     the fetched rows, at most {@code size + 1}
+     * @param size     the requested page size
+     * @param cursorOf extracts the opaque cursor from a row
+     * @param mapper   maps a row to its response DTO
+     * @param <E>      the row type
+     * @param <T>      the response item type
+     * @return the page
+     */
+    public static <E, T> CursorPageResponse<T> of(List<E> rows, int size,
+                                                  Function<E, String> cursorOf, Function<E, T> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<E> page = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(page.get(page.size() - 1)) : null;
+        return new CursorPageResponse<>(page.stream().map(mapper).toList(), size, nextCursor, hasNext);
+    }
+}
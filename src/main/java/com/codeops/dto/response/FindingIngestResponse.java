@@ -0,0 +1,6 @@
+package com.codeops.dto.response;
+
+import java.util.List;
+import java.util.UUID;
+
+public record FindingIngestResponse(UUID jobId, int created, int critical, int high, List<UUID> findingIds) {}
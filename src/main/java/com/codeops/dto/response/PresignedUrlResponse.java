@@ -0,0 +1,5 @@
+package com.codeops.dto.response;
+
+import java.time.Instant;
+
+public record PresignedUrlResponse(String s3Key, String url, Instant expiresAt) {}
@@ -9,7 +9,10 @@ import java.util.UUID;
 @Entity
 @Table(name = "audit_log", indexes = {
         @Index(name = "idx_audit_user_id", columnList = "user_id"),
-        @Index(name = "idx_audit_team_id", columnList = "team_id")
+        @Index(name = "idx_audit_team_id", columnList = "team_id"),
+        @Index(name = "idx_audit_user_created", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_audit_team_created", columnList = "team_id, created_at, id"),
+        @Index(name = "idx_audit_created", columnList = "created_at, id")
 })
 @Getter
 @Setter
@@ -12,7 +12,7 @@ import java.util.UUID;
 @Setter
 public abstract class BaseEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @Column(name = "created_at", nullable = false, updatable = false)
@@ -9,6 +9,7 @@ import java.time.Instant;
 @Entity
 @Table(name = "findings", indexes = {
         @Index(name = "idx_finding_job_id", columnList = "job_id"),
+        @Index(name = "idx_finding_job_created", columnList = "job_id, created_at, id"),
         @Index(name = "idx_finding_status", columnList = "status")
 })
 @Getter
@@ -0,0 +1,50 @@
+package com.codeops.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Progress of the weekly health digest for one week. Teams are processed in ID order and
+ * {@code lastTeamId} is advanced in the same transaction that queues a page of digest emails, so
+ * an interrupted run resumes after the last completed page instead of sending again.
+ *
+ * @see com.codeops.notification.HealthDigestJob
+ */
+@Entity
+@Table(name = "health_digest_runs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HealthDigestRun {
+
+    @Id
+    @Column(name = "week_of", nullable = false, updatable = false)
+    private LocalDate weekOf;
+
+    @Column(name = "last_team_id")
+    private UUID lastTeamId;
+
+    @Builder.Default
+    @Column(name = "teams_processed", nullable = false)
+    private Integer teamsProcessed = 0;
+
+    @Builder.Default
+    @Column(name = "projects_summarized", nullable = false)
+    private Integer projectsSummarized = 0;
+
+    @Builder.Default
+    @Column(name = "emails_queued", nullable = false)
+    private Integer emailsQueued = 0;
+
+    @Column(name = "started_at", nullable = false)
+    private Instant startedAt;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+}
@@ -8,7 +8,8 @@ import java.time.Instant;
 
 @Entity
 @Table(name = "health_schedules", indexes = {
-        @Index(name = "idx_schedule_project_id", columnList = "project_id")
+        @Index(name = "idx_schedule_project_id", columnList = "project_id"),
+        @Index(name = "idx_schedule_next_run", columnList = "next_run_at")
 })
 @Getter
 @Setter
@@ -8,7 +8,8 @@ import java.time.Instant;
 
 @Entity
 @Table(name = "health_snapshots", indexes = {
-        @Index(name = "idx_snapshot_project_id", columnList = "project_id")
+        @Index(name = "idx_snapshot_project_id", columnList = "project_id"),
+        @Index(name = "idx_snapshot_project_captured", columnList = "project_id, captured_at, id")
 })
 @Getter
 @Setter
@@ -31,6 +32,18 @@ public class HealthSnapshot extends BaseEntity {
     @Column(name = "findings_by_severity", columnDefinition = "TEXT")
     private String findingsBySeverity;
 
+    @Column(name = "critical_count")
+    private Integer criticalCount;
+
+    @Column(name = "high_count")
+    private Integer highCount;
+
+    @Column(name = "medium_count")
+    private Integer mediumCount;
+
+    @Column(name = "low_count")
+    private Integer lowCount;
+
     @Column(name = "tech_debt_score")
     private Integer techDebtScore;
 
@@ -0,0 +1,56 @@
+package com.codeops.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Pre-aggregated health snapshots of one project over one hour, day or week (UTC, weeks starting
+ * Monday). Sums and counts are kept rather than averages so a bucket can be updated atomically as
+ * each snapshot arrives; nullable metrics carry their own count.
+ *
+ * @see com.codeops.service.HealthTrendService
+ */
+@Entity
+@Table(name = "health_snapshot_buckets")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HealthSnapshotBucket {
+
+    @EmbeddedId
+    private HealthSnapshotBucketId id;
+
+    @Column(name = "sample_count", nullable = false)
+    private Integer sampleCount;
+
+    @Column(name = "health_score_sum", nullable = false)
+    private Long healthScoreSum;
+
+    @Column(name = "health_score_min", nullable = false)
+    private Integer healthScoreMin;
+
+    @Column(name = "health_score_max", nullable = false)
+    private Integer healthScoreMax;
+
+    @Column(name = "tech_debt_sum", nullable = false)
+    private Long techDebtSum;
+
+    @Column(name = "tech_debt_count", nullable = false)
+    private Integer techDebtCount;
+
+    @Column(name = "dependency_sum", nullable = false)
+    private Long dependencySum;
+
+    @Column(name = "dependency_count", nullable = false)
+    private Integer dependencyCount;
+
+    @Column(name = "coverage_sum", nullable = false, precision = 14, scale = 2)
+    private BigDecimal coverageSum;
+
+    @Column(name = "coverage_count", nullable = false)
+    private Integer coverageCount;
+}
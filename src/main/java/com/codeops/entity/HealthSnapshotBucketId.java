@@ -0,0 +1,47 @@
+package com.codeops.entity;
+
+import com.codeops.entity.enums.TrendResolution;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+@Embeddable
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class HealthSnapshotBucketId implements Serializable {
+
+    @Column(name = "project_id")
+    private UUID projectId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "resolution", length = 10)
+    private TrendResolution resolution;
+
+    @Column(name = "bucket_start")
+    private Instant bucketStart;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        HealthSnapshotBucketId that = (HealthSnapshotBucketId) o;
+        return Objects.equals(projectId, that.projectId) &&
+                resolution == that.resolution &&
+                Objects.equals(bucketStart, that.bucketStart);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(projectId, resolution, bucketStart);
+    }
+}
@@ -0,0 +1,68 @@
+package com.codeops.entity;
+
+import com.codeops.entity.enums.NotificationChannel;
+import com.codeops.entity.enums.OutboxStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * A fully rendered notification waiting to be delivered, written in the same transaction as the
+ * change that triggered it.
+ *
+ * <p>{@code recipient} is an email address for {@link NotificationChannel#EMAIL} and a webhook URL
+ * for {@link NotificationChannel#TEAMS_WEBHOOK}; {@code body} is the HTML email body or the JSON
+ * message card respectively. An email row may also carry a comma-separated {@code bcc} list, in
+ * which case the one message is blind-copied to every address in it.</p>
+ *
+ * @see com.codeops.notification.NotificationOutboxWorker
+ */
+@Entity
+@Table(name = "notification_outbox", indexes = {
+        @Index(name = "idx_outbox_status_next_attempt", columnList = "status, next_attempt_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationOutbox extends BaseEntity {
+
+    @Column(name = "event_type", nullable = false, length = 50)
+    private String eventType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "channel", nullable = false, length = 20)
+    private NotificationChannel channel;
+
+    @Column(name = "recipient", nullable = false, length = 500)
+    private String recipient;
+
+    @Column(name = "bcc", columnDefinition = "TEXT")
+    private String bcc;
+
+    @Column(name = "subject", length = 500)
+    private String subject;
+
+    @Column(name = "body", nullable = false, columnDefinition = "TEXT")
+    private String body;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    @Builder.Default
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "sent_at")
+    private Instant sentAt;
+}
@@ -0,0 +1,60 @@
+package com.codeops.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "project_metrics_rollup")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProjectMetricsRollup {
+
+    @Id
+    @Column(name = "project_id")
+    private UUID projectId;
+
+    @Builder.Default
+    @Column(name = "total_jobs", nullable = false)
+    private Integer totalJobs = 0;
+
+    @Builder.Default
+    @Column(name = "total_findings", nullable = false)
+    private Integer totalFindings = 0;
+
+    @Column(name = "latest_completed_job_id")
+    private UUID latestCompletedJobId;
+
+    @Builder.Default
+    @Column(name = "open_critical_findings", nullable = false)
+    private Integer openCriticalFindings = 0;
+
+    @Builder.Default
+    @Column(name = "open_high_findings", nullable = false)
+    private Integer openHighFindings = 0;
+
+    @Builder.Default
+    @Column(name = "active_tech_debt_items", nullable = false)
+    private Integer activeTechDebtItems = 0;
+
+    @Column(name = "latest_scan_id")
+    private UUID latestScanId;
+
+    @Builder.Default
+    @Column(name = "open_vulnerabilities", nullable = false)
+    private Integer openVulnerabilities = 0;
+
+    @Column(name = "latest_snapshot_score")
+    private Integer latestSnapshotScore;
+
+    @Column(name = "previous_snapshot_score")
+    private Integer previousSnapshotScore;
+
+    @Column(name = "rebuilt_at")
+    private Instant rebuiltAt;
+}
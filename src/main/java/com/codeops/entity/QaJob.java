@@ -11,6 +11,7 @@ import java.time.Instant;
 @Entity
 @Table(name = "qa_jobs", indexes = {
         @Index(name = "idx_job_project_id", columnList = "project_id"),
+        @Index(name = "idx_job_project_created", columnList = "project_id, created_at, id"),
         @Index(name = "idx_job_started_by", columnList = "started_by")
 })
 @Getter
@@ -0,0 +1,35 @@
+package com.codeops.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * A revoked JWT, identified by its {@code jti} claim. Rows are kept only until the token's own
+ * expiration, after which the token would be rejected anyway.
+ *
+ * @see com.codeops.service.TokenBlacklistService
+ */
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+        @Index(name = "idx_revoked_token_revoked_at", columnList = "revoked_at"),
+        @Index(name = "idx_revoked_token_expires_at", columnList = "expires_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevokedToken {
+
+    @Id
+    @Column(name = "jti", length = 64, nullable = false, updatable = false)
+    private String jti;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "revoked_at", nullable = false)
+    private Instant revokedAt;
+}
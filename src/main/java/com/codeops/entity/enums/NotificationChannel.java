@@ -0,0 +1,6 @@
+package com.codeops.entity.enums;
+
+public enum NotificationChannel {
+    EMAIL,
+    TEAMS_WEBHOOK
+}
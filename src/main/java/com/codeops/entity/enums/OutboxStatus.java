@@ -0,0 +1,7 @@
+package com.codeops.entity.enums;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
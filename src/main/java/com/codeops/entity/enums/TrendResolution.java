@@ -0,0 +1,8 @@
+package com.codeops.entity.enums;
+
+public enum TrendResolution {
+    RAW,
+    HOUR,
+    DAY,
+    WEEK
+}
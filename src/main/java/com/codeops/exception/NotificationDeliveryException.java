@@ -0,0 +1,16 @@
+package com.codeops.exception;
+
+/**
+ * Thrown when a notification could not be handed to its channel (SMTP server or webhook endpoint).
+ * Delivery failures of this type are retried.
+ */
+public class NotificationDeliveryException extends CodeOpsException {
+
+    public NotificationDeliveryException(String message) {
+        super(message);
+    }
+
+    public NotificationDeliveryException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
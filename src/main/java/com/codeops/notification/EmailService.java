@@ -1,15 +1,21 @@
 package com.codeops.notification;
 
 import com.codeops.config.MailProperties;
+import com.codeops.exception.NotificationDeliveryException;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.HtmlUtils;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -20,8 +26,9 @@ import java.util.Map;
  * development), all email sends are logged to the console at WARN level instead of being
  * dispatched. When enabled, emails are sent as UTF-8 HTML via the configured SMTP server.</p>
  *
- * <p>All SMTP send failures are caught and logged at ERROR level without propagating to callers,
- * ensuring email delivery issues do not disrupt application workflows.</p>
+ * <p>The {@code send*} methods catch SMTP send failures and log them at ERROR level without
+ * propagating to callers, ensuring email delivery issues do not disrupt application workflows.
+ * {@link #deliver} instead reports failures so the notification outbox can retry them.</p>
  *
  * @see MailProperties
  * @see NotificationDispatcher
@@ -30,6 +37,25 @@ import java.util.Map;
 @Slf4j
 public class EmailService {
 
+    /**
+     * A rendered email.
+     *
+     * @param subject  the subject line
+     * @param htmlBody the HTML body
+     */
+    record Content(String subject, String htmlBody) {}
+
+    /**
+     * An email ready to send. When {@code bcc} is non-empty the same message goes to every
+     * address in it without recipients seeing each other.
+     *
+     * @param to       the visible recipient
+     * @param bcc      blind-copied recipients, possibly empty
+     * @param subject  the subject line
+     * @param htmlBody the HTML body
+     */
+    public record OutgoingEmail(String to, List<String> bcc, String subject, String htmlBody) {}
+
     private final JavaMailSender mailSender;
     private final MailProperties mailProperties;
 
@@ -60,26 +86,108 @@ public class EmailService {
      * @param htmlBody the HTML content of the email body
      */
     public void sendEmail(String toEmail, String subject, String htmlBody) {
+        try {
+            deliver(toEmail, subject, htmlBody);
+        } catch (NotificationDeliveryException e) {
+            log.error("SMTP send failure: to={}, error={}", toEmail, e.getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Sends an HTML email, reporting failures to the caller so delivery can be retried. Used by
+     * {@link NotificationOutboxWorker}. When mail is disabled the send is logged and treated as
+     * delivered.
+     *
+     * @param toEmail  the recipient email address
+     * @param subject  the email subject line
+     * @param htmlBody the HTML content of the email body
+     * @throws NotificationDeliveryException if mail is enabled but no sender is configured, or the SMTP send fails
+     */
+    public void deliver(String toEmail, String subject, String htmlBody) {
         if (!mailProperties.isEnabled()) {
             log.warn("Mail disabled — email logged instead of sent: to={}, subject={}", toEmail, subject);
             return;
         }
         if (mailSender == null) {
-            log.error("Mail enabled but JavaMailSender is not configured — cannot send email to={}", toEmail);
-            return;
+            throw new NotificationDeliveryException("Mail enabled but JavaMailSender is not configured");
         }
         try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, false, "UTF-8");
-            helper.setFrom(mailProperties.getFromEmail());
-            helper.setTo(toEmail);
-            helper.setSubject(subject);
-            helper.setText(htmlBody, true);
-            mailSender.send(message);
+            mailSender.send(createMessage(new OutgoingEmail(toEmail, List.of(), subject, htmlBody)));
             log.info("Email sent successfully: to={}, subject={}", toEmail, subject);
-        } catch (MessagingException | org.springframework.mail.MailException e) {
-            log.error("SMTP send failure: to={}, error={}", toEmail, e.getMessage(), e);
+        } catch (MessagingException | MailException e) {
+            throw new NotificationDeliveryException("SMTP send failure: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Sends several emails over a single SMTP connection, reporting failures per email so each
+     * can be retried on its own. Used by {@link NotificationOutboxWorker}. When mail is disabled the
+     * sends are logged and treated as delivered.
+     *
+     * <p>{@link JavaMailSender#send(MimeMessage...)} connects and authenticates once and then sends
+     * every message on that transport, avoiding one SMTP session per recipient.</p>
+     *
+     * @param emails the emails to send
+     * @return the failures keyed by the index of the email in {@code emails}; empty if all were sent
+     */
+    public Map<Integer, NotificationDeliveryException> deliverAll(List<OutgoingEmail> emails) {
+        Map<Integer, NotificationDeliveryException> failures = new HashMap<>();
+        if (!mailProperties.isEnabled()) {
+            emails.forEach(email -> log.warn("Mail disabled — email logged instead of sent: to={}, bcc={}, subject={}",
+                    email.to(), email.bcc().size(), email.subject()));
+            return failures;
+        }
+        if (mailSender == null) {
+            for (int i = 0; i < emails.size(); i++) {
+                failures.put(i, new NotificationDeliveryException("Mail enabled but JavaMailSender is not configured"));
+            }
+            return failures;
         }
+
+        List<MimeMessage> messages = new ArrayList<>(emails.size());
+        Map<MimeMessage, Integer> indexes = new IdentityHashMap<>();
+        for (int i = 0; i < emails.size(); i++) {
+            try {
+                MimeMessage message = createMessage(emails.get(i));
+                messages.add(message);
+                indexes.put(message, i);
+            } catch (MessagingException e) {
+                failures.put(i, new NotificationDeliveryException("Invalid email: " + e.getMessage(), e));
+            }
+        }
+        if (messages.isEmpty()) return failures;
+
+        try {
+            mailSender.send(messages.toArray(MimeMessage[]::new));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                indexes.values().forEach(i -> failures.put(i, new NotificationDeliveryException("SMTP send failure: " + e.getMessage(), e)));
+            } else {
+                e.getFailedMessages().forEach((message, cause) -> {
+                    Integer i = indexes.get(message);
+                    if (i != null) {
+                        failures.put(i, new NotificationDeliveryException("SMTP send failure: " + cause.getMessage(), cause));
+                    }
+                });
+            }
+        } catch (MailException e) {
+            indexes.values().forEach(i -> failures.put(i, new NotificationDeliveryException("SMTP send failure: " + e.getMessage(), e)));
+        }
+        log.info("Email batch sent: messages={}, failed={}", emails.size(), failures.size());
+        return failures;
+    }
+
+    private MimeMessage createMessage(OutgoingEmail email) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, false, "UTF-8");
+        helper.setFrom(mailProperties.getFromEmail());
+        helper.setTo(email.to());
+        if (!email.bcc().isEmpty()) {
+            helper.setBcc(email.bcc().toArray(String[]::new));
+        }
+        helper.setSubject(email.subject());
+        helper.setText(email.htmlBody(), true);
+        return message;
     }
 
     /**
@@ -93,10 +201,20 @@ public class EmailService {
      * @param acceptUrl   the URL the recipient should click to accept the invitation
      */
     public void sendInvitationEmail(String toEmail, String teamName, String inviterName, String acceptUrl) {
+        Content content = invitationEmail(teamName, inviterName, acceptUrl);
+        sendEmail(toEmail, content.subject(), content.htmlBody());
+    }
+
+    /**
+     * Renders the email sent by {@link #sendInvitationEmail}.
+     *
+     * @return the subject and HTML body
+     */
+    Content invitationEmail(String teamName, String inviterName, String acceptUrl) {
         String htmlBody = "<h2>Team Invitation</h2>"
                 + "<p>You've been invited to join <strong>" + HtmlUtils.htmlEscape(teamName) + "</strong> on CodeOps by " + HtmlUtils.htmlEscape(inviterName) + ".</p>"
                 + "<p><a href=\"" + HtmlUtils.htmlEscape(acceptUrl) + "\">Click here to accept</a></p>";
-        sendEmail(toEmail, "CodeOps — Team Invitation", htmlBody);
+        return new Content("CodeOps — Team Invitation", htmlBody);
     }
 
     /**
@@ -111,10 +229,20 @@ public class EmailService {
      * @param jobUrl        the URL to the job details page for reviewing findings
      */
     public void sendCriticalFindingAlert(String toEmail, String projectName, int criticalCount, String jobUrl) {
+        Content content = criticalFindingAlert(projectName, criticalCount, jobUrl);
+        sendEmail(toEmail, content.subject(), content.htmlBody());
+    }
+
+    /**
+     * Renders the email sent by {@link #sendCriticalFindingAlert}.
+     *
+     * @return the subject and HTML body
+     */
+    Content criticalFindingAlert(String projectName, int criticalCount, String jobUrl) {
         String htmlBody = "<h2>Critical Findings Alert</h2>"
                 + "<p><strong>" + criticalCount + "</strong> critical findings detected in <strong>" + HtmlUtils.htmlEscape(projectName) + "</strong>.</p>"
                 + "<p><a href=\"" + HtmlUtils.htmlEscape(jobUrl) + "\">Review findings</a></p>";
-        sendEmail(toEmail, "CodeOps — Critical Findings Alert: " + HtmlUtils.htmlEscape(projectName), htmlBody);
+        return new Content("CodeOps — Critical Findings Alert: " + HtmlUtils.htmlEscape(projectName), htmlBody);
     }
 
     /**
@@ -129,6 +257,16 @@ public class EmailService {
      * @param projectSummaries a list of maps, each containing project name, health score, and finding count
      */
     public void sendHealthDigest(String toEmail, String teamName, List<Map<String, Object>> projectSummaries) {
+        Content content = healthDigest(teamName, projectSummaries);
+        sendEmail(toEmail, content.subject(), content.htmlBody());
+    }
+
+    /**
+     * Renders the email sent by {@link #sendHealthDigest}.
+     *
+     * @return the subject and HTML body
+     */
+    Content healthDigest(String teamName, List<Map<String, Object>> projectSummaries) {
         StringBuilder html = new StringBuilder();
         html.append("<h2>Weekly Health Digest: ").append(HtmlUtils.htmlEscape(teamName)).append("</h2>");
         html.append("<table border='1' cellpadding='8'><tr><th>Project</th><th>Health Score</th><th>Findings</th></tr>");
@@ -140,7 +278,7 @@ public class EmailService {
             html.append("</tr>");
         }
         html.append("</table>");
-        sendEmail(toEmail, "CodeOps — Weekly Health Digest: " + HtmlUtils.htmlEscape(teamName), html.toString());
+        return new Content("CodeOps — Weekly Health Digest: " + HtmlUtils.htmlEscape(teamName), html.toString());
     }
 
     /**
@@ -0,0 +1,252 @@
+package com.codeops.notification;
+
+import com.codeops.config.AppConstants;
+import com.codeops.entity.HealthDigestRun;
+import com.codeops.entity.NotificationOutbox;
+import com.codeops.repository.HealthDigestRunRepository;
+import com.codeops.repository.NotificationOutboxRepository;
+import com.codeops.repository.NotificationPreferenceRepository;
+import com.codeops.repository.ProjectRepository;
+import com.codeops.repository.TeamRepository;
+import com.codeops.repository.projection.HealthDigestProjectRow;
+import com.codeops.repository.projection.TeamRecipient;
+import com.codeops.service.ProjectMetricsRollupService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Produces the weekly health digest: for every team, one email listing each non-archived
+ * project's health score, its change over the week, and its open critical and high findings, sent
+ * to the members who enabled email for the {@code "HEALTH_DIGEST"} event type.
+ *
+ * <p>The digest is due every week on day {@value AppConstants#HEALTH_DIGEST_DAY} (ISO, Monday = 1)
+ * at {@value AppConstants#HEALTH_DIGEST_HOUR}:00 server time. An hourly check starts the week's
+ * run once it is due, and also resumes a run that was interrupted.</p>
+ *
+ * <p>Teams are processed in pages of {@value AppConstants#HEALTH_DIGEST_TEAM_PAGE_SIZE} in ID
+ * order. Each page costs three set-based queries: team IDs, recipients for the whole page, and
+ * project lines for the teams that have recipients. Each team's digest is rendered once and
+ * queued in the notification outbox for all of its recipients, so delivery goes through the
+ * bounded {@link NotificationOutboxWorker} pool. The page's outbox rows and the
+ * {@link HealthDigestRun} checkpoint are written in one transaction while the run row is locked.
+ * A restarted run, or a second instance, continues after the last committed page and never
+ * queues a team twice.</p>
+ *
+ * <p>Open finding counts come from the project metrics rollup, so each run first builds the
+ * rollup of any project that does not have one yet. A project line whose counts are still
+ * unknown shows them as unknown rather than as zero.</p>
+ *
+ * @see EmailService#sendHealthDigest
+ * @see HealthDigestRun
+ */
+@Service
+@Slf4j
+public class HealthDigestJob {
+
+    static final String EVENT_TYPE = "HEALTH_DIGEST";
+
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+
+    private final TeamRepository teamRepository;
+    private final ProjectRepository projectRepository;
+    private final NotificationPreferenceRepository preferenceRepository;
+    private final NotificationOutboxRepository outboxRepository;
+    private final HealthDigestRunRepository runRepository;
+    private final EmailService emailService;
+    private final NotificationDispatcher notificationDispatcher;
+    private final ProjectMetricsRollupService rollupService;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    /**
+     * Totals for one invocation of {@link #run}.
+     *
+     * @param weekOf        the digest date of the week
+     * @param teams         teams examined
+     * @param projects      project lines rendered
+     * @param emailsQueued  outbox rows queued
+     * @param elapsedMillis wall-clock duration
+     */
+    public record RunStats(LocalDate weekOf, int teams, int projects, int emailsQueued, long elapsedMillis) {}
+
+    private record PageStats(int teams, int projects, int emailsQueued, boolean completed) {
+        static final PageStats DONE = new PageStats(0, 0, 0, true);
+    }
+
+    /**
+     * Creates the job using the system clock in the server's time zone.
+     *
+     * @param teamRepository         repository for paging through teams
+     * @param projectRepository      repository for the digest project lines
+     * @param preferenceRepository   repository for digest recipients
+     * @param outboxRepository       repository the digest emails are queued in
+     * @param runRepository          repository for run checkpoints
+     * @param emailService           renders the digest
+     * @param notificationDispatcher builds the outbox rows for each recipient
+     * @param rollupService          builds missing project metrics rollups before each run
+     * @param transactionManager     transaction manager for the per-page transactions
+     */
+    @Autowired
+    public HealthDigestJob(TeamRepository teamRepository, ProjectRepository projectRepository,
+                           NotificationPreferenceRepository preferenceRepository,
+                           NotificationOutboxRepository outboxRepository, HealthDigestRunRepository runRepository,
+                           EmailService emailService, NotificationDispatcher notificationDispatcher,
+                           ProjectMetricsRollupService rollupService, PlatformTransactionManager transactionManager) {
+        this(teamRepository, projectRepository, preferenceRepository, outboxRepository, runRepository, emailService,
+                notificationDispatcher, rollupService, transactionManager, Clock.systemDefaultZone());
+    }
+
+    HealthDigestJob(TeamRepository teamRepository, ProjectRepository projectRepository,
+                    NotificationPreferenceRepository preferenceRepository,
+                    NotificationOutboxRepository outboxRepository, HealthDigestRunRepository runRepository,
+                    EmailService emailService, NotificationDispatcher notificationDispatcher,
+                    ProjectMetricsRollupService rollupService, PlatformTransactionManager transactionManager,
+                    Clock clock) {
+        this.teamRepository = teamRepository;
+        this.projectRepository = projectRepository;
+        this.preferenceRepository = preferenceRepository;
+        this.outboxRepository = outboxRepository;
+        this.runRepository = runRepository;
+        this.emailService = emailService;
+        this.notificationDispatcher = notificationDispatcher;
+        this.rollupService = rollupService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+    }
+
+    /**
+     * Starts or resumes this week's digest if it is due. Runs at the top of every hour.
+     *
+     * @return the run totals, or {@code null} if this week's digest is not due yet
+     */
+    @Scheduled(cron = "0 0 * * * *")
+    public RunStats runIfDue() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDate weekOf = now.toLocalDate()
+                .with(TemporalAdjusters.previousOrSame(DayOfWeek.of(AppConstants.HEALTH_DIGEST_DAY)));
+        if (now.isBefore(weekOf.atTime(AppConstants.HEALTH_DIGEST_HOUR, 0))) {
+            return null;
+        }
+        return run(weekOf);
+    }
+
+    /**
+     * Queues the digest for every team not yet processed in the given week's run, after building
+     * any missing project metrics rollups.
+     *
+     * @param weekOf the digest date of the week
+     * @return the totals for this invocation
+     */
+    public RunStats run(LocalDate weekOf) {
+        long start = System.nanoTime();
+        Instant weekStart = weekOf.atTime(AppConstants.HEALTH_DIGEST_HOUR, 0)
+                .atZone(clock.getZone()).toInstant().minus(Duration.ofDays(7));
+        transactionTemplate.executeWithoutResult(status -> runRepository.insertIfAbsent(weekOf, clock.instant()));
+        rollupService.rebuildMissing();
+
+        int teams = 0;
+        int projects = 0;
+        int emails = 0;
+        PageStats page;
+        do {
+            page = transactionTemplate.execute(status -> processNextPage(weekOf, weekStart));
+            if (page == null) page = PageStats.DONE;
+            teams += page.teams();
+            projects += page.projects();
+            emails += page.emailsQueued();
+        } while (!page.completed());
+
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        if (teams > 0) {
+            log.info("Health digest week={} teams={} projects={} emailsQueued={} elapsedMs={} teamsPerSecond={}",
+                    weekOf, teams, projects, emails, elapsedMillis,
+                    String.format("%.1f", teams * 1000.0 / Math.max(elapsedMillis, 1)));
+        }
+        return new RunStats(weekOf, teams, projects, emails, elapsedMillis);
+    }
+
+    private PageStats processNextPage(LocalDate weekOf, Instant weekStart) {
+        HealthDigestRun run = runRepository.lockByWeekOf(weekOf).orElse(null);
+        if (run == null || run.getCompletedAt() != null) {
+            return PageStats.DONE;
+        }
+        UUID after = run.getLastTeamId() == null ? MIN_UUID : run.getLastTeamId();
+        List<UUID> teamIds = teamRepository.findIdsAfter(after, Limit.of(AppConstants.HEALTH_DIGEST_TEAM_PAGE_SIZE));
+        if (teamIds.isEmpty()) {
+            run.setCompletedAt(clock.instant());
+            log.info("Health digest week={} complete: teams={} projects={} emailsQueued={}", weekOf,
+                    run.getTeamsProcessed(), run.getProjectsSummarized(), run.getEmailsQueued());
+            return PageStats.DONE;
+        }
+
+        Map<UUID, List<String>> recipients = preferenceRepository.findEmailRecipientsForTeams(teamIds, EVENT_TYPE)
+                .stream()
+                .collect(Collectors.groupingBy(TeamRecipient::teamId, LinkedHashMap::new,
+                        Collectors.mapping(TeamRecipient::email, Collectors.toList())));
+        List<HealthDigestProjectRow> rows = recipients.isEmpty()
+                ? List.of()
+                : projectRepository.findHealthDigestRows(recipients.keySet(), weekStart);
+        Map<UUID, List<HealthDigestProjectRow>> rowsByTeam = rows.stream()
+                .collect(Collectors.groupingBy(HealthDigestProjectRow::teamId, LinkedHashMap::new, Collectors.toList()));
+
+        Instant now = clock.instant();
+        List<NotificationOutbox> entries = new ArrayList<>();
+        rowsByTeam.forEach((teamId, teamRows) -> {
+            EmailService.Content digest = emailService.healthDigest(teamRows.get(0).teamName(),
+                    teamRows.stream().map(HealthDigestJob::summary).toList());
+            entries.addAll(notificationDispatcher.emailEntries(EVENT_TYPE, recipients.get(teamId), digest, now));
+        });
+        outboxRepository.saveAll(entries);
+
+        run.setLastTeamId(teamIds.get(teamIds.size() - 1));
+        run.setTeamsProcessed(run.getTeamsProcessed() + teamIds.size());
+        run.setProjectsSummarized(run.getProjectsSummarized() + rows.size());
+        run.setEmailsQueued(run.getEmailsQueued() + entries.size());
+        return new PageStats(teamIds.size(), rows.size(), entries.size(), false);
+    }
+
+    /**
+     * Formats one project line for {@link EmailService#sendHealthDigest}.
+     *
+     * @param row the project line
+     * @return a map with {@code name}, {@code healthScore} (with the change over the week, when
+     *         known) and {@code findings} (unknown when the project has no metrics rollup)
+     */
+    static Map<String, Object> summary(HealthDigestProjectRow row) {
+        String score;
+        if (row.healthScore() == null) {
+            score = "—";
+        } else if (row.previousHealthScore() == null) {
+            score = String.valueOf(row.healthScore());
+        } else {
+            score = String.format("%d (%+d)", row.healthScore(), row.healthScore() - row.previousHealthScore());
+        }
+        String findings = row.openCriticalFindings() == null || row.openHighFindings() == null
+                ? "—"
+                : row.openCriticalFindings() + " critical, " + row.openHighFindings() + " high";
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("name", row.projectName());
+        summary.put("healthScore", score);
+        summary.put("findings", findings);
+        return summary;
+    }
+}
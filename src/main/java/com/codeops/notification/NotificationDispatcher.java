@@ -1,56 +1,66 @@
 package com.codeops.notification;
 
-import com.codeops.entity.TeamMember;
+import com.codeops.config.MailProperties;
+import com.codeops.entity.NotificationOutbox;
 import com.codeops.entity.User;
-import com.codeops.repository.TeamMemberRepository;
+import com.codeops.entity.enums.NotificationChannel;
+import com.codeops.repository.NotificationOutboxRepository;
+import com.codeops.repository.NotificationPreferenceRepository;
 import com.codeops.repository.TeamRepository;
 import com.codeops.repository.UserRepository;
 import com.codeops.service.NotificationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
 /**
- * Asynchronous notification dispatcher that coordinates sending notifications across
- * multiple channels (email via SES, Microsoft Teams via webhook).
+ * Notification dispatcher that coordinates sending notifications across multiple channels
+ * (email via SMTP, Microsoft Teams via webhook).
  *
- * <p>All dispatch methods are annotated with {@code @Async} and execute on the application's
- * async thread pool. Exceptions are caught and logged at ERROR level to prevent notification
- * failures from propagating to calling services.</p>
+ * <p>Dispatch methods do not contact any channel. They render each notification and write it to
+ * the {@code notification_outbox} table, joining the caller's transaction so a notification is
+ * recorded if and only if the change that triggered it commits. {@link NotificationOutboxWorker}
+ * delivers the rows afterwards and retries failures.</p>
  *
  * <p>Notification routing logic:</p>
  * <ul>
  *   <li>Teams webhooks are sent when a team has a configured {@code teamsWebhookUrl}</li>
  *   <li>Emails are sent to individual users based on their notification preferences,
- *       checked via {@link com.codeops.service.NotificationService#shouldNotify}</li>
+ *       checked via {@link com.codeops.service.NotificationService#shouldNotify} or, for team-wide
+ *       fan-out, {@link NotificationPreferenceRepository#findEmailRecipients}</li>
  * </ul>
  *
  * @see EmailService
  * @see TeamsWebhookService
+ * @see NotificationOutboxWorker
  * @see com.codeops.service.NotificationService
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Transactional
 public class NotificationDispatcher {
 
     private final NotificationService notificationService;
     private final EmailService emailService;
     private final TeamsWebhookService teamsWebhookService;
-    private final TeamMemberRepository teamMemberRepository;
     private final TeamRepository teamRepository;
     private final UserRepository userRepository;
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationPreferenceRepository preferenceRepository;
+    private final MailProperties mailProperties;
 
     /**
      * Dispatches a job-completed notification to the team's Microsoft Teams channel via webhook.
      *
-     * <p>Executes asynchronously. If the team is not found or has no webhook URL configured,
-     * the notification is silently skipped (with a log message). Any exceptions are caught and
-     * logged at ERROR level.</p>
+     * <p>If the team is not found or has no webhook URL configured, the notification is skipped
+     * (with a log message).</p>
      *
      * @param teamId        the ID of the team that owns the project
      * @param jobId         the ID of the completed job
@@ -61,32 +71,32 @@ public class NotificationDispatcher {
      * @param highCount     the number of high-severity findings
      * @param runByName     the display name of the user who triggered the job
      */
-    @Async
     public void dispatchJobCompleted(UUID teamId, UUID jobId, String projectName, String branch, int healthScore, int criticalCount, int highCount, String runByName) {
         log.info("Dispatching job completed notification: teamId={} jobId={} project={}", teamId, jobId, projectName);
-        try {
-            var team = teamRepository.findById(teamId).orElse(null);
-            if (team == null) {
-                log.warn("Cannot dispatch job completed notification: team not found, teamId={}", teamId);
-                return;
-            }
-            if (team.getTeamsWebhookUrl() == null) {
-                log.debug("No webhook URL configured for teamId={}, skipping notification", teamId);
-                return;
-            }
-            teamsWebhookService.postJobCompleted(team.getTeamsWebhookUrl(), projectName, branch, healthScore, criticalCount, highCount, runByName);
-        } catch (Exception e) {
-            log.error("Failed to dispatch job completed notification: {}", e.getMessage(), e);
+        var team = teamRepository.findById(teamId).orElse(null);
+        if (team == null) {
+            log.warn("Cannot dispatch job completed notification: team not found, teamId={}", teamId);
+            return;
+        }
+        if (team.getTeamsWebhookUrl() == null) {
+            log.debug("No webhook URL configured for teamId={}, skipping notification", teamId);
+            return;
         }
+        outboxRepository.save(outboxEntry("JOB_COMPLETED", NotificationChannel.TEAMS_WEBHOOK,
+                team.getTeamsWebhookUrl(), null,
+                teamsWebhookService.jobCompletedCard(projectName, branch, healthScore, criticalCount, highCount, runByName),
+                Instant.now()));
     }
 
     /**
      * Dispatches critical finding notifications to the team's Teams channel and to individual
      * team members via email based on their notification preferences.
      *
-     * <p>Executes asynchronously. For each team member, checks the user's notification
-     * preferences via {@link com.codeops.service.NotificationService#shouldNotify} before sending
-     * an email alert. Teams webhook is sent if the team has a configured webhook URL.</p>
+     * <p>Recipients are the team members with email enabled for {@code "CRITICAL_FINDING"}, resolved
+     * in a single query by {@link NotificationPreferenceRepository#findEmailRecipients}. The alert is
+     * rendered once; when {@code codeops.mail.bcc-batch-size} is greater than 1, recipients are
+     * grouped into blind-copied messages of that size instead of one message each. A Teams card is
+     * queued if the team has a configured webhook URL.</p>
      *
      * @param teamId        the ID of the team that owns the project
      * @param projectId     the ID of the project with critical findings
@@ -94,73 +104,103 @@ public class NotificationDispatcher {
      * @param criticalCount the number of critical findings detected
      * @param jobUrl        the URL to the job details page for reviewing findings
      */
-    @Async
     public void dispatchCriticalFinding(UUID teamId, UUID projectId, String projectName, int criticalCount, String jobUrl) {
         log.info("Dispatching critical finding notification: teamId={} projectId={} criticalCount={}", teamId, projectId, criticalCount);
-        try {
-            var team = teamRepository.findById(teamId).orElse(null);
-            if (team == null) {
-                log.warn("Cannot dispatch critical finding notification: team not found, teamId={}", teamId);
-                return;
-            }
-            if (team.getTeamsWebhookUrl() != null) {
-                teamsWebhookService.postCriticalAlert(team.getTeamsWebhookUrl(), projectName, criticalCount);
-            }
-            List<TeamMember> members = teamMemberRepository.findByTeamId(teamId);
-            for (TeamMember member : members) {
-                User user = userRepository.findById(member.getUser().getId()).orElse(null);
-                if (user != null && notificationService.shouldNotify(user.getId(), "CRITICAL_FINDING", "email")) {
-                    emailService.sendCriticalFindingAlert(user.getEmail(), projectName, criticalCount, jobUrl);
-                }
-            }
-        } catch (Exception e) {
-            log.error("Failed to dispatch critical finding notification: {}", e.getMessage(), e);
+        var team = teamRepository.findById(teamId).orElse(null);
+        if (team == null) {
+            log.warn("Cannot dispatch critical finding notification: team not found, teamId={}", teamId);
+            return;
+        }
+        Instant now = Instant.now();
+        List<NotificationOutbox> entries = new ArrayList<>();
+        if (team.getTeamsWebhookUrl() != null) {
+            entries.add(outboxEntry("CRITICAL_FINDING", NotificationChannel.TEAMS_WEBHOOK, team.getTeamsWebhookUrl(),
+                    null, teamsWebhookService.criticalAlertCard(projectName, criticalCount), now));
         }
+        EmailService.Content email = emailService.criticalFindingAlert(projectName, criticalCount, jobUrl);
+        List<String> recipients = preferenceRepository.findEmailRecipients(teamId, "CRITICAL_FINDING");
+        entries.addAll(emailEntries("CRITICAL_FINDING", recipients, email, now));
+        outboxRepository.saveAll(entries);
     }
 
     /**
      * Dispatches a task assignment email notification to the assigned user, if their
      * notification preferences allow it.
      *
-     * <p>Executes asynchronously. Checks the user's notification preferences for the
-     * {@code "TASK_ASSIGNED"} event type before sending the email.</p>
+     * <p>Checks the user's notification preferences for the {@code "TASK_ASSIGNED"} event type
+     * before queueing the email.</p>
      *
      * @param userId      the ID of the user being assigned the task
      * @param taskTitle   the title of the assigned task
      * @param projectName the name of the project containing the task
      */
-    @Async
     public void dispatchTaskAssigned(UUID userId, String taskTitle, String projectName) {
         log.info("Dispatching task assigned notification: userId={} project={}", userId, projectName);
-        try {
-            User user = userRepository.findById(userId).orElse(null);
-            if (user != null && notificationService.shouldNotify(userId, "TASK_ASSIGNED", "email")) {
-                emailService.sendEmail(user.getEmail(), "CodeOps — Task Assigned: " + taskTitle,
-                        "You have been assigned a task in " + projectName + ": " + taskTitle);
-            }
-        } catch (Exception e) {
-            log.error("Failed to dispatch task assigned notification: {}", e.getMessage(), e);
+        User user = userRepository.findById(userId).orElse(null);
+        if (user != null && notificationService.shouldNotify(userId, "TASK_ASSIGNED", "email")) {
+            outboxRepository.save(outboxEntry("TASK_ASSIGNED", NotificationChannel.EMAIL, user.getEmail(),
+                    "CodeOps — Task Assigned: " + taskTitle,
+                    "You have been assigned a task in " + projectName + ": " + taskTitle, Instant.now()));
         }
     }
 
     /**
      * Dispatches a team invitation email to the specified recipient.
      *
-     * <p>Executes asynchronously. Delegates directly to {@link EmailService#sendInvitationEmail}
-     * without checking notification preferences (invitations are always sent).</p>
+     * <p>Notification preferences are not checked (invitations are always sent).</p>
      *
      * @param toEmail     the recipient's email address
      * @param teamName    the name of the team the user is being invited to
      * @param inviterName the display name of the user who sent the invitation
      * @param acceptUrl   the URL the recipient should click to accept the invitation
      */
-    @Async
     public void dispatchInvitation(String toEmail, String teamName, String inviterName, String acceptUrl) {
         log.info("Dispatching invitation notification: toEmail={} teamName={}", toEmail, teamName);
-        try {
-            emailService.sendInvitationEmail(toEmail, teamName, inviterName, acceptUrl);
-        } catch (Exception e) {
-            log.error("Failed to dispatch invitation notification: {}", e.getMessage(), e);
+        EmailService.Content email = emailService.invitationEmail(teamName, inviterName, acceptUrl);
+        outboxRepository.save(outboxEntry("INVITATION", NotificationChannel.EMAIL, toEmail,
+                email.subject(), email.htmlBody(), Instant.now()));
+    }
+
+    /**
+     * Builds the outbox rows that send one rendered email to many recipients: one row per
+     * recipient, or, when {@code codeops.mail.bcc-batch-size} is greater than 1, one row per group
+     * of that many recipients, addressed to the sender and blind-copied to the group.
+     *
+     * @param eventType  the notification event type
+     * @param recipients the recipient email addresses
+     * @param email      the rendered email
+     * @param now        the time the rows become due
+     * @return the outbox rows, not yet saved
+     */
+    public List<NotificationOutbox> emailEntries(String eventType, List<String> recipients, EmailService.Content email,
+                                                 Instant now) {
+        List<NotificationOutbox> entries = new ArrayList<>();
+        int bccBatchSize = mailProperties.getBccBatchSize();
+        if (bccBatchSize > 1) {
+            for (int from = 0; from < recipients.size(); from += bccBatchSize) {
+                NotificationOutbox entry = outboxEntry(eventType, NotificationChannel.EMAIL,
+                        mailProperties.getFromEmail(), email.subject(), email.htmlBody(), now);
+                entry.setBcc(String.join(",", recipients.subList(from, Math.min(from + bccBatchSize, recipients.size()))));
+                entries.add(entry);
+            }
+        } else {
+            for (String recipient : recipients) {
+                entries.add(outboxEntry(eventType, NotificationChannel.EMAIL, recipient,
+                        email.subject(), email.htmlBody(), now));
+            }
         }
+        return entries;
+    }
+
+    private static NotificationOutbox outboxEntry(String eventType, NotificationChannel channel, String recipient,
+                                                  String subject, String body, Instant now) {
+        return NotificationOutbox.builder()
+                .eventType(eventType)
+                .channel(channel)
+                .recipient(recipient)
+                .subject(subject)
+                .body(body)
+                .nextAttemptAt(now)
+                .build();
     }
 }
@@ -0,0 +1,270 @@
+package com.codeops.notification;
+
+import com.codeops.config.AppConstants;
+import com.codeops.entity.NotificationOutbox;
+import com.codeops.entity.enums.NotificationChannel;
+import com.codeops.entity.enums.OutboxStatus;
+import com.codeops.repository.NotificationOutboxRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Delivers the notifications queued in the {@code notification_outbox} table by
+ * {@link NotificationDispatcher}.
+ *
+ * <p>Every {@value AppConstants#NOTIFICATION_OUTBOX_POLL_INTERVAL_MS} ms the worker claims up to
+ * {@value AppConstants#NOTIFICATION_OUTBOX_BATCH_SIZE} due rows with
+ * {@code SELECT ... FOR UPDATE SKIP LOCKED}, so several application instances can poll the same
+ * table without claiming the same row. Claiming increments the attempt count and pushes
+ * {@code next_attempt_at} forward by a lease of {@value AppConstants#NOTIFICATION_OUTBOX_LEASE_SECONDS}
+ * seconds before the short claim transaction commits; the batch is then sent on a dedicated pool of
+ * {@value AppConstants#NOTIFICATION_DELIVERY_THREADS} threads without holding any row locks or
+ * database connections. Email rows are split into at most one group per delivery thread and each
+ * group is sent over a single SMTP connection. If the instance dies mid-batch, the rows become due
+ * again when the lease expires, so delivery is at least once.</p>
+ *
+ * <p>Failed deliveries are retried with exponential backoff starting at
+ * {@value AppConstants#NOTIFICATION_RETRY_BASE_SECONDS} seconds, capped at
+ * {@value AppConstants#NOTIFICATION_RETRY_MAX_SECONDS} seconds and randomized by up to half, so
+ * notifications to an endpoint that is down do not all retry at the same instant. A notification is
+ * marked {@link OutboxStatus#FAILED} after {@value AppConstants#NOTIFICATION_MAX_ATTEMPTS} attempts,
+ * or immediately if its recipient is invalid.</p>
+ *
+ * @see NotificationOutboxRepository#lockDue
+ */
+@Service
+@Slf4j
+public class NotificationOutboxWorker {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final EmailService emailService;
+    private final TeamsWebhookService teamsWebhookService;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService deliveryExecutor;
+    private final Clock clock;
+
+    /**
+     * Creates a worker with its own delivery thread pool and the system UTC clock.
+     *
+     * @param outboxRepository    repository for the outbox rows
+     * @param emailService        channel for {@link NotificationChannel#EMAIL} rows
+     * @param teamsWebhookService channel for {@link NotificationChannel#TEAMS_WEBHOOK} rows
+     * @param transactionManager  transaction manager for the claim and result transactions
+     */
+    @Autowired
+    public NotificationOutboxWorker(NotificationOutboxRepository outboxRepository, EmailService emailService,
+                                    TeamsWebhookService teamsWebhookService,
+                                    PlatformTransactionManager transactionManager) {
+        this(outboxRepository, emailService, teamsWebhookService, transactionManager,
+                Executors.newFixedThreadPool(AppConstants.NOTIFICATION_DELIVERY_THREADS, deliveryThreadFactory()),
+                Clock.systemUTC());
+    }
+
+    NotificationOutboxWorker(NotificationOutboxRepository outboxRepository, EmailService emailService,
+                             TeamsWebhookService teamsWebhookService, PlatformTransactionManager transactionManager,
+                             ExecutorService deliveryExecutor, Clock clock) {
+        this.outboxRepository = outboxRepository;
+        this.emailService = emailService;
+        this.teamsWebhookService = teamsWebhookService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.deliveryExecutor = deliveryExecutor;
+        this.clock = clock;
+    }
+
+    /**
+     * Delivers due notifications, claiming further batches for as long as full batches are found.
+     *
+     * @return the number of notifications delivered
+     */
+    @Scheduled(fixedDelay = AppConstants.NOTIFICATION_OUTBOX_POLL_INTERVAL_MS)
+    public int deliverDue() {
+        int delivered = 0;
+        while (true) {
+            List<NotificationOutbox> batch = claimBatch();
+            if (batch.isEmpty()) break;
+            delivered += deliverBatch(batch);
+            if (batch.size() < AppConstants.NOTIFICATION_OUTBOX_BATCH_SIZE) break;
+        }
+        return delivered;
+    }
+
+    /**
+     * Deletes sent notifications older than the retention period. Runs daily at 04:15 server time.
+     *
+     * @return the number of rows deleted
+     */
+    @Scheduled(cron = "0 15 4 * * *")
+    public int purgeSent() {
+        Instant cutoff = clock.instant().minus(Duration.ofDays(AppConstants.NOTIFICATION_OUTBOX_SENT_RETENTION_DAYS));
+        Integer deleted = transactionTemplate.execute(status -> outboxRepository.deleteSentBefore(cutoff));
+        int count = deleted == null ? 0 : deleted;
+        if (count > 0) {
+            log.info("Purged {} sent notifications older than {}", count, cutoff);
+        }
+        return count;
+    }
+
+    /**
+     * Stops the delivery pool, letting in-flight sends finish. Rows whose send is interrupted are
+     * retried by any instance once their lease expires.
+     */
+    @PreDestroy
+    public void shutdown() {
+        deliveryExecutor.shutdown();
+        try {
+            if (!deliveryExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+                deliveryExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            deliveryExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private List<NotificationOutbox> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            Instant now = clock.instant();
+            List<NotificationOutbox> rows = outboxRepository.lockDue(now, AppConstants.NOTIFICATION_OUTBOX_BATCH_SIZE);
+            Instant leaseExpiry = now.plusSeconds(AppConstants.NOTIFICATION_OUTBOX_LEASE_SECONDS);
+            for (NotificationOutbox row : rows) {
+                row.setAttempts(row.getAttempts() + 1);
+                row.setNextAttemptAt(leaseExpiry);
+            }
+            return rows;
+        });
+    }
+
+    private int deliverBatch(List<NotificationOutbox> batch) {
+        List<NotificationOutbox> emails = new ArrayList<>();
+        List<CompletableFuture<Map<UUID, Throwable>>> results = new ArrayList<>();
+        for (NotificationOutbox row : batch) {
+            if (row.getChannel() == NotificationChannel.EMAIL) {
+                emails.add(row);
+            } else {
+                results.add(CompletableFuture.supplyAsync(() -> postWebhook(row), deliveryExecutor));
+            }
+        }
+        int sessionSize = Math.max(1, (emails.size() + AppConstants.NOTIFICATION_DELIVERY_THREADS - 1)
+                / AppConstants.NOTIFICATION_DELIVERY_THREADS);
+        for (int from = 0; from < emails.size(); from += sessionSize) {
+            List<NotificationOutbox> session = emails.subList(from, Math.min(from + sessionSize, emails.size()));
+            results.add(CompletableFuture.supplyAsync(() -> sendEmails(session), deliveryExecutor));
+        }
+
+        Map<UUID, Throwable> errors = new HashMap<>();
+        results.forEach(result -> errors.putAll(result.join()));
+        List<UUID> sent = new ArrayList<>();
+        List<Runnable> failures = new ArrayList<>();
+        Instant now = clock.instant();
+        for (NotificationOutbox row : batch) {
+            Throwable error = errors.get(row.getId());
+            if (error == null) {
+                sent.add(row.getId());
+            } else {
+                failures.add(() -> recordFailure(row, error, now));
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!sent.isEmpty()) {
+                outboxRepository.markSent(sent, now);
+            }
+            failures.forEach(Runnable::run);
+        });
+        log.info("Notification outbox batch: claimed={}, sent={}, failed={}", batch.size(), sent.size(), failures.size());
+        return sent.size();
+    }
+
+    private Map<UUID, Throwable> postWebhook(NotificationOutbox row) {
+        try {
+            teamsWebhookService.deliver(row.getRecipient(), row.getBody());
+            return Map.of();
+        } catch (RuntimeException e) {
+            return Map.of(row.getId(), e);
+        }
+    }
+
+    private Map<UUID, Throwable> sendEmails(List<NotificationOutbox> rows) {
+        List<EmailService.OutgoingEmail> emails = rows.stream()
+                .map(row -> new EmailService.OutgoingEmail(row.getRecipient(), bccList(row.getBcc()),
+                        row.getSubject(), row.getBody()))
+                .toList();
+        Map<UUID, Throwable> errors = new HashMap<>();
+        try {
+            emailService.deliverAll(emails).forEach((i, error) -> errors.put(rows.get(i).getId(), error));
+        } catch (RuntimeException e) {
+            rows.forEach(row -> errors.put(row.getId(), e));
+        }
+        return errors;
+    }
+
+    private static List<String> bccList(String bcc) {
+        return bcc == null || bcc.isBlank() ? List.of() : List.of(bcc.split(","));
+    }
+
+    private void recordFailure(NotificationOutbox row, Throwable error, Instant now) {
+        String message = error.getClass().getSimpleName() + ": " + error.getMessage();
+        if (message.length() > MAX_ERROR_LENGTH) {
+            message = message.substring(0, MAX_ERROR_LENGTH);
+        }
+        boolean permanent = error instanceof IllegalArgumentException
+                || row.getAttempts() >= AppConstants.NOTIFICATION_MAX_ATTEMPTS;
+        if (permanent) {
+            log.error("Giving up on notification id={} event={} channel={} after {} attempts: {}",
+                    row.getId(), row.getEventType(), row.getChannel(), row.getAttempts(), message);
+            outboxRepository.markAttemptFailed(row.getId(), OutboxStatus.FAILED, row.getNextAttemptAt(), message, now);
+        } else {
+            Instant retryAt = now.plusSeconds(backoffSeconds(row.getAttempts(), ThreadLocalRandom.current().nextDouble()));
+            log.warn("Notification id={} event={} channel={} failed on attempt {}, retrying at {}: {}",
+                    row.getId(), row.getEventType(), row.getChannel(), row.getAttempts(), retryAt, message);
+            outboxRepository.markAttemptFailed(row.getId(), OutboxStatus.PENDING, retryAt, message, now);
+        }
+    }
+
+    /**
+     * Computes the delay before the next attempt: the base delay doubled for every previous
+     * attempt, capped at the maximum, of which the upper half is scaled by {@code jitter}.
+     *
+     * @param attempts the number of attempts made so far (at least 1)
+     * @param jitter   a random value in {@code [0, 1)}
+     * @return the delay in seconds
+     */
+    static long backoffSeconds(int attempts, double jitter) {
+        int doublings = Math.min(attempts - 1, 20);
+        long delay = Math.min(AppConstants.NOTIFICATION_RETRY_BASE_SECONDS << doublings,
+                AppConstants.NOTIFICATION_RETRY_MAX_SECONDS);
+        long half = delay / 2;
+        return delay - half + (long) (half * jitter);
+    }
+
+    private static ThreadFactory deliveryThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "codeops-notify-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -1,5 +1,7 @@
 package com.codeops.notification;
 
+import com.codeops.exception.NotificationDeliveryException;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -7,22 +9,22 @@ import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
-import java.net.InetAddress;
-import java.net.URI;
-import java.net.URISyntaxException;
-import java.net.UnknownHostException;
 import java.util.*;
 
 /**
  * Service for sending notifications to Microsoft Teams channels via incoming webhook connectors.
  *
  * <p>Constructs MessageCard-format JSON payloads and posts them to configured webhook URLs
- * using {@link RestTemplate}. All webhook URLs are validated before use to enforce HTTPS
- * and reject internal/loopback network addresses (SSRF protection).</p>
+ * using {@link RestTemplate}. All webhook URLs are validated by {@link WebhookUrlValidator} before
+ * use to enforce HTTPS and reject internal/loopback network addresses (SSRF protection), and calls
+ * to a URL that keeps failing are short-circuited by {@link WebhookCircuitBreaker}.</p>
  *
- * <p>Posting failures are caught and logged at ERROR level without propagating to callers.</p>
+ * <p>The {@code post*} methods catch posting failures and log them at ERROR level without
+ * propagating to callers. {@link #deliver} instead reports failures so the notification outbox can
+ * retry them.</p>
  *
  * @see NotificationDispatcher
  * @see com.codeops.config.RestTemplateConfig
@@ -34,28 +36,8 @@ public class TeamsWebhookService {
 
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
-
-    private void validateWebhookUrl(String url) {
-        log.debug("Validating webhook URL");
-        try {
-            URI uri = new URI(url);
-            String host = uri.getHost();
-            if (host == null) throw new IllegalArgumentException("Invalid webhook URL");
-
-            InetAddress address = InetAddress.getByName(host);
-            if (address.isLoopbackAddress() || address.isSiteLocalAddress() || address.isLinkLocalAddress()) {
-                throw new IllegalArgumentException("Webhook URL must not point to internal network addresses");
-            }
-
-            String scheme = uri.getScheme();
-            if (!"https".equalsIgnoreCase(scheme)) {
-                throw new IllegalArgumentException("Webhook URL must use HTTPS");
-            }
-        } catch (URISyntaxException | UnknownHostException e) {
-            log.warn("Webhook URL validation failed: {}", e.getMessage());
-            throw new IllegalArgumentException("Invalid webhook URL: " + e.getMessage());
-        }
-    }
+    private final WebhookUrlValidator urlValidator;
+    private final WebhookCircuitBreaker circuitBreaker;
 
     /**
      * Posts a MessageCard-format notification to the specified Teams webhook URL.
@@ -75,44 +57,92 @@ public class TeamsWebhookService {
      */
     public void postMessage(String webhookUrl, String title, String subtitle, Map<String, String> facts, String actionUrl) {
         if (webhookUrl == null || webhookUrl.isBlank()) return;
-        validateWebhookUrl(webhookUrl);
+        urlValidator.validate(webhookUrl);
 
         try {
-            List<Map<String, String>> factsList = new ArrayList<>();
-            facts.forEach((key, value) -> factsList.add(Map.of("name", key, "value", value)));
-
-            Map<String, Object> section = new LinkedHashMap<>();
-            section.put("activityTitle", subtitle);
-            section.put("facts", factsList);
-            section.put("markdown", true);
-
-            Map<String, Object> payload = new LinkedHashMap<>();
-            payload.put("@type", "MessageCard");
-            payload.put("@context", "http://schema.org/extensions");
-            payload.put("summary", title);
-            payload.put("themeColor", "0076D7");
-            payload.put("title", title);
-            payload.put("sections", List.of(section));
-
-            if (actionUrl != null) {
-                Map<String, Object> action = new LinkedHashMap<>();
-                action.put("@type", "OpenUri");
-                action.put("name", "View in CodeOps");
-                action.put("targets", List.of(Map.of("os", "default", "uri", actionUrl)));
-                payload.put("potentialAction", List.of(action));
-            }
-
-            String jsonPayload = objectMapper.writeValueAsString(payload);
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            HttpEntity<String> entity = new HttpEntity<>(jsonPayload, headers);
-            restTemplate.postForEntity(webhookUrl, entity, String.class);
+            post(webhookUrl, messageCard(title, subtitle, facts, actionUrl));
             log.info("Webhook posted successfully: title={}", title);
         } catch (Exception e) {
             log.error("Webhook delivery failed: title={}, error={}", title, e.getMessage(), e);
         }
     }
 
+    /**
+     * Posts a pre-rendered message card, reporting failures to the caller so delivery can be
+     * retried. Used by {@link NotificationOutboxWorker}.
+     *
+     * @param webhookUrl  the Teams incoming webhook URL (must be HTTPS, non-internal)
+     * @param jsonPayload the MessageCard JSON
+     * @throws IllegalArgumentException      if the webhook URL is not HTTPS or resolves to an internal address
+     * @throws NotificationDeliveryException if the webhook endpoint could not be reached or rejected the card,
+     *                                       or its circuit is open
+     */
+    public void deliver(String webhookUrl, String jsonPayload) {
+        urlValidator.validate(webhookUrl);
+        try {
+            post(webhookUrl, jsonPayload);
+        } catch (RestClientException e) {
+            throw new NotificationDeliveryException("Webhook delivery failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Renders a MessageCard-format JSON payload.
+     *
+     * @param title     the card title
+     * @param subtitle  the activity title displayed below the main title
+     * @param facts     key-value pairs displayed as facts in the card body
+     * @param actionUrl optional URL for a "View in CodeOps" button, or {@code null} to omit
+     * @return the JSON payload
+     */
+    String messageCard(String title, String subtitle, Map<String, String> facts, String actionUrl) {
+        List<Map<String, String>> factsList = new ArrayList<>();
+        facts.forEach((key, value) -> factsList.add(Map.of("name", key, "value", value)));
+
+        Map<String, Object> section = new LinkedHashMap<>();
+        section.put("activityTitle", subtitle);
+        section.put("facts", factsList);
+        section.put("markdown", true);
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("@type", "MessageCard");
+        payload.put("@context", "http://schema.org/extensions");
+        payload.put("summary", title);
+        payload.put("themeColor", "0076D7");
+        payload.put("title", title);
+        payload.put("sections", List.of(section));
+
+        if (actionUrl != null) {
+            Map<String, Object> action = new LinkedHashMap<>();
+            action.put("@type", "OpenUri");
+            action.put("name", "View in CodeOps");
+            action.put("targets", List.of(Map.of("os", "default", "uri", actionUrl)));
+            payload.put("potentialAction", List.of(action));
+        }
+
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize message card", e);
+        }
+    }
+
+    private void post(String webhookUrl, String jsonPayload) {
+        if (!circuitBreaker.tryAcquire(webhookUrl)) {
+            throw new NotificationDeliveryException("Webhook circuit is open, delivery deferred");
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<String> entity = new HttpEntity<>(jsonPayload, headers);
+        try {
+            restTemplate.postForEntity(webhookUrl, entity, String.class);
+        } catch (RuntimeException e) {
+            circuitBreaker.recordFailure(webhookUrl);
+            throw e;
+        }
+        circuitBreaker.recordSuccess(webhookUrl);
+    }
+
     /**
      * Posts a job-completed notification card to Teams with audit results including
      * project name, branch, health score, critical/high finding counts, and who ran the job.
@@ -126,6 +156,21 @@ public class TeamsWebhookService {
      * @param runBy         the display name of the user who triggered the job
      */
     public void postJobCompleted(String webhookUrl, String projectName, String branch, int healthScore, int criticalCount, int highCount, String runBy) {
+        postMessage(webhookUrl, "CodeOps — Audit Complete", projectName + " | " + branch,
+                jobCompletedFacts(projectName, branch, healthScore, criticalCount, highCount, runBy), null);
+    }
+
+    /**
+     * Renders the job-completed card posted by {@link #postJobCompleted}.
+     *
+     * @return the MessageCard JSON
+     */
+    String jobCompletedCard(String projectName, String branch, int healthScore, int criticalCount, int highCount, String runBy) {
+        return messageCard("CodeOps — Audit Complete", projectName + " | " + branch,
+                jobCompletedFacts(projectName, branch, healthScore, criticalCount, highCount, runBy), null);
+    }
+
+    private static Map<String, String> jobCompletedFacts(String projectName, String branch, int healthScore, int criticalCount, int highCount, String runBy) {
         LinkedHashMap<String, String> facts = new LinkedHashMap<>();
         facts.put("Project", projectName);
         facts.put("Branch", branch);
@@ -133,7 +178,7 @@ public class TeamsWebhookService {
         facts.put("Critical", String.valueOf(criticalCount));
         facts.put("High", String.valueOf(highCount));
         facts.put("Run By", runBy);
-        postMessage(webhookUrl, "CodeOps — Audit Complete", projectName + " | " + branch, facts, null);
+        return facts;
     }
 
     /**
@@ -145,10 +190,23 @@ public class TeamsWebhookService {
      * @param criticalCount the number of critical findings detected
      */
     public void postCriticalAlert(String webhookUrl, String projectName, int criticalCount) {
+        postMessage(webhookUrl, "CodeOps — Critical Alert", projectName, criticalAlertFacts(projectName, criticalCount), null);
+    }
+
+    /**
+     * Renders the critical alert card posted by {@link #postCriticalAlert}.
+     *
+     * @return the MessageCard JSON
+     */
+    String criticalAlertCard(String projectName, int criticalCount) {
+        return messageCard("CodeOps — Critical Alert", projectName, criticalAlertFacts(projectName, criticalCount), null);
+    }
+
+    private static Map<String, String> criticalAlertFacts(String projectName, int criticalCount) {
         LinkedHashMap<String, String> facts = new LinkedHashMap<>();
         facts.put("Project", projectName);
         facts.put("Critical Findings", String.valueOf(criticalCount));
         facts.put("Action Required", "Immediate review recommended");
-        postMessage(webhookUrl, "CodeOps — Critical Alert", projectName, facts, null);
+        return facts;
     }
 }
@@ -0,0 +1,166 @@
+package com.codeops.notification;
+
+import com.codeops.config.OutboundHttpProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * A circuit breaker per webhook URL, so a Teams endpoint that is down stops being called until it
+ * has had time to recover.
+ *
+ * <p>A circuit opens after {@code failure-threshold} consecutive failures and then rejects calls
+ * for {@code open-duration}. After that a single trial call is let through (half-open): success
+ * closes the circuit, failure opens it again. Callers must report the outcome of every permitted
+ * call through {@link #recordSuccess} or {@link #recordFailure}.</p>
+ *
+ * <p>Webhook URLs embed secrets, so only the host is logged.</p>
+ *
+ * @see TeamsWebhookService
+ * @see OutboundHttpProperties.CircuitBreaker
+ */
+@Component
+@Slf4j
+public class WebhookCircuitBreaker {
+
+    /**
+     * The state of a circuit.
+     */
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier nanoClock;
+    private final ConcurrentHashMap<String, Circuit> circuits = new ConcurrentHashMap<>();
+
+    private final class Circuit {
+        private State state = State.CLOSED;
+        private int consecutiveFailures;
+        private long openedAtNanos;
+
+        synchronized boolean tryAcquire(long now) {
+            if (state == State.CLOSED) return true;
+            if (state == State.OPEN && now - openedAtNanos >= openNanos) {
+                state = State.HALF_OPEN;
+                return true;
+            }
+            return false;
+        }
+
+        synchronized void onSuccess() {
+            state = State.CLOSED;
+            consecutiveFailures = 0;
+        }
+
+        synchronized boolean onFailure(long now) {
+            consecutiveFailures++;
+            if (state == State.OPEN) return false;
+            if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+                state = State.OPEN;
+                openedAtNanos = now;
+                return true;
+            }
+            return false;
+        }
+
+        synchronized boolean isIdle() {
+            return state == State.CLOSED && consecutiveFailures == 0;
+        }
+
+        synchronized State state() {
+            return state;
+        }
+    }
+
+    /**
+     * Creates a circuit breaker using the system nanosecond clock.
+     *
+     * @param properties the outbound HTTP configuration
+     */
+    @Autowired
+    public WebhookCircuitBreaker(OutboundHttpProperties properties) {
+        this(properties.getCircuitBreaker().getFailureThreshold(),
+                properties.getCircuitBreaker().getOpenDuration(), System::nanoTime);
+    }
+
+    WebhookCircuitBreaker(int failureThreshold, Duration openDuration, LongSupplier nanoClock) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("circuit-breaker.failure-threshold must be at least 1");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Checks whether a call to the given URL may proceed.
+     *
+     * @param url the webhook URL
+     * @return {@code true} if the circuit is closed or a half-open trial call is permitted
+     */
+    public boolean tryAcquire(String url) {
+        Circuit circuit = circuits.get(url);
+        return circuit == null || circuit.tryAcquire(nanoClock.getAsLong());
+    }
+
+    /**
+     * Records a successful call, closing the circuit.
+     *
+     * @param url the webhook URL
+     */
+    public void recordSuccess(String url) {
+        Circuit circuit = circuits.get(url);
+        if (circuit != null) {
+            circuit.onSuccess();
+        }
+    }
+
+    /**
+     * Records a failed call, opening the circuit if the failure threshold is reached or the call
+     * was a half-open trial.
+     *
+     * @param url the webhook URL
+     */
+    public void recordFailure(String url) {
+        if (circuits.computeIfAbsent(url, u -> new Circuit()).onFailure(nanoClock.getAsLong())) {
+            log.warn("Webhook circuit opened for host={}", hostOf(url));
+        }
+    }
+
+    /**
+     * Returns the state of the circuit for the given URL.
+     *
+     * @param url the webhook URL
+     * @return the circuit state; URLs with no recorded failures are {@link State#CLOSED}
+     */
+    public State state(String url) {
+        Circuit circuit = circuits.get(url);
+        return circuit == null ? State.CLOSED : circuit.state();
+    }
+
+    /**
+     * Removes closed circuits with no outstanding failures. Runs every ten minutes.
+     *
+     * @return the number of circuits removed
+     */
+    @Scheduled(fixedDelay = 600_000)
+    public int evictIdle() {
+        int before = circuits.size();
+        circuits.values().removeIf(Circuit::isIdle);
+        return Math.max(before - circuits.size(), 0);
+    }
+
+    private static String hostOf(String url) {
+        try {
+            return new URI(url).getHost();
+        } catch (Exception e) {
+            return "<invalid>";
+        }
+    }
+}
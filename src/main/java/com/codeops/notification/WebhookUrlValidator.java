@@ -0,0 +1,126 @@
+package com.codeops.notification;
+
+import com.codeops.config.OutboundHttpProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Validates webhook URLs before use: the URL must use HTTPS and its host must not resolve to a
+ * loopback, site-local, link-local or wildcard address (SSRF protection).
+ *
+ * <p>Resolving the host is a blocking DNS lookup, so the verdict for each host is cached for
+ * {@code codeops.outbound-http.host-validation-ttl}. Both accepted and rejected hosts are cached;
+ * hosts that fail to resolve are not, so a transient DNS failure is re-checked on the next call.</p>
+ *
+ * @see TeamsWebhookService
+ */
+@Component
+@Slf4j
+public class WebhookUrlValidator {
+
+    /**
+     * Resolves a host name to all of its addresses.
+     */
+    @FunctionalInterface
+    interface HostResolver {
+        InetAddress[] resolve(String host) throws UnknownHostException;
+    }
+
+    private record Verdict(String rejection, long expiresAtNanos) {}
+
+    private final long ttlNanos;
+    private final HostResolver resolver;
+    private final LongSupplier nanoClock;
+    private final ConcurrentHashMap<String, Verdict> verdicts = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a validator using system DNS resolution.
+     *
+     * @param properties the outbound HTTP configuration providing the cache TTL
+     */
+    @Autowired
+    public WebhookUrlValidator(OutboundHttpProperties properties) {
+        this(properties.getHostValidationTtl(), InetAddress::getAllByName, System::nanoTime);
+    }
+
+    WebhookUrlValidator(Duration ttl, HostResolver resolver, LongSupplier nanoClock) {
+        this.ttlNanos = ttl.toNanos();
+        this.resolver = resolver;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Validates a webhook URL.
+     *
+     * @param url the webhook URL
+     * @throws IllegalArgumentException if the URL is malformed, not HTTPS, its host cannot be
+     *                                  resolved, or it resolves to an internal network address
+     */
+    public void validate(String url) {
+        log.debug("Validating webhook URL");
+        URI uri;
+        try {
+            uri = new URI(url);
+        } catch (URISyntaxException e) {
+            log.warn("Webhook URL validation failed: {}", e.getMessage());
+            throw new IllegalArgumentException("Invalid webhook URL: " + e.getMessage());
+        }
+        String host = uri.getHost();
+        if (host == null) throw new IllegalArgumentException("Invalid webhook URL");
+        if (!"https".equalsIgnoreCase(uri.getScheme())) {
+            throw new IllegalArgumentException("Webhook URL must use HTTPS");
+        }
+
+        String key = host.toLowerCase(Locale.ROOT);
+        long now = nanoClock.getAsLong();
+        Verdict verdict = verdicts.get(key);
+        if (verdict == null || now - verdict.expiresAtNanos() >= 0) {
+            verdict = new Verdict(checkHost(key), now + ttlNanos);
+            verdicts.put(key, verdict);
+        }
+        if (verdict.rejection() != null) {
+            throw new IllegalArgumentException(verdict.rejection());
+        }
+    }
+
+    private String checkHost(String host) {
+        InetAddress[] addresses;
+        try {
+            addresses = resolver.resolve(host);
+        } catch (UnknownHostException e) {
+            log.warn("Webhook URL validation failed: {}", e.getMessage());
+            throw new IllegalArgumentException("Invalid webhook URL: " + e.getMessage());
+        }
+        for (InetAddress address : addresses) {
+            if (address.isLoopbackAddress() || address.isSiteLocalAddress() || address.isLinkLocalAddress()
+                    || address.isAnyLocalAddress()) {
+                return "Webhook URL must not point to internal network addresses";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Removes expired host verdicts. Runs every ten minutes.
+     *
+     * @return the number of verdicts removed
+     */
+    @Scheduled(fixedDelay = 600_000)
+    public int evictExpired() {
+        long now = nanoClock.getAsLong();
+        int before = verdicts.size();
+        verdicts.values().removeIf(verdict -> now - verdict.expiresAtNanos() >= 0);
+        return Math.max(before - verdicts.size(), 0);
+    }
+}
@@ -31,4 +31,13 @@ public interface AgentRunRepository extends JpaRepository<AgentRun, UUID> {
     @Query("DELETE FROM AgentRun a WHERE a.job.id IN "
             + "(SELECT j.id FROM QaJob j WHERE j.project.id = :projectId)")
     void deleteAllByProjectId(@Param("projectId") UUID projectId);
+
+    /**
+     * Resolves the team that owns an agent run through its job's project.
+     *
+     * @param agentRunId the agent run ID
+     * @return the owning team's ID, or empty if the agent run does not exist
+     */
+    @Query("SELECT r.job.project.team.id FROM AgentRun r WHERE r.id = :agentRunId")
+    Optional<UUID> findTeamIdById(@Param("agentRunId") UUID agentRunId);
 }
@@ -1,11 +1,15 @@
 package com.codeops.repository;
 
 import com.codeops.entity.AuditLog;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -17,4 +21,44 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
     Page<AuditLog> findByUserIdOrderByCreatedAtDesc(UUID userId, Pageable pageable);
 
     List<AuditLog> findByEntityTypeAndEntityId(String entityType, UUID entityId);
+
+    List<AuditLog> findByTeamIdOrderByCreatedAtDescIdDesc(UUID teamId, Limit limit);
+
+    List<AuditLog> findByUserIdOrderByCreatedAtDescIdDesc(UUID userId, Limit limit);
+
+    /**
+     * Returns the next keyset page of a team's audit log, newest first, starting strictly
+     * after the given {@code (createdAt, id)} position.
+     *
+     * @param teamId    the team whose audit log to list
+     * @param createdAt the creation time of the last entry already returned
+     * @param id        the ID of the last entry already returned
+     * @param limit     the maximum number of entries to return
+     * @return the entries following the cursor position
+     */
+    @Query("SELECT a FROM AuditLog a WHERE a.team.id = :teamId "
+            + "AND (a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id)) "
+            + "ORDER BY a.createdAt DESC, a.id DESC")
+    List<AuditLog> findByTeamIdAfter(@Param("teamId") UUID teamId,
+                                     @Param("createdAt") Instant createdAt,
+                                     @Param("id") Long id,
+                                     Limit limit);
+
+    /**
+     * Returns the next keyset page of a user's audit log, newest first, starting strictly
+     * after the given {@code (createdAt, id)} position.
+     *
+     * @param userId    the user whose audit log to list
+     * @param createdAt the creation time of the last entry already returned
+     * @param id        the ID of the last entry already returned
+     * @param limit     the maximum number of entries to return
+     * @return the entries following the cursor position
+     */
+    @Query("SELECT a FROM AuditLog a WHERE a.user.id = :userId "
+            + "AND (a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id)) "
+            + "ORDER BY a.createdAt DESC, a.id DESC")
+    List<AuditLog> findByUserIdAfter(@Param("userId") UUID userId,
+                                     @Param("createdAt") Instant createdAt,
+                                     @Param("id") Long id,
+                                     Limit limit);
 }
@@ -26,4 +26,13 @@ public interface BugInvestigationRepository extends JpaRepository<BugInvestigati
     @Query("DELETE FROM BugInvestigation b WHERE b.job.id IN "
             + "(SELECT j.id FROM QaJob j WHERE j.project.id = :projectId)")
     void deleteAllByProjectId(@Param("projectId") UUID projectId);
+
+    /**
+     * Resolves the team that owns a bug investigation through its job's project.
+     *
+     * @param investigationId the investigation ID
+     * @return the owning team's ID, or empty if the investigation does not exist
+     */
+    @Query("SELECT b.job.project.team.id FROM BugInvestigation b WHERE b.id = :investigationId")
+    Optional<UUID> findTeamIdById(@Param("investigationId") UUID investigationId);
 }
@@ -30,4 +30,14 @@ public interface DependencyScanRepository extends JpaRepository<DependencyScan,
     @Modifying
     @Query("DELETE FROM DependencyScan d WHERE d.project.id = :projectId")
     void deleteAllByProjectId(@Param("projectId") UUID projectId);
+
+    /**
+     * Resolves the team that owns a dependency scan from its project's team column,
+     * without loading the scan.
+     *
+     * @param scanId the scan ID
+     * @return the owning team's ID, or empty if the scan does not exist
+     */
+    @Query("SELECT s.project.team.id FROM DependencyScan s WHERE s.id = :scanId")
+    Optional<UUID> findTeamIdById(@Param("scanId") UUID scanId);
 }
@@ -4,6 +4,7 @@ import com.codeops.entity.Finding;
 import com.codeops.entity.enums.AgentType;
 import com.codeops.entity.enums.FindingStatus;
 import com.codeops.entity.enums.Severity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -12,7 +13,9 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
@@ -34,6 +37,26 @@ public interface FindingRepository extends JpaRepository<Finding, UUID> {
 
     Page<Finding> findByJobIdAndStatus(UUID jobId, FindingStatus status, Pageable pageable);
 
+    List<Finding> findByJobIdOrderByCreatedAtDescIdDesc(UUID jobId, Limit limit);
+
+    /**
+     * Returns the next keyset page of a job's findings, ordered newest first, starting
+     * strictly after the given {@code (createdAt, id)} position.
+     *
+     * @param jobId     the job whose findings to list
+     * @param createdAt the creation time of the last finding already returned
+     * @param id        the ID of the last finding already returned
+     * @param limit     the maximum number of findings to return
+     * @return the findings following the cursor position
+     */
+    @Query("SELECT f FROM Finding f WHERE f.job.id = :jobId "
+            + "AND (f.createdAt < :createdAt OR (f.createdAt = :createdAt AND f.id < :id)) "
+            + "ORDER BY f.createdAt DESC, f.id DESC")
+    List<Finding> findByJobIdAfter(@Param("jobId") UUID jobId,
+                                   @Param("createdAt") Instant createdAt,
+                                   @Param("id") UUID id,
+                                   Limit limit);
+
     long countByJobIdAndSeverity(UUID jobId, Severity severity);
 
     long countByJobIdAndSeverityAndStatus(UUID jobId, Severity severity, FindingStatus status);
@@ -47,4 +70,14 @@ public interface FindingRepository extends JpaRepository<Finding, UUID> {
     @Query("DELETE FROM Finding f WHERE f.job.id IN "
             + "(SELECT j.id FROM QaJob j WHERE j.project.id = :projectId)")
     void deleteAllByProjectId(@Param("projectId") UUID projectId);
+
+    /**
+     * Resolves the team that owns a finding through its job and project, without loading
+     * either entity.
+     *
+     * @param findingId the finding ID
+     * @return the owning team's ID, or empty if the finding does not exist
+     */
+    @Query("SELECT f.job.project.team.id FROM Finding f WHERE f.id = :findingId")
+    Optional<UUID> findTeamIdById(@Param("findingId") UUID findingId);
 }
@@ -0,0 +1,42 @@
+package com.codeops.repository;
+
+import com.codeops.entity.HealthDigestRun;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Optional;
+
+@Repository
+public interface HealthDigestRunRepository extends JpaRepository<HealthDigestRun, LocalDate> {
+
+    /**
+     * Creates the run for a week unless it already exists. Safe to call concurrently from several
+     * instances.
+     *
+     * @param weekOf    the digest date of the week
+     * @param startedAt the current time
+     * @return 1 if the run was created, 0 if it already existed
+     */
+    @Modifying
+    @Query(value = "INSERT INTO health_digest_runs (week_of, teams_processed, projects_summarized, emails_queued, started_at) "
+            + "VALUES (:weekOf, 0, 0, 0, :startedAt) ON CONFLICT (week_of) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("weekOf") LocalDate weekOf, @Param("startedAt") Instant startedAt);
+
+    /**
+     * Loads the run for a week and locks it until the end of the transaction, so only one instance
+     * processes a page at a time.
+     *
+     * @param weekOf the digest date of the week
+     * @return the locked run, if it exists
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM HealthDigestRun r WHERE r.weekOf = :weekOf")
+    Optional<HealthDigestRun> lockByWeekOf(@Param("weekOf") LocalDate weekOf);
+}
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -17,6 +18,21 @@ public interface HealthScheduleRepository extends JpaRepository<HealthSchedule,
 
     List<HealthSchedule> findByIsActiveTrue();
 
+    /**
+     * Locks up to {@code limit} active schedules that are due, most overdue first, skipping
+     * schedules of archived projects. Rows already locked by another instance are skipped rather
+     * than waited for, so several replicas can fire disjoint batches concurrently and no schedule
+     * fires twice. Must be called inside a transaction.
+     *
+     * @param now   the current time
+     * @param limit the maximum number of schedules to claim
+     * @return the locked schedules
+     */
+    @Query(value = "SELECT s.* FROM health_schedules s JOIN projects p ON p.id = s.project_id "
+            + "WHERE s.is_active = true AND s.next_run_at <= :now AND p.is_archived = false "
+            + "ORDER BY s.next_run_at LIMIT :limit FOR UPDATE OF s SKIP LOCKED", nativeQuery = true)
+    List<HealthSchedule> lockDue(@Param("now") Instant now, @Param("limit") int limit);
+
     /**
      * Bulk-deletes all health schedules for the given project.
      *
@@ -0,0 +1,110 @@
+package com.codeops.repository;
+
+import com.codeops.entity.HealthSnapshotBucket;
+import com.codeops.entity.HealthSnapshotBucketId;
+import com.codeops.entity.enums.TrendResolution;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface HealthSnapshotBucketRepository extends JpaRepository<HealthSnapshotBucket, HealthSnapshotBucketId> {
+
+    /**
+     * Returns a project's buckets of one resolution whose start lies in {@code [from, to)},
+     * oldest first.
+     *
+     * @param projectId  the project whose buckets to read
+     * @param resolution the bucket resolution
+     * @param from       the inclusive lower bound on the bucket start
+     * @param to         the exclusive upper bound on the bucket start
+     * @return the buckets in the range
+     */
+    @Query("SELECT b FROM HealthSnapshotBucket b WHERE b.id.projectId = :projectId "
+            + "AND b.id.resolution = :resolution AND b.id.bucketStart >= :from AND b.id.bucketStart < :to "
+            + "ORDER BY b.id.bucketStart")
+    List<HealthSnapshotBucket> findRange(@Param("projectId") UUID projectId,
+                                         @Param("resolution") TrendResolution resolution,
+                                         @Param("from") Instant from,
+                                         @Param("to") Instant to);
+
+    /**
+     * Adds one snapshot to a bucket, creating the bucket if it does not exist. A single
+     * {@code INSERT ... ON CONFLICT DO UPDATE}, so concurrent snapshots never lose an update.
+     *
+     * @param projectId       the snapshot's project
+     * @param resolution      the bucket resolution name
+     * @param bucketStart     the start of the bucket the snapshot falls in
+     * @param healthScore     the snapshot's health score
+     * @param techDebtSum     the snapshot's tech debt score, or 0 if it has none
+     * @param techDebtCount   1 if the snapshot has a tech debt score, otherwise 0
+     * @param dependencySum   the snapshot's dependency score, or 0 if it has none
+     * @param dependencyCount 1 if the snapshot has a dependency score, otherwise 0
+     * @param coverageSum     the snapshot's test coverage, or 0 if it has none
+     * @param coverageCount   1 if the snapshot has a test coverage value, otherwise 0
+     */
+    @Modifying
+    @Query(value = "INSERT INTO health_snapshot_buckets (project_id, resolution, bucket_start, sample_count, "
+            + "health_score_sum, health_score_min, health_score_max, tech_debt_sum, tech_debt_count, "
+            + "dependency_sum, dependency_count, coverage_sum, coverage_count) "
+            + "VALUES (:projectId, :resolution, :bucketStart, 1, :healthScore, :healthScore, :healthScore, "
+            + ":techDebtSum, :techDebtCount, :dependencySum, :dependencyCount, :coverageSum, :coverageCount) "
+            + "ON CONFLICT (project_id, resolution, bucket_start) DO UPDATE SET "
+            + "sample_count = health_snapshot_buckets.sample_count + 1, "
+            + "health_score_sum = health_snapshot_buckets.health_score_sum + EXCLUDED.health_score_sum, "
+            + "health_score_min = LEAST(health_snapshot_buckets.health_score_min, EXCLUDED.health_score_min), "
+            + "health_score_max = GREATEST(health_snapshot_buckets.health_score_max, EXCLUDED.health_score_max), "
+            + "tech_debt_sum = health_snapshot_buckets.tech_debt_sum + EXCLUDED.tech_debt_sum, "
+            + "tech_debt_count = health_snapshot_buckets.tech_debt_count + EXCLUDED.tech_debt_count, "
+            + "dependency_sum = health_snapshot_buckets.dependency_sum + EXCLUDED.dependency_sum, "
+            + "dependency_count = health_snapshot_buckets.dependency_count + EXCLUDED.dependency_count, "
+            + "coverage_sum = health_snapshot_buckets.coverage_sum + EXCLUDED.coverage_sum, "
+            + "coverage_count = health_snapshot_buckets.coverage_count + EXCLUDED.coverage_count",
+            nativeQuery = true)
+    void accumulate(@Param("projectId") UUID projectId, @Param("resolution") String resolution,
+                    @Param("bucketStart") Instant bucketStart, @Param("healthScore") int healthScore,
+                    @Param("techDebtSum") int techDebtSum, @Param("techDebtCount") int techDebtCount,
+                    @Param("dependencySum") int dependencySum, @Param("dependencyCount") int dependencyCount,
+                    @Param("coverageSum") BigDecimal coverageSum, @Param("coverageCount") int coverageCount);
+
+    /**
+     * Recomputes all of a project's buckets of one resolution from its snapshots. Call
+     * {@link #deleteAllByProjectId} first.
+     *
+     * @param projectId  the project whose buckets to rebuild
+     * @param resolution the bucket resolution name
+     * @param unit       the matching PostgreSQL {@code date_trunc} unit ({@code hour}, {@code day}
+     *                   or {@code week})
+     * @return the number of buckets written
+     */
+    @Modifying
+    @Query(value = "INSERT INTO health_snapshot_buckets (project_id, resolution, bucket_start, sample_count, "
+            + "health_score_sum, health_score_min, health_score_max, tech_debt_sum, tech_debt_count, "
+            + "dependency_sum, dependency_count, coverage_sum, coverage_count) "
+            + "SELECT project_id, CAST(:resolution AS varchar), "
+            + "date_trunc(CAST(:unit AS text), captured_at AT TIME ZONE 'UTC') AT TIME ZONE 'UTC', COUNT(*), "
+            + "SUM(health_score), MIN(health_score), MAX(health_score), "
+            + "COALESCE(SUM(tech_debt_score), 0), COUNT(tech_debt_score), "
+            + "COALESCE(SUM(dependency_score), 0), COUNT(dependency_score), "
+            + "COALESCE(SUM(test_coverage_percent), 0), COUNT(test_coverage_percent) "
+            + "FROM health_snapshots WHERE project_id = :projectId GROUP BY project_id, 3",
+            nativeQuery = true)
+    int rebuild(@Param("projectId") UUID projectId, @Param("resolution") String resolution,
+                @Param("unit") String unit);
+
+    /**
+     * Bulk-deletes all buckets for the given project.
+     *
+     * @param projectId the project whose buckets to remove
+     */
+    @Modifying
+    @Query("DELETE FROM HealthSnapshotBucket b WHERE b.id.projectId = :projectId")
+    void deleteAllByProjectId(@Param("projectId") UUID projectId);
+}
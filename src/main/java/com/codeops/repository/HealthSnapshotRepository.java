@@ -1,6 +1,8 @@
 package com.codeops.repository;
 
 import com.codeops.entity.HealthSnapshot;
+import com.codeops.repository.projection.CriticalRegressionRow;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -9,6 +11,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -16,12 +19,85 @@ import java.util.UUID;
 @Repository
 public interface HealthSnapshotRepository extends JpaRepository<HealthSnapshot, UUID> {
 
-    List<HealthSnapshot> findByProjectIdOrderByCapturedAtDesc(UUID projectId);
-
     Page<HealthSnapshot> findByProjectId(UUID projectId, Pageable pageable);
 
+    List<HealthSnapshot> findByProjectIdOrderByCapturedAtDescIdDesc(UUID projectId, Limit limit);
+
+    /**
+     * Returns the next keyset page of a project's snapshots, ordered by capture time
+     * descending, starting strictly after the given {@code (capturedAt, id)} position.
+     *
+     * @param projectId  the project whose snapshots to list
+     * @param capturedAt the capture time of the last snapshot already returned
+     * @param id         the ID of the last snapshot already returned
+     * @param limit      the maximum number of snapshots to return
+     * @return the snapshots following the cursor position
+     */
+    @Query("SELECT h FROM HealthSnapshot h WHERE h.project.id = :projectId "
+            + "AND (h.capturedAt < :capturedAt OR (h.capturedAt = :capturedAt AND h.id < :id)) "
+            + "ORDER BY h.capturedAt DESC, h.id DESC")
+    List<HealthSnapshot> findByProjectIdAfter(@Param("projectId") UUID projectId,
+                                              @Param("capturedAt") Instant capturedAt,
+                                              @Param("id") UUID id,
+                                              Limit limit);
+
+    /**
+     * Returns a project's snapshots captured in {@code [from, to)}, oldest first, using the
+     * {@code (project_id, captured_at, id)} index.
+     *
+     * @param projectId the project whose snapshots to read
+     * @param from      the inclusive lower bound on the capture time
+     * @param to        the exclusive upper bound on the capture time
+     * @return the snapshots in the range
+     */
+    @Query("SELECT h FROM HealthSnapshot h WHERE h.project.id = :projectId "
+            + "AND h.capturedAt >= :from AND h.capturedAt < :to ORDER BY h.capturedAt, h.id")
+    List<HealthSnapshot> findRange(@Param("projectId") UUID projectId,
+                                   @Param("from") Instant from,
+                                   @Param("to") Instant to);
+
+    /**
+     * Returns snapshots after the given ID whose per-severity count columns have not been filled
+     * in yet. Walking the primary key from the last ID of the previous batch keeps each batch
+     * cheap and never revisits a snapshot that was left without counts.
+     *
+     * @param lastId the ID of the last snapshot of the previous batch
+     * @param limit  the maximum number of snapshots to return
+     * @return snapshots without severity counts, in ID order
+     */
+    @Query("SELECT h FROM HealthSnapshot h WHERE h.id > :lastId AND h.criticalCount IS NULL ORDER BY h.id")
+    List<HealthSnapshot> findWithoutSeverityCountsAfter(@Param("lastId") UUID lastId, Limit limit);
+
+    /**
+     * Finds the team's non-archived projects whose latest snapshot in {@code [currentFrom, to)}
+     * has more critical findings than their latest snapshot in {@code [previousFrom, currentFrom)},
+     * largest increase first. Projects without a snapshot in both periods are omitted.
+     *
+     * @param teamId       the team whose projects to compare
+     * @param previousFrom the start of the earlier period
+     * @param currentFrom  the end of the earlier period and start of the later one
+     * @param to           the end of the later period
+     * @return one row per regressed project
+     */
+    @Query("SELECT new com.codeops.repository.projection.CriticalRegressionRow("
+            + "p.id, p.name, prev.criticalCount, cur.criticalCount) "
+            + "FROM HealthSnapshot cur JOIN cur.project p, HealthSnapshot prev "
+            + "WHERE p.team.id = :teamId AND p.isArchived = false AND prev.project = p "
+            + "AND cur.capturedAt = (SELECT MAX(c.capturedAt) FROM HealthSnapshot c "
+            + "    WHERE c.project = p AND c.capturedAt >= :currentFrom AND c.capturedAt < :to) "
+            + "AND prev.capturedAt = (SELECT MAX(c.capturedAt) FROM HealthSnapshot c "
+            + "    WHERE c.project = p AND c.capturedAt >= :previousFrom AND c.capturedAt < :currentFrom) "
+            + "AND cur.criticalCount > prev.criticalCount "
+            + "ORDER BY cur.criticalCount - prev.criticalCount DESC, p.name")
+    List<CriticalRegressionRow> findCriticalRegressions(@Param("teamId") UUID teamId,
+                                                        @Param("previousFrom") Instant previousFrom,
+                                                        @Param("currentFrom") Instant currentFrom,
+                                                        @Param("to") Instant to);
+
     Optional<HealthSnapshot> findFirstByProjectIdOrderByCapturedAtDesc(UUID projectId);
 
+    List<HealthSnapshot> findTop2ByProjectIdOrderByCapturedAtDesc(UUID projectId);
+
     /**
      * Bulk-deletes all health snapshots for the given project.
      *
@@ -0,0 +1,73 @@
+package com.codeops.repository;
+
+import com.codeops.entity.NotificationOutbox;
+import com.codeops.entity.enums.OutboxStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, UUID> {
+
+    long countByStatus(OutboxStatus status);
+
+    /**
+     * Locks up to {@code limit} pending notifications that are due, oldest first. Rows already
+     * locked by another worker are skipped rather than waited for, so several replicas can claim
+     * disjoint batches concurrently. Must be called inside a transaction.
+     *
+     * @param now   the current time
+     * @param limit the maximum number of rows to claim
+     * @return the locked rows
+     */
+    @Query(value = "SELECT * FROM notification_outbox WHERE status = 'PENDING' AND next_attempt_at <= :now "
+            + "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<NotificationOutbox> lockDue(@Param("now") Instant now, @Param("limit") int limit);
+
+    /**
+     * Marks delivered notifications as sent.
+     *
+     * @param ids    the delivered notification IDs
+     * @param sentAt the delivery time
+     * @return the number of rows updated
+     */
+    @Modifying
+    @Query("UPDATE NotificationOutbox o SET o.status = com.codeops.entity.enums.OutboxStatus.SENT, "
+            + "o.sentAt = :sentAt, o.lastError = null, o.updatedAt = :sentAt WHERE o.id IN :ids")
+    int markSent(@Param("ids") Collection<UUID> ids, @Param("sentAt") Instant sentAt);
+
+    /**
+     * Records a failed delivery attempt, either rescheduling the notification or giving up on it.
+     *
+     * @param id            the notification ID
+     * @param status        {@code PENDING} to retry, or {@code FAILED} to give up
+     * @param nextAttemptAt when to retry
+     * @param lastError     a description of the failure
+     * @param now           the current time
+     * @return the number of rows updated
+     */
+    @Modifying
+    @Query("UPDATE NotificationOutbox o SET o.status = :status, o.nextAttemptAt = :nextAttemptAt, "
+            + "o.lastError = :lastError, o.updatedAt = :now WHERE o.id = :id")
+    int markAttemptFailed(@Param("id") UUID id, @Param("status") OutboxStatus status,
+                          @Param("nextAttemptAt") Instant nextAttemptAt, @Param("lastError") String lastError,
+                          @Param("now") Instant now);
+
+    /**
+     * Deletes sent notifications older than the given time.
+     *
+     * @param before the cutoff; rows sent before it are deleted
+     * @return the number of rows deleted
+     */
+    @Modifying
+    @Query("DELETE FROM NotificationOutbox o WHERE o.status = com.codeops.entity.enums.OutboxStatus.SENT "
+            + "AND o.sentAt < :before")
+    int deleteSentBefore(@Param("before") Instant before);
+}
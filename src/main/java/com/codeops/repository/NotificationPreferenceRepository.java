@@ -1,9 +1,13 @@
 package com.codeops.repository;
 
 import com.codeops.entity.NotificationPreference;
+import com.codeops.repository.projection.TeamRecipient;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -14,4 +18,35 @@ public interface NotificationPreferenceRepository extends JpaRepository<Notifica
     List<NotificationPreference> findByUserId(UUID userId);
 
     Optional<NotificationPreference> findByUserIdAndEventType(UUID userId, String eventType);
+
+    /**
+     * Returns the email addresses of a team's members who have email notifications enabled for
+     * an event type, resolving membership, users and preferences in one query. Members with no
+     * preference for the event type are excluded, matching the email default of {@code false} in
+     * {@link com.codeops.service.NotificationService#shouldNotify}.
+     *
+     * @param teamId    the team whose members to notify
+     * @param eventType the event type identifier
+     * @return the recipient email addresses, ordered
+     */
+    @Query("SELECT u.email FROM TeamMember m JOIN m.user u "
+            + "JOIN NotificationPreference p ON p.user = u AND p.eventType = :eventType "
+            + "WHERE m.team.id = :teamId AND p.email = true ORDER BY u.email")
+    List<String> findEmailRecipients(@Param("teamId") UUID teamId, @Param("eventType") String eventType);
+
+    /**
+     * Returns, for several teams at once, the email addresses of members who have email
+     * notifications enabled for an event type.
+     *
+     * @param teamIds   the teams whose members to notify
+     * @param eventType the event type identifier
+     * @return one row per (team, recipient), ordered by team and email
+     * @see #findEmailRecipients
+     */
+    @Query("SELECT new com.codeops.repository.projection.TeamRecipient(m.team.id, u.email) "
+            + "FROM TeamMember m JOIN m.user u "
+            + "JOIN NotificationPreference p ON p.user = u AND p.eventType = :eventType "
+            + "WHERE m.team.id IN :teamIds AND p.email = true ORDER BY m.team.id, u.email")
+    List<TeamRecipient> findEmailRecipientsForTeams(@Param("teamIds") Collection<UUID> teamIds,
+                                                    @Param("eventType") String eventType);
 }
@@ -0,0 +1,126 @@
+package com.codeops.repository;
+
+import com.codeops.entity.ProjectMetricsRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface ProjectMetricsRollupRepository extends JpaRepository<ProjectMetricsRollup, UUID> {
+
+    /**
+     * Atomically adds the given deltas to a project's job and finding totals.
+     *
+     * @param projectId    the project whose rollup to adjust
+     * @param jobDelta     the change in job count
+     * @param findingDelta the change in the sum of job finding totals
+     * @return the number of rows updated (0 if the project has no rollup yet)
+     */
+    @Modifying
+    @Query("UPDATE ProjectMetricsRollup r SET r.totalJobs = r.totalJobs + :jobDelta, "
+            + "r.totalFindings = r.totalFindings + :findingDelta WHERE r.projectId = :projectId")
+    int adjustJobTotals(@Param("projectId") UUID projectId,
+                        @Param("jobDelta") int jobDelta,
+                        @Param("findingDelta") int findingDelta);
+
+    /**
+     * Replaces the latest completed job and its open critical/high finding counts.
+     *
+     * @param projectId the project whose rollup to update
+     * @param jobId     the latest completed job, or {@code null} if there is none
+     * @param critical  open critical findings in that job
+     * @param high      open high findings in that job
+     * @return the number of rows updated
+     */
+    @Modifying
+    @Query("UPDATE ProjectMetricsRollup r SET r.latestCompletedJobId = :jobId, "
+            + "r.openCriticalFindings = :critical, r.openHighFindings = :high WHERE r.projectId = :projectId")
+    int setLatestCompletedJob(@Param("projectId") UUID projectId,
+                              @Param("jobId") UUID jobId,
+                              @Param("critical") int critical,
+                              @Param("high") int high);
+
+    /**
+     * Atomically adjusts open critical/high finding counts, but only when the given job is
+     * the project's latest completed job.
+     *
+     * @param projectId     the project whose rollup to adjust
+     * @param jobId         the job the findings belong to
+     * @param criticalDelta the change in open critical findings
+     * @param highDelta     the change in open high findings
+     * @return the number of rows updated (0 if the job is not the latest completed job)
+     */
+    @Modifying
+    @Query("UPDATE ProjectMetricsRollup r SET r.openCriticalFindings = r.openCriticalFindings + :criticalDelta, "
+            + "r.openHighFindings = r.openHighFindings + :highDelta "
+            + "WHERE r.projectId = :projectId AND r.latestCompletedJobId = :jobId")
+    int adjustOpenFindings(@Param("projectId") UUID projectId,
+                           @Param("jobId") UUID jobId,
+                           @Param("criticalDelta") int criticalDelta,
+                           @Param("highDelta") int highDelta);
+
+    /**
+     * Atomically adjusts the count of active (not yet resolved) tech debt items.
+     *
+     * @param projectId the project whose rollup to adjust
+     * @param delta     the change in active tech debt items
+     * @return the number of rows updated
+     */
+    @Modifying
+    @Query("UPDATE ProjectMetricsRollup r SET r.activeTechDebtItems = r.activeTechDebtItems + :delta "
+            + "WHERE r.projectId = :projectId")
+    int adjustActiveTechDebt(@Param("projectId") UUID projectId, @Param("delta") int delta);
+
+    /**
+     * Marks a newly created scan as the project's latest scan, with no open vulnerabilities yet.
+     *
+     * @param projectId the project whose rollup to update
+     * @param scanId    the new latest scan
+     * @return the number of rows updated
+     */
+    @Modifying
+    @Query("UPDATE ProjectMetricsRollup r SET r.latestScanId = :scanId, r.openVulnerabilities = 0 "
+            + "WHERE r.projectId = :projectId")
+    int setLatestScan(@Param("projectId") UUID projectId, @Param("scanId") UUID scanId);
+
+    /**
+     * Atomically adjusts the open vulnerability count, but only when the given scan is the
+     * project's latest scan.
+     *
+     * @param projectId the project whose rollup to adjust
+     * @param scanId    the scan the vulnerabilities belong to
+     * @param delta     the change in open vulnerabilities
+     * @return the number of rows updated (0 if the scan is not the latest scan)
+     */
+    @Modifying
+    @Query("UPDATE ProjectMetricsRollup r SET r.openVulnerabilities = r.openVulnerabilities + :delta "
+            + "WHERE r.projectId = :projectId AND r.latestScanId = :scanId")
+    int adjustOpenVulnerabilities(@Param("projectId") UUID projectId,
+                                  @Param("scanId") UUID scanId,
+                                  @Param("delta") int delta);
+
+    /**
+     * Shifts the latest snapshot score into the previous slot and records the new score.
+     *
+     * @param projectId the project whose rollup to update
+     * @param score     the health score of the newly captured snapshot
+     * @return the number of rows updated
+     */
+    @Modifying
+    @Query("UPDATE ProjectMetricsRollup r SET r.previousSnapshotScore = r.latestSnapshotScore, "
+            + "r.latestSnapshotScore = :score WHERE r.projectId = :projectId")
+    int recordSnapshotScore(@Param("projectId") UUID projectId, @Param("score") int score);
+
+    /**
+     * Deletes the rollup row for the given project.
+     *
+     * @param projectId the project whose rollup to remove
+     */
+    @Modifying
+    @Query("DELETE FROM ProjectMetricsRollup r WHERE r.projectId = :projectId")
+    void deleteByProjectId(@Param("projectId") UUID projectId);
+}
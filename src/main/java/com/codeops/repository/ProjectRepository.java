@@ -1,11 +1,20 @@
 package com.codeops.repository;
 
 import com.codeops.entity.Project;
+import com.codeops.entity.enums.FindingStatus;
+import com.codeops.entity.enums.JobStatus;
+import com.codeops.entity.enums.Severity;
+import com.codeops.repository.projection.HealthDigestProjectRow;
+import com.codeops.repository.projection.TeamMetricsAggregate;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -24,4 +33,73 @@ public interface ProjectRepository extends JpaRepository<Project, UUID> {
     Optional<Project> findByTeamIdAndRepoFullName(UUID teamId, String repoFullName);
 
     long countByTeamId(UUID teamId);
+
+    @Query("SELECT p.id FROM Project p")
+    List<UUID> findAllIds();
+
+    /**
+     * Finds the IDs of projects that have no metrics rollup row yet, such as projects created
+     * before rollups were introduced.
+     *
+     * @return the project IDs
+     */
+    @Query("SELECT p.id FROM Project p WHERE NOT EXISTS "
+            + "(SELECT r.projectId FROM ProjectMetricsRollup r WHERE r.projectId = p.id)")
+    List<UUID> findIdsWithoutMetricsRollup();
+
+    /**
+     * Computes all team dashboard totals for the non-archived projects of a team in a single
+     * statement, without hydrating any project, job, or finding entities.
+     *
+     * <p>The finding count only considers each project's most recent job in
+     * {@code latestJobStatus}, matching the per-project "latest completed job" rule.</p>
+     *
+     * @param teamId          the team whose projects to aggregate
+     * @param severity        the finding severity to count in the latest jobs
+     * @param findingStatus   the finding status to count in the latest jobs
+     * @param latestJobStatus the job status that qualifies a job as a project's latest
+     * @return the aggregated totals; never {@code null}, but individual values may be
+     */
+    @Query("SELECT new com.codeops.repository.projection.TeamMetricsAggregate("
+            + "COUNT(p), AVG(p.healthScore), "
+            + "SUM(CASE WHEN p.healthScore < 70 THEN 1 ELSE 0 END), "
+            + "(SELECT COUNT(j) FROM QaJob j "
+            + "WHERE j.project.team.id = :teamId AND j.project.isArchived = false), "
+            + "(SELECT SUM(j.totalFindings) FROM QaJob j "
+            + "WHERE j.project.team.id = :teamId AND j.project.isArchived = false), "
+            + "(SELECT COUNT(f) FROM Finding f "
+            + "WHERE f.severity = :severity AND f.status = :findingStatus AND f.job.id IN "
+            + "(SELECT lj.id FROM QaJob lj "
+            + "WHERE lj.project.team.id = :teamId AND lj.project.isArchived = false "
+            + "AND lj.status = :latestJobStatus AND lj.createdAt = "
+            + "(SELECT MAX(cj.createdAt) FROM QaJob cj "
+            + "WHERE cj.project.id = lj.project.id AND cj.status = :latestJobStatus)))) "
+            + "FROM Project p WHERE p.team.id = :teamId AND p.isArchived = false")
+    TeamMetricsAggregate aggregateTeamMetrics(@Param("teamId") UUID teamId,
+                                              @Param("severity") Severity severity,
+                                              @Param("findingStatus") FindingStatus findingStatus,
+                                              @Param("latestJobStatus") JobStatus latestJobStatus);
+
+    /**
+     * Computes the weekly health digest lines for the non-archived projects of several teams in a
+     * single statement, ordered by team and project name.
+     *
+     * <p>The previous score is taken from the latest health snapshot captured before
+     * {@code weekStart}, using the {@code (project_id, captured_at)} index; finding counts come from
+     * the project metrics rollup.</p>
+     *
+     * @param teamIds   the teams to summarize
+     * @param weekStart the start of the digest week
+     * @return one row per project
+     */
+    @Query("SELECT new com.codeops.repository.projection.HealthDigestProjectRow("
+            + "p.team.id, p.team.name, p.name, p.healthScore, "
+            + "(SELECT MAX(s.healthScore) FROM HealthSnapshot s WHERE s.project.id = p.id AND s.capturedAt = "
+            + "(SELECT MAX(ps.capturedAt) FROM HealthSnapshot ps WHERE ps.project.id = p.id AND ps.capturedAt < :weekStart)), "
+            + "r.openCriticalFindings, r.openHighFindings) "
+            + "FROM Project p LEFT JOIN ProjectMetricsRollup r ON r.projectId = p.id "
+            + "WHERE p.team.id IN :teamIds AND p.isArchived = false "
+            + "ORDER BY p.team.id, p.name")
+    List<HealthDigestProjectRow> findHealthDigestRows(@Param("teamIds") Collection<UUID> teamIds,
+                                                      @Param("weekStart") Instant weekStart);
 }
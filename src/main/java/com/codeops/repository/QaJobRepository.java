@@ -3,6 +3,7 @@ package com.codeops.repository;
 import com.codeops.entity.QaJob;
 import com.codeops.entity.enums.JobMode;
 import com.codeops.entity.enums.JobStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -11,7 +12,9 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
@@ -27,8 +30,54 @@ public interface QaJobRepository extends JpaRepository<QaJob, UUID> {
 
     Page<QaJob> findByProjectId(UUID projectId, Pageable pageable);
 
+    List<QaJob> findByProjectIdOrderByCreatedAtDescIdDesc(UUID projectId, Limit limit);
+
+    /**
+     * Returns the next keyset page of a project's jobs, ordered newest first, starting
+     * strictly after the given {@code (createdAt, id)} position.
+     *
+     * @param projectId the project whose jobs to list
+     * @param createdAt the creation time of the last job already returned
+     * @param id        the ID of the last job already returned
+     * @param limit     the maximum number of jobs to return
+     * @return the jobs following the cursor position
+     */
+    @Query("SELECT j FROM QaJob j WHERE j.project.id = :projectId "
+            + "AND (j.createdAt < :createdAt OR (j.createdAt = :createdAt AND j.id < :id)) "
+            + "ORDER BY j.createdAt DESC, j.id DESC")
+    List<QaJob> findByProjectIdAfter(@Param("projectId") UUID projectId,
+                                     @Param("createdAt") Instant createdAt,
+                                     @Param("id") UUID id,
+                                     Limit limit);
+
     long countByProjectIdAndStatus(UUID projectId, JobStatus status);
 
+    long countByProjectId(UUID projectId);
+
+    /**
+     * Sums the agent-reported finding totals of all jobs in a project.
+     *
+     * @param projectId the project whose jobs to sum
+     * @return the sum, or {@code null} if the project has no jobs
+     */
+    @Query("SELECT SUM(j.totalFindings) FROM QaJob j WHERE j.project.id = :projectId")
+    Long sumTotalFindingsByProjectId(@Param("projectId") UUID projectId);
+
+    /**
+     * Returns the IDs of a project's jobs in the given status, newest first, without
+     * loading the job entities.
+     *
+     * @param projectId the project whose jobs to search
+     * @param status    the job status to match
+     * @param limit     the maximum number of IDs to return
+     * @return the matching job IDs ordered by creation time descending
+     */
+    @Query("SELECT j.id FROM QaJob j WHERE j.project.id = :projectId AND j.status = :status "
+            + "ORDER BY j.createdAt DESC")
+    List<UUID> findIdsByProjectIdAndStatusNewestFirst(@Param("projectId") UUID projectId,
+                                                     @Param("status") JobStatus status,
+                                                     Limit limit);
+
     /**
      * Bulk-deletes all QA jobs for the given project.
      *
@@ -37,4 +86,14 @@ public interface QaJobRepository extends JpaRepository<QaJob, UUID> {
     @Modifying
     @Query("DELETE FROM QaJob j WHERE j.project.id = :projectId")
     void deleteAllByProjectId(@Param("projectId") UUID projectId);
+
+    /**
+     * Resolves the team that owns a job with a single scalar query, so authorization checks
+     * do not have to load the job (and its TEXT columns) and then its project.
+     *
+     * @param jobId the job ID
+     * @return the owning team's ID, or empty if the job does not exist
+     */
+    @Query("SELECT j.project.team.id FROM QaJob j WHERE j.id = :jobId")
+    Optional<UUID> findTeamIdById(@Param("jobId") UUID jobId);
 }
@@ -10,6 +10,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
@@ -45,4 +46,14 @@ public interface RemediationTaskRepository extends JpaRepository<RemediationTask
     @Query("DELETE FROM RemediationTask t WHERE t.job.id IN "
             + "(SELECT j.id FROM QaJob j WHERE j.project.id = :projectId)")
     void deleteAllByProjectId(@Param("projectId") UUID projectId);
+
+    /**
+     * Resolves the team that owns a remediation task without loading the task, its job or
+     * the job's project.
+     *
+     * @param taskId the task ID
+     * @return the owning team's ID, or empty if the task does not exist
+     */
+    @Query("SELECT t.job.project.team.id FROM RemediationTask t WHERE t.id = :taskId")
+    Optional<UUID> findTeamIdById(@Param("taskId") UUID taskId);
 }
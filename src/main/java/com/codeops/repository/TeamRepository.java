@@ -1,7 +1,10 @@
 package com.codeops.repository;
 
 import com.codeops.entity.Team;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,4 +14,14 @@ import java.util.UUID;
 public interface TeamRepository extends JpaRepository<Team, UUID> {
 
     List<Team> findByOwnerId(UUID ownerId);
+
+    /**
+     * Returns the next page of team IDs in ID order, for jobs that walk every team in batches.
+     *
+     * @param after the last ID of the previous page
+     * @param limit the page size
+     * @return the team IDs greater than {@code after}, ascending
+     */
+    @Query("SELECT t.id FROM Team t WHERE t.id > :after ORDER BY t.id")
+    List<UUID> findIdsAfter(@Param("after") UUID after, Limit limit);
 }
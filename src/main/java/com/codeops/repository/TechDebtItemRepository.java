@@ -11,6 +11,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -31,6 +32,8 @@ public interface TechDebtItemRepository extends JpaRepository<TechDebtItem, UUID
 
     long countByProjectIdAndStatus(UUID projectId, DebtStatus status);
 
+    long countByProjectIdAndStatusIn(UUID projectId, Collection<DebtStatus> statuses);
+
     /**
      * Bulk-deletes all tech debt items for the given project.
      *
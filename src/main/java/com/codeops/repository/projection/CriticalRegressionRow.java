@@ -0,0 +1,15 @@
+package com.codeops.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Read-only projection of a project whose critical finding count rose between two periods,
+ * produced by {@link com.codeops.repository.HealthSnapshotRepository#findCriticalRegressions}.
+ *
+ * @param projectId        the project's ID
+ * @param projectName      the project's name
+ * @param previousCritical critical findings in the last snapshot of the earlier period
+ * @param currentCritical  critical findings in the last snapshot of the later period
+ */
+public record CriticalRegressionRow(UUID projectId, String projectName, Integer previousCritical,
+                                    Integer currentCritical) {}
@@ -0,0 +1,22 @@
+package com.codeops.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Read-only projection holding one project's line in the weekly health digest, computed by
+ * {@link com.codeops.repository.ProjectRepository#findHealthDigestRows}.
+ *
+ * @param teamId                the team that owns the project
+ * @param teamName              the team name
+ * @param projectName           the project name
+ * @param healthScore           the project's current health score, or {@code null} if never audited
+ * @param previousHealthScore   the score of the latest snapshot captured before the digest week,
+ *                              or {@code null} if there is none
+ * @param openCriticalFindings  open critical findings from the project metrics rollup, or {@code null}
+ *                              if the project has no rollup row
+ * @param openHighFindings      open high findings from the project metrics rollup, or {@code null}
+ *                              if the project has no rollup row
+ */
+public record HealthDigestProjectRow(UUID teamId, String teamName, String projectName, Integer healthScore,
+                                     Integer previousHealthScore, Integer openCriticalFindings,
+                                     Integer openHighFindings) {}
@@ -0,0 +1,18 @@
+package com.codeops.repository.projection;
+
+/**
+ * Read-only projection holding the team-level totals computed by
+ * {@link com.codeops.repository.ProjectRepository#aggregateTeamMetrics}.
+ *
+ * <p>All values come straight from SQL aggregates, so any of them may be {@code null}
+ * when the team has no non-archived projects or no jobs.</p>
+ *
+ * @param totalProjects          number of non-archived projects in the team
+ * @param averageHealthScore     average health score of projects that have one
+ * @param projectsBelowThreshold number of projects whose health score is below 70
+ * @param totalJobs              number of QA jobs across all non-archived projects
+ * @param totalFindings          sum of {@code total_findings} across those jobs
+ * @param openCriticalFindings   open critical findings in each project's latest completed job
+ */
+public record TeamMetricsAggregate(Long totalProjects, Double averageHealthScore, Long projectsBelowThreshold,
+                                   Long totalJobs, Long totalFindings, Long openCriticalFindings) {}
@@ -0,0 +1,12 @@
+package com.codeops.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Read-only projection pairing a team with the email address of one of its members, computed by
+ * {@link com.codeops.repository.NotificationPreferenceRepository#findEmailRecipientsForTeams}.
+ *
+ * @param teamId the team
+ * @param email  the member's email address
+ */
+public record TeamRecipient(UUID teamId, String email) {}
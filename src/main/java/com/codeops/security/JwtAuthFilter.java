@@ -1,5 +1,6 @@
 package com.codeops.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,14 +16,16 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
  * Servlet filter that authenticates incoming HTTP requests by extracting and validating
  * JWT tokens from the {@code Authorization} header.
  *
- * <p>When a valid Bearer token is present, this filter extracts the user ID, email, and
- * roles from the token claims and populates the Spring {@link SecurityContextHolder} with a
+ * <p>When a valid Bearer token is present, this filter verifies it once through
+ * {@link JwtTokenProvider#resolveValidClaims(String)}, reads the user ID and roles from the
+ * returned claims, and populates the Spring {@link SecurityContextHolder} with a
  * {@link UsernamePasswordAuthenticationToken}. The principal is set to the user's {@link UUID},
  * and roles are mapped to {@link SimpleGrantedAuthority} instances with a {@code ROLE_} prefix.</p>
  *
@@ -71,17 +74,18 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         log.debug("Token extraction attempted for {}", request.getRequestURI());
 
-        if (jwtTokenProvider.validateToken(token)) {
+        Optional<Claims> validClaims = jwtTokenProvider.resolveValidClaims(token);
+        if (validClaims.isPresent()) {
+            Claims claims = validClaims.get();
             // Reject MFA challenge tokens for normal API access
-            if (jwtTokenProvider.isMfaChallengeToken(token)) {
+            if ("mfa_challenge".equals(claims.get("type", String.class))) {
                 log.warn("MFA challenge token used for API access from IP: {} path: {}", request.getRemoteAddr(), request.getRequestURI());
                 filterChain.doFilter(request, response);
                 return;
             }
 
-            UUID userId = jwtTokenProvider.getUserIdFromToken(token);
-            String email = jwtTokenProvider.getEmailFromToken(token);
-            List<String> roles = jwtTokenProvider.getRolesFromToken(token);
+            UUID userId = UUID.fromString(claims.getSubject());
+            List<String> roles = getRoles(claims);
 
             List<SimpleGrantedAuthority> authorities = roles.stream()
                     .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
@@ -98,4 +102,10 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> getRoles(Claims claims) {
+        List<String> roles = claims.get("roles", List.class);
+        return roles != null ? roles : List.of();
+    }
 }
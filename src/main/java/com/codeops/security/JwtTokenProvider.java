@@ -1,5 +1,6 @@
 package com.codeops.security;
 
+import com.codeops.config.AppConstants;
 import com.codeops.config.JwtProperties;
 import com.codeops.entity.User;
 import com.codeops.service.TokenBlacklistService;
@@ -17,6 +18,7 @@ import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -30,6 +32,11 @@ import java.util.UUID;
  * the {@link TokenBlacklistService} to reject revoked tokens. All validation failures are
  * logged at WARN level without exposing details to callers.</p>
  *
+ * <p>The HMAC {@link SecretKey} and the {@link JwtParser} are built once and reused. Claims of
+ * recently verified tokens are kept in a bounded {@link VerifiedTokenCache} keyed by token hash,
+ * so {@link #resolveValidClaims(String)} verifies a repeated token only once until it expires;
+ * the blacklist is still checked on every call.</p>
+ *
  * @see JwtProperties
  * @see JwtAuthFilter
  * @see com.codeops.service.TokenBlacklistService
@@ -42,10 +49,15 @@ public class JwtTokenProvider {
 
     private final JwtProperties jwtProperties;
     private final TokenBlacklistService tokenBlacklistService;
+    private final VerifiedTokenCache verifiedTokens = new VerifiedTokenCache(AppConstants.JWT_VERIFIED_TOKEN_CACHE_SIZE);
+
+    private volatile SecretKey signingKey;
+    private volatile JwtParser parser;
 
     /**
      * Validates that the JWT secret is configured and meets the minimum length requirement
-     * of 32 characters. Invoked automatically after dependency injection.
+     * of 32 characters, then builds the signing key and parser. Invoked automatically after
+     * dependency injection.
      *
      * @throws IllegalStateException if the secret is null, blank, or shorter than 32 characters
      */
@@ -55,10 +67,25 @@ public class JwtTokenProvider {
         if (secret == null || secret.isBlank() || secret.length() < 32) {
             throw new IllegalStateException("JWT secret must be at least 32 characters. Set the JWT_SECRET environment variable.");
         }
+        getParser();
     }
 
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes());
+        SecretKey key = signingKey;
+        if (key == null) {
+            key = Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes());
+            signingKey = key;
+        }
+        return key;
+    }
+
+    private JwtParser getParser() {
+        JwtParser jwtParser = parser;
+        if (jwtParser == null) {
+            jwtParser = Jwts.parser().verifyWith(getSigningKey()).build();
+            parser = jwtParser;
+        }
+        return jwtParser;
     }
 
     /**
@@ -198,26 +225,51 @@ public class JwtTokenProvider {
      * @return {@code true} if the token is valid and not blacklisted, {@code false} otherwise
      */
     public boolean validateToken(String token) {
-        try {
-            Claims claims = parseClaims(token);
-            String jti = claims.get("jti", String.class);
-            if (jti != null && tokenBlacklistService.isBlacklisted(jti)) {
-                log.warn("Blacklisted JWT token used, jti: {}", jti);
-                return false;
+        return resolveValidClaims(token).isPresent();
+    }
+
+    /**
+     * Validates a JWT token and returns its claims in a single pass, for callers that need
+     * several claims from the same token.
+     *
+     * <p>A token seen before is served from the verified-token cache until its expiration;
+     * otherwise its signature, expiration and format are verified and the claims are cached.
+     * In both cases the token's JTI is checked against the {@link TokenBlacklistService}.
+     * Failures are logged at WARN level as in {@link #validateToken(String)}.</p>
+     *
+     * @param token the raw JWT string (without {@code "Bearer "} prefix)
+     * @return the verified claims, or empty if the token is invalid, expired, or blacklisted
+     */
+    public Optional<Claims> resolveValidClaims(String token) {
+        long now = System.currentTimeMillis();
+        Claims claims = token == null ? null : verifiedTokens.get(token, now);
+        if (claims == null) {
+            try {
+                claims = parseClaims(token);
+            } catch (ExpiredJwtException e) {
+                log.warn("Expired JWT token: {}", e.getMessage());
+                return Optional.empty();
+            } catch (UnsupportedJwtException e) {
+                log.warn("Unsupported JWT token: {}", e.getMessage());
+                return Optional.empty();
+            } catch (MalformedJwtException e) {
+                log.warn("Malformed JWT token: {}", e.getMessage());
+                return Optional.empty();
+            } catch (SignatureException e) {
+                log.warn("Invalid JWT signature: {}", e.getMessage());
+                return Optional.empty();
+            } catch (IllegalArgumentException e) {
+                log.warn("JWT claims string is empty: {}", e.getMessage());
+                return Optional.empty();
             }
-            return true;
-        } catch (ExpiredJwtException e) {
-            log.warn("Expired JWT token: {}", e.getMessage());
-        } catch (UnsupportedJwtException e) {
-            log.warn("Unsupported JWT token: {}", e.getMessage());
-        } catch (MalformedJwtException e) {
-            log.warn("Malformed JWT token: {}", e.getMessage());
-        } catch (SignatureException e) {
-            log.warn("Invalid JWT signature: {}", e.getMessage());
-        } catch (IllegalArgumentException e) {
-            log.warn("JWT claims string is empty: {}", e.getMessage());
+            verifiedTokens.put(token, claims, now);
+        }
+        String jti = claims.get("jti", String.class);
+        if (jti != null && tokenBlacklistService.isBlacklisted(jti)) {
+            log.warn("Blacklisted JWT token used, jti: {}", jti);
+            return Optional.empty();
         }
-        return false;
+        return Optional.of(claims);
     }
 
     /**
@@ -240,16 +292,15 @@ public class JwtTokenProvider {
     /**
      * Parses and verifies a JWT token, returning the claims payload.
      *
-     * <p>The token signature is verified using the configured HMAC secret key.</p>
+     * <p>The token signature is verified using the configured HMAC secret key. This always
+     * performs full verification; it neither reads nor populates the verified-token cache.</p>
      *
      * @param token the raw JWT string (without {@code "Bearer "} prefix)
      * @return the parsed {@link Claims} from the token payload
      * @throws io.jsonwebtoken.JwtException if the token is expired, malformed, or has an invalid signature
      */
     public Claims parseClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
+        return getParser()
                 .parseSignedClaims(token)
                 .getPayload();
     }
@@ -4,47 +4,52 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.UUID;
 
 /**
- * Servlet filter that enforces per-IP rate limiting on authentication endpoints
- * ({@code /api/v1/auth/**}) to prevent brute-force and credential-stuffing attacks.
+ * Servlet filter that enforces the per-route rate limits configured under
+ * {@code codeops.rate-limit}, protecting authentication endpoints ({@code /api/v1/auth/**}) from
+ * brute-force and credential-stuffing attacks and bulk endpoints such as finding ingestion and
+ * report uploads from being flooded.
  *
- * <p>Uses an in-memory sliding window strategy backed by a {@link ConcurrentHashMap}.
- * Each client IP is allowed a maximum of {@value #MAX_AUTH_REQUESTS_PER_MINUTE} requests
- * per {@value #WINDOW_MS}ms window. Requests exceeding the limit receive a
- * {@code 429 Too Many Requests} JSON response.</p>
+ * <p>Each request is checked against the token bucket policies held by {@link RateLimiter}.
+ * Requests exceeding a policy receive a {@code 429 Too Many Requests} JSON response with a
+ * {@code Retry-After} header giving the number of seconds until the next token is available.</p>
  *
- * <p>Client IP is resolved from the {@code X-Forwarded-For} header (first entry) when
- * present, falling back to {@link HttpServletRequest#getRemoteAddr()} for direct connections.</p>
+ * <p>Authenticated requests are limited per user ID (this filter runs after {@link JwtAuthFilter}).
+ * Anonymous requests are limited per client IP, resolved from the {@code X-Forwarded-For} header
+ * (first entry) when present, falling back to {@link HttpServletRequest#getRemoteAddr()} for direct
+ * connections.</p>
  *
+ * @see RateLimiter
  * @see SecurityConfig
  */
 @Component
+@RequiredArgsConstructor
 public class RateLimitFilter extends OncePerRequestFilter {
 
     private static final Logger log = LoggerFactory.getLogger(RateLimitFilter.class);
 
-    private static final int MAX_AUTH_REQUESTS_PER_MINUTE = 10;
-    private static final long WINDOW_MS = 60_000L;
-
-    private final ConcurrentHashMap<String, RateWindow> buckets = new ConcurrentHashMap<>();
+    private final RateLimiter rateLimiter;
 
     /**
-     * Applies rate limiting to authentication endpoint requests and passes all other
-     * requests through without restriction.
+     * Applies the matching rate limit policy, if any, and passes all other requests through
+     * without restriction.
      *
-     * <p>When the rate limit is exceeded, writes a JSON error response with HTTP 429 status
-     * and short-circuits the filter chain (the request is not forwarded to downstream filters
-     * or the servlet).</p>
+     * <p>When the rate limit is exceeded, writes a JSON error response with HTTP 429 status and a
+     * {@code Retry-After} header, and short-circuits the filter chain (the request is not forwarded
+     * to downstream filters or the servlet).</p>
      *
      * @param request  the incoming HTTP request
      * @param response the HTTP response
@@ -55,28 +60,27 @@ public class RateLimitFilter extends OncePerRequestFilter {
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws ServletException, IOException {
-        if (request.getRequestURI().startsWith("/api/v1/auth/")) {
-            String key = getClientIp(request);
-            RateWindow window = buckets.compute(key, (k, existing) -> {
-                long now = System.currentTimeMillis();
-                if (existing == null || now - existing.windowStart > WINDOW_MS) {
-                    return new RateWindow(now, new AtomicInteger(1));
-                }
-                existing.count.incrementAndGet();
-                return existing;
-            });
-            if (window.count.get() > MAX_AUTH_REQUESTS_PER_MINUTE) {
-                log.warn("Rate limit exceeded for IP={} endpoint={} count={}", key, request.getRequestURI(), window.count.get());
-                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
-                response.setContentType("application/json");
-                response.getWriter().write("{\"status\":429,\"message\":\"Rate limit exceeded. Try again later.\"}");
-                return;
-            }
-            log.debug("Rate limit check passed for IP={} count={}", key, window.count.get());
+        String key = getClientKey(request);
+        RateLimiter.Decision decision = rateLimiter.tryAcquire(request.getMethod(), request.getRequestURI(), key);
+        if (!decision.allowed()) {
+            log.warn("Rate limit exceeded for client={} endpoint={} policy={}", key, request.getRequestURI(), decision.policy());
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(decision.retryAfterSeconds()));
+            response.setContentType("application/json");
+            response.getWriter().write("{\"status\":429,\"message\":\"Rate limit exceeded. Try again later.\"}");
+            return;
         }
         chain.doFilter(request, response);
     }
 
+    private String getClientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UUID userId) {
+            return "user:" + userId;
+        }
+        return "ip:" + getClientIp(request);
+    }
+
     private String getClientIp(HttpServletRequest request) {
         String xff = request.getHeader("X-Forwarded-For");
         if (xff != null && !xff.isBlank()) {
@@ -84,14 +88,4 @@ public class RateLimitFilter extends OncePerRequestFilter {
         }
         return request.getRemoteAddr();
     }
-
-    private static class RateWindow {
-        final long windowStart;
-        final AtomicInteger count;
-
-        RateWindow(long windowStart, AtomicInteger count) {
-            this.windowStart = windowStart;
-            this.count = count;
-        }
-    }
 }
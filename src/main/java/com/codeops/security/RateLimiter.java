@@ -0,0 +1,173 @@
+package com.codeops.security;
+
+import com.codeops.config.RateLimitProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Applies the per-route token bucket policies from {@link RateLimitProperties} to client requests.
+ *
+ * <p>Each (policy, client) pair gets its own lock-free {@link TokenBucket}. Buckets are held in a
+ * {@link ConcurrentHashMap} capped at {@code codeops.rate-limit.max-tracked-clients} entries. A bucket
+ * that has refilled completely carries no state, so {@link #evictIdleBuckets()} periodically removes
+ * full buckets without changing any client's limit. If the map is still at capacity after a sweep
+ * (for example, during a scan from many distinct IPs), new clients share a single overflow bucket
+ * per policy, which keeps memory bounded while still throttling the aggregate traffic. Inline sweeps
+ * triggered by a full map run at most once per second.</p>
+ *
+ * @see RateLimitFilter
+ * @see RateLimitProperties
+ */
+@Component
+public class RateLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimiter.class);
+
+    private static final Decision UNLIMITED = new Decision(null, true, 0);
+    private static final long INLINE_SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final boolean enabled;
+    private final int maxTrackedClients;
+    private final List<Route> routes;
+    private final LongSupplier nanoClock;
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> overflowBuckets;
+    private final AtomicLong lastSweepNanos;
+
+    /**
+     * Outcome of a rate limit check.
+     *
+     * @param policy            the name of the matching policy, or {@code null} if no policy applies
+     * @param allowed           whether the request may proceed
+     * @param retryAfterSeconds when rejected, the whole seconds until the client may retry
+     */
+    public record Decision(String policy, boolean allowed, long retryAfterSeconds) {}
+
+    private record Route(String name, List<String> paths, Set<String> methods,
+                         long intervalNanos, long burstNanos) {
+
+        boolean matches(String method, String uri) {
+            return (methods.isEmpty() || methods.contains(method)) && paths.stream().anyMatch(uri::startsWith);
+        }
+    }
+
+    /**
+     * Creates a rate limiter using the system nanosecond clock.
+     *
+     * @param properties the rate limit configuration
+     * @throws IllegalArgumentException if a policy has a non-positive capacity or refill period
+     */
+    @Autowired
+    public RateLimiter(RateLimitProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    RateLimiter(RateLimitProperties properties, LongSupplier nanoClock) {
+        this.enabled = properties.isEnabled();
+        this.maxTrackedClients = properties.getMaxTrackedClients();
+        this.nanoClock = nanoClock;
+        this.routes = properties.getPolicies().stream().map(RateLimiter::toRoute).toList();
+        long now = nanoClock.getAsLong();
+        this.overflowBuckets = routes.stream().collect(Collectors.toUnmodifiableMap(
+                Route::name, r -> new TokenBucket(now)));
+        this.lastSweepNanos = new AtomicLong(now - INLINE_SWEEP_INTERVAL_NANOS);
+    }
+
+    private static Route toRoute(RateLimitProperties.Policy policy) {
+        if (policy.getCapacity() < 1 || policy.getRefillPeriod() == null
+                || policy.getRefillPeriod().isNegative() || policy.getRefillPeriod().isZero()) {
+            throw new IllegalArgumentException("Invalid rate limit policy: " + policy.getName());
+        }
+        Set<String> methods = policy.getMethods().stream()
+                .map(m -> m.toUpperCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+        long intervalNanos = Math.max(1, policy.getRefillPeriod().toNanos() / policy.getCapacity());
+        return new Route(policy.getName(), List.copyOf(policy.getPaths()), methods,
+                intervalNanos, intervalNanos * policy.getCapacity());
+    }
+
+    /**
+     * Takes a token from the client's bucket for the first policy matching the request.
+     *
+     * @param method    the HTTP method
+     * @param uri       the request path
+     * @param clientKey the identity of the client (user ID or IP address)
+     * @return the decision; requests matching no policy are always allowed
+     */
+    public Decision tryAcquire(String method, String uri, String clientKey) {
+        if (!enabled) return UNLIMITED;
+        for (Route route : routes) {
+            if (route.matches(method, uri)) {
+                return tryAcquire(route, clientKey);
+            }
+        }
+        return UNLIMITED;
+    }
+
+    private Decision tryAcquire(Route route, String clientKey) {
+        String policy = route.name();
+        long now = nanoClock.getAsLong();
+        long waitNanos = bucketFor(policy + '|' + clientKey, policy, now)
+                .tryAcquire(now, route.intervalNanos(), route.burstNanos());
+        if (waitNanos == 0) {
+            return new Decision(policy, true, 0);
+        }
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        return new Decision(policy, false, retryAfterSeconds);
+    }
+
+    private TokenBucket bucketFor(String key, String policy, long now) {
+        TokenBucket bucket = buckets.get(key);
+        if (bucket != null) return bucket;
+        if (buckets.size() >= maxTrackedClients) {
+            long lastSweep = lastSweepNanos.get();
+            if (now - lastSweep >= INLINE_SWEEP_INTERVAL_NANOS && lastSweepNanos.compareAndSet(lastSweep, now)) {
+                evictIdleBuckets();
+            }
+            if (buckets.size() >= maxTrackedClients) {
+                log.debug("Rate limit bucket map full, using overflow bucket for policy={}", policy);
+                return overflowBuckets.get(policy);
+            }
+        }
+        return buckets.computeIfAbsent(key, k -> new TokenBucket(now));
+    }
+
+    /**
+     * Removes every bucket that has refilled completely. Runs every minute.
+     *
+     * @return the number of buckets removed
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public int evictIdleBuckets() {
+        long now = nanoClock.getAsLong();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+        int evicted = before - buckets.size();
+        if (evicted > 0) {
+            log.debug("Evicted {} idle rate limit buckets, {} remaining", evicted, buckets.size());
+        }
+        return Math.max(evicted, 0);
+    }
+
+    /**
+     * Returns the number of per-client buckets currently held in memory.
+     *
+     * @return the tracked bucket count
+     */
+    public int trackedClients() {
+        return buckets.size();
+    }
+}
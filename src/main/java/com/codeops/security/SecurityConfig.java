@@ -1,6 +1,7 @@
 package com.codeops.security;
 
 import com.codeops.config.RequestCorrelationFilter;
+import com.codeops.service.LocalStorageUrlSigner;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -14,6 +15,7 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfigurationSource;
 
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
 
 /**
@@ -24,6 +26,8 @@ import jakarta.servlet.http.HttpServletResponse;
  *   <li>CSRF is disabled since the API uses stateless JWT tokens (no cookie-based auth)</li>
  *   <li>Session management is set to {@link SessionCreationPolicy#STATELESS}</li>
  *   <li>Authentication endpoints ({@code /api/v1/auth/**}), health, and Swagger UI are publicly accessible</li>
+ *   <li>Signed local storage URLs ({@value LocalStorageUrlSigner#PATH}) are publicly accessible;
+ *       the handler checks each URL's signature instead</li>
  *   <li>All other {@code /api/**} endpoints require authentication</li>
  *   <li>Security headers include CSP, HSTS, X-Frame-Options DENY, and X-Content-Type-Options</li>
  *   <li>{@link RequestCorrelationFilter}, {@link RateLimitFilter}, and {@link JwtAuthFilter}
@@ -63,8 +67,12 @@ public class SecurityConfig {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource))
                 .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches complete a request that was already authorized, e.g. a streamed download
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/api/v1/auth/**").permitAll()
                         .requestMatchers("/api/v1/health").permitAll()
+                        // Signed local storage URLs carry their own HMAC authorization
+                        .requestMatchers(LocalStorageUrlSigner.PATH).permitAll()
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/v3/api-docs.yaml").permitAll()
                         .requestMatchers("/api/**").authenticated()
                         .anyRequest().authenticated()
@@ -0,0 +1,65 @@
+package com.codeops.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket implemented as a generic cell rate algorithm (GCRA).
+ *
+ * <p>Instead of storing a token count and a refill timestamp, the bucket keeps a single
+ * "theoretical arrival time": the instant at which the bucket would be full again. Admitting a
+ * request pushes that instant forward by one emission interval; a request is rejected when doing so
+ * would move it more than one burst ahead of now. This is equivalent to a token bucket of
+ * {@code burstNanos / intervalNanos} tokens refilled one token per interval, but the whole state fits
+ * in one {@link AtomicLong} and is updated with a compare-and-set loop, so concurrent requests for
+ * the same client never block each other.</p>
+ *
+ * <p>Times are {@link System#nanoTime()} values supplied by the caller.</p>
+ *
+ * @see RateLimiter
+ */
+final class TokenBucket {
+
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * Creates a full bucket.
+     *
+     * @param nowNanos the current time
+     */
+    TokenBucket(long nowNanos) {
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes one token if available.
+     *
+     * @param nowNanos      the current time
+     * @param intervalNanos the time needed to refill one token
+     * @param burstNanos    the time needed to refill the whole bucket ({@code capacity * intervalNanos})
+     * @return {@code 0} if the request is admitted, otherwise the nanoseconds until a token is available
+     */
+    long tryAcquire(long nowNanos, long intervalNanos, long burstNanos) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long newTat = (tat - nowNanos > 0 ? tat : nowNanos) + intervalNanos;
+            long wait = newTat - nowNanos - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(tat, newTat)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Returns whether the bucket has refilled completely, in which case it is indistinguishable
+     * from a new bucket and can be discarded without affecting the client's limit.
+     *
+     * @param nowNanos the current time
+     * @return {@code true} if the bucket is full
+     */
+    boolean isFull(long nowNanos) {
+        return theoreticalArrival.get() - nowNanos <= 0;
+    }
+}
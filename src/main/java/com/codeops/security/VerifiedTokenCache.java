@@ -0,0 +1,86 @@
+package com.codeops.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of recently verified JWTs, mapping the SHA-256 hash of a compact token to its
+ * parsed claims.
+ *
+ * <p>Clients send the same access token on every request, so caching the verified claims lets
+ * {@link JwtTokenProvider} skip Base64 decoding, JSON parsing and HMAC verification on repeat
+ * requests. Only the token hash is stored, never the token itself. Entries are served only until
+ * the token's {@code exp} claim; tokens without an expiration are not cached. When the cache
+ * reaches its capacity, expired entries are purged and, if it is still full, the cache is cleared.</p>
+ *
+ * <p>Revocation is not cached: callers must still consult the blacklist on every hit.</p>
+ *
+ * @see JwtTokenProvider
+ */
+final class VerifiedTokenCache {
+
+    private record Entry(Claims claims, long expiresAtMillis) {}
+
+    private final int maxEntries;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    VerifiedTokenCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Returns the cached claims for a token if it was verified before and has not expired.
+     *
+     * @param token     the compact JWT
+     * @param nowMillis the current time in epoch milliseconds
+     * @return the verified claims, or {@code null} on a cache miss
+     */
+    Claims get(String token, long nowMillis) {
+        String key = hash(token);
+        Entry entry = entries.get(key);
+        if (entry == null) return null;
+        if (entry.expiresAtMillis() <= nowMillis) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.claims();
+    }
+
+    /**
+     * Caches the claims of a token whose signature has just been verified.
+     *
+     * @param token     the compact JWT
+     * @param claims    the verified claims
+     * @param nowMillis the current time in epoch milliseconds
+     */
+    void put(String token, Claims claims, long nowMillis) {
+        Date expiration = claims.getExpiration();
+        if (expiration == null || expiration.getTime() <= nowMillis) return;
+        if (entries.size() >= maxEntries) {
+            entries.values().removeIf(entry -> entry.expiresAtMillis() <= nowMillis);
+            if (entries.size() >= maxEntries) {
+                entries.clear();
+            }
+        }
+        entries.put(hash(token), new Entry(claims, expiration.getTime()));
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
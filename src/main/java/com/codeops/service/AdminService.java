@@ -16,6 +16,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
@@ -46,6 +47,8 @@ public class AdminService {
     private final ProjectRepository projectRepository;
     private final QaJobRepository qaJobRepository;
     private final SystemSettingRepository systemSettingRepository;
+    private final ProjectMetricsRollupService rollupService;
+    private final HealthTrendService healthTrendService;
 
     private void verifyCurrentUserIsAdmin() {
         UUID currentUserId = SecurityUtils.getCurrentUserId();
@@ -206,6 +209,28 @@ public class AdminService {
         );
     }
 
+    /**
+     * Recomputes the metrics rollup and health trend buckets of every project from the
+     * source tables.
+     *
+     * <p>Used to repair drift between {@code project_metrics_rollup} and the underlying
+     * jobs, findings, tech debt items, scans and snapshots, and to backfill
+     * {@code health_snapshot_buckets} from existing snapshots. Each project is rebuilt in its
+     * own transaction.</p>
+     *
+     * @return the number of projects rebuilt
+     * @throws AccessDeniedException if the current user is not an admin
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int rebuildMetricsRollup() {
+        log.debug("rebuildMetricsRollup called");
+        verifyCurrentUserIsAdmin();
+        int rebuilt = rollupService.rebuildAll();
+        healthTrendService.rebuildAll();
+        log.info("Metrics rollup rebuild completed: projects={}", rebuilt);
+        return rebuilt;
+    }
+
     private UserResponse mapToUserResponse(User user) {
         return new UserResponse(
                 user.getId(),
@@ -8,8 +8,6 @@ import com.codeops.entity.enums.AgentStatus;
 import com.codeops.entity.enums.AgentType;
 import com.codeops.repository.AgentRunRepository;
 import com.codeops.repository.QaJobRepository;
-import com.codeops.repository.TeamMemberRepository;
-import com.codeops.security.SecurityUtils;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -40,7 +38,7 @@ public class AgentRunService {
 
     private final AgentRunRepository agentRunRepository;
     private final QaJobRepository qaJobRepository;
-    private final TeamMemberRepository teamMemberRepository;
+    private final TeamMembershipCache teamMembershipCache;
 
     /**
      * Creates a single agent run for a QA job with initial status {@link AgentStatus#PENDING}
@@ -55,7 +53,7 @@ public class AgentRunService {
         log.debug("createAgentRun called with jobId={}, agentType={}", request.jobId(), request.agentType());
         var job = qaJobRepository.findById(request.jobId())
                 .orElseThrow(() -> new EntityNotFoundException("Job not found"));
-        verifyTeamMembership(job.getProject().getTeam().getId());
+        teamMembershipCache.verifyMember(job.getProject().getTeam().getId());
 
         AgentRun run = AgentRun.builder()
                 .job(job)
@@ -85,7 +83,7 @@ public class AgentRunService {
         log.debug("createAgentRuns called with jobId={}, agentTypes={}", jobId, agentTypes);
         var job = qaJobRepository.findById(jobId)
                 .orElseThrow(() -> new EntityNotFoundException("Job not found"));
-        verifyTeamMembership(job.getProject().getTeam().getId());
+        teamMembershipCache.verifyMember(job.getProject().getTeam().getId());
 
         List<AgentRun> runs = agentTypes.stream()
                 .map(agentType -> AgentRun.builder()
@@ -114,9 +112,7 @@ public class AgentRunService {
     @Transactional(readOnly = true)
     public List<AgentRunResponse> getAgentRuns(UUID jobId) {
         log.debug("getAgentRuns called with jobId={}", jobId);
-        var job = qaJobRepository.findById(jobId)
-                .orElseThrow(() -> new EntityNotFoundException("Job not found"));
-        verifyTeamMembership(job.getProject().getTeam().getId());
+        verifyJobTeamMembership(jobId);
         return agentRunRepository.findByJobId(jobId).stream()
                 .map(this::mapToResponse)
                 .toList();
@@ -133,9 +129,10 @@ public class AgentRunService {
     @Transactional(readOnly = true)
     public AgentRunResponse getAgentRun(UUID agentRunId) {
         log.debug("getAgentRun called with agentRunId={}", agentRunId);
+        teamMembershipCache.verifyMember(agentRunRepository.findTeamIdById(agentRunId)
+                .orElseThrow(() -> new EntityNotFoundException("Agent run not found")));
         AgentRun run = agentRunRepository.findById(agentRunId)
                 .orElseThrow(() -> new EntityNotFoundException("Agent run not found"));
-        verifyTeamMembership(run.getJob().getProject().getTeam().getId());
         return mapToResponse(run);
     }
 
@@ -154,9 +151,10 @@ public class AgentRunService {
      */
     public AgentRunResponse updateAgentRun(UUID agentRunId, UpdateAgentRunRequest request) {
         log.debug("updateAgentRun called with agentRunId={}", agentRunId);
+        teamMembershipCache.verifyMember(agentRunRepository.findTeamIdById(agentRunId)
+                .orElseThrow(() -> new EntityNotFoundException("Agent run not found")));
         AgentRun run = agentRunRepository.findById(agentRunId)
                 .orElseThrow(() -> new EntityNotFoundException("Agent run not found"));
-        verifyTeamMembership(run.getJob().getProject().getTeam().getId());
 
         AgentStatus previousStatus = run.getStatus();
         if (request.status() != null) run.setStatus(request.status());
@@ -198,10 +196,9 @@ public class AgentRunService {
         );
     }
 
-    private void verifyTeamMembership(UUID teamId) {
-        UUID currentUserId = SecurityUtils.getCurrentUserId();
-        if (!teamMemberRepository.existsByTeamIdAndUserId(teamId, currentUserId)) {
-            throw new AccessDeniedException("Not a member of this team");
-        }
+    private void verifyJobTeamMembership(UUID jobId) {
+        UUID teamId = qaJobRepository.findTeamIdById(jobId)
+                .orElseThrow(() -> new EntityNotFoundException("Job not found"));
+        teamMembershipCache.verifyMember(teamId);
     }
 }
@@ -0,0 +1,289 @@
+package com.codeops.service;
+
+import com.codeops.config.AppConstants;
+import com.codeops.dto.response.AuditLogResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Enforces the audit log retention period by archiving whole months of entries to object storage
+ * and then deleting them from the database.
+ *
+ * <p>Once a day, every calendar month (UTC) that ended more than
+ * {@value AppConstants#AUDIT_LOG_RETENTION_MONTHS} months ago is exported, oldest first, as gzip
+ * compressed NDJSON through {@link S3StorageService}. Each month is read in keyset pages of
+ * {@value AppConstants#AUDIT_LOG_ARCHIVE_PAGE_SIZE} rows along the {@code (created_at, id)} index
+ * and split into parts of at most {@value AppConstants#AUDIT_LOG_ARCHIVE_ROWS_PER_PART} rows, so
+ * memory use does not depend on the size of the month. Each part is compressed into a temporary
+ * file and uploaded from there. Rows are deleted in batches only after every part of the month has
+ * been uploaded.</p>
+ *
+ * <p>Pages are read and parts uploaded outside any transaction, and each delete batch commits in
+ * its own short transaction, so a large month never holds row locks, WAL or an old snapshot for
+ * the length of the upload. A run is guarded by the session-level {@code pg_try_advisory_lock} on
+ * {@value #LOCK_NAME}, held on a dedicated connection until the run ends. An instance that finds
+ * the lock taken skips its run, so when every replica fires the cron job only one of them exports
+ * and deletes. The lock is only taken on PostgreSQL; other databases are the embedded,
+ * single-instance ones used in tests.</p>
+ *
+ * <p>Part keys include the start time of the run, so a month that is archived again after an
+ * interrupted delete never overwrites an earlier, more complete export.</p>
+ *
+ * @see AuditLogWriter
+ */
+@Service
+public class AuditLogArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLogArchiver.class);
+
+    static final String LOCK_NAME = "audit_log_archive";
+
+    static final String LOCK_SQL = "SELECT pg_try_advisory_lock(hashtext('" + LOCK_NAME + "'))";
+
+    static final String UNLOCK_SQL = "SELECT pg_advisory_unlock(hashtext('" + LOCK_NAME + "'))";
+
+    static final String OLDEST_SQL = "SELECT MIN(created_at) FROM audit_log";
+
+    static final String PAGE_SQL = "SELECT " + AuditLogRows.COLUMNS + " FROM audit_log "
+            + "WHERE created_at < ? AND (created_at > ? OR (created_at = ? AND id > ?)) "
+            + "ORDER BY created_at, id LIMIT ?";
+
+    static final String DELETE_SQL = "DELETE FROM audit_log WHERE id IN "
+            + "(SELECT id FROM audit_log WHERE created_at >= ? AND created_at < ? LIMIT ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final S3StorageService storageService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    /**
+     * Creates an archiver that uses the system UTC clock.
+     *
+     * @param jdbcTemplate   template used to read and delete audit rows
+     * @param storageService storage the archive parts are uploaded to
+     * @param objectMapper       mapper used to serialize each entry as one JSON line
+     * @param transactionManager transaction manager for the delete batch transactions
+     */
+    @Autowired
+    public AuditLogArchiver(JdbcTemplate jdbcTemplate, S3StorageService storageService, ObjectMapper objectMapper,
+                            PlatformTransactionManager transactionManager) {
+        this(jdbcTemplate, storageService, objectMapper, transactionManager, Clock.systemUTC());
+    }
+
+    AuditLogArchiver(JdbcTemplate jdbcTemplate, S3StorageService storageService, ObjectMapper objectMapper,
+                     PlatformTransactionManager transactionManager, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.storageService = storageService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+    }
+
+    /**
+     * Archives and deletes every month of audit entries older than the retention period, unless
+     * another instance is already doing so. Runs daily at 03:30 server time.
+     *
+     * @return the number of entries archived
+     */
+    @Scheduled(cron = "0 30 3 * * *")
+    public long archiveExpired() {
+        YearMonth cutoff = YearMonth.now(clock.withZone(ZoneOffset.UTC))
+                .minusMonths(AppConstants.AUDIT_LOG_RETENTION_MONTHS);
+        long runId = clock.millis();
+        Long archived = jdbcTemplate.execute((ConnectionCallback<Long>) lockConnection -> {
+            boolean locking = "PostgreSQL".equals(lockConnection.getMetaData().getDatabaseProductName());
+            if (locking && !queryBoolean(lockConnection, LOCK_SQL)) {
+                log.info("Audit log archiving is already running on another instance");
+                return 0L;
+            }
+            try {
+                return archiveMonthsBefore(cutoff, runId);
+            } finally {
+                if (locking) queryBoolean(lockConnection, UNLOCK_SQL);
+            }
+        });
+        return archived == null ? 0 : archived;
+    }
+
+    /**
+     * Archives months oldest first until the oldest remaining entry is not older than the cutoff.
+     *
+     * @param cutoff the first month that is kept
+     * @param runId  identifier of the current run, used in the part keys
+     * @return the number of entries archived
+     */
+    private long archiveMonthsBefore(YearMonth cutoff, long runId) {
+        long archived = 0;
+        while (true) {
+            OffsetDateTime oldest = jdbcTemplate.queryForObject(OLDEST_SQL, OffsetDateTime.class);
+            if (oldest == null) break;
+            YearMonth month = YearMonth.from(oldest.withOffsetSameInstant(ZoneOffset.UTC));
+            if (!month.isBefore(cutoff)) break;
+            archived += archiveMonth(month, runId);
+        }
+        return archived;
+    }
+
+    private static boolean queryBoolean(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet result = statement.executeQuery(sql)) {
+            return result.next() && result.getBoolean(1);
+        }
+    }
+
+    /**
+     * Uploads every entry of one month and then deletes the month from the table, committing
+     * each delete batch separately.
+     *
+     * @param month the UTC calendar month to archive
+     * @param runId identifier of the current run, used in the part keys
+     * @return the number of entries archived
+     */
+    long archiveMonth(YearMonth month, long runId) {
+        Instant from = month.atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+        Instant to = month.plusMonths(1).atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+        String keyPrefix = AppConstants.S3_AUDIT_ARCHIVE + month + "/" + runId + "-part-";
+
+        long rows = 0;
+        int parts = 0;
+        Part part = null;
+        try {
+            // Starting at (from, MIN_VALUE) makes the first page include rows created exactly at from
+            Instant lastCreatedAt = from;
+            long lastId = Long.MIN_VALUE;
+            while (true) {
+                List<AuditLogResponse> page = jdbcTemplate.query(PAGE_SQL, AuditLogRows.MAPPER,
+                        utc(to), utc(lastCreatedAt), utc(lastCreatedAt), lastId,
+                        AppConstants.AUDIT_LOG_ARCHIVE_PAGE_SIZE);
+                for (AuditLogResponse row : page) {
+                    if (part == null) part = new Part();
+                    part.write(objectMapper, row);
+                    rows++;
+                    if (part.rows >= AppConstants.AUDIT_LOG_ARCHIVE_ROWS_PER_PART) {
+                        upload(keyPrefix, ++parts, part);
+                        part = null;
+                    }
+                }
+                if (page.size() < AppConstants.AUDIT_LOG_ARCHIVE_PAGE_SIZE) break;
+                AuditLogResponse last = page.get(page.size() - 1);
+                lastCreatedAt = last.createdAt();
+                lastId = last.id();
+            }
+            if (part != null) {
+                upload(keyPrefix, ++parts, part);
+                part = null;
+            }
+        } finally {
+            if (part != null) part.discard();
+        }
+
+        long deleted = 0;
+        int batch;
+        do {
+            Integer count = transactionTemplate.execute(status ->
+                    jdbcTemplate.update(DELETE_SQL, utc(from), utc(to), AppConstants.AUDIT_LOG_ARCHIVE_PAGE_SIZE));
+            batch = count == null ? 0 : count;
+            deleted += batch;
+        } while (batch > 0);
+
+        log.info("Archived audit log for {}: rows={}, parts={}, deleted={}", month, rows, parts, deleted);
+        return rows;
+    }
+
+    private void upload(String keyPrefix, int partNumber, Part part) {
+        String key = keyPrefix + String.format("%05d", partNumber) + ".ndjson.gz";
+        try {
+            storageService.upload(key, part.finish(), "application/gzip");
+        } finally {
+            part.discard();
+        }
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return OffsetDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    /** One gzip-compressed NDJSON archive part being written to a temporary file. */
+    private static final class Part {
+        private final Path file;
+        private final GZIPOutputStream gzip;
+        private int rows;
+
+        Part() {
+            try {
+                file = Files.createTempFile("codeops-audit-archive-", ".ndjson.gz");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            try {
+                OutputStream out = Files.newOutputStream(file);
+                try {
+                    gzip = new GZIPOutputStream(out, 64 * 1024);
+                } catch (IOException e) {
+                    out.close();
+                    throw e;
+                }
+            } catch (IOException e) {
+                discard();
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void write(ObjectMapper objectMapper, AuditLogResponse row) {
+            try {
+                gzip.write(objectMapper.writeValueAsBytes(row));
+                gzip.write('\n');
+                rows++;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        Path finish() {
+            try {
+                gzip.close();
+                return file;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void discard() {
+            try {
+                if (gzip != null) gzip.close();
+            } catch (IOException e) {
+                log.debug("Failed to close audit archive part {}", file, e);
+            }
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Failed to delete audit archive part {}", file, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.codeops.service;
+
+import com.codeops.config.AppConstants;
+import com.codeops.dto.request.AuditLogExportFormat;
+import com.codeops.dto.response.AuditLogResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.UUID;
+
+/**
+ * Writes a team's complete audit log to an output stream as CSV or NDJSON.
+ *
+ * <p>Rows are read newest first through a forward-only, read-only JDBC cursor with a fetch size of
+ * {@value AppConstants#AUDIT_LOG_EXPORT_FETCH_SIZE}, inside a read-only transaction so the
+ * PostgreSQL driver streams the result instead of buffering it. Each row is formatted and written
+ * as soon as it is read, so memory use is constant regardless of how many rows the team has and no
+ * entities are loaded into a persistence context.</p>
+ *
+ * <p>Callers are responsible for authorization; see {@link AuditLogService#exportTeamAuditLog}.</p>
+ */
+@Service
+public class AuditLogExporter {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLogExporter.class);
+
+    static final String TEAM_SQL = "SELECT " + AuditLogRows.COLUMNS
+            + " FROM audit_log WHERE team_id = ? ORDER BY created_at DESC, id DESC";
+
+    static final String CSV_HEADER = "id,created_at,user_id,team_id,action,entity_type,entity_id,details,ip_address";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Creates an exporter.
+     *
+     * @param jdbcTemplate       template used to open the cursor
+     * @param transactionManager transaction manager for the read-only export transaction
+     * @param objectMapper       mapper used for NDJSON lines
+     */
+    public AuditLogExporter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                            ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Streams every audit entry of a team, newest first.
+     *
+     * @param teamId the team whose entries to export
+     * @param format the output format
+     * @param out    the stream to write to; flushed but not closed
+     * @return the number of entries written
+     * @throws IOException if writing to {@code out} fails
+     */
+    public long exportTeam(UUID teamId, AuditLogExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        if (format == AuditLogExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        long[] rows = {0};
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(TEAM_SQL, ResultSet.TYPE_FORWARD_ONLY,
+                        ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(AppConstants.AUDIT_LOG_EXPORT_FETCH_SIZE);
+                ps.setObject(1, teamId);
+                return ps;
+            }, rs -> {
+                AuditLogResponse row = AuditLogRows.MAPPER.mapRow(rs, 0);
+                try {
+                    writeRow(writer, format, row);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                rows[0]++;
+            }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+        log.info("Exported {} audit log entries for teamId={} as {}", rows[0], teamId, format);
+        return rows[0];
+    }
+
+    void writeRow(Writer writer, AuditLogExportFormat format, AuditLogResponse row) throws IOException {
+        if (format == AuditLogExportFormat.NDJSON) {
+            writer.write(objectMapper.writeValueAsString(row));
+        } else {
+            writer.write(String.valueOf(row.id()));
+            writer.write(',');
+            writer.write(row.createdAt().toString());
+            writer.write(',');
+            writeCsvField(writer, row.userId());
+            writer.write(',');
+            writeCsvField(writer, row.teamId());
+            writer.write(',');
+            writeCsvField(writer, row.action());
+            writer.write(',');
+            writeCsvField(writer, row.entityType());
+            writer.write(',');
+            writeCsvField(writer, row.entityId());
+            writer.write(',');
+            writeCsvField(writer, row.details());
+            writer.write(',');
+            writeCsvField(writer, row.ipAddress());
+        }
+        writer.write('\n');
+    }
+
+    private static void writeCsvField(Writer writer, Object value) throws IOException {
+        if (value == null) return;
+        String text = value.toString();
+        boolean quote = false;
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,35 @@
+package com.codeops.service;
+
+import com.codeops.dto.response.AuditLogResponse;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Column list and row mapper shared by the JDBC readers of {@code audit_log}.
+ *
+ * @see AuditLogArchiver
+ * @see AuditLogExporter
+ */
+final class AuditLogRows {
+
+    /** The columns read by {@link #MAPPER}, in select-list form. */
+    static final String COLUMNS =
+            "id, user_id, team_id, action, entity_type, entity_id, details, ip_address, created_at";
+
+    /** Maps one {@code audit_log} row to a response DTO without a user name. */
+    static final RowMapper<AuditLogResponse> MAPPER = (rs, rowNum) -> new AuditLogResponse(
+            rs.getLong("id"),
+            rs.getObject("user_id", UUID.class),
+            null,
+            rs.getObject("team_id", UUID.class),
+            rs.getString("action"),
+            rs.getString("entity_type"),
+            rs.getObject("entity_id", UUID.class),
+            rs.getString("details"),
+            rs.getString("ip_address"),
+            rs.getObject("created_at", OffsetDateTime.class).toInstant());
+
+    private AuditLogRows() {}
+}
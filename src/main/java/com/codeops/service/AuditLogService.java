@@ -1,34 +1,36 @@
 package com.codeops.service;
 
+import com.codeops.dto.request.AuditLogExportFormat;
+import com.codeops.dto.request.KeysetCursor;
 import com.codeops.dto.response.AuditLogResponse;
+import com.codeops.dto.response.CursorPageResponse;
 import com.codeops.entity.AuditLog;
-import com.codeops.entity.Team;
-import com.codeops.entity.User;
+import com.codeops.exception.ValidationException;
 import com.codeops.repository.AuditLogRepository;
-import com.codeops.repository.TeamMemberRepository;
-import com.codeops.repository.TeamRepository;
-import com.codeops.repository.UserRepository;
 import com.codeops.security.SecurityUtils;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 /**
  * Records and retrieves audit log entries for user and team activity tracking.
  *
- * <p>The {@link #log} method is annotated with {@code @Async} and executes in a separate thread
- * to avoid blocking the calling operation. Audit entries capture the acting user, team context,
- * action performed, and the target entity type and ID.</p>
+ * <p>The {@link #log} method only buffers the entry; {@link AuditLogWriter} writes buffered entries
+ * in batches on a dedicated thread so the calling operation is never blocked. Audit entries capture
+ * the acting user, team context, action performed, and the target entity type and ID.</p>
  *
+ * @see AuditLogWriter
  * @see AuditLogRepository
  * @see AuditLog
  */
@@ -39,16 +41,17 @@ public class AuditLogService {
     private static final Logger logger = LoggerFactory.getLogger(AuditLogService.class);
 
     private final AuditLogRepository auditLogRepository;
-    private final UserRepository userRepository;
-    private final TeamRepository teamRepository;
-    private final TeamMemberRepository teamMemberRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final AuditLogExporter auditLogExporter;
+    private final TeamMembershipCache teamMembershipCache;
 
     /**
-     * Asynchronously writes an audit log entry to the database.
+     * Records an audit log entry without blocking the caller.
      *
-     * <p>This method runs on a separate thread via {@code @Async} and uses its own transaction.
-     * If the provided {@code userId} or {@code teamId} cannot be resolved, the corresponding
-     * field is set to {@code null} rather than throwing an exception.</p>
+     * <p>The entry is handed to {@link AuditLogWriter}, which writes it in a batch on its own
+     * thread shortly afterwards. If the provided {@code userId} or {@code teamId} does not exist
+     * when the entry is written, the corresponding column is stored as {@code null}. If the
+     * writer's buffer is full, the entry is dropped and counted rather than slowing the request.</p>
      *
      * @param userId     the UUID of the user performing the action, or {@code null} for system actions
      * @param teamId     the UUID of the team context, or {@code null} if not team-scoped
@@ -57,24 +60,10 @@ public class AuditLogService {
      * @param entityId   the UUID of the affected entity
      * @param details    additional free-text details about the action
      */
-    @Async
-    @Transactional
     public void log(UUID userId, UUID teamId, String action, String entityType, UUID entityId, String details) {
         logger.debug("Audit log entry: userId={}, teamId={}, action={}, entityType={}, entityId={}", userId, teamId, action, entityType, entityId);
-        AuditLog entry = new AuditLog();
-        if (userId != null) {
-            entry.setUser(userRepository.findById(userId).orElse(null));
-        }
-        if (teamId != null) {
-            entry.setTeam(teamRepository.findById(teamId).orElse(null));
-        }
-        entry.setAction(action);
-        entry.setEntityType(entityType);
-        entry.setEntityId(entityId);
-        entry.setDetails(details);
-        entry.setCreatedAt(Instant.now());
-        auditLogRepository.save(entry);
-        logger.debug("Audit log entry created for action={}, entityType={}, entityId={}", action, entityType, entityId);
+        auditLogWriter.enqueue(new AuditLogWriter.Entry(
+                userId, teamId, action, entityType, entityId, details, Instant.now()));
     }
 
     /**
@@ -88,13 +77,54 @@ public class AuditLogService {
     @Transactional(readOnly = true)
     public Page<AuditLogResponse> getTeamAuditLog(UUID teamId, Pageable pageable) {
         logger.debug("getTeamAuditLog called with teamId={}", teamId);
-        UUID currentUserId = SecurityUtils.getCurrentUserId();
-        teamMemberRepository.findByTeamIdAndUserId(teamId, currentUserId)
-                .orElseThrow(() -> new AccessDeniedException("Not a member of this team"));
+        teamMembershipCache.verifyMember(teamId);
         return auditLogRepository.findByTeamIdOrderByCreatedAtDesc(teamId, pageable)
                 .map(this::mapToResponse);
     }
 
+    /**
+     * Retrieves a keyset-paginated audit log for a specific team, newest first, without
+     * counting the total.
+     *
+     * @param teamId the UUID of the team whose audit log to retrieve
+     * @param after  the opaque cursor returned with the previous page, or blank for the first page
+     * @param size   the maximum number of entries to return
+     * @return a cursor page of audit log response DTOs
+     * @throws AccessDeniedException if the current user is not a member of the specified team
+     * @throws ValidationException if the cursor is malformed
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<AuditLogResponse> getTeamAuditLogAfter(UUID teamId, String after, int size) {
+        logger.debug("getTeamAuditLogAfter called with teamId={}, size={}", teamId, size);
+        teamMembershipCache.verifyMember(teamId);
+
+        KeysetCursor cursor = KeysetCursor.decode(after);
+        Limit limit = CursorPageResponse.fetchLimit(size);
+        List<AuditLog> rows = cursor == null
+                ? auditLogRepository.findByTeamIdOrderByCreatedAtDescIdDesc(teamId, limit)
+                : auditLogRepository.findByTeamIdAfter(teamId, cursor.timestamp(), cursor.longId(), limit);
+        return CursorPageResponse.of(rows, size,
+                a -> KeysetCursor.encode(a.getCreatedAt(), a.getId()), this::mapToResponse);
+    }
+
+    /**
+     * Prepares a streamed export of a team's complete audit log.
+     *
+     * <p>Membership is checked immediately, so an unauthorized request fails before any response
+     * is committed. The returned body runs the export when the response is written; see
+     * {@link AuditLogExporter} for how rows are streamed.</p>
+     *
+     * @param teamId the UUID of the team whose audit log to export
+     * @param format the output format
+     * @return a response body that writes the export to the response stream
+     * @throws AccessDeniedException if the current user is not a member of the specified team
+     */
+    public StreamingResponseBody exportTeamAuditLog(UUID teamId, AuditLogExportFormat format) {
+        logger.debug("exportTeamAuditLog called with teamId={}, format={}", teamId, format);
+        teamMembershipCache.verifyMember(teamId);
+        return out -> auditLogExporter.exportTeam(teamId, format, out);
+    }
+
     /**
      * Retrieves a paginated audit log for a specific user, ordered by creation time descending.
      *
@@ -117,6 +147,36 @@ public class AuditLogService {
                 .map(this::mapToResponse);
     }
 
+    /**
+     * Retrieves a keyset-paginated audit log for a specific user, newest first, without
+     * counting the total.
+     *
+     * <p>Users can only access their own audit log.</p>
+     *
+     * @param userId the UUID of the user whose audit log to retrieve
+     * @param after  the opaque cursor returned with the previous page, or blank for the first page
+     * @param size   the maximum number of entries to return
+     * @return a cursor page of audit log response DTOs
+     * @throws AccessDeniedException if the current user's ID does not match the requested {@code userId}
+     * @throws ValidationException if the cursor is malformed
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<AuditLogResponse> getUserAuditLogAfter(UUID userId, String after, int size) {
+        logger.debug("getUserAuditLogAfter called with userId={}, size={}", userId, size);
+        UUID currentUserId = SecurityUtils.getCurrentUserId();
+        if (!currentUserId.equals(userId)) {
+            throw new AccessDeniedException("Cannot access another user's audit log");
+        }
+
+        KeysetCursor cursor = KeysetCursor.decode(after);
+        Limit limit = CursorPageResponse.fetchLimit(size);
+        List<AuditLog> rows = cursor == null
+                ? auditLogRepository.findByUserIdOrderByCreatedAtDescIdDesc(userId, limit)
+                : auditLogRepository.findByUserIdAfter(userId, cursor.timestamp(), cursor.longId(), limit);
+        return CursorPageResponse.of(rows, size,
+                a -> KeysetCursor.encode(a.getCreatedAt(), a.getId()), this::mapToResponse);
+    }
+
     private AuditLogResponse mapToResponse(AuditLog log) {
         return new AuditLogResponse(
                 log.getId(),
@@ -0,0 +1,270 @@
+package com.codeops.service;
+
+import com.codeops.config.AppConstants;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Dedicated, non-blocking writer for audit log entries.
+ *
+ * <p>Request threads hand entries to {@link #enqueue(Entry)}, which only appends to a bounded
+ * lock-free ring buffer of {@value AppConstants#AUDIT_LOG_BUFFER_CAPACITY} slots and never touches
+ * the database or the shared {@code @Async} pool. A single daemon thread drains the buffer in
+ * batches of up to {@value AppConstants#AUDIT_LOG_BATCH_SIZE} and writes each batch with one JDBC
+ * batch insert, which the PostgreSQL driver rewrites into multi-row {@code INSERT} statements. The
+ * drainer wakes when a full batch is waiting or every {@value AppConstants#AUDIT_LOG_FLUSH_INTERVAL_MS}
+ * milliseconds otherwise.</p>
+ *
+ * <p>The user and team foreign keys are resolved inside the insert by sub-selects, so an ID that no
+ * longer exists is stored as {@code null} without loading any entity. When the buffer is full, new
+ * entries are dropped rather than blocking the caller; dropped, written and failed entries are
+ * counted and logged. If a batch fails, its entries are retried one by one so a single bad entry
+ * cannot discard the rest. On shutdown the drainer is stopped and everything still buffered is
+ * flushed before the data source closes.</p>
+ *
+ * @see AuditLogService#log
+ */
+@Service
+public class AuditLogWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLogWriter.class);
+
+    static final String INSERT_SQL = "INSERT INTO audit_log "
+            + "(user_id, team_id, action, entity_type, entity_id, details, created_at) VALUES ("
+            + "(SELECT u.id FROM users u WHERE u.id = ?), "
+            + "(SELECT t.id FROM teams t WHERE t.id = ?), ?, ?, ?, ?, ?)";
+
+    /**
+     * A buffered audit log entry.
+     *
+     * @param userId     the acting user, or {@code null}
+     * @param teamId     the team context, or {@code null}
+     * @param action     the action performed
+     * @param entityType the type of the affected entity
+     * @param entityId   the ID of the affected entity
+     * @param details    free-text details
+     * @param createdAt  when the action happened
+     */
+    record Entry(UUID userId, UUID teamId, String action, String entityType, UUID entityId,
+                 String details, Instant createdAt) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BoundedRingBuffer<Entry> buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final AtomicBoolean dropWarningLogged = new AtomicBoolean();
+    private volatile boolean running;
+    private volatile Thread drainer;
+
+    /**
+     * Creates a writer with the default buffer capacity, batch size and flush interval.
+     *
+     * @param jdbcTemplate template used for the batch inserts
+     */
+    @Autowired
+    public AuditLogWriter(JdbcTemplate jdbcTemplate) {
+        this(jdbcTemplate, AppConstants.AUDIT_LOG_BUFFER_CAPACITY, AppConstants.AUDIT_LOG_BATCH_SIZE,
+                AppConstants.AUDIT_LOG_FLUSH_INTERVAL_MS);
+    }
+
+    AuditLogWriter(JdbcTemplate jdbcTemplate, int capacity, int batchSize, long flushIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.buffer = new BoundedRingBuffer<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+    }
+
+    /**
+     * Starts the drainer thread.
+     */
+    @PostConstruct
+    public void start() {
+        running = true;
+        Thread thread = new Thread(this::drainLoop, "codeops-audit-writer");
+        thread.setDaemon(true);
+        drainer = thread;
+        thread.start();
+    }
+
+    /**
+     * Stops the drainer thread and flushes every entry still in the buffer.
+     */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        Thread thread = drainer;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(AppConstants.AUDIT_LOG_SHUTDOWN_TIMEOUT_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (thread.isAlive()) {
+                log.warn("Audit log writer did not stop within {} ms; {} entries not flushed",
+                        AppConstants.AUDIT_LOG_SHUTDOWN_TIMEOUT_MS, buffer.size());
+                return;
+            }
+        }
+        while (drainOnce() > 0) {
+            // keep flushing until the buffer is empty
+        }
+        logStats();
+    }
+
+    /**
+     * Buffers an entry for writing. Never blocks; if the buffer is full the entry is dropped and
+     * counted.
+     *
+     * @param entry the entry to write
+     * @return {@code true} if the entry was buffered, {@code false} if it was dropped
+     */
+    public boolean enqueue(Entry entry) {
+        if (!buffer.offer(entry)) {
+            dropped.increment();
+            wakeDrainer();
+            if (dropWarningLogged.compareAndSet(false, true)) {
+                log.warn("Audit log buffer full ({} entries); dropping audit entries", buffer.capacity());
+            }
+            return false;
+        }
+        if (buffer.size() >= batchSize) {
+            wakeDrainer();
+        }
+        return true;
+    }
+
+    /**
+     * Logs the writer statistics when anything was dropped or failed. Runs every minute.
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void logStats() {
+        long droppedCount = dropped.sum();
+        long failedCount = failed.sum();
+        if (droppedCount > 0 || failedCount > 0) {
+            log.warn("Audit log writer: written={}, dropped={}, failed={}, pending={}",
+                    written.sum(), droppedCount, failedCount, buffer.size());
+        } else {
+            log.debug("Audit log writer: written={}, pending={}", written.sum(), buffer.size());
+        }
+        dropWarningLogged.set(false);
+    }
+
+    /**
+     * Returns the number of entries written since startup.
+     *
+     * @return the written count
+     */
+    public long writtenCount() {
+        return written.sum();
+    }
+
+    /**
+     * Returns the number of entries dropped because the buffer was full.
+     *
+     * @return the dropped count
+     */
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Returns the number of entries that could not be written.
+     *
+     * @return the failed count
+     */
+    public long failedCount() {
+        return failed.sum();
+    }
+
+    /**
+     * Returns the number of entries waiting to be written.
+     *
+     * @return the approximate buffer size
+     */
+    public int pendingCount() {
+        return buffer.size();
+    }
+
+    /**
+     * Writes at most one batch. Must only be called from the drainer thread, or after it stopped.
+     *
+     * @return the number of entries taken from the buffer
+     */
+    int drainOnce() {
+        List<Entry> batch = new ArrayList<>(Math.min(batchSize, buffer.size() + 1));
+        int drained = buffer.drainTo(batch, batchSize);
+        if (drained > 0) {
+            write(batch);
+        }
+        return drained;
+    }
+
+    private void drainLoop() {
+        while (running) {
+            try {
+                if (drainOnce() < batchSize && running) {
+                    LockSupport.parkNanos(this, flushIntervalNanos);
+                }
+            } catch (RuntimeException e) {
+                log.error("Audit log writer failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private void wakeDrainer() {
+        Thread thread = drainer;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private void write(List<Entry> batch) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), AuditLogWriter::bind);
+            written.add(batch.size());
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                failed.increment();
+                log.error("Failed to write audit log entry action={}: {}", batch.get(0).action(), e.getMessage());
+                return;
+            }
+            log.warn("Audit log batch of {} failed, retrying individually: {}", batch.size(), e.getMessage());
+            for (Entry entry : batch) {
+                write(List.of(entry));
+            }
+        }
+    }
+
+    private static void bind(PreparedStatement ps, Entry entry) throws SQLException {
+        ps.setObject(1, entry.userId());
+        ps.setObject(2, entry.teamId());
+        ps.setString(3, entry.action());
+        ps.setString(4, entry.entityType());
+        ps.setObject(5, entry.entityId());
+        ps.setString(6, entry.details());
+        ps.setObject(7, OffsetDateTime.ofInstant(entry.createdAt(), ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,124 @@
+package com.codeops.service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lock-free ring buffer for many producers and a single consumer.
+ *
+ * <p>Each slot carries a sequence number that tells producers and the consumer whose turn it is:
+ * a producer claims the next tail position with a compare-and-set and publishes its element by
+ * advancing the slot's sequence, and the consumer only reads slots whose sequence shows a
+ * published element. Producers never block; {@link #offer(Object)} returns {@code false} when the
+ * buffer is full so the caller can decide whether to drop the element.</p>
+ *
+ * <p>Only one thread may call {@link #poll()} or {@link #drainTo(List, int)}.</p>
+ *
+ * @param <E> the element type
+ * @see AuditLogWriter
+ */
+final class BoundedRingBuffer<E> {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    /**
+     * Creates an empty buffer.
+     *
+     * @param capacity the number of slots; must be a positive power of two
+     * @throws IllegalArgumentException if the capacity is not a positive power of two
+     */
+    BoundedRingBuffer(int capacity) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a positive power of two: " + capacity);
+        }
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.elements = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Appends an element if there is room.
+     *
+     * @param element the element to add; must not be {@code null}
+     * @return {@code true} if the element was added, {@code false} if the buffer is full
+     */
+    boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.set(index, element);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Removes the oldest published element. Consumer thread only.
+     *
+     * @return the element, or {@code null} if the buffer is empty
+     */
+    E poll() {
+        long position = head;
+        int index = (int) position & mask;
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+        E element = elements.get(index);
+        elements.set(index, null);
+        sequences.set(index, position + capacity);
+        head = position + 1;
+        return element;
+    }
+
+    /**
+     * Moves up to {@code maxElements} published elements into {@code target}. Consumer thread only.
+     *
+     * @param target      the list to append to
+     * @param maxElements the maximum number of elements to move
+     * @return the number of elements moved
+     */
+    int drainTo(List<? super E> target, int maxElements) {
+        int drained = 0;
+        while (drained < maxElements) {
+            E element = poll();
+            if (element == null) break;
+            target.add(element);
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * Returns an estimate of the number of elements in the buffer.
+     *
+     * @return the approximate size
+     */
+    int size() {
+        return (int) Math.max(0, Math.min(capacity, tail.get() - head));
+    }
+
+    int capacity() {
+        return capacity;
+    }
+}
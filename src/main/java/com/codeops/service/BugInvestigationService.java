@@ -7,8 +7,6 @@ import com.codeops.dto.response.BugInvestigationResponse;
 import com.codeops.entity.BugInvestigation;
 import com.codeops.repository.BugInvestigationRepository;
 import com.codeops.repository.QaJobRepository;
-import com.codeops.repository.TeamMemberRepository;
-import com.codeops.security.SecurityUtils;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -40,7 +38,7 @@ public class BugInvestigationService {
 
     private final BugInvestigationRepository bugInvestigationRepository;
     private final QaJobRepository qaJobRepository;
-    private final TeamMemberRepository teamMemberRepository;
+    private final TeamMembershipCache teamMembershipCache;
     private final S3StorageService s3StorageService;
 
     /**
@@ -58,7 +56,7 @@ public class BugInvestigationService {
         log.debug("createInvestigation called with jobId={}, jiraKey={}", request.jobId(), request.jiraKey());
         var job = qaJobRepository.findById(request.jobId())
                 .orElseThrow(() -> new EntityNotFoundException("Job not found"));
-        verifyTeamMembership(job.getProject().getTeam().getId());
+        teamMembershipCache.verifyMember(job.getProject().getTeam().getId());
 
         BugInvestigation investigation = BugInvestigation.builder()
                 .job(job)
@@ -89,9 +87,10 @@ public class BugInvestigationService {
     @Transactional(readOnly = true)
     public BugInvestigationResponse getInvestigation(UUID investigationId) {
         log.debug("getInvestigation called with investigationId={}", investigationId);
+        teamMembershipCache.verifyMember(bugInvestigationRepository.findTeamIdById(investigationId)
+                .orElseThrow(() -> new EntityNotFoundException("Bug investigation not found")));
         BugInvestigation investigation = bugInvestigationRepository.findById(investigationId)
                 .orElseThrow(() -> new EntityNotFoundException("Bug investigation not found"));
-        verifyTeamMembership(investigation.getJob().getProject().getTeam().getId());
         return mapToResponse(investigation);
     }
 
@@ -108,7 +107,7 @@ public class BugInvestigationService {
         log.debug("getInvestigationByJob called with jobId={}", jobId);
         BugInvestigation investigation = bugInvestigationRepository.findByJobId(jobId)
                 .orElseThrow(() -> new EntityNotFoundException("Bug investigation not found for job"));
-        verifyTeamMembership(investigation.getJob().getProject().getTeam().getId());
+        verifyJobTeamMembership(investigation.getJob().getId());
         return mapToResponse(investigation);
     }
 
@@ -125,7 +124,7 @@ public class BugInvestigationService {
         log.debug("getInvestigationByJiraKey called with jiraKey={}", jiraKey);
         BugInvestigation investigation = bugInvestigationRepository.findByJiraKey(jiraKey)
                 .orElseThrow(() -> new EntityNotFoundException("Bug investigation not found for Jira key"));
-        verifyTeamMembership(investigation.getJob().getProject().getTeam().getId());
+        verifyJobTeamMembership(investigation.getJob().getId());
         return mapToResponse(investigation);
     }
 
@@ -143,9 +142,10 @@ public class BugInvestigationService {
      */
     public BugInvestigationResponse updateInvestigation(UUID investigationId, UpdateBugInvestigationRequest request) {
         log.debug("updateInvestigation called with investigationId={}", investigationId);
+        teamMembershipCache.verifyMember(bugInvestigationRepository.findTeamIdById(investigationId)
+                .orElseThrow(() -> new EntityNotFoundException("Bug investigation not found")));
         BugInvestigation investigation = bugInvestigationRepository.findById(investigationId)
                 .orElseThrow(() -> new EntityNotFoundException("Bug investigation not found"));
-        verifyTeamMembership(investigation.getJob().getProject().getTeam().getId());
 
         if (request.rcaMd() != null) investigation.setRcaMd(request.rcaMd());
         if (request.impactAssessmentMd() != null) investigation.setImpactAssessmentMd(request.impactAssessmentMd());
@@ -192,10 +192,9 @@ public class BugInvestigationService {
         );
     }
 
-    private void verifyTeamMembership(UUID teamId) {
-        UUID currentUserId = SecurityUtils.getCurrentUserId();
-        if (!teamMemberRepository.existsByTeamIdAndUserId(teamId, currentUserId)) {
-            throw new AccessDeniedException("Not a member of this team");
-        }
+    private void verifyJobTeamMembership(UUID jobId) {
+        UUID teamId = qaJobRepository.findTeamIdById(jobId)
+                .orElseThrow(() -> new EntityNotFoundException("Job not found"));
+        teamMembershipCache.verifyMember(teamId);
     }
 }
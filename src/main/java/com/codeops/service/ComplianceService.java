@@ -11,8 +11,6 @@ import com.codeops.entity.enums.ComplianceStatus;
 import com.codeops.repository.ComplianceItemRepository;
 import com.codeops.repository.QaJobRepository;
 import com.codeops.repository.SpecificationRepository;
-import com.codeops.repository.TeamMemberRepository;
-import com.codeops.security.SecurityUtils;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -50,7 +48,7 @@ public class ComplianceService {
     private final ComplianceItemRepository complianceItemRepository;
     private final SpecificationRepository specificationRepository;
     private final QaJobRepository qaJobRepository;
-    private final TeamMemberRepository teamMemberRepository;
+    private final TeamMembershipCache teamMembershipCache;
 
     /**
      * Creates a new specification document associated with a QA job.
@@ -64,7 +62,7 @@ public class ComplianceService {
         log.debug("createSpecification called with jobId={}", request.jobId());
         var job = qaJobRepository.findById(request.jobId())
                 .orElseThrow(() -> new EntityNotFoundException("Job not found"));
-        verifyTeamMembership(job.getProject().getTeam().getId());
+        teamMembershipCache.verifyMember(job.getProject().getTeam().getId());
 
         Specification spec = Specification.builder()
                 .job(job)
@@ -90,9 +88,7 @@ public class ComplianceService {
     @Transactional(readOnly = true)
     public PageResponse<SpecificationResponse> getSpecificationsForJob(UUID jobId, Pageable pageable) {
         log.debug("getSpecificationsForJob called with jobId={}", jobId);
-        var job = qaJobRepository.findById(jobId)
-                .orElseThrow(() -> new EntityNotFoundException("Job not found"));
-        verifyTeamMembership(job.getProject().getTeam().getId());
+        verifyJobTeamMembership(jobId);
         Page<Specification> page = specificationRepository.findByJobId(jobId, pageable);
         List<SpecificationResponse> content = page.getContent().stream()
                 .map(this::mapSpecToResponse)
@@ -113,7 +109,7 @@ public class ComplianceService {
         log.debug("createComplianceItem called with jobId={}, status={}", request.jobId(), request.status());
         var job = qaJobRepository.findById(request.jobId())
                 .orElseThrow(() -> new EntityNotFoundException("Job not found"));
-        verifyTeamMembership(job.getProject().getTeam().getId());
+        teamMembershipCache.verifyMember(job.getProject().getTeam().getId());
 
         ComplianceItem item = ComplianceItem.builder()
                 .job(job)
@@ -151,7 +147,7 @@ public class ComplianceService {
 
         var job = qaJobRepository.findById(firstJobId)
                 .orElseThrow(() -> new EntityNotFoundException("Job not found"));
-        verifyTeamMembership(job.getProject().getTeam().getId());
+        teamMembershipCache.verifyMember(job.getProject().getTeam().getId());
 
         List<ComplianceItem> items = requests.stream()
                 .map(request -> ComplianceItem.builder()
@@ -182,9 +178,7 @@ public class ComplianceService {
     @Transactional(readOnly = true)
     public PageResponse<ComplianceItemResponse> getComplianceItemsForJob(UUID jobId, Pageable pageable) {
         log.debug("getComplianceItemsForJob called with jobId={}", jobId);
-        var job = qaJobRepository.findById(jobId)
-                .orElseThrow(() -> new EntityNotFoundException("Job not found"));
-        verifyTeamMembership(job.getProject().getTeam().getId());
+        verifyJobTeamMembership(jobId);
         Page<ComplianceItem> page = complianceItemRepository.findByJobId(jobId, pageable);
         List<ComplianceItemResponse> content = page.getContent().stream()
                 .map(this::mapItemToResponse)
@@ -206,9 +200,7 @@ public class ComplianceService {
     @Transactional(readOnly = true)
     public PageResponse<ComplianceItemResponse> getComplianceItemsByStatus(UUID jobId, ComplianceStatus status, Pageable pageable) {
         log.debug("getComplianceItemsByStatus called with jobId={}, status={}", jobId, status);
-        var job = qaJobRepository.findById(jobId)
-                .orElseThrow(() -> new EntityNotFoundException("Job not found"));
-        verifyTeamMembership(job.getProject().getTeam().getId());
+        verifyJobTeamMembership(jobId);
         Page<ComplianceItem> page = complianceItemRepository.findByJobIdAndStatus(jobId, status, pageable);
         List<ComplianceItemResponse> content = page.getContent().stream()
                 .map(this::mapItemToResponse)
@@ -233,9 +225,7 @@ public class ComplianceService {
     @Transactional(readOnly = true)
     public Map<String, Object> getComplianceSummary(UUID jobId) {
         log.debug("getComplianceSummary called with jobId={}", jobId);
-        var job = qaJobRepository.findById(jobId)
-                .orElseThrow(() -> new EntityNotFoundException("Job not found"));
-        verifyTeamMembership(job.getProject().getTeam().getId());
+        verifyJobTeamMembership(jobId);
 
         int met = complianceItemRepository.findByJobIdAndStatus(jobId, ComplianceStatus.MET).size();
         int partial = complianceItemRepository.findByJobIdAndStatus(jobId, ComplianceStatus.PARTIAL).size();
@@ -287,10 +277,9 @@ public class ComplianceService {
         );
     }
 
-    private void verifyTeamMembership(UUID teamId) {
-        UUID currentUserId = SecurityUtils.getCurrentUserId();
-        if (!teamMemberRepository.existsByTeamIdAndUserId(teamId, currentUserId)) {
-            throw new AccessDeniedException("Not a member of this team");
-        }
+    private void verifyJobTeamMembership(UUID jobId) {
+        UUID teamId = qaJobRepository.findTeamIdById(jobId)
+                .orElseThrow(() -> new EntityNotFoundException("Job not found"));
+        teamMembershipCache.verifyMember(teamId);
     }
 }
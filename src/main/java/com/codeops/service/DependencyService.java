@@ -10,7 +10,6 @@ import com.codeops.entity.DependencyVulnerability;
 import com.codeops.entity.enums.Severity;
 import com.codeops.entity.enums.VulnerabilityStatus;
 import com.codeops.repository.*;
-import com.codeops.security.SecurityUtils;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -46,8 +45,9 @@ public class DependencyService {
     private final DependencyScanRepository dependencyScanRepository;
     private final DependencyVulnerabilityRepository vulnerabilityRepository;
     private final ProjectRepository projectRepository;
-    private final TeamMemberRepository teamMemberRepository;
+    private final TeamMembershipCache teamMembershipCache;
     private final QaJobRepository qaJobRepository;
+    private final ProjectMetricsRollupService rollupService;
 
     /**
      * Creates a new dependency scan for a project, optionally linked to a QA job.
@@ -62,7 +62,7 @@ public class DependencyService {
         log.debug("createScan called with projectId={}, manifestFile={}", request.projectId(), request.manifestFile());
         var project = projectRepository.findById(request.projectId())
                 .orElseThrow(() -> new EntityNotFoundException("Project not found"));
-        verifyTeamMembership(project.getTeam().getId());
+        teamMembershipCache.verifyMember(project.getTeam().getId());
 
         DependencyScan scan = DependencyScan.builder()
                 .project(project)
@@ -75,6 +75,7 @@ public class DependencyService {
                 .build();
 
         scan = dependencyScanRepository.save(scan);
+        rollupService.recordScanCreated(project.getId(), scan.getId());
         log.info("Created dependency scan id={} for projectId={}, totalDeps={}, vulnerable={}", scan.getId(), request.projectId(), request.totalDependencies(), request.vulnerableCount());
         return mapScanToResponse(scan);
     }
@@ -90,9 +91,10 @@ public class DependencyService {
     @Transactional(readOnly = true)
     public DependencyScanResponse getScan(UUID scanId) {
         log.debug("getScan called with scanId={}", scanId);
+        teamMembershipCache.verifyMember(dependencyScanRepository.findTeamIdById(scanId)
+                .orElseThrow(() -> new EntityNotFoundException("Dependency scan not found")));
         DependencyScan scan = dependencyScanRepository.findById(scanId)
                 .orElseThrow(() -> new EntityNotFoundException("Dependency scan not found"));
-        verifyTeamMembership(scan.getProject().getTeam().getId());
         return mapScanToResponse(scan);
     }
 
@@ -110,7 +112,7 @@ public class DependencyService {
         log.debug("getScansForProject called with projectId={}", projectId);
         var project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new EntityNotFoundException("Project not found"));
-        verifyTeamMembership(project.getTeam().getId());
+        teamMembershipCache.verifyMember(project.getTeam().getId());
         Page<DependencyScan> page = dependencyScanRepository.findByProjectId(projectId, pageable);
         List<DependencyScanResponse> content = page.getContent().stream()
                 .map(this::mapScanToResponse)
@@ -147,7 +149,7 @@ public class DependencyService {
         log.debug("addVulnerability called with scanId={}, cveId={}, severity={}", request.scanId(), request.cveId(), request.severity());
         DependencyScan scan = dependencyScanRepository.findById(request.scanId())
                 .orElseThrow(() -> new EntityNotFoundException("Dependency scan not found"));
-        verifyTeamMembership(scan.getProject().getTeam().getId());
+        teamMembershipCache.verifyMember(scan.getProject().getTeam().getId());
 
         DependencyVulnerability vuln = DependencyVulnerability.builder()
                 .scan(scan)
@@ -161,6 +163,7 @@ public class DependencyService {
                 .build();
 
         vuln = vulnerabilityRepository.save(vuln);
+        rollupService.adjustOpenVulnerabilities(scan.getProject().getId(), scan.getId(), 1);
         log.info("Created vulnerability id={} for scanId={}, cveId={}, severity={}", vuln.getId(), request.scanId(), request.cveId(), request.severity());
         return mapVulnToResponse(vuln);
     }
@@ -188,7 +191,7 @@ public class DependencyService {
 
         DependencyScan scan = dependencyScanRepository.findById(firstScanId)
                 .orElseThrow(() -> new EntityNotFoundException("Dependency scan not found"));
-        verifyTeamMembership(scan.getProject().getTeam().getId());
+        teamMembershipCache.verifyMember(scan.getProject().getTeam().getId());
 
         List<DependencyVulnerability> vulns = requests.stream()
                 .map(request -> DependencyVulnerability.builder()
@@ -204,6 +207,7 @@ public class DependencyService {
                 .toList();
 
         vulns = vulnerabilityRepository.saveAll(vulns);
+        rollupService.adjustOpenVulnerabilities(scan.getProject().getId(), scan.getId(), vulns.size());
         log.info("Created {} vulnerabilities for scanId={}", vulns.size(), firstScanId);
         return vulns.stream().map(this::mapVulnToResponse).toList();
     }
@@ -220,9 +224,10 @@ public class DependencyService {
     @Transactional(readOnly = true)
     public PageResponse<VulnerabilityResponse> getVulnerabilities(UUID scanId, Pageable pageable) {
         log.debug("getVulnerabilities called with scanId={}", scanId);
+        teamMembershipCache.verifyMember(dependencyScanRepository.findTeamIdById(scanId)
+                .orElseThrow(() -> new EntityNotFoundException("Dependency scan not found")));
         DependencyScan scan = dependencyScanRepository.findById(scanId)
                 .orElseThrow(() -> new EntityNotFoundException("Dependency scan not found"));
-        verifyTeamMembership(scan.getProject().getTeam().getId());
         Page<DependencyVulnerability> page = vulnerabilityRepository.findByScanId(scanId, pageable);
         List<VulnerabilityResponse> content = page.getContent().stream()
                 .map(this::mapVulnToResponse)
@@ -281,10 +286,12 @@ public class DependencyService {
         log.debug("updateVulnerabilityStatus called with vulnerabilityId={}, status={}", vulnerabilityId, status);
         DependencyVulnerability vuln = vulnerabilityRepository.findById(vulnerabilityId)
                 .orElseThrow(() -> new EntityNotFoundException("Vulnerability not found"));
-        verifyTeamMembership(vuln.getScan().getProject().getTeam().getId());
+        teamMembershipCache.verifyMember(vuln.getScan().getProject().getTeam().getId());
         VulnerabilityStatus oldStatus = vuln.getStatus();
         vuln.setStatus(status);
         vuln = vulnerabilityRepository.save(vuln);
+        int openDelta = (status == VulnerabilityStatus.OPEN ? 1 : 0) - (oldStatus == VulnerabilityStatus.OPEN ? 1 : 0);
+        rollupService.adjustOpenVulnerabilities(vuln.getScan().getProject().getId(), vuln.getScan().getId(), openDelta);
         log.info("Updated vulnerability id={} status from {} to {}", vulnerabilityId, oldStatus, status);
         return mapVulnToResponse(vuln);
     }
@@ -316,11 +323,4 @@ public class DependencyService {
                 vuln.getCreatedAt()
         );
     }
-
-    private void verifyTeamMembership(UUID teamId) {
-        UUID currentUserId = SecurityUtils.getCurrentUserId();
-        if (!teamMemberRepository.existsByTeamIdAndUserId(teamId, currentUserId)) {
-            throw new AccessDeniedException("Not a member of this team");
-        }
-    }
 }
@@ -9,7 +9,6 @@ import com.codeops.dto.response.ProjectDirectiveResponse;
 import com.codeops.entity.Directive;
 import com.codeops.entity.ProjectDirective;
 import com.codeops.entity.ProjectDirectiveId;
-import com.codeops.entity.TeamMember;
 import com.codeops.entity.enums.DirectiveScope;
 import com.codeops.entity.enums.TeamRole;
 import com.codeops.repository.*;
@@ -48,7 +47,7 @@ public class DirectiveService {
     private final DirectiveRepository directiveRepository;
     private final ProjectDirectiveRepository projectDirectiveRepository;
     private final ProjectRepository projectRepository;
-    private final TeamMemberRepository teamMemberRepository;
+    private final TeamMembershipCache teamMembershipCache;
     private final UserRepository userRepository;
     private final TeamRepository teamRepository;
 
@@ -76,13 +75,13 @@ public class DirectiveService {
 
         UUID teamId = request.teamId();
         if (request.scope() == DirectiveScope.TEAM && teamId != null) {
-            verifyTeamAdmin(teamId);
+            teamMembershipCache.verifyAdmin(teamId);
         }
         if (request.scope() == DirectiveScope.PROJECT && request.projectId() != null) {
             var project = projectRepository.findById(request.projectId())
                     .orElseThrow(() -> new EntityNotFoundException("Project not found"));
             teamId = project.getTeam().getId();
-            verifyTeamAdmin(teamId);
+            teamMembershipCache.verifyAdmin(teamId);
         }
 
         Directive directive = Directive.builder()
@@ -120,7 +119,7 @@ public class DirectiveService {
         UUID teamId = directive.getTeam() != null ? directive.getTeam().getId()
                 : (directive.getProject() != null ? directive.getProject().getTeam().getId() : null);
         if (teamId != null) {
-            verifyTeamMembership(teamId);
+            teamMembershipCache.verifyMember(teamId);
         }
         return mapToResponse(directive);
     }
@@ -135,7 +134,7 @@ public class DirectiveService {
     @Transactional(readOnly = true)
     public List<DirectiveResponse> getDirectivesForTeam(UUID teamId) {
         log.debug("getDirectivesForTeam called with teamId={}", teamId);
-        verifyTeamMembership(teamId);
+        teamMembershipCache.verifyMember(teamId);
         return directiveRepository.findByTeamId(teamId).stream()
                 .map(this::mapToResponse)
                 .toList();
@@ -154,7 +153,7 @@ public class DirectiveService {
         log.debug("getDirectivesForProject called with projectId={}", projectId);
         var project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new EntityNotFoundException("Project not found"));
-        verifyTeamMembership(project.getTeam().getId());
+        teamMembershipCache.verifyMember(project.getTeam().getId());
         return directiveRepository.findByProjectId(projectId).stream()
                 .map(this::mapToResponse)
                 .toList();
@@ -171,7 +170,7 @@ public class DirectiveService {
     @Transactional(readOnly = true)
     public List<DirectiveResponse> getDirectivesByCategory(UUID teamId, DirectiveScope scope) {
         log.debug("getDirectivesByCategory called with teamId={}, scope={}", teamId, scope);
-        verifyTeamMembership(teamId);
+        teamMembershipCache.verifyMember(teamId);
         return directiveRepository.findByTeamIdAndScope(teamId, scope).stream()
                 .map(this::mapToResponse)
                 .toList();
@@ -248,7 +247,7 @@ public class DirectiveService {
                 .orElseThrow(() -> new EntityNotFoundException("Directive not found"));
         var project = projectRepository.findById(request.projectId())
                 .orElseThrow(() -> new EntityNotFoundException("Project not found"));
-        verifyTeamAdmin(project.getTeam().getId());
+        teamMembershipCache.verifyAdmin(project.getTeam().getId());
 
         int count = projectDirectiveRepository.findByProjectId(request.projectId()).size();
         if (count >= AppConstants.MAX_DIRECTIVES_PER_PROJECT) {
@@ -279,7 +278,7 @@ public class DirectiveService {
         log.debug("removeFromProject called with projectId={}, directiveId={}", projectId, directiveId);
         var project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new EntityNotFoundException("Project not found"));
-        verifyTeamAdmin(project.getTeam().getId());
+        teamMembershipCache.verifyAdmin(project.getTeam().getId());
         projectDirectiveRepository.deleteByProjectIdAndDirectiveId(projectId, directiveId);
         log.info("Directive unassigned from project: directiveId={}, projectId={}", directiveId, projectId);
     }
@@ -297,7 +296,7 @@ public class DirectiveService {
         log.debug("getProjectDirectives called with projectId={}", projectId);
         var project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new EntityNotFoundException("Project not found"));
-        verifyTeamMembership(project.getTeam().getId());
+        teamMembershipCache.verifyMember(project.getTeam().getId());
         return projectDirectiveRepository.findByProjectId(projectId).stream()
                 .map(pd -> mapToProjectDirectiveResponse(pd, pd.getDirective()))
                 .toList();
@@ -334,7 +333,7 @@ public class DirectiveService {
         log.debug("toggleProjectDirective called with projectId={}, directiveId={}, enabled={}", projectId, directiveId, enabled);
         var project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new EntityNotFoundException("Project not found"));
-        verifyTeamAdmin(project.getTeam().getId());
+        teamMembershipCache.verifyAdmin(project.getTeam().getId());
         ProjectDirectiveId pdId = new ProjectDirectiveId(projectId, directiveId);
         ProjectDirective pd = projectDirectiveRepository.findById(pdId)
                 .orElseThrow(() -> new EntityNotFoundException("Project directive assignment not found"));
@@ -378,27 +377,11 @@ public class DirectiveService {
         UUID teamId = directive.getTeam() != null ? directive.getTeam().getId()
                 : (directive.getProject() != null ? directive.getProject().getTeam().getId() : null);
         if (teamId != null) {
-            var member = teamMemberRepository.findByTeamIdAndUserId(teamId, currentUserId);
-            if (member.isPresent() && (member.get().getRole() == TeamRole.OWNER || member.get().getRole() == TeamRole.ADMIN)) {
+            var role = teamMembershipCache.findRole(teamId, currentUserId);
+            if (role.isPresent() && (role.get() == TeamRole.OWNER || role.get() == TeamRole.ADMIN)) {
                 return;
             }
         }
         throw new AccessDeniedException("Not authorized to modify this directive");
     }
-
-    private void verifyTeamMembership(UUID teamId) {
-        UUID currentUserId = SecurityUtils.getCurrentUserId();
-        if (!teamMemberRepository.existsByTeamIdAndUserId(teamId, currentUserId)) {
-            throw new AccessDeniedException("Not a member of this team");
-        }
-    }
-
-    private void verifyTeamAdmin(UUID teamId) {
-        UUID currentUserId = SecurityUtils.getCurrentUserId();
-        TeamMember member = teamMemberRepository.findByTeamIdAndUserId(teamId, currentUserId)
-                .orElseThrow(() -> new AccessDeniedException("Not a member of this team"));
-        if (member.getRole() != TeamRole.OWNER && member.getRole() != TeamRole.ADMIN) {
-            throw new AccessDeniedException("Requires OWNER or ADMIN role");
-        }
-    }
 }
@@ -0,0 +1,156 @@
+package com.codeops.service;
+
+import com.codeops.config.AppConstants;
+import com.codeops.dto.request.CreateFindingRequest;
+import com.codeops.dto.response.FindingIngestResponse;
+import com.codeops.entity.Finding;
+import com.codeops.entity.QaJob;
+import com.codeops.entity.enums.Severity;
+import com.codeops.exception.ValidationException;
+import com.codeops.repository.FindingRepository;
+import com.codeops.repository.QaJobRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Ingests large volumes of agent findings from a newline-delimited JSON (NDJSON) stream.
+ *
+ * <p>Unlike {@link FindingService#createFindings(List)}, the request body is never buffered:
+ * each line is parsed, validated and added to a batch of
+ * {@link AppConstants#FINDING_INGEST_BATCH_SIZE} entities, which is flushed as one JDBC batch
+ * insert and then evicted from the persistence context. Heap use therefore stays constant
+ * regardless of upload size; only the generated finding IDs are retained.</p>
+ *
+ * <p>All findings in a stream must belong to the same QA job, identified by the first line.
+ * The whole stream is persisted in a single transaction, so a malformed or invalid line
+ * rolls back every finding from the upload.</p>
+ *
+ * @see FindingController
+ * @see FindingService
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class FindingIngestService {
+
+    private static final Logger log = LoggerFactory.getLogger(FindingIngestService.class);
+
+    private final FindingRepository findingRepository;
+    private final QaJobRepository qaJobRepository;
+    private final TeamMembershipCache teamMembershipCache;
+    private final ProjectMetricsRollupService rollupService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final EntityManager entityManager;
+
+    /**
+     * Reads findings from an NDJSON stream and persists them in fixed-size batches.
+     *
+     * @param ndjson the request body, one {@link CreateFindingRequest} JSON object per line
+     * @return the job ID, the number of findings created, the open critical/high counts, and
+     *         the IDs of the created findings in input order
+     * @throws ValidationException if a line is not valid JSON or fails bean validation
+     * @throws IllegalArgumentException if the lines reference different job IDs
+     * @throws EntityNotFoundException if the referenced job does not exist
+     * @throws AccessDeniedException if the current user is not a member of the job's team
+     * @throws IOException if reading the request body fails
+     */
+    @Transactional(rollbackFor = IOException.class)
+    public FindingIngestResponse ingest(InputStream ndjson) throws IOException {
+        log.debug("ingest called");
+        List<UUID> findingIds = new ArrayList<>();
+        List<Finding> batch = new ArrayList<>(AppConstants.FINDING_INGEST_BATCH_SIZE);
+        UUID jobId = null;
+        UUID projectId = null;
+        int critical = 0;
+        int high = 0;
+        int line = 0;
+
+        try (MappingIterator<CreateFindingRequest> requests =
+                     objectMapper.readerFor(CreateFindingRequest.class).readValues(ndjson)) {
+            while (hasNext(requests, line + 1)) {
+                line++;
+                CreateFindingRequest request = next(requests, line);
+                validate(request, line);
+
+                if (jobId == null) {
+                    QaJob job = qaJobRepository.findById(request.jobId())
+                            .orElseThrow(() -> new EntityNotFoundException("Job not found"));
+                    teamMembershipCache.verifyMember(job.getProject().getTeam().getId());
+                    jobId = job.getId();
+                    projectId = job.getProject().getId();
+                } else if (!jobId.equals(request.jobId())) {
+                    throw new IllegalArgumentException("All findings must belong to the same job");
+                }
+
+                batch.add(FindingService.toEntity(qaJobRepository.getReferenceById(jobId), request));
+                if (request.severity() == Severity.CRITICAL) critical++;
+                if (request.severity() == Severity.HIGH) high++;
+
+                if (batch.size() == AppConstants.FINDING_INGEST_BATCH_SIZE) {
+                    flush(batch, findingIds);
+                }
+            }
+        }
+        flush(batch, findingIds);
+
+        if (jobId != null) {
+            rollupService.adjustOpenFindings(projectId, jobId, critical, high);
+        }
+        log.info("Findings ingested from stream: count={}, jobId={}", findingIds.size(), jobId);
+        return new FindingIngestResponse(jobId, findingIds.size(), critical, high, findingIds);
+    }
+
+    private void flush(List<Finding> batch, List<UUID> findingIds) {
+        if (batch.isEmpty()) return;
+        findingRepository.saveAll(batch);
+        entityManager.flush();
+        batch.forEach(f -> findingIds.add(f.getId()));
+        batch.clear();
+        entityManager.clear();
+    }
+
+    private void validate(CreateFindingRequest request, int line) {
+        Set<ConstraintViolation<CreateFindingRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<CreateFindingRequest> violation = violations.iterator().next();
+            throw new ValidationException("Invalid finding on line " + line + ": "
+                    + violation.getPropertyPath() + " " + violation.getMessage());
+        }
+    }
+
+    private static boolean hasNext(MappingIterator<CreateFindingRequest> requests, int line) throws IOException {
+        try {
+            return requests.hasNextValue();
+        } catch (JsonProcessingException e) {
+            throw new ValidationException("Malformed JSON on line " + line);
+        }
+    }
+
+    private static CreateFindingRequest next(MappingIterator<CreateFindingRequest> requests, int line)
+            throws IOException {
+        try {
+            return requests.nextValue();
+        } catch (JsonProcessingException e) {
+            throw new ValidationException("Malformed JSON on line " + line);
+        }
+    }
+}
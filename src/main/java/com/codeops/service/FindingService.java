@@ -2,22 +2,26 @@ package com.codeops.service;
 
 import com.codeops.dto.request.BulkUpdateFindingsRequest;
 import com.codeops.dto.request.CreateFindingRequest;
+import com.codeops.dto.request.KeysetCursor;
 import com.codeops.dto.request.UpdateFindingStatusRequest;
+import com.codeops.dto.response.CursorPageResponse;
 import com.codeops.dto.response.FindingResponse;
 import com.codeops.dto.response.PageResponse;
 import com.codeops.entity.Finding;
+import com.codeops.entity.QaJob;
 import com.codeops.entity.enums.AgentType;
 import com.codeops.entity.enums.FindingStatus;
 import com.codeops.entity.enums.Severity;
+import com.codeops.exception.ValidationException;
 import com.codeops.repository.FindingRepository;
 import com.codeops.repository.QaJobRepository;
-import com.codeops.repository.TeamMemberRepository;
 import com.codeops.repository.UserRepository;
 import com.codeops.security.SecurityUtils;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
@@ -36,7 +40,8 @@ import java.util.UUID;
  * <p>Findings are created by agents with severity levels and can be filtered by job, severity,
  * agent type, or status. Status updates record the user who changed the status and a timestamp.
  * Bulk status updates are supported for batch triage operations. All operations verify team
- * membership through the job's project association.</p>
+ * membership through the job's project association. Changes to open critical and high
+ * findings are recorded in the project's metrics rollup.</p>
  *
  * @see FindingController
  * @see FindingRepository
@@ -52,7 +57,8 @@ public class FindingService {
     private final FindingRepository findingRepository;
     private final QaJobRepository qaJobRepository;
     private final UserRepository userRepository;
-    private final TeamMemberRepository teamMemberRepository;
+    private final TeamMembershipCache teamMembershipCache;
+    private final ProjectMetricsRollupService rollupService;
 
     /**
      * Creates a single finding for a QA job with initial status {@link FindingStatus#OPEN}.
@@ -67,24 +73,11 @@ public class FindingService {
         log.debug("createFinding called with jobId={}, severity={}", request.jobId(), request.severity());
         var job = qaJobRepository.findById(request.jobId())
                 .orElseThrow(() -> new EntityNotFoundException("Job not found"));
-        verifyTeamMembership(job.getProject().getTeam().getId());
+        teamMembershipCache.verifyMember(job.getProject().getTeam().getId());
 
-        Finding finding = Finding.builder()
-                .job(job)
-                .agentType(request.agentType())
-                .severity(request.severity())
-                .title(request.title())
-                .description(request.description())
-                .filePath(request.filePath())
-                .lineNumber(request.lineNumber())
-                .recommendation(request.recommendation())
-                .evidence(request.evidence())
-                .effortEstimate(request.effortEstimate())
-                .debtCategory(request.debtCategory())
-                .status(FindingStatus.OPEN)
-                .build();
-
-        finding = findingRepository.save(finding);
+        Finding finding = findingRepository.save(toEntity(job, request));
+        recordOpenFindingChanges(job, request.severity() == Severity.CRITICAL ? 1 : 0,
+                request.severity() == Severity.HIGH ? 1 : 0);
         log.info("Finding created: findingId={}, jobId={}, severity={}, agentType={}", finding.getId(), request.jobId(), request.severity(), request.agentType());
         return mapToResponse(finding);
     }
@@ -112,26 +105,16 @@ public class FindingService {
 
         var job = qaJobRepository.findById(firstJobId)
                 .orElseThrow(() -> new EntityNotFoundException("Job not found"));
-        verifyTeamMembership(job.getProject().getTeam().getId());
+        teamMembershipCache.verifyMember(job.getProject().getTeam().getId());
 
         List<Finding> findings = requests.stream()
-                .map(request -> Finding.builder()
-                        .job(job)
-                        .agentType(request.agentType())
-                        .severity(request.severity())
-                        .title(request.title())
-                        .description(request.description())
-                        .filePath(request.filePath())
-                        .lineNumber(request.lineNumber())
-                        .recommendation(request.recommendation())
-                        .evidence(request.evidence())
-                        .effortEstimate(request.effortEstimate())
-                        .debtCategory(request.debtCategory())
-                        .status(FindingStatus.OPEN)
-                        .build())
+                .map(request -> toEntity(job, request))
                 .toList();
 
         findings = findingRepository.saveAll(findings);
+        recordOpenFindingChanges(job,
+                (int) findings.stream().filter(f -> f.getSeverity() == Severity.CRITICAL).count(),
+                (int) findings.stream().filter(f -> f.getSeverity() == Severity.HIGH).count());
         log.info("Bulk findings created: count={}, jobId={}", findings.size(), firstJobId);
         return findings.stream().map(this::mapToResponse).toList();
     }
@@ -147,9 +130,10 @@ public class FindingService {
     @Transactional(readOnly = true)
     public FindingResponse getFinding(UUID findingId) {
         log.debug("getFinding called with findingId={}", findingId);
+        teamMembershipCache.verifyMember(findingRepository.findTeamIdById(findingId)
+                .orElseThrow(() -> new EntityNotFoundException("Finding not found")));
         Finding finding = findingRepository.findById(findingId)
                 .orElseThrow(() -> new EntityNotFoundException("Finding not found"));
-        verifyTeamMembership(finding.getJob().getProject().getTeam().getId());
         return mapToResponse(finding);
     }
 
@@ -165,9 +149,7 @@ public class FindingService {
     @Transactional(readOnly = true)
     public PageResponse<FindingResponse> getFindingsForJob(UUID jobId, Pageable pageable) {
         log.debug("getFindingsForJob called with jobId={}", jobId);
-        var job = qaJobRepository.findById(jobId)
-                .orElseThrow(() -> new EntityNotFoundException("Job not found"));
-        verifyTeamMembership(job.getProject().getTeam().getId());
+        verifyJobTeamMembership(jobId);
 
         Page<Finding> page = findingRepository.findByJobId(jobId, pageable);
         List<FindingResponse> content = page.getContent().stream()
@@ -177,6 +159,32 @@ public class FindingService {
                 page.getTotalElements(), page.getTotalPages(), page.isLast());
     }
 
+    /**
+     * Retrieves a keyset-paginated list of a QA job's findings, newest first, without
+     * counting the total.
+     *
+     * @param jobId the UUID of the QA job to retrieve findings for
+     * @param after the opaque cursor returned with the previous page, or blank for the first page
+     * @param size  the maximum number of findings to return
+     * @return a cursor page of finding DTOs
+     * @throws EntityNotFoundException if the referenced job does not exist
+     * @throws AccessDeniedException if the current user is not a member of the job's team
+     * @throws ValidationException if the cursor is malformed
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<FindingResponse> getFindingsForJobAfter(UUID jobId, String after, int size) {
+        log.debug("getFindingsForJobAfter called with jobId={}, size={}", jobId, size);
+        verifyJobTeamMembership(jobId);
+
+        KeysetCursor cursor = KeysetCursor.decode(after);
+        Limit limit = CursorPageResponse.fetchLimit(size);
+        List<Finding> rows = cursor == null
+                ? findingRepository.findByJobIdOrderByCreatedAtDescIdDesc(jobId, limit)
+                : findingRepository.findByJobIdAfter(jobId, cursor.timestamp(), cursor.uuidId(), limit);
+        return CursorPageResponse.of(rows, size,
+                f -> KeysetCursor.encode(f.getCreatedAt(), f.getId()), this::mapToResponse);
+    }
+
     /**
      * Retrieves a paginated list of findings for a QA job filtered by severity level.
      *
@@ -190,9 +198,7 @@ public class FindingService {
     @Transactional(readOnly = true)
     public PageResponse<FindingResponse> getFindingsByJobAndSeverity(UUID jobId, Severity severity, Pageable pageable) {
         log.debug("getFindingsByJobAndSeverity called with jobId={}, severity={}", jobId, severity);
-        var job = qaJobRepository.findById(jobId)
-                .orElseThrow(() -> new EntityNotFoundException("Job not found"));
-        verifyTeamMembership(job.getProject().getTeam().getId());
+        verifyJobTeamMembership(jobId);
         Page<Finding> page = findingRepository.findByJobIdAndSeverity(jobId, severity, pageable);
         List<FindingResponse> content = page.getContent().stream()
                 .map(this::mapToResponse)
@@ -214,9 +220,7 @@ public class FindingService {
     @Transactional(readOnly = true)
     public PageResponse<FindingResponse> getFindingsByJobAndAgent(UUID jobId, AgentType agentType, Pageable pageable) {
         log.debug("getFindingsByJobAndAgent called with jobId={}, agentType={}", jobId, agentType);
-        var job = qaJobRepository.findById(jobId)
-                .orElseThrow(() -> new EntityNotFoundException("Job not found"));
-        verifyTeamMembership(job.getProject().getTeam().getId());
+        verifyJobTeamMembership(jobId);
         Page<Finding> page = findingRepository.findByJobIdAndAgentType(jobId, agentType, pageable);
         List<FindingResponse> content = page.getContent().stream()
                 .map(this::mapToResponse)
@@ -238,9 +242,7 @@ public class FindingService {
     @Transactional(readOnly = true)
     public PageResponse<FindingResponse> getFindingsByJobAndStatus(UUID jobId, FindingStatus status, Pageable pageable) {
         log.debug("getFindingsByJobAndStatus called with jobId={}, status={}", jobId, status);
-        var job = qaJobRepository.findById(jobId)
-                .orElseThrow(() -> new EntityNotFoundException("Job not found"));
-        verifyTeamMembership(job.getProject().getTeam().getId());
+        verifyJobTeamMembership(jobId);
         Page<Finding> page = findingRepository.findByJobIdAndStatus(jobId, status, pageable);
         List<FindingResponse> content = page.getContent().stream()
                 .map(this::mapToResponse)
@@ -265,7 +267,7 @@ public class FindingService {
         log.debug("updateFindingStatus called with findingId={}, newStatus={}", findingId, request.status());
         Finding finding = findingRepository.findById(findingId)
                 .orElseThrow(() -> new EntityNotFoundException("Finding not found"));
-        verifyTeamMembership(finding.getJob().getProject().getTeam().getId());
+        teamMembershipCache.verifyMember(finding.getJob().getProject().getTeam().getId());
 
         FindingStatus previousStatus = finding.getStatus();
         finding.setStatus(request.status());
@@ -274,6 +276,10 @@ public class FindingService {
         finding.setStatusChangedAt(Instant.now());
 
         finding = findingRepository.save(finding);
+        int openDelta = openDelta(previousStatus, request.status());
+        recordOpenFindingChanges(finding.getJob(),
+                finding.getSeverity() == Severity.CRITICAL ? openDelta : 0,
+                finding.getSeverity() == Severity.HIGH ? openDelta : 0);
         log.info("Finding status updated: findingId={}, {} -> {}", findingId, previousStatus, request.status());
         return mapToResponse(finding);
     }
@@ -304,11 +310,18 @@ public class FindingService {
             throw new IllegalArgumentException("All findings must belong to the same job");
         }
 
-        verifyTeamMembership(findings.get(0).getJob().getProject().getTeam().getId());
+        teamMembershipCache.verifyMember(findings.get(0).getJob().getProject().getTeam().getId());
 
         var currentUser = userRepository.findById(SecurityUtils.getCurrentUserId())
                 .orElseThrow(() -> new EntityNotFoundException("User not found"));
         Instant now = Instant.now();
+        int criticalDelta = 0;
+        int highDelta = 0;
+        for (Finding finding : findings) {
+            int openDelta = openDelta(finding.getStatus(), request.status());
+            if (finding.getSeverity() == Severity.CRITICAL) criticalDelta += openDelta;
+            if (finding.getSeverity() == Severity.HIGH) highDelta += openDelta;
+        }
         findings.forEach(finding -> {
             finding.setStatus(request.status());
             finding.setStatusChangedBy(currentUser);
@@ -316,6 +329,7 @@ public class FindingService {
         });
 
         findings = findingRepository.saveAll(findings);
+        recordOpenFindingChanges(findings.get(0).getJob(), criticalDelta, highDelta);
         log.info("Bulk finding status update: count={}, jobId={}, newStatus={}", findings.size(), firstJobId, request.status());
         return findings.stream().map(this::mapToResponse).toList();
     }
@@ -334,9 +348,7 @@ public class FindingService {
     @Transactional(readOnly = true)
     public Map<Severity, Long> countFindingsBySeverity(UUID jobId) {
         log.debug("countFindingsBySeverity called with jobId={}", jobId);
-        var job = qaJobRepository.findById(jobId)
-                .orElseThrow(() -> new EntityNotFoundException("Job not found"));
-        verifyTeamMembership(job.getProject().getTeam().getId());
+        verifyJobTeamMembership(jobId);
 
         Map<Severity, Long> counts = new EnumMap<>(Severity.class);
         for (Severity severity : Severity.values()) {
@@ -366,10 +378,41 @@ public class FindingService {
         );
     }
 
-    private void verifyTeamMembership(UUID teamId) {
-        UUID currentUserId = SecurityUtils.getCurrentUserId();
-        if (!teamMemberRepository.existsByTeamIdAndUserId(teamId, currentUserId)) {
-            throw new AccessDeniedException("Not a member of this team");
-        }
+    /**
+     * Builds a new {@link FindingStatus#OPEN} finding entity for a job from a creation request.
+     *
+     * @param job     the job the finding belongs to
+     * @param request the creation request
+     * @return the unsaved finding entity
+     */
+    static Finding toEntity(QaJob job, CreateFindingRequest request) {
+        return Finding.builder()
+                .job(job)
+                .agentType(request.agentType())
+                .severity(request.severity())
+                .title(request.title())
+                .description(request.description())
+                .filePath(request.filePath())
+                .lineNumber(request.lineNumber())
+                .recommendation(request.recommendation())
+                .evidence(request.evidence())
+                .effortEstimate(request.effortEstimate())
+                .debtCategory(request.debtCategory())
+                .status(FindingStatus.OPEN)
+                .build();
+    }
+
+    private void recordOpenFindingChanges(QaJob job, int criticalDelta, int highDelta) {
+        rollupService.adjustOpenFindings(job.getProject().getId(), job.getId(), criticalDelta, highDelta);
+    }
+
+    private static int openDelta(FindingStatus previousStatus, FindingStatus newStatus) {
+        return (newStatus == FindingStatus.OPEN ? 1 : 0) - (previousStatus == FindingStatus.OPEN ? 1 : 0);
+    }
+
+    private void verifyJobTeamMembership(UUID jobId) {
+        UUID teamId = qaJobRepository.findTeamIdById(jobId)
+                .orElseThrow(() -> new EntityNotFoundException("Job not found"));
+        teamMembershipCache.verifyMember(teamId);
     }
 }
@@ -3,10 +3,8 @@ package com.codeops.service;
 import com.codeops.dto.request.CreateGitHubConnectionRequest;
 import com.codeops.dto.response.GitHubConnectionResponse;
 import com.codeops.entity.GitHubConnection;
-import com.codeops.entity.TeamMember;
 import com.codeops.entity.enums.TeamRole;
 import com.codeops.repository.GitHubConnectionRepository;
-import com.codeops.repository.TeamMemberRepository;
 import com.codeops.repository.TeamRepository;
 import com.codeops.repository.UserRepository;
 import com.codeops.security.SecurityUtils;
@@ -41,7 +39,7 @@ public class GitHubConnectionService {
     private static final Logger log = LoggerFactory.getLogger(GitHubConnectionService.class);
 
     private final GitHubConnectionRepository gitHubConnectionRepository;
-    private final TeamMemberRepository teamMemberRepository;
+    private final TeamMembershipCache teamMembershipCache;
     private final EncryptionService encryptionService;
     private final TeamRepository teamRepository;
     private final UserRepository userRepository;
@@ -61,7 +59,7 @@ public class GitHubConnectionService {
      */
     public GitHubConnectionResponse createConnection(UUID teamId, CreateGitHubConnectionRequest request) {
         log.debug("createConnection called with teamId={}, name={}, authType={}", teamId, request.name(), request.authType());
-        verifyTeamAdmin(teamId);
+        teamMembershipCache.verifyAdmin(teamId);
 
         String encryptedCredentials = encryptionService.encrypt(request.credentials());
 
@@ -90,7 +88,7 @@ public class GitHubConnectionService {
     @Transactional(readOnly = true)
     public List<GitHubConnectionResponse> getConnections(UUID teamId) {
         log.debug("getConnections called with teamId={}", teamId);
-        verifyTeamMembership(teamId);
+        teamMembershipCache.verifyMember(teamId);
         return gitHubConnectionRepository.findByTeamIdAndIsActiveTrue(teamId).stream()
                 .map(this::mapToResponse)
                 .toList();
@@ -109,7 +107,7 @@ public class GitHubConnectionService {
         log.debug("getConnection called with connectionId={}", connectionId);
         GitHubConnection connection = gitHubConnectionRepository.findById(connectionId)
                 .orElseThrow(() -> new EntityNotFoundException("GitHub connection not found"));
-        verifyTeamMembership(connection.getTeam().getId());
+        teamMembershipCache.verifyMember(connection.getTeam().getId());
         return mapToResponse(connection);
     }
 
@@ -127,7 +125,7 @@ public class GitHubConnectionService {
         log.debug("deleteConnection called with connectionId={}", connectionId);
         GitHubConnection connection = gitHubConnectionRepository.findById(connectionId)
                 .orElseThrow(() -> new EntityNotFoundException("GitHub connection not found"));
-        verifyTeamAdmin(connection.getTeam().getId());
+        teamMembershipCache.verifyAdmin(connection.getTeam().getId());
         connection.setIsActive(false);
         gitHubConnectionRepository.save(connection);
         log.info("Soft-deleted GitHub connection id={}", connectionId);
@@ -149,11 +147,8 @@ public class GitHubConnectionService {
         log.debug("getDecryptedCredentials called with connectionId={}", connectionId);
         GitHubConnection connection = gitHubConnectionRepository.findById(connectionId)
                 .orElseThrow(() -> new EntityNotFoundException("GitHub connection not found"));
-        UUID currentUserId = SecurityUtils.getCurrentUserId();
-        UUID teamId = connection.getTeam().getId();
-        TeamMember member = teamMemberRepository.findByTeamIdAndUserId(teamId, currentUserId)
-                .orElseThrow(() -> new AccessDeniedException("Not a member of this team"));
-        if (member.getRole() != TeamRole.ADMIN && member.getRole() != TeamRole.OWNER) {
+        TeamRole role = teamMembershipCache.requireRole(connection.getTeam().getId());
+        if (role != TeamRole.ADMIN && role != TeamRole.OWNER) {
             throw new AccessDeniedException("Only ADMIN or OWNER can access credentials");
         }
         return encryptionService.decrypt(connection.getEncryptedCredentials());
@@ -170,20 +165,4 @@ public class GitHubConnectionService {
                 connection.getCreatedAt()
         );
     }
-
-    private void verifyTeamMembership(UUID teamId) {
-        UUID currentUserId = SecurityUtils.getCurrentUserId();
-        if (!teamMemberRepository.existsByTeamIdAndUserId(teamId, currentUserId)) {
-            throw new AccessDeniedException("Not a member of this team");
-        }
-    }
-
-    private void verifyTeamAdmin(UUID teamId) {
-        UUID currentUserId = SecurityUtils.getCurrentUserId();
-        TeamMember member = teamMemberRepository.findByTeamIdAndUserId(teamId, currentUserId)
-                .orElseThrow(() -> new AccessDeniedException("Not a member of this team"));
-        if (member.getRole() != TeamRole.OWNER && member.getRole() != TeamRole.ADMIN) {
-            throw new AccessDeniedException("Requires OWNER or ADMIN role");
-        }
-    }
 }
@@ -2,6 +2,8 @@ package com.codeops.service;
 
 import com.codeops.dto.request.CreateHealthScheduleRequest;
 import com.codeops.dto.request.CreateHealthSnapshotRequest;
+import com.codeops.dto.request.KeysetCursor;
+import com.codeops.dto.response.CursorPageResponse;
 import com.codeops.dto.response.HealthScheduleResponse;
 import com.codeops.dto.response.HealthSnapshotResponse;
 import com.codeops.dto.response.PageResponse;
@@ -10,7 +12,7 @@ import com.codeops.entity.HealthSnapshot;
 import com.codeops.entity.TeamMember;
 import com.codeops.entity.enums.AgentType;
 import com.codeops.entity.enums.ScheduleType;
-import com.codeops.entity.enums.TeamRole;
+import com.codeops.exception.ValidationException;
 import com.codeops.repository.*;
 import com.codeops.security.SecurityUtils;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -20,6 +22,7 @@ import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
@@ -27,7 +30,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -59,27 +62,34 @@ public class HealthMonitorService {
     private final HealthSnapshotRepository healthSnapshotRepository;
     private final ProjectRepository projectRepository;
     private final TeamMemberRepository teamMemberRepository;
+    private final TeamMembershipCache teamMembershipCache;
     private final UserRepository userRepository;
     private final QaJobRepository qaJobRepository;
     private final ObjectMapper objectMapper;
+    private final ProjectMetricsRollupService rollupService;
+    private final HealthTrendService healthTrendService;
 
     /**
      * Creates a new health monitoring schedule for a project.
      *
-     * <p>The next run time is automatically calculated based on the schedule type.
-     * The current user is recorded as the schedule creator.</p>
+     * <p>The next run time is calculated from the cron expression, or from the schedule type
+     * when none is given. The current user is recorded as the schedule creator.</p>
      *
      * @param request the schedule creation request containing project ID, schedule type,
      *                optional cron expression, and agent types to run
      * @return the created health schedule as a response DTO
      * @throws EntityNotFoundException if the project or current user is not found
      * @throws AccessDeniedException if the current user does not have OWNER or ADMIN role on the project's team
+     * @throws ValidationException if the cron expression is malformed
      */
     public HealthScheduleResponse createSchedule(CreateHealthScheduleRequest request) {
         log.debug("createSchedule called with projectId={}, scheduleType={}", request.projectId(), request.scheduleType());
         var project = projectRepository.findById(request.projectId())
                 .orElseThrow(() -> new EntityNotFoundException("Project not found"));
-        verifyTeamAdmin(project.getTeam().getId());
+        teamMembershipCache.verifyAdmin(project.getTeam().getId());
+        if (request.cronExpression() != null && !request.cronExpression().isBlank()) {
+            HealthScheduleTimes.parse(request.cronExpression());
+        }
 
         HealthSchedule schedule = HealthSchedule.builder()
                 .project(project)
@@ -88,7 +98,7 @@ public class HealthMonitorService {
                 .agentTypes(serializeAgentTypes(request.agentTypes()))
                 .isActive(true)
                 .createdBy(userRepository.findById(SecurityUtils.getCurrentUserId()).orElseThrow(() -> new EntityNotFoundException("User not found")))
-                .nextRunAt(calculateNextRun(request.scheduleType(), request.cronExpression()))
+                .nextRunAt(calculateNextRun(request.scheduleType(), request.cronExpression(), project.getId()))
                 .build();
 
         schedule = healthScheduleRepository.save(schedule);
@@ -109,7 +119,7 @@ public class HealthMonitorService {
         log.debug("getSchedulesForProject called with projectId={}", projectId);
         var project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new EntityNotFoundException("Project not found"));
-        verifyTeamMembership(project.getTeam().getId());
+        teamMembershipCache.verifyMember(project.getTeam().getId());
         return healthScheduleRepository.findByProjectId(projectId).stream()
                 .map(this::mapScheduleToResponse)
                 .toList();
@@ -152,10 +162,10 @@ public class HealthMonitorService {
         log.debug("updateSchedule called with scheduleId={}, isActive={}", scheduleId, isActive);
         HealthSchedule schedule = healthScheduleRepository.findById(scheduleId)
                 .orElseThrow(() -> new EntityNotFoundException("Health schedule not found"));
-        verifyTeamAdmin(schedule.getProject().getTeam().getId());
+        teamMembershipCache.verifyAdmin(schedule.getProject().getTeam().getId());
         schedule.setIsActive(isActive);
         if (isActive) {
-            schedule.setNextRunAt(calculateNextRun(schedule.getScheduleType(), schedule.getCronExpression()));
+            schedule.setNextRunAt(calculateNextRun(schedule.getScheduleType(), schedule.getCronExpression(), schedule.getProject().getId()));
         }
         schedule = healthScheduleRepository.save(schedule);
         log.info("Updated health schedule id={} isActive={}", scheduleId, isActive);
@@ -173,7 +183,7 @@ public class HealthMonitorService {
         log.debug("deleteSchedule called with scheduleId={}", scheduleId);
         HealthSchedule schedule = healthScheduleRepository.findById(scheduleId)
                 .orElseThrow(() -> new EntityNotFoundException("Health schedule not found"));
-        verifyTeamAdmin(schedule.getProject().getTeam().getId());
+        teamMembershipCache.verifyAdmin(schedule.getProject().getTeam().getId());
         healthScheduleRepository.delete(schedule);
         log.info("Deleted health schedule id={}", scheduleId);
     }
@@ -182,7 +192,7 @@ public class HealthMonitorService {
      * Marks a health monitoring schedule as having been executed.
      *
      * <p>Updates the last run timestamp to now and recalculates the next
-     * scheduled run time based on the schedule type.</p>
+     * scheduled run time from the schedule's cron expression or type.</p>
      *
      * @param scheduleId the ID of the schedule to mark as run
      * @throws EntityNotFoundException if the schedule is not found
@@ -192,7 +202,7 @@ public class HealthMonitorService {
         HealthSchedule schedule = healthScheduleRepository.findById(scheduleId)
                 .orElseThrow(() -> new EntityNotFoundException("Health schedule not found"));
         schedule.setLastRunAt(Instant.now());
-        schedule.setNextRunAt(calculateNextRun(schedule.getScheduleType(), schedule.getCronExpression()));
+        schedule.setNextRunAt(calculateNextRun(schedule.getScheduleType(), schedule.getCronExpression(), schedule.getProject().getId()));
         healthScheduleRepository.save(schedule);
         log.info("Marked schedule id={} as run, nextRunAt={}", scheduleId, schedule.getNextRunAt());
     }
@@ -201,7 +211,8 @@ public class HealthMonitorService {
      * Creates a new health snapshot for a project, capturing point-in-time quality metrics.
      *
      * <p>The snapshot records health score, findings by severity, tech debt score,
-     * dependency score, and test coverage percentage. Optionally links to a
+     * dependency score, and test coverage percentage. The findings-by-severity JSON is also
+     * stored as typed per-severity counts for SQL aggregation. Optionally links to a
      * QA job that generated the data. The capture timestamp is set to the current instant.</p>
      *
      * @param request the snapshot creation request containing project ID, optional job ID,
@@ -214,7 +225,7 @@ public class HealthMonitorService {
         log.debug("createSnapshot called with projectId={}, healthScore={}", request.projectId(), request.healthScore());
         var project = projectRepository.findById(request.projectId())
                 .orElseThrow(() -> new EntityNotFoundException("Project not found"));
-        verifyTeamMembership(project.getTeam().getId());
+        teamMembershipCache.verifyMember(project.getTeam().getId());
 
         HealthSnapshot snapshot = HealthSnapshot.builder()
                 .project(project)
@@ -226,8 +237,11 @@ public class HealthMonitorService {
                 .testCoveragePercent(request.testCoveragePercent())
                 .capturedAt(Instant.now())
                 .build();
+        SeverityCounts.parse(request.findingsBySeverity()).applyTo(snapshot);
 
         snapshot = healthSnapshotRepository.save(snapshot);
+        rollupService.recordHealthSnapshot(project.getId(), snapshot.getHealthScore());
+        healthTrendService.record(project.getId(), snapshot);
         log.info("Created health snapshot id={} for projectId={}, healthScore={}", snapshot.getId(), request.projectId(), request.healthScore());
         return mapSnapshotToResponse(snapshot);
     }
@@ -246,7 +260,7 @@ public class HealthMonitorService {
         log.debug("getSnapshots called with projectId={}", projectId);
         var project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new EntityNotFoundException("Project not found"));
-        verifyTeamMembership(project.getTeam().getId());
+        teamMembershipCache.verifyMember(project.getTeam().getId());
 
         Page<HealthSnapshot> page = healthSnapshotRepository.findByProjectId(projectId, pageable);
         List<HealthSnapshotResponse> content = page.getContent().stream()
@@ -256,6 +270,34 @@ public class HealthMonitorService {
                 page.getTotalElements(), page.getTotalPages(), page.isLast());
     }
 
+    /**
+     * Retrieves a keyset-paginated list of health snapshots for a project, most recently
+     * captured first, without counting the total.
+     *
+     * @param projectId the ID of the project whose snapshots to retrieve
+     * @param after the opaque cursor returned with the previous page, or blank for the first page
+     * @param size the maximum number of snapshots to return
+     * @return a cursor page of health snapshot DTOs
+     * @throws EntityNotFoundException if the project is not found
+     * @throws AccessDeniedException if the current user is not a member of the project's team
+     * @throws ValidationException if the cursor is malformed
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<HealthSnapshotResponse> getSnapshotsAfter(UUID projectId, String after, int size) {
+        log.debug("getSnapshotsAfter called with projectId={}, size={}", projectId, size);
+        var project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new EntityNotFoundException("Project not found"));
+        teamMembershipCache.verifyMember(project.getTeam().getId());
+
+        KeysetCursor cursor = KeysetCursor.decode(after);
+        Limit limit = CursorPageResponse.fetchLimit(size);
+        List<HealthSnapshot> rows = cursor == null
+                ? healthSnapshotRepository.findByProjectIdOrderByCapturedAtDescIdDesc(projectId, limit)
+                : healthSnapshotRepository.findByProjectIdAfter(projectId, cursor.timestamp(), cursor.uuidId(), limit);
+        return CursorPageResponse.of(rows, size,
+                s -> KeysetCursor.encode(s.getCapturedAt(), s.getId()), this::mapSnapshotToResponse);
+    }
+
     /**
      * Retrieves the most recent health snapshot for a project.
      *
@@ -289,11 +331,11 @@ public class HealthMonitorService {
         log.debug("getHealthTrend called with projectId={}, limit={}", projectId, limit);
         var project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new EntityNotFoundException("Project not found"));
-        verifyTeamMembership(project.getTeam().getId());
+        teamMembershipCache.verifyMember(project.getTeam().getId());
 
-        List<HealthSnapshot> snapshots = healthSnapshotRepository.findByProjectIdOrderByCapturedAtDesc(projectId);
-        List<HealthSnapshot> limited = snapshots.size() > limit ? snapshots.subList(0, limit) : snapshots;
-        List<HealthSnapshotResponse> result = new ArrayList<>(limited.stream()
+        List<HealthSnapshot> snapshots = healthSnapshotRepository.findByProjectIdOrderByCapturedAtDescIdDesc(
+                projectId, Limit.of(limit));
+        List<HealthSnapshotResponse> result = new ArrayList<>(snapshots.stream()
                 .map(this::mapSnapshotToResponse)
                 .toList());
         Collections.reverse(result);
@@ -328,10 +370,8 @@ public class HealthMonitorService {
         );
     }
 
-    private Instant calculateNextRun(ScheduleType type, String cronExpression) {
-        if (type == ScheduleType.DAILY) return Instant.now().plus(1, ChronoUnit.DAYS);
-        if (type == ScheduleType.WEEKLY) return Instant.now().plus(7, ChronoUnit.DAYS);
-        return null; // ON_COMMIT — triggered externally
+    private Instant calculateNextRun(ScheduleType type, String cronExpression, UUID projectId) {
+        return HealthScheduleTimes.nextRun(type, cronExpression, projectId, ZonedDateTime.now());
     }
 
     private String serializeAgentTypes(List<AgentType> agentTypes) {
@@ -352,20 +392,4 @@ public class HealthMonitorService {
             return List.of();
         }
     }
-
-    private void verifyTeamMembership(UUID teamId) {
-        UUID currentUserId = SecurityUtils.getCurrentUserId();
-        if (!teamMemberRepository.existsByTeamIdAndUserId(teamId, currentUserId)) {
-            throw new AccessDeniedException("Not a member of this team");
-        }
-    }
-
-    private void verifyTeamAdmin(UUID teamId) {
-        UUID currentUserId = SecurityUtils.getCurrentUserId();
-        TeamMember member = teamMemberRepository.findByTeamIdAndUserId(teamId, currentUserId)
-                .orElseThrow(() -> new AccessDeniedException("Not a member of this team"));
-        if (member.getRole() != TeamRole.OWNER && member.getRole() != TeamRole.ADMIN) {
-            throw new AccessDeniedException("Requires OWNER or ADMIN role");
-        }
-    }
 }
@@ -0,0 +1,160 @@
+package com.codeops.service;
+
+import com.codeops.config.AppConstants;
+import com.codeops.entity.HealthSchedule;
+import com.codeops.entity.QaJob;
+import com.codeops.entity.enums.JobMode;
+import com.codeops.entity.enums.JobStatus;
+import com.codeops.exception.ValidationException;
+import com.codeops.repository.HealthScheduleRepository;
+import com.codeops.repository.QaJobRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fires due health schedules by creating a {@link JobMode#HEALTH_MONITOR} QA job for each one.
+ *
+ * <p>Every {@value AppConstants#HEALTH_SCHEDULE_POLL_INTERVAL_MS} ms the runner claims up to
+ * {@value AppConstants#HEALTH_SCHEDULE_BATCH_SIZE} due schedules with
+ * {@code SELECT ... FOR UPDATE SKIP LOCKED}. In the same transaction it queues a
+ * {@link JobStatus#PENDING} job per schedule and advances {@code next_run_at}, so any number of
+ * instances can poll at once: a schedule is claimed by exactly one of them, and a crash before
+ * commit leaves it due for the next poll. Fire times follow {@link HealthScheduleTimes}, which
+ * spreads schedules on the same expression across a jitter window.</p>
+ *
+ * <p>A schedule whose stored cron expression cannot be parsed is deactivated rather than retried
+ * on every poll.</p>
+ *
+ * @see HealthScheduleRepository#lockDue
+ * @see HealthMonitorService
+ */
+@Service
+public class HealthScheduleRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(HealthScheduleRunner.class);
+
+    static final String JOB_NAME = "Scheduled health check";
+
+    private final HealthScheduleRepository healthScheduleRepository;
+    private final QaJobRepository qaJobRepository;
+    private final ProjectMetricsRollupService rollupService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    /**
+     * Creates a runner that evaluates schedules in the server's time zone.
+     *
+     * @param healthScheduleRepository repository for claiming and advancing schedules
+     * @param qaJobRepository          repository the scheduled jobs are created in
+     * @param rollupService            service keeping the project job totals current
+     * @param objectMapper             mapper used to build each job's configuration
+     * @param transactionManager       transaction manager for the per-batch transactions
+     */
+    @Autowired
+    public HealthScheduleRunner(HealthScheduleRepository healthScheduleRepository, QaJobRepository qaJobRepository,
+                                ProjectMetricsRollupService rollupService, ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager) {
+        this(healthScheduleRepository, qaJobRepository, rollupService, objectMapper, transactionManager,
+                Clock.systemDefaultZone());
+    }
+
+    HealthScheduleRunner(HealthScheduleRepository healthScheduleRepository, QaJobRepository qaJobRepository,
+                         ProjectMetricsRollupService rollupService, ObjectMapper objectMapper,
+                         PlatformTransactionManager transactionManager, Clock clock) {
+        this.healthScheduleRepository = healthScheduleRepository;
+        this.qaJobRepository = qaJobRepository;
+        this.rollupService = rollupService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+    }
+
+    /**
+     * Fires due schedules, claiming further batches for as long as full batches are found.
+     *
+     * @return the number of schedules claimed
+     */
+    @Scheduled(fixedDelay = AppConstants.HEALTH_SCHEDULE_POLL_INTERVAL_MS)
+    public int runDue() {
+        int fired = 0;
+        while (true) {
+            Integer claimed = transactionTemplate.execute(status -> fireBatch());
+            int count = claimed == null ? 0 : claimed;
+            fired += count;
+            if (count < AppConstants.HEALTH_SCHEDULE_BATCH_SIZE) break;
+        }
+        if (fired > 0) {
+            log.info("Fired {} health schedules", fired);
+        }
+        return fired;
+    }
+
+    private int fireBatch() {
+        Instant now = clock.instant();
+        List<HealthSchedule> due = healthScheduleRepository.lockDue(now, AppConstants.HEALTH_SCHEDULE_BATCH_SIZE);
+        List<QaJob> jobs = new ArrayList<>();
+        for (HealthSchedule schedule : due) {
+            Instant nextRunAt;
+            try {
+                nextRunAt = HealthScheduleTimes.nextRun(schedule.getScheduleType(), schedule.getCronExpression(),
+                        schedule.getProject().getId(), now.atZone(clock.getZone()));
+            } catch (ValidationException e) {
+                log.warn("Deactivating health schedule id={}: {}", schedule.getId(), e.getMessage());
+                schedule.setIsActive(false);
+                schedule.setNextRunAt(null);
+                continue;
+            }
+            jobs.add(newJob(schedule));
+            schedule.setLastRunAt(now);
+            schedule.setNextRunAt(nextRunAt);
+        }
+        if (!jobs.isEmpty()) {
+            qaJobRepository.saveAll(jobs);
+            jobs.forEach(job -> rollupService.recordJobCreated(job.getProject().getId()));
+        }
+        return due.size();
+    }
+
+    private QaJob newJob(HealthSchedule schedule) {
+        return QaJob.builder()
+                .project(schedule.getProject())
+                .mode(JobMode.HEALTH_MONITOR)
+                .status(JobStatus.PENDING)
+                .name(JOB_NAME)
+                .configJson(jobConfig(schedule))
+                .totalFindings(0)
+                .criticalCount(0)
+                .highCount(0)
+                .mediumCount(0)
+                .lowCount(0)
+                .startedBy(schedule.getCreatedBy())
+                .build();
+    }
+
+    private String jobConfig(HealthSchedule schedule) {
+        ObjectNode config = objectMapper.createObjectNode();
+        config.put("healthScheduleId", schedule.getId().toString());
+        try {
+            config.set("agentTypes", objectMapper.readTree(schedule.getAgentTypes()));
+            return objectMapper.writeValueAsString(config);
+        } catch (JsonProcessingException e) {
+            log.warn("Health schedule id={} has unreadable agent types, scheduling without them", schedule.getId());
+            config.putArray("agentTypes");
+            return config.toString();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.codeops.service;
+
+import com.codeops.config.AppConstants;
+import com.codeops.entity.enums.ScheduleType;
+import com.codeops.exception.ValidationException;
+import org.springframework.scheduling.support.CronExpression;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * Computes when a health schedule next fires.
+ *
+ * <p>A schedule with a cron expression follows it; both the five-field Unix form and Spring's
+ * six-field form (with seconds) are accepted. Without one, {@link ScheduleType#DAILY} fires at
+ * midnight and {@link ScheduleType#WEEKLY} at midnight on Monday, in the server's time zone.
+ * {@link ScheduleType#ON_COMMIT} schedules are triggered externally and never fire on their own.</p>
+ *
+ * <p>So that hundreds of schedules on the same expression do not all fire in the same instant, each
+ * fire time is shifted by a fixed offset derived from a jitter key (the project ID). The offset is
+ * below half the interval between consecutive fire times and at most
+ * {@value AppConstants#HEALTH_SCHEDULE_MAX_JITTER_MINUTES} minutes, so a schedule never skips or
+ * doubles a period, and it is stable, so each schedule keeps a regular cadence.</p>
+ *
+ * @see HealthScheduleRunner
+ */
+final class HealthScheduleTimes {
+
+    static final String DAILY_CRON = "0 0 0 * * *";
+    static final String WEEKLY_CRON = "0 0 0 * * MON";
+
+    private HealthScheduleTimes() {
+    }
+
+    /**
+     * Parses a cron expression in five-field Unix or six-field Spring form.
+     *
+     * @param expression the cron expression
+     * @return the parsed expression
+     * @throws ValidationException if the expression is malformed
+     */
+    static CronExpression parse(String expression) {
+        String trimmed = expression.trim();
+        String normalized = trimmed.split("\\s+").length == 5 ? "0 " + trimmed : trimmed;
+        try {
+            return CronExpression.parse(normalized);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid cron expression: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Computes the first fire time strictly after {@code after}. A schedule that is overdue by
+     * several periods fires once, at its next slot, rather than once per missed period.
+     *
+     * @param type           the schedule type
+     * @param cronExpression the schedule's cron expression, or blank for the type's default
+     * @param jitterKey      the key the fire-time offset is derived from
+     * @param after          the time to compute from, in the zone the expression is evaluated in
+     * @return the next fire time, or {@code null} if the schedule never fires on its own
+     * @throws ValidationException if the cron expression is malformed
+     */
+    static Instant nextRun(ScheduleType type, String cronExpression, UUID jitterKey, ZonedDateTime after) {
+        if (type == ScheduleType.ON_COMMIT) return null;
+        CronExpression cron = cronExpression != null && !cronExpression.isBlank()
+                ? parse(cronExpression)
+                : CronExpression.parse(type == ScheduleType.WEEKLY ? WEEKLY_CRON : DAILY_CRON);
+        Duration offset = jitter(cron, jitterKey, after);
+        ZonedDateTime slot = cron.next(after.minus(offset));
+        return slot == null ? null : slot.plus(offset).toInstant();
+    }
+
+    /**
+     * Computes the fire-time offset for a jitter key.
+     *
+     * @param cron      the schedule's expression
+     * @param jitterKey the key the offset is derived from, or {@code null} for no offset
+     * @param after     the time the interval between fire times is measured from
+     * @return an offset below half the interval and at most the maximum jitter
+     */
+    static Duration jitter(CronExpression cron, UUID jitterKey, ZonedDateTime after) {
+        if (jitterKey == null) return Duration.ZERO;
+        ZonedDateTime first = cron.next(after);
+        ZonedDateTime second = first == null ? null : cron.next(first);
+        if (second == null) return Duration.ZERO;
+        long windowMillis = Math.min(Duration.between(first, second).toMillis() / 2,
+                Duration.ofMinutes(AppConstants.HEALTH_SCHEDULE_MAX_JITTER_MINUTES).toMillis());
+        if (windowMillis <= 0) return Duration.ZERO;
+        long hash = jitterKey.getMostSignificantBits() ^ jitterKey.getLeastSignificantBits();
+        return Duration.ofMillis(Math.floorMod(hash, windowMillis));
+    }
+}
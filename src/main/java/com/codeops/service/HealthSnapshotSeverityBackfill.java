@@ -0,0 +1,79 @@
+package com.codeops.service;
+
+import com.codeops.config.AppConstants;
+import com.codeops.entity.HealthSnapshot;
+import com.codeops.repository.HealthSnapshotRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fills in the per-severity count columns of health snapshots captured before those columns
+ * existed, by parsing their {@code findingsBySeverity} JSON.
+ *
+ * <p>Runs a minute after startup and then every ten minutes until a pass finds nothing left to
+ * do. Snapshots are converted in batches of {@value AppConstants#HEALTH_SNAPSHOT_BACKFILL_BATCH_SIZE},
+ * one transaction each. Each batch continues along the primary key after the last ID of the
+ * previous one, so a pass reads the table once and a snapshot left without counts is never
+ * fetched again. New snapshots get their counts when they are created, so once the backfill has
+ * completed it stays complete. Updates are idempotent, so instances that run it at the same time
+ * do not conflict.</p>
+ *
+ * @see SeverityCounts
+ */
+@Service
+@RequiredArgsConstructor
+public class HealthSnapshotSeverityBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(HealthSnapshotSeverityBackfill.class);
+
+    private static final UUID MIN_ID = new UUID(0L, 0L);
+
+    private final HealthSnapshotRepository healthSnapshotRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicBoolean complete = new AtomicBoolean();
+
+    private record Batch(int size, UUID lastId) {}
+
+    /**
+     * Converts every snapshot that has no severity counts yet.
+     *
+     * @return the number of snapshots converted
+     */
+    @Scheduled(initialDelay = 60_000, fixedDelay = 600_000)
+    public int backfill() {
+        if (complete.get()) return 0;
+        int converted = 0;
+        UUID lastId = MIN_ID;
+        while (true) {
+            UUID after = lastId;
+            Batch batch = transactionTemplate.execute(status -> convertBatch(after));
+            if (batch == null) break;
+            converted += batch.size();
+            if (batch.size() < AppConstants.HEALTH_SNAPSHOT_BACKFILL_BATCH_SIZE) break;
+            lastId = batch.lastId();
+        }
+        complete.set(true);
+        if (converted > 0) {
+            log.info("Backfilled severity counts for {} health snapshots", converted);
+        }
+        return converted;
+    }
+
+    private Batch convertBatch(UUID after) {
+        List<HealthSnapshot> snapshots = healthSnapshotRepository.findWithoutSeverityCountsAfter(after,
+                Limit.of(AppConstants.HEALTH_SNAPSHOT_BACKFILL_BATCH_SIZE));
+        for (HealthSnapshot snapshot : snapshots) {
+            SeverityCounts.parse(snapshot.getFindingsBySeverity()).applyTo(snapshot);
+        }
+        return new Batch(snapshots.size(), snapshots.isEmpty() ? after : snapshots.get(snapshots.size() - 1).getId());
+    }
+}
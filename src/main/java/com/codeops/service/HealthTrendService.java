@@ -0,0 +1,192 @@
+package com.codeops.service;
+
+import com.codeops.config.AppConstants;
+import com.codeops.dto.response.HealthSnapshotResponse;
+import com.codeops.entity.HealthSnapshot;
+import com.codeops.entity.HealthSnapshotBucket;
+import com.codeops.entity.enums.TrendResolution;
+import com.codeops.repository.HealthSnapshotBucketRepository;
+import com.codeops.repository.HealthSnapshotRepository;
+import com.codeops.repository.ProjectRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Serves health score trends at a resolution that suits the requested window.
+ *
+ * <p>Every snapshot is added to an hourly, a daily and a weekly {@link HealthSnapshotBucket} when
+ * it is captured (UTC boundaries, weeks starting Monday). A trend over at most
+ * {@value AppConstants#HEALTH_TREND_RAW_MAX_HOURS} hours is read from the snapshots themselves
+ * with a range query; longer windows use the finest bucket resolution that yields at most
+ * {@value AppConstants#HEALTH_TREND_MAX_POINTS} points, so a year-long trend reads about 365 daily
+ * rows regardless of how many snapshots were taken.</p>
+ *
+ * <p>Bucketed points are returned as {@link HealthSnapshotResponse}s holding the bucket's average
+ * scores, with the bucket start as {@code capturedAt} and no snapshot or job ID.</p>
+ *
+ * @see MetricsService#getHealthTrend
+ * @see HealthSnapshotBucketRepository
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class HealthTrendService {
+
+    private static final Logger log = LoggerFactory.getLogger(HealthTrendService.class);
+
+    static final List<TrendResolution> BUCKET_RESOLUTIONS =
+            List.of(TrendResolution.HOUR, TrendResolution.DAY, TrendResolution.WEEK);
+
+    private final HealthSnapshotRepository healthSnapshotRepository;
+    private final HealthSnapshotBucketRepository bucketRepository;
+    private final ProjectRepository projectRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Adds a newly captured snapshot to its hourly, daily and weekly buckets.
+     *
+     * @param projectId the ID of the snapshot's project
+     * @param snapshot  the snapshot
+     */
+    public void record(UUID projectId, HealthSnapshot snapshot) {
+        Integer techDebt = snapshot.getTechDebtScore();
+        Integer dependency = snapshot.getDependencyScore();
+        BigDecimal coverage = snapshot.getTestCoveragePercent();
+        for (TrendResolution resolution : BUCKET_RESOLUTIONS) {
+            bucketRepository.accumulate(projectId, resolution.name(),
+                    bucketStart(resolution, snapshot.getCapturedAt()), snapshot.getHealthScore(),
+                    techDebt != null ? techDebt : 0, techDebt != null ? 1 : 0,
+                    dependency != null ? dependency : 0, dependency != null ? 1 : 0,
+                    coverage != null ? coverage : BigDecimal.ZERO, coverage != null ? 1 : 0);
+        }
+    }
+
+    /**
+     * Returns a project's health trend over {@code [from, to)}, oldest point first.
+     *
+     * @param projectId the ID of the project
+     * @param from      the start of the window
+     * @param to        the end of the window
+     * @return the trend points
+     */
+    @Transactional(readOnly = true)
+    public List<HealthSnapshotResponse> trend(UUID projectId, Instant from, Instant to) {
+        TrendResolution resolution = resolutionFor(Duration.between(from, to));
+        log.debug("trend projectId={} from={} to={} resolution={}", projectId, from, to, resolution);
+        if (resolution == TrendResolution.RAW) {
+            return healthSnapshotRepository.findRange(projectId, from, to).stream()
+                    .map(HealthTrendService::fromSnapshot)
+                    .toList();
+        }
+        return bucketRepository.findRange(projectId, resolution, bucketStart(resolution, from), to).stream()
+                .map(HealthTrendService::fromBucket)
+                .toList();
+    }
+
+    /**
+     * Recomputes every project's buckets from its snapshots, one transaction per project.
+     *
+     * @return the number of projects rebuilt
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int rebuildAll() {
+        List<UUID> projectIds = projectRepository.findAllIds();
+        log.info("Rebuilding health trend buckets for {} projects", projectIds.size());
+        for (UUID projectId : projectIds) {
+            transactionTemplate.executeWithoutResult(status -> {
+                bucketRepository.deleteAllByProjectId(projectId);
+                for (TrendResolution resolution : BUCKET_RESOLUTIONS) {
+                    bucketRepository.rebuild(projectId, resolution.name(), resolution.name().toLowerCase(Locale.ROOT));
+                }
+            });
+        }
+        log.info("Health trend buckets rebuilt for {} projects", projectIds.size());
+        return projectIds.size();
+    }
+
+    /**
+     * Picks the resolution for a trend window: raw snapshots for short windows, otherwise the
+     * finest bucket resolution that yields at most {@value AppConstants#HEALTH_TREND_MAX_POINTS}
+     * points.
+     *
+     * @param window the length of the window
+     * @return the resolution to read the trend at
+     */
+    static TrendResolution resolutionFor(Duration window) {
+        if (window.compareTo(Duration.ofHours(AppConstants.HEALTH_TREND_RAW_MAX_HOURS)) <= 0) {
+            return TrendResolution.RAW;
+        }
+        if (window.toHours() <= AppConstants.HEALTH_TREND_MAX_POINTS) return TrendResolution.HOUR;
+        if (window.toDays() <= AppConstants.HEALTH_TREND_MAX_POINTS) return TrendResolution.DAY;
+        return TrendResolution.WEEK;
+    }
+
+    /**
+     * Returns the start of the bucket containing the given instant.
+     *
+     * @param resolution the bucket resolution; not {@link TrendResolution#RAW}
+     * @param instant    the instant
+     * @return the start of its hour, day or Monday-based week in UTC
+     */
+    static Instant bucketStart(TrendResolution resolution, Instant instant) {
+        return switch (resolution) {
+            case HOUR -> instant.truncatedTo(ChronoUnit.HOURS);
+            case DAY -> instant.truncatedTo(ChronoUnit.DAYS);
+            case WEEK -> instant.atOffset(ZoneOffset.UTC).toLocalDate()
+                    .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                    .atStartOfDay(ZoneOffset.UTC).toInstant();
+            case RAW -> throw new IllegalArgumentException("RAW has no buckets");
+        };
+    }
+
+    private static HealthSnapshotResponse fromSnapshot(HealthSnapshot snapshot) {
+        return new HealthSnapshotResponse(
+                snapshot.getId(),
+                snapshot.getProject().getId(),
+                snapshot.getJob() != null ? snapshot.getJob().getId() : null,
+                snapshot.getHealthScore(),
+                snapshot.getFindingsBySeverity(),
+                snapshot.getTechDebtScore(),
+                snapshot.getDependencyScore(),
+                snapshot.getTestCoveragePercent(),
+                snapshot.getCapturedAt()
+        );
+    }
+
+    private static HealthSnapshotResponse fromBucket(HealthSnapshotBucket bucket) {
+        return new HealthSnapshotResponse(
+                null,
+                bucket.getId().getProjectId(),
+                null,
+                (int) Math.round((double) bucket.getHealthScoreSum() / bucket.getSampleCount()),
+                null,
+                average(bucket.getTechDebtSum(), bucket.getTechDebtCount()),
+                average(bucket.getDependencySum(), bucket.getDependencyCount()),
+                bucket.getCoverageCount() > 0
+                        ? bucket.getCoverageSum().divide(BigDecimal.valueOf(bucket.getCoverageCount()), 2, RoundingMode.HALF_UP)
+                        : null,
+                bucket.getId().getBucketStart()
+        );
+    }
+
+    private static Integer average(long sum, int count) {
+        return count > 0 ? (int) Math.round((double) sum / count) : null;
+    }
+}
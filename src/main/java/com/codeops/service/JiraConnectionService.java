@@ -3,10 +3,8 @@ package com.codeops.service;
 import com.codeops.dto.request.CreateJiraConnectionRequest;
 import com.codeops.dto.response.JiraConnectionResponse;
 import com.codeops.entity.JiraConnection;
-import com.codeops.entity.TeamMember;
 import com.codeops.entity.enums.TeamRole;
 import com.codeops.repository.JiraConnectionRepository;
-import com.codeops.repository.TeamMemberRepository;
 import com.codeops.repository.TeamRepository;
 import com.codeops.repository.UserRepository;
 import com.codeops.security.SecurityUtils;
@@ -41,7 +39,7 @@ public class JiraConnectionService {
     private static final Logger log = LoggerFactory.getLogger(JiraConnectionService.class);
 
     private final JiraConnectionRepository jiraConnectionRepository;
-    private final TeamMemberRepository teamMemberRepository;
+    private final TeamMembershipCache teamMembershipCache;
     private final EncryptionService encryptionService;
     private final TeamRepository teamRepository;
     private final UserRepository userRepository;
@@ -61,7 +59,7 @@ public class JiraConnectionService {
      */
     public JiraConnectionResponse createConnection(UUID teamId, CreateJiraConnectionRequest request) {
         log.debug("createConnection called with teamId={}, name={}, instanceUrl={}", teamId, request.name(), request.instanceUrl());
-        verifyTeamAdmin(teamId);
+        teamMembershipCache.verifyAdmin(teamId);
 
         String encryptedToken = encryptionService.encrypt(request.apiToken());
 
@@ -90,7 +88,7 @@ public class JiraConnectionService {
     @Transactional(readOnly = true)
     public List<JiraConnectionResponse> getConnections(UUID teamId) {
         log.debug("getConnections called with teamId={}", teamId);
-        verifyTeamMembership(teamId);
+        teamMembershipCache.verifyMember(teamId);
         return jiraConnectionRepository.findByTeamIdAndIsActiveTrue(teamId).stream()
                 .map(this::mapToResponse)
                 .toList();
@@ -109,7 +107,7 @@ public class JiraConnectionService {
         log.debug("getConnection called with connectionId={}", connectionId);
         JiraConnection connection = jiraConnectionRepository.findById(connectionId)
                 .orElseThrow(() -> new EntityNotFoundException("Jira connection not found"));
-        verifyTeamMembership(connection.getTeam().getId());
+        teamMembershipCache.verifyMember(connection.getTeam().getId());
         return mapToResponse(connection);
     }
 
@@ -127,7 +125,7 @@ public class JiraConnectionService {
         log.debug("deleteConnection called with connectionId={}", connectionId);
         JiraConnection connection = jiraConnectionRepository.findById(connectionId)
                 .orElseThrow(() -> new EntityNotFoundException("Jira connection not found"));
-        verifyTeamAdmin(connection.getTeam().getId());
+        teamMembershipCache.verifyAdmin(connection.getTeam().getId());
         connection.setIsActive(false);
         jiraConnectionRepository.save(connection);
         log.info("Soft-deleted Jira connection id={}", connectionId);
@@ -149,11 +147,8 @@ public class JiraConnectionService {
         log.debug("getDecryptedApiToken called with connectionId={}", connectionId);
         JiraConnection connection = jiraConnectionRepository.findById(connectionId)
                 .orElseThrow(() -> new EntityNotFoundException("Jira connection not found"));
-        UUID currentUserId = SecurityUtils.getCurrentUserId();
-        UUID teamId = connection.getTeam().getId();
-        TeamMember member = teamMemberRepository.findByTeamIdAndUserId(teamId, currentUserId)
-                .orElseThrow(() -> new AccessDeniedException("Not a member of this team"));
-        if (member.getRole() != TeamRole.ADMIN && member.getRole() != TeamRole.OWNER) {
+        TeamRole role = teamMembershipCache.requireRole(connection.getTeam().getId());
+        if (role != TeamRole.ADMIN && role != TeamRole.OWNER) {
             throw new AccessDeniedException("Only ADMIN or OWNER can access credentials");
         }
         return encryptionService.decrypt(connection.getEncryptedApiToken());
@@ -175,11 +170,8 @@ public class JiraConnectionService {
         log.debug("getConnectionDetails called with connectionId={}", connectionId);
         JiraConnection connection = jiraConnectionRepository.findById(connectionId)
                 .orElseThrow(() -> new EntityNotFoundException("Jira connection not found"));
-        UUID currentUserId = SecurityUtils.getCurrentUserId();
-        UUID teamId = connection.getTeam().getId();
-        TeamMember member = teamMemberRepository.findByTeamIdAndUserId(teamId, currentUserId)
-                .orElseThrow(() -> new AccessDeniedException("Not a member of this team"));
-        if (member.getRole() != TeamRole.ADMIN && member.getRole() != TeamRole.OWNER) {
+        TeamRole role = teamMembershipCache.requireRole(connection.getTeam().getId());
+        if (role != TeamRole.ADMIN && role != TeamRole.OWNER) {
             throw new AccessDeniedException("Only ADMIN or OWNER can access credentials");
         }
         String decryptedToken = encryptionService.decrypt(connection.getEncryptedApiToken());
@@ -206,20 +198,4 @@ public class JiraConnectionService {
                 connection.getCreatedAt()
         );
     }
-
-    private void verifyTeamMembership(UUID teamId) {
-        UUID currentUserId = SecurityUtils.getCurrentUserId();
-        if (!teamMemberRepository.existsByTeamIdAndUserId(teamId, currentUserId)) {
-            throw new AccessDeniedException("Not a member of this team");
-        }
-    }
-
-    private void verifyTeamAdmin(UUID teamId) {
-        UUID currentUserId = SecurityUtils.getCurrentUserId();
-        TeamMember member = teamMemberRepository.findByTeamIdAndUserId(teamId, currentUserId)
-                .orElseThrow(() -> new AccessDeniedException("Not a member of this team"));
-        if (member.getRole() != TeamRole.OWNER && member.getRole() != TeamRole.ADMIN) {
-            throw new AccessDeniedException("Requires OWNER or ADMIN role");
-        }
-    }
 }
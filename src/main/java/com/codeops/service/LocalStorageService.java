@@ -0,0 +1,291 @@
+package com.codeops.service;
+
+import com.codeops.config.AppConstants;
+import com.codeops.exception.NotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Filesystem storage backend used by {@link S3StorageService} when S3 is disabled, as in on-prem
+ * deployments. Objects are stored as files under {@code codeops.local-storage.path}, at the path
+ * given by their key.
+ *
+ * <p>Writes go to a temporary file in the target directory, which is flushed to disk and then
+ * renamed over the target with an atomic move. Readers therefore see either the previous object
+ * or the complete new one, never a partially written file, and a failed upload leaves nothing
+ * behind.</p>
+ *
+ * <p>Reads copy a byte range of the file straight to an output stream. Ranges smaller than
+ * {@value AppConstants#LOCAL_STORAGE_MMAP_THRESHOLD_BYTES} bytes use {@link FileChannel#transferTo};
+ * larger ranges, such as specification files, are memory-mapped in windows of
+ * {@value AppConstants#LOCAL_STORAGE_MMAP_WINDOW_BYTES} bytes and written from the mapping, so the
+ * file is paged in by the kernel rather than read into heap buffers.</p>
+ *
+ * <p>An object stored with a content encoding (see {@link StorageCompression}) is kept at its key
+ * plus {@value #GZIP_SUFFIX}, which no valid key ends with, so the encoding is known from the file
+ * name alone. Writing an object removes the file of its other encoding after the new file is in
+ * place. The rename and that removal run under a lock striped by key, which is also held while a
+ * read picks the file to open, so concurrent writes of one key in different encodings leave
+ * exactly one of them and readers never find a stale sibling.</p>
+ *
+ * @see S3StorageService
+ */
+@Service
+@Slf4j
+public class LocalStorageService {
+
+    static final String GZIP_SUFFIX = "~gzip";
+
+    private static final int KEY_LOCK_STRIPES = 64;
+
+    private final Path root;
+    private final Object[] keyLocks = new Object[KEY_LOCK_STRIPES];
+
+    /**
+     * Creates the backend rooted at the configured local storage path.
+     *
+     * @param localStoragePath the storage root directory
+     */
+    @Autowired
+    public LocalStorageService(
+            @Value("${codeops.local-storage.path:#{systemProperties['user.home']}/.codeops/storage}") String localStoragePath) {
+        this(Paths.get(localStoragePath));
+    }
+
+    LocalStorageService(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+        for (int i = 0; i < keyLocks.length; i++) {
+            keyLocks[i] = new Object();
+        }
+    }
+
+    /**
+     * Atomically writes the contents of a stream to the file for the given key, replacing any
+     * existing file.
+     *
+     * @param key  the storage key
+     * @param data the content; read to the end but not closed
+     * @return the number of bytes written
+     * @throws IOException if the stream cannot be read or the file cannot be written
+     */
+    public long write(String key, InputStream data) throws IOException {
+        return write(key, data, null);
+    }
+
+    /**
+     * Atomically writes the contents of a stream to the file for the given key, encoding it on
+     * the way, and replaces any existing object for the key.
+     *
+     * @param key             the storage key
+     * @param data            the content; read to the end but not closed
+     * @param contentEncoding {@value StorageCompression#GZIP}, or {@code null} to store the
+     *                        content unencoded
+     * @return the number of content bytes read from {@code data}
+     * @throws IOException if the stream cannot be read or the file cannot be written
+     */
+    public long write(String key, InputStream data, String contentEncoding) throws IOException {
+        Path plain = resolve(key);
+        Path encoded = encodedPath(plain);
+        Path target = contentEncoding == null ? plain : encoded;
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), "." + plain.getFileName(), ".part");
+        try {
+            long size;
+            try (OutputStream out = StorageCompression.encoder(Files.newOutputStream(temp, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING), contentEncoding)) {
+                size = data.transferTo(out);
+            }
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            synchronized (lockFor(plain)) {
+                moveIntoPlace(temp, target);
+                Files.deleteIfExists(target == plain ? encoded : plain);
+            }
+            log.debug("Wrote local object key={}, size={}, contentEncoding={}", key, size, contentEncoding);
+            return size;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Reads and decodes the whole object for the given key into memory. Intended for small
+     * objects only.
+     *
+     * @param key the storage key
+     * @return the decoded content
+     * @throws NotFoundException if no file exists for the key
+     * @throws IOException       if the file cannot be read
+     */
+    public byte[] read(String key) throws IOException {
+        Path path = locate(key);
+        try (InputStream in = StorageCompression.decoder(Files.newInputStream(path), encodingOf(path))) {
+            return in.readAllBytes();
+        } catch (NoSuchFileException e) {
+            throw new NotFoundException("Stored object not found: " + key);
+        }
+    }
+
+    /**
+     * Copies the decoded object for the given key to an output stream. Unencoded objects are
+     * transferred as by {@link #transferTo}.
+     *
+     * @param key the storage key
+     * @param out the stream to write to; not closed
+     * @return the number of bytes written
+     * @throws NotFoundException if no file exists for the key
+     * @throws IOException       if the file cannot be read or {@code out} cannot be written
+     */
+    public long copyTo(String key, OutputStream out) throws IOException {
+        Path path = locate(key);
+        String encoding = encodingOf(path);
+        if (encoding == null) {
+            return transferTo(key, 0, Long.MAX_VALUE, out);
+        }
+        try (InputStream in = StorageCompression.decoder(Files.newInputStream(path), encoding)) {
+            return in.transferTo(out);
+        } catch (NoSuchFileException e) {
+            throw new NotFoundException("Stored object not found: " + key);
+        }
+    }
+
+    /**
+     * Returns the stored size and content encoding of the object for the given key.
+     *
+     * @param key the storage key
+     * @return the size of the file and the encoding it is stored with
+     * @throws NotFoundException if no file exists for the key
+     * @throws IOException       if the file attributes cannot be read
+     */
+    public StoredObjectInfo stat(String key) throws IOException {
+        Path path = locate(key);
+        try {
+            return new StoredObjectInfo(Files.size(path), encodingOf(path));
+        } catch (NoSuchFileException e) {
+            throw new NotFoundException("Stored object not found: " + key);
+        }
+    }
+
+    /**
+     * Copies a byte range of the file for the given key to an output stream. The bytes are copied
+     * as stored, so the range of an encoded object is a range of its encoded form.
+     *
+     * @param key    the storage key
+     * @param offset the first byte to copy
+     * @param length the maximum number of bytes to copy; the range is cut at the end of the file
+     * @param out    the stream to write to; not closed
+     * @return the number of bytes written
+     * @throws NotFoundException if no file exists for the key
+     * @throws IOException       if the file cannot be read or {@code out} cannot be written
+     */
+    public long transferTo(String key, long offset, long length, OutputStream out) throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(locate(key), StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            throw new NotFoundException("Stored object not found: " + key);
+        }
+        try (channel) {
+            long size = channel.size();
+            if (offset >= size || length <= 0) return 0;
+            long end = offset + Math.min(length, size - offset);
+            WritableByteChannel target = Channels.newChannel(out);
+            return end - offset >= AppConstants.LOCAL_STORAGE_MMAP_THRESHOLD_BYTES
+                    ? writeMapped(channel, offset, end, target)
+                    : writeTransferred(channel, offset, end, target);
+        }
+    }
+
+    /**
+     * Deletes the file for the given key, in any encoding, if it exists.
+     *
+     * @param key the storage key
+     * @throws IOException if the file exists but cannot be deleted
+     */
+    public void delete(String key) throws IOException {
+        Path plain = resolve(key);
+        synchronized (lockFor(plain)) {
+            Files.deleteIfExists(encodedPath(plain));
+            Files.deleteIfExists(plain);
+        }
+    }
+
+    private static long writeTransferred(FileChannel channel, long offset, long end, WritableByteChannel target)
+            throws IOException {
+        long position = offset;
+        while (position < end) {
+            long transferred = channel.transferTo(position, end - position, target);
+            if (transferred <= 0) break;
+            position += transferred;
+        }
+        return position - offset;
+    }
+
+    private static long writeMapped(FileChannel channel, long offset, long end, WritableByteChannel target)
+            throws IOException {
+        long position = offset;
+        while (position < end) {
+            long window = Math.min(end - position, AppConstants.LOCAL_STORAGE_MMAP_WINDOW_BYTES);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, window);
+            while (buffer.hasRemaining()) {
+                target.write(buffer);
+            }
+            position += window;
+        }
+        return position - offset;
+    }
+
+    private static void moveIntoPlace(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private Path locate(String key) {
+        Path plain = resolve(key);
+        Path encoded = encodedPath(plain);
+        synchronized (lockFor(plain)) {
+            return Files.exists(encoded) ? encoded : plain;
+        }
+    }
+
+    private Object lockFor(Path plain) {
+        return keyLocks[Math.floorMod(plain.hashCode(), keyLocks.length)];
+    }
+
+    private static Path encodedPath(Path plain) {
+        return plain.resolveSibling(plain.getFileName() + GZIP_SUFFIX);
+    }
+
+    private static String encodingOf(Path path) {
+        return path.getFileName().toString().endsWith(GZIP_SUFFIX) ? StorageCompression.GZIP : null;
+    }
+
+    private Path resolve(String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root) || path.equals(root) || key.endsWith(GZIP_SUFFIX)) {
+            throw new IllegalArgumentException("Invalid storage key");
+        }
+        return path;
+    }
+}
@@ -0,0 +1,150 @@
+package com.codeops.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Signs and verifies expiring URLs for direct transfers to and from {@link LocalStorageService},
+ * the local counterpart of S3 presigned URLs.
+ *
+ * <p>A signed URL points at {@value #PATH} and carries the storage key, an expiry time in epoch
+ * seconds, and an HMAC-SHA256 signature over the HTTP method, key, expiry and, for uploads, the
+ * content type and length the request must declare. The signing key is derived from
+ * {@code codeops.local-storage.signing-secret}, which defaults to the JWT secret, so a URL can
+ * never be replayed as a token or vice versa.</p>
+ *
+ * @see com.codeops.controller.LocalStorageController
+ * @see S3StorageService#generatePresignedUrl
+ * @see S3StorageService#generatePresignedUploadUrl
+ */
+@Component
+public class LocalStorageUrlSigner {
+
+    /**
+     * The path of the handler that serves signed URLs.
+     */
+    public static final String PATH = "/api/v1/storage/local";
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec signingKey;
+    private final Clock clock;
+
+    /**
+     * Creates a signer using the system clock.
+     *
+     * @param secret the signing secret
+     */
+    @Autowired
+    public LocalStorageUrlSigner(@Value("${codeops.local-storage.signing-secret:${codeops.jwt.secret}}") String secret) {
+        this(secret, Clock.systemUTC());
+    }
+
+    LocalStorageUrlSigner(String secret, Clock clock) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("codeops.local-storage.signing-secret must be set");
+        }
+        byte[] derived = hmac(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM),
+                "codeops-local-storage-url");
+        this.signingKey = new SecretKeySpec(derived, ALGORITHM);
+        this.clock = clock;
+    }
+
+    /**
+     * Creates a signed URL from which the given key can be downloaded.
+     *
+     * @param key    the storage key
+     * @param expiry how long the URL stays valid
+     * @return the URL, relative to the API root
+     */
+    public String presignDownload(String key, Duration expiry) {
+        long expires = clock.instant().plus(expiry).getEpochSecond();
+        return url(key, expires, signature("GET", key, expires, ""));
+    }
+
+    /**
+     * Creates a signed URL to which the given key can be uploaded with a {@code PUT} that declares
+     * exactly the given content type and length.
+     *
+     * @param key           the storage key
+     * @param contentType   the content type the upload must declare
+     * @param contentLength the length in bytes the upload must declare
+     * @param expiry        how long the URL stays valid
+     * @return the URL, relative to the API root
+     */
+    public String presignUpload(String key, String contentType, long contentLength, Duration expiry) {
+        long expires = clock.instant().plus(expiry).getEpochSecond();
+        return url(key, expires, signature("PUT", key, expires, contentType + "\n" + contentLength));
+    }
+
+    /**
+     * Checks a download request against its signed URL parameters.
+     *
+     * @param key       the {@code key} parameter
+     * @param expires   the {@code expires} parameter
+     * @param signature the {@code signature} parameter
+     * @return {@code true} if the signature matches and has not expired
+     */
+    public boolean isValidDownload(String key, long expires, String signature) {
+        return isValid(signature("GET", key, expires, ""), expires, signature);
+    }
+
+    /**
+     * Checks an upload request against its signed URL parameters.
+     *
+     * @param key           the {@code key} parameter
+     * @param expires       the {@code expires} parameter
+     * @param contentType   the request's {@code Content-Type}
+     * @param contentLength the request's {@code Content-Length}
+     * @param signature     the {@code signature} parameter
+     * @return {@code true} if the signature matches and has not expired
+     */
+    public boolean isValidUpload(String key, long expires, String contentType, long contentLength, String signature) {
+        return isValid(signature("PUT", key, expires, contentType + "\n" + contentLength), expires, signature);
+    }
+
+    private boolean isValid(String expected, long expires, String signature) {
+        if (signature == null || clock.instant().getEpochSecond() > expires) {
+            return false;
+        }
+        return MessageDigest.isEqual(expected.getBytes(StandardCharsets.US_ASCII),
+                signature.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String url(String key, long expires, String signature) {
+        // Template variables are encoded strictly, so a '+' in the key is not read back as a space
+        return UriComponentsBuilder.fromPath(PATH)
+                .queryParam("key", "{key}")
+                .queryParam("expires", expires)
+                .queryParam("signature", "{signature}")
+                .encode()
+                .buildAndExpand(key, signature)
+                .toUriString();
+    }
+
+    private String signature(String method, String key, long expires, String constraints) {
+        String payload = method + "\n" + key + "\n" + expires + "\n" + constraints;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(hmac(signingKey, payload));
+    }
+
+    private static byte[] hmac(SecretKeySpec key, String payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 unavailable", e);
+        }
+    }
+}
@@ -1,18 +1,19 @@
 package com.codeops.service;
 
+import com.codeops.dto.response.CriticalRegressionResponse;
 import com.codeops.dto.response.HealthSnapshotResponse;
 import com.codeops.dto.response.ProjectMetricsResponse;
 import com.codeops.dto.response.TeamMetricsResponse;
-import com.codeops.entity.HealthSnapshot;
 import com.codeops.entity.Project;
-import com.codeops.entity.QaJob;
+import com.codeops.entity.ProjectMetricsRollup;
 import com.codeops.entity.enums.*;
 import com.codeops.repository.*;
-import com.codeops.security.SecurityUtils;
+import com.codeops.repository.projection.TeamMetricsAggregate;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -41,13 +42,11 @@ public class MetricsService {
     private static final Logger log = LoggerFactory.getLogger(MetricsService.class);
 
     private final ProjectRepository projectRepository;
-    private final QaJobRepository qaJobRepository;
-    private final FindingRepository findingRepository;
-    private final TechDebtItemRepository techDebtItemRepository;
-    private final DependencyVulnerabilityRepository vulnerabilityRepository;
-    private final DependencyScanRepository dependencyScanRepository;
     private final HealthSnapshotRepository healthSnapshotRepository;
-    private final TeamMemberRepository teamMemberRepository;
+    private final HealthTrendService healthTrendService;
+    private final TeamMembershipCache teamMembershipCache;
+    private final ProjectMetricsRollupRepository rollupRepository;
+    private final ProjectMetricsRollupService rollupService;
 
     /**
      * Computes aggregated quality metrics for a single project.
@@ -57,6 +56,11 @@ public class MetricsService {
      * completed job, active tech debt item count, and open vulnerability count from
      * the latest dependency scan.</p>
      *
+     * <p>Totals are read from the project's {@link ProjectMetricsRollup} row, which the
+     * write paths keep up to date. If the project has no rollup row yet, it is rebuilt
+     * from the source tables first; when concurrent first reads race to create the row, the
+     * losing read uses the row the other one created.</p>
+     *
      * @param projectId the ID of the project whose metrics to compute
      * @return the aggregated project metrics as a response DTO
      * @throws EntityNotFoundException if the project is not found
@@ -66,55 +70,38 @@ public class MetricsService {
         log.debug("getProjectMetrics called with projectId={}", projectId);
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new EntityNotFoundException("Project not found"));
-        verifyTeamMembership(project.getTeam().getId());
-
-        Integer currentHealthScore = project.getHealthScore();
-        Integer previousHealthScore = null;
-        List<HealthSnapshot> snapshots = healthSnapshotRepository.findByProjectIdOrderByCapturedAtDesc(projectId);
-        if (snapshots.size() > 1) {
-            previousHealthScore = snapshots.get(1).getHealthScore();
-        }
-
-        List<QaJob> jobs = qaJobRepository.findByProjectIdOrderByCreatedAtDesc(projectId);
-        int totalJobs = jobs.size();
-        int totalFindings = jobs.stream()
-                .mapToInt(j -> j.getTotalFindings() != null ? j.getTotalFindings() : 0).sum();
-
-        int openCritical = 0;
-        int openHigh = 0;
-        var latestCompleted = jobs.stream()
-                .filter(j -> j.getStatus() == JobStatus.COMPLETED)
-                .findFirst();
-        if (latestCompleted.isPresent()) {
-            UUID latestJobId = latestCompleted.get().getId();
-            openCritical = (int) findingRepository.countByJobIdAndSeverityAndStatus(latestJobId, Severity.CRITICAL, FindingStatus.OPEN);
-            openHigh = (int) findingRepository.countByJobIdAndSeverityAndStatus(latestJobId, Severity.HIGH, FindingStatus.OPEN);
-        }
+        teamMembershipCache.verifyMember(project.getTeam().getId());
 
-        int techDebtItemCount = (int) techDebtItemRepository.countByProjectIdAndStatus(projectId, DebtStatus.IDENTIFIED)
-                + (int) techDebtItemRepository.countByProjectIdAndStatus(projectId, DebtStatus.PLANNED)
-                + (int) techDebtItemRepository.countByProjectIdAndStatus(projectId, DebtStatus.IN_PROGRESS);
+        ProjectMetricsRollup rollup = rollupRepository.findById(projectId)
+                .orElseGet(() -> rebuildRollup(projectId));
 
-        int openVulnerabilities = 0;
-        var latestScan = dependencyScanRepository.findFirstByProjectIdOrderByCreatedAtDesc(projectId);
-        if (latestScan.isPresent()) {
-            openVulnerabilities = (int) vulnerabilityRepository.countByScanIdAndStatus(latestScan.get().getId(), VulnerabilityStatus.OPEN);
-        }
-
-        log.info("Project metrics aggregated for projectId={}: healthScore={}, totalJobs={}, totalFindings={}, openCritical={}, openHigh={}", projectId, currentHealthScore, totalJobs, totalFindings, openCritical, openHigh);
+        Integer currentHealthScore = project.getHealthScore();
+        log.info("Project metrics aggregated for projectId={}: healthScore={}, totalJobs={}, totalFindings={}, openCritical={}, openHigh={}", projectId, currentHealthScore, rollup.getTotalJobs(), rollup.getTotalFindings(), rollup.getOpenCriticalFindings(), rollup.getOpenHighFindings());
         return new ProjectMetricsResponse(
-                projectId, project.getName(), currentHealthScore, previousHealthScore,
-                totalJobs, totalFindings, openCritical, openHigh,
-                techDebtItemCount, openVulnerabilities, project.getLastAuditAt()
+                projectId, project.getName(), currentHealthScore, rollup.getPreviousSnapshotScore(),
+                rollup.getTotalJobs(), rollup.getTotalFindings(),
+                rollup.getOpenCriticalFindings(), rollup.getOpenHighFindings(),
+                rollup.getActiveTechDebtItems(), rollup.getOpenVulnerabilities(), project.getLastAuditAt()
         );
     }
 
+    private ProjectMetricsRollup rebuildRollup(UUID projectId) {
+        try {
+            return rollupService.rebuildProject(projectId);
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Rollup for projectId={} was created concurrently, re-reading it", projectId);
+            return rollupRepository.findById(projectId).orElseThrow(() -> e);
+        }
+    }
+
     /**
      * Computes aggregated quality metrics across all non-archived projects in a team.
      *
      * <p>Metrics include total project count, total QA jobs, total findings, average
      * health score, count of projects below the health threshold (score &lt; 70), and
-     * open critical findings across all projects.</p>
+     * open critical findings from each project's latest completed job. All totals are
+     * computed by a single aggregate query, so the number of statements issued does not
+     * grow with the number of projects or jobs in the team.</p>
      *
      * @param teamId the ID of the team whose metrics to compute
      * @return the aggregated team metrics as a response DTO
@@ -122,34 +109,16 @@ public class MetricsService {
      */
     public TeamMetricsResponse getTeamMetrics(UUID teamId) {
         log.debug("getTeamMetrics called with teamId={}", teamId);
-        verifyTeamMembership(teamId);
-
-        List<Project> projects = projectRepository.findByTeamIdAndIsArchivedFalse(teamId);
-        int totalProjects = projects.size();
-        int totalJobs = 0;
-        int totalFindings = 0;
-        int openCriticalFindings = 0;
-
-        for (Project project : projects) {
-            List<QaJob> jobs = qaJobRepository.findByProjectIdOrderByCreatedAtDesc(project.getId());
-            totalJobs += jobs.size();
-            totalFindings += jobs.stream()
-                    .mapToInt(j -> j.getTotalFindings() != null ? j.getTotalFindings() : 0).sum();
-            var latestCompleted = jobs.stream()
-                    .filter(j -> j.getStatus() == JobStatus.COMPLETED)
-                    .findFirst();
-            if (latestCompleted.isPresent()) {
-                openCriticalFindings += (int) findingRepository.countByJobIdAndSeverityAndStatus(latestCompleted.get().getId(), Severity.CRITICAL, FindingStatus.OPEN);
-            }
-        }
-
-        double averageHealthScore = projects.stream()
-                .filter(p -> p.getHealthScore() != null)
-                .mapToInt(Project::getHealthScore)
-                .average().orElse(0.0);
+        teamMembershipCache.verifyMember(teamId);
 
-        int projectsBelowThreshold = (int) projects.stream()
-                .filter(p -> p.getHealthScore() != null && p.getHealthScore() < 70).count();
+        TeamMetricsAggregate aggregate = projectRepository.aggregateTeamMetrics(
+                teamId, Severity.CRITICAL, FindingStatus.OPEN, JobStatus.COMPLETED);
+        int totalProjects = toInt(aggregate.totalProjects());
+        int totalJobs = toInt(aggregate.totalJobs());
+        int totalFindings = toInt(aggregate.totalFindings());
+        int openCriticalFindings = toInt(aggregate.openCriticalFindings());
+        double averageHealthScore = aggregate.averageHealthScore() != null ? aggregate.averageHealthScore() : 0.0;
+        int projectsBelowThreshold = toInt(aggregate.projectsBelowThreshold());
 
         log.info("Team metrics aggregated for teamId={}: totalProjects={}, totalJobs={}, totalFindings={}, avgHealth={}, belowThreshold={}", teamId, totalProjects, totalJobs, totalFindings, averageHealthScore, projectsBelowThreshold);
         return new TeamMetricsResponse(
@@ -161,8 +130,10 @@ public class MetricsService {
     /**
      * Retrieves the health trend for a project over a specified number of days.
      *
-     * <p>Returns health snapshots captured within the given time window, sorted
-     * in ascending chronological order (oldest first) for trend visualization.</p>
+     * <p>Returns points in ascending chronological order (oldest first) for trend
+     * visualization. Short windows return the individual snapshots; longer windows return
+     * hourly, daily or weekly averages, chosen by {@link HealthTrendService} so the number of
+     * points stays bounded.</p>
      *
      * @param projectId the ID of the project whose health trend to retrieve
      * @param days the number of days to look back from the current instant
@@ -174,34 +145,37 @@ public class MetricsService {
         log.debug("getHealthTrend called with projectId={}, days={}", projectId, days);
         var project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new EntityNotFoundException("Project not found"));
-        verifyTeamMembership(project.getTeam().getId());
+        teamMembershipCache.verifyMember(project.getTeam().getId());
 
-        Instant cutoff = Instant.now().minus(days, ChronoUnit.DAYS);
-        return healthSnapshotRepository.findByProjectIdOrderByCapturedAtDesc(projectId).stream()
-                .filter(s -> s.getCapturedAt().isAfter(cutoff))
-                .sorted((a, b) -> a.getCapturedAt().compareTo(b.getCapturedAt()))
-                .map(this::mapSnapshotToResponse)
-                .toList();
+        Instant now = Instant.now();
+        return healthTrendService.trend(projectId, now.minus(days, ChronoUnit.DAYS), now);
     }
 
-    private HealthSnapshotResponse mapSnapshotToResponse(HealthSnapshot snapshot) {
-        return new HealthSnapshotResponse(
-                snapshot.getId(),
-                snapshot.getProject().getId(),
-                snapshot.getJob() != null ? snapshot.getJob().getId() : null,
-                snapshot.getHealthScore(),
-                snapshot.getFindingsBySeverity(),
-                snapshot.getTechDebtScore(),
-                snapshot.getDependencyScore(),
-                snapshot.getTestCoveragePercent(),
-                snapshot.getCapturedAt()
-        );
+    /**
+     * Lists the team's projects whose critical finding count rose over the past week.
+     *
+     * <p>Compares each non-archived project's latest snapshot of the last seven days with its
+     * latest snapshot of the seven days before, using the snapshots' typed severity counts. The
+     * comparison runs as a single SQL query. Projects with the largest increase come first.</p>
+     *
+     * @param teamId the ID of the team
+     * @return the regressed projects with their previous and current critical counts
+     * @throws AccessDeniedException if the current user is not a member of the team
+     */
+    public List<CriticalRegressionResponse> getCriticalRegressions(UUID teamId) {
+        log.debug("getCriticalRegressions called with teamId={}", teamId);
+        teamMembershipCache.verifyMember(teamId);
+
+        Instant now = Instant.now();
+        Instant weekAgo = now.minus(7, ChronoUnit.DAYS);
+        return healthSnapshotRepository.findCriticalRegressions(teamId, weekAgo.minus(7, ChronoUnit.DAYS), weekAgo, now)
+                .stream()
+                .map(row -> new CriticalRegressionResponse(row.projectId(), row.projectName(),
+                        row.previousCritical(), row.currentCritical()))
+                .toList();
     }
 
-    private void verifyTeamMembership(UUID teamId) {
-        UUID currentUserId = SecurityUtils.getCurrentUserId();
-        if (!teamMemberRepository.existsByTeamIdAndUserId(teamId, currentUserId)) {
-            throw new AccessDeniedException("Not a member of this team");
-        }
+    private static int toInt(Long value) {
+        return value != null ? value.intValue() : 0;
     }
 }
@@ -6,12 +6,10 @@ import com.codeops.dto.request.UpdatePersonaRequest;
 import com.codeops.dto.response.PageResponse;
 import com.codeops.dto.response.PersonaResponse;
 import com.codeops.entity.Persona;
-import com.codeops.entity.TeamMember;
 import com.codeops.entity.enums.AgentType;
 import com.codeops.entity.enums.Scope;
 import com.codeops.entity.enums.TeamRole;
 import com.codeops.repository.PersonaRepository;
-import com.codeops.repository.TeamMemberRepository;
 import com.codeops.repository.TeamRepository;
 import com.codeops.repository.UserRepository;
 import com.codeops.security.SecurityUtils;
@@ -54,7 +52,7 @@ public class PersonaService {
     private static final Logger log = LoggerFactory.getLogger(PersonaService.class);
 
     private final PersonaRepository personaRepository;
-    private final TeamMemberRepository teamMemberRepository;
+    private final TeamMembershipCache teamMembershipCache;
     private final UserRepository userRepository;
     private final TeamRepository teamRepository;
 
@@ -83,7 +81,7 @@ public class PersonaService {
             throw new IllegalArgumentException("teamId is required for TEAM scope personas");
         }
         if (request.scope() == Scope.TEAM) {
-            verifyTeamAdmin(request.teamId());
+            teamMembershipCache.verifyAdmin(request.teamId());
         }
         if (request.teamId() != null) {
             long count = personaRepository.findByTeamId(request.teamId()).size();
@@ -129,7 +127,7 @@ public class PersonaService {
         Persona persona = personaRepository.findById(personaId)
                 .orElseThrow(() -> new EntityNotFoundException("Persona not found"));
         if (persona.getTeam() != null) {
-            verifyTeamMembership(persona.getTeam().getId());
+            teamMembershipCache.verifyMember(persona.getTeam().getId());
         }
         return mapToResponse(persona);
     }
@@ -145,7 +143,7 @@ public class PersonaService {
     @Transactional(readOnly = true)
     public PageResponse<PersonaResponse> getPersonasForTeam(UUID teamId, Pageable pageable) {
         log.debug("getPersonasForTeam called with teamId={}", teamId);
-        verifyTeamMembership(teamId);
+        teamMembershipCache.verifyMember(teamId);
         Page<Persona> page = personaRepository.findByTeamId(teamId, pageable);
         List<PersonaResponse> content = page.getContent().stream()
                 .map(this::mapToResponse)
@@ -165,7 +163,7 @@ public class PersonaService {
     @Transactional(readOnly = true)
     public List<PersonaResponse> getPersonasByAgentType(UUID teamId, AgentType agentType) {
         log.debug("getPersonasByAgentType called with teamId={}, agentType={}", teamId, agentType);
-        verifyTeamMembership(teamId);
+        teamMembershipCache.verifyMember(teamId);
         return personaRepository.findByTeamIdAndAgentType(teamId, agentType).stream()
                 .map(this::mapToResponse)
                 .toList();
@@ -305,7 +303,7 @@ public class PersonaService {
         if (persona.getAgentType() == null || persona.getTeam() == null) {
             throw new IllegalArgumentException("Persona must have agentType and team to be set as default");
         }
-        verifyTeamAdmin(persona.getTeam().getId());
+        teamMembershipCache.verifyAdmin(persona.getTeam().getId());
         clearExistingDefault(persona.getTeam().getId(), persona.getAgentType());
         persona.setIsDefault(true);
         persona = personaRepository.save(persona);
@@ -326,7 +324,7 @@ public class PersonaService {
         Persona persona = personaRepository.findById(personaId)
                 .orElseThrow(() -> new EntityNotFoundException("Persona not found"));
         if (persona.getTeam() != null) {
-            verifyTeamAdmin(persona.getTeam().getId());
+            teamMembershipCache.verifyAdmin(persona.getTeam().getId());
         }
         persona.setIsDefault(false);
         persona = personaRepository.save(persona);
@@ -364,27 +362,11 @@ public class PersonaService {
         UUID currentUserId = SecurityUtils.getCurrentUserId();
         if (persona.getCreatedBy().getId().equals(currentUserId)) return;
         if (persona.getTeam() != null) {
-            var member = teamMemberRepository.findByTeamIdAndUserId(persona.getTeam().getId(), currentUserId);
-            if (member.isPresent() && (member.get().getRole() == TeamRole.OWNER || member.get().getRole() == TeamRole.ADMIN)) {
+            var role = teamMembershipCache.findRole(persona.getTeam().getId(), currentUserId);
+            if (role.isPresent() && (role.get() == TeamRole.OWNER || role.get() == TeamRole.ADMIN)) {
                 return;
             }
         }
         throw new AccessDeniedException("Not authorized to modify this persona");
     }
-
-    private void verifyTeamMembership(UUID teamId) {
-        UUID currentUserId = SecurityUtils.getCurrentUserId();
-        if (!teamMemberRepository.existsByTeamIdAndUserId(teamId, currentUserId)) {
-            throw new AccessDeniedException("Not a member of this team");
-        }
-    }
-
-    private void verifyTeamAdmin(UUID teamId) {
-        UUID currentUserId = SecurityUtils.getCurrentUserId();
-        TeamMember member = teamMemberRepository.findByTeamIdAndUserId(teamId, currentUserId)
-                .orElseThrow(() -> new AccessDeniedException("Not a member of this team"));
-        if (member.getRole() != TeamRole.OWNER && member.getRole() != TeamRole.ADMIN) {
-            throw new AccessDeniedException("Requires OWNER or ADMIN role");
-        }
-    }
 }
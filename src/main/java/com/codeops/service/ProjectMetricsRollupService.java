@@ -0,0 +1,301 @@
+package com.codeops.service;
+
+import com.codeops.entity.DependencyScan;
+import com.codeops.entity.HealthSnapshot;
+import com.codeops.entity.ProjectMetricsRollup;
+import com.codeops.entity.enums.DebtStatus;
+import com.codeops.entity.enums.FindingStatus;
+import com.codeops.entity.enums.JobStatus;
+import com.codeops.entity.enums.Severity;
+import com.codeops.entity.enums.VulnerabilityStatus;
+import com.codeops.repository.*;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Maintains the per-project {@link ProjectMetricsRollup} row that backs the project metrics
+ * endpoint.
+ *
+ * <p>Write paths in {@link QaJobService}, {@link FindingService}, {@link TechDebtService},
+ * {@link DependencyService} and {@link HealthMonitorService} call the {@code record*} and
+ * {@code adjust*} methods inside their own transactions. Each call is a single atomic
+ * {@code UPDATE} that applies a delta, so concurrent writers never lose increments. Counters
+ * that depend on "the latest completed job" or "the latest scan" are only adjusted when the
+ * affected job or scan is the one currently tracked by the rollup.</p>
+ *
+ * <p>Updates against a project that has no rollup row yet are no-ops. The row is created
+ * from source tables on first read via {@link #rebuildProject(UUID)}, and
+ * {@link #rebuildAll()} recomputes every project to repair any drift.</p>
+ *
+ * @see MetricsService
+ * @see ProjectMetricsRollupRepository
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class ProjectMetricsRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectMetricsRollupService.class);
+
+    static final Set<DebtStatus> ACTIVE_DEBT_STATUSES =
+            EnumSet.of(DebtStatus.IDENTIFIED, DebtStatus.PLANNED, DebtStatus.IN_PROGRESS);
+
+    private final ProjectMetricsRollupRepository rollupRepository;
+    private final ProjectRepository projectRepository;
+    private final QaJobRepository qaJobRepository;
+    private final FindingRepository findingRepository;
+    private final TechDebtItemRepository techDebtItemRepository;
+    private final DependencyScanRepository dependencyScanRepository;
+    private final DependencyVulnerabilityRepository vulnerabilityRepository;
+    private final HealthSnapshotRepository healthSnapshotRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Creates an empty rollup row for a newly created project.
+     *
+     * @param projectId the ID of the new project
+     */
+    public void initialize(UUID projectId) {
+        rollupRepository.save(ProjectMetricsRollup.builder()
+                .projectId(projectId)
+                .rebuiltAt(Instant.now())
+                .build());
+    }
+
+    /**
+     * Records that a new QA job was created for a project.
+     *
+     * @param projectId the ID of the job's project
+     */
+    public void recordJobCreated(UUID projectId) {
+        rollupRepository.adjustJobTotals(projectId, 1, 0);
+    }
+
+    /**
+     * Records an update to a QA job.
+     *
+     * <p>Applies the change in the job's finding total. When the job moves into or out of
+     * {@link JobStatus#COMPLETED}, the project's latest completed job and its open
+     * critical/high finding counts are re-resolved.</p>
+     *
+     * @param projectId             the ID of the job's project
+     * @param previousStatus        the job status before the update
+     * @param newStatus             the job status after the update
+     * @param previousTotalFindings the job's finding total before the update
+     * @param newTotalFindings      the job's finding total after the update
+     */
+    public void recordJobUpdated(UUID projectId, JobStatus previousStatus, JobStatus newStatus,
+                                 Integer previousTotalFindings, Integer newTotalFindings) {
+        int findingDelta = nullToZero(newTotalFindings) - nullToZero(previousTotalFindings);
+        if (findingDelta != 0) {
+            rollupRepository.adjustJobTotals(projectId, 0, findingDelta);
+        }
+        if (previousStatus != newStatus
+                && (previousStatus == JobStatus.COMPLETED || newStatus == JobStatus.COMPLETED)) {
+            refreshLatestCompletedJob(projectId);
+        }
+    }
+
+    /**
+     * Records the deletion of a QA job.
+     *
+     * @param projectId     the ID of the job's project
+     * @param status        the status of the deleted job
+     * @param totalFindings the finding total of the deleted job
+     */
+    public void recordJobDeleted(UUID projectId, JobStatus status, Integer totalFindings) {
+        rollupRepository.adjustJobTotals(projectId, -1, -nullToZero(totalFindings));
+        if (status == JobStatus.COMPLETED) {
+            refreshLatestCompletedJob(projectId);
+        }
+    }
+
+    /**
+     * Adjusts the open critical and high finding counts for a job. Has no effect unless the
+     * job is the project's latest completed job.
+     *
+     * @param projectId     the ID of the job's project
+     * @param jobId         the ID of the job the findings belong to
+     * @param criticalDelta the change in open critical findings
+     * @param highDelta     the change in open high findings
+     */
+    public void adjustOpenFindings(UUID projectId, UUID jobId, int criticalDelta, int highDelta) {
+        if (criticalDelta == 0 && highDelta == 0) return;
+        rollupRepository.adjustOpenFindings(projectId, jobId, criticalDelta, highDelta);
+    }
+
+    /**
+     * Adjusts the number of active tech debt items for a project.
+     *
+     * @param projectId the ID of the project
+     * @param delta     the change in active items
+     */
+    public void adjustActiveTechDebt(UUID projectId, int delta) {
+        if (delta == 0) return;
+        rollupRepository.adjustActiveTechDebt(projectId, delta);
+    }
+
+    /**
+     * Records a newly created dependency scan as the project's latest scan.
+     *
+     * @param projectId the ID of the project
+     * @param scanId    the ID of the new scan
+     */
+    public void recordScanCreated(UUID projectId, UUID scanId) {
+        rollupRepository.setLatestScan(projectId, scanId);
+    }
+
+    /**
+     * Adjusts the open vulnerability count for a scan. Has no effect unless the scan is the
+     * project's latest scan.
+     *
+     * @param projectId the ID of the scan's project
+     * @param scanId    the ID of the scan the vulnerabilities belong to
+     * @param delta     the change in open vulnerabilities
+     */
+    public void adjustOpenVulnerabilities(UUID projectId, UUID scanId, int delta) {
+        if (delta == 0) return;
+        rollupRepository.adjustOpenVulnerabilities(projectId, scanId, delta);
+    }
+
+    /**
+     * Records the health score of a newly captured snapshot, shifting the previous latest
+     * score into the "previous" slot.
+     *
+     * @param projectId the ID of the project
+     * @param score     the snapshot's health score
+     */
+    public void recordHealthSnapshot(UUID projectId, int score) {
+        rollupRepository.recordSnapshotScore(projectId, score);
+    }
+
+    /**
+     * Deletes the rollup row of a project that is being deleted.
+     *
+     * @param projectId the ID of the project
+     */
+    public void delete(UUID projectId) {
+        rollupRepository.deleteByProjectId(projectId);
+    }
+
+    /**
+     * Recomputes a project's rollup from the source tables in a new transaction and stores it.
+     *
+     * <p>Runs in its own transaction so it can be called from read-only metrics queries when
+     * a project has no rollup row yet.</p>
+     *
+     * @param projectId the ID of the project to rebuild
+     * @return the rebuilt rollup
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public ProjectMetricsRollup rebuildProject(UUID projectId) {
+        return rebuild(projectId);
+    }
+
+    /**
+     * Recomputes the rollup of every project, one transaction per project, repairing any
+     * drift between the rollup table and the source tables.
+     *
+     * @return the number of projects rebuilt
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int rebuildAll() {
+        List<UUID> projectIds = projectRepository.findAllIds();
+        log.info("Rebuilding project metrics rollup for {} projects", projectIds.size());
+        for (UUID projectId : projectIds) {
+            transactionTemplate.executeWithoutResult(status -> rebuild(projectId));
+        }
+        log.info("Project metrics rollup rebuilt for {} projects", projectIds.size());
+        return projectIds.size();
+    }
+
+    /**
+     * Builds the rollup of every project that does not have one yet, one transaction per project,
+     * so that readers which join the rollup table see real counts for older projects. A row
+     * created concurrently by another reader is left as it is.
+     *
+     * @return the number of rollups built
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int rebuildMissing() {
+        List<UUID> projectIds = projectRepository.findIdsWithoutMetricsRollup();
+        int rebuilt = 0;
+        for (UUID projectId : projectIds) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> rebuild(projectId));
+                rebuilt++;
+            } catch (DataIntegrityViolationException e) {
+                log.debug("Project metrics rollup for projectId={} was created concurrently", projectId);
+            }
+        }
+        if (rebuilt > 0) {
+            log.info("Project metrics rollup built for {} projects without one", rebuilt);
+        }
+        return rebuilt;
+    }
+
+    private ProjectMetricsRollup rebuild(UUID projectId) {
+        ProjectMetricsRollup rollup = rollupRepository.findById(projectId)
+                .orElseGet(() -> ProjectMetricsRollup.builder().projectId(projectId).build());
+
+        rollup.setTotalJobs((int) qaJobRepository.countByProjectId(projectId));
+        Long totalFindings = qaJobRepository.sumTotalFindingsByProjectId(projectId);
+        rollup.setTotalFindings(totalFindings != null ? totalFindings.intValue() : 0);
+
+        UUID latestJobId = findLatestCompletedJobId(projectId);
+        rollup.setLatestCompletedJobId(latestJobId);
+        rollup.setOpenCriticalFindings(countOpenFindings(latestJobId, Severity.CRITICAL));
+        rollup.setOpenHighFindings(countOpenFindings(latestJobId, Severity.HIGH));
+
+        rollup.setActiveTechDebtItems((int) techDebtItemRepository.countByProjectIdAndStatusIn(projectId, ACTIVE_DEBT_STATUSES));
+
+        var latestScan = dependencyScanRepository.findFirstByProjectIdOrderByCreatedAtDesc(projectId);
+        rollup.setLatestScanId(latestScan.map(DependencyScan::getId).orElse(null));
+        rollup.setOpenVulnerabilities(latestScan
+                .map(scan -> (int) vulnerabilityRepository.countByScanIdAndStatus(scan.getId(), VulnerabilityStatus.OPEN))
+                .orElse(0));
+
+        List<HealthSnapshot> snapshots = healthSnapshotRepository.findTop2ByProjectIdOrderByCapturedAtDesc(projectId);
+        rollup.setLatestSnapshotScore(!snapshots.isEmpty() ? snapshots.get(0).getHealthScore() : null);
+        rollup.setPreviousSnapshotScore(snapshots.size() > 1 ? snapshots.get(1).getHealthScore() : null);
+
+        rollup.setRebuiltAt(Instant.now());
+        rollup = rollupRepository.save(rollup);
+        log.debug("Project metrics rollup rebuilt for projectId={}", projectId);
+        return rollup;
+    }
+
+    private void refreshLatestCompletedJob(UUID projectId) {
+        UUID latestJobId = findLatestCompletedJobId(projectId);
+        rollupRepository.setLatestCompletedJob(projectId, latestJobId,
+                countOpenFindings(latestJobId, Severity.CRITICAL),
+                countOpenFindings(latestJobId, Severity.HIGH));
+    }
+
+    private UUID findLatestCompletedJobId(UUID projectId) {
+        List<UUID> ids = qaJobRepository.findIdsByProjectIdAndStatusNewestFirst(projectId, JobStatus.COMPLETED, Limit.of(1));
+        return ids.isEmpty() ? null : ids.get(0);
+    }
+
+    private int countOpenFindings(UUID jobId, Severity severity) {
+        if (jobId == null) return 0;
+        return (int) findingRepository.countByJobIdAndSeverityAndStatus(jobId, severity, FindingStatus.OPEN);
+    }
+
+    private static int nullToZero(Integer value) {
+        return value != null ? value : 0;
+    }
+}
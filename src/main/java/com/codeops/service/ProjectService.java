@@ -6,7 +6,6 @@ import com.codeops.dto.request.UpdateProjectRequest;
 import com.codeops.dto.response.PageResponse;
 import com.codeops.dto.response.ProjectResponse;
 import com.codeops.entity.Project;
-import com.codeops.entity.TeamMember;
 import com.codeops.entity.enums.TeamRole;
 import com.codeops.repository.*;
 import com.codeops.security.SecurityUtils;
@@ -52,7 +51,7 @@ public class ProjectService {
     private static final Logger log = LoggerFactory.getLogger(ProjectService.class);
 
     private final ProjectRepository projectRepository;
-    private final TeamMemberRepository teamMemberRepository;
+    private final TeamMembershipCache teamMembershipCache;
     private final UserRepository userRepository;
     private final TeamRepository teamRepository;
     private final GitHubConnectionRepository gitHubConnectionRepository;
@@ -68,10 +67,12 @@ public class ProjectService {
     private final DependencyVulnerabilityRepository dependencyVulnerabilityRepository;
     private final DependencyScanRepository dependencyScanRepository;
     private final HealthSnapshotRepository healthSnapshotRepository;
+    private final HealthSnapshotBucketRepository healthSnapshotBucketRepository;
     private final QaJobRepository qaJobRepository;
     private final HealthScheduleRepository healthScheduleRepository;
     private final ProjectDirectiveRepository projectDirectiveRepository;
     private final DirectiveRepository directiveRepository;
+    private final ProjectMetricsRollupService rollupService;
 
     /**
      * Creates a new project within the specified team.
@@ -92,7 +93,7 @@ public class ProjectService {
      */
     public ProjectResponse createProject(UUID teamId, CreateProjectRequest request) {
         log.debug("createProject called with teamId={}, name={}", teamId, request.name());
-        verifyTeamAdmin(teamId);
+        teamMembershipCache.verifyAdmin(teamId);
 
         long projectCount = projectRepository.countByTeamId(teamId);
         if (projectCount >= AppConstants.MAX_PROJECTS_PER_TEAM) {
@@ -125,6 +126,7 @@ public class ProjectService {
         }
 
         project = projectRepository.save(project);
+        rollupService.initialize(project.getId());
         log.info("Project created: projectId={}, teamId={}, name={}", project.getId(), teamId, project.getName());
         return mapToProjectResponse(project);
     }
@@ -142,7 +144,7 @@ public class ProjectService {
         log.debug("getProject called with projectId={}", projectId);
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new EntityNotFoundException("Project not found"));
-        verifyTeamMembership(project.getTeam().getId());
+        teamMembershipCache.verifyMember(project.getTeam().getId());
         return mapToProjectResponse(project);
     }
 
@@ -156,7 +158,7 @@ public class ProjectService {
     @Transactional(readOnly = true)
     public List<ProjectResponse> getProjectsForTeam(UUID teamId) {
         log.debug("getProjectsForTeam called with teamId={}", teamId);
-        verifyTeamMembership(teamId);
+        teamMembershipCache.verifyMember(teamId);
         return projectRepository.findByTeamIdAndIsArchivedFalse(teamId).stream()
                 .map(this::mapToProjectResponse)
                 .toList();
@@ -174,7 +176,7 @@ public class ProjectService {
     @Transactional(readOnly = true)
     public PageResponse<ProjectResponse> getAllProjectsForTeam(UUID teamId, boolean includeArchived, Pageable pageable) {
         log.debug("getAllProjectsForTeam called with teamId={}, includeArchived={}", teamId, includeArchived);
-        verifyTeamMembership(teamId);
+        teamMembershipCache.verifyMember(teamId);
         Page<Project> page = includeArchived
                 ? projectRepository.findByTeamId(teamId, pageable)
                 : projectRepository.findByTeamIdAndIsArchivedFalse(teamId, pageable);
@@ -202,7 +204,7 @@ public class ProjectService {
         log.debug("updateProject called with projectId={}", projectId);
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new EntityNotFoundException("Project not found"));
-        verifyTeamAdmin(project.getTeam().getId());
+        teamMembershipCache.verifyAdmin(project.getTeam().getId());
 
         if (request.name() != null) project.setName(request.name());
         if (request.description() != null) project.setDescription(request.description());
@@ -241,7 +243,7 @@ public class ProjectService {
         log.debug("archiveProject called with projectId={}", projectId);
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new EntityNotFoundException("Project not found"));
-        verifyTeamAdmin(project.getTeam().getId());
+        teamMembershipCache.verifyAdmin(project.getTeam().getId());
         project.setIsArchived(true);
         projectRepository.save(project);
         log.info("Project archived: projectId={}, name={}", projectId, project.getName());
@@ -258,7 +260,7 @@ public class ProjectService {
         log.debug("unarchiveProject called with projectId={}", projectId);
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new EntityNotFoundException("Project not found"));
-        verifyTeamAdmin(project.getTeam().getId());
+        teamMembershipCache.verifyAdmin(project.getTeam().getId());
         project.setIsArchived(false);
         projectRepository.save(project);
         log.info("Project unarchived: projectId={}, name={}", projectId, project.getName());
@@ -280,9 +282,8 @@ public class ProjectService {
                 .orElseThrow(() -> new EntityNotFoundException("Project not found"));
 
         UUID currentUserId = SecurityUtils.getCurrentUserId();
-        TeamMember member = teamMemberRepository.findByTeamIdAndUserId(project.getTeam().getId(), currentUserId)
-                .orElseThrow(() -> new AccessDeniedException("Not a member of this team"));
-        if (member.getRole() != TeamRole.OWNER) {
+        TeamRole role = teamMembershipCache.requireRole(project.getTeam().getId());
+        if (role != TeamRole.OWNER) {
             throw new AccessDeniedException("Only the team owner can delete projects");
         }
 
@@ -298,10 +299,12 @@ public class ProjectService {
         dependencyVulnerabilityRepository.deleteAllByProjectId(projectId);
         dependencyScanRepository.deleteAllByProjectId(projectId);
         healthSnapshotRepository.deleteAllByProjectId(projectId);
+        healthSnapshotBucketRepository.deleteAllByProjectId(projectId);
         qaJobRepository.deleteAllByProjectId(projectId);
         healthScheduleRepository.deleteAllByProjectId(projectId);
         projectDirectiveRepository.deleteAllByProjectId(projectId);
         directiveRepository.deleteAllByProjectId(projectId);
+        rollupService.delete(projectId);
         projectRepository.delete(project);
         log.info("Project deleted: projectId={}, name={}, deletedBy={}", projectId, project.getName(), currentUserId);
     }
@@ -368,20 +371,4 @@ public class ProjectService {
             return List.of();
         }
     }
-
-    private void verifyTeamMembership(UUID teamId) {
-        UUID currentUserId = SecurityUtils.getCurrentUserId();
-        if (!teamMemberRepository.existsByTeamIdAndUserId(teamId, currentUserId)) {
-            throw new AccessDeniedException("Not a member of this team");
-        }
-    }
-
-    private void verifyTeamAdmin(UUID teamId) {
-        UUID currentUserId = SecurityUtils.getCurrentUserId();
-        TeamMember member = teamMemberRepository.findByTeamIdAndUserId(teamId, currentUserId)
-                .orElseThrow(() -> new AccessDeniedException("Not a member of this team"));
-        if (member.getRole() != TeamRole.OWNER && member.getRole() != TeamRole.ADMIN) {
-            throw new AccessDeniedException("Requires OWNER or ADMIN role");
-        }
-    }
 }
@@ -1,20 +1,22 @@
 package com.codeops.service;
 
 import com.codeops.dto.request.CreateJobRequest;
+import com.codeops.dto.request.KeysetCursor;
 import com.codeops.dto.request.UpdateJobRequest;
+import com.codeops.dto.response.CursorPageResponse;
 import com.codeops.dto.response.JobResponse;
 import com.codeops.dto.response.JobSummaryResponse;
 import com.codeops.dto.response.PageResponse;
 import com.codeops.entity.QaJob;
-import com.codeops.entity.TeamMember;
 import com.codeops.entity.enums.JobStatus;
-import com.codeops.entity.enums.TeamRole;
+import com.codeops.exception.ValidationException;
 import com.codeops.repository.*;
 import com.codeops.security.SecurityUtils;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
@@ -30,7 +32,9 @@ import java.util.UUID;
  * <p>QA jobs represent automated quality analysis runs against a project's codebase.
  * Jobs progress through states: PENDING, RUNNING, COMPLETED, FAILED, or CANCELLED.
  * When a job completes with a health score, the associated project's health score
- * is automatically updated via {@link ProjectService#updateHealthScore(UUID, int)}.</p>
+ * is automatically updated via {@link ProjectService#updateHealthScore(UUID, int)}.
+ * Job creation, updates, and deletion are also recorded in the project's metrics
+ * rollup via {@link ProjectMetricsRollupService}.</p>
  *
  * <p>All operations enforce team membership requirements. Job deletion requires
  * admin or owner role on the project's team.</p>
@@ -51,8 +55,9 @@ public class QaJobService {
     private final FindingRepository findingRepository;
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
-    private final TeamMemberRepository teamMemberRepository;
+    private final TeamMembershipCache teamMembershipCache;
     private final ProjectService projectService;
+    private final ProjectMetricsRollupService rollupService;
 
     /**
      * Creates a new QA job for a project with initial PENDING status.
@@ -70,7 +75,7 @@ public class QaJobService {
         log.debug("createJob called with projectId={}, mode={}, name={}", request.projectId(), request.mode(), request.name());
         var project = projectRepository.findById(request.projectId())
                 .orElseThrow(() -> new EntityNotFoundException("Project not found"));
-        verifyTeamMembership(project.getTeam().getId());
+        teamMembershipCache.verifyMember(project.getTeam().getId());
 
         QaJob job = QaJob.builder()
                 .project(project)
@@ -89,6 +94,7 @@ public class QaJobService {
                 .build();
 
         job = qaJobRepository.save(job);
+        rollupService.recordJobCreated(project.getId());
         log.info("QA job created: jobId={}, projectId={}, mode={}, status={}", job.getId(), request.projectId(), request.mode(), job.getStatus());
         return mapToJobResponse(job);
     }
@@ -106,7 +112,7 @@ public class QaJobService {
         log.debug("getJob called with jobId={}", jobId);
         QaJob job = qaJobRepository.findById(jobId)
                 .orElseThrow(() -> new EntityNotFoundException("Job not found"));
-        verifyTeamMembership(job.getProject().getTeam().getId());
+        teamMembershipCache.verifyMember(job.getProject().getTeam().getId());
         return mapToJobResponse(job);
     }
 
@@ -124,7 +130,7 @@ public class QaJobService {
         log.debug("getJobsForProject called with projectId={}", projectId);
         var project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new EntityNotFoundException("Project not found"));
-        verifyTeamMembership(project.getTeam().getId());
+        teamMembershipCache.verifyMember(project.getTeam().getId());
 
         Page<QaJob> page = qaJobRepository.findByProjectId(projectId, pageable);
         List<JobSummaryResponse> content = page.getContent().stream()
@@ -134,6 +140,34 @@ public class QaJobService {
                 page.getTotalElements(), page.getTotalPages(), page.isLast());
     }
 
+    /**
+     * Retrieves a keyset-paginated list of job summaries for a project, newest first,
+     * without counting the total.
+     *
+     * @param projectId the ID of the project whose jobs to retrieve
+     * @param after the opaque cursor returned with the previous page, or blank for the first page
+     * @param size the maximum number of jobs to return
+     * @return a cursor page of job summary DTOs
+     * @throws EntityNotFoundException if the project is not found
+     * @throws AccessDeniedException if the current user is not a member of the project's team
+     * @throws ValidationException if the cursor is malformed
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<JobSummaryResponse> getJobsForProjectAfter(UUID projectId, String after, int size) {
+        log.debug("getJobsForProjectAfter called with projectId={}, size={}", projectId, size);
+        var project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new EntityNotFoundException("Project not found"));
+        teamMembershipCache.verifyMember(project.getTeam().getId());
+
+        KeysetCursor cursor = KeysetCursor.decode(after);
+        Limit limit = CursorPageResponse.fetchLimit(size);
+        List<QaJob> rows = cursor == null
+                ? qaJobRepository.findByProjectIdOrderByCreatedAtDescIdDesc(projectId, limit)
+                : qaJobRepository.findByProjectIdAfter(projectId, cursor.timestamp(), cursor.uuidId(), limit);
+        return CursorPageResponse.of(rows, size,
+                j -> KeysetCursor.encode(j.getCreatedAt(), j.getId()), this::mapToJobSummaryResponse);
+    }
+
     /**
      * Retrieves a paginated list of job summaries started by a specific user.
      *
@@ -170,9 +204,10 @@ public class QaJobService {
         log.debug("updateJob called with jobId={}", jobId);
         QaJob job = qaJobRepository.findById(jobId)
                 .orElseThrow(() -> new EntityNotFoundException("Job not found"));
-        verifyTeamMembership(job.getProject().getTeam().getId());
+        teamMembershipCache.verifyMember(job.getProject().getTeam().getId());
 
         JobStatus previousStatus = job.getStatus();
+        Integer previousTotalFindings = job.getTotalFindings();
 
         if (request.status() != null) job.setStatus(request.status());
         if (request.summaryMd() != null) job.setSummaryMd(request.summaryMd());
@@ -198,6 +233,8 @@ public class QaJobService {
         }
 
         job = qaJobRepository.save(job);
+        rollupService.recordJobUpdated(job.getProject().getId(), previousStatus, job.getStatus(),
+                previousTotalFindings, job.getTotalFindings());
         return mapToJobResponse(job);
     }
 
@@ -214,8 +251,9 @@ public class QaJobService {
         log.debug("deleteJob called with jobId={}", jobId);
         QaJob job = qaJobRepository.findById(jobId)
                 .orElseThrow(() -> new EntityNotFoundException("Job not found"));
-        verifyTeamAdmin(job.getProject().getTeam().getId());
+        teamMembershipCache.verifyAdmin(job.getProject().getTeam().getId());
         qaJobRepository.delete(job);
+        rollupService.recordJobDeleted(job.getProject().getId(), job.getStatus(), job.getTotalFindings());
         log.info("QA job deleted: jobId={}, projectId={}", jobId, job.getProject().getId());
     }
 
@@ -261,20 +299,4 @@ public class QaJobService {
                 job.getCreatedAt()
         );
     }
-
-    private void verifyTeamMembership(UUID teamId) {
-        UUID currentUserId = SecurityUtils.getCurrentUserId();
-        if (!teamMemberRepository.existsByTeamIdAndUserId(teamId, currentUserId)) {
-            throw new AccessDeniedException("Not a member of this team");
-        }
-    }
-
-    private void verifyTeamAdmin(UUID teamId) {
-        UUID currentUserId = SecurityUtils.getCurrentUserId();
-        TeamMember member = teamMemberRepository.findByTeamIdAndUserId(teamId, currentUserId)
-                .orElseThrow(() -> new AccessDeniedException("Not a member of this team"));
-        if (member.getRole() != TeamRole.OWNER && member.getRole() != TeamRole.ADMIN) {
-            throw new AccessDeniedException("Requires OWNER or ADMIN role");
-        }
-    }
 }
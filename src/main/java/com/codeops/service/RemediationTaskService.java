@@ -10,9 +10,7 @@ import com.codeops.entity.enums.TaskStatus;
 import com.codeops.repository.FindingRepository;
 import com.codeops.repository.QaJobRepository;
 import com.codeops.repository.RemediationTaskRepository;
-import com.codeops.repository.TeamMemberRepository;
 import com.codeops.repository.UserRepository;
-import com.codeops.security.SecurityUtils;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -26,7 +24,11 @@ import org.springframework.transaction.annotation.Transactional;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Manages remediation tasks that are created from QA job findings.
@@ -52,7 +54,7 @@ public class RemediationTaskService {
     private final RemediationTaskRepository remediationTaskRepository;
     private final QaJobRepository qaJobRepository;
     private final UserRepository userRepository;
-    private final TeamMemberRepository teamMemberRepository;
+    private final TeamMembershipCache teamMembershipCache;
     private final FindingRepository findingRepository;
     private final S3StorageService s3StorageService;
 
@@ -73,7 +75,7 @@ public class RemediationTaskService {
         log.debug("createTask called with jobId={}, title={}", request.jobId(), request.title());
         var job = qaJobRepository.findById(request.jobId())
                 .orElseThrow(() -> new EntityNotFoundException("Job not found"));
-        verifyTeamMembership(job.getProject().getTeam().getId());
+        teamMembershipCache.verifyMember(job.getProject().getTeam().getId());
 
         RemediationTask task = RemediationTask.builder()
                 .job(job)
@@ -117,8 +119,14 @@ public class RemediationTaskService {
 
         var job = qaJobRepository.findById(firstJobId)
                 .orElseThrow(() -> new EntityNotFoundException("Job not found"));
-        verifyTeamMembership(job.getProject().getTeam().getId());
+        teamMembershipCache.verifyMember(job.getProject().getTeam().getId());
 
+        Map<UUID, Finding> findingsById = findingRepository.findAllById(requests.stream()
+                        .filter(r -> r.findingIds() != null)
+                        .flatMap(r -> r.findingIds().stream())
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Finding::getId, Function.identity()));
         List<RemediationTask> tasks = requests.stream()
                 .map(request -> RemediationTask.builder()
                         .job(job)
@@ -127,7 +135,7 @@ public class RemediationTaskService {
                         .description(request.description())
                         .promptMd(request.promptMd())
                         .promptS3Key(request.promptS3Key())
-                        .findings(resolveFindingIds(request.findingIds()))
+                        .findings(selectFindings(findingsById, request.findingIds()))
                         .priority(request.priority())
                         .status(TaskStatus.PENDING)
                         .build())
@@ -150,9 +158,7 @@ public class RemediationTaskService {
     @Transactional(readOnly = true)
     public PageResponse<TaskResponse> getTasksForJob(UUID jobId, Pageable pageable) {
         log.debug("getTasksForJob called with jobId={}", jobId);
-        var job = qaJobRepository.findById(jobId)
-                .orElseThrow(() -> new EntityNotFoundException("Job not found"));
-        verifyTeamMembership(job.getProject().getTeam().getId());
+        verifyJobTeamMembership(jobId);
         Page<RemediationTask> page = remediationTaskRepository.findByJobId(jobId, pageable);
         List<TaskResponse> content = page.getContent().stream()
                 .map(this::mapToResponse)
@@ -172,9 +178,10 @@ public class RemediationTaskService {
     @Transactional(readOnly = true)
     public TaskResponse getTask(UUID taskId) {
         log.debug("getTask called with taskId={}", taskId);
+        teamMembershipCache.verifyMember(remediationTaskRepository.findTeamIdById(taskId)
+                .orElseThrow(() -> new EntityNotFoundException("Task not found")));
         RemediationTask task = remediationTaskRepository.findById(taskId)
                 .orElseThrow(() -> new EntityNotFoundException("Task not found"));
-        verifyTeamMembership(task.getJob().getProject().getTeam().getId());
         return mapToResponse(task);
     }
 
@@ -213,9 +220,10 @@ public class RemediationTaskService {
      */
     public TaskResponse updateTask(UUID taskId, UpdateTaskRequest request) {
         log.debug("updateTask called with taskId={}", taskId);
+        teamMembershipCache.verifyMember(remediationTaskRepository.findTeamIdById(taskId)
+                .orElseThrow(() -> new EntityNotFoundException("Task not found")));
         RemediationTask task = remediationTaskRepository.findById(taskId)
                 .orElseThrow(() -> new EntityNotFoundException("Task not found"));
-        verifyTeamMembership(task.getJob().getProject().getTeam().getId());
 
         TaskStatus oldStatus = task.getStatus();
         if (request.status() != null) task.setStatus(request.status());
@@ -279,15 +287,23 @@ public class RemediationTaskService {
         );
     }
 
+    private static List<Finding> selectFindings(Map<UUID, Finding> findingsById, List<UUID> findingIds) {
+        if (findingIds == null || findingIds.isEmpty()) return new ArrayList<>();
+        return findingIds.stream()
+                .distinct()
+                .map(findingsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
     private List<Finding> resolveFindingIds(List<UUID> findingIds) {
         if (findingIds == null || findingIds.isEmpty()) return new ArrayList<>();
         return new ArrayList<>(findingRepository.findAllById(findingIds));
     }
 
-    private void verifyTeamMembership(UUID teamId) {
-        UUID currentUserId = SecurityUtils.getCurrentUserId();
-        if (!teamMemberRepository.existsByTeamIdAndUserId(teamId, currentUserId)) {
-            throw new AccessDeniedException("Not a member of this team");
-        }
+    private void verifyJobTeamMembership(UUID jobId) {
+        UUID teamId = qaJobRepository.findTeamIdById(jobId)
+                .orElseThrow(() -> new EntityNotFoundException("Job not found"));
+        teamMembershipCache.verifyMember(teamId);
     }
 }
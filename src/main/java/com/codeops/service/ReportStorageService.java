@@ -1,15 +1,22 @@
 package com.codeops.service;
 
 import com.codeops.config.AppConstants;
+import com.codeops.dto.response.PresignedUrlResponse;
 import com.codeops.entity.AgentRun;
 import com.codeops.entity.enums.AgentType;
+import com.codeops.exception.NotFoundException;
 import com.codeops.repository.AgentRunRepository;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -20,6 +27,16 @@ import java.util.UUID;
  * switches between AWS S3 and local filesystem storage based on configuration. Reports
  * are stored as UTF-8 encoded markdown files organized by job ID and agent type.</p>
  *
+ * <p>Client uploads and downloads go through the stream-based methods, which copy the content
+ * between the HTTP request or response and storage without holding it in memory. Reports are
+ * limited to {@value AppConstants#MAX_REPORT_SIZE_MB} MB. Downloads can be limited to a byte range
+ * so that clients can resume interrupted transfers. Clients that can reach storage directly should
+ * prefer the presigned URLs from {@link #createDownloadUrl} and {@link #createSpecificationUploadUrl},
+ * which keep large transfers out of this application entirely.</p>
+ *
+ * <p>Reports, and specifications with a text-like content type, are stored compressed by
+ * {@link S3StorageService}; {@link #getStoredObject} reports the encoding.</p>
+ *
  * @see S3StorageService
  * @see ReportController
  * @see AgentRun
@@ -52,6 +69,27 @@ public class ReportStorageService {
         return key;
     }
 
+    /**
+     * Uploads an agent-specific markdown report from a stream.
+     *
+     * <p>The report is stored under the key pattern
+     * {@code reports/{jobId}/{agentType}-report.md}.</p>
+     *
+     * @param jobId the ID of the QA job this report belongs to
+     * @param agentType the type of agent that generated the report (used in the filename)
+     * @param content the UTF-8 markdown content; read to the end but not closed
+     * @param contentLength the length of the content in bytes, or {@code -1} if unknown
+     * @return the S3 key where the report was stored
+     * @throws IllegalArgumentException if the report exceeds {@value AppConstants#MAX_REPORT_SIZE_MB} MB
+     */
+    public String uploadReport(UUID jobId, AgentType agentType, InputStream content, long contentLength) {
+        log.debug("uploadReport called with jobId={}, agentType={}, contentLength={}", jobId, agentType, contentLength);
+        String key = AppConstants.S3_REPORTS + jobId + "/" + agentType.name().toLowerCase() + "-report.md";
+        s3StorageService.upload(key, limitReportSize(content, contentLength), contentLength, "text/markdown");
+        log.info("Uploaded report for jobId={}, agentType={}, key={}", jobId, agentType, key);
+        return key;
+    }
+
     /**
      * Uploads a summary report for a QA job as a markdown file.
      *
@@ -70,6 +108,25 @@ public class ReportStorageService {
         return key;
     }
 
+    /**
+     * Uploads a summary report for a QA job from a stream.
+     *
+     * <p>The summary is stored under the key pattern {@code reports/{jobId}/summary.md}.</p>
+     *
+     * @param jobId the ID of the QA job this summary belongs to
+     * @param content the UTF-8 markdown content; read to the end but not closed
+     * @param contentLength the length of the content in bytes, or {@code -1} if unknown
+     * @return the S3 key where the summary was stored
+     * @throws IllegalArgumentException if the report exceeds {@value AppConstants#MAX_REPORT_SIZE_MB} MB
+     */
+    public String uploadSummaryReport(UUID jobId, InputStream content, long contentLength) {
+        log.debug("uploadSummaryReport called with jobId={}, contentLength={}", jobId, contentLength);
+        String key = AppConstants.S3_REPORTS + jobId + "/summary.md";
+        s3StorageService.upload(key, limitReportSize(content, contentLength), contentLength, "text/markdown");
+        log.info("Uploaded summary report for jobId={}, key={}", jobId, key);
+        return key;
+    }
+
     /**
      * Downloads a report from storage and returns it as a UTF-8 string.
      *
@@ -128,6 +185,28 @@ public class ReportStorageService {
         return key;
     }
 
+    /**
+     * Uploads a specification file associated with a QA job from a file on disk, such as the
+     * temporary file of a multipart request.
+     *
+     * <p>The file is stored under the key pattern {@code specs/{jobId}/{fileName}}. Large files
+     * are uploaded to S3 in parallel parts; see {@link S3StorageService#upload(String, Path, String)}.</p>
+     *
+     * @param jobId the ID of the QA job this specification belongs to
+     * @param fileName the original filename of the specification
+     * @param file the file to upload; not modified or deleted
+     * @param contentType the MIME content type of the file
+     * @return the S3 key where the specification was stored
+     */
+    public String uploadSpecification(UUID jobId, String fileName, Path file, String contentType) {
+        log.debug("uploadSpecification called with jobId={}, fileName={}, contentType={}, file={}",
+                jobId, fileName, contentType, file);
+        String key = AppConstants.S3_SPECS + jobId + "/" + fileName;
+        s3StorageService.upload(key, file, contentType);
+        log.info("Uploaded specification for jobId={}, key={}", jobId, key);
+        return key;
+    }
+
     /**
      * Downloads a specification file from storage as raw bytes.
      *
@@ -139,4 +218,94 @@ public class ReportStorageService {
         log.debug("downloadSpecification called with s3Key={}", s3Key);
         return s3StorageService.download(s3Key);
     }
+
+    /**
+     * Returns the stored size and content encoding of a report or specification file.
+     *
+     * @param s3Key the storage key of the object
+     * @return the size in bytes as stored, and the content encoding it is stored with
+     * @throws NotFoundException if the object does not exist
+     */
+    public StoredObjectInfo getStoredObject(String s3Key) {
+        log.debug("getStoredObject called with s3Key={}", s3Key);
+        return s3StorageService.stat(s3Key);
+    }
+
+    /**
+     * Streams a stored report or specification file, decompressed if necessary, to the given
+     * output stream.
+     *
+     * @param s3Key the storage key of the object to download
+     * @param out the stream to write to; not closed
+     * @return the number of bytes written
+     * @throws RuntimeException if the download fails
+     */
+    public long download(String s3Key, OutputStream out) {
+        log.debug("download called with s3Key={}", s3Key);
+        return s3StorageService.download(s3Key, out);
+    }
+
+    /**
+     * Streams a byte range of a stored report or specification file, as stored, to the given
+     * output stream. The range of a compressed object is a range of its compressed bytes.
+     *
+     * @param s3Key the storage key of the object to download
+     * @param offset the first byte to write
+     * @param length the number of bytes to write
+     * @param out the stream to write to; not closed
+     * @return the number of bytes written
+     * @throws RuntimeException if the download fails
+     */
+    public long download(String s3Key, long offset, long length, OutputStream out) {
+        log.debug("download called with s3Key={}, offset={}, length={}", s3Key, offset, length);
+        return s3StorageService.download(s3Key, offset, length, out);
+    }
+
+    /**
+     * Creates a presigned URL from which a client can download a stored report or specification
+     * file directly from storage, valid for {@value AppConstants#PRESIGNED_URL_EXPIRY_MINUTES} minutes.
+     *
+     * @param s3Key the storage key of the object to download
+     * @return the key, the URL and its expiry time
+     */
+    public PresignedUrlResponse createDownloadUrl(String s3Key) {
+        log.debug("createDownloadUrl called with s3Key={}", s3Key);
+        Duration expiry = Duration.ofMinutes(AppConstants.PRESIGNED_URL_EXPIRY_MINUTES);
+        Instant expiresAt = Instant.now().plus(expiry);
+        return new PresignedUrlResponse(s3Key, s3StorageService.generatePresignedUrl(s3Key, expiry), expiresAt);
+    }
+
+    /**
+     * Creates a presigned URL to which a client can {@code PUT} a specification file directly,
+     * valid for {@value AppConstants#PRESIGNED_URL_EXPIRY_MINUTES} minutes.
+     *
+     * <p>The file will be stored under the key pattern {@code specs/{jobId}/{fileName}}; the
+     * upload must declare the given content type and size.</p>
+     *
+     * @param jobId the ID of the QA job this specification belongs to
+     * @param fileName the original filename of the specification
+     * @param contentType the MIME content type of the file
+     * @param size the size of the file in bytes
+     * @return the key the file will be stored under, the URL and its expiry time
+     */
+    public PresignedUrlResponse createSpecificationUploadUrl(UUID jobId, String fileName, String contentType,
+                                                             long size) {
+        log.debug("createSpecificationUploadUrl called with jobId={}, fileName={}, contentType={}, size={}",
+                jobId, fileName, contentType, size);
+        String key = AppConstants.S3_SPECS + jobId + "/" + fileName;
+        Duration expiry = Duration.ofMinutes(AppConstants.PRESIGNED_URL_EXPIRY_MINUTES);
+        Instant expiresAt = Instant.now().plus(expiry);
+        String url = s3StorageService.generatePresignedUploadUrl(key, contentType, size, expiry);
+        log.info("Created specification upload URL for jobId={}, key={}", jobId, key);
+        return new PresignedUrlResponse(key, url, expiresAt);
+    }
+
+    private static InputStream limitReportSize(InputStream content, long contentLength) {
+        long maxBytes = AppConstants.MAX_REPORT_SIZE_MB * 1024L * 1024L;
+        String message = "Report too large (max " + AppConstants.MAX_REPORT_SIZE_MB + "MB)";
+        if (contentLength > maxBytes) {
+            throw new IllegalArgumentException(message);
+        }
+        return contentLength >= 0 ? content : new SizeLimitedInputStream(content, maxBytes, message);
+    }
 }
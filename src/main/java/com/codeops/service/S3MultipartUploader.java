@@ -0,0 +1,237 @@
+package com.codeops.service;
+
+import com.codeops.config.AppConstants;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Uploads large files to S3 as multipart uploads, sending the parts in parallel.
+ *
+ * <p>The file is split into parts of {@value AppConstants#S3_MULTIPART_PART_SIZE_BYTES} bytes, which
+ * are uploaded concurrently on a shared pool of {@value AppConstants#S3_UPLOAD_THREADS} threads. That
+ * pool bounds the number of part uploads in flight across all uploads. Each part is read straight
+ * from its slice of the file with positional reads on one shared {@link FileChannel}, so no part is
+ * held in memory, and a part can be re-read if the SDK retries it.</p>
+ *
+ * <p>If any part fails, the remaining parts are cancelled and the multipart upload is aborted so
+ * that S3 discards the parts already stored. The object is only created once every part has
+ * succeeded.</p>
+ *
+ * @see S3StorageService#upload(String, Path, String)
+ */
+@Service
+@Slf4j
+public class S3MultipartUploader {
+
+    private final ExecutorService partExecutor;
+    private final long partSize;
+
+    /**
+     * Creates an uploader with its own bounded part upload pool.
+     */
+    @Autowired
+    public S3MultipartUploader() {
+        this(Executors.newFixedThreadPool(AppConstants.S3_UPLOAD_THREADS, partThreadFactory()),
+                AppConstants.S3_MULTIPART_PART_SIZE_BYTES);
+    }
+
+    S3MultipartUploader(ExecutorService partExecutor, long partSize) {
+        this.partExecutor = partExecutor;
+        this.partSize = partSize;
+    }
+
+    /**
+     * Uploads a file as a multipart upload.
+     *
+     * @param s3Client    the client to upload with
+     * @param bucket      the target bucket
+     * @param key         the object key
+     * @param file        the file to upload; must not change during the upload
+     * @param contentType the MIME content type of the object
+     * @return the number of parts uploaded
+     * @throws RuntimeException if the upload fails; the multipart upload has then been aborted
+     */
+    public int upload(S3Client s3Client, String bucket, String key, Path file, String contentType) {
+        return upload(s3Client, bucket, key, file, contentType, null);
+    }
+
+    /**
+     * Uploads a file of encoded content as a multipart upload, recording the encoding as the
+     * object's {@code Content-Encoding}.
+     *
+     * @param s3Client        the client to upload with
+     * @param bucket          the target bucket
+     * @param key             the object key
+     * @param file            the file to upload; must not change during the upload
+     * @param contentType     the MIME content type of the object
+     * @param contentEncoding the content encoding of the file, or {@code null} if unencoded
+     * @return the number of parts uploaded
+     * @throws RuntimeException if the upload fails; the multipart upload has then been aborted
+     */
+    public int upload(S3Client s3Client, String bucket, String key, Path file, String contentType,
+                      String contentEncoding) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            String uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .contentType(contentType)
+                    .contentEncoding(contentEncoding)
+                    .build()).uploadId();
+            List<Future<CompletedPart>> parts = new ArrayList<>();
+            try {
+                int partNumber = 1;
+                for (long offset = 0; offset < size || partNumber == 1; offset += partSize, partNumber++) {
+                    long length = Math.min(partSize, size - offset);
+                    int number = partNumber;
+                    long start = offset;
+                    parts.add(partExecutor.submit(() ->
+                            uploadPart(s3Client, bucket, key, uploadId, number, channel, start, length)));
+                }
+                List<CompletedPart> completed = new ArrayList<>(parts.size());
+                for (Future<CompletedPart> part : parts) {
+                    completed.add(part.get());
+                }
+                s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .uploadId(uploadId)
+                        .multipartUpload(CompletedMultipartUpload.builder().parts(completed).build())
+                        .build());
+                log.info("Multipart upload complete: bucket={}, key={}, size={}, parts={}",
+                        bucket, key, size, completed.size());
+                return completed.size();
+            } catch (Exception e) {
+                parts.forEach(part -> part.cancel(true));
+                abort(s3Client, bucket, key, uploadId);
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+                log.error("Multipart upload failed for key={}", key, cause);
+                throw new RuntimeException("Failed to upload to S3", cause);
+            }
+        } catch (IOException e) {
+            log.error("Failed to read upload source for key={}", key, e);
+            throw new RuntimeException("Failed to upload to S3", e);
+        }
+    }
+
+    /**
+     * Stops the part upload pool, letting in-flight parts finish.
+     */
+    @PreDestroy
+    public void shutdown() {
+        partExecutor.shutdown();
+        try {
+            if (!partExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+                partExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            partExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static CompletedPart uploadPart(S3Client s3Client, String bucket, String key, String uploadId,
+                                            int partNumber, FileChannel channel, long offset, long length) {
+        UploadPartRequest request = UploadPartRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .uploadId(uploadId)
+                .partNumber(partNumber)
+                .contentLength(length)
+                .build();
+        RequestBody body = RequestBody.fromContentProvider(
+                () -> new FileRangeInputStream(channel, offset, length), length, "application/octet-stream");
+        String eTag = s3Client.uploadPart(request, body).eTag();
+        log.debug("Uploaded part {} of key={}, offset={}, length={}", partNumber, key, offset, length);
+        return CompletedPart.builder().partNumber(partNumber).eTag(eTag).build();
+    }
+
+    private static void abort(S3Client s3Client, String bucket, String key, String uploadId) {
+        try {
+            s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .build());
+            log.warn("Aborted multipart upload for key={}", key);
+        } catch (RuntimeException e) {
+            log.error("Failed to abort multipart upload for key={}, uploadId={}", key, uploadId, e);
+        }
+    }
+
+    private static ThreadFactory partThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "codeops-s3-upload-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Reads one slice of a file with positional reads, leaving the channel's position untouched
+     * so that several slices can be read concurrently.
+     */
+    private static final class FileRangeInputStream extends InputStream {
+
+        private final FileChannel channel;
+        private final long end;
+        private long position;
+
+        FileRangeInputStream(FileChannel channel, long offset, long length) {
+            this.channel = channel;
+            this.position = offset;
+            this.end = offset + length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) == 1 ? single[0] & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) return 0;
+            if (position >= end) return -1;
+            int n = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, end - position)), position);
+            if (n < 0) return -1;
+            position += n;
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(Integer.MAX_VALUE, end - position);
+        }
+    }
+}
@@ -1,19 +1,31 @@
 package com.codeops.service;
 
+import com.codeops.config.AppConstants;
+import com.codeops.exception.NotFoundException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.time.Duration;
 
 /**
@@ -21,12 +33,26 @@ import java.time.Duration;
  *
  * <p>When {@code codeops.aws.s3.enabled} is {@code true} and an S3Client bean is available,
  * all operations target the configured S3 bucket. Otherwise, files are stored on the local
- * filesystem under {@code codeops.local-storage.path} (defaults to {@code ~/.codeops/storage/}).</p>
+ * filesystem under {@code codeops.local-storage.path} (defaults to {@code ~/.codeops/storage/})
+ * through {@link LocalStorageService}.</p>
  *
  * <p>This service is used as the storage backend by {@link ReportStorageService} and
- * {@link RemediationTaskService} for persisting reports, specifications, and task prompts.</p>
+ * {@link RemediationTaskService} for persisting reports, specifications, and task prompts.
+ * Besides the {@code byte[]} operations for small internal payloads, it offers stream-based
+ * {@link #upload(String, InputStream, long, String)} and {@link #download(String, OutputStream)}
+ * so that client uploads and downloads are copied through a fixed-size buffer instead of being
+ * held in memory. {@link #stat} and {@link #download(String, long, long, OutputStream)} serve
+ * byte ranges, for HTTP {@code Range} requests. {@link #generatePresignedUrl} and
+ * {@link #generatePresignedUploadUrl} let clients transfer objects directly to and from the
+ * backend instead.</p>
+ *
+ * <p>Text-like content is compressed on write and the encoding recorded with the object (see
+ * {@link StorageCompression}). {@code byte[]} and whole-stream downloads decompress it; ranged
+ * downloads return the stored bytes, so that they can be served with the object's
+ * {@code Content-Encoding}.</p>
  *
  * @see ReportStorageService
+ * @see LocalStorageService
  */
 @Service
 @Slf4j
@@ -38,18 +64,28 @@ public class S3StorageService {
     @Value("${codeops.aws.s3.bucket:codeops-dev}")
     private String bucket;
 
-    @Value("${codeops.local-storage.path:#{systemProperties['user.home']}/.codeops/storage}")
-    private String localStoragePath;
+    @Autowired
+    private LocalStorageService localStorage;
 
     @Autowired(required = false)
     private S3Client s3Client;
 
+    @Autowired
+    private S3MultipartUploader multipartUploader;
+
+    @Autowired(required = false)
+    private S3Presigner s3Presigner;
+
+    @Autowired
+    private LocalStorageUrlSigner urlSigner;
+
     /**
      * Uploads data to S3 or local filesystem storage.
      *
      * <p>When S3 is enabled, uploads to the configured bucket. When S3 is disabled,
      * writes the data to a file under the local storage path, creating any necessary
-     * parent directories.</p>
+     * parent directories. Compressible content is stored gzip-compressed; see
+     * {@link StorageCompression}.</p>
      *
      * @param key the storage key (used as the S3 object key or local file path relative to storage root)
      * @param data the raw byte content to upload
@@ -59,21 +95,22 @@ public class S3StorageService {
      */
     public String upload(String key, byte[] data, String contentType) {
         log.debug("upload called with key={}, contentType={}, dataSize={}", key, contentType, data.length);
+        String encoding = StorageCompression.encodingFor(contentType, data.length);
         if (s3Enabled && s3Client != null) {
+            byte[] stored = StorageCompression.encode(data, encoding);
             PutObjectRequest request = PutObjectRequest.builder()
                     .bucket(bucket)
                     .key(key)
                     .contentType(contentType)
+                    .contentEncoding(encoding)
                     .build();
-            s3Client.putObject(request, RequestBody.fromBytes(data));
-            log.info("Uploaded to S3: bucket={}, key={}, size={}", bucket, key, data.length);
+            s3Client.putObject(request, RequestBody.fromBytes(stored));
+            log.info("Uploaded to S3: bucket={}, key={}, size={}, storedSize={}", bucket, key, data.length, stored.length);
         } else {
             log.info("S3 disabled, using local fallback for upload key={}", key);
             try {
-                Path filePath = Paths.get(localStoragePath, key);
-                Files.createDirectories(filePath.getParent());
-                Files.write(filePath, data);
-                log.info("Uploaded to local storage: path={}, size={}", filePath, data.length);
+                localStorage.write(key, new ByteArrayInputStream(data), encoding);
+                log.info("Uploaded to local storage: key={}, size={}, contentEncoding={}", key, data.length, encoding);
             } catch (IOException e) {
                 log.error("Failed to write to local storage for key={}", key, e);
                 throw new RuntimeException("Failed to write to local storage", e);
@@ -83,13 +120,113 @@ public class S3StorageService {
     }
 
     /**
-     * Downloads data from S3 or local filesystem storage.
+     * Uploads the contents of a stream to S3 or local filesystem storage without buffering it in
+     * memory.
+     *
+     * <p>When S3 is enabled and the content is stored unencoded with a known length, the stream is
+     * sent as the request body directly. Otherwise the stream is first spooled, compressed if
+     * applicable, to a temporary file, because S3 requires the content length up front, and the
+     * file is uploaded as by {@link #upload(String, Path, String)}. When S3 is disabled, the
+     * stream is written to local storage atomically, so a failed copy leaves no partial file.
+     * Compressible content is stored gzip-compressed; see {@link StorageCompression}.</p>
+     *
+     * @param key the storage key (used as the S3 object key or local file path relative to storage root)
+     * @param data the content to upload; read to the end but not closed
+     * @param contentLength the number of bytes in {@code data}, or {@code -1} if unknown
+     * @param contentType the MIME content type of the data (used as S3 object metadata)
+     * @return the storage key that was written to
+     * @throws RuntimeException if reading the stream or writing to storage fails
+     */
+    public String upload(String key, InputStream data, long contentLength, String contentType) {
+        log.debug("upload called with key={}, contentType={}, contentLength={}", key, contentType, contentLength);
+        String encoding = StorageCompression.encodingFor(contentType, contentLength);
+        if (s3Enabled && s3Client != null) {
+            if (encoding == null && contentLength >= 0) {
+                PutObjectRequest request = PutObjectRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .contentType(contentType)
+                        .build();
+                s3Client.putObject(request, RequestBody.fromInputStream(data, contentLength));
+                log.info("Uploaded to S3: bucket={}, key={}, size={}", bucket, key, contentLength);
+            } else {
+                Path spool = null;
+                try {
+                    spool = spool(data, encoding);
+                    uploadStored(key, spool, contentType, encoding);
+                } catch (IOException e) {
+                    log.error("Failed to spool upload for key={}", key, e);
+                    throw new RuntimeException("Failed to upload to S3", e);
+                } finally {
+                    deleteQuietly(spool);
+                }
+            }
+        } else {
+            log.info("S3 disabled, using local fallback for upload key={}", key);
+            try {
+                long size = localStorage.write(key, data, encoding);
+                log.info("Uploaded to local storage: key={}, size={}, contentEncoding={}", key, size, encoding);
+            } catch (IOException e) {
+                log.error("Failed to write to local storage for key={}", key, e);
+                throw new RuntimeException("Failed to write to local storage", e);
+            }
+        }
+        return key;
+    }
+
+    /**
+     * Uploads a file to S3 or local filesystem storage without loading it into memory.
+     *
+     * <p>Compressible content is stored gzip-compressed (see {@link StorageCompression}); for S3
+     * it is first compressed to a temporary file. When S3 is enabled, files of at least
+     * {@value AppConstants#S3_MULTIPART_THRESHOLD_BYTES} bytes as stored are sent as a parallel
+     * multipart upload by {@link S3MultipartUploader}; smaller files are sent with a single
+     * {@code PutObject}. When S3 is disabled, the file is copied to local storage atomically.</p>
+     *
+     * @param key the storage key (used as the S3 object key or local file path relative to storage root)
+     * @param file the file to upload; not modified or deleted
+     * @param contentType the MIME content type of the file (used as S3 object metadata)
+     * @return the storage key that was written to
+     * @throws RuntimeException if reading the file or writing to storage fails
+     */
+    public String upload(String key, Path file, String contentType) {
+        log.debug("upload called with key={}, contentType={}, file={}", key, contentType, file);
+        Path spool = null;
+        try {
+            long size = Files.size(file);
+            String encoding = StorageCompression.encodingFor(contentType, size);
+            if (s3Enabled && s3Client != null) {
+                if (encoding != null) {
+                    try (InputStream in = Files.newInputStream(file)) {
+                        spool = spool(in, encoding);
+                    }
+                }
+                uploadStored(key, spool != null ? spool : file, contentType, encoding);
+            } else {
+                log.info("S3 disabled, using local fallback for upload key={}", key);
+                try (InputStream in = Files.newInputStream(file)) {
+                    localStorage.write(key, in, encoding);
+                }
+                log.info("Uploaded to local storage: key={}, size={}, contentEncoding={}", key, size, encoding);
+            }
+        } catch (IOException e) {
+            log.error("Failed to upload file for key={}", key, e);
+            throw new RuntimeException("Failed to upload " + key, e);
+        } finally {
+            deleteQuietly(spool);
+        }
+        return key;
+    }
+
+    /**
+     * Downloads and decodes data from S3 or local filesystem storage.
      *
      * <p>When S3 is enabled, retrieves the object from the configured bucket.
-     * When S3 is disabled, reads the file from the local storage path.</p>
+     * When S3 is disabled, reads the file from the local storage path. Compressed objects are
+     * decompressed.</p>
      *
      * @param key the storage key of the object to download
-     * @return the raw byte content of the stored object
+     * @return the byte content of the stored object
      * @throws RuntimeException if the download or file read fails
      */
     public byte[] download(String key) {
@@ -99,8 +236,8 @@ public class S3StorageService {
                     .bucket(bucket)
                     .key(key)
                     .build();
-            try {
-                byte[] data = s3Client.getObject(request).readAllBytes();
+            try (ResponseInputStream<GetObjectResponse> in = s3Client.getObject(request)) {
+                byte[] data = StorageCompression.decoder(in, in.response().contentEncoding()).readAllBytes();
                 log.info("Downloaded from S3: bucket={}, key={}, size={}", bucket, key, data.length);
                 return data;
             } catch (IOException e) {
@@ -110,7 +247,7 @@ public class S3StorageService {
         } else {
             log.info("S3 disabled, using local fallback for download key={}", key);
             try {
-                byte[] data = Files.readAllBytes(Paths.get(localStoragePath, key));
+                byte[] data = localStorage.read(key);
                 log.info("Downloaded from local storage: key={}, size={}", key, data.length);
                 return data;
             } catch (IOException e) {
@@ -120,6 +257,120 @@ public class S3StorageService {
         }
     }
 
+    /**
+     * Copies a stored object, decompressed if necessary, to the given stream without buffering it
+     * in memory.
+     *
+     * @param key the storage key of the object to download
+     * @param out the stream to write the object to; not closed
+     * @return the number of bytes written
+     * @throws NotFoundException if the object does not exist in local storage
+     * @throws RuntimeException if the object cannot be read or {@code out} cannot be written
+     * @see #download(String, long, long, OutputStream)
+     */
+    public long download(String key, OutputStream out) {
+        log.debug("download called with key={}", key);
+        if (s3Enabled && s3Client != null) {
+            GetObjectRequest request = GetObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .build();
+            try (ResponseInputStream<GetObjectResponse> in = s3Client.getObject(request)) {
+                long size = StorageCompression.decoder(in, in.response().contentEncoding()).transferTo(out);
+                log.info("Streamed from S3: bucket={}, key={}, size={}", bucket, key, size);
+                return size;
+            } catch (IOException e) {
+                log.error("Failed to stream from S3 for key={}", key, e);
+                throw new RuntimeException("Failed to download from S3", e);
+            }
+        } else {
+            log.info("S3 disabled, using local fallback for download key={}", key);
+            try {
+                long size = localStorage.copyTo(key, out);
+                log.info("Streamed from local storage: key={}, size={}", key, size);
+                return size;
+            } catch (IOException e) {
+                log.error("Failed to stream from local storage for key={}", key, e);
+                throw new RuntimeException("Failed to read from local storage", e);
+            }
+        }
+    }
+
+    /**
+     * Copies a byte range of a stored object, as stored, to the given stream without buffering
+     * it in memory. For a compressed object (see {@link #stat}) the range is a range of the
+     * compressed bytes, suitable for a response with the object's {@code Content-Encoding}.
+     *
+     * <p>When S3 is enabled, the range is requested with a {@code Range} header and the response
+     * stream is copied to {@code out}. When S3 is disabled, the range is transferred by
+     * {@link LocalStorageService#transferTo}.</p>
+     *
+     * @param key the storage key of the object to download
+     * @param offset the first byte to copy
+     * @param length the maximum number of bytes to copy; the range is cut at the end of the object
+     * @param out the stream to write to; not closed
+     * @return the number of bytes written
+     * @throws NotFoundException if the object does not exist in local storage
+     * @throws RuntimeException if the object cannot be read or {@code out} cannot be written
+     */
+    public long download(String key, long offset, long length, OutputStream out) {
+        log.debug("download called with key={}, offset={}, length={}", key, offset, length);
+        if (length <= 0) return 0;
+        if (s3Enabled && s3Client != null) {
+            GetObjectRequest.Builder request = GetObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(key);
+            if (offset > 0 || length < Long.MAX_VALUE) {
+                long last = length < Long.MAX_VALUE - offset ? offset + length - 1 : Long.MAX_VALUE;
+                request.range("bytes=" + offset + "-" + (last == Long.MAX_VALUE ? "" : last));
+            }
+            try (ResponseInputStream<GetObjectResponse> in = s3Client.getObject(request.build())) {
+                long size = in.transferTo(out);
+                log.info("Streamed from S3: bucket={}, key={}, offset={}, size={}", bucket, key, offset, size);
+                return size;
+            } catch (IOException e) {
+                log.error("Failed to stream from S3 for key={}", key, e);
+                throw new RuntimeException("Failed to download from S3", e);
+            }
+        } else {
+            log.info("S3 disabled, using local fallback for download key={}", key);
+            try {
+                long size = localStorage.transferTo(key, offset, length, out);
+                log.info("Streamed from local storage: key={}, offset={}, size={}", key, offset, size);
+                return size;
+            } catch (IOException e) {
+                log.error("Failed to stream from local storage for key={}", key, e);
+                throw new RuntimeException("Failed to read from local storage", e);
+            }
+        }
+    }
+
+    /**
+     * Returns the stored size and content encoding of an object.
+     *
+     * @param key the storage key of the object
+     * @return the size in bytes as stored, and the content encoding the object is stored with
+     * @throws NotFoundException if the object does not exist
+     * @throws RuntimeException if the object cannot be inspected
+     */
+    public StoredObjectInfo stat(String key) {
+        log.debug("stat called with key={}", key);
+        if (s3Enabled && s3Client != null) {
+            try {
+                HeadObjectResponse head = s3Client.headObject(HeadObjectRequest.builder().bucket(bucket).key(key).build());
+                return new StoredObjectInfo(head.contentLength(), head.contentEncoding());
+            } catch (NoSuchKeyException e) {
+                throw new NotFoundException("Stored object not found: " + key);
+            }
+        }
+        try {
+            return localStorage.stat(key);
+        } catch (IOException e) {
+            log.error("Failed to stat local storage for key={}", key, e);
+            throw new RuntimeException("Failed to read from local storage", e);
+        }
+    }
+
     /**
      * Deletes an object from S3 or local filesystem storage.
      *
@@ -141,7 +392,7 @@ public class S3StorageService {
         } else {
             log.info("S3 disabled, using local fallback for delete key={}", key);
             try {
-                Files.deleteIfExists(Paths.get(localStoragePath, key));
+                localStorage.delete(key);
                 log.info("Deleted from local storage: key={}", key);
             } catch (IOException e) {
                 log.error("Failed to delete from local storage for key={}", key, e);
@@ -151,24 +402,99 @@ public class S3StorageService {
     }
 
     /**
-     * Generates a presigned URL for temporary access to an object.
+     * Generates a presigned URL from which a client can download an object directly, without the
+     * transfer passing through this application.
      *
-     * <p>When S3 is enabled, returns an {@code s3://} URI (presigned URL generation
-     * with S3Presigner is not yet implemented). When S3 is disabled, returns a
-     * {@code local://} URI referencing the local storage key.</p>
+     * <p>When S3 is enabled, returns an S3 presigned GET URL. When S3 is disabled, returns a URL
+     * signed by {@link LocalStorageUrlSigner}, served by the local storage handler.</p>
      *
      * @param key the storage key of the object to generate a URL for
      * @param expiry the duration for which the presigned URL should be valid
-     * @return a URI string pointing to the stored object
+     * @return the presigned URL
+     * @throws IllegalStateException if S3 is enabled but no presigner is configured
      */
     public String generatePresignedUrl(String key, Duration expiry) {
         log.debug("generatePresignedUrl called with key={}, expiry={}", key, expiry);
         if (s3Enabled && s3Client != null) {
-            // For presigned URLs, would need S3Presigner — returning S3 URI for now
-            return "s3://" + bucket + "/" + key;
+            GetObjectPresignRequest request = GetObjectPresignRequest.builder()
+                    .signatureDuration(expiry)
+                    .getObjectRequest(get -> get.bucket(bucket).key(key))
+                    .build();
+            return presigner().presignGetObject(request).url().toString();
+        }
+        log.info("S3 disabled, signing local download URL for key={}", key);
+        return urlSigner.presignDownload(key, expiry);
+    }
+
+    /**
+     * Generates a presigned URL to which a client can upload an object directly with an HTTP
+     * {@code PUT}, without the transfer passing through this application.
+     *
+     * <p>The content type and length are part of the signature, so the upload must declare exactly
+     * the given {@code Content-Type} and {@code Content-Length}. When S3 is enabled, returns an S3
+     * presigned PUT URL; otherwise a URL signed by {@link LocalStorageUrlSigner}.</p>
+     *
+     * @param key the storage key to upload to
+     * @param contentType the MIME content type the upload must declare
+     * @param contentLength the length in bytes the upload must declare
+     * @param expiry the duration for which the presigned URL should be valid
+     * @return the presigned URL
+     * @throws IllegalStateException if S3 is enabled but no presigner is configured
+     */
+    public String generatePresignedUploadUrl(String key, String contentType, long contentLength, Duration expiry) {
+        log.debug("generatePresignedUploadUrl called with key={}, contentType={}, contentLength={}, expiry={}",
+                key, contentType, contentLength, expiry);
+        if (s3Enabled && s3Client != null) {
+            PutObjectPresignRequest request = PutObjectPresignRequest.builder()
+                    .signatureDuration(expiry)
+                    .putObjectRequest(put -> put.bucket(bucket).key(key).contentType(contentType)
+                            .contentLength(contentLength))
+                    .build();
+            return presigner().presignPutObject(request).url().toString();
+        }
+        log.info("S3 disabled, signing local upload URL for key={}", key);
+        return urlSigner.presignUpload(key, contentType, contentLength, expiry);
+    }
+
+    private S3Presigner presigner() {
+        if (s3Presigner == null) {
+            throw new IllegalStateException("S3 is enabled but no S3Presigner is configured");
+        }
+        return s3Presigner;
+    }
+
+    private void uploadStored(String key, Path file, String contentType, String encoding) throws IOException {
+        long size = Files.size(file);
+        if (size >= AppConstants.S3_MULTIPART_THRESHOLD_BYTES) {
+            multipartUploader.upload(s3Client, bucket, key, file, contentType, encoding);
         } else {
-            log.info("S3 disabled, returning local URI for key={}", key);
-            return "local://" + key;
+            s3Client.putObject(PutObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .contentType(contentType)
+                    .contentEncoding(encoding)
+                    .build(), RequestBody.fromFile(file));
+        }
+        log.info("Uploaded to S3: bucket={}, key={}, storedSize={}, contentEncoding={}", bucket, key, size, encoding);
+    }
+
+    private static Path spool(InputStream data, String encoding) throws IOException {
+        Path spool = Files.createTempFile("codeops-upload-", ".tmp");
+        try (OutputStream out = StorageCompression.encoder(Files.newOutputStream(spool), encoding)) {
+            data.transferTo(out);
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(spool);
+            throw e;
+        }
+        return spool;
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) return;
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete temporary file {}", path, e);
         }
     }
 }
@@ -0,0 +1,72 @@
+package com.codeops.service;
+
+import com.codeops.entity.HealthSnapshot;
+import com.codeops.entity.enums.Severity;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Finding counts per severity parsed from a health snapshot's {@code findingsBySeverity} JSON,
+ * e.g. {@code {"CRITICAL":1,"HIGH":3}}.
+ *
+ * <p>Keys are matched case-insensitively against {@link Severity}; unknown keys are ignored and
+ * missing, negative or non-numeric counts read as zero. Malformed JSON yields all zeros, so every
+ * snapshot ends up with typed counts.</p>
+ *
+ * @param critical the number of critical findings
+ * @param high     the number of high findings
+ * @param medium   the number of medium findings
+ * @param low      the number of low findings
+ */
+record SeverityCounts(int critical, int high, int medium, int low) {
+
+    static final SeverityCounts NONE = new SeverityCounts(0, 0, 0, 0);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * Parses a {@code findingsBySeverity} value.
+     *
+     * @param json the JSON object, or {@code null}
+     * @return the counts
+     */
+    static SeverityCounts parse(String json) {
+        if (json == null || json.isBlank()) return NONE;
+        JsonNode root;
+        try {
+            root = MAPPER.readTree(json);
+        } catch (JsonProcessingException e) {
+            return NONE;
+        }
+        if (root == null || !root.isObject()) return NONE;
+        int[] counts = new int[Severity.values().length];
+        for (Iterator<Map.Entry<String, JsonNode>> fields = root.fields(); fields.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            try {
+                Severity severity = Severity.valueOf(field.getKey().trim().toUpperCase(Locale.ROOT));
+                counts[severity.ordinal()] = Math.max(field.getValue().asInt(0), 0);
+            } catch (IllegalArgumentException ignored) {
+                // not a severity
+            }
+        }
+        return new SeverityCounts(counts[Severity.CRITICAL.ordinal()], counts[Severity.HIGH.ordinal()],
+                counts[Severity.MEDIUM.ordinal()], counts[Severity.LOW.ordinal()]);
+    }
+
+    /**
+     * Copies the counts onto a snapshot's typed columns.
+     *
+     * @param snapshot the snapshot to update
+     */
+    void applyTo(HealthSnapshot snapshot) {
+        snapshot.setCriticalCount(critical);
+        snapshot.setHighCount(high);
+        snapshot.setMediumCount(medium);
+        snapshot.setLowCount(low);
+    }
+}
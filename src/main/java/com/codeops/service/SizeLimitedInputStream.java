@@ -0,0 +1,62 @@
+package com.codeops.service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * An input stream that fails once more than a fixed number of bytes have been read from it, so
+ * an upload of undeclared length cannot exceed the size limit.
+ */
+final class SizeLimitedInputStream extends FilterInputStream {
+
+    private final long maxBytes;
+    private final String message;
+    private long count;
+
+    /**
+     * Wraps a stream.
+     *
+     * @param in       the stream to read from
+     * @param maxBytes the maximum number of bytes that may be read
+     * @param message  the message of the exception thrown when the limit is exceeded
+     */
+    SizeLimitedInputStream(InputStream in, long maxBytes, String message) {
+        super(in);
+        this.maxBytes = maxBytes;
+        this.message = message;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) count(1);
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = super.read(b, off, len);
+        if (n > 0) count(n);
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        count(skipped);
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private void count(long n) {
+        count += n;
+        if (count > maxBytes) {
+            throw new IllegalArgumentException(message);
+        }
+    }
+}
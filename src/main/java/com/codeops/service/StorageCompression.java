@@ -0,0 +1,97 @@
+package com.codeops.service;
+
+import com.codeops.config.AppConstants;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Chooses and applies the content encoding objects are stored with.
+ *
+ * <p>Text-like content (any {@code text/*} type, JSON, XML, YAML and NDJSON) of at least
+ * {@value AppConstants#STORAGE_COMPRESSION_MIN_BYTES} bytes is stored gzip-compressed; markdown
+ * reports typically shrink five- to tenfold. Everything else, such as PDFs, images and
+ * already-compressed archives, is stored as is. The encoding is recorded with the object, as
+ * {@code Content-Encoding} metadata in S3 and in the file name in {@link LocalStorageService}, so
+ * objects written before compression was introduced are still read correctly.</p>
+ *
+ * @see S3StorageService
+ */
+final class StorageCompression {
+
+    static final String GZIP = "gzip";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final Set<String> COMPRESSIBLE_TYPES = Set.of(
+            "application/json", "application/xml", "application/yaml", "application/x-yaml",
+            "application/x-ndjson", "image/svg+xml");
+
+    private StorageCompression() {}
+
+    /**
+     * Returns the encoding to store content of the given type and length with.
+     *
+     * @param contentType   the MIME content type, possibly with parameters
+     * @param contentLength the content length in bytes, or {@code -1} if unknown
+     * @return {@value #GZIP}, or {@code null} to store the content unencoded
+     */
+    static String encodingFor(String contentType, long contentLength) {
+        if (contentType == null) return null;
+        if (contentLength >= 0 && contentLength < AppConstants.STORAGE_COMPRESSION_MIN_BYTES) return null;
+        int semicolon = contentType.indexOf(';');
+        String type = (semicolon >= 0 ? contentType.substring(0, semicolon) : contentType)
+                .trim().toLowerCase(Locale.ROOT);
+        return type.startsWith("text/") || COMPRESSIBLE_TYPES.contains(type) ? GZIP : null;
+    }
+
+    /**
+     * Wraps a stream so that content written to it is stored with the given encoding. Closing the
+     * returned stream finishes the encoding and closes {@code out}.
+     *
+     * @param out      the stream receiving the stored bytes
+     * @param encoding the content encoding, or {@code null} for none
+     * @return the encoding stream
+     * @throws IOException if the encoder cannot be initialized
+     */
+    static OutputStream encoder(OutputStream out, String encoding) throws IOException {
+        return GZIP.equals(encoding) ? new GZIPOutputStream(out, BUFFER_SIZE) : out;
+    }
+
+    /**
+     * Wraps a stream of stored bytes so that it yields the decoded content. Encodings other than
+     * {@value #GZIP} are passed through unchanged.
+     *
+     * @param in       the stored bytes
+     * @param encoding the content encoding recorded with the object, or {@code null}
+     * @return the decoding stream
+     * @throws IOException if the stored bytes are not validly encoded
+     */
+    static InputStream decoder(InputStream in, String encoding) throws IOException {
+        return GZIP.equalsIgnoreCase(encoding) ? new GZIPInputStream(in, BUFFER_SIZE) : in;
+    }
+
+    /**
+     * Encodes content held in memory.
+     *
+     * @param data     the content
+     * @param encoding the content encoding, or {@code null} for none
+     * @return the stored bytes
+     */
+    static byte[] encode(byte[] data, String encoding) {
+        if (encoding == null) return data;
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(data.length / 4, 64));
+        try (OutputStream out = encoder(buffer, encoding)) {
+            out.write(data);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to compress content", e);
+        }
+        return buffer.toByteArray();
+    }
+}
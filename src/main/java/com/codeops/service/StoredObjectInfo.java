@@ -0,0 +1,11 @@
+package com.codeops.service;
+
+/**
+ * The stored size and content encoding of an object in storage.
+ *
+ * @param size            the number of bytes stored, after encoding
+ * @param contentEncoding the content encoding the object is stored with, or {@code null} if it is
+ *                        stored unencoded
+ * @see S3StorageService#stat
+ */
+public record StoredObjectInfo(long size, String contentEncoding) {}
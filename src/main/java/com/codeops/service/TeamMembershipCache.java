@@ -0,0 +1,246 @@
+package com.codeops.service;
+
+import com.codeops.config.AppConstants;
+import com.codeops.entity.TeamMember;
+import com.codeops.entity.enums.TeamRole;
+import com.codeops.repository.TeamMemberRepository;
+import com.codeops.security.SecurityUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Short-lived cache of team roles keyed by (team, user), shared by every service that performs
+ * team membership or team admin checks.
+ *
+ * <p>Nearly every service call verifies that the current user belongs to the target team, so
+ * without caching each request issues at least one {@code team_members} lookup before doing any
+ * real work. This cache stores the user's {@link TeamRole} (or the absence of a membership) for
+ * {@value AppConstants#TEAM_MEMBERSHIP_CACHE_TTL_SECONDS} seconds. {@link TeamService} evicts
+ * entries whenever it changes a membership, both immediately and again after the surrounding
+ * transaction commits, so role changes and removals take effect on this node at once and on other
+ * nodes within the TTL.</p>
+ *
+ * <p>A load that races with an eviction is not cached, so a lookup that read the old row before
+ * the writing transaction committed can never re-populate a stale entry. The cache holds at most
+ * {@value AppConstants#TEAM_MEMBERSHIP_CACHE_MAX_ENTRIES} entries; when full, expired entries are
+ * purged and, if it is still full, the cache is cleared. Hit and miss counts are exposed through
+ * {@link #hitCount()} and {@link #missCount()} and logged by the periodic sweep.</p>
+ *
+ * <p>{@link #verifyMember}, {@link #verifyAdmin} and {@link #requireRole} are the team
+ * authorization checks for the current user that services call before touching team data.</p>
+ *
+ * @see TeamService
+ */
+@Service
+public class TeamMembershipCache {
+
+    private static final Logger log = LoggerFactory.getLogger(TeamMembershipCache.class);
+
+    private record Key(UUID teamId, UUID userId) {}
+
+    private record Entry(Optional<TeamRole> role, long expiresAtNanos) {}
+
+    private final TeamMemberRepository teamMemberRepository;
+    private final LongSupplier nanoClock;
+    private final long ttlNanos;
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong evictionEpoch = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a cache backed by the team member repository, using the system nanosecond clock.
+     *
+     * @param teamMemberRepository repository used to load memberships on a cache miss
+     */
+    @Autowired
+    public TeamMembershipCache(TeamMemberRepository teamMemberRepository) {
+        this(teamMemberRepository, System::nanoTime);
+    }
+
+    TeamMembershipCache(TeamMemberRepository teamMemberRepository, LongSupplier nanoClock) {
+        this.teamMemberRepository = teamMemberRepository;
+        this.nanoClock = nanoClock;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(AppConstants.TEAM_MEMBERSHIP_CACHE_TTL_SECONDS);
+    }
+
+    /**
+     * Returns whether the user is a member of the team, with any role.
+     *
+     * @param teamId the team ID
+     * @param userId the user ID
+     * @return {@code true} if the user belongs to the team
+     */
+    public boolean isMember(UUID teamId, UUID userId) {
+        return findRole(teamId, userId).isPresent();
+    }
+
+    /**
+     * Returns the user's role in the team.
+     *
+     * @param teamId the team ID
+     * @param userId the user ID
+     * @return the role, or empty if the user is not a member of the team
+     */
+    public Optional<TeamRole> findRole(UUID teamId, UUID userId) {
+        Key key = new Key(teamId, userId);
+        long now = nanoClock.getAsLong();
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            if (entry.expiresAtNanos() - now > 0) {
+                hits.increment();
+                return entry.role();
+            }
+            entries.remove(key, entry);
+        }
+        misses.increment();
+
+        long epoch = evictionEpoch.get();
+        Optional<TeamRole> role = teamMemberRepository.findByTeamIdAndUserId(teamId, userId).map(TeamMember::getRole);
+        Entry loaded = new Entry(role, now + ttlNanos);
+        makeRoom(now);
+        entries.put(key, loaded);
+        if (evictionEpoch.get() != epoch) {
+            entries.remove(key, loaded);
+        }
+        return role;
+    }
+
+    /**
+     * Checks that the current user is a member of the team, with any role.
+     *
+     * @param teamId the team ID
+     * @throws AccessDeniedException if the current user is not a member of the team
+     */
+    public void verifyMember(UUID teamId) {
+        if (!isMember(teamId, SecurityUtils.getCurrentUserId())) {
+            throw new AccessDeniedException("Not a member of this team");
+        }
+    }
+
+    /**
+     * Checks that the current user is an owner or admin of the team.
+     *
+     * @param teamId the team ID
+     * @throws AccessDeniedException if the current user is not a member of the team or has a
+     *                               lesser role
+     */
+    public void verifyAdmin(UUID teamId) {
+        TeamRole role = requireRole(teamId);
+        if (role != TeamRole.OWNER && role != TeamRole.ADMIN) {
+            throw new AccessDeniedException("Requires OWNER or ADMIN role");
+        }
+    }
+
+    /**
+     * Returns the current user's role in the team.
+     *
+     * @param teamId the team ID
+     * @return the role
+     * @throws AccessDeniedException if the current user is not a member of the team
+     */
+    public TeamRole requireRole(UUID teamId) {
+        return findRole(teamId, SecurityUtils.getCurrentUserId())
+                .orElseThrow(() -> new AccessDeniedException("Not a member of this team"));
+    }
+
+    /**
+     * Evicts the cached membership of one user in one team. If a transaction is active, the entry
+     * is evicted again after it commits.
+     *
+     * @param teamId the team ID
+     * @param userId the user ID
+     */
+    public void evict(UUID teamId, UUID userId) {
+        Key key = new Key(teamId, userId);
+        runNowAndAfterCommit(() -> {
+            evictionEpoch.incrementAndGet();
+            entries.remove(key);
+        });
+    }
+
+    /**
+     * Evicts every cached membership of a team. If a transaction is active, the entries are
+     * evicted again after it commits.
+     *
+     * @param teamId the team ID
+     */
+    public void evictTeam(UUID teamId) {
+        runNowAndAfterCommit(() -> {
+            evictionEpoch.incrementAndGet();
+            entries.keySet().removeIf(key -> key.teamId().equals(teamId));
+        });
+    }
+
+    /**
+     * Removes expired entries and logs the cache statistics. Runs every minute.
+     *
+     * @return the number of entries removed
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public int evictExpired() {
+        long now = nanoClock.getAsLong();
+        int before = entries.size();
+        entries.values().removeIf(entry -> entry.expiresAtNanos() - now <= 0);
+        int evicted = Math.max(before - entries.size(), 0);
+        log.debug("Team membership cache: size={}, hits={}, misses={}, expired={}",
+                entries.size(), hits.sum(), misses.sum(), evicted);
+        return evicted;
+    }
+
+    /**
+     * Returns the number of lookups answered from the cache since startup.
+     *
+     * @return the hit count
+     */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups that had to query the database since startup.
+     *
+     * @return the miss count
+     */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void makeRoom(long now) {
+        if (entries.size() < AppConstants.TEAM_MEMBERSHIP_CACHE_MAX_ENTRIES) return;
+        entries.values().removeIf(entry -> entry.expiresAtNanos() - now <= 0);
+        if (entries.size() >= AppConstants.TEAM_MEMBERSHIP_CACHE_MAX_ENTRIES) {
+            entries.clear();
+        }
+    }
+
+    private static void runNowAndAfterCommit(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+}
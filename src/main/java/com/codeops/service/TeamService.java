@@ -42,7 +42,8 @@ import java.util.UUID;
  *
  * <p>Team membership is enforced via the {@link TeamMember} join entity, and
  * invitations are tracked through the {@link Invitation} entity with expiration
- * and status management.</p>
+ * and status management. Role checks go through {@link TeamMembershipCache}, and every
+ * membership change evicts the affected cache entries.</p>
  *
  * @see TeamController
  * @see Team
@@ -60,6 +61,7 @@ public class TeamService {
     private final TeamMemberRepository teamMemberRepository;
     private final UserRepository userRepository;
     private final InvitationRepository invitationRepository;
+    private final TeamMembershipCache teamMembershipCache;
 
     /**
      * Creates a new team and assigns the current user as OWNER.
@@ -92,6 +94,7 @@ public class TeamService {
                 .joinedAt(Instant.now())
                 .build();
         teamMemberRepository.save(member);
+        teamMembershipCache.evict(team.getId(), currentUserId);
 
         log.info("Team created: teamId={}, name={}, ownerId={}", team.getId(), team.getName(), currentUserId);
         return mapToTeamResponse(team);
@@ -110,7 +113,7 @@ public class TeamService {
         log.debug("getTeam called with teamId={}", teamId);
         Team team = teamRepository.findById(teamId)
                 .orElseThrow(() -> new EntityNotFoundException("Team not found"));
-        verifyTeamMembership(teamId);
+        teamMembershipCache.verifyMember(teamId);
         return mapToTeamResponse(team);
     }
 
@@ -144,7 +147,7 @@ public class TeamService {
         log.debug("updateTeam called with teamId={}", teamId);
         Team team = teamRepository.findById(teamId)
                 .orElseThrow(() -> new EntityNotFoundException("Team not found"));
-        verifyTeamAdmin(teamId);
+        teamMembershipCache.verifyAdmin(teamId);
 
         if (request.name() != null) {
             team.setName(request.name());
@@ -176,12 +179,13 @@ public class TeamService {
         Team team = teamRepository.findById(teamId)
                 .orElseThrow(() -> new EntityNotFoundException("Team not found"));
 
-        TeamRole currentRole = getCurrentUserTeamRole(teamId);
+        TeamRole currentRole = teamMembershipCache.requireRole(teamId);
         if (currentRole != TeamRole.OWNER) {
             throw new AccessDeniedException("Only the team owner can delete the team");
         }
 
         teamRepository.delete(team);
+        teamMembershipCache.evictTeam(teamId);
         log.info("Team deleted: teamId={}, name={}", teamId, team.getName());
     }
 
@@ -195,7 +199,7 @@ public class TeamService {
     @Transactional(readOnly = true)
     public List<TeamMemberResponse> getTeamMembers(UUID teamId) {
         log.debug("getTeamMembers called with teamId={}", teamId);
-        verifyTeamMembership(teamId);
+        teamMembershipCache.verifyMember(teamId);
         return teamMemberRepository.findByTeamId(teamId).stream()
                 .map(member -> mapToTeamMemberResponse(member, member.getUser()))
                 .toList();
@@ -221,7 +225,7 @@ public class TeamService {
      */
     public TeamMemberResponse updateMemberRole(UUID teamId, UUID userId, UpdateMemberRoleRequest request) {
         log.debug("updateMemberRole called with teamId={}, userId={}, newRole={}", teamId, userId, request.role());
-        verifyTeamAdmin(teamId);
+        teamMembershipCache.verifyAdmin(teamId);
 
         TeamMember member = teamMemberRepository.findByTeamIdAndUserId(teamId, userId)
                 .orElseThrow(() -> new EntityNotFoundException("Team member not found"));
@@ -233,7 +237,7 @@ public class TeamService {
         }
 
         if (request.role() == TeamRole.OWNER) {
-            TeamRole currentRole = getCurrentUserTeamRole(teamId);
+            TeamRole currentRole = teamMembershipCache.requireRole(teamId);
             if (currentRole != TeamRole.OWNER) {
                 throw new AccessDeniedException("Only the current owner can transfer ownership");
             }
@@ -242,6 +246,7 @@ public class TeamService {
                     .orElseThrow(() -> new EntityNotFoundException("Current user member not found"));
             currentOwnerMember.setRole(TeamRole.ADMIN);
             teamMemberRepository.save(currentOwnerMember);
+            teamMembershipCache.evict(teamId, currentUserId);
 
             Team team = teamRepository.findById(teamId)
                     .orElseThrow(() -> new EntityNotFoundException("Team not found"));
@@ -252,6 +257,7 @@ public class TeamService {
 
         member.setRole(request.role());
         member = teamMemberRepository.save(member);
+        teamMembershipCache.evict(teamId, userId);
         log.info("Member role changed: teamId={}, userId={}, previousRole={}, newRole={}", teamId, userId, previousRole, request.role());
         return mapToTeamMemberResponse(member, member.getUser());
     }
@@ -274,7 +280,7 @@ public class TeamService {
         boolean isSelfRemoval = currentUserId.equals(userId);
 
         if (!isSelfRemoval) {
-            verifyTeamAdmin(teamId);
+            teamMembershipCache.verifyAdmin(teamId);
         }
 
         TeamMember member = teamMemberRepository.findByTeamIdAndUserId(teamId, userId)
@@ -285,6 +291,7 @@ public class TeamService {
         }
 
         teamMemberRepository.delete(member);
+        teamMembershipCache.evict(teamId, userId);
         log.info("Member removed: teamId={}, userId={}, selfRemoval={}", teamId, userId, isSelfRemoval);
     }
 
@@ -307,7 +314,7 @@ public class TeamService {
      */
     public InvitationResponse inviteMember(UUID teamId, InviteMemberRequest request) {
         log.debug("inviteMember called with teamId={}, email={}, role={}", teamId, request.email(), request.role());
-        verifyTeamAdmin(teamId);
+        teamMembershipCache.verifyAdmin(teamId);
 
         long memberCount = teamMemberRepository.countByTeamId(teamId);
         if (memberCount >= AppConstants.MAX_TEAM_MEMBERS) {
@@ -392,6 +399,7 @@ public class TeamService {
                 .joinedAt(Instant.now())
                 .build();
         teamMemberRepository.save(member);
+        teamMembershipCache.evict(invitation.getTeam().getId(), currentUserId);
 
         invitation.setStatus(InvitationStatus.ACCEPTED);
         invitationRepository.save(invitation);
@@ -410,7 +418,7 @@ public class TeamService {
     @Transactional(readOnly = true)
     public List<InvitationResponse> getTeamInvitations(UUID teamId) {
         log.debug("getTeamInvitations called with teamId={}", teamId);
-        verifyTeamAdmin(teamId);
+        teamMembershipCache.verifyAdmin(teamId);
         return invitationRepository.findByTeamIdAndStatus(teamId, InvitationStatus.PENDING).stream()
                 .map(this::mapToInvitationResponse)
                 .toList();
@@ -427,7 +435,7 @@ public class TeamService {
         log.debug("cancelInvitation called with invitationId={}", invitationId);
         Invitation invitation = invitationRepository.findById(invitationId)
                 .orElseThrow(() -> new EntityNotFoundException("Invitation not found"));
-        verifyTeamAdmin(invitation.getTeam().getId());
+        teamMembershipCache.verifyAdmin(invitation.getTeam().getId());
         invitation.setStatus(InvitationStatus.EXPIRED);
         invitationRepository.save(invitation);
         log.info("Invitation cancelled: invitationId={}, teamId={}", invitationId, invitation.getTeam().getId());
@@ -471,25 +479,4 @@ public class TeamService {
                 inv.getCreatedAt()
         );
     }
-
-    private void verifyTeamMembership(UUID teamId) {
-        UUID currentUserId = SecurityUtils.getCurrentUserId();
-        if (!teamMemberRepository.existsByTeamIdAndUserId(teamId, currentUserId)) {
-            throw new AccessDeniedException("Not a member of this team");
-        }
-    }
-
-    private void verifyTeamAdmin(UUID teamId) {
-        TeamRole role = getCurrentUserTeamRole(teamId);
-        if (role != TeamRole.OWNER && role != TeamRole.ADMIN) {
-            throw new AccessDeniedException("Requires OWNER or ADMIN role");
-        }
-    }
-
-    private TeamRole getCurrentUserTeamRole(UUID teamId) {
-        UUID currentUserId = SecurityUtils.getCurrentUserId();
-        TeamMember member = teamMemberRepository.findByTeamIdAndUserId(teamId, currentUserId)
-                .orElseThrow(() -> new AccessDeniedException("Not a member of this team"));
-        return member.getRole();
-    }
 }
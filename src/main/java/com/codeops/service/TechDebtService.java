@@ -4,17 +4,14 @@ import com.codeops.dto.request.CreateTechDebtItemRequest;
 import com.codeops.dto.request.UpdateTechDebtStatusRequest;
 import com.codeops.dto.response.PageResponse;
 import com.codeops.dto.response.TechDebtItemResponse;
+import com.codeops.entity.QaJob;
 import com.codeops.entity.TechDebtItem;
-import com.codeops.entity.TeamMember;
 import com.codeops.entity.enums.BusinessImpact;
 import com.codeops.entity.enums.DebtStatus;
-import com.codeops.entity.enums.TeamRole;
 import com.codeops.repository.ProjectRepository;
 import com.codeops.repository.QaJobRepository;
 import com.codeops.repository.TechDebtItemRepository;
-import com.codeops.repository.TeamMemberRepository;
 import com.codeops.entity.enums.DebtCategory;
-import com.codeops.security.SecurityUtils;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -27,7 +24,10 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -53,8 +53,9 @@ public class TechDebtService {
 
     private final TechDebtItemRepository techDebtItemRepository;
     private final ProjectRepository projectRepository;
-    private final TeamMemberRepository teamMemberRepository;
+    private final TeamMembershipCache teamMembershipCache;
     private final QaJobRepository qaJobRepository;
+    private final ProjectMetricsRollupService rollupService;
 
     /**
      * Creates a single technical debt item for a project.
@@ -72,7 +73,7 @@ public class TechDebtService {
         log.debug("createTechDebtItem called with projectId={}, category={}", request.projectId(), request.category());
         var project = projectRepository.findById(request.projectId())
                 .orElseThrow(() -> new EntityNotFoundException("Project not found"));
-        verifyTeamMembership(project.getTeam().getId());
+        teamMembershipCache.verifyMember(project.getTeam().getId());
 
         TechDebtItem item = TechDebtItem.builder()
                 .project(project)
@@ -87,6 +88,7 @@ public class TechDebtService {
                 .build();
 
         item = techDebtItemRepository.save(item);
+        rollupService.adjustActiveTechDebt(project.getId(), 1);
         log.info("Created tech debt item id={} for projectId={}, category={}, impact={}", item.getId(), request.projectId(), request.category(), request.businessImpact());
         return mapToResponse(item);
     }
@@ -116,8 +118,9 @@ public class TechDebtService {
 
         var project = projectRepository.findById(firstProjectId)
                 .orElseThrow(() -> new EntityNotFoundException("Project not found"));
-        verifyTeamMembership(project.getTeam().getId());
+        teamMembershipCache.verifyMember(project.getTeam().getId());
 
+        Map<UUID, QaJob> jobsById = resolveJobs(requests);
         List<TechDebtItem> items = requests.stream()
                 .map(request -> TechDebtItem.builder()
                         .project(project)
@@ -128,11 +131,12 @@ public class TechDebtService {
                         .effortEstimate(request.effortEstimate())
                         .businessImpact(request.businessImpact())
                         .status(DebtStatus.IDENTIFIED)
-                        .firstDetectedJob(request.firstDetectedJobId() != null ? qaJobRepository.findById(request.firstDetectedJobId()).orElseThrow(() -> new EntityNotFoundException("Job not found")) : null)
+                        .firstDetectedJob(request.firstDetectedJobId() != null ? jobsById.get(request.firstDetectedJobId()) : null)
                         .build())
                 .toList();
 
         items = techDebtItemRepository.saveAll(items);
+        rollupService.adjustActiveTechDebt(project.getId(), items.size());
         log.info("Created {} tech debt items for projectId={}", items.size(), firstProjectId);
         return items.stream().map(this::mapToResponse).toList();
     }
@@ -150,7 +154,7 @@ public class TechDebtService {
         log.debug("getTechDebtItem called with itemId={}", itemId);
         TechDebtItem item = techDebtItemRepository.findById(itemId)
                 .orElseThrow(() -> new EntityNotFoundException("Tech debt item not found"));
-        verifyTeamMembership(item.getProject().getTeam().getId());
+        teamMembershipCache.verifyMember(item.getProject().getTeam().getId());
         return mapToResponse(item);
     }
 
@@ -168,7 +172,7 @@ public class TechDebtService {
         log.debug("getTechDebtForProject called with projectId={}", projectId);
         var project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new EntityNotFoundException("Project not found"));
-        verifyTeamMembership(project.getTeam().getId());
+        teamMembershipCache.verifyMember(project.getTeam().getId());
         Page<TechDebtItem> page = techDebtItemRepository.findByProjectId(projectId, pageable);
         List<TechDebtItemResponse> content = page.getContent().stream()
                 .map(this::mapToResponse)
@@ -192,7 +196,7 @@ public class TechDebtService {
         log.debug("getTechDebtByStatus called with projectId={}, status={}", projectId, status);
         var project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new EntityNotFoundException("Project not found"));
-        verifyTeamMembership(project.getTeam().getId());
+        teamMembershipCache.verifyMember(project.getTeam().getId());
         Page<TechDebtItem> page = techDebtItemRepository.findByProjectIdAndStatus(projectId, status, pageable);
         List<TechDebtItemResponse> content = page.getContent().stream()
                 .map(this::mapToResponse)
@@ -216,7 +220,7 @@ public class TechDebtService {
         log.debug("getTechDebtByCategory called with projectId={}, category={}", projectId, category);
         var project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new EntityNotFoundException("Project not found"));
-        verifyTeamMembership(project.getTeam().getId());
+        teamMembershipCache.verifyMember(project.getTeam().getId());
         Page<TechDebtItem> page = techDebtItemRepository.findByProjectIdAndCategory(projectId, category, pageable);
         List<TechDebtItemResponse> content = page.getContent().stream()
                 .map(this::mapToResponse)
@@ -241,7 +245,7 @@ public class TechDebtService {
         log.debug("updateTechDebtStatus called with itemId={}, newStatus={}", itemId, request.status());
         TechDebtItem item = techDebtItemRepository.findById(itemId)
                 .orElseThrow(() -> new EntityNotFoundException("Tech debt item not found"));
-        verifyTeamMembership(item.getProject().getTeam().getId());
+        teamMembershipCache.verifyMember(item.getProject().getTeam().getId());
 
         DebtStatus oldStatus = item.getStatus();
         item.setStatus(request.status());
@@ -250,6 +254,7 @@ public class TechDebtService {
         }
 
         item = techDebtItemRepository.save(item);
+        rollupService.adjustActiveTechDebt(item.getProject().getId(), activeCount(request.status()) - activeCount(oldStatus));
         log.info("Updated tech debt item id={} status from {} to {}", itemId, oldStatus, request.status());
         return mapToResponse(item);
     }
@@ -267,8 +272,9 @@ public class TechDebtService {
         log.debug("deleteTechDebtItem called with itemId={}", itemId);
         TechDebtItem item = techDebtItemRepository.findById(itemId)
                 .orElseThrow(() -> new EntityNotFoundException("Tech debt item not found"));
-        verifyTeamAdmin(item.getProject().getTeam().getId());
+        teamMembershipCache.verifyAdmin(item.getProject().getTeam().getId());
         techDebtItemRepository.delete(item);
+        rollupService.adjustActiveTechDebt(item.getProject().getId(), -activeCount(item.getStatus()));
         log.info("Deleted tech debt item id={}", itemId);
     }
 
@@ -294,7 +300,7 @@ public class TechDebtService {
         log.debug("getDebtSummary called with projectId={}", projectId);
         var project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new EntityNotFoundException("Project not found"));
-        verifyTeamMembership(project.getTeam().getId());
+        teamMembershipCache.verifyMember(project.getTeam().getId());
 
         List<TechDebtItem> items = techDebtItemRepository.findByProjectId(projectId);
         Map<DebtCategory, Long> byCategory = items.stream()
@@ -326,19 +332,21 @@ public class TechDebtService {
         );
     }
 
-    private void verifyTeamMembership(UUID teamId) {
-        UUID currentUserId = SecurityUtils.getCurrentUserId();
-        if (!teamMemberRepository.existsByTeamIdAndUserId(teamId, currentUserId)) {
-            throw new AccessDeniedException("Not a member of this team");
+    private Map<UUID, QaJob> resolveJobs(List<CreateTechDebtItemRequest> requests) {
+        Set<UUID> jobIds = requests.stream()
+                .map(CreateTechDebtItemRequest::firstDetectedJobId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (jobIds.isEmpty()) return Map.of();
+        Map<UUID, QaJob> jobsById = qaJobRepository.findAllById(jobIds).stream()
+                .collect(Collectors.toMap(QaJob::getId, Function.identity()));
+        if (jobsById.size() != jobIds.size()) {
+            throw new EntityNotFoundException("Job not found");
         }
+        return jobsById;
     }
 
-    private void verifyTeamAdmin(UUID teamId) {
-        UUID currentUserId = SecurityUtils.getCurrentUserId();
-        TeamMember member = teamMemberRepository.findByTeamIdAndUserId(teamId, currentUserId)
-                .orElseThrow(() -> new AccessDeniedException("Not a member of this team"));
-        if (member.getRole() != TeamRole.OWNER && member.getRole() != TeamRole.ADMIN) {
-            throw new AccessDeniedException("Requires OWNER or ADMIN role");
-        }
+    private static int activeCount(DebtStatus status) {
+        return ProjectMetricsRollupService.ACTIVE_DEBT_STATUSES.contains(status) ? 1 : 0;
     }
 }
@@ -1,50 +1,95 @@
 package com.codeops.service;
 
+import com.codeops.config.AppConstants;
+import com.codeops.entity.RevokedToken;
+import com.codeops.repository.RevokedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 /**
- * Maintains an in-memory blacklist of revoked JWT token identifiers (JTI claims).
+ * Maintains the blacklist of revoked JWT token identifiers (JTI claims).
  *
- * <p>Blacklisted tokens are stored in a thread-safe {@link ConcurrentHashMap} key set.
- * This service is consulted during JWT authentication to reject tokens that have been
- * explicitly invalidated (e.g., on user logout).</p>
+ * <p>Revocations are persisted to the {@code revoked_tokens} table so they survive restarts
+ * and are visible to every node. Each node keeps an in-memory copy of the unexpired
+ * revocations, so the per-request {@link #isBlacklisted(String)} check is a single hash lookup
+ * and never touches the database. The copy is loaded at startup and refreshed every
+ * {@value AppConstants#TOKEN_BLACKLIST_SYNC_INTERVAL_MS}ms by polling for rows revoked since
+ * the previous sync.</p>
  *
- * <p><strong>Note:</strong> The blacklist is stored in memory only and is not persisted.
- * All blacklisted tokens are lost on application restart. The {@code expiry} parameter
- * is accepted but not currently used for automatic cleanup.</p>
+ * <p>Entries are grouped into one-minute buckets by token expiration. Once a bucket's tokens
+ * have all expired, the whole bucket is dropped from memory, and expired rows are deleted from
+ * the database, so the blacklist only ever holds tokens that could still be presented.</p>
  *
  * @see com.codeops.security.JwtAuthFilter
  * @see AuthController
  */
 @Service
+@RequiredArgsConstructor
 public class TokenBlacklistService {
 
     private static final Logger log = LoggerFactory.getLogger(TokenBlacklistService.class);
 
-    private final ConcurrentHashMap.KeySetView<String, Boolean> blacklistedTokens = ConcurrentHashMap.newKeySet();
+    private static final long BUCKET_SECONDS = 60;
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(30);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    private final ConcurrentHashMap<String, Long> bucketByJti = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, Set<String>> jtisByBucket = new ConcurrentSkipListMap<>();
+    private volatile Instant lastSyncedAt = Instant.EPOCH;
 
     /**
-     * Adds a JWT token identifier to the blacklist.
+     * Loads all unexpired revocations from the database. Invoked automatically after
+     * dependency injection.
+     */
+    @PostConstruct
+    public void loadRevokedTokens() {
+        Instant now = Instant.now();
+        List<RevokedToken> tokens = revokedTokenRepository.findByExpiresAtAfter(now);
+        tokens.forEach(token -> remember(token.getJti(), token.getExpiresAt(), now));
+        lastSyncedAt = now;
+        log.info("Token blacklist loaded: {} revoked tokens", tokens.size());
+    }
+
+    /**
+     * Revokes a JWT token identifier until the token's expiration.
      *
-     * <p>If the provided JTI is {@code null}, the call is silently ignored.
-     * The {@code expiry} parameter is accepted for future use but is not currently
-     * used for automatic eviction.</p>
+     * <p>If the provided JTI is {@code null}, the call is silently ignored. A {@code null}
+     * expiry is treated as the longest token lifetime ({@value AppConstants#REFRESH_TOKEN_EXPIRY_DAYS}
+     * days). Tokens that have already expired are not recorded.</p>
      *
      * @param jti the JWT ID (jti claim) to blacklist, or {@code null} to no-op
-     * @param expiry the token's original expiration time (currently unused)
+     * @param expiry the token's original expiration time
      */
+    @Transactional
     public void blacklist(String jti, Instant expiry) {
-        if (jti != null) {
-            blacklistedTokens.add(jti);
-            log.info("Token blacklisted: jti={}, expiry={}, totalBlacklisted={}", jti, expiry, blacklistedTokens.size());
-        } else {
+        if (jti == null) {
             log.warn("blacklist called with null jti, ignoring");
+            return;
+        }
+        Instant now = Instant.now();
+        Instant expiresAt = expiry != null ? expiry : now.plus(AppConstants.REFRESH_TOKEN_EXPIRY_DAYS, ChronoUnit.DAYS);
+        if (!expiresAt.isAfter(now)) {
+            log.debug("Token already expired, not blacklisted: jti={}", jti);
+            return;
         }
+        remember(jti, expiresAt, now);
+        revokedTokenRepository.save(RevokedToken.builder().jti(jti).expiresAt(expiresAt).revokedAt(now).build());
+        log.info("Token blacklisted: jti={}, expiry={}, totalBlacklisted={}", jti, expiresAt, bucketByJti.size());
     }
 
     /**
@@ -54,10 +99,71 @@ public class TokenBlacklistService {
      * @return {@code true} if the JTI is non-null and has been blacklisted; {@code false} otherwise
      */
     public boolean isBlacklisted(String jti) {
-        boolean result = jti != null && blacklistedTokens.contains(jti);
+        boolean result = jti != null && bucketByJti.containsKey(jti);
         if (result) {
             log.debug("Token is blacklisted: jti={}", jti);
         }
         return result;
     }
+
+    /**
+     * Pulls revocations made on other nodes since the previous sync. The query window overlaps
+     * the previous one by {@code SYNC_OVERLAP} to tolerate clock skew and late commits; adding a
+     * JTI that is already present is a no-op.
+     */
+    @Scheduled(fixedDelay = AppConstants.TOKEN_BLACKLIST_SYNC_INTERVAL_MS)
+    public void syncFromDatabase() {
+        Instant now = Instant.now();
+        List<RevokedToken> tokens = revokedTokenRepository
+                .findByRevokedAtAfterAndExpiresAtAfter(lastSyncedAt.minus(SYNC_OVERLAP), now);
+        tokens.forEach(token -> remember(token.getJti(), token.getExpiresAt(), now));
+        lastSyncedAt = now;
+        if (!tokens.isEmpty()) {
+            log.debug("Token blacklist synced: {} recent revocations", tokens.size());
+        }
+    }
+
+    /**
+     * Drops expired revocations from memory and from the database.
+     */
+    @Scheduled(fixedRate = AppConstants.TOKEN_BLACKLIST_PURGE_INTERVAL_MS)
+    @Transactional
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        int evicted = evictExpired(now);
+        int deleted = revokedTokenRepository.deleteExpired(now);
+        log.info("Token blacklist purged: evicted={}, deleted={}, remaining={}", evicted, deleted, bucketByJti.size());
+    }
+
+    /**
+     * Removes the in-memory buckets whose tokens have all expired.
+     *
+     * @param now the current time
+     * @return the number of JTIs removed
+     */
+    int evictExpired(Instant now) {
+        Map<Long, Set<String>> expired = jtisByBucket.headMap(now.getEpochSecond() / BUCKET_SECONDS, true);
+        int evicted = 0;
+        for (Map.Entry<Long, Set<String>> bucket : expired.entrySet()) {
+            for (String jti : bucket.getValue()) {
+                if (bucketByJti.remove(jti, bucket.getKey())) {
+                    evicted++;
+                }
+            }
+            jtisByBucket.remove(bucket.getKey(), bucket.getValue());
+        }
+        return evicted;
+    }
+
+    int size() {
+        return bucketByJti.size();
+    }
+
+    private void remember(String jti, Instant expiresAt, Instant now) {
+        if (!expiresAt.isAfter(now)) return;
+        // Round up so a bucket is only dropped once every token in it has expired.
+        long bucket = Math.ceilDiv(expiresAt.getEpochSecond(), BUCKET_SECONDS);
+        jtisByBucket.computeIfAbsent(bucket, b -> ConcurrentHashMap.newKeySet()).add(jti);
+        bucketByJti.put(jti, bucket);
+    }
 }
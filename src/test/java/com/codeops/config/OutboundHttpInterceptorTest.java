@@ -0,0 +1,109 @@
+package com.codeops.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboundHttpInterceptorTest {
+
+    private static final String HOST = "outlook.office.com";
+    private static final byte[] BODY = new byte[0];
+
+    @Mock private HttpRequest request;
+    @Mock private ClientHttpRequestExecution execution;
+    @Mock private ClientHttpResponse response;
+
+    private final OutboundHttpMetrics metrics = new OutboundHttpMetrics();
+
+    private OutboundHttpInterceptor interceptor(int maxPerHost) {
+        return new OutboundHttpInterceptor(maxPerHost, Duration.ofMillis(50), metrics);
+    }
+
+    @Test
+    void intercept_holdsPermitUntilResponseClosed() throws IOException {
+        when(request.getURI()).thenReturn(URI.create("https://" + HOST + "/webhook/x"));
+        when(execution.execute(request, BODY)).thenReturn(response);
+        when(response.getStatusCode()).thenReturn(HttpStatus.OK);
+        OutboundHttpInterceptor interceptor = interceptor(2);
+
+        ClientHttpResponse result = interceptor.intercept(request, BODY, execution);
+        assertEquals(1, interceptor.inFlight(HOST));
+
+        result.close();
+        result.close();
+        assertEquals(0, interceptor.inFlight(HOST));
+        verify(response, times(2)).close();
+    }
+
+    @Test
+    void intercept_hostAtLimit_failsFast() throws IOException {
+        when(request.getURI()).thenReturn(URI.create("https://" + HOST + "/webhook/x"));
+        when(execution.execute(request, BODY)).thenReturn(response);
+        when(response.getStatusCode()).thenReturn(HttpStatus.OK);
+        OutboundHttpInterceptor interceptor = interceptor(1);
+
+        ClientHttpResponse first = interceptor.intercept(request, BODY, execution);
+        IOException e = assertThrows(IOException.class, () -> interceptor.intercept(request, BODY, execution));
+        assertTrue(e.getMessage().contains(HOST));
+        verify(execution, times(1)).execute(any(), any());
+
+        first.close();
+        assertDoesNotThrow(() -> interceptor.intercept(request, BODY, execution).close());
+    }
+
+    @Test
+    void intercept_executionFails_releasesPermitAndRecordsError() throws IOException {
+        when(request.getURI()).thenReturn(URI.create("https://" + HOST + "/webhook/x"));
+        when(execution.execute(request, BODY)).thenThrow(new IOException("Connection refused"));
+        OutboundHttpInterceptor interceptor = interceptor(1);
+
+        assertThrows(IOException.class, () -> interceptor.intercept(request, BODY, execution));
+
+        assertEquals(0, interceptor.inFlight(HOST));
+        List<OutboundHttpMetrics.HostStats> stats = metrics.snapshot();
+        assertEquals(1, stats.size());
+        assertEquals(1, stats.get(0).requests());
+        assertEquals(1, stats.get(0).errors());
+    }
+
+    @Test
+    void intercept_errorStatus_countedAsError() throws IOException {
+        when(request.getURI()).thenReturn(URI.create("https://" + HOST + "/webhook/x"));
+        when(execution.execute(request, BODY)).thenReturn(response);
+        when(response.getStatusCode()).thenReturn(HttpStatus.SERVICE_UNAVAILABLE);
+
+        interceptor(1).intercept(request, BODY, execution).close();
+
+        assertEquals(1, metrics.snapshot().get(0).errors());
+    }
+
+    @Test
+    void logAndReset_clearsCounters() {
+        metrics.record(HOST, Duration.ofMillis(40).toNanos(), false);
+        metrics.record(HOST, Duration.ofMillis(20).toNanos(), false);
+
+        OutboundHttpMetrics.HostStats stats = metrics.snapshot().get(0);
+        assertEquals(2, stats.requests());
+        assertEquals(30.0, stats.meanMillis(), 0.001);
+        assertEquals(40.0, stats.maxMillis(), 0.001);
+
+        metrics.logAndReset();
+
+        assertTrue(metrics.snapshot().isEmpty());
+    }
+}
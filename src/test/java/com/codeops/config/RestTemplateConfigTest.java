@@ -1,16 +1,39 @@
 package com.codeops.config;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.http.client.InterceptingClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class RestTemplateConfigTest {
 
     @Test
-    void restTemplate_createsInstance() {
+    void outboundHttpClient_appliesConnectTimeoutAndNeverRedirects() {
+        OutboundHttpProperties properties = new OutboundHttpProperties();
+        properties.setConnectTimeout(Duration.ofSeconds(2));
+
+        HttpClient client = new RestTemplateConfig().outboundHttpClient(properties);
+
+        assertEquals(Duration.ofSeconds(2), client.connectTimeout().orElseThrow());
+        assertEquals(HttpClient.Redirect.NEVER, client.followRedirects());
+        assertEquals(HttpClient.Version.HTTP_2, client.version());
+    }
+
+    @Test
+    void restTemplate_createsInstanceWithHostLimitInterceptor() {
         RestTemplateConfig config = new RestTemplateConfig();
-        RestTemplate restTemplate = config.restTemplate();
+        OutboundHttpProperties properties = new OutboundHttpProperties();
+
+        RestTemplate restTemplate = config.restTemplate(config.outboundHttpClient(properties), properties,
+                new OutboundHttpMetrics());
+
         assertNotNull(restTemplate);
+        assertEquals(1, restTemplate.getInterceptors().size());
+        assertInstanceOf(OutboundHttpInterceptor.class, restTemplate.getInterceptors().get(0));
+        assertInstanceOf(InterceptingClientHttpRequestFactory.class, restTemplate.getRequestFactory());
     }
 }
@@ -1,10 +1,12 @@
 package com.codeops.controller;
 
 import com.codeops.dto.request.AdminUpdateUserRequest;
+import com.codeops.dto.request.AuditLogExportFormat;
 import com.codeops.dto.request.UpdateSystemSettingRequest;
 import com.codeops.dto.response.AuditLogResponse;
 import com.codeops.dto.response.SystemSettingResponse;
 import com.codeops.dto.response.UserResponse;
+import com.codeops.exception.ValidationException;
 import com.codeops.service.AdminService;
 import com.codeops.service.AuditLogService;
 import com.codeops.service.MfaService;
@@ -19,9 +21,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.Instant;
 import java.util.List;
@@ -29,9 +33,12 @@ import java.util.Map;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -204,6 +211,27 @@ class AdminControllerTest {
         assertEquals(100, captor.getValue().getPageSize());
     }
 
+    @Test
+    void exportTeamAuditLog_returnsAttachmentAndLogsExport() {
+        StreamingResponseBody body = out -> {};
+        when(auditLogService.exportTeamAuditLog(teamId, AuditLogExportFormat.CSV)).thenReturn(body);
+
+        ResponseEntity<StreamingResponseBody> response = controller.exportTeamAuditLog(teamId, "csv");
+
+        assertEquals(200, response.getStatusCode().value());
+        assertSame(body, response.getBody());
+        assertEquals("text/csv", response.getHeaders().getContentType().toString());
+        assertEquals("attachment; filename=\"audit-log-" + teamId + ".csv\"",
+                response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION));
+        verify(auditLogService).log(currentUserId, teamId, "AUDIT_LOG_EXPORTED", "TEAM", teamId, "CSV");
+    }
+
+    @Test
+    void exportTeamAuditLog_unknownFormat_throwsValidation() {
+        assertThrows(ValidationException.class, () -> controller.exportTeamAuditLog(teamId, "xml"));
+        verifyNoInteractions(auditLogService);
+    }
+
     @Test
     void getUserAuditLog_returns200WithPage() {
         Page<AuditLogResponse> expected = new PageImpl<>(List.of(
@@ -227,4 +255,15 @@ class AdminControllerTest {
         verify(mfaService).adminResetMfa(targetUserId);
         verify(auditLogService).log(currentUserId, null, "ADMIN_MFA_RESET", "USER", targetUserId, null);
     }
+
+    @Test
+    void rebuildMetricsRollup_returns200WithCountAndLogsAudit() {
+        when(adminService.rebuildMetricsRollup()).thenReturn(7);
+
+        ResponseEntity<Map<String, Object>> response = controller.rebuildMetricsRollup();
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(7, response.getBody().get("projectsRebuilt"));
+        verify(auditLogService).log(currentUserId, null, "METRICS_ROLLUP_REBUILT", "PROJECT", null, "projects=7");
+    }
 }
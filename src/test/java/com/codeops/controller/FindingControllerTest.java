@@ -3,10 +3,13 @@ package com.codeops.controller;
 import com.codeops.dto.request.BulkUpdateFindingsRequest;
 import com.codeops.dto.request.CreateFindingRequest;
 import com.codeops.dto.request.UpdateFindingStatusRequest;
+import com.codeops.dto.response.CursorPageResponse;
+import com.codeops.dto.response.FindingIngestResponse;
 import com.codeops.dto.response.FindingResponse;
 import com.codeops.dto.response.PageResponse;
 import com.codeops.entity.enums.*;
 import com.codeops.service.AuditLogService;
+import com.codeops.service.FindingIngestService;
 import com.codeops.service.FindingService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,6 +21,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
@@ -36,6 +41,9 @@ class FindingControllerTest {
     @Mock
     private AuditLogService auditLogService;
 
+    @Mock
+    private FindingIngestService findingIngestService;
+
     private FindingController controller;
 
     private final UUID userId = UUID.randomUUID();
@@ -44,7 +52,7 @@ class FindingControllerTest {
 
     @BeforeEach
     void setUp() {
-        controller = new FindingController(findingService, auditLogService);
+        controller = new FindingController(findingService, auditLogService, findingIngestService);
         setSecurityContext(userId);
     }
 
@@ -127,6 +135,20 @@ class FindingControllerTest {
         verify(findingService).getFindingsForJob(eq(jobId), any());
     }
 
+    @Test
+    void getFindingsForJobAfter_clampsSizeAndReturnsCursorPage() {
+        CursorPageResponse<FindingResponse> page = new CursorPageResponse<>(
+                List.of(buildFindingResponse(findingId)), 100, "next", true);
+        when(findingService.getFindingsForJobAfter(jobId, "cursor", 100)).thenReturn(page);
+
+        ResponseEntity<CursorPageResponse<FindingResponse>> result =
+                controller.getFindingsForJobAfter(jobId, "cursor", 500);
+
+        assertThat(result.getStatusCode().value()).isEqualTo(200);
+        assertThat(result.getBody().nextCursor()).isEqualTo("next");
+        verify(findingService).getFindingsForJobAfter(jobId, "cursor", 100);
+    }
+
     @Test
     void getFindingsBySeverity_returnsOkWithPage() {
         PageResponse<FindingResponse> page = new PageResponse<>(List.of(), 0, 20, 0, 0, true);
@@ -202,4 +224,30 @@ class FindingControllerTest {
         verify(auditLogService, times(2)).log(eq(userId), isNull(), eq("FINDING_STATUS_UPDATED"),
                 eq("FINDING"), any(UUID.class), eq("FALSE_POSITIVE"));
     }
+
+    @Test
+    void ingestFindingStream_returns201AndLogsSingleAudit() throws Exception {
+        UUID id1 = UUID.randomUUID();
+        UUID id2 = UUID.randomUUID();
+        InputStream body = new ByteArrayInputStream(new byte[0]);
+        FindingIngestResponse ingested = new FindingIngestResponse(jobId, 2, 1, 0, List.of(id1, id2));
+        when(findingIngestService.ingest(body)).thenReturn(ingested);
+
+        ResponseEntity<FindingIngestResponse> result = controller.ingestFindingStream(body);
+
+        assertThat(result.getStatusCode().value()).isEqualTo(201);
+        assertThat(result.getBody().findingIds()).containsExactly(id1, id2);
+        verify(auditLogService).log(userId, null, "FINDINGS_INGESTED", "JOB", jobId, "count=2");
+    }
+
+    @Test
+    void ingestFindingStream_emptyStream_skipsAudit() throws Exception {
+        InputStream body = new ByteArrayInputStream(new byte[0]);
+        when(findingIngestService.ingest(body)).thenReturn(new FindingIngestResponse(null, 0, 0, 0, List.of()));
+
+        ResponseEntity<FindingIngestResponse> result = controller.ingestFindingStream(body);
+
+        assertThat(result.getStatusCode().value()).isEqualTo(201);
+        verifyNoInteractions(auditLogService);
+    }
 }
@@ -0,0 +1,168 @@
+package com.codeops.controller;
+
+import com.codeops.exception.AuthorizationException;
+import com.codeops.service.LocalStorageService;
+import com.codeops.service.LocalStorageUrlSigner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LocalStorageControllerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private LocalStorageService localStorageService;
+    private LocalStorageUrlSigner urlSigner;
+    private LocalStorageController controller;
+
+    @BeforeEach
+    void setUp() {
+        localStorageService = new LocalStorageService(tempDir.toString());
+        urlSigner = new LocalStorageUrlSigner("test-signing-secret");
+        controller = new LocalStorageController(localStorageService, urlSigner);
+    }
+
+    @Test
+    void download_validSignature_streamsFile() throws IOException {
+        Files.createDirectories(tempDir.resolve("reports/job1"));
+        Files.writeString(tempDir.resolve("reports/job1/summary.md"), "# Summary");
+        MultiValueMap<String, String> params = params(urlSigner.presignDownload("reports/job1/summary.md",
+                Duration.ofMinutes(15)));
+
+        ResponseEntity<StreamingResponseBody> result = controller.download(params.getFirst("key"),
+                Long.parseLong(params.getFirst("expires")), params.getFirst("signature"), null, null);
+
+        assertThat(result.getStatusCode().value()).isEqualTo(200);
+        assertThat(result.getHeaders().getContentLength()).isEqualTo(9);
+        assertThat(new String(bodyOf(result), StandardCharsets.UTF_8)).isEqualTo("# Summary");
+    }
+
+    @Test
+    void download_withRange_returnsPartialContent() throws IOException {
+        Files.createDirectories(tempDir.resolve("specs/job1"));
+        Files.writeString(tempDir.resolve("specs/job1/spec.pdf"), "0123456789");
+        MultiValueMap<String, String> params = params(urlSigner.presignDownload("specs/job1/spec.pdf",
+                Duration.ofMinutes(15)));
+
+        ResponseEntity<StreamingResponseBody> result = controller.download(params.getFirst("key"),
+                Long.parseLong(params.getFirst("expires")), params.getFirst("signature"), "bytes=2-4", null);
+
+        assertThat(result.getStatusCode().value()).isEqualTo(206);
+        assertThat(result.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 2-4/10");
+        assertThat(new String(bodyOf(result), StandardCharsets.UTF_8)).isEqualTo("234");
+    }
+
+    @Test
+    void download_compressedFile_decodesForClientsWithoutGzip() throws IOException {
+        String content = "# Summary\n" + "- finding\n".repeat(200);
+        localStorageService.write("reports/job1/summary.md",
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), "gzip");
+        MultiValueMap<String, String> params = params(urlSigner.presignDownload("reports/job1/summary.md",
+                Duration.ofMinutes(15)));
+
+        ResponseEntity<StreamingResponseBody> plain = controller.download(params.getFirst("key"),
+                Long.parseLong(params.getFirst("expires")), params.getFirst("signature"), null, null);
+        ResponseEntity<StreamingResponseBody> encoded = controller.download(params.getFirst("key"),
+                Long.parseLong(params.getFirst("expires")), params.getFirst("signature"), null, "gzip");
+
+        assertThat(new String(bodyOf(plain), StandardCharsets.UTF_8)).isEqualTo(content);
+        assertThat(plain.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(encoded.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(encoded.getHeaders().getContentLength()).isLessThan(content.length());
+    }
+
+    @Test
+    void download_keyWithPlusSign_verifies() throws IOException {
+        Files.createDirectories(tempDir.resolve("specs/job1"));
+        Files.writeString(tempDir.resolve("specs/job1/c++ notes.txt"), "notes");
+        MultiValueMap<String, String> params = params(urlSigner.presignDownload("specs/job1/c++ notes.txt",
+                Duration.ofMinutes(15)));
+
+        ResponseEntity<StreamingResponseBody> result = controller.download(params.getFirst("key"),
+                Long.parseLong(params.getFirst("expires")), params.getFirst("signature"), null, null);
+
+        assertThat(new String(bodyOf(result), StandardCharsets.UTF_8)).isEqualTo("notes");
+    }
+
+    @Test
+    void download_invalidSignature_throwsAuthorizationException() {
+        MultiValueMap<String, String> params = params(urlSigner.presignDownload("reports/job1/summary.md",
+                Duration.ofMinutes(15)));
+
+        assertThatThrownBy(() -> controller.download("reports/job2/summary.md",
+                Long.parseLong(params.getFirst("expires")), params.getFirst("signature"), null, null))
+                .isInstanceOf(AuthorizationException.class);
+    }
+
+    @Test
+    void upload_validSignature_writesFile() throws IOException {
+        byte[] data = "%PDF-1.7".getBytes(StandardCharsets.UTF_8);
+        MultiValueMap<String, String> params = params(urlSigner.presignUpload("specs/job1/spec.pdf",
+                "application/pdf", data.length, Duration.ofMinutes(15)));
+
+        ResponseEntity<Void> result = controller.upload(params.getFirst("key"),
+                Long.parseLong(params.getFirst("expires")), params.getFirst("signature"), "application/pdf",
+                (long) data.length, new ByteArrayInputStream(data));
+
+        assertThat(result.getStatusCode().value()).isEqualTo(200);
+        assertThat(Files.readAllBytes(tempDir.resolve("specs/job1/spec.pdf"))).isEqualTo(data);
+    }
+
+    @Test
+    void upload_withoutContentLength_returns411() throws IOException {
+        MultiValueMap<String, String> params = params(urlSigner.presignUpload("specs/job1/spec.pdf",
+                "application/pdf", 8, Duration.ofMinutes(15)));
+
+        ResponseEntity<Void> result = controller.upload(params.getFirst("key"),
+                Long.parseLong(params.getFirst("expires")), params.getFirst("signature"), "application/pdf",
+                null, new ByteArrayInputStream(new byte[8]));
+
+        assertThat(result.getStatusCode().value()).isEqualTo(411);
+        assertThat(tempDir.resolve("specs/job1/spec.pdf")).doesNotExist();
+    }
+
+    @Test
+    void upload_differentContentType_throwsAuthorizationException() {
+        MultiValueMap<String, String> params = params(urlSigner.presignUpload("specs/job1/spec.pdf",
+                "application/pdf", 8, Duration.ofMinutes(15)));
+
+        assertThatThrownBy(() -> controller.upload(params.getFirst("key"),
+                Long.parseLong(params.getFirst("expires")), params.getFirst("signature"), "text/html",
+                8L, new ByteArrayInputStream(new byte[8])))
+                .isInstanceOf(AuthorizationException.class);
+        assertThat(tempDir.resolve("specs/job1/spec.pdf")).doesNotExist();
+    }
+
+    /** Returns the query parameters of a signed URL, decoded the way the servlet container does. */
+    private static MultiValueMap<String, String> params(String url) {
+        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+        UriComponentsBuilder.fromUriString(url).build(true).getQueryParams().forEach((name, values) ->
+                values.forEach(value -> params.add(name, URLDecoder.decode(value, StandardCharsets.UTF_8))));
+        return params;
+    }
+
+    private static byte[] bodyOf(ResponseEntity<StreamingResponseBody> response) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        return out.toByteArray();
+    }
+}
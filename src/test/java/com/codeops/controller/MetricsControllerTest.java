@@ -1,5 +1,6 @@
 package com.codeops.controller;
 
+import com.codeops.dto.response.CriticalRegressionResponse;
 import com.codeops.dto.response.HealthSnapshotResponse;
 import com.codeops.dto.response.ProjectMetricsResponse;
 import com.codeops.dto.response.TeamMetricsResponse;
@@ -79,6 +80,19 @@ class MetricsControllerTest {
         verify(metricsService).getTeamMetrics(teamId);
     }
 
+    @Test
+    void getCriticalRegressions_returnsOkWithList() {
+        List<CriticalRegressionResponse> responses = List.of(
+                new CriticalRegressionResponse(projectId, "TestProject", 1, 3));
+        when(metricsService.getCriticalRegressions(teamId)).thenReturn(responses);
+
+        ResponseEntity<List<CriticalRegressionResponse>> result = controller.getCriticalRegressions(teamId);
+
+        assertThat(result.getStatusCode().value()).isEqualTo(200);
+        assertThat(result.getBody()).isEqualTo(responses);
+        verify(metricsService).getCriticalRegressions(teamId);
+    }
+
     @Test
     void getHealthTrend_returnsOkWithList() {
         List<HealthSnapshotResponse> responses = List.of(
@@ -1,22 +1,39 @@
 package com.codeops.controller;
 
+import com.codeops.dto.response.PresignedUrlResponse;
 import com.codeops.entity.enums.AgentType;
 import com.codeops.service.ReportStorageService;
+import com.codeops.service.StoredObjectInfo;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
 import java.util.Map;
 import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -37,85 +54,160 @@ class ReportControllerTest {
 
     @Test
     void uploadAgentReport_returnsCreatedWithS3Key() {
-        String markdown = "## Security Report";
+        InputStream markdown = new ByteArrayInputStream("## Security Report".getBytes(StandardCharsets.UTF_8));
         String s3Key = "reports/job1/security.md";
-        when(reportStorageService.uploadReport(jobId, AgentType.SECURITY, markdown)).thenReturn(s3Key);
+        when(reportStorageService.uploadReport(jobId, AgentType.SECURITY, markdown, 18L)).thenReturn(s3Key);
 
-        ResponseEntity<Map<String, String>> result = controller.uploadAgentReport(jobId, AgentType.SECURITY, markdown);
+        ResponseEntity<Map<String, String>> result = controller.uploadAgentReport(jobId, AgentType.SECURITY, 18L, markdown);
 
         assertThat(result.getStatusCode().value()).isEqualTo(201);
         assertThat(result.getBody()).containsEntry("s3Key", s3Key);
-        verify(reportStorageService).uploadReport(jobId, AgentType.SECURITY, markdown);
+        verify(reportStorageService).uploadReport(jobId, AgentType.SECURITY, markdown, 18L);
+    }
+
+    @Test
+    void uploadAgentReport_withoutContentLength_passesUnknownLength() {
+        InputStream markdown = new ByteArrayInputStream("## Security Report".getBytes(StandardCharsets.UTF_8));
+        when(reportStorageService.uploadReport(jobId, AgentType.SECURITY, markdown, -1L)).thenReturn("key");
+
+        controller.uploadAgentReport(jobId, AgentType.SECURITY, null, markdown);
+
+        verify(reportStorageService).uploadReport(jobId, AgentType.SECURITY, markdown, -1L);
     }
 
     @Test
     void uploadSummaryReport_returnsCreatedWithS3Key() {
-        String markdown = "## Summary Report";
+        InputStream markdown = new ByteArrayInputStream("## Summary Report".getBytes(StandardCharsets.UTF_8));
         String s3Key = "reports/job1/summary.md";
-        when(reportStorageService.uploadSummaryReport(jobId, markdown)).thenReturn(s3Key);
+        when(reportStorageService.uploadSummaryReport(jobId, markdown, 17L)).thenReturn(s3Key);
 
-        ResponseEntity<Map<String, String>> result = controller.uploadSummaryReport(jobId, markdown);
+        ResponseEntity<Map<String, String>> result = controller.uploadSummaryReport(jobId, 17L, markdown);
 
         assertThat(result.getStatusCode().value()).isEqualTo(201);
         assertThat(result.getBody()).containsEntry("s3Key", s3Key);
-        verify(reportStorageService).uploadSummaryReport(jobId, markdown);
+        verify(reportStorageService).uploadSummaryReport(jobId, markdown, 17L);
+    }
+
+    @Test
+    void downloadReport_streamsMarkdownContent() throws IOException {
+        String s3Key = "reports/job1/security.md";
+        byte[] content = "## Security Report\nFindings here.".getBytes(StandardCharsets.UTF_8);
+        stubStoredObject(s3Key, content);
+
+        ResponseEntity<StreamingResponseBody> result = controller.downloadReport(s3Key, null, null);
+
+        assertThat(result.getStatusCode().value()).isEqualTo(200);
+        assertThat(result.getHeaders().getContentType())
+                .isEqualTo(MediaType.parseMediaType("text/markdown;charset=UTF-8"));
+        assertThat(result.getHeaders().getContentLength()).isEqualTo(content.length);
+        assertThat(result.getHeaders().getFirst(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+        assertThat(bodyOf(result)).isEqualTo(content);
+    }
+
+    @Test
+    void downloadReport_withRange_returnsPartialContent() throws IOException {
+        String s3Key = "reports/job1/security.md";
+        stubStoredObject(s3Key, "0123456789".getBytes(StandardCharsets.UTF_8));
+
+        ResponseEntity<StreamingResponseBody> result = controller.downloadReport(s3Key, "bytes=2-5", null);
+
+        assertThat(result.getStatusCode().value()).isEqualTo(206);
+        assertThat(result.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 2-5/10");
+        assertThat(result.getHeaders().getContentLength()).isEqualTo(4);
+        assertThat(new String(bodyOf(result), StandardCharsets.UTF_8)).isEqualTo("2345");
+    }
+
+    @Test
+    void downloadReport_compressedObject_clientAcceptsGzip_sendsStoredBytes() throws IOException {
+        String s3Key = "reports/job1/security.md";
+        byte[] stored = gzip("## Security Report\nFindings here.");
+        stubStoredObject(s3Key, stored, "gzip");
+
+        ResponseEntity<StreamingResponseBody> result = controller.downloadReport(s3Key, null, "gzip, deflate, br");
+
+        assertThat(result.getStatusCode().value()).isEqualTo(200);
+        assertThat(result.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(result.getHeaders().getFirst(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(result.getHeaders().getContentLength()).isEqualTo(stored.length);
+        assertThat(bodyOf(result)).isEqualTo(stored);
     }
 
     @Test
-    void downloadReport_returnsOkWithMarkdownContent() {
+    void downloadReport_compressedObject_clientWithoutGzip_sendsDecodedContent() throws IOException {
         String s3Key = "reports/job1/security.md";
-        String content = "## Security Report\nFindings here.";
-        when(reportStorageService.downloadReport(s3Key)).thenReturn(content);
+        byte[] content = "## Security Report\nFindings here.".getBytes(StandardCharsets.UTF_8);
+        stubStoredObject(s3Key, gzip("## Security Report\nFindings here."), "gzip");
+        when(reportStorageService.download(eq(s3Key), any(OutputStream.class))).thenAnswer(inv -> {
+            inv.<OutputStream>getArgument(1).write(content);
+            return (long) content.length;
+        });
 
-        ResponseEntity<String> result = controller.downloadReport(s3Key);
+        ResponseEntity<StreamingResponseBody> result = controller.downloadReport(s3Key, "bytes=2-5", "gzip;q=0");
 
         assertThat(result.getStatusCode().value()).isEqualTo(200);
-        assertThat(result.getBody()).isEqualTo(content);
-        assertThat(result.getHeaders().getContentType()).isEqualTo(MediaType.parseMediaType("text/markdown"));
-        verify(reportStorageService).downloadReport(s3Key);
+        assertThat(result.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(result.getHeaders().getFirst(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(result.getHeaders().getContentLength()).isEqualTo(-1);
+        assertThat(bodyOf(result)).isEqualTo(content);
+    }
+
+    @Test
+    void acceptsEncoding_honorsQualityValuesAndWildcard() {
+        assertThat(RangedDownloads.accepts("gzip, deflate", "gzip")).isTrue();
+        assertThat(RangedDownloads.accepts("GZIP;q=0.5", "gzip")).isTrue();
+        assertThat(RangedDownloads.accepts("br, *", "gzip")).isTrue();
+        assertThat(RangedDownloads.accepts("gzip;q=0, *", "gzip")).isFalse();
+        assertThat(RangedDownloads.accepts("identity", "gzip")).isFalse();
+        assertThat(RangedDownloads.accepts(null, "gzip")).isFalse();
     }
 
     @Test
     void downloadReport_rejectsPathTraversal() {
-        assertThatThrownBy(() -> controller.downloadReport("../etc/passwd"))
+        assertThatThrownBy(() -> controller.downloadReport("../etc/passwd", null, null))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("path traversal");
     }
 
     @Test
     void downloadReport_rejectsLeadingSlash() {
-        assertThatThrownBy(() -> controller.downloadReport("/etc/passwd"))
+        assertThatThrownBy(() -> controller.downloadReport("/etc/passwd", null, null))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("path traversal");
     }
 
     @Test
     void downloadReport_rejectsBlankKey() {
-        assertThatThrownBy(() -> controller.downloadReport(""))
+        assertThatThrownBy(() -> controller.downloadReport("", null, null))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("S3 key is required");
     }
 
     @Test
     void downloadReport_rejectsInvalidCharacters() {
-        assertThatThrownBy(() -> controller.downloadReport("reports/file name with spaces.md"))
+        assertThatThrownBy(() -> controller.downloadReport("reports/file name with spaces.md", null, null))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Invalid S3 key format");
     }
 
     @Test
-    void uploadSpecification_returnsCreatedWithS3Key() throws IOException {
+    void uploadSpecification_uploadsFromTempFileAndRemovesIt() throws IOException {
         MockMultipartFile file = new MockMultipartFile("file", "spec.pdf",
                 "application/pdf", "pdf-bytes".getBytes());
         String s3Key = "specs/job1/spec.pdf";
-        when(reportStorageService.uploadSpecification(jobId, "spec.pdf", file.getBytes(), "application/pdf"))
-                .thenReturn(s3Key);
+        Path[] uploaded = new Path[1];
+        when(reportStorageService.uploadSpecification(eq(jobId), eq("spec.pdf"), any(Path.class), eq("application/pdf")))
+                .thenAnswer(inv -> {
+                    uploaded[0] = inv.getArgument(2);
+                    assertThat(Files.readAllBytes(uploaded[0])).isEqualTo("pdf-bytes".getBytes());
+                    return s3Key;
+                });
 
         ResponseEntity<Map<String, String>> result = controller.uploadSpecification(jobId, file);
 
         assertThat(result.getStatusCode().value()).isEqualTo(201);
         assertThat(result.getBody()).containsEntry("s3Key", s3Key);
-        verify(reportStorageService).uploadSpecification(jobId, "spec.pdf", file.getBytes(), "application/pdf");
+        assertThat(uploaded[0]).isNotNull();
+        assertThat(Files.exists(uploaded[0])).isFalse();
     }
 
     @Test
@@ -140,23 +232,145 @@ class ReportControllerTest {
     }
 
     @Test
-    void downloadSpecification_returnsOkWithBytes() {
+    void downloadSpecification_streamsBytes() throws IOException {
         String s3Key = "specs/job1/spec.pdf";
         byte[] data = "pdf-content".getBytes();
-        when(reportStorageService.downloadSpecification(s3Key)).thenReturn(data);
+        stubStoredObject(s3Key, data);
 
-        ResponseEntity<byte[]> result = controller.downloadSpecification(s3Key);
+        ResponseEntity<StreamingResponseBody> result = controller.downloadSpecification(s3Key, null, null);
 
         assertThat(result.getStatusCode().value()).isEqualTo(200);
-        assertThat(result.getBody()).isEqualTo(data);
         assertThat(result.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_OCTET_STREAM);
-        verify(reportStorageService).downloadSpecification(s3Key);
+        assertThat(bodyOf(result)).isEqualTo(data);
+    }
+
+    @Test
+    void downloadSpecification_suffixRange_returnsTail() throws IOException {
+        String s3Key = "specs/job1/spec.pdf";
+        stubStoredObject(s3Key, "0123456789".getBytes(StandardCharsets.UTF_8));
+
+        ResponseEntity<StreamingResponseBody> result = controller.downloadSpecification(s3Key, "bytes=-3", null);
+
+        assertThat(result.getStatusCode().value()).isEqualTo(206);
+        assertThat(result.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 7-9/10");
+        assertThat(new String(bodyOf(result), StandardCharsets.UTF_8)).isEqualTo("789");
+    }
+
+    @Test
+    void downloadSpecification_unsatisfiableRange_returns416() {
+        String s3Key = "specs/job1/spec.pdf";
+        when(reportStorageService.getStoredObject(s3Key)).thenReturn(new StoredObjectInfo(10L, null));
+
+        ResponseEntity<StreamingResponseBody> result = controller.downloadSpecification(s3Key, "bytes=10-20", null);
+
+        assertThat(result.getStatusCode().value()).isEqualTo(416);
+        assertThat(result.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */10");
+        assertThat(result.getBody()).isNull();
+    }
+
+    @Test
+    void downloadSpecification_multipleRanges_returnsWholeObject() throws IOException {
+        String s3Key = "specs/job1/spec.pdf";
+        stubStoredObject(s3Key, "0123456789".getBytes(StandardCharsets.UTF_8));
+
+        ResponseEntity<StreamingResponseBody> result = controller.downloadSpecification(s3Key, "bytes=0-1,4-5", null);
+
+        assertThat(result.getStatusCode().value()).isEqualTo(200);
+        assertThat(new String(bodyOf(result), StandardCharsets.UTF_8)).isEqualTo("0123456789");
     }
 
     @Test
     void downloadSpecification_rejectsPathTraversal() {
-        assertThatThrownBy(() -> controller.downloadSpecification("../etc/secret"))
+        assertThatThrownBy(() -> controller.downloadSpecification("../etc/secret", null, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("path traversal");
+    }
+
+    @Test
+    void createDownloadUrl_returnsPresignedUrl() {
+        String s3Key = "reports/job1/summary.md";
+        PresignedUrlResponse presigned = new PresignedUrlResponse(s3Key, "https://signed", Instant.now());
+        when(reportStorageService.createDownloadUrl(s3Key)).thenReturn(presigned);
+
+        ResponseEntity<PresignedUrlResponse> result = controller.createDownloadUrl(s3Key);
+
+        assertThat(result.getStatusCode().value()).isEqualTo(200);
+        assertThat(result.getBody()).isEqualTo(presigned);
+    }
+
+    @Test
+    void createDownloadUrl_rejectsPathTraversal() {
+        assertThatThrownBy(() -> controller.createDownloadUrl("../etc/secret"))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("path traversal");
     }
+
+    @Test
+    void createSpecificationUploadUrl_sanitizesFileName() {
+        PresignedUrlResponse presigned = new PresignedUrlResponse("specs/" + jobId + "/.._spec.pdf", "https://signed-put",
+                Instant.now());
+        when(reportStorageService.createSpecificationUploadUrl(jobId, ".._spec.pdf", "application/pdf", 2048L))
+                .thenReturn(presigned);
+
+        ResponseEntity<PresignedUrlResponse> result =
+                controller.createSpecificationUploadUrl(jobId, "../spec.pdf", "application/pdf", 2048L);
+
+        assertThat(result.getStatusCode().value()).isEqualTo(201);
+        assertThat(result.getBody()).isEqualTo(presigned);
+    }
+
+    @Test
+    void createSpecificationUploadUrl_rejectsUnsupportedContentType() {
+        assertThatThrownBy(() -> controller.createSpecificationUploadUrl(jobId, "run.sh", "application/x-sh", 10L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unsupported file type");
+    }
+
+    @Test
+    void createSpecificationUploadUrl_rejectsDotFileNames() {
+        assertThatThrownBy(() -> controller.createSpecificationUploadUrl(jobId, "..", "application/pdf", 10L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid file name");
+        assertThatThrownBy(() -> controller.createSpecificationUploadUrl(jobId, ".", "application/pdf", 10L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid file name");
+    }
+
+    @Test
+    void createSpecificationUploadUrl_rejectsOversizedFile() {
+        assertThatThrownBy(() -> controller.createSpecificationUploadUrl(jobId, "spec.pdf", "application/pdf",
+                51L * 1024 * 1024))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("File too large");
+    }
+
+    private void stubStoredObject(String s3Key, byte[] data) {
+        stubStoredObject(s3Key, data, null);
+    }
+
+    private void stubStoredObject(String s3Key, byte[] data, String contentEncoding) {
+        when(reportStorageService.getStoredObject(s3Key)).thenReturn(new StoredObjectInfo(data.length, contentEncoding));
+        lenient().doAnswer(inv -> {
+            long offset = inv.getArgument(1);
+            long length = inv.getArgument(2);
+            OutputStream out = inv.getArgument(3);
+            int end = (int) Math.min(data.length, offset + length);
+            out.write(data, (int) offset, end - (int) offset);
+            return (long) (end - offset);
+        }).when(reportStorageService).download(eq(s3Key), anyLong(), anyLong(), any(OutputStream.class));
+    }
+
+    private static byte[] gzip(String content) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return buffer.toByteArray();
+    }
+
+    private static byte[] bodyOf(ResponseEntity<StreamingResponseBody> response) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        return out.toByteArray();
+    }
 }
@@ -5,6 +5,7 @@ import org.springframework.http.*;
 
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -124,4 +125,36 @@ class AdminControllerIT extends BaseIntegrationTest {
         List<Map<String, Object>> content = (List<Map<String, Object>>) pageBody.get("content");
         assertThat(content).isNotNull();
     }
+
+    @Test
+    void exportTeamAuditLog_asOwner_streamsCsv() {
+        TestSetup owner = setupOwner();
+        UUID projectId = createProject(owner.token(), owner.teamId(), "Audit Export Project");
+        waitForAsync();
+
+        HttpEntity<?> entity = new HttpEntity<>(null, authHeaders(owner.token()));
+        ResponseEntity<String> response = restTemplate.exchange(
+                "/api/v1/admin/audit-log/team/" + owner.teamId() + "/export?format=csv",
+                HttpMethod.GET, entity, String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType().toString()).startsWith("text/csv");
+        assertThat(response.getHeaders().getContentDisposition().getFilename()).endsWith(".csv");
+        String[] lines = response.getBody().split("\n");
+        assertThat(lines[0]).isEqualTo("id,created_at,user_id,team_id,action,entity_type,entity_id,details,ip_address");
+        assertThat(lines).anyMatch(line -> line.contains("PROJECT_CREATED") && line.contains(projectId.toString()));
+    }
+
+    @Test
+    void exportTeamAuditLog_nonMember_returns403() {
+        TestSetup owner = setupOwner();
+        TestSetup other = setupOwner();
+
+        HttpEntity<?> entity = new HttpEntity<>(null, authHeaders(other.token()));
+        ResponseEntity<String> response = restTemplate.exchange(
+                "/api/v1/admin/audit-log/team/" + owner.teamId() + "/export",
+                HttpMethod.GET, entity, String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+    }
 }
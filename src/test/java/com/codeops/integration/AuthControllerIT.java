@@ -1,8 +1,13 @@
 package com.codeops.integration;
 
+import com.codeops.security.JwtTokenProvider;
+import com.codeops.service.TokenBlacklistService;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.*;
 
+import java.sql.Timestamp;
+import java.time.Instant;
 import java.util.Map;
 import java.util.UUID;
 
@@ -11,6 +16,12 @@ import static org.assertj.core.api.Assertions.assertThat;
 @SuppressWarnings("unchecked")
 class AuthControllerIT extends BaseIntegrationTest {
 
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private TokenBlacklistService tokenBlacklistService;
+
     // === Register ===
 
     @Test
@@ -239,6 +250,36 @@ class AuthControllerIT extends BaseIntegrationTest {
         assertThat(protectedResponse.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
     }
 
+    @Test
+    void logout_persistsRevocationUntilTokenExpiry() {
+        AuthResult reg = registerUser(uniqueEmail("logoutdb"), "Test@123456", "Logout Persist Test");
+        String jti = jwtTokenProvider.parseClaims(reg.token()).get("jti", String.class);
+
+        restTemplate.exchange("/api/v1/auth/logout", HttpMethod.POST,
+                new HttpEntity<>(null, authHeaders(reg.token())), Void.class);
+
+        Timestamp expiresAt = jdbcTemplate.queryForObject(
+                "SELECT expires_at FROM revoked_tokens WHERE jti = ?", Timestamp.class, jti);
+        assertThat(expiresAt.toInstant()).isAfter(Instant.now());
+    }
+
+    @Test
+    void revocationFromAnotherNode_rejectedAfterSync() {
+        AuthResult reg = registerUser(uniqueEmail("remote"), "Test@123456", "Remote Revoke Test");
+        String jti = jwtTokenProvider.parseClaims(reg.token()).get("jti", String.class);
+        HttpEntity<?> entity = new HttpEntity<>(null, authHeaders(reg.token()));
+        assertThat(restTemplate.exchange("/api/v1/users/me", HttpMethod.GET, entity, Map.class).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+
+        // Simulate another node revoking the token directly in the shared database
+        jdbcTemplate.update("INSERT INTO revoked_tokens (jti, expires_at, revoked_at) VALUES (?, ?, ?)",
+                jti, Timestamp.from(Instant.now().plusSeconds(3600)), Timestamp.from(Instant.now()));
+        tokenBlacklistService.syncFromDatabase();
+
+        assertThat(restTemplate.exchange("/api/v1/users/me", HttpMethod.GET, entity, Map.class).getStatusCode())
+                .isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
     // === Change Password ===
 
     @Test
@@ -17,7 +17,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @ActiveProfiles("integration")
-@Import(TestRateLimitConfig.class)
+@Import({TestRateLimitConfig.class, JdbcStatementCounterConfig.class})
 public abstract class BaseIntegrationTest {
 
     static final PostgreSQLContainer<?> POSTGRES;
@@ -0,0 +1,138 @@
+package com.codeops.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that each bulk create endpoint reads a constant number of rows however many items it
+ * receives, and that its inserts reach the driver as JDBC batches.
+ */
+class BulkCreateQueryCountIT extends BaseIntegrationTest {
+
+    /** {@code hibernate.jdbc.batch_size} in application.yml. */
+    private static final int JDBC_BATCH_SIZE = 50;
+
+    private static final int SMALL = 5;
+    private static final int LARGE = 60;
+
+    private record Measurement(long selects, long batches, long batchedRows, long singleInserts) {}
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> postBatch(String token, String path, List<Map<String, Object>> body) {
+        ResponseEntity<List> response = restTemplate.exchange(
+                path, HttpMethod.POST, new HttpEntity<>(body, authHeaders(token)), List.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(response.getBody()).hasSize(body.size());
+        return response.getBody();
+    }
+
+    private Measurement measure(String token, String path, String table, List<Map<String, Object>> body) {
+        waitForAsync();
+        JdbcStatementCounter.reset();
+        postBatch(token, path, body);
+        return new Measurement(JdbcStatementCounter.selects(), JdbcStatementCounter.insertBatches(table),
+                JdbcStatementCounter.batchedInsertRows(table), JdbcStatementCounter.singleInserts(table));
+    }
+
+    /**
+     * Posts one warm-up item, so caches such as team membership are filled, then measures a
+     * small and a large batch and asserts that the large one reads no more than the small one and
+     * inserts in full JDBC batches.
+     */
+    private void assertConstantSelectsAndBatchedInserts(String token, String path, String table,
+                                                        IntFunction<Map<String, Object>> item) {
+        postBatch(token, path, items(1, item));
+
+        Measurement small = measure(token, path, table, items(SMALL, item));
+        Measurement large = measure(token, path, table, items(LARGE, item));
+
+        assertThat(large.selects()).isEqualTo(small.selects());
+        assertThat(large.batchedRows()).isEqualTo(LARGE);
+        assertThat(large.batches()).isEqualTo(batchesFor(LARGE));
+        assertThat(large.singleInserts()).isZero();
+    }
+
+    private static List<Map<String, Object>> items(int count, IntFunction<Map<String, Object>> item) {
+        List<Map<String, Object>> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(item.apply(i));
+        }
+        return items;
+    }
+
+    private static long batchesFor(long rows) {
+        return (rows + JDBC_BATCH_SIZE - 1) / JDBC_BATCH_SIZE;
+    }
+
+    private static Map<String, Object> finding(UUID jobId, int i) {
+        return Map.of("jobId", jobId, "agentType", "SECURITY", "severity", "LOW", "title", "Bulk finding " + i);
+    }
+
+    @Test
+    void createFindings_constantSelectsAndBatchedInserts() {
+        TestSetup owner = setupOwner();
+        UUID jobId = createJob(owner.token(), createProject(owner.token(), owner.teamId(), "Bulk Findings"));
+
+        assertConstantSelectsAndBatchedInserts(owner.token(), "/api/v1/findings/batch", "findings",
+                i -> finding(jobId, i));
+    }
+
+    @Test
+    void addVulnerabilities_constantSelectsAndBatchedInserts() {
+        TestSetup owner = setupOwner();
+        UUID scanId = createDependencyScan(owner.token(),
+                createProject(owner.token(), owner.teamId(), "Bulk Vulnerabilities"));
+
+        assertConstantSelectsAndBatchedInserts(owner.token(), "/api/v1/dependencies/vulnerabilities/batch",
+                "dependency_vulnerabilities",
+                i -> Map.of("scanId", scanId, "dependencyName", "library-" + i, "severity", "HIGH"));
+    }
+
+    @Test
+    void createTechDebtItems_constantSelectsAndBatchedInserts() {
+        TestSetup owner = setupOwner();
+        UUID projectId = createProject(owner.token(), owner.teamId(), "Bulk Tech Debt");
+        List<UUID> jobIds = List.of(createJob(owner.token(), projectId), createJob(owner.token(), projectId),
+                createJob(owner.token(), projectId));
+
+        assertConstantSelectsAndBatchedInserts(owner.token(), "/api/v1/tech-debt/batch", "tech_debt_items",
+                i -> Map.of("projectId", projectId, "category", "CODE", "title", "Debt " + i,
+                        "firstDetectedJobId", jobIds.get(i % jobIds.size())));
+    }
+
+    @Test
+    void createTasks_constantSelectsAndBatchedInserts() {
+        TestSetup owner = setupOwner();
+        UUID jobId = createJob(owner.token(), createProject(owner.token(), owner.teamId(), "Bulk Tasks"));
+        List<UUID> findingIds = postBatch(owner.token(), "/api/v1/findings/batch", items(2 * LARGE, i -> finding(jobId, i)))
+                .stream()
+                .map(f -> UUID.fromString((String) f.get("id")))
+                .toList();
+        IntFunction<Map<String, Object>> task = i -> {
+            Map<String, Object> body = new HashMap<>();
+            body.put("jobId", jobId);
+            body.put("taskNumber", i + 1);
+            body.put("title", "Task " + i);
+            body.put("priority", "P1");
+            body.put("findingIds", List.of(findingIds.get(2 * i), findingIds.get(2 * i + 1)));
+            return body;
+        };
+
+        assertConstantSelectsAndBatchedInserts(owner.token(), "/api/v1/tasks/batch", "remediation_tasks", task);
+
+        Measurement links = measure(owner.token(), "/api/v1/tasks/batch", "remediation_task_findings",
+                items(LARGE, task));
+        assertThat(links.batchedRows()).isEqualTo(2L * LARGE);
+        assertThat(links.batches()).isEqualTo(batchesFor(2L * LARGE));
+        assertThat(links.singleInserts()).isZero();
+    }
+}
@@ -0,0 +1,184 @@
+package com.codeops.integration;
+
+import com.codeops.config.AppConstants;
+import com.codeops.entity.Finding;
+import com.codeops.entity.QaJob;
+import com.codeops.entity.enums.AgentType;
+import com.codeops.entity.enums.Severity;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.postgresql.core.BaseConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.*;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkInsertIT extends BaseIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkInsertIT.class);
+
+    private static final int THROUGHPUT_ROWS = 10_000;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private UUID createJobForOwner() {
+        TestSetup owner = setupOwner();
+        UUID projectId = createProject(owner.token(), owner.teamId(), "Bulk Insert Project " + UUID.randomUUID());
+        return createJob(owner.token(), projectId);
+    }
+
+    /**
+     * Persists {@code rows} findings in one transaction with the given JDBC batch size,
+     * flushing and clearing every {@link AppConstants#FINDING_INGEST_BATCH_SIZE} entities.
+     *
+     * @return the elapsed time in nanoseconds
+     */
+    private long insertFindings(UUID jobId, int rows, int jdbcBatchSize) {
+        return transactionTemplate.execute(status -> {
+            Session session = entityManager.unwrap(Session.class);
+            session.setJdbcBatchSize(jdbcBatchSize);
+            long start = System.nanoTime();
+            for (int i = 0; i < rows; i++) {
+                session.persist(Finding.builder()
+                        .job(session.getReference(QaJob.class, jobId))
+                        .agentType(AgentType.CODE_QUALITY)
+                        .severity(Severity.LOW)
+                        .title("Bulk finding " + i)
+                        .build());
+                if ((i + 1) % AppConstants.FINDING_INGEST_BATCH_SIZE == 0) {
+                    session.flush();
+                    session.clear();
+                }
+            }
+            session.flush();
+            return System.nanoTime() - start;
+        });
+    }
+
+    @Test
+    void ingestFindingStream_insertsInJdbcBatches() {
+        TestSetup owner = setupOwner();
+        UUID projectId = createProject(owner.token(), owner.teamId(), "Batched Stream Project");
+        UUID jobId = createJob(owner.token(), projectId);
+        int rows = 500;
+
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < rows; i++) {
+            ndjson.append("{\"jobId\":\"").append(jobId)
+                    .append("\",\"agentType\":\"SECURITY\",\"severity\":\"LOW\",\"title\":\"Batched finding ")
+                    .append(i).append("\"}\n");
+        }
+        HttpHeaders headers = authHeaders(owner.token());
+        headers.setContentType(MediaType.parseMediaType("application/x-ndjson"));
+
+        waitForAsync();
+        JdbcStatementCounter.reset();
+        ResponseEntity<Map> response = restTemplate.exchange(
+                "/api/v1/findings/stream", HttpMethod.POST, new HttpEntity<>(ndjson.toString(), headers), Map.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(response.getBody().get("created")).isEqualTo(rows);
+        assertThat(JdbcStatementCounter.batchedInsertRows("findings")).isEqualTo(rows);
+        assertThat(JdbcStatementCounter.insertBatches("findings"))
+                .isEqualTo(rows / AppConstants.FINDING_INGEST_BATCH_SIZE);
+        assertThat(JdbcStatementCounter.singleInserts("findings")).isZero();
+    }
+
+    @Test
+    void jdbcDriver_rewritesBatchedInserts() {
+        Boolean enabled = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                connection.unwrap(BaseConnection.class).getQueryExecutor().isReWriteBatchedInsertsEnabled());
+
+        assertThat(enabled).isTrue();
+    }
+
+    @Test
+    void insertedIds_areTimeOrderedVersion7() {
+        UUID jobId = createJobForOwner();
+        insertFindings(jobId, 200, AppConstants.FINDING_INGEST_BATCH_SIZE);
+
+        List<UUID> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM findings WHERE job_id = ? ORDER BY id", UUID.class, jobId);
+        List<UUID> byInsertOrder = jdbcTemplate.queryForList(
+                "SELECT id FROM findings WHERE job_id = ? ORDER BY created_at, id", UUID.class, jobId);
+
+        assertThat(ids).hasSize(200);
+        assertThat(ids).allSatisfy(id -> assertThat(id.version()).isEqualTo(7));
+        assertThat(ids.get(0).getMostSignificantBits() >>> 16)
+                .isLessThanOrEqualTo(ids.get(199).getMostSignificantBits() >>> 16);
+        assertThat(byInsertOrder.get(0).getMostSignificantBits() >>> 16)
+                .isLessThanOrEqualTo(byInsertOrder.get(199).getMostSignificantBits() >>> 16);
+    }
+
+    @Test
+    void bulkInsert_batchesInsertStatements() {
+        UUID rowByRowJobId = createJobForOwner();
+        UUID batchedJobId = createJobForOwner();
+        waitForAsync();
+
+        // Warm up connection, statement cache and JIT before timing either mode.
+        insertFindings(createJobForOwner(), 500, AppConstants.FINDING_INGEST_BATCH_SIZE);
+        waitForAsync();
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        try {
+            statistics.clear();
+            JdbcStatementCounter.reset();
+            long rowByRowNanos = JdbcStatementCounter.countOnThisThread(
+                    () -> insertFindings(rowByRowJobId, THROUGHPUT_ROWS, 1));
+            long rowByRowPrepared = statistics.getPrepareStatementCount();
+            long rowByRowInserts = statistics.getEntityInsertCount();
+            long rowByRowSingle = JdbcStatementCounter.singleInserts("findings");
+            long rowByRowBatches = JdbcStatementCounter.insertBatches("findings");
+
+            statistics.clear();
+            JdbcStatementCounter.reset();
+            long batchedNanos = JdbcStatementCounter.countOnThisThread(
+                    () -> insertFindings(batchedJobId, THROUGHPUT_ROWS, AppConstants.FINDING_INGEST_BATCH_SIZE));
+            long batchedPrepared = statistics.getPrepareStatementCount();
+            long batchedInserts = statistics.getEntityInsertCount();
+            long batchedSingle = JdbcStatementCounter.singleInserts("findings");
+            long batches = JdbcStatementCounter.insertBatches("findings");
+            long batchedRows = JdbcStatementCounter.batchedInsertRows("findings");
+
+            // Timings depend on the machine, so they are only logged; the assertions check the batching itself.
+            log.info("Bulk insert of {} findings: row-by-row {} rows/s ({} inserts), batched {} rows/s ({} JDBC batches)",
+                    THROUGHPUT_ROWS,
+                    THROUGHPUT_ROWS * 1_000_000_000L / rowByRowNanos, rowByRowSingle,
+                    THROUGHPUT_ROWS * 1_000_000_000L / batchedNanos, batches);
+
+            assertThat(jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM findings WHERE job_id = ?", Integer.class, batchedJobId))
+                    .isEqualTo(THROUGHPUT_ROWS);
+            assertThat(rowByRowInserts).isEqualTo(THROUGHPUT_ROWS);
+            assertThat(batchedInserts).isEqualTo(THROUGHPUT_ROWS);
+
+            assertThat(rowByRowSingle).isEqualTo(THROUGHPUT_ROWS);
+            assertThat(rowByRowBatches).isZero();
+            assertThat(rowByRowPrepared).isGreaterThanOrEqualTo(THROUGHPUT_ROWS);
+
+            assertThat(batchedSingle).isZero();
+            assertThat(batchedRows).isEqualTo(THROUGHPUT_ROWS);
+            assertThat(batches).isEqualTo(THROUGHPUT_ROWS / AppConstants.FINDING_INGEST_BATCH_SIZE);
+            assertThat(batchedPrepared).isLessThanOrEqualTo(batches + 5);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+}
@@ -78,6 +78,24 @@ class FindingControllerIT extends BaseIntegrationTest {
         assertThat(finding.get("createdAt")).isNotNull();
     }
 
+    @Test
+    void getFinding_authorizesWithoutLoadingJobOrProject() {
+        TestSetup owner = setupOwner();
+        UUID projectId = createProject(owner.token(), owner.teamId(), "Projection Project");
+        UUID jobId = createJob(owner.token(), projectId);
+        UUID findingId = createFinding(owner.token(), jobId);
+        HttpEntity<?> entity = new HttpEntity<>(null, authHeaders(owner.token()));
+        restTemplate.exchange("/api/v1/findings/" + findingId, HttpMethod.GET, entity, Map.class);
+
+        SqlStatementCounter.reset();
+        ResponseEntity<Map> response = restTemplate.exchange(
+                "/api/v1/findings/" + findingId, HttpMethod.GET, entity, Map.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        // team ID projection + the finding row; membership is served from the cache
+        assertThat(SqlStatementCounter.count()).isEqualTo(2);
+    }
+
     @Test
     void getFindingsForJob_pagination_works() {
         TestSetup owner = setupOwner();
@@ -187,4 +205,56 @@ class FindingControllerIT extends BaseIntegrationTest {
         assertThat(content.get(0).get("severity")).isEqualTo("HIGH");
         assertThat(((Number) pageBody.get("totalElements")).longValue()).isEqualTo(1L);
     }
+
+    @Test
+    void ingestFindingStream_ndjson_persistsAllFindings() {
+        TestSetup owner = setupOwner();
+        UUID projectId = createProject(owner.token(), owner.teamId(), "Stream Finding Project");
+        UUID jobId = createJob(owner.token(), projectId);
+
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 120; i++) {
+            ndjson.append("{\"jobId\":\"").append(jobId)
+                    .append("\",\"agentType\":\"SECURITY\",\"severity\":\"")
+                    .append(i < 3 ? "CRITICAL" : "LOW")
+                    .append("\",\"title\":\"Streamed finding ").append(i)
+                    .append("\",\"evidence\":\"").append("x".repeat(2000)).append("\"}\n");
+        }
+        HttpHeaders headers = authHeaders(owner.token());
+        headers.setContentType(MediaType.parseMediaType("application/x-ndjson"));
+        HttpEntity<?> entity = new HttpEntity<>(ndjson.toString(), headers);
+
+        ResponseEntity<Map> response = restTemplate.exchange(
+                "/api/v1/findings/stream", HttpMethod.POST, entity, Map.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(response.getBody().get("jobId")).isEqualTo(jobId.toString());
+        assertThat(response.getBody().get("created")).isEqualTo(120);
+        assertThat(response.getBody().get("critical")).isEqualTo(3);
+        assertThat((List<?>) response.getBody().get("findingIds")).hasSize(120);
+
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM findings WHERE job_id = ?", Integer.class, jobId);
+        assertThat(count).isEqualTo(120);
+    }
+
+    @Test
+    void ingestFindingStream_invalidLine_rollsBackAndReturns400() {
+        TestSetup owner = setupOwner();
+        UUID projectId = createProject(owner.token(), owner.teamId(), "Stream Rollback Project");
+        UUID jobId = createJob(owner.token(), projectId);
+
+        String ndjson = "{\"jobId\":\"" + jobId + "\",\"agentType\":\"SECURITY\",\"severity\":\"HIGH\",\"title\":\"ok\"}\n"
+                + "{\"jobId\":\"" + jobId + "\",\"agentType\":\"SECURITY\",\"severity\":\"HIGH\",\"title\":\"\"}\n";
+        HttpHeaders headers = authHeaders(owner.token());
+        headers.setContentType(MediaType.parseMediaType("application/x-ndjson"));
+
+        ResponseEntity<Map> response = restTemplate.exchange(
+                "/api/v1/findings/stream", HttpMethod.POST, new HttpEntity<>(ndjson, headers), Map.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM findings WHERE job_id = ?", Integer.class, jobId);
+        assertThat(count).isZero();
+    }
 }
@@ -0,0 +1,181 @@
+package com.codeops.integration;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * JDBC-level counters of the statements the application sends to the database while serving HTTP
+ * requests, so integration tests can assert on query counts and on JDBC batching itself.
+ *
+ * <p>Unlike {@link SqlStatementCounter}, which sees each statement Hibernate prepares, this
+ * counter wraps the {@link DataSource} and records what actually reaches the driver: every
+ * executed {@code SELECT}, every {@code executeBatch()} call and the rows it carried, and every
+ * {@code INSERT} executed on its own. Installed by {@link JdbcStatementCounterConfig}. Only
+ * statements run on a thread bound to an HTTP request, or inside {@link #countOnThisThread}, are
+ * counted, so scheduled pollers and the async audit writer stay out of the measurement.</p>
+ */
+public final class JdbcStatementCounter {
+
+    private static final AtomicLong SELECTS = new AtomicLong();
+    private static final Map<String, LongAdder> BATCHES = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> BATCHED_ROWS = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> SINGLE_INSERTS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Boolean> THIS_THREAD = ThreadLocal.withInitial(() -> false);
+
+    private JdbcStatementCounter() {}
+
+    public static void reset() {
+        SELECTS.set(0);
+        BATCHES.clear();
+        BATCHED_ROWS.clear();
+        SINGLE_INSERTS.clear();
+    }
+
+    /** Returns the number of {@code SELECT} statements executed. */
+    public static long selects() {
+        return SELECTS.get();
+    }
+
+    /** Returns the number of {@code executeBatch()} calls that inserted into the table. */
+    public static long insertBatches(String table) {
+        return sum(BATCHES, table);
+    }
+
+    /** Returns the number of rows inserted into the table through {@code executeBatch()}. */
+    public static long batchedInsertRows(String table) {
+        return sum(BATCHED_ROWS, table);
+    }
+
+    /** Returns the number of inserts into the table executed one statement at a time. */
+    public static long singleInserts(String table) {
+        return sum(SINGLE_INSERTS, table);
+    }
+
+    /**
+     * Runs work on the calling thread with its statements counted, for tests that use the
+     * database directly rather than through an HTTP request.
+     *
+     * @param work the work to run
+     * @return the result of the work
+     */
+    public static <T> T countOnThisThread(Supplier<T> work) {
+        THIS_THREAD.set(true);
+        try {
+            return work.get();
+        } finally {
+            THIS_THREAD.remove();
+        }
+    }
+
+    /**
+     * Wraps a data source so that the statements of every connection it hands out are counted.
+     *
+     * @param dataSource the application data source
+     * @return the counting data source
+     */
+    public static DataSource wrap(DataSource dataSource) {
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return connection(super.getConnection());
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return connection(super.getConnection(username, password));
+            }
+        };
+    }
+
+    private static long sum(Map<String, LongAdder> counts, String table) {
+        LongAdder count = counts.get(table.toLowerCase(Locale.ROOT));
+        return count == null ? 0 : count.sum();
+    }
+
+    private static Connection connection(Connection target) {
+        return proxy(Connection.class, target, (method, args) -> {
+            Object result = method.invoke(target, args);
+            return switch (method.getName()) {
+                case "prepareStatement" -> statement(PreparedStatement.class, (Statement) result, (String) args[0]);
+                case "prepareCall" -> statement(CallableStatement.class, (Statement) result, (String) args[0]);
+                case "createStatement" -> statement(Statement.class, (Statement) result, null);
+                default -> result;
+            };
+        });
+    }
+
+    private static <T extends Statement> T statement(Class<T> type, Statement target, String preparedSql) {
+        LongAdder pendingRows = new LongAdder();
+        return proxy(type, target, (method, args) -> {
+            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+            switch (method.getName()) {
+                case "addBatch" -> pendingRows.increment();
+                case "clearBatch" -> pendingRows.reset();
+                case "executeBatch", "executeLargeBatch" -> {
+                    String table = insertTable(preparedSql);
+                    if (table != null && counting()) {
+                        BATCHES.computeIfAbsent(table, t -> new LongAdder()).increment();
+                        BATCHED_ROWS.computeIfAbsent(table, t -> new LongAdder()).add(pendingRows.sum());
+                    }
+                    pendingRows.reset();
+                }
+                case "executeQuery", "execute", "executeUpdate", "executeLargeUpdate" -> {
+                    if (sql != null && counting()) {
+                        String table = insertTable(sql);
+                        if (table != null) {
+                            SINGLE_INSERTS.computeIfAbsent(table, t -> new LongAdder()).increment();
+                        } else if (sql.stripLeading().regionMatches(true, 0, "select", 0, 6)) {
+                            SELECTS.incrementAndGet();
+                        }
+                    }
+                }
+                default -> { }
+            }
+            return method.invoke(target, args);
+        });
+    }
+
+    private static boolean counting() {
+        return THIS_THREAD.get() || RequestContextHolder.getRequestAttributes() != null;
+    }
+
+    private static String insertTable(String sql) {
+        if (sql == null) return null;
+        String[] tokens = sql.strip().toLowerCase(Locale.ROOT).split("[\\s(]+", 4);
+        return tokens.length >= 3 && tokens[0].equals("insert") && tokens[1].equals("into") ? tokens[2] : null;
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(Method method, Object[] args) throws Throwable;
+    }
+
+    private static <T> T proxy(Class<T> type, Object target, Handler handler) {
+        InvocationHandler invocation = (proxy, method, args) -> {
+            try {
+                return handler.handle(method, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return type.cast(Proxy.newProxyInstance(JdbcStatementCounter.class.getClassLoader(),
+                new Class<?>[] {type}, invocation));
+    }
+}
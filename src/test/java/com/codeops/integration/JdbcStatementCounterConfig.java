@@ -0,0 +1,26 @@
+package com.codeops.integration;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application data source with {@link JdbcStatementCounter} for integration tests.
+ */
+@TestConfiguration
+public class JdbcStatementCounterConfig {
+
+    @Bean
+    public static BeanPostProcessor jdbcStatementCounterPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && "dataSource".equals(beanName)
+                        ? JdbcStatementCounter.wrap(dataSource)
+                        : bean;
+            }
+        };
+    }
+}
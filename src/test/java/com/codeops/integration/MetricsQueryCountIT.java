@@ -0,0 +1,74 @@
+package com.codeops.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.*;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MetricsQueryCountIT extends BaseIntegrationTest {
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> getTeamMetrics(String token, UUID teamId) {
+        HttpEntity<?> entity = new HttpEntity<>(authHeaders(token));
+        ResponseEntity<Map> response = restTemplate.exchange(
+                "/api/v1/metrics/team/" + teamId, HttpMethod.GET, entity, Map.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody();
+    }
+
+    private void createProjectsWithJobs(String token, UUID teamId, int projects, int jobsPerProject) {
+        for (int i = 0; i < projects; i++) {
+            UUID projectId = createProject(token, teamId, "Metrics Project " + UUID.randomUUID());
+            for (int j = 0; j < jobsPerProject; j++) {
+                createJob(token, projectId);
+            }
+        }
+    }
+
+    private long measureTeamMetricsStatements(String token, UUID teamId) {
+        waitForAsync();
+        SqlStatementCounter.reset();
+        getTeamMetrics(token, teamId);
+        return SqlStatementCounter.count();
+    }
+
+    @Test
+    void teamMetrics_statementCountFlatAsProjectsGrow() {
+        TestSetup setup = setupOwner();
+        createProjectsWithJobs(setup.token(), setup.teamId(), 1, 2);
+        long small = measureTeamMetricsStatements(setup.token(), setup.teamId());
+
+        createProjectsWithJobs(setup.token(), setup.teamId(), 25, 2);
+        long large = measureTeamMetricsStatements(setup.token(), setup.teamId());
+
+        assertThat(large).isEqualTo(small);
+        assertThat(large).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void teamMetrics_aggregatesTotalsAcrossProjects() {
+        TestSetup setup = setupOwner();
+        createProjectsWithJobs(setup.token(), setup.teamId(), 3, 2);
+
+        Map<String, Object> body = getTeamMetrics(setup.token(), setup.teamId());
+
+        assertThat(((Number) body.get("totalProjects")).intValue()).isEqualTo(3);
+        assertThat(((Number) body.get("totalJobs")).intValue()).isEqualTo(6);
+        assertThat(((Number) body.get("totalFindings")).intValue()).isZero();
+        assertThat(((Number) body.get("openCriticalFindings")).intValue()).isZero();
+    }
+
+    @Test
+    void teamMetrics_emptyTeam_returnsZeros() {
+        TestSetup setup = setupOwner();
+
+        Map<String, Object> body = getTeamMetrics(setup.token(), setup.teamId());
+
+        assertThat(((Number) body.get("totalProjects")).intValue()).isZero();
+        assertThat(((Number) body.get("totalJobs")).intValue()).isZero();
+        assertThat(((Number) body.get("averageHealthScore")).doubleValue()).isZero();
+    }
+}
@@ -4,8 +4,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.*;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -100,4 +102,44 @@ class PaginationIT extends BaseIntegrationTest {
         assertThat(content).hasSize(100);
         assertThat(((Number) body.get("size")).intValue()).isEqualTo(100);
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void listFindings_keysetMode_walksAllPagesWithoutDuplicates() {
+        UUID projectId = createProject(token, teamId, "Keyset Project");
+        UUID jobId = createJob(token, projectId);
+        for (int i = 0; i < 25; i++) {
+            createFinding(token, jobId);
+        }
+
+        Map<String, Object> first = getProjects("/api/v1/findings/job/" + jobId + "?after=&size=20");
+        List<Map<String, Object>> firstContent = (List<Map<String, Object>>) first.get("content");
+        assertThat(firstContent).hasSize(20);
+        assertThat((Boolean) first.get("hasNext")).isTrue();
+        assertThat(first).doesNotContainKey("totalElements");
+
+        String cursor = (String) first.get("nextCursor");
+        Map<String, Object> second = getProjects("/api/v1/findings/job/" + jobId + "?after=" + cursor + "&size=20");
+        List<Map<String, Object>> secondContent = (List<Map<String, Object>>) second.get("content");
+        assertThat(secondContent).hasSize(5);
+        assertThat((Boolean) second.get("hasNext")).isFalse();
+        assertThat(second.get("nextCursor")).isNull();
+
+        Set<Object> ids = new HashSet<>();
+        firstContent.forEach(f -> ids.add(f.get("id")));
+        secondContent.forEach(f -> ids.add(f.get("id")));
+        assertThat(ids).hasSize(25);
+    }
+
+    @Test
+    void listFindings_keysetModeMalformedCursor_returns400() {
+        UUID projectId = createProject(token, teamId, "Keyset Project");
+        UUID jobId = createJob(token, projectId);
+
+        HttpEntity<?> entity = new HttpEntity<>(authHeaders(token));
+        ResponseEntity<Map> response = restTemplate.exchange(
+                "/api/v1/findings/job/" + jobId + "?after=garbage", HttpMethod.GET, entity, Map.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
 }
@@ -1,6 +1,8 @@
 package com.codeops.integration;
 
+import com.codeops.config.RateLimitProperties;
 import com.codeops.security.RateLimitFilter;
+import com.codeops.security.RateLimiter;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import jakarta.servlet.FilterChain;
@@ -110,7 +112,7 @@ class SecurityIT extends BaseIntegrationTest {
         // The real RateLimitFilter is replaced by a no-op in BaseIntegrationTest,
         // so we instantiate a testable subclass that calls doFilterInternal directly,
         // bypassing OncePerRequestFilter's dispatch-type checking.
-        var testFilter = new RateLimitFilter() {
+        var testFilter = new RateLimitFilter(new RateLimiter(new RateLimitProperties())) {
             public void invokeFilter(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
                     throws ServletException, IOException {
                 doFilterInternal(req, res, chain);
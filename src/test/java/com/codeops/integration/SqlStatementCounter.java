@@ -0,0 +1,33 @@
+package com.codeops.integration;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hibernate statement inspector that counts every SQL statement prepared by the
+ * application so integration tests can assert on query counts.
+ *
+ * <p>Registered through {@code hibernate.session_factory.statement_inspector} in the
+ * integration profile. The counter is JVM-wide, so tests should call
+ * {@link BaseIntegrationTest#waitForAsync()} before {@link #reset()} to keep async
+ * audit writes out of the measurement.</p>
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final AtomicLong COUNT = new AtomicLong();
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.incrementAndGet();
+        return sql;
+    }
+
+    public static void reset() {
+        COUNT.set(0);
+    }
+
+    public static long count() {
+        return COUNT.get();
+    }
+}
@@ -7,7 +7,9 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
+import com.codeops.config.RateLimitProperties;
 import com.codeops.security.RateLimitFilter;
+import com.codeops.security.RateLimiter;
 
 import java.io.IOException;
 
@@ -21,7 +23,7 @@ public class TestRateLimitConfig {
     @Bean
     @Primary
     public RateLimitFilter rateLimitFilter() {
-        return new RateLimitFilter() {
+        return new RateLimitFilter(new RateLimiter(new RateLimitProperties())) {
             @Override
             protected void doFilterInternal(HttpServletRequest request,
                                             HttpServletResponse response,
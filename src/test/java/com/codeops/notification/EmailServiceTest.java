@@ -1,16 +1,23 @@
 package com.codeops.notification;
 
 import com.codeops.config.MailProperties;
+import com.codeops.exception.NotificationDeliveryException;
+import jakarta.mail.Message;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Session;
 import jakarta.mail.internet.MimeMessage;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -88,6 +95,103 @@ class EmailServiceTest {
                 emailService.sendEmail("user@test.com", "Subject", "<p>Body</p>"));
     }
 
+    // --- deliver ---
+
+    @Test
+    void deliver_smtpFailure_throwsDeliveryException() {
+        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
+        doThrow(new org.springframework.mail.MailSendException("SMTP error"))
+                .when(mailSender).send(any(MimeMessage.class));
+
+        EmailService emailService = new EmailService(mailSender, enabledProps());
+
+        NotificationDeliveryException e = assertThrows(NotificationDeliveryException.class,
+                () -> emailService.deliver("user@test.com", "Subject", "<p>Body</p>"));
+        assertTrue(e.getMessage().contains("SMTP error"));
+    }
+
+    @Test
+    void deliver_mailEnabled_nullSender_throwsDeliveryException() {
+        EmailService emailService = new EmailService(null, enabledProps());
+
+        assertThrows(NotificationDeliveryException.class,
+                () -> emailService.deliver("user@test.com", "Subject", "<p>Body</p>"));
+    }
+
+    // --- deliverAll ---
+
+    private static EmailService.OutgoingEmail email(String to, String... bcc) {
+        return new EmailService.OutgoingEmail(to, List.of(bcc), "Subject", "<p>Body</p>");
+    }
+
+    @Test
+    void deliverAll_sendsAllMessagesInOneCall() throws Exception {
+        when(mailSender.createMimeMessage()).thenAnswer(inv -> new MimeMessage((Session) null));
+        EmailService emailService = new EmailService(mailSender, enabledProps());
+
+        Map<Integer, NotificationDeliveryException> failures = emailService.deliverAll(List.of(
+                email("a@test.com"), email("noreply@codeops.dev", "b@test.com", "c@test.com")));
+
+        assertTrue(failures.isEmpty());
+        ArgumentCaptor<MimeMessage[]> captor = ArgumentCaptor.forClass(MimeMessage[].class);
+        verify(mailSender).send(captor.capture());
+        MimeMessage[] sent = captor.getValue();
+        assertEquals(2, sent.length);
+        assertEquals(2, sent[1].getRecipients(Message.RecipientType.BCC).length);
+        assertNull(sent[0].getRecipients(Message.RecipientType.BCC));
+    }
+
+    @Test
+    void deliverAll_partialFailure_reportsOnlyFailedMessages() {
+        List<MimeMessage> created = new ArrayList<>();
+        when(mailSender.createMimeMessage()).thenAnswer(inv -> {
+            MimeMessage message = new MimeMessage((Session) null);
+            created.add(message);
+            return message;
+        });
+        doAnswer(inv -> {
+            throw new MailSendException(Map.<Object, Exception>of(created.get(1), new SendFailedException("Invalid address")));
+        }).when(mailSender).send(any(MimeMessage[].class));
+        EmailService emailService = new EmailService(mailSender, enabledProps());
+
+        Map<Integer, NotificationDeliveryException> failures = emailService.deliverAll(List.of(
+                email("a@test.com"), email("b@test.com"), email("c@test.com")));
+
+        assertEquals(Set.of(1), failures.keySet());
+        assertTrue(failures.get(1).getMessage().contains("Invalid address"));
+    }
+
+    @Test
+    void deliverAll_connectionFailure_failsEveryMessage() {
+        when(mailSender.createMimeMessage()).thenAnswer(inv -> new MimeMessage((Session) null));
+        doThrow(new MailSendException("Mail server connection failed"))
+                .when(mailSender).send(any(MimeMessage[].class));
+        EmailService emailService = new EmailService(mailSender, enabledProps());
+
+        Map<Integer, NotificationDeliveryException> failures = emailService.deliverAll(List.of(
+                email("a@test.com"), email("b@test.com")));
+
+        assertEquals(Set.of(0, 1), failures.keySet());
+    }
+
+    @Test
+    void deliverAll_mailDisabled_sendsNothing() {
+        EmailService emailService = new EmailService(mailSender, disabledProps());
+
+        assertTrue(emailService.deliverAll(List.of(email("a@test.com"))).isEmpty());
+        verifyNoInteractions(mailSender);
+    }
+
+    @Test
+    void criticalFindingAlert_escapesProjectName() {
+        EmailService emailService = new EmailService(null, disabledProps());
+
+        EmailService.Content content = emailService.criticalFindingAlert("<b>Proj</b>", 2, "https://url");
+
+        assertEquals("CodeOps — Critical Findings Alert: &lt;b&gt;Proj&lt;/b&gt;", content.subject());
+        assertTrue(content.htmlBody().contains("<strong>2</strong>"));
+    }
+
     // --- sendInvitationEmail ---
 
     @Test
@@ -0,0 +1,203 @@
+package com.codeops.notification;
+
+import com.codeops.config.AppConstants;
+import com.codeops.entity.HealthDigestRun;
+import com.codeops.entity.NotificationOutbox;
+import com.codeops.repository.HealthDigestRunRepository;
+import com.codeops.repository.NotificationOutboxRepository;
+import com.codeops.repository.NotificationPreferenceRepository;
+import com.codeops.repository.ProjectRepository;
+import com.codeops.repository.TeamRepository;
+import com.codeops.repository.projection.HealthDigestProjectRow;
+import com.codeops.repository.projection.TeamRecipient;
+import com.codeops.service.ProjectMetricsRollupService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HealthDigestJobTest {
+
+    // Monday 2026-10-12 is the digest day; 09:00 UTC is after the digest hour
+    private static final LocalDate WEEK_OF = LocalDate.of(2026, 10, 12);
+    private static final Instant NOW = Instant.parse("2026-10-12T09:00:00Z");
+    private static final Instant WEEK_START = Instant.parse("2026-10-05T08:00:00Z");
+    private static final Limit PAGE = Limit.of(AppConstants.HEALTH_DIGEST_TEAM_PAGE_SIZE);
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+
+    @Mock private TeamRepository teamRepository;
+    @Mock private ProjectRepository projectRepository;
+    @Mock private NotificationPreferenceRepository preferenceRepository;
+    @Mock private NotificationOutboxRepository outboxRepository;
+    @Mock private HealthDigestRunRepository runRepository;
+    @Mock private EmailService emailService;
+    @Mock private NotificationDispatcher notificationDispatcher;
+    @Mock private ProjectMetricsRollupService rollupService;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private HealthDigestJob job;
+    private HealthDigestRun run;
+
+    @BeforeEach
+    void setUp() {
+        job = jobAt(NOW);
+        run = HealthDigestRun.builder().weekOf(WEEK_OF).startedAt(NOW).build();
+    }
+
+    private HealthDigestJob jobAt(Instant now) {
+        return new HealthDigestJob(teamRepository, projectRepository, preferenceRepository, outboxRepository,
+                runRepository, emailService, notificationDispatcher, rollupService, transactionManager,
+                Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private static HealthDigestProjectRow row(UUID teamId, String project, Integer score, Integer previous) {
+        return new HealthDigestProjectRow(teamId, "Team " + teamId.toString().substring(0, 4), project, score,
+                previous, 1, 2);
+    }
+
+    @Test
+    void runIfDue_beforeDigestHour_doesNothing() {
+        assertNull(jobAt(Instant.parse("2026-10-12T07:59:00Z")).runIfDue());
+
+        verifyNoInteractions(runRepository, teamRepository, outboxRepository);
+    }
+
+    @Test
+    void runIfDue_laterInWeek_runsForThatWeeksDigestDay() {
+        when(runRepository.lockByWeekOf(WEEK_OF)).thenReturn(Optional.of(run));
+        when(teamRepository.findIdsAfter(MIN_UUID, PAGE)).thenReturn(List.of());
+
+        HealthDigestJob.RunStats stats = jobAt(Instant.parse("2026-10-15T13:00:00Z")).runIfDue();
+
+        assertEquals(WEEK_OF, stats.weekOf());
+        verify(runRepository).insertIfAbsent(eq(WEEK_OF), any());
+    }
+
+    @Test
+    void run_rendersOncePerTeamAndQueuesForEachRecipient() {
+        UUID teamA = UUID.randomUUID();
+        UUID teamB = UUID.randomUUID();
+        when(runRepository.lockByWeekOf(WEEK_OF)).thenReturn(Optional.of(run));
+        when(teamRepository.findIdsAfter(MIN_UUID, PAGE)).thenReturn(List.of(teamA, teamB));
+        when(teamRepository.findIdsAfter(teamB, PAGE)).thenReturn(List.of());
+        when(preferenceRepository.findEmailRecipientsForTeams(List.of(teamA, teamB), HealthDigestJob.EVENT_TYPE))
+                .thenReturn(List.of(new TeamRecipient(teamA, "a1@codeops.dev"), new TeamRecipient(teamA, "a2@codeops.dev")));
+        when(projectRepository.findHealthDigestRows(anyCollection(), eq(WEEK_START)))
+                .thenReturn(List.of(row(teamA, "api", 80, 75), row(teamA, "web", 60, null)));
+        EmailService.Content digest = new EmailService.Content("Digest", "<table/>");
+        when(emailService.healthDigest(anyString(), anyList())).thenReturn(digest);
+        List<NotificationOutbox> queued = List.of(new NotificationOutbox(), new NotificationOutbox());
+        when(notificationDispatcher.emailEntries(HealthDigestJob.EVENT_TYPE, List.of("a1@codeops.dev", "a2@codeops.dev"),
+                digest, NOW)).thenReturn(queued);
+
+        HealthDigestJob.RunStats stats = job.run(WEEK_OF);
+
+        assertEquals(2, stats.teams());
+        assertEquals(2, stats.projects());
+        assertEquals(2, stats.emailsQueued());
+        verify(emailService, times(1)).healthDigest(anyString(), anyList());
+        verify(outboxRepository).saveAll(queued);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<UUID>> summarized = ArgumentCaptor.forClass(Collection.class);
+        verify(projectRepository).findHealthDigestRows(summarized.capture(), eq(WEEK_START));
+        assertEquals(List.of(teamA), List.copyOf(summarized.getValue()));
+
+        assertEquals(teamB, run.getLastTeamId());
+        assertEquals(2, run.getTeamsProcessed());
+        assertEquals(2, run.getEmailsQueued());
+        assertEquals(NOW, run.getCompletedAt());
+    }
+
+    @Test
+    void run_projectWithFindingsButNoRollup_buildsRollupBeforeReadingCounts() {
+        UUID teamId = UUID.randomUUID();
+        when(runRepository.lockByWeekOf(WEEK_OF)).thenReturn(Optional.of(run));
+        when(teamRepository.findIdsAfter(MIN_UUID, PAGE)).thenReturn(List.of(teamId));
+        when(teamRepository.findIdsAfter(teamId, PAGE)).thenReturn(List.of());
+        when(preferenceRepository.findEmailRecipientsForTeams(List.of(teamId), HealthDigestJob.EVENT_TYPE))
+                .thenReturn(List.of(new TeamRecipient(teamId, "a1@codeops.dev")));
+        when(rollupService.rebuildMissing()).thenReturn(1);
+        when(projectRepository.findHealthDigestRows(anyCollection(), eq(WEEK_START)))
+                .thenReturn(List.of(new HealthDigestProjectRow(teamId, "Team", "legacy", 40, null, 3, 5)));
+        when(emailService.healthDigest(anyString(), anyList())).thenReturn(new EmailService.Content("Digest", ""));
+
+        job.run(WEEK_OF);
+
+        InOrder order = inOrder(rollupService, projectRepository);
+        order.verify(rollupService).rebuildMissing();
+        order.verify(projectRepository).findHealthDigestRows(anyCollection(), eq(WEEK_START));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Map<String, Object>>> lines = ArgumentCaptor.forClass(List.class);
+        verify(emailService).healthDigest(eq("Team"), lines.capture());
+        assertEquals("3 critical, 5 high", lines.getValue().get(0).get("findings"));
+    }
+
+    @Test
+    void run_interruptedRun_resumesAfterCheckpoint() {
+        UUID processed = UUID.randomUUID();
+        UUID next = UUID.randomUUID();
+        run.setLastTeamId(processed);
+        run.setTeamsProcessed(200);
+        when(runRepository.lockByWeekOf(WEEK_OF)).thenReturn(Optional.of(run));
+        when(teamRepository.findIdsAfter(processed, PAGE)).thenReturn(List.of(next));
+        when(teamRepository.findIdsAfter(next, PAGE)).thenReturn(List.of());
+        when(preferenceRepository.findEmailRecipientsForTeams(List.of(next), HealthDigestJob.EVENT_TYPE)).thenReturn(List.of());
+
+        HealthDigestJob.RunStats stats = job.run(WEEK_OF);
+
+        assertEquals(1, stats.teams());
+        assertEquals(201, run.getTeamsProcessed());
+        verify(teamRepository, never()).findIdsAfter(eq(MIN_UUID), any());
+        verifyNoInteractions(projectRepository, emailService);
+    }
+
+    @Test
+    void run_completedRun_queuesNothing() {
+        run.setCompletedAt(NOW.minusSeconds(3600));
+        when(runRepository.lockByWeekOf(WEEK_OF)).thenReturn(Optional.of(run));
+
+        HealthDigestJob.RunStats stats = job.run(WEEK_OF);
+
+        assertEquals(0, stats.teams());
+        verifyNoInteractions(teamRepository, outboxRepository);
+    }
+
+    @Test
+    void summary_formatsScoreChangeAndFindings() {
+        UUID teamId = UUID.randomUUID();
+
+        assertEquals(Map.of("name", "api", "healthScore", "80 (+5)", "findings", "1 critical, 2 high"),
+                HealthDigestJob.summary(row(teamId, "api", 80, 75)));
+        assertEquals("60 (-10)", HealthDigestJob.summary(row(teamId, "web", 60, 70)).get("healthScore"));
+        assertEquals("60", HealthDigestJob.summary(row(teamId, "web", 60, null)).get("healthScore"));
+        assertEquals("—", HealthDigestJob.summary(row(teamId, "new", null, null)).get("healthScore"));
+    }
+
+    @Test
+    void summary_missingRollupCounts_areUnknownNotZero() {
+        HealthDigestProjectRow row = new HealthDigestProjectRow(UUID.randomUUID(), "Team", "legacy", 40, null,
+                null, null);
+
+        assertEquals("—", HealthDigestJob.summary(row).get("findings"));
+    }
+}
@@ -1,21 +1,25 @@
 package com.codeops.notification;
 
+import com.codeops.config.MailProperties;
+import com.codeops.entity.NotificationOutbox;
 import com.codeops.entity.Team;
-import com.codeops.entity.TeamMember;
 import com.codeops.entity.User;
-import com.codeops.entity.enums.TeamRole;
-import com.codeops.repository.TeamMemberRepository;
+import com.codeops.entity.enums.NotificationChannel;
+import com.codeops.entity.enums.OutboxStatus;
+import com.codeops.repository.NotificationOutboxRepository;
+import com.codeops.repository.NotificationPreferenceRepository;
 import com.codeops.repository.TeamRepository;
 import com.codeops.repository.UserRepository;
 import com.codeops.service.NotificationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -31,9 +35,11 @@ class NotificationDispatcherTest {
     @Mock private NotificationService notificationService;
     @Mock private EmailService emailService;
     @Mock private TeamsWebhookService teamsWebhookService;
-    @Mock private TeamMemberRepository teamMemberRepository;
     @Mock private TeamRepository teamRepository;
     @Mock private UserRepository userRepository;
+    @Mock private NotificationOutboxRepository outboxRepository;
+    @Mock private NotificationPreferenceRepository preferenceRepository;
+    @Spy private MailProperties mailProperties = new MailProperties();
 
     @InjectMocks
     private NotificationDispatcher notificationDispatcher;
@@ -66,18 +72,42 @@ class NotificationDispatcherTest {
         testTeam.setId(teamId);
     }
 
+    private NotificationOutbox savedEntry() {
+        ArgumentCaptor<NotificationOutbox> captor = ArgumentCaptor.forClass(NotificationOutbox.class);
+        verify(outboxRepository).save(captor.capture());
+        return captor.getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<NotificationOutbox> savedEntries() {
+        ArgumentCaptor<List<NotificationOutbox>> captor = ArgumentCaptor.forClass(List.class);
+        verify(outboxRepository).saveAll(captor.capture());
+        return captor.getValue();
+    }
+
+    private void stubCriticalAlertContent(String projectName, int criticalCount, String jobUrl) {
+        when(emailService.criticalFindingAlert(projectName, criticalCount, jobUrl))
+                .thenReturn(new EmailService.Content("Critical: " + projectName, "<p>" + criticalCount + "</p>"));
+    }
+
     // --- dispatchJobCompleted ---
 
     @Test
-    void dispatchJobCompleted_withWebhook_postsToTeams() {
+    void dispatchJobCompleted_withWebhook_queuesTeamsCard() {
         when(teamRepository.findById(teamId)).thenReturn(Optional.of(testTeam));
+        when(teamsWebhookService.jobCompletedCard("MyProject", "main", 85, 2, 5, "Adam")).thenReturn("{\"card\":1}");
 
         notificationDispatcher.dispatchJobCompleted(teamId, jobId, "MyProject", "main", 85, 2, 5, "Adam");
 
-        verify(teamsWebhookService).postJobCompleted(
-                "https://outlook.office.com/webhook/test",
-                "MyProject", "main", 85, 2, 5, "Adam"
-        );
+        NotificationOutbox entry = savedEntry();
+        assertEquals("JOB_COMPLETED", entry.getEventType());
+        assertEquals(NotificationChannel.TEAMS_WEBHOOK, entry.getChannel());
+        assertEquals("https://outlook.office.com/webhook/test", entry.getRecipient());
+        assertEquals("{\"card\":1}", entry.getBody());
+        assertEquals(OutboxStatus.PENDING, entry.getStatus());
+        assertEquals(0, entry.getAttempts());
+        assertNotNull(entry.getNextAttemptAt());
+        verify(teamsWebhookService, never()).deliver(any(), any());
     }
 
     @Test
@@ -87,7 +117,7 @@ class NotificationDispatcherTest {
         assertDoesNotThrow(() ->
                 notificationDispatcher.dispatchJobCompleted(teamId, jobId, "Project", "main", 90, 0, 0, "User"));
 
-        verifyNoInteractions(teamsWebhookService);
+        verifyNoInteractions(teamsWebhookService, outboxRepository);
     }
 
     @Test
@@ -103,39 +133,35 @@ class NotificationDispatcherTest {
 
         notificationDispatcher.dispatchJobCompleted(teamId, jobId, "Project", "main", 90, 0, 0, "User");
 
-        verifyNoInteractions(teamsWebhookService);
-    }
-
-    @Test
-    void dispatchJobCompleted_webhookThrowsException_doesNotPropagate() {
-        when(teamRepository.findById(teamId)).thenReturn(Optional.of(testTeam));
-        doThrow(new RuntimeException("Webhook error"))
-                .when(teamsWebhookService).postJobCompleted(any(), any(), any(), anyInt(), anyInt(), anyInt(), any());
-
-        assertDoesNotThrow(() ->
-                notificationDispatcher.dispatchJobCompleted(teamId, jobId, "Project", "main", 90, 0, 0, "User"));
+        verifyNoInteractions(teamsWebhookService, outboxRepository);
     }
 
     // --- dispatchCriticalFinding ---
 
     @Test
-    void dispatchCriticalFinding_withWebhookAndEmailEnabled_sendsBoth() {
+    void dispatchCriticalFinding_withWebhookAndEmailEnabled_queuesBoth() {
         when(teamRepository.findById(teamId)).thenReturn(Optional.of(testTeam));
-        TeamMember member = TeamMember.builder()
-                .team(testTeam).user(testUser).role(TeamRole.ADMIN).joinedAt(Instant.now()).build();
-        member.setId(UUID.randomUUID());
-        when(teamMemberRepository.findByTeamId(teamId)).thenReturn(List.of(member));
-        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
-        when(notificationService.shouldNotify(userId, "CRITICAL_FINDING", "email")).thenReturn(true);
+        when(preferenceRepository.findEmailRecipients(teamId, "CRITICAL_FINDING")).thenReturn(List.of("test@codeops.dev"));
+        when(teamsWebhookService.criticalAlertCard("MyProject", 3)).thenReturn("{\"alert\":3}");
+        stubCriticalAlertContent("MyProject", 3, "https://codeops.dev/jobs/123");
 
         notificationDispatcher.dispatchCriticalFinding(teamId, UUID.randomUUID(), "MyProject", 3, "https://codeops.dev/jobs/123");
 
-        verify(teamsWebhookService).postCriticalAlert("https://outlook.office.com/webhook/test", "MyProject", 3);
-        verify(emailService).sendCriticalFindingAlert("test@codeops.dev", "MyProject", 3, "https://codeops.dev/jobs/123");
+        List<NotificationOutbox> entries = savedEntries();
+        assertEquals(2, entries.size());
+        assertEquals(NotificationChannel.TEAMS_WEBHOOK, entries.get(0).getChannel());
+        assertEquals("https://outlook.office.com/webhook/test", entries.get(0).getRecipient());
+        assertEquals("{\"alert\":3}", entries.get(0).getBody());
+        assertEquals(NotificationChannel.EMAIL, entries.get(1).getChannel());
+        assertEquals("test@codeops.dev", entries.get(1).getRecipient());
+        assertNull(entries.get(1).getBcc());
+        assertEquals("Critical: MyProject", entries.get(1).getSubject());
+        assertEquals("<p>3</p>", entries.get(1).getBody());
+        verify(emailService, never()).deliver(any(), any(), any());
     }
 
     @Test
-    void dispatchCriticalFinding_noWebhook_skipsTeamsButSendsEmail() {
+    void dispatchCriticalFinding_noWebhook_skipsTeamsButQueuesEmail() {
         Team teamNoWebhook = Team.builder()
                 .name("No Webhook Team")
                 .owner(testUser)
@@ -144,33 +170,30 @@ class NotificationDispatcherTest {
         teamNoWebhook.setId(teamId);
 
         when(teamRepository.findById(teamId)).thenReturn(Optional.of(teamNoWebhook));
-        TeamMember member = TeamMember.builder()
-                .team(teamNoWebhook).user(testUser).role(TeamRole.MEMBER).joinedAt(Instant.now()).build();
-        member.setId(UUID.randomUUID());
-        when(teamMemberRepository.findByTeamId(teamId)).thenReturn(List.of(member));
-        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
-        when(notificationService.shouldNotify(userId, "CRITICAL_FINDING", "email")).thenReturn(true);
+        when(preferenceRepository.findEmailRecipients(teamId, "CRITICAL_FINDING")).thenReturn(List.of("test@codeops.dev"));
+        stubCriticalAlertContent("MyProject", 5, "https://url");
 
         notificationDispatcher.dispatchCriticalFinding(teamId, UUID.randomUUID(), "MyProject", 5, "https://url");
 
         verifyNoInteractions(teamsWebhookService);
-        verify(emailService).sendCriticalFindingAlert("test@codeops.dev", "MyProject", 5, "https://url");
+        List<NotificationOutbox> entries = savedEntries();
+        assertEquals(1, entries.size());
+        assertEquals(NotificationChannel.EMAIL, entries.get(0).getChannel());
+        assertEquals("test@codeops.dev", entries.get(0).getRecipient());
     }
 
     @Test
-    void dispatchCriticalFinding_emailNotificationsDisabled_skipsEmail() {
+    void dispatchCriticalFinding_noEmailRecipients_queuesTeamsOnly() {
         when(teamRepository.findById(teamId)).thenReturn(Optional.of(testTeam));
-        TeamMember member = TeamMember.builder()
-                .team(testTeam).user(testUser).role(TeamRole.MEMBER).joinedAt(Instant.now()).build();
-        member.setId(UUID.randomUUID());
-        when(teamMemberRepository.findByTeamId(teamId)).thenReturn(List.of(member));
-        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
-        when(notificationService.shouldNotify(userId, "CRITICAL_FINDING", "email")).thenReturn(false);
+        when(preferenceRepository.findEmailRecipients(teamId, "CRITICAL_FINDING")).thenReturn(List.of());
+        when(teamsWebhookService.criticalAlertCard("MyProject", 2)).thenReturn("{}");
+        stubCriticalAlertContent("MyProject", 2, "https://url");
 
         notificationDispatcher.dispatchCriticalFinding(teamId, UUID.randomUUID(), "MyProject", 2, "https://url");
 
-        verify(teamsWebhookService).postCriticalAlert(any(), any(), anyInt());
-        verify(emailService, never()).sendCriticalFindingAlert(any(), any(), anyInt(), any());
+        List<NotificationOutbox> entries = savedEntries();
+        assertEquals(1, entries.size());
+        assertEquals(NotificationChannel.TEAMS_WEBHOOK, entries.get(0).getChannel());
     }
 
     @Test
@@ -182,61 +205,67 @@ class NotificationDispatcherTest {
 
         verifyNoInteractions(teamsWebhookService);
         verifyNoInteractions(emailService);
+        verifyNoInteractions(outboxRepository);
+        verifyNoInteractions(preferenceRepository);
     }
 
     @Test
-    void dispatchCriticalFinding_userNotFound_skipsEmail() {
+    void dispatchCriticalFinding_multipleRecipients_queuesEmailForEachWithoutPerUserLookups() {
         when(teamRepository.findById(teamId)).thenReturn(Optional.of(testTeam));
-        TeamMember member = TeamMember.builder()
-                .team(testTeam).user(testUser).role(TeamRole.MEMBER).joinedAt(Instant.now()).build();
-        member.setId(UUID.randomUUID());
-        when(teamMemberRepository.findByTeamId(teamId)).thenReturn(List.of(member));
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        when(preferenceRepository.findEmailRecipients(teamId, "CRITICAL_FINDING"))
+                .thenReturn(List.of("a@codeops.dev", "b@codeops.dev"));
+        when(teamsWebhookService.criticalAlertCard("MyProject", 4)).thenReturn("{}");
+        stubCriticalAlertContent("MyProject", 4, "https://url");
 
-        notificationDispatcher.dispatchCriticalFinding(teamId, UUID.randomUUID(), "MyProject", 1, "https://url");
+        notificationDispatcher.dispatchCriticalFinding(teamId, UUID.randomUUID(), "MyProject", 4, "https://url");
 
-        verify(teamsWebhookService).postCriticalAlert(any(), any(), anyInt());
-        verify(emailService, never()).sendCriticalFindingAlert(any(), any(), anyInt(), any());
+        List<String> emailRecipients = savedEntries().stream()
+                .filter(e -> e.getChannel() == NotificationChannel.EMAIL)
+                .map(NotificationOutbox::getRecipient)
+                .toList();
+        assertEquals(List.of("a@codeops.dev", "b@codeops.dev"), emailRecipients);
+        verify(emailService, times(1)).criticalFindingAlert("MyProject", 4, "https://url");
+        verifyNoInteractions(userRepository, notificationService);
     }
 
     @Test
-    void dispatchCriticalFinding_multipleMembers_sendsEmailToEachEligible() {
-        UUID userId2 = UUID.randomUUID();
-        User user2 = User.builder().email("user2@codeops.dev").passwordHash("hash").displayName("User 2").isActive(true).build();
-        user2.setId(userId2);
-
+    void dispatchCriticalFinding_bccBatching_groupsRecipients() {
+        mailProperties.setBccBatchSize(2);
         when(teamRepository.findById(teamId)).thenReturn(Optional.of(testTeam));
-        TeamMember member1 = TeamMember.builder().team(testTeam).user(testUser).role(TeamRole.ADMIN).joinedAt(Instant.now()).build();
-        member1.setId(UUID.randomUUID());
-        TeamMember member2 = TeamMember.builder().team(testTeam).user(user2).role(TeamRole.MEMBER).joinedAt(Instant.now()).build();
-        member2.setId(UUID.randomUUID());
-
-        when(teamMemberRepository.findByTeamId(teamId)).thenReturn(List.of(member1, member2));
-        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
-        when(userRepository.findById(userId2)).thenReturn(Optional.of(user2));
-        when(notificationService.shouldNotify(userId, "CRITICAL_FINDING", "email")).thenReturn(true);
-        when(notificationService.shouldNotify(userId2, "CRITICAL_FINDING", "email")).thenReturn(false);
+        when(preferenceRepository.findEmailRecipients(teamId, "CRITICAL_FINDING"))
+                .thenReturn(List.of("a@codeops.dev", "b@codeops.dev", "c@codeops.dev"));
+        when(teamsWebhookService.criticalAlertCard("MyProject", 1)).thenReturn("{}");
+        stubCriticalAlertContent("MyProject", 1, "https://url");
 
-        notificationDispatcher.dispatchCriticalFinding(teamId, UUID.randomUUID(), "MyProject", 4, "https://url");
+        notificationDispatcher.dispatchCriticalFinding(teamId, UUID.randomUUID(), "MyProject", 1, "https://url");
 
-        verify(emailService).sendCriticalFindingAlert("test@codeops.dev", "MyProject", 4, "https://url");
-        verify(emailService, never()).sendCriticalFindingAlert(eq("user2@codeops.dev"), any(), anyInt(), any());
+        List<NotificationOutbox> emails = savedEntries().stream()
+                .filter(e -> e.getChannel() == NotificationChannel.EMAIL)
+                .toList();
+        assertEquals(2, emails.size());
+        assertEquals("noreply@codeops.dev", emails.get(0).getRecipient());
+        assertEquals("a@codeops.dev,b@codeops.dev", emails.get(0).getBcc());
+        assertEquals("noreply@codeops.dev", emails.get(1).getRecipient());
+        assertEquals("c@codeops.dev", emails.get(1).getBcc());
+        assertEquals("Critical: MyProject", emails.get(1).getSubject());
     }
 
     // --- dispatchTaskAssigned ---
 
     @Test
-    void dispatchTaskAssigned_emailEnabled_sendsEmail() {
+    void dispatchTaskAssigned_emailEnabled_queuesEmail() {
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
         when(notificationService.shouldNotify(userId, "TASK_ASSIGNED", "email")).thenReturn(true);
 
         notificationDispatcher.dispatchTaskAssigned(userId, "Fix login bug", "MyProject");
 
-        verify(emailService).sendEmail(
-                eq("test@codeops.dev"),
-                eq("CodeOps — Task Assigned: Fix login bug"),
-                eq("You have been assigned a task in MyProject: Fix login bug")
-        );
+        NotificationOutbox entry = savedEntry();
+        assertEquals("TASK_ASSIGNED", entry.getEventType());
+        assertEquals(NotificationChannel.EMAIL, entry.getChannel());
+        assertEquals("test@codeops.dev", entry.getRecipient());
+        assertEquals("CodeOps — Task Assigned: Fix login bug", entry.getSubject());
+        assertEquals("You have been assigned a task in MyProject: Fix login bug", entry.getBody());
+        verifyNoInteractions(emailService);
     }
 
     @Test
@@ -246,7 +275,7 @@ class NotificationDispatcherTest {
 
         notificationDispatcher.dispatchTaskAssigned(userId, "Fix login bug", "MyProject");
 
-        verify(emailService, never()).sendEmail(any(), any(), any());
+        verifyNoInteractions(outboxRepository);
     }
 
     @Test
@@ -256,34 +285,24 @@ class NotificationDispatcherTest {
         assertDoesNotThrow(() ->
                 notificationDispatcher.dispatchTaskAssigned(userId, "Task", "Project"));
 
-        verify(emailService, never()).sendEmail(any(), any(), any());
-    }
-
-    @Test
-    void dispatchTaskAssigned_exceptionDuringNotification_doesNotPropagate() {
-        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
-        when(notificationService.shouldNotify(userId, "TASK_ASSIGNED", "email")).thenReturn(true);
-        doThrow(new RuntimeException("Email failed")).when(emailService).sendEmail(any(), any(), any());
-
-        assertDoesNotThrow(() ->
-                notificationDispatcher.dispatchTaskAssigned(userId, "Task", "Project"));
+        verifyNoInteractions(outboxRepository);
     }
 
     // --- dispatchInvitation ---
 
     @Test
-    void dispatchInvitation_success() {
-        notificationDispatcher.dispatchInvitation("newuser@test.com", "Alpha Team", "Adam", "https://accept.url");
+    void dispatchInvitation_queuesEmail() {
+        when(emailService.invitationEmail("Alpha Team", "Adam", "https://accept.url"))
+                .thenReturn(new EmailService.Content("Invitation", "<p>join</p>"));
 
-        verify(emailService).sendInvitationEmail("newuser@test.com", "Alpha Team", "Adam", "https://accept.url");
-    }
-
-    @Test
-    void dispatchInvitation_emailServiceThrows_doesNotPropagate() {
-        doThrow(new RuntimeException("SES error")).when(emailService)
-                .sendInvitationEmail(any(), any(), any(), any());
+        notificationDispatcher.dispatchInvitation("newuser@test.com", "Alpha Team", "Adam", "https://accept.url");
 
-        assertDoesNotThrow(() ->
-                notificationDispatcher.dispatchInvitation("user@test.com", "Team", "Inviter", "https://url"));
+        NotificationOutbox entry = savedEntry();
+        assertEquals("INVITATION", entry.getEventType());
+        assertEquals(NotificationChannel.EMAIL, entry.getChannel());
+        assertEquals("newuser@test.com", entry.getRecipient());
+        assertEquals("Invitation", entry.getSubject());
+        assertEquals("<p>join</p>", entry.getBody());
+        verify(emailService, never()).sendInvitationEmail(any(), any(), any(), any());
     }
 }
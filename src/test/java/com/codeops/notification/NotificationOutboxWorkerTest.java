@@ -0,0 +1,211 @@
+package com.codeops.notification;
+
+import com.codeops.config.AppConstants;
+import com.codeops.entity.NotificationOutbox;
+import com.codeops.entity.enums.NotificationChannel;
+import com.codeops.entity.enums.OutboxStatus;
+import com.codeops.exception.NotificationDeliveryException;
+import com.codeops.repository.NotificationOutboxRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationOutboxWorkerTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-16T12:00:00Z");
+
+    @Mock private NotificationOutboxRepository outboxRepository;
+    @Mock private EmailService emailService;
+    @Mock private TeamsWebhookService teamsWebhookService;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private ExecutorService executor;
+    private NotificationOutboxWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        worker = new NotificationOutboxWorker(outboxRepository, emailService, teamsWebhookService,
+                transactionManager, executor, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @AfterEach
+    void tearDown() {
+        worker.shutdown();
+    }
+
+    private static NotificationOutbox row(NotificationChannel channel, String recipient, int attempts) {
+        NotificationOutbox row = NotificationOutbox.builder()
+                .eventType("CRITICAL_FINDING")
+                .channel(channel)
+                .recipient(recipient)
+                .subject(channel == NotificationChannel.EMAIL ? "Subject" : null)
+                .body("body")
+                .attempts(attempts)
+                .nextAttemptAt(NOW)
+                .build();
+        row.setId(UUID.randomUUID());
+        return row;
+    }
+
+    @Test
+    void deliverDue_claimsLeasesAndDeliversBatch() {
+        NotificationOutbox email = row(NotificationChannel.EMAIL, "a@codeops.dev", 0);
+        NotificationOutbox teams = row(NotificationChannel.TEAMS_WEBHOOK, "https://hooks.example.com/x", 0);
+        when(outboxRepository.lockDue(NOW, AppConstants.NOTIFICATION_OUTBOX_BATCH_SIZE)).thenReturn(List.of(email, teams));
+
+        assertEquals(2, worker.deliverDue());
+
+        assertEquals(1, email.getAttempts());
+        assertEquals(NOW.plusSeconds(AppConstants.NOTIFICATION_OUTBOX_LEASE_SECONDS), email.getNextAttemptAt());
+        verify(emailService).deliverAll(List.of(new EmailService.OutgoingEmail("a@codeops.dev", List.of(), "Subject", "body")));
+        verify(teamsWebhookService).deliver("https://hooks.example.com/x", "body");
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<UUID>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(outboxRepository).markSent(ids.capture(), eq(NOW));
+        assertEquals(List.of(email.getId(), teams.getId()), ids.getValue());
+        verify(outboxRepository, never()).markAttemptFailed(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void deliverDue_transientFailure_reschedulesWithBackoff() {
+        NotificationOutbox email = row(NotificationChannel.EMAIL, "a@codeops.dev", 2);
+        when(outboxRepository.lockDue(NOW, AppConstants.NOTIFICATION_OUTBOX_BATCH_SIZE)).thenReturn(List.of(email));
+        when(emailService.deliverAll(any()))
+                .thenReturn(Map.of(0, new NotificationDeliveryException("SMTP send failure: timeout")));
+
+        assertEquals(0, worker.deliverDue());
+
+        ArgumentCaptor<Instant> retryAt = ArgumentCaptor.forClass(Instant.class);
+        verify(outboxRepository).markAttemptFailed(eq(email.getId()), eq(OutboxStatus.PENDING), retryAt.capture(),
+                eq("NotificationDeliveryException: SMTP send failure: timeout"), eq(NOW));
+        long delay = retryAt.getValue().getEpochSecond() - NOW.getEpochSecond();
+        // third attempt: 30s doubled twice, jittered over its upper half
+        assertTrue(delay >= 60 && delay <= 120, "delay=" + delay);
+        verify(outboxRepository, never()).markSent(any(), any());
+    }
+
+    @Test
+    void deliverDue_lastAttemptFails_marksFailed() {
+        NotificationOutbox teams = row(NotificationChannel.TEAMS_WEBHOOK, "https://hooks.example.com/x",
+                AppConstants.NOTIFICATION_MAX_ATTEMPTS - 1);
+        when(outboxRepository.lockDue(NOW, AppConstants.NOTIFICATION_OUTBOX_BATCH_SIZE)).thenReturn(List.of(teams));
+        doThrow(new NotificationDeliveryException("Teams webhook delivery failed: 503"))
+                .when(teamsWebhookService).deliver(any(), any());
+
+        worker.deliverDue();
+
+        verify(outboxRepository).markAttemptFailed(eq(teams.getId()), eq(OutboxStatus.FAILED), any(), anyString(), eq(NOW));
+    }
+
+    @Test
+    void deliverDue_invalidRecipient_failsWithoutRetry() {
+        NotificationOutbox teams = row(NotificationChannel.TEAMS_WEBHOOK, "http://10.0.0.1/hook", 0);
+        when(outboxRepository.lockDue(NOW, AppConstants.NOTIFICATION_OUTBOX_BATCH_SIZE)).thenReturn(List.of(teams));
+        doThrow(new IllegalArgumentException("Webhook URL must use HTTPS"))
+                .when(teamsWebhookService).deliver(any(), any());
+
+        worker.deliverDue();
+
+        verify(outboxRepository).markAttemptFailed(eq(teams.getId()), eq(OutboxStatus.FAILED), any(),
+                eq("IllegalArgumentException: Webhook URL must use HTTPS"), eq(NOW));
+    }
+
+    @Test
+    void deliverDue_fullBatch_claimsAgainUntilDrained() {
+        List<NotificationOutbox> full = new ArrayList<>();
+        for (int i = 0; i < AppConstants.NOTIFICATION_OUTBOX_BATCH_SIZE; i++) {
+            full.add(row(NotificationChannel.EMAIL, "user" + i + "@codeops.dev", 0));
+        }
+        when(outboxRepository.lockDue(NOW, AppConstants.NOTIFICATION_OUTBOX_BATCH_SIZE))
+                .thenReturn(full, List.of(row(NotificationChannel.EMAIL, "last@codeops.dev", 0)));
+
+        assertEquals(AppConstants.NOTIFICATION_OUTBOX_BATCH_SIZE + 1, worker.deliverDue());
+
+        verify(outboxRepository, times(2)).lockDue(NOW, AppConstants.NOTIFICATION_OUTBOX_BATCH_SIZE);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<EmailService.OutgoingEmail>> sessions = ArgumentCaptor.forClass(List.class);
+        verify(emailService, times(AppConstants.NOTIFICATION_DELIVERY_THREADS + 1)).deliverAll(sessions.capture());
+        assertEquals(AppConstants.NOTIFICATION_OUTBOX_BATCH_SIZE + 1,
+                sessions.getAllValues().stream().mapToInt(List::size).sum());
+    }
+
+    @Test
+    void deliverDue_emailSession_marksOnlyFailedMessages() {
+        // Five emails over four delivery threads are sent in sessions of two: [0, 1], [2, 3], [4].
+        List<NotificationOutbox> rows = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            rows.add(row(NotificationChannel.EMAIL, "user" + i + "@codeops.dev", 0));
+        }
+        NotificationOutbox failing = rows.get(3);
+        failing.setBcc("b@codeops.dev,c@codeops.dev");
+        when(outboxRepository.lockDue(NOW, AppConstants.NOTIFICATION_OUTBOX_BATCH_SIZE)).thenReturn(rows);
+        when(emailService.deliverAll(List.of(outgoing("user0@codeops.dev"), outgoing("user1@codeops.dev"))))
+                .thenReturn(Map.of());
+        when(emailService.deliverAll(List.of(outgoing("user2@codeops.dev"),
+                new EmailService.OutgoingEmail("user3@codeops.dev", List.of("b@codeops.dev", "c@codeops.dev"), "Subject", "body"))))
+                .thenReturn(Map.of(1, new NotificationDeliveryException("SMTP send failure: 452 too many recipients")));
+        when(emailService.deliverAll(List.of(outgoing("user4@codeops.dev")))).thenReturn(Map.of());
+
+        assertEquals(4, worker.deliverDue());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<UUID>> sent = ArgumentCaptor.forClass(Collection.class);
+        verify(outboxRepository).markSent(sent.capture(), eq(NOW));
+        assertEquals(List.of(rows.get(0).getId(), rows.get(1).getId(), rows.get(2).getId(), rows.get(4).getId()),
+                List.copyOf(sent.getValue()));
+        verify(outboxRepository).markAttemptFailed(eq(failing.getId()), eq(OutboxStatus.PENDING), any(), anyString(), eq(NOW));
+        verify(outboxRepository, times(1)).markAttemptFailed(any(), any(), any(), any(), any());
+    }
+
+    private static EmailService.OutgoingEmail outgoing(String to) {
+        return new EmailService.OutgoingEmail(to, List.of(), "Subject", "body");
+    }
+
+    @Test
+    void deliverDue_nothingDue_sendsNothing() {
+        when(outboxRepository.lockDue(NOW, AppConstants.NOTIFICATION_OUTBOX_BATCH_SIZE)).thenReturn(List.of());
+
+        assertEquals(0, worker.deliverDue());
+
+        verifyNoInteractions(emailService, teamsWebhookService);
+        verify(outboxRepository, never()).markSent(any(), any());
+    }
+
+    @Test
+    void backoffSeconds_doublesPerAttemptUpToCap() {
+        assertEquals(15, NotificationOutboxWorker.backoffSeconds(1, 0.0));
+        assertEquals(30, NotificationOutboxWorker.backoffSeconds(2, 0.0));
+        assertEquals(60, NotificationOutboxWorker.backoffSeconds(2, 0.999999) + 1);
+        assertEquals(AppConstants.NOTIFICATION_RETRY_MAX_SECONDS / 2, NotificationOutboxWorker.backoffSeconds(50, 0.0));
+    }
+
+    @Test
+    void purgeSent_deletesRowsOlderThanRetention() {
+        when(outboxRepository.deleteSentBefore(NOW.minusSeconds(AppConstants.NOTIFICATION_OUTBOX_SENT_RETENTION_DAYS * 86_400L)))
+                .thenReturn(4);
+
+        assertEquals(4, worker.purgeSent());
+    }
+}
@@ -1,5 +1,6 @@
 package com.codeops.notification;
 
+import com.codeops.exception.NotificationDeliveryException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -9,8 +10,11 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.MediaType;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.InetAddress;
+import java.time.Duration;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -25,11 +29,16 @@ class TeamsWebhookServiceTest {
     @Mock private RestTemplate restTemplate;
 
     private TeamsWebhookService teamsWebhookService;
+    private WebhookCircuitBreaker circuitBreaker;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     @BeforeEach
     void setUp() {
-        teamsWebhookService = new TeamsWebhookService(restTemplate, objectMapper);
+        WebhookUrlValidator urlValidator = new WebhookUrlValidator(Duration.ofMinutes(5), host -> new InetAddress[]{
+                InetAddress.getByAddress(host, host.equals("localhost") || host.startsWith("127.")
+                        ? new byte[]{127, 0, 0, 1} : new byte[]{52, 96, 0, 1})}, System::nanoTime);
+        circuitBreaker = new WebhookCircuitBreaker(2, Duration.ofMinutes(1), System::nanoTime);
+        teamsWebhookService = new TeamsWebhookService(restTemplate, objectMapper, urlValidator, circuitBreaker);
     }
 
     // --- postMessage ---
@@ -141,6 +150,34 @@ class TeamsWebhookServiceTest {
                 teamsWebhookService.postMessage(webhookUrl, "Title", "Sub", Map.of("K", "V"), null));
     }
 
+    // --- deliver ---
+
+    @Test
+    void deliver_restTemplateThrows_throwsDeliveryException() {
+        String webhookUrl = "https://outlook.office.com/webhook/test-id";
+        when(restTemplate.postForEntity(eq(webhookUrl), any(HttpEntity.class), eq(String.class)))
+                .thenThrow(new ResourceAccessException("Read timed out"));
+
+        assertThrows(NotificationDeliveryException.class, () -> teamsWebhookService.deliver(webhookUrl, "{}"));
+        assertEquals(WebhookCircuitBreaker.State.CLOSED, circuitBreaker.state(webhookUrl));
+    }
+
+    @Test
+    void deliver_repeatedFailures_opensCircuitAndStopsPosting() {
+        String webhookUrl = "https://outlook.office.com/webhook/test-id";
+        when(restTemplate.postForEntity(eq(webhookUrl), any(HttpEntity.class), eq(String.class)))
+                .thenThrow(new ResourceAccessException("Connection refused"));
+
+        assertThrows(NotificationDeliveryException.class, () -> teamsWebhookService.deliver(webhookUrl, "{}"));
+        assertThrows(NotificationDeliveryException.class, () -> teamsWebhookService.deliver(webhookUrl, "{}"));
+        NotificationDeliveryException e = assertThrows(NotificationDeliveryException.class,
+                () -> teamsWebhookService.deliver(webhookUrl, "{}"));
+
+        assertTrue(e.getMessage().contains("circuit is open"));
+        assertEquals(WebhookCircuitBreaker.State.OPEN, circuitBreaker.state(webhookUrl));
+        verify(restTemplate, times(2)).postForEntity(eq(webhookUrl), any(HttpEntity.class), eq(String.class));
+    }
+
     // --- validateWebhookUrl (tested through postMessage) ---
 
     @Test
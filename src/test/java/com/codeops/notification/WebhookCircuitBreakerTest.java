@@ -0,0 +1,89 @@
+package com.codeops.notification;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WebhookCircuitBreakerTest {
+
+    private static final String URL = "https://outlook.office.com/webhook/a";
+    private static final String OTHER_URL = "https://outlook.office.com/webhook/b";
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final WebhookCircuitBreaker breaker = new WebhookCircuitBreaker(3, Duration.ofMinutes(1), nanos::get);
+
+    @Test
+    void failuresBelowThreshold_keepCircuitClosed() {
+        breaker.recordFailure(URL);
+        breaker.recordFailure(URL);
+
+        assertTrue(breaker.tryAcquire(URL));
+        assertEquals(WebhookCircuitBreaker.State.CLOSED, breaker.state(URL));
+    }
+
+    @Test
+    void successResetsConsecutiveFailures() {
+        breaker.recordFailure(URL);
+        breaker.recordFailure(URL);
+        breaker.recordSuccess(URL);
+        breaker.recordFailure(URL);
+
+        assertEquals(WebhookCircuitBreaker.State.CLOSED, breaker.state(URL));
+    }
+
+    @Test
+    void thresholdReached_opensOnlyThatUrl() {
+        for (int i = 0; i < 3; i++) breaker.recordFailure(URL);
+
+        assertFalse(breaker.tryAcquire(URL));
+        assertTrue(breaker.tryAcquire(OTHER_URL));
+    }
+
+    @Test
+    void afterOpenDuration_allowsSingleTrial() {
+        for (int i = 0; i < 3; i++) breaker.recordFailure(URL);
+        nanos.addAndGet(Duration.ofMinutes(1).toNanos());
+
+        assertTrue(breaker.tryAcquire(URL));
+        assertEquals(WebhookCircuitBreaker.State.HALF_OPEN, breaker.state(URL));
+        assertFalse(breaker.tryAcquire(URL));
+    }
+
+    @Test
+    void trialSuccess_closesCircuit() {
+        for (int i = 0; i < 3; i++) breaker.recordFailure(URL);
+        nanos.addAndGet(Duration.ofMinutes(1).toNanos());
+        breaker.tryAcquire(URL);
+
+        breaker.recordSuccess(URL);
+
+        assertEquals(WebhookCircuitBreaker.State.CLOSED, breaker.state(URL));
+        assertTrue(breaker.tryAcquire(URL));
+    }
+
+    @Test
+    void trialFailure_reopensForFullDuration() {
+        for (int i = 0; i < 3; i++) breaker.recordFailure(URL);
+        nanos.addAndGet(Duration.ofMinutes(1).toNanos());
+        breaker.tryAcquire(URL);
+
+        breaker.recordFailure(URL);
+        nanos.addAndGet(Duration.ofSeconds(59).toNanos());
+
+        assertFalse(breaker.tryAcquire(URL));
+        assertEquals(WebhookCircuitBreaker.State.OPEN, breaker.state(URL));
+    }
+
+    @Test
+    void evictIdle_keepsCircuitsWithFailures() {
+        breaker.recordFailure(URL);
+        breaker.recordFailure(OTHER_URL);
+        breaker.recordSuccess(OTHER_URL);
+
+        assertEquals(1, breaker.evictIdle());
+        assertEquals(WebhookCircuitBreaker.State.CLOSED, breaker.state(OTHER_URL));
+    }
+}
@@ -0,0 +1,89 @@
+package com.codeops.notification;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WebhookUrlValidatorTest {
+
+    private static final byte[] PUBLIC = {52, 96, 0, 1};
+    private static final byte[] PRIVATE = {10, 0, 0, 5};
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicInteger lookups = new AtomicInteger();
+
+    private WebhookUrlValidator validator(byte[]... addresses) {
+        return new WebhookUrlValidator(Duration.ofMinutes(5), host -> {
+            lookups.incrementAndGet();
+            if (host.equals("unknown.example.com")) throw new UnknownHostException(host);
+            InetAddress[] resolved = new InetAddress[addresses.length];
+            for (int i = 0; i < addresses.length; i++) {
+                resolved[i] = InetAddress.getByAddress(host, addresses[i]);
+            }
+            return resolved;
+        }, nanos::get);
+    }
+
+    @Test
+    void validate_publicHost_cachesVerdictUntilTtl() {
+        WebhookUrlValidator validator = validator(PUBLIC);
+
+        validator.validate("https://outlook.office.com/webhook/a");
+        validator.validate("https://OUTLOOK.office.com/webhook/b");
+        assertEquals(1, lookups.get());
+
+        nanos.addAndGet(Duration.ofMinutes(5).toNanos());
+        validator.validate("https://outlook.office.com/webhook/a");
+        assertEquals(2, lookups.get());
+    }
+
+    @Test
+    void validate_anyInternalAddress_rejectedAndCached() {
+        WebhookUrlValidator validator = validator(PUBLIC, PRIVATE);
+
+        assertThrows(IllegalArgumentException.class, () -> validator.validate("https://mixed.example.com/hook"));
+        assertThrows(IllegalArgumentException.class, () -> validator.validate("https://mixed.example.com/hook"));
+        assertEquals(1, lookups.get());
+    }
+
+    @Test
+    void validate_httpUrl_rejectedWithoutLookup() {
+        WebhookUrlValidator validator = validator(PUBLIC);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> validator.validate("http://outlook.office.com/webhook"));
+        assertEquals("Webhook URL must use HTTPS", e.getMessage());
+        assertEquals(0, lookups.get());
+    }
+
+    @Test
+    void validate_unresolvableHost_notCached() {
+        WebhookUrlValidator validator = validator(PUBLIC);
+
+        assertThrows(IllegalArgumentException.class, () -> validator.validate("https://unknown.example.com/hook"));
+        assertThrows(IllegalArgumentException.class, () -> validator.validate("https://unknown.example.com/hook"));
+        assertEquals(2, lookups.get());
+    }
+
+    @Test
+    void validate_malformedUrl_rejected() {
+        assertThrows(IllegalArgumentException.class, () -> validator(PUBLIC).validate("not a url"));
+    }
+
+    @Test
+    void evictExpired_removesOnlyExpiredVerdicts() {
+        WebhookUrlValidator validator = validator(PUBLIC);
+        validator.validate("https://a.example.com/hook");
+        nanos.addAndGet(Duration.ofMinutes(3).toNanos());
+        validator.validate("https://b.example.com/hook");
+        nanos.addAndGet(Duration.ofMinutes(3).toNanos());
+
+        assertEquals(1, validator.evictExpired());
+    }
+}
@@ -1,5 +1,7 @@
 package com.codeops.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
 import jakarta.servlet.FilterChain;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,6 +14,7 @@ import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -43,6 +46,13 @@ class JwtAuthFilterTest {
         SecurityContextHolder.clearContext();
     }
 
+    private Claims claims(UUID userId, List<String> roles, String type) {
+        var builder = Jwts.claims().subject(userId.toString()).add("email", "user@test.com");
+        if (roles != null) builder.add("roles", roles);
+        if (type != null) builder.add("type", type);
+        return builder.build();
+    }
+
     @Test
     void doFilterInternal_noAuthHeader_continuesChain() throws Exception {
         jwtAuthFilter.doFilterInternal(request, response, filterChain);
@@ -64,10 +74,7 @@ class JwtAuthFilterTest {
         String token = "valid-jwt-token";
         request.addHeader("Authorization", "Bearer " + token);
 
-        when(jwtTokenProvider.validateToken(token)).thenReturn(true);
-        when(jwtTokenProvider.getUserIdFromToken(token)).thenReturn(userId);
-        when(jwtTokenProvider.getEmailFromToken(token)).thenReturn("user@test.com");
-        when(jwtTokenProvider.getRolesFromToken(token)).thenReturn(List.of("ADMIN"));
+        when(jwtTokenProvider.resolveValidClaims(token)).thenReturn(Optional.of(claims(userId, List.of("ADMIN"), null)));
 
         jwtAuthFilter.doFilterInternal(request, response, filterChain);
 
@@ -83,7 +90,7 @@ class JwtAuthFilterTest {
     void doFilterInternal_invalidToken_noAuthentication() throws Exception {
         String token = "invalid-token";
         request.addHeader("Authorization", "Bearer " + token);
-        when(jwtTokenProvider.validateToken(token)).thenReturn(false);
+        when(jwtTokenProvider.resolveValidClaims(token)).thenReturn(Optional.empty());
 
         jwtAuthFilter.doFilterInternal(request, response, filterChain);
 
@@ -97,14 +104,52 @@ class JwtAuthFilterTest {
         String token = "multi-role-token";
         request.addHeader("Authorization", "Bearer " + token);
 
-        when(jwtTokenProvider.validateToken(token)).thenReturn(true);
-        when(jwtTokenProvider.getUserIdFromToken(token)).thenReturn(userId);
-        when(jwtTokenProvider.getEmailFromToken(token)).thenReturn("user@test.com");
-        when(jwtTokenProvider.getRolesFromToken(token)).thenReturn(List.of("ADMIN", "OWNER"));
+        when(jwtTokenProvider.resolveValidClaims(token))
+                .thenReturn(Optional.of(claims(userId, List.of("ADMIN", "OWNER"), null)));
 
         jwtAuthFilter.doFilterInternal(request, response, filterChain);
 
         var auth = SecurityContextHolder.getContext().getAuthentication();
         assertEquals(2, auth.getAuthorities().size());
     }
+
+    @Test
+    void doFilterInternal_validToken_verifiesTokenOnce() throws Exception {
+        String token = "valid-jwt-token";
+        request.addHeader("Authorization", "Bearer " + token);
+        when(jwtTokenProvider.resolveValidClaims(token))
+                .thenReturn(Optional.of(claims(UUID.randomUUID(), List.of("MEMBER"), null)));
+
+        jwtAuthFilter.doFilterInternal(request, response, filterChain);
+
+        verify(jwtTokenProvider, times(1)).resolveValidClaims(token);
+        verifyNoMoreInteractions(jwtTokenProvider);
+    }
+
+    @Test
+    void doFilterInternal_mfaChallengeToken_noAuthentication() throws Exception {
+        String token = "mfa-challenge-token";
+        request.addHeader("Authorization", "Bearer " + token);
+        when(jwtTokenProvider.resolveValidClaims(token))
+                .thenReturn(Optional.of(claims(UUID.randomUUID(), null, "mfa_challenge")));
+
+        jwtAuthFilter.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void doFilterInternal_tokenWithoutRoles_authenticatesWithNoAuthorities() throws Exception {
+        UUID userId = UUID.randomUUID();
+        String token = "no-roles-token";
+        request.addHeader("Authorization", "Bearer " + token);
+        when(jwtTokenProvider.resolveValidClaims(token)).thenReturn(Optional.of(claims(userId, null, null)));
+
+        jwtAuthFilter.doFilterInternal(request, response, filterChain);
+
+        var auth = SecurityContextHolder.getContext().getAuthentication();
+        assertEquals(userId, auth.getPrincipal());
+        assertTrue(auth.getAuthorities().isEmpty());
+    }
 }
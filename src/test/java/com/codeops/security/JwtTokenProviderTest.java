@@ -133,6 +133,39 @@ class JwtTokenProviderTest {
         assertNotNull(claims.getIssuedAt());
     }
 
+    @Test
+    void resolveValidClaims_repeatedToken_servedFromCache() {
+        when(tokenBlacklistService.isBlacklisted(anyString())).thenReturn(false);
+        User user = createUser();
+        String token = jwtTokenProvider.generateToken(user, List.of("ADMIN"));
+
+        Claims first = jwtTokenProvider.resolveValidClaims(token).orElseThrow();
+        Claims second = jwtTokenProvider.resolveValidClaims(token).orElseThrow();
+
+        assertSame(first, second);
+        assertEquals(user.getId().toString(), second.getSubject());
+        assertEquals(List.of("ADMIN"), second.get("roles", List.class));
+    }
+
+    @Test
+    void resolveValidClaims_blacklistedAfterCaching_returnsEmpty() {
+        User user = createUser();
+        String token = jwtTokenProvider.generateToken(user, List.of());
+        when(tokenBlacklistService.isBlacklisted(anyString())).thenReturn(false, true);
+
+        assertTrue(jwtTokenProvider.resolveValidClaims(token).isPresent());
+        assertTrue(jwtTokenProvider.resolveValidClaims(token).isEmpty());
+    }
+
+    @Test
+    void resolveValidClaims_tamperedToken_returnsEmpty() {
+        User user = createUser();
+        String token = jwtTokenProvider.generateToken(user, List.of());
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertTrue(jwtTokenProvider.resolveValidClaims(tampered).isEmpty());
+    }
+
     @Test
     void isRefreshToken_invalidToken_returnsFalse() {
         assertFalse(jwtTokenProvider.isRefreshToken("garbage"));
@@ -1,6 +1,8 @@
 package com.codeops.security;
 
+import com.codeops.config.RateLimitProperties;
 import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -8,6 +10,11 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -24,11 +31,24 @@ class RateLimitFilterTest {
 
     @BeforeEach
     void setUp() {
-        rateLimitFilter = new RateLimitFilter();
+        rateLimitFilter = new RateLimitFilter(new RateLimiter(new RateLimitProperties()));
         request = new MockHttpServletRequest();
         response = new MockHttpServletResponse();
     }
 
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private MockHttpServletResponse send(String method, String uri, String ip) throws Exception {
+        MockHttpServletRequest req = new MockHttpServletRequest(method, uri);
+        req.setRemoteAddr(ip);
+        MockHttpServletResponse resp = new MockHttpServletResponse();
+        rateLimitFilter.doFilterInternal(req, resp, filterChain);
+        return resp;
+    }
+
     @Test
     void nonAuthRequest_passesThrough() throws Exception {
         request.setRequestURI("/api/v1/projects");
@@ -88,4 +108,46 @@ class RateLimitFilterTest {
         rateLimitFilter.doFilterInternal(req2, resp2, filterChain);
         assertNotEquals(429, resp2.getStatus());
     }
+
+    @Test
+    void authRequest_overLimit_setsRetryAfter() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            send("POST", "/api/v1/auth/login", "10.0.0.9");
+        }
+
+        MockHttpServletResponse resp = send("POST", "/api/v1/auth/login", "10.0.0.9");
+
+        assertEquals(429, resp.getStatus());
+        long retryAfter = Long.parseLong(resp.getHeader("Retry-After"));
+        assertTrue(retryAfter >= 1 && retryAfter <= 6, "Retry-After was " + retryAfter);
+    }
+
+    @Test
+    void findingIngest_limitedSeparatelyFromOtherFindingRoutes() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            assertNotEquals(429, send("POST", "/api/v1/findings/stream", "10.0.1.1").getStatus());
+        }
+
+        assertEquals(429, send("POST", "/api/v1/findings/batch", "10.0.1.1").getStatus());
+        assertNotEquals(429, send("GET", "/api/v1/findings/job/" + UUID.randomUUID(), "10.0.1.1").getStatus());
+        assertNotEquals(429, send("POST", "/api/v1/auth/login", "10.0.1.1").getStatus());
+    }
+
+    @Test
+    void reportUpload_getRequestsNotLimited() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            assertNotEquals(429, send("GET", "/api/v1/reports/download", "10.0.2.1").getStatus());
+        }
+    }
+
+    @Test
+    void authenticatedRequests_limitedPerUserAcrossIps() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(UUID.randomUUID(), null, List.of()));
+        for (int i = 0; i < 20; i++) {
+            send("POST", "/api/v1/findings/stream", "10.0.3." + i);
+        }
+
+        assertEquals(429, send("POST", "/api/v1/findings/stream", "10.0.3.99").getStatus());
+    }
 }
@@ -0,0 +1,169 @@
+package com.codeops.security;
+
+import com.codeops.config.RateLimitProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimiterTest.class);
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private RateLimitProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.setPolicies(new ArrayList<>(List.of(
+                RateLimitProperties.Policy.of("test", 5, Duration.ofSeconds(10), List.of("post"), "/api/v1/limited"))));
+    }
+
+    private RateLimiter limiter() {
+        return new RateLimiter(properties, clock::get);
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toNanos());
+    }
+
+    @Test
+    void burstUpToCapacity_thenRejectsWithRetryAfter() {
+        RateLimiter limiter = limiter();
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire("POST", "/api/v1/limited", "ip:1").allowed());
+        }
+
+        RateLimiter.Decision decision = limiter.tryAcquire("POST", "/api/v1/limited", "ip:1");
+
+        assertFalse(decision.allowed());
+        assertEquals("test", decision.policy());
+        assertEquals(2, decision.retryAfterSeconds());
+    }
+
+    @Test
+    void tokensRefillGradually() {
+        RateLimiter limiter = limiter();
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("POST", "/api/v1/limited", "ip:1");
+        }
+
+        advance(Duration.ofSeconds(2));
+        assertTrue(limiter.tryAcquire("POST", "/api/v1/limited", "ip:1").allowed());
+        assertFalse(limiter.tryAcquire("POST", "/api/v1/limited", "ip:1").allowed());
+
+        advance(Duration.ofSeconds(10));
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire("POST", "/api/v1/limited", "ip:1").allowed());
+        }
+        assertFalse(limiter.tryAcquire("POST", "/api/v1/limited", "ip:1").allowed());
+    }
+
+    @Test
+    void unmatchedMethodOrPath_isUnlimited() {
+        RateLimiter limiter = limiter();
+        for (int i = 0; i < 50; i++) {
+            assertTrue(limiter.tryAcquire("GET", "/api/v1/limited", "ip:1").allowed());
+            assertTrue(limiter.tryAcquire("POST", "/api/v1/other", "ip:1").allowed());
+        }
+        assertEquals(0, limiter.trackedClients());
+    }
+
+    @Test
+    void disabled_allowsEverything() {
+        properties.setEnabled(false);
+        RateLimiter limiter = limiter();
+        for (int i = 0; i < 50; i++) {
+            assertTrue(limiter.tryAcquire("POST", "/api/v1/limited", "ip:1").allowed());
+        }
+    }
+
+    @Test
+    void invalidPolicy_throws() {
+        properties.setPolicies(List.of(RateLimitProperties.Policy.of("bad", 0, Duration.ofSeconds(1), List.of(), "/")));
+        assertThrows(IllegalArgumentException.class, this::limiter);
+    }
+
+    @Test
+    void evictIdleBuckets_removesOnlyRefilledBuckets() {
+        RateLimiter limiter = limiter();
+        limiter.tryAcquire("POST", "/api/v1/limited", "ip:1");
+        advance(Duration.ofSeconds(1));
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("POST", "/api/v1/limited", "ip:2");
+        }
+
+        advance(Duration.ofSeconds(2));
+        assertEquals(1, limiter.evictIdleBuckets());
+        assertEquals(1, limiter.trackedClients());
+        assertTrue(limiter.tryAcquire("POST", "/api/v1/limited", "ip:2").allowed());
+        assertFalse(limiter.tryAcquire("POST", "/api/v1/limited", "ip:2").allowed());
+    }
+
+    @Test
+    void fullMap_newClientsShareOverflowBucket() {
+        properties.setMaxTrackedClients(3);
+        RateLimiter limiter = limiter();
+
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire("POST", "/api/v1/limited", "ip:" + i);
+        }
+
+        assertEquals(3, limiter.trackedClients());
+        assertFalse(limiter.tryAcquire("POST", "/api/v1/limited", "ip:new").allowed());
+        advance(Duration.ofSeconds(10));
+        assertTrue(limiter.tryAcquire("POST", "/api/v1/limited", "ip:new").allowed());
+    }
+
+    @Test
+    void concurrentRequests_admitExactlyCapacity() throws Exception {
+        properties.setPolicies(List.of(
+                RateLimitProperties.Policy.of("test", 1_000, Duration.ofHours(1), List.of(), "/api/v1/limited")));
+        RateLimiter limiter = limiter();
+        int threads = 8;
+        int requestsPerThread = 50_000;
+        AtomicInteger admitted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < requestsPerThread; i++) {
+                        if (limiter.tryAcquire("POST", "/api/v1/limited", "ip:shared").allowed()) {
+                            admitted.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+            long elapsed = System.nanoTime() - begin;
+            log.info("Rate limiter under contention: {} threads, {} ns/request",
+                    threads, elapsed / requestsPerThread);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1_000, admitted.get());
+    }
+}
@@ -0,0 +1,63 @@
+package com.codeops.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedTokenCacheTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private Claims claimsExpiringAt(long expiresAtMillis) {
+        return Jwts.claims().subject("user").expiration(new Date(expiresAtMillis)).build();
+    }
+
+    @Test
+    void get_returnsClaimsUntilExpiry() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        Claims claims = claimsExpiringAt(NOW + 60_000);
+
+        cache.put("token", claims, NOW);
+
+        assertSame(claims, cache.get("token", NOW + 59_999));
+        assertNull(cache.get("token", NOW + 60_000));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void put_tokenWithoutExpiration_notCached() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+
+        cache.put("token", Jwts.claims().subject("user").build(), NOW);
+
+        assertNull(cache.get("token", NOW));
+    }
+
+    @Test
+    void put_atCapacity_purgesExpiredEntriesFirst() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(2);
+        cache.put("short", claimsExpiringAt(NOW + 1_000), NOW);
+        cache.put("long", claimsExpiringAt(NOW + 60_000), NOW);
+
+        cache.put("new", claimsExpiringAt(NOW + 60_000), NOW + 2_000);
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get("long", NOW + 2_000));
+        assertNotNull(cache.get("new", NOW + 2_000));
+    }
+
+    @Test
+    void put_atCapacityWithNothingExpired_staysBounded() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(3);
+        for (int i = 0; i < 10; i++) {
+            cache.put("token-" + i, claimsExpiringAt(NOW + 60_000), NOW);
+        }
+
+        assertTrue(cache.size() <= 3);
+        assertNotNull(cache.get("token-9", NOW));
+    }
+}
@@ -42,6 +42,8 @@ class AdminServiceTest {
     @Mock private ProjectRepository projectRepository;
     @Mock private QaJobRepository qaJobRepository;
     @Mock private SystemSettingRepository systemSettingRepository;
+    @Mock private ProjectMetricsRollupService rollupService;
+    @Mock private HealthTrendService healthTrendService;
 
     @InjectMocks
     private AdminService adminService;
@@ -120,6 +122,25 @@ class AdminServiceTest {
         verify(userRepository, never()).findAll(any(Pageable.class));
     }
 
+    // --- rebuildMetricsRollup ---
+
+    @Test
+    void rebuildMetricsRollup_admin_rebuildsRollupAndTrendBuckets() {
+        setSecurityContextWithRole(adminUserId, "ADMIN");
+        when(rollupService.rebuildAll()).thenReturn(3);
+
+        assertEquals(3, adminService.rebuildMetricsRollup());
+        verify(healthTrendService).rebuildAll();
+    }
+
+    @Test
+    void rebuildMetricsRollup_nonAdmin_throws() {
+        setSecurityContext(regularUserId);
+
+        assertThrows(AccessDeniedException.class, () -> adminService.rebuildMetricsRollup());
+        verifyNoInteractions(rollupService, healthTrendService);
+    }
+
     // --- getUserById ---
 
     @Test
@@ -7,7 +7,6 @@ import com.codeops.entity.*;
 import com.codeops.entity.enums.*;
 import com.codeops.repository.AgentRunRepository;
 import com.codeops.repository.QaJobRepository;
-import com.codeops.repository.TeamMemberRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -35,7 +34,7 @@ class AgentRunServiceTest {
 
     @Mock private AgentRunRepository agentRunRepository;
     @Mock private QaJobRepository qaJobRepository;
-    @Mock private TeamMemberRepository teamMemberRepository;
+    @Mock private TeamMembershipCache teamMembershipCache;
 
     @InjectMocks
     private AgentRunService agentRunService;
@@ -52,6 +51,9 @@ class AgentRunServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().doCallRealMethod().when(teamMembershipCache).verifyMember(any());
+        lenient().doCallRealMethod().when(teamMembershipCache).verifyAdmin(any());
+        lenient().doCallRealMethod().when(teamMembershipCache).requireRole(any());
         userId = UUID.randomUUID();
         teamId = UUID.randomUUID();
         jobId = UUID.randomUUID();
@@ -114,7 +116,7 @@ class AgentRunServiceTest {
         CreateAgentRunRequest request = new CreateAgentRunRequest(jobId, AgentType.SECURITY);
 
         when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(agentRunRepository.save(any(AgentRun.class))).thenReturn(agentRun);
 
         AgentRunResponse response = agentRunService.createAgentRun(request);
@@ -141,7 +143,7 @@ class AgentRunServiceTest {
     void createAgentRun_notTeamMember_throws() {
         CreateAgentRunRequest request = new CreateAgentRunRequest(jobId, AgentType.SECURITY);
         when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(false);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(false);
 
         assertThrows(AccessDeniedException.class, () -> agentRunService.createAgentRun(request));
         verify(agentRunRepository, never()).save(any());
@@ -165,7 +167,7 @@ class AgentRunServiceTest {
         agentRun2.setCreatedAt(Instant.now());
 
         when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(agentRunRepository.saveAll(anyList())).thenReturn(List.of(agentRun, agentRun2));
 
         List<AgentRunResponse> responses = agentRunService.createAgentRuns(jobId, agentTypes);
@@ -187,7 +189,7 @@ class AgentRunServiceTest {
     @Test
     void createAgentRuns_notTeamMember_throws() {
         when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(false);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(false);
 
         assertThrows(AccessDeniedException.class,
                 () -> agentRunService.createAgentRuns(jobId, List.of(AgentType.SECURITY)));
@@ -197,8 +199,8 @@ class AgentRunServiceTest {
 
     @Test
     void getAgentRuns_success() {
-        when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(qaJobRepository.findTeamIdById(jobId)).thenReturn(Optional.of(teamId));
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(agentRunRepository.findByJobId(jobId)).thenReturn(List.of(agentRun));
 
         List<AgentRunResponse> responses = agentRunService.getAgentRuns(jobId);
@@ -209,23 +211,23 @@ class AgentRunServiceTest {
 
     @Test
     void getAgentRuns_jobNotFound_throws() {
-        when(qaJobRepository.findById(jobId)).thenReturn(Optional.empty());
+        when(qaJobRepository.findTeamIdById(jobId)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> agentRunService.getAgentRuns(jobId));
     }
 
     @Test
     void getAgentRuns_notTeamMember_throws() {
-        when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(false);
+        when(qaJobRepository.findTeamIdById(jobId)).thenReturn(Optional.of(teamId));
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(false);
 
         assertThrows(AccessDeniedException.class, () -> agentRunService.getAgentRuns(jobId));
     }
 
     @Test
     void getAgentRuns_emptyList_returnsEmpty() {
-        when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(qaJobRepository.findTeamIdById(jobId)).thenReturn(Optional.of(teamId));
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(agentRunRepository.findByJobId(jobId)).thenReturn(List.of());
 
         List<AgentRunResponse> responses = agentRunService.getAgentRuns(jobId);
@@ -237,8 +239,9 @@ class AgentRunServiceTest {
 
     @Test
     void getAgentRun_success() {
+        when(agentRunRepository.findTeamIdById(agentRunId)).thenReturn(Optional.of(teamId));
         when(agentRunRepository.findById(agentRunId)).thenReturn(Optional.of(agentRun));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
 
         AgentRunResponse response = agentRunService.getAgentRun(agentRunId);
 
@@ -249,15 +252,15 @@ class AgentRunServiceTest {
 
     @Test
     void getAgentRun_notFound_throws() {
-        when(agentRunRepository.findById(agentRunId)).thenReturn(Optional.empty());
+        when(agentRunRepository.findTeamIdById(agentRunId)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> agentRunService.getAgentRun(agentRunId));
     }
 
     @Test
     void getAgentRun_notTeamMember_throws() {
-        when(agentRunRepository.findById(agentRunId)).thenReturn(Optional.of(agentRun));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(false);
+        when(agentRunRepository.findTeamIdById(agentRunId)).thenReturn(Optional.of(teamId));
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(false);
 
         assertThrows(AccessDeniedException.class, () -> agentRunService.getAgentRun(agentRunId));
     }
@@ -273,8 +276,9 @@ class AgentRunServiceTest {
                 85, 10, 2, 3, completedAt, startedAt
         );
 
+        when(agentRunRepository.findTeamIdById(agentRunId)).thenReturn(Optional.of(teamId));
         when(agentRunRepository.findById(agentRunId)).thenReturn(Optional.of(agentRun));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(agentRunRepository.save(any(AgentRun.class))).thenReturn(agentRun);
 
         AgentRunResponse response = agentRunService.updateAgentRun(agentRunId, request);
@@ -297,8 +301,9 @@ class AgentRunServiceTest {
                 null, null, null, null, null, null, null, null, null
         );
 
+        when(agentRunRepository.findTeamIdById(agentRunId)).thenReturn(Optional.of(teamId));
         when(agentRunRepository.findById(agentRunId)).thenReturn(Optional.of(agentRun));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(agentRunRepository.save(any(AgentRun.class))).thenReturn(agentRun);
 
         agentRunService.updateAgentRun(agentRunId, request);
@@ -322,8 +327,9 @@ class AgentRunServiceTest {
                 null, null, null, null, null, null, null, null, newStartedAt
         );
 
+        when(agentRunRepository.findTeamIdById(agentRunId)).thenReturn(Optional.of(teamId));
         when(agentRunRepository.findById(agentRunId)).thenReturn(Optional.of(agentRun));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(agentRunRepository.save(any(AgentRun.class))).thenReturn(agentRun);
 
         agentRunService.updateAgentRun(agentRunId, request);
@@ -340,8 +346,9 @@ class AgentRunServiceTest {
                 null, null, null, null, null, null, null, null, startedAt
         );
 
+        when(agentRunRepository.findTeamIdById(agentRunId)).thenReturn(Optional.of(teamId));
         when(agentRunRepository.findById(agentRunId)).thenReturn(Optional.of(agentRun));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(agentRunRepository.save(any(AgentRun.class))).thenReturn(agentRun);
 
         agentRunService.updateAgentRun(agentRunId, request);
@@ -354,7 +361,7 @@ class AgentRunServiceTest {
         UpdateAgentRunRequest request = new UpdateAgentRunRequest(
                 AgentStatus.RUNNING, null, null, null, null, null, null, null, null
         );
-        when(agentRunRepository.findById(agentRunId)).thenReturn(Optional.empty());
+        when(agentRunRepository.findTeamIdById(agentRunId)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class,
                 () -> agentRunService.updateAgentRun(agentRunId, request));
@@ -365,8 +372,8 @@ class AgentRunServiceTest {
         UpdateAgentRunRequest request = new UpdateAgentRunRequest(
                 AgentStatus.RUNNING, null, null, null, null, null, null, null, null
         );
-        when(agentRunRepository.findById(agentRunId)).thenReturn(Optional.of(agentRun));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(false);
+        when(agentRunRepository.findTeamIdById(agentRunId)).thenReturn(Optional.of(teamId));
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(false);
 
         assertThrows(AccessDeniedException.class,
                 () -> agentRunService.updateAgentRun(agentRunId, request));
@@ -385,8 +392,9 @@ class AgentRunServiceTest {
         agentRun.setStartedAt(Instant.now().minusSeconds(30));
         agentRun.setCompletedAt(Instant.now());
 
+        when(agentRunRepository.findTeamIdById(agentRunId)).thenReturn(Optional.of(teamId));
         when(agentRunRepository.findById(agentRunId)).thenReturn(Optional.of(agentRun));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
 
         AgentRunResponse response = agentRunService.getAgentRun(agentRunId);
 
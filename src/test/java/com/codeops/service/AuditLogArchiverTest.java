@@ -0,0 +1,264 @@
+package com.codeops.service;
+
+import com.codeops.config.AppConstants;
+import com.codeops.dto.response.AuditLogResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditLogArchiverTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-16T12:00:00Z");
+
+    @Mock private JdbcTemplate jdbcTemplate;
+    @Mock private S3StorageService storageService;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private AuditLogArchiver archiver;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        archiver = new AuditLogArchiver(jdbcTemplate, storageService, objectMapper, transactionManager,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private static AuditLogResponse row(long id, String createdAt) {
+        return new AuditLogResponse(id, UUID.randomUUID(), null, UUID.randomUUID(), "CREATE", "PROJECT",
+                UUID.randomUUID(), null, null, Instant.parse(createdAt));
+    }
+
+    private static OffsetDateTime at(String instant) {
+        return OffsetDateTime.ofInstant(Instant.parse(instant), ZoneOffset.UTC);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubPages(List<AuditLogResponse>... pages) {
+        var stub = when(jdbcTemplate.query(eq(AuditLogArchiver.PAGE_SQL), any(RowMapper.class),
+                any(), any(), any(), any(), any()));
+        for (List<AuditLogResponse> page : pages) {
+            stub = stub.thenReturn(page);
+        }
+    }
+
+    /** Stubs a PostgreSQL lock connection and returns the statement the lock queries run on. */
+    private Statement stubLock(boolean acquired) throws SQLException {
+        Connection connection = stubDatabase("PostgreSQL");
+        Statement statement = mock(Statement.class);
+        ResultSet result = mock(ResultSet.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(result);
+        when(result.next()).thenReturn(true);
+        when(result.getBoolean(1)).thenReturn(acquired);
+        return statement;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Connection stubDatabase(String productName) throws SQLException {
+        Connection connection = mock(Connection.class);
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.getDatabaseProductName()).thenReturn(productName);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+                .thenAnswer(inv -> inv.<ConnectionCallback<?>>getArgument(0).doInConnection(connection));
+        return connection;
+    }
+
+    /** Records the key and content of every uploaded part; the part files are deleted after upload. */
+    private List<String[]> captureUploads() {
+        List<String[]> uploads = new ArrayList<>();
+        when(storageService.upload(anyString(), any(Path.class), eq("application/gzip"))).thenAnswer(inv -> {
+            Path file = inv.getArgument(1);
+            uploads.add(new String[] {inv.getArgument(0), gunzip(Files.readAllBytes(file))});
+            return inv.getArgument(0);
+        });
+        return uploads;
+    }
+
+    private static String gunzip(byte[] data) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    void archiveExpired_archivesMonthsOlderThanRetentionThenDeletesThem() throws Exception {
+        when(jdbcTemplate.queryForObject(AuditLogArchiver.OLDEST_SQL, OffsetDateTime.class))
+                .thenReturn(at("2025-08-05T10:00:00Z"), at("2025-09-30T23:59:59Z"), at("2025-10-01T00:00:00Z"));
+        stubPages(List.of(row(1, "2025-08-05T10:00:00Z"), row(7, "2025-08-20T10:00:00Z")),
+                List.of(row(3, "2025-09-30T23:59:59Z")));
+        when(jdbcTemplate.update(eq(AuditLogArchiver.DELETE_SQL), any(), any(), any())).thenReturn(2, 0, 1, 0);
+        Statement lock = stubLock(true);
+        List<String[]> uploads = captureUploads();
+
+        long archived = archiver.archiveExpired();
+
+        assertEquals(3, archived);
+        assertEquals(2, uploads.size());
+        assertEquals(AppConstants.S3_AUDIT_ARCHIVE + "2025-08/" + NOW.toEpochMilli() + "-part-00001.ndjson.gz",
+                uploads.get(0)[0]);
+        assertTrue(uploads.get(1)[0].startsWith(AppConstants.S3_AUDIT_ARCHIVE + "2025-09/"));
+
+        String[] lines = uploads.get(0)[1].split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(7L, objectMapper.readTree(lines[1]).get("id").asLong());
+        assertEquals("2025-08-20T10:00:00Z", objectMapper.readTree(lines[1]).get("createdAt").asText());
+        verify(jdbcTemplate, times(4)).update(eq(AuditLogArchiver.DELETE_SQL), any(), any(), any());
+        verify(lock).executeQuery(AuditLogArchiver.LOCK_SQL);
+        verify(lock).executeQuery(AuditLogArchiver.UNLOCK_SQL);
+    }
+
+    @Test
+    void archiveMonth_readsAndUploadsOutsideTransactions_commitsEachDeleteBatch() {
+        AtomicBoolean inTransaction = new AtomicBoolean();
+        List<String> events = new ArrayList<>();
+        when(jdbcTemplate.query(eq(AuditLogArchiver.PAGE_SQL), any(RowMapper.class), any(), any(), any(), any(), any()))
+                .thenAnswer(inv -> {
+                    events.add(inTransaction.get() ? "read in transaction" : "read");
+                    return List.of(row(1, "2025-01-10T00:00:00Z"));
+                });
+        when(storageService.upload(anyString(), any(Path.class), anyString())).thenAnswer(inv -> {
+            events.add(inTransaction.get() ? "upload in transaction" : "upload");
+            return inv.getArgument(0);
+        });
+        int pageSize = AppConstants.AUDIT_LOG_ARCHIVE_PAGE_SIZE;
+        when(jdbcTemplate.update(eq(AuditLogArchiver.DELETE_SQL), any(), any(), any())).thenAnswer(inv -> {
+            events.add(inTransaction.get() ? "delete" : "delete outside transaction");
+            return events.stream().filter(e -> e.startsWith("delete")).count() < 3 ? pageSize : 0;
+        });
+        when(transactionManager.getTransaction(any())).thenAnswer(inv -> {
+            assertFalse(inTransaction.getAndSet(true), "transactions must not nest");
+            return null;
+        });
+        doAnswer(inv -> {
+            inTransaction.set(false);
+            events.add("commit");
+            return null;
+        }).when(transactionManager).commit(any());
+
+        archiver.archiveMonth(YearMonth.of(2025, 1), 42);
+
+        assertEquals(List.of("read", "upload", "delete", "commit", "delete", "commit", "delete", "commit"), events);
+    }
+
+    @Test
+    void archiveMonth_pagesWithKeysetCursor() {
+        List<AuditLogResponse> fullPage = new ArrayList<>();
+        for (int i = 0; i < AppConstants.AUDIT_LOG_ARCHIVE_PAGE_SIZE; i++) {
+            fullPage.add(row(i + 1, "2025-01-10T00:00:00Z"));
+        }
+        stubPages(fullPage, List.of(row(99_999, "2025-01-31T00:00:00Z")));
+
+        long archived = archiver.archiveMonth(YearMonth.of(2025, 1), 42);
+
+        assertEquals(AppConstants.AUDIT_LOG_ARCHIVE_PAGE_SIZE + 1, archived);
+        verify(jdbcTemplate).query(eq(AuditLogArchiver.PAGE_SQL), any(RowMapper.class),
+                eq(at("2025-02-01T00:00:00Z")), eq(at("2025-01-01T00:00:00Z")), eq(at("2025-01-01T00:00:00Z")),
+                eq(Long.MIN_VALUE), eq(AppConstants.AUDIT_LOG_ARCHIVE_PAGE_SIZE));
+        verify(jdbcTemplate).query(eq(AuditLogArchiver.PAGE_SQL), any(RowMapper.class),
+                eq(at("2025-02-01T00:00:00Z")), eq(at("2025-01-10T00:00:00Z")), eq(at("2025-01-10T00:00:00Z")),
+                eq((long) AppConstants.AUDIT_LOG_ARCHIVE_PAGE_SIZE), eq(AppConstants.AUDIT_LOG_ARCHIVE_PAGE_SIZE));
+        ArgumentCaptor<Path> file = ArgumentCaptor.forClass(Path.class);
+        verify(storageService, times(1)).upload(anyString(), file.capture(), anyString());
+        assertFalse(Files.exists(file.getValue()));
+    }
+
+    @Test
+    void archiveExpired_nothingOlderThanRetention_doesNothing() throws SQLException {
+        when(jdbcTemplate.queryForObject(AuditLogArchiver.OLDEST_SQL, OffsetDateTime.class))
+                .thenReturn(at("2025-10-01T00:00:00Z"));
+        stubLock(true);
+
+        assertEquals(0, archiver.archiveExpired());
+
+        verifyNoInteractions(storageService);
+        verify(jdbcTemplate, never()).update(anyString(), any(), any(), any());
+    }
+
+    @Test
+    void archiveExpired_emptyTable_doesNothing() throws SQLException {
+        when(jdbcTemplate.queryForObject(AuditLogArchiver.OLDEST_SQL, OffsetDateTime.class)).thenReturn(null);
+        stubLock(true);
+
+        assertEquals(0, archiver.archiveExpired());
+
+        verifyNoInteractions(storageService);
+    }
+
+    @Test
+    void archiveExpired_lockHeldByAnotherInstance_doesNothing() throws SQLException {
+        Statement lock = stubLock(false);
+
+        assertEquals(0, archiver.archiveExpired());
+
+        verify(lock, never()).executeQuery(AuditLogArchiver.UNLOCK_SQL);
+        verify(jdbcTemplate, never()).queryForObject(AuditLogArchiver.OLDEST_SQL, OffsetDateTime.class);
+        verifyNoInteractions(storageService);
+        verify(jdbcTemplate, never()).update(anyString(), any(), any(), any());
+    }
+
+    @Test
+    void archiveExpired_notPostgres_skipsAdvisoryLock() throws SQLException {
+        Connection connection = stubDatabase("H2");
+        when(jdbcTemplate.queryForObject(AuditLogArchiver.OLDEST_SQL, OffsetDateTime.class)).thenReturn(null);
+
+        assertEquals(0, archiver.archiveExpired());
+
+        verify(connection, never()).createStatement();
+        verifyNoInteractions(storageService);
+    }
+
+    @Test
+    void archiveMonth_uploadFails_deletesPartFile() {
+        stubPages(List.of(row(1, "2025-01-10T00:00:00Z")));
+        List<Path> files = new ArrayList<>();
+        when(storageService.upload(anyString(), any(Path.class), anyString())).thenAnswer(inv -> {
+            files.add(inv.getArgument(1));
+            throw new RuntimeException("Failed to upload file to S3");
+        });
+
+        assertThrows(RuntimeException.class, () -> archiver.archiveMonth(YearMonth.of(2025, 1), 42));
+
+        assertEquals(1, files.size());
+        assertFalse(Files.exists(files.get(0)));
+        verify(jdbcTemplate, never()).update(anyString(), any(), any(), any());
+    }
+}
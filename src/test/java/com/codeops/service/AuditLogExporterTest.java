@@ -0,0 +1,161 @@
+package com.codeops.service;
+
+import com.codeops.config.AppConstants;
+import com.codeops.dto.request.AuditLogExportFormat;
+import com.codeops.dto.response.AuditLogResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditLogExporterTest {
+
+    private static final Instant CREATED_AT = Instant.parse("2026-01-02T03:04:05Z");
+
+    @Mock private JdbcTemplate jdbcTemplate;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private AuditLogExporter exporter;
+    private UUID teamId;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exporter = new AuditLogExporter(jdbcTemplate, transactionManager, objectMapper);
+        teamId = UUID.randomUUID();
+        userId = UUID.randomUUID();
+    }
+
+    private AuditLogResponse row(String details) {
+        return new AuditLogResponse(1L, userId, null, teamId, "PROJECT_CREATED", "PROJECT", null, details,
+                null, CREATED_AT);
+    }
+
+    private ResultSet resultSet(long id) throws Exception {
+        ResultSet rs = mock(ResultSet.class, withSettings().strictness(Strictness.LENIENT));
+        when(rs.getLong("id")).thenReturn(id);
+        when(rs.getObject("user_id", UUID.class)).thenReturn(userId);
+        when(rs.getObject("team_id", UUID.class)).thenReturn(teamId);
+        when(rs.getString("action")).thenReturn("LOGIN");
+        when(rs.getObject("created_at", OffsetDateTime.class)).thenReturn(OffsetDateTime.ofInstant(CREATED_AT, ZoneOffset.UTC));
+        return rs;
+    }
+
+    @Test
+    void writeRow_csvQuotesOnlyFieldsThatNeedIt() throws IOException {
+        StringWriter writer = new StringWriter();
+
+        exporter.writeRow(writer, AuditLogExportFormat.CSV, row("plain"));
+        exporter.writeRow(writer, AuditLogExportFormat.CSV, row("a, \"quoted\"\nvalue"));
+
+        String[] lines = writer.toString().split("\n", 2);
+        assertEquals("1," + CREATED_AT + "," + userId + "," + teamId + ",PROJECT_CREATED,PROJECT,,plain,", lines[0]);
+        assertEquals("1," + CREATED_AT + "," + userId + "," + teamId
+                + ",PROJECT_CREATED,PROJECT,,\"a, \"\"quoted\"\"\nvalue\",\n", lines[1]);
+    }
+
+    @Test
+    void writeRow_ndjsonWritesOneObjectPerLine() throws IOException {
+        StringWriter writer = new StringWriter();
+
+        exporter.writeRow(writer, AuditLogExportFormat.NDJSON, row("line1\nline2"));
+
+        String json = writer.toString();
+        assertTrue(json.endsWith("}\n"));
+        assertEquals(1, json.chars().filter(c -> c == '\n').count());
+        assertTrue(json.contains("\"createdAt\":\"2026-01-02T03:04:05Z\""));
+    }
+
+    @Test
+    void exportTeam_streamsRowsFromForwardOnlyCursorInReadOnlyTransaction() throws Exception {
+        ResultSet first = resultSet(2);
+        ResultSet second = resultSet(1);
+        doAnswer(inv -> {
+            RowCallbackHandler handler = inv.getArgument(1);
+            handler.processRow(first);
+            handler.processRow(second);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = exporter.exportTeam(teamId, AuditLogExportFormat.CSV, out);
+
+        assertEquals(2, rows);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(AuditLogExporter.CSV_HEADER, lines[0]);
+        assertTrue(lines[1].startsWith("2,"));
+        assertTrue(lines[2].startsWith("1,"));
+
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertTrue(definition.getValue().isReadOnly());
+
+        ArgumentCaptor<PreparedStatementCreator> creator = ArgumentCaptor.forClass(PreparedStatementCreator.class);
+        verify(jdbcTemplate).query(creator.capture(), any(RowCallbackHandler.class));
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(connection.prepareStatement(AuditLogExporter.TEAM_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY))
+                .thenReturn(statement);
+        creator.getValue().createPreparedStatement(connection);
+        verify(statement).setFetchSize(AppConstants.AUDIT_LOG_EXPORT_FETCH_SIZE);
+        verify(statement).setObject(1, teamId);
+    }
+
+    @Test
+    void exportTeam_clientDisconnect_propagatesIOException() throws Exception {
+        ResultSet rs = resultSet(1);
+        doAnswer(inv -> {
+            RowCallbackHandler handler = inv.getArgument(1);
+            for (int i = 0; i < 10_000; i++) {
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        IOException e = assertThrows(IOException.class,
+                () -> exporter.exportTeam(teamId, AuditLogExportFormat.NDJSON, broken));
+        assertEquals("Broken pipe", e.getMessage());
+    }
+}
@@ -1,15 +1,16 @@
 package com.codeops.service;
 
+import com.codeops.dto.request.AuditLogExportFormat;
+import com.codeops.dto.request.KeysetCursor;
 import com.codeops.dto.response.AuditLogResponse;
+import com.codeops.dto.response.CursorPageResponse;
 import com.codeops.entity.AuditLog;
 import com.codeops.entity.Team;
 import com.codeops.entity.TeamMember;
 import com.codeops.entity.User;
 import com.codeops.entity.enums.TeamRole;
+import com.codeops.exception.ValidationException;
 import com.codeops.repository.AuditLogRepository;
-import com.codeops.repository.TeamMemberRepository;
-import com.codeops.repository.TeamRepository;
-import com.codeops.repository.UserRepository;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,6 +18,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -24,7 +26,9 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
@@ -38,9 +42,9 @@ import static org.mockito.Mockito.*;
 class AuditLogServiceTest {
 
     @Mock private AuditLogRepository auditLogRepository;
-    @Mock private UserRepository userRepository;
-    @Mock private TeamRepository teamRepository;
-    @Mock private TeamMemberRepository teamMemberRepository;
+    @Mock private AuditLogWriter auditLogWriter;
+    @Mock private AuditLogExporter auditLogExporter;
+    @Mock private TeamMembershipCache teamMembershipCache;
 
     @InjectMocks
     private AuditLogService auditLogService;
@@ -52,6 +56,10 @@ class AuditLogServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().doCallRealMethod().when(teamMembershipCache).verifyMember(any());
+        lenient().doCallRealMethod().when(teamMembershipCache).verifyAdmin(any());
+        lenient().doCallRealMethod().when(teamMembershipCache).requireRole(any());
+        lenient().doCallRealMethod().when(teamMembershipCache).isMember(any(), any());
         currentUserId = UUID.randomUUID();
         teamId = UUID.randomUUID();
 
@@ -81,73 +89,41 @@ class AuditLogServiceTest {
     // --- log() tests ---
 
     @Test
-    void log_withUserIdAndTeamId_savesAuditLog() {
+    void log_withUserIdAndTeamId_enqueuesEntry() {
         UUID entityId = UUID.randomUUID();
-        when(userRepository.findById(currentUserId)).thenReturn(Optional.of(testUser));
-        when(teamRepository.findById(teamId)).thenReturn(Optional.of(testTeam));
-        when(auditLogRepository.save(any(AuditLog.class))).thenAnswer(inv -> inv.getArgument(0));
 
         auditLogService.log(currentUserId, teamId, "CREATE", "PROJECT", entityId, "Created project");
 
-        verify(userRepository).findById(currentUserId);
-        verify(teamRepository).findById(teamId);
-        verify(auditLogRepository).save(argThat(entry -> {
-            assertEquals(testUser, entry.getUser());
-            assertEquals(testTeam, entry.getTeam());
-            assertEquals("CREATE", entry.getAction());
-            assertEquals("PROJECT", entry.getEntityType());
-            assertEquals(entityId, entry.getEntityId());
-            assertEquals("Created project", entry.getDetails());
-            assertNotNull(entry.getCreatedAt());
+        verify(auditLogWriter).enqueue(argThat(entry -> {
+            assertEquals(currentUserId, entry.userId());
+            assertEquals(teamId, entry.teamId());
+            assertEquals("CREATE", entry.action());
+            assertEquals("PROJECT", entry.entityType());
+            assertEquals(entityId, entry.entityId());
+            assertEquals("Created project", entry.details());
+            assertNotNull(entry.createdAt());
             return true;
         }));
+        verifyNoInteractions(auditLogRepository);
     }
 
     @Test
-    void log_withNullUserIdAndNullTeamId_savesWithNulls() {
-        UUID entityId = UUID.randomUUID();
-        when(auditLogRepository.save(any(AuditLog.class))).thenAnswer(inv -> inv.getArgument(0));
-
-        auditLogService.log(null, null, "SYSTEM_EVENT", "SYSTEM", entityId, "System event");
-
-        verify(userRepository, never()).findById(any(UUID.class));
-        verify(teamRepository, never()).findById(any(UUID.class));
-        verify(auditLogRepository).save(argThat(entry -> {
-            assertNull(entry.getUser());
-            assertNull(entry.getTeam());
-            assertEquals("SYSTEM_EVENT", entry.getAction());
-            return true;
-        }));
-    }
-
-    @Test
-    void log_withUserNotFound_savesWithNullUser() {
-        when(userRepository.findById(currentUserId)).thenReturn(Optional.empty());
-        when(teamRepository.findById(teamId)).thenReturn(Optional.of(testTeam));
-        when(auditLogRepository.save(any(AuditLog.class))).thenAnswer(inv -> inv.getArgument(0));
-
-        auditLogService.log(currentUserId, teamId, "ACTION", "ENTITY", UUID.randomUUID(), "details");
+    void log_withNullUserIdAndNullTeamId_enqueuesWithNulls() {
+        auditLogService.log(null, null, "SYSTEM_EVENT", "SYSTEM", UUID.randomUUID(), "System event");
 
-        verify(auditLogRepository).save(argThat(entry -> {
-            assertNull(entry.getUser());
-            assertEquals(testTeam, entry.getTeam());
+        verify(auditLogWriter).enqueue(argThat(entry -> {
+            assertNull(entry.userId());
+            assertNull(entry.teamId());
+            assertEquals("SYSTEM_EVENT", entry.action());
             return true;
         }));
     }
 
     @Test
-    void log_withTeamNotFound_savesWithNullTeam() {
-        when(userRepository.findById(currentUserId)).thenReturn(Optional.of(testUser));
-        when(teamRepository.findById(teamId)).thenReturn(Optional.empty());
-        when(auditLogRepository.save(any(AuditLog.class))).thenAnswer(inv -> inv.getArgument(0));
+    void log_whenWriterBufferFull_doesNotThrow() {
+        when(auditLogWriter.enqueue(any())).thenReturn(false);
 
-        auditLogService.log(currentUserId, teamId, "ACTION", "ENTITY", UUID.randomUUID(), "details");
-
-        verify(auditLogRepository).save(argThat(entry -> {
-            assertEquals(testUser, entry.getUser());
-            assertNull(entry.getTeam());
-            return true;
-        }));
+        assertDoesNotThrow(() -> auditLogService.log(currentUserId, teamId, "ACTION", "ENTITY", UUID.randomUUID(), "details"));
     }
 
     // --- getTeamAuditLog() tests ---
@@ -178,8 +154,8 @@ class AuditLogServiceTest {
 
         Page<AuditLog> logPage = new PageImpl<>(List.of(log1), pageable, 1);
 
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, currentUserId))
-                .thenReturn(Optional.of(membership));
+        when(teamMembershipCache.findRole(teamId, currentUserId))
+                .thenReturn(Optional.of(membership.getRole()));
         when(auditLogRepository.findByTeamIdOrderByCreatedAtDesc(teamId, pageable))
                 .thenReturn(logPage);
 
@@ -200,7 +176,7 @@ class AuditLogServiceTest {
         setSecurityContext(currentUserId);
         Pageable pageable = PageRequest.of(0, 20);
 
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, currentUserId))
+        when(teamMembershipCache.findRole(teamId, currentUserId))
                 .thenReturn(Optional.empty());
 
         assertThrows(AccessDeniedException.class,
@@ -208,6 +184,86 @@ class AuditLogServiceTest {
         verify(auditLogRepository, never()).findByTeamIdOrderByCreatedAtDesc(any(), any());
     }
 
+    // --- getTeamAuditLogAfter() tests ---
+
+    @Test
+    void getTeamAuditLogAfter_withCursor_returnsNextPage() {
+        setSecurityContext(currentUserId);
+        Instant createdAt = Instant.parse("2026-01-01T00:00:00Z");
+        String after = KeysetCursor.encode(createdAt, 42L);
+
+        TeamMember membership = TeamMember.builder()
+                .team(testTeam)
+                .user(testUser)
+                .role(TeamRole.MEMBER)
+                .joinedAt(Instant.now())
+                .build();
+        AuditLog log1 = AuditLog.builder()
+                .action("CREATE")
+                .entityType("PROJECT")
+                .createdAt(createdAt.minusSeconds(1))
+                .team(testTeam)
+                .build();
+        log1.setId(41L);
+        AuditLog log2 = AuditLog.builder()
+                .action("UPDATE")
+                .entityType("PROJECT")
+                .createdAt(createdAt.minusSeconds(2))
+                .team(testTeam)
+                .build();
+        log2.setId(40L);
+
+        when(teamMembershipCache.findRole(teamId, currentUserId))
+                .thenReturn(Optional.of(membership.getRole()));
+        when(auditLogRepository.findByTeamIdAfter(teamId, createdAt, 42L, Limit.of(2)))
+                .thenReturn(List.of(log1, log2));
+
+        CursorPageResponse<AuditLogResponse> result = auditLogService.getTeamAuditLogAfter(teamId, after, 1);
+
+        assertEquals(1, result.content().size());
+        assertEquals(41L, result.content().get(0).id());
+        assertTrue(result.hasNext());
+        assertEquals(KeysetCursor.encode(log1.getCreatedAt(), 41L), result.nextCursor());
+        verify(auditLogRepository, never()).findByTeamIdOrderByCreatedAtDesc(any(), any());
+    }
+
+    @Test
+    void getTeamAuditLogAfter_uuidCursor_throwsValidation() {
+        setSecurityContext(currentUserId);
+        String after = KeysetCursor.encode(Instant.now(), UUID.randomUUID());
+
+        when(teamMembershipCache.findRole(teamId, currentUserId))
+                .thenReturn(Optional.of(TeamRole.MEMBER));
+
+        assertThrows(ValidationException.class,
+                () -> auditLogService.getTeamAuditLogAfter(teamId, after, 20));
+    }
+
+    // --- exportTeamAuditLog() tests ---
+
+    @Test
+    void exportTeamAuditLog_member_streamsThroughExporter() throws Exception {
+        setSecurityContext(currentUserId);
+        when(teamMembershipCache.findRole(teamId, currentUserId)).thenReturn(Optional.of(TeamRole.MEMBER));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        StreamingResponseBody body = auditLogService.exportTeamAuditLog(teamId, AuditLogExportFormat.NDJSON);
+        verifyNoInteractions(auditLogExporter);
+        body.writeTo(out);
+
+        verify(auditLogExporter).exportTeam(teamId, AuditLogExportFormat.NDJSON, out);
+    }
+
+    @Test
+    void exportTeamAuditLog_nonMember_throwsBeforeStreaming() {
+        setSecurityContext(currentUserId);
+        when(teamMembershipCache.findRole(teamId, currentUserId)).thenReturn(Optional.empty());
+
+        assertThrows(AccessDeniedException.class,
+                () -> auditLogService.exportTeamAuditLog(teamId, AuditLogExportFormat.CSV));
+        verifyNoInteractions(auditLogExporter);
+    }
+
     // --- getUserAuditLog() tests ---
 
     @Test
@@ -275,8 +331,8 @@ class AuditLogServiceTest {
 
         Page<AuditLog> logPage = new PageImpl<>(List.of(logNoUser), pageable, 1);
 
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, currentUserId))
-                .thenReturn(Optional.of(membership));
+        when(teamMembershipCache.findRole(teamId, currentUserId))
+                .thenReturn(Optional.of(membership.getRole()));
         when(auditLogRepository.findByTeamIdOrderByCreatedAtDesc(teamId, pageable))
                 .thenReturn(logPage);
 
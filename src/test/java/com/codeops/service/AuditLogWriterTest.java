@@ -0,0 +1,117 @@
+package com.codeops.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditLogWriterTest {
+
+    @Mock private JdbcTemplate jdbcTemplate;
+
+    private static AuditLogWriter.Entry entry(String action) {
+        return new AuditLogWriter.Entry(UUID.randomUUID(), UUID.randomUUID(), action, "PROJECT",
+                UUID.randomUUID(), null, Instant.now());
+    }
+
+    @SuppressWarnings("unchecked")
+    private ArgumentCaptor<Collection<AuditLogWriter.Entry>> batchCaptor() {
+        return ArgumentCaptor.forClass(Collection.class);
+    }
+
+    @Test
+    void drainOnce_writesUpToOneBatchPerCall() {
+        AuditLogWriter writer = new AuditLogWriter(jdbcTemplate, 8, 3, 100);
+        for (int i = 0; i < 5; i++) {
+            writer.enqueue(entry("A" + i));
+        }
+
+        assertEquals(3, writer.drainOnce());
+        assertEquals(2, writer.drainOnce());
+        assertEquals(0, writer.drainOnce());
+
+        ArgumentCaptor<Collection<AuditLogWriter.Entry>> batches = batchCaptor();
+        verify(jdbcTemplate, times(2)).batchUpdate(eq(AuditLogWriter.INSERT_SQL), batches.capture(), anyInt(), any());
+        assertEquals(3, batches.getAllValues().get(0).size());
+        assertEquals(2, batches.getAllValues().get(1).size());
+        assertEquals(5, writer.writtenCount());
+    }
+
+    @Test
+    void enqueue_whenBufferFull_dropsAndCounts() {
+        AuditLogWriter writer = new AuditLogWriter(jdbcTemplate, 2, 10, 100);
+
+        assertTrue(writer.enqueue(entry("A")));
+        assertTrue(writer.enqueue(entry("B")));
+        assertFalse(writer.enqueue(entry("C")));
+
+        assertEquals(1, writer.droppedCount());
+        assertEquals(2, writer.pendingCount());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void failedBatch_isRetriedEntryByEntry() {
+        AuditLogWriter writer = new AuditLogWriter(jdbcTemplate, 8, 8, 100);
+        writer.enqueue(entry("GOOD"));
+        writer.enqueue(entry("BAD"));
+        writer.enqueue(entry("GOOD"));
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any())).thenAnswer(inv -> {
+            Collection<AuditLogWriter.Entry> batch = inv.getArgument(1);
+            if (batch.stream().anyMatch(e -> e.action().equals("BAD"))) {
+                throw new DataIntegrityViolationException("value too long");
+            }
+            return new int[][]{};
+        });
+
+        writer.drainOnce();
+
+        assertEquals(2, writer.writtenCount());
+        assertEquals(1, writer.failedCount());
+        verify(jdbcTemplate, times(4)).batchUpdate(anyString(), anyCollection(), anyInt(), any());
+    }
+
+    @Test
+    void shutdown_flushesEverythingStillBuffered() {
+        AuditLogWriter writer = new AuditLogWriter(jdbcTemplate, 16, 4, 100);
+        for (int i = 0; i < 10; i++) {
+            writer.enqueue(entry("A" + i));
+        }
+
+        writer.shutdown();
+
+        assertEquals(10, writer.writtenCount());
+        assertEquals(0, writer.pendingCount());
+    }
+
+    @Test
+    void drainerThread_writesBufferedEntriesAndStopsOnShutdown() throws Exception {
+        AuditLogWriter writer = new AuditLogWriter(jdbcTemplate, 16, 4, 10);
+        writer.start();
+        try {
+            writer.enqueue(entry("A"));
+            long deadline = System.nanoTime() + 5_000_000_000L;
+            while (writer.writtenCount() < 1 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals(1, writer.writtenCount());
+        } finally {
+            writer.shutdown();
+        }
+        writer.enqueue(entry("B"));
+        Thread.sleep(50);
+        assertEquals(1, writer.pendingCount());
+    }
+}
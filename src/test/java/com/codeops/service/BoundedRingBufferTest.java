@@ -0,0 +1,112 @@
+package com.codeops.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedRingBufferTest {
+
+    @Test
+    void constructor_rejectsNonPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new BoundedRingBuffer<String>(0));
+        assertThrows(IllegalArgumentException.class, () -> new BoundedRingBuffer<String>(3));
+    }
+
+    @Test
+    void offerAndPoll_areFifo() {
+        BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(4);
+        buffer.offer(1);
+        buffer.offer(2);
+        buffer.offer(3);
+
+        assertEquals(3, buffer.size());
+        assertEquals(1, buffer.poll());
+        assertEquals(2, buffer.poll());
+        assertEquals(3, buffer.poll());
+        assertNull(buffer.poll());
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void offer_whenFull_returnsFalseUntilConsumed() {
+        BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(2);
+        assertTrue(buffer.offer(1));
+        assertTrue(buffer.offer(2));
+        assertFalse(buffer.offer(3));
+
+        buffer.poll();
+
+        assertTrue(buffer.offer(3));
+        assertEquals(2, buffer.poll());
+        assertEquals(3, buffer.poll());
+    }
+
+    @Test
+    void drainTo_respectsMaxElementsAndWrapsAround() {
+        BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(4);
+        List<Integer> drained = new ArrayList<>();
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 4; i++) {
+                buffer.offer(round * 4 + i);
+            }
+            assertEquals(3, buffer.drainTo(drained, 3));
+            assertEquals(1, buffer.drainTo(drained, 3));
+        }
+
+        assertEquals(12, drained.size());
+        for (int i = 0; i < 12; i++) {
+            assertEquals(i, drained.get(i));
+        }
+    }
+
+    @Test
+    void concurrentProducers_everyAcceptedElementIsConsumedOnce() throws Exception {
+        BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(1_024);
+        int producers = 4;
+        int perProducer = 50_000;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        Set<Integer> consumed = new HashSet<>();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                int base = p * perProducer;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perProducer; i++) {
+                        while (!buffer.offer(base + i)) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (consumed.size() < producers * perProducer && System.nanoTime() < deadline) {
+                Integer element = buffer.poll();
+                if (element != null) {
+                    assertTrue(consumed.add(element), "duplicate " + element);
+                }
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(producers * perProducer, consumed.size());
+        assertNull(buffer.poll());
+    }
+}
@@ -6,7 +6,6 @@ import com.codeops.dto.response.BugInvestigationResponse;
 import com.codeops.entity.*;
 import com.codeops.repository.BugInvestigationRepository;
 import com.codeops.repository.QaJobRepository;
-import com.codeops.repository.TeamMemberRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -33,7 +32,7 @@ class BugInvestigationServiceTest {
 
     @Mock private BugInvestigationRepository bugInvestigationRepository;
     @Mock private QaJobRepository qaJobRepository;
-    @Mock private TeamMemberRepository teamMemberRepository;
+    @Mock private TeamMembershipCache teamMembershipCache;
     @Mock private S3StorageService s3StorageService;
 
     @InjectMocks
@@ -50,6 +49,9 @@ class BugInvestigationServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().doCallRealMethod().when(teamMembershipCache).verifyMember(any());
+        lenient().doCallRealMethod().when(teamMembershipCache).verifyAdmin(any());
+        lenient().doCallRealMethod().when(teamMembershipCache).requireRole(any());
         userId = UUID.randomUUID();
         teamId = UUID.randomUUID();
         jobId = UUID.randomUUID();
@@ -93,7 +95,7 @@ class BugInvestigationServiceTest {
                 null, null, null, "Additional context");
 
         when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(bugInvestigationRepository.save(any(BugInvestigation.class))).thenAnswer(inv -> {
             BugInvestigation bi = inv.getArgument(0);
             bi.setId(investigationId);
@@ -127,7 +129,7 @@ class BugInvestigationServiceTest {
                 jobId, "BUG-1", null, null, null, null, null, null);
 
         when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(false);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(false);
 
         assertThrows(AccessDeniedException.class, () -> bugInvestigationService.createInvestigation(request));
     }
@@ -136,8 +138,9 @@ class BugInvestigationServiceTest {
 
     @Test
     void getInvestigation_success() {
+        when(bugInvestigationRepository.findTeamIdById(investigationId)).thenReturn(Optional.of(teamId));
         when(bugInvestigationRepository.findById(investigationId)).thenReturn(Optional.of(investigation));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
 
         BugInvestigationResponse response = bugInvestigationService.getInvestigation(investigationId);
 
@@ -148,14 +151,14 @@ class BugInvestigationServiceTest {
 
     @Test
     void getInvestigation_notFound_throws() {
-        when(bugInvestigationRepository.findById(investigationId)).thenReturn(Optional.empty());
+        when(bugInvestigationRepository.findTeamIdById(investigationId)).thenReturn(Optional.empty());
         assertThrows(EntityNotFoundException.class, () -> bugInvestigationService.getInvestigation(investigationId));
     }
 
     @Test
     void getInvestigation_notTeamMember_throws() {
-        when(bugInvestigationRepository.findById(investigationId)).thenReturn(Optional.of(investigation));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(false);
+        when(bugInvestigationRepository.findTeamIdById(investigationId)).thenReturn(Optional.of(teamId));
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(false);
 
         assertThrows(AccessDeniedException.class, () -> bugInvestigationService.getInvestigation(investigationId));
     }
@@ -165,7 +168,8 @@ class BugInvestigationServiceTest {
     @Test
     void getInvestigationByJob_success() {
         when(bugInvestigationRepository.findByJobId(jobId)).thenReturn(Optional.of(investigation));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(qaJobRepository.findTeamIdById(jobId)).thenReturn(Optional.of(teamId));
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
 
         BugInvestigationResponse response = bugInvestigationService.getInvestigationByJob(jobId);
 
@@ -184,7 +188,8 @@ class BugInvestigationServiceTest {
     @Test
     void getInvestigationByJiraKey_success() {
         when(bugInvestigationRepository.findByJiraKey("BUG-123")).thenReturn(Optional.of(investigation));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(qaJobRepository.findTeamIdById(jobId)).thenReturn(Optional.of(teamId));
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
 
         BugInvestigationResponse response = bugInvestigationService.getInvestigationByJiraKey("BUG-123");
 
@@ -206,8 +211,9 @@ class BugInvestigationServiceTest {
         UpdateBugInvestigationRequest request = new UpdateBugInvestigationRequest(
                 "## Root Cause Analysis", null, null, null, null);
 
+        when(bugInvestigationRepository.findTeamIdById(investigationId)).thenReturn(Optional.of(teamId));
         when(bugInvestigationRepository.findById(investigationId)).thenReturn(Optional.of(investigation));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(bugInvestigationRepository.save(any(BugInvestigation.class))).thenReturn(investigation);
 
         bugInvestigationService.updateInvestigation(investigationId, request);
@@ -220,8 +226,9 @@ class BugInvestigationServiceTest {
         UpdateBugInvestigationRequest request = new UpdateBugInvestigationRequest(
                 "## RCA", "## Impact", "s3://rca.md", true, true);
 
+        when(bugInvestigationRepository.findTeamIdById(investigationId)).thenReturn(Optional.of(teamId));
         when(bugInvestigationRepository.findById(investigationId)).thenReturn(Optional.of(investigation));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(bugInvestigationRepository.save(any(BugInvestigation.class))).thenReturn(investigation);
 
         BugInvestigationResponse response = bugInvestigationService.updateInvestigation(investigationId, request);
@@ -239,8 +246,9 @@ class BugInvestigationServiceTest {
         UpdateBugInvestigationRequest request = new UpdateBugInvestigationRequest(
                 null, null, null, null, null);
 
+        when(bugInvestigationRepository.findTeamIdById(investigationId)).thenReturn(Optional.of(teamId));
         when(bugInvestigationRepository.findById(investigationId)).thenReturn(Optional.of(investigation));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(bugInvestigationRepository.save(any(BugInvestigation.class))).thenReturn(investigation);
 
         bugInvestigationService.updateInvestigation(investigationId, request);
@@ -253,7 +261,7 @@ class BugInvestigationServiceTest {
         UpdateBugInvestigationRequest request = new UpdateBugInvestigationRequest(
                 "content", null, null, null, null);
 
-        when(bugInvestigationRepository.findById(investigationId)).thenReturn(Optional.empty());
+        when(bugInvestigationRepository.findTeamIdById(investigationId)).thenReturn(Optional.empty());
         assertThrows(EntityNotFoundException.class,
                 () -> bugInvestigationService.updateInvestigation(investigationId, request));
     }
@@ -263,8 +271,8 @@ class BugInvestigationServiceTest {
         UpdateBugInvestigationRequest request = new UpdateBugInvestigationRequest(
                 "content", null, null, null, null);
 
-        when(bugInvestigationRepository.findById(investigationId)).thenReturn(Optional.of(investigation));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(false);
+        when(bugInvestigationRepository.findTeamIdById(investigationId)).thenReturn(Optional.of(teamId));
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(false);
 
         assertThrows(AccessDeniedException.class,
                 () -> bugInvestigationService.updateInvestigation(investigationId, request));
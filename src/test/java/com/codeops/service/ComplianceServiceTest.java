@@ -12,7 +12,6 @@ import com.codeops.entity.enums.SpecType;
 import com.codeops.repository.ComplianceItemRepository;
 import com.codeops.repository.QaJobRepository;
 import com.codeops.repository.SpecificationRepository;
-import com.codeops.repository.TeamMemberRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -45,7 +44,7 @@ class ComplianceServiceTest {
     @Mock private ComplianceItemRepository complianceItemRepository;
     @Mock private SpecificationRepository specificationRepository;
     @Mock private QaJobRepository qaJobRepository;
-    @Mock private TeamMemberRepository teamMemberRepository;
+    @Mock private TeamMembershipCache teamMembershipCache;
 
     @InjectMocks
     private ComplianceService complianceService;
@@ -61,6 +60,9 @@ class ComplianceServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().doCallRealMethod().when(teamMembershipCache).verifyMember(any());
+        lenient().doCallRealMethod().when(teamMembershipCache).verifyAdmin(any());
+        lenient().doCallRealMethod().when(teamMembershipCache).requireRole(any());
         userId = UUID.randomUUID();
         teamId = UUID.randomUUID();
         jobId = UUID.randomUUID();
@@ -96,7 +98,7 @@ class ComplianceServiceTest {
                 jobId, "API Spec", SpecType.OPENAPI, "specs/api.yaml");
 
         when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(specificationRepository.save(any(Specification.class))).thenAnswer(inv -> {
             Specification s = inv.getArgument(0);
             s.setId(specId);
@@ -126,7 +128,7 @@ class ComplianceServiceTest {
                 jobId, "Spec", SpecType.MARKDOWN, "specs/spec.md");
 
         when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(false);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(false);
 
         assertThrows(AccessDeniedException.class, () -> complianceService.createSpecification(request));
     }
@@ -138,8 +140,8 @@ class ComplianceServiceTest {
         Pageable pageable = PageRequest.of(0, 20);
         Page<Specification> page = new PageImpl<>(List.of(spec), pageable, 1);
 
-        when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(qaJobRepository.findTeamIdById(jobId)).thenReturn(Optional.of(teamId));
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(specificationRepository.findByJobId(jobId, pageable)).thenReturn(page);
 
         PageResponse<SpecificationResponse> result = complianceService.getSpecificationsForJob(jobId, pageable);
@@ -157,7 +159,7 @@ class ComplianceServiceTest {
                 "Verified all endpoints", AgentType.API_CONTRACT, "Good");
 
         when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(specificationRepository.findById(specId)).thenReturn(Optional.of(spec));
         when(complianceItemRepository.save(any(ComplianceItem.class))).thenAnswer(inv -> {
             ComplianceItem item = inv.getArgument(0);
@@ -182,7 +184,7 @@ class ComplianceServiceTest {
                 "Build succeeds", AgentType.BUILD_HEALTH, null);
 
         when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(complianceItemRepository.save(any(ComplianceItem.class))).thenAnswer(inv -> {
             ComplianceItem item = inv.getArgument(0);
             item.setId(UUID.randomUUID());
@@ -203,7 +205,7 @@ class ComplianceServiceTest {
                 jobId, "Requirement", missingSpecId, ComplianceStatus.MET, null, null, null);
 
         when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(specificationRepository.findById(missingSpecId)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> complianceService.createComplianceItem(request));
@@ -225,7 +227,7 @@ class ComplianceServiceTest {
                 jobId, "Req 2", null, ComplianceStatus.PARTIAL, null, null, null);
 
         when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(complianceItemRepository.saveAll(anyList())).thenAnswer(inv -> {
             List<ComplianceItem> items = inv.getArgument(0);
             for (ComplianceItem item : items) {
@@ -263,8 +265,8 @@ class ComplianceServiceTest {
         item.setCreatedAt(Instant.now());
         Page<ComplianceItem> page = new PageImpl<>(List.of(item), pageable, 1);
 
-        when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(qaJobRepository.findTeamIdById(jobId)).thenReturn(Optional.of(teamId));
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(complianceItemRepository.findByJobId(jobId, pageable)).thenReturn(page);
 
         PageResponse<ComplianceItemResponse> result = complianceService.getComplianceItemsForJob(jobId, pageable);
@@ -283,8 +285,8 @@ class ComplianceServiceTest {
         item.setCreatedAt(Instant.now());
         Page<ComplianceItem> page = new PageImpl<>(List.of(item), pageable, 1);
 
-        when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(qaJobRepository.findTeamIdById(jobId)).thenReturn(Optional.of(teamId));
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(complianceItemRepository.findByJobIdAndStatus(jobId, ComplianceStatus.MISSING, pageable)).thenReturn(page);
 
         PageResponse<ComplianceItemResponse> result =
@@ -298,8 +300,8 @@ class ComplianceServiceTest {
 
     @Test
     void getComplianceSummary_success() {
-        when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(qaJobRepository.findTeamIdById(jobId)).thenReturn(Optional.of(teamId));
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(complianceItemRepository.findByJobIdAndStatus(jobId, ComplianceStatus.MET)).thenReturn(
                 List.of(mock(ComplianceItem.class), mock(ComplianceItem.class)));
         when(complianceItemRepository.findByJobIdAndStatus(jobId, ComplianceStatus.PARTIAL)).thenReturn(
@@ -322,8 +324,8 @@ class ComplianceServiceTest {
 
     @Test
     void getComplianceSummary_noItems_zeroScore() {
-        when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(qaJobRepository.findTeamIdById(jobId)).thenReturn(Optional.of(teamId));
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(complianceItemRepository.findByJobIdAndStatus(eq(jobId), any())).thenReturn(List.of());
 
         Map<String, Object> summary = complianceService.getComplianceSummary(jobId);
@@ -334,14 +336,14 @@ class ComplianceServiceTest {
 
     @Test
     void getComplianceSummary_jobNotFound_throws() {
-        when(qaJobRepository.findById(jobId)).thenReturn(Optional.empty());
+        when(qaJobRepository.findTeamIdById(jobId)).thenReturn(Optional.empty());
         assertThrows(EntityNotFoundException.class, () -> complianceService.getComplianceSummary(jobId));
     }
 
     @Test
     void getComplianceSummary_allMet_fullScore() {
-        when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(qaJobRepository.findTeamIdById(jobId)).thenReturn(Optional.of(teamId));
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(complianceItemRepository.findByJobIdAndStatus(jobId, ComplianceStatus.MET)).thenReturn(
                 List.of(mock(ComplianceItem.class), mock(ComplianceItem.class), mock(ComplianceItem.class)));
         when(complianceItemRepository.findByJobIdAndStatus(jobId, ComplianceStatus.PARTIAL)).thenReturn(List.of());
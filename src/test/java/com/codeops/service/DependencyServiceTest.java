@@ -40,8 +40,9 @@ class DependencyServiceTest {
     @Mock private DependencyScanRepository dependencyScanRepository;
     @Mock private DependencyVulnerabilityRepository vulnerabilityRepository;
     @Mock private ProjectRepository projectRepository;
-    @Mock private TeamMemberRepository teamMemberRepository;
+    @Mock private TeamMembershipCache teamMembershipCache;
     @Mock private QaJobRepository qaJobRepository;
+    @Mock private ProjectMetricsRollupService rollupService;
 
     @InjectMocks
     private DependencyService dependencyService;
@@ -60,6 +61,9 @@ class DependencyServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().doCallRealMethod().when(teamMembershipCache).verifyMember(any());
+        lenient().doCallRealMethod().when(teamMembershipCache).verifyAdmin(any());
+        lenient().doCallRealMethod().when(teamMembershipCache).requireRole(any());
         userId = UUID.randomUUID();
         teamId = UUID.randomUUID();
         projectId = UUID.randomUUID();
@@ -115,7 +119,7 @@ class DependencyServiceTest {
                 projectId, null, "pom.xml", 50, 5, 2, "{\"data\": []}");
 
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(dependencyScanRepository.save(any(DependencyScan.class))).thenAnswer(inv -> {
             DependencyScan s = inv.getArgument(0);
             s.setId(scanId);
@@ -139,7 +143,7 @@ class DependencyServiceTest {
                 projectId, jobId, "pom.xml", 50, 5, 2, null);
 
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(qaJob));
         when(dependencyScanRepository.save(any(DependencyScan.class))).thenAnswer(inv -> {
             DependencyScan s = inv.getArgument(0);
@@ -168,7 +172,7 @@ class DependencyServiceTest {
                 projectId, null, "pom.xml", 50, 5, 2, null);
 
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(false);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(false);
 
         assertThrows(AccessDeniedException.class, () -> dependencyService.createScan(request));
     }
@@ -177,8 +181,9 @@ class DependencyServiceTest {
 
     @Test
     void getScan_success() {
+        when(dependencyScanRepository.findTeamIdById(scanId)).thenReturn(Optional.of(teamId));
         when(dependencyScanRepository.findById(scanId)).thenReturn(Optional.of(scan));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
 
         DependencyScanResponse response = dependencyService.getScan(scanId);
 
@@ -188,7 +193,7 @@ class DependencyServiceTest {
 
     @Test
     void getScan_notFound_throws() {
-        when(dependencyScanRepository.findById(scanId)).thenReturn(Optional.empty());
+        when(dependencyScanRepository.findTeamIdById(scanId)).thenReturn(Optional.empty());
         assertThrows(EntityNotFoundException.class, () -> dependencyService.getScan(scanId));
     }
 
@@ -200,7 +205,7 @@ class DependencyServiceTest {
         Page<DependencyScan> page = new PageImpl<>(List.of(scan), pageable, 1);
 
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(dependencyScanRepository.findByProjectId(projectId, pageable)).thenReturn(page);
 
         PageResponse<DependencyScanResponse> result = dependencyService.getScansForProject(projectId, pageable);
@@ -238,7 +243,7 @@ class DependencyServiceTest {
                 Severity.CRITICAL, "Log4Shell RCE");
 
         when(dependencyScanRepository.findById(scanId)).thenReturn(Optional.of(scan));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(vulnerabilityRepository.save(any(DependencyVulnerability.class))).thenAnswer(inv -> {
             DependencyVulnerability v = inv.getArgument(0);
             v.setId(vulnId);
@@ -280,7 +285,7 @@ class DependencyServiceTest {
                 scanId, "spring-core", "5.3.1", "5.3.18", "CVE-2022-22965", Severity.HIGH, "desc2");
 
         when(dependencyScanRepository.findById(scanId)).thenReturn(Optional.of(scan));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(vulnerabilityRepository.saveAll(anyList())).thenAnswer(inv -> {
             List<DependencyVulnerability> vulns = inv.getArgument(0);
             for (DependencyVulnerability v : vulns) {
@@ -313,8 +318,9 @@ class DependencyServiceTest {
         Pageable pageable = PageRequest.of(0, 20);
         Page<DependencyVulnerability> page = new PageImpl<>(List.of(vulnerability), pageable, 1);
 
+        when(dependencyScanRepository.findTeamIdById(scanId)).thenReturn(Optional.of(teamId));
         when(dependencyScanRepository.findById(scanId)).thenReturn(Optional.of(scan));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(vulnerabilityRepository.findByScanId(scanId, pageable)).thenReturn(page);
 
         PageResponse<VulnerabilityResponse> result = dependencyService.getVulnerabilities(scanId, pageable);
@@ -358,7 +364,7 @@ class DependencyServiceTest {
     @Test
     void updateVulnerabilityStatus_success() {
         when(vulnerabilityRepository.findById(vulnId)).thenReturn(Optional.of(vulnerability));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(vulnerabilityRepository.save(any(DependencyVulnerability.class))).thenReturn(vulnerability);
 
         VulnerabilityResponse response = dependencyService.updateVulnerabilityStatus(vulnId, VulnerabilityStatus.RESOLVED);
@@ -376,7 +382,7 @@ class DependencyServiceTest {
     @Test
     void updateVulnerabilityStatus_notTeamMember_throws() {
         when(vulnerabilityRepository.findById(vulnId)).thenReturn(Optional.of(vulnerability));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(false);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(false);
 
         assertThrows(AccessDeniedException.class,
                 () -> dependencyService.updateVulnerabilityStatus(vulnId, VulnerabilityStatus.SUPPRESSED));
@@ -390,8 +396,9 @@ class DependencyServiceTest {
         scan.setOutdatedCount(null);
         scan.setVulnerableCount(null);
 
+        when(dependencyScanRepository.findTeamIdById(scanId)).thenReturn(Optional.of(teamId));
         when(dependencyScanRepository.findById(scanId)).thenReturn(Optional.of(scan));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
 
         DependencyScanResponse response = dependencyService.getScan(scanId);
 
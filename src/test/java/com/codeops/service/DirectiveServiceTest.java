@@ -40,7 +40,7 @@ class DirectiveServiceTest {
     @Mock private DirectiveRepository directiveRepository;
     @Mock private ProjectDirectiveRepository projectDirectiveRepository;
     @Mock private ProjectRepository projectRepository;
-    @Mock private TeamMemberRepository teamMemberRepository;
+    @Mock private TeamMembershipCache teamMembershipCache;
     @Mock private UserRepository userRepository;
     @Mock private TeamRepository teamRepository;
 
@@ -59,6 +59,9 @@ class DirectiveServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().doCallRealMethod().when(teamMembershipCache).verifyMember(any());
+        lenient().doCallRealMethod().when(teamMembershipCache).verifyAdmin(any());
+        lenient().doCallRealMethod().when(teamMembershipCache).requireRole(any());
         userId = UUID.randomUUID();
         teamId = UUID.randomUUID();
         projectId = UUID.randomUUID();
@@ -126,8 +129,8 @@ class DirectiveServiceTest {
                 "New Directive", "desc", "# content", DirectiveCategory.STANDARDS,
                 DirectiveScope.TEAM, teamId, null);
 
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId))
-                .thenReturn(Optional.of(adminMember));
+        when(teamMembershipCache.findRole(teamId, userId))
+                .thenReturn(Optional.of(adminMember.getRole()));
         when(teamRepository.findById(teamId)).thenReturn(Optional.of(testTeam));
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
         when(directiveRepository.save(any(Directive.class))).thenAnswer(invocation -> {
@@ -156,8 +159,8 @@ class DirectiveServiceTest {
                 DirectiveScope.PROJECT, null, projectId);
 
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(testProject));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId))
-                .thenReturn(Optional.of(adminMember));
+        when(teamMembershipCache.findRole(teamId, userId))
+                .thenReturn(Optional.of(adminMember.getRole()));
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
         when(directiveRepository.save(any(Directive.class))).thenAnswer(invocation -> {
             Directive d = invocation.getArgument(0);
@@ -206,8 +209,8 @@ class DirectiveServiceTest {
 
         TeamMember viewerMember = TeamMember.builder()
                 .team(testTeam).user(testUser).role(TeamRole.VIEWER).joinedAt(Instant.now()).build();
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId))
-                .thenReturn(Optional.of(viewerMember));
+        when(teamMembershipCache.findRole(teamId, userId))
+                .thenReturn(Optional.of(viewerMember.getRole()));
 
         assertThrows(AccessDeniedException.class,
                 () -> directiveService.createDirective(request));
@@ -220,7 +223,7 @@ class DirectiveServiceTest {
                 "Directive", "desc", "# content", DirectiveCategory.ARCHITECTURE,
                 DirectiveScope.TEAM, teamId, null);
 
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId))
+        when(teamMembershipCache.findRole(teamId, userId))
                 .thenReturn(Optional.empty());
 
         assertThrows(AccessDeniedException.class,
@@ -244,7 +247,7 @@ class DirectiveServiceTest {
     @Test
     void getDirective_teamScoped_success() {
         when(directiveRepository.findById(directiveId)).thenReturn(Optional.of(testDirective));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
 
         DirectiveResponse response = directiveService.getDirective(directiveId);
 
@@ -265,7 +268,7 @@ class DirectiveServiceTest {
     @Test
     void getDirective_notTeamMember_throws() {
         when(directiveRepository.findById(directiveId)).thenReturn(Optional.of(testDirective));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(false);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(false);
 
         assertThrows(AccessDeniedException.class,
                 () -> directiveService.getDirective(directiveId));
@@ -290,7 +293,7 @@ class DirectiveServiceTest {
 
         when(directiveRepository.findById(projectDirective.getId()))
                 .thenReturn(Optional.of(projectDirective));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
 
         DirectiveResponse response = directiveService.getDirective(projectDirective.getId());
         assertNotNull(response);
@@ -301,7 +304,7 @@ class DirectiveServiceTest {
 
     @Test
     void getDirectivesForTeam_success() {
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(directiveRepository.findByTeamId(teamId)).thenReturn(List.of(testDirective));
 
         List<DirectiveResponse> responses = directiveService.getDirectivesForTeam(teamId);
@@ -312,7 +315,7 @@ class DirectiveServiceTest {
 
     @Test
     void getDirectivesForTeam_notMember_throws() {
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(false);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(false);
 
         assertThrows(AccessDeniedException.class,
                 () -> directiveService.getDirectivesForTeam(teamId));
@@ -320,7 +323,7 @@ class DirectiveServiceTest {
 
     @Test
     void getDirectivesForTeam_empty_returnsEmptyList() {
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(directiveRepository.findByTeamId(teamId)).thenReturn(Collections.emptyList());
 
         List<DirectiveResponse> responses = directiveService.getDirectivesForTeam(teamId);
@@ -332,7 +335,7 @@ class DirectiveServiceTest {
     @Test
     void getDirectivesForProject_success() {
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(testProject));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(directiveRepository.findByProjectId(projectId)).thenReturn(List.of(testDirective));
 
         List<DirectiveResponse> responses = directiveService.getDirectivesForProject(projectId);
@@ -351,7 +354,7 @@ class DirectiveServiceTest {
     @Test
     void getDirectivesForProject_notMember_throws() {
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(testProject));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(false);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(false);
 
         assertThrows(AccessDeniedException.class,
                 () -> directiveService.getDirectivesForProject(projectId));
@@ -416,8 +419,8 @@ class DirectiveServiceTest {
                 .team(testTeam).user(adminUser).role(TeamRole.OWNER).joinedAt(Instant.now()).build();
 
         when(directiveRepository.findById(directiveId)).thenReturn(Optional.of(testDirective));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, adminId))
-                .thenReturn(Optional.of(admin));
+        when(teamMembershipCache.findRole(teamId, adminId))
+                .thenReturn(Optional.of(admin.getRole()));
         when(directiveRepository.save(any(Directive.class))).thenReturn(testDirective);
 
         var request = new UpdateDirectiveRequest("Admin Updated", null, null, null);
@@ -435,8 +438,8 @@ class DirectiveServiceTest {
                 .team(testTeam).user(testUser).role(TeamRole.MEMBER).joinedAt(Instant.now()).build();
 
         when(directiveRepository.findById(directiveId)).thenReturn(Optional.of(testDirective));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, otherId))
-                .thenReturn(Optional.of(viewer));
+        when(teamMembershipCache.findRole(teamId, otherId))
+                .thenReturn(Optional.of(viewer.getRole()));
 
         var request = new UpdateDirectiveRequest("Fail", null, null, null);
         assertThrows(AccessDeniedException.class,
@@ -500,8 +503,8 @@ class DirectiveServiceTest {
                 .team(testTeam).user(testUser).role(TeamRole.VIEWER).joinedAt(Instant.now()).build();
 
         when(directiveRepository.findById(directiveId)).thenReturn(Optional.of(testDirective));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, otherId))
-                .thenReturn(Optional.of(viewer));
+        when(teamMembershipCache.findRole(teamId, otherId))
+                .thenReturn(Optional.of(viewer.getRole()));
 
         assertThrows(AccessDeniedException.class,
                 () -> directiveService.deleteDirective(directiveId));
@@ -516,8 +519,8 @@ class DirectiveServiceTest {
 
         when(directiveRepository.findById(directiveId)).thenReturn(Optional.of(testDirective));
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(testProject));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId))
-                .thenReturn(Optional.of(adminMember));
+        when(teamMembershipCache.findRole(teamId, userId))
+                .thenReturn(Optional.of(adminMember.getRole()));
         when(projectDirectiveRepository.findByProjectId(projectId)).thenReturn(Collections.emptyList());
         when(projectDirectiveRepository.save(any(ProjectDirective.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
@@ -537,8 +540,8 @@ class DirectiveServiceTest {
 
         when(directiveRepository.findById(directiveId)).thenReturn(Optional.of(testDirective));
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(testProject));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId))
-                .thenReturn(Optional.of(adminMember));
+        when(teamMembershipCache.findRole(teamId, userId))
+                .thenReturn(Optional.of(adminMember.getRole()));
 
         // Create a list of exactly MAX_DIRECTIVES_PER_PROJECT items
         List<ProjectDirective> existingDirectives = IntStream.range(0, AppConstants.MAX_DIRECTIVES_PER_PROJECT)
@@ -586,8 +589,8 @@ class DirectiveServiceTest {
 
         when(directiveRepository.findById(directiveId)).thenReturn(Optional.of(testDirective));
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(testProject));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId))
-                .thenReturn(Optional.of(member));
+        when(teamMembershipCache.findRole(teamId, userId))
+                .thenReturn(Optional.of(member.getRole()));
 
         assertThrows(AccessDeniedException.class,
                 () -> directiveService.assignToProject(request));
@@ -598,8 +601,8 @@ class DirectiveServiceTest {
     @Test
     void removeFromProject_success() {
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(testProject));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId))
-                .thenReturn(Optional.of(adminMember));
+        when(teamMembershipCache.findRole(teamId, userId))
+                .thenReturn(Optional.of(adminMember.getRole()));
 
         directiveService.removeFromProject(projectId, directiveId);
 
@@ -620,8 +623,8 @@ class DirectiveServiceTest {
                 .team(testTeam).user(testUser).role(TeamRole.MEMBER).joinedAt(Instant.now()).build();
 
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(testProject));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId))
-                .thenReturn(Optional.of(member));
+        when(teamMembershipCache.findRole(teamId, userId))
+                .thenReturn(Optional.of(member.getRole()));
 
         assertThrows(AccessDeniedException.class,
                 () -> directiveService.removeFromProject(projectId, directiveId));
@@ -639,7 +642,7 @@ class DirectiveServiceTest {
                 .build();
 
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(testProject));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(projectDirectiveRepository.findByProjectId(projectId)).thenReturn(List.of(pd));
 
         List<ProjectDirectiveResponse> responses = directiveService.getProjectDirectives(projectId);
@@ -661,7 +664,7 @@ class DirectiveServiceTest {
     @Test
     void getProjectDirectives_notMember_throws() {
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(testProject));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(false);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(false);
 
         assertThrows(AccessDeniedException.class,
                 () -> directiveService.getProjectDirectives(projectId));
@@ -709,8 +712,8 @@ class DirectiveServiceTest {
                 .build();
 
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(testProject));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId))
-                .thenReturn(Optional.of(adminMember));
+        when(teamMembershipCache.findRole(teamId, userId))
+                .thenReturn(Optional.of(adminMember.getRole()));
         when(projectDirectiveRepository.findById(pdId)).thenReturn(Optional.of(pd));
         when(projectDirectiveRepository.save(any(ProjectDirective.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
@@ -732,8 +735,8 @@ class DirectiveServiceTest {
                 .build();
 
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(testProject));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId))
-                .thenReturn(Optional.of(adminMember));
+        when(teamMembershipCache.findRole(teamId, userId))
+                .thenReturn(Optional.of(adminMember.getRole()));
         when(projectDirectiveRepository.findById(pdId)).thenReturn(Optional.of(pd));
         when(projectDirectiveRepository.save(any(ProjectDirective.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
@@ -748,8 +751,8 @@ class DirectiveServiceTest {
         ProjectDirectiveId pdId = new ProjectDirectiveId(projectId, directiveId);
 
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(testProject));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId))
-                .thenReturn(Optional.of(adminMember));
+        when(teamMembershipCache.findRole(teamId, userId))
+                .thenReturn(Optional.of(adminMember.getRole()));
         when(projectDirectiveRepository.findById(pdId)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class,
@@ -762,8 +765,8 @@ class DirectiveServiceTest {
                 .team(testTeam).user(testUser).role(TeamRole.MEMBER).joinedAt(Instant.now()).build();
 
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(testProject));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId))
-                .thenReturn(Optional.of(member));
+        when(teamMembershipCache.findRole(teamId, userId))
+                .thenReturn(Optional.of(member.getRole()));
 
         assertThrows(AccessDeniedException.class,
                 () -> directiveService.toggleProjectDirective(projectId, directiveId, true));
@@ -0,0 +1,186 @@
+package com.codeops.service;
+
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.NoSuchUploadException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process stand-in for S3 covering single-part and multipart uploads, object reads and
+ * {@code HeadObject}. Objects, their content encodings and pending parts are kept in memory, keyed
+ * by bucket and key.
+ */
+class FakeS3Client implements S3Client {
+
+    final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+    final Map<String, String> contentEncodings = new ConcurrentHashMap<>();
+    private final Map<String, String> pendingEncodings = new ConcurrentHashMap<>();
+    final Map<String, ConcurrentSkipListMap<Integer, byte[]>> pendingUploads = new ConcurrentHashMap<>();
+    final List<String> abortedUploads = new ArrayList<>();
+    final AtomicInteger partsInFlight = new AtomicInteger();
+    final AtomicInteger maxPartsInFlight = new AtomicInteger();
+
+    /** Part number whose upload fails, or 0 for none. */
+    volatile int failingPart;
+
+    /** When set, every part upload counts down and then waits for the latch to reach zero. */
+    volatile CountDownLatch partGate;
+
+    private static String path(String bucket, String key) {
+        return bucket + "/" + key;
+    }
+
+    @Override
+    public PutObjectResponse putObject(PutObjectRequest request, RequestBody body) {
+        store(request.bucket(), request.key(), read(body), request.contentEncoding());
+        return PutObjectResponse.builder().eTag("\"single\"").build();
+    }
+
+    @Override
+    public ResponseInputStream<GetObjectResponse> getObject(GetObjectRequest request) {
+        String path = path(request.bucket(), request.key());
+        byte[] data = objects.get(path);
+        if (data == null) throw NoSuchKeyException.builder().message("no such key").build();
+        return new ResponseInputStream<>(GetObjectResponse.builder()
+                .contentLength((long) data.length)
+                .contentEncoding(contentEncodings.get(path))
+                .build(), new ByteArrayInputStream(data));
+    }
+
+    @Override
+    public HeadObjectResponse headObject(HeadObjectRequest request) {
+        String path = path(request.bucket(), request.key());
+        byte[] data = objects.get(path);
+        if (data == null) throw NoSuchKeyException.builder().message("no such key").build();
+        return HeadObjectResponse.builder()
+                .contentLength((long) data.length)
+                .contentEncoding(contentEncodings.get(path))
+                .build();
+    }
+
+    @Override
+    public CreateMultipartUploadResponse createMultipartUpload(CreateMultipartUploadRequest request) {
+        String uploadId = UUID.randomUUID().toString();
+        pendingUploads.put(uploadId, new ConcurrentSkipListMap<>());
+        if (request.contentEncoding() != null) pendingEncodings.put(uploadId, request.contentEncoding());
+        return CreateMultipartUploadResponse.builder().uploadId(uploadId).build();
+    }
+
+    @Override
+    public UploadPartResponse uploadPart(UploadPartRequest request, RequestBody body) {
+        int inFlight = partsInFlight.incrementAndGet();
+        maxPartsInFlight.accumulateAndGet(inFlight, Math::max);
+        try {
+            CountDownLatch gate = partGate;
+            if (gate != null) {
+                gate.countDown();
+                if (!gate.await(5, TimeUnit.SECONDS)) {
+                    throw S3Exception.builder().message("parts were not uploaded concurrently").build();
+                }
+            }
+            if (request.partNumber() == failingPart) {
+                throw S3Exception.builder().message("injected failure for part " + failingPart).statusCode(500).build();
+            }
+            byte[] data = read(body);
+            if (data.length != request.contentLength()) {
+                throw S3Exception.builder().message("content length mismatch").statusCode(400).build();
+            }
+            ConcurrentSkipListMap<Integer, byte[]> parts = pendingUploads.get(request.uploadId());
+            if (parts == null) throw NoSuchUploadException.builder().message("no such upload").build();
+            parts.put(request.partNumber(), data);
+            return UploadPartResponse.builder().eTag("\"part-" + request.partNumber() + "\"").build();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw S3Exception.builder().message("interrupted").build();
+        } finally {
+            partsInFlight.decrementAndGet();
+        }
+    }
+
+    @Override
+    public CompleteMultipartUploadResponse completeMultipartUpload(CompleteMultipartUploadRequest request) {
+        ConcurrentSkipListMap<Integer, byte[]> parts = pendingUploads.remove(request.uploadId());
+        if (parts == null) throw NoSuchUploadException.builder().message("no such upload").build();
+        ByteArrayOutputStream object = new ByteArrayOutputStream();
+        int expected = 1;
+        for (CompletedPart part : request.multipartUpload().parts()) {
+            if (part.partNumber() != expected++ || !("\"part-" + part.partNumber() + "\"").equals(part.eTag())) {
+                throw S3Exception.builder().message("invalid part list").statusCode(400).build();
+            }
+            object.writeBytes(parts.get(part.partNumber()));
+        }
+        store(request.bucket(), request.key(), object.toByteArray(), pendingEncodings.remove(request.uploadId()));
+        return CompleteMultipartUploadResponse.builder().build();
+    }
+
+    @Override
+    public AbortMultipartUploadResponse abortMultipartUpload(AbortMultipartUploadRequest request) {
+        pendingUploads.remove(request.uploadId());
+        synchronized (abortedUploads) {
+            abortedUploads.add(request.uploadId());
+        }
+        return AbortMultipartUploadResponse.builder().build();
+    }
+
+    byte[] object(String bucket, String key) {
+        return objects.get(path(bucket, key));
+    }
+
+    private void store(String bucket, String key, byte[] data, String contentEncoding) {
+        String path = path(bucket, key);
+        objects.put(path, data);
+        if (contentEncoding != null) {
+            contentEncodings.put(path, contentEncoding);
+        } else {
+            contentEncodings.remove(path);
+        }
+    }
+
+    @Override
+    public String serviceName() {
+        return "s3";
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private static byte[] read(RequestBody body) {
+        try (var in = body.contentStreamProvider().newStream()) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
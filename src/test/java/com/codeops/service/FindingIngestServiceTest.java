@@ -0,0 +1,181 @@
+package com.codeops.service;
+
+import com.codeops.config.AppConstants;
+import com.codeops.dto.response.FindingIngestResponse;
+import com.codeops.entity.*;
+import com.codeops.entity.enums.*;
+import com.codeops.exception.ValidationException;
+import com.codeops.repository.FindingRepository;
+import com.codeops.repository.QaJobRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FindingIngestServiceTest {
+
+    private static Validator validator;
+
+    @Mock private FindingRepository findingRepository;
+    @Mock private QaJobRepository qaJobRepository;
+    @Mock private TeamMembershipCache teamMembershipCache;
+    @Mock private ProjectMetricsRollupService rollupService;
+    @Mock private EntityManager entityManager;
+
+    private FindingIngestService ingestService;
+
+    private UUID userId;
+    private UUID teamId;
+    private UUID projectId;
+    private UUID jobId;
+    private QaJob job;
+
+    @BeforeAll
+    static void initValidator() {
+        validator = Validation.buildDefaultValidatorFactory().getValidator();
+    }
+
+    @BeforeEach
+    void setUp() {
+        lenient().doCallRealMethod().when(teamMembershipCache).verifyMember(any());
+        lenient().doCallRealMethod().when(teamMembershipCache).verifyAdmin(any());
+        lenient().doCallRealMethod().when(teamMembershipCache).requireRole(any());
+        ingestService = new FindingIngestService(findingRepository, qaJobRepository, teamMembershipCache,
+                rollupService, new ObjectMapper(), validator, entityManager);
+
+        userId = UUID.randomUUID();
+        teamId = UUID.randomUUID();
+        projectId = UUID.randomUUID();
+        jobId = UUID.randomUUID();
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userId, null, List.of()));
+
+        Team team = Team.builder().name("Test Team").build();
+        team.setId(teamId);
+        Project project = Project.builder().team(team).name("Test Project").build();
+        project.setId(projectId);
+        job = QaJob.builder().project(project).mode(JobMode.AUDIT).status(JobStatus.RUNNING).build();
+        job.setId(jobId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private String line(UUID jobId, Severity severity, String title) {
+        return "{\"jobId\":\"" + jobId + "\",\"agentType\":\"SECURITY\",\"severity\":\"" + severity
+                + "\",\"title\":\"" + title + "\",\"evidence\":\"stack trace\"}\n";
+    }
+
+    private InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void stubJobAndMembership() {
+        when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
+        when(qaJobRepository.getReferenceById(jobId)).thenReturn(job);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void ingest_flushesAndClearsInFixedSizeBatches() {
+        stubJobAndMembership();
+        when(findingRepository.saveAll(anyList())).thenAnswer(inv -> {
+            List<Finding> batch = inv.getArgument(0);
+            batch.forEach(f -> f.setId(UUID.randomUUID()));
+            return batch;
+        });
+        int total = AppConstants.FINDING_INGEST_BATCH_SIZE * 2 + 7;
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < total; i++) {
+            body.append(line(jobId, i % 10 == 0 ? Severity.CRITICAL : Severity.LOW, "Finding " + i));
+        }
+
+        FindingIngestResponse response = assertDoesNotThrow(() -> ingestService.ingest(stream(body.toString())));
+
+        assertEquals(jobId, response.jobId());
+        assertEquals(total, response.created());
+        assertEquals(11, response.critical());
+        assertEquals(0, response.high());
+        assertEquals(total, new HashSet<>(response.findingIds()).size());
+        verify(findingRepository, times(3)).saveAll(anyList());
+        verify(entityManager, times(3)).flush();
+        verify(entityManager, times(3)).clear();
+        verify(qaJobRepository, times(1)).findById(jobId);
+        verify(rollupService).adjustOpenFindings(projectId, jobId, 11, 0);
+    }
+
+    @Test
+    void ingest_emptyStream_createsNothing() throws Exception {
+        FindingIngestResponse response = ingestService.ingest(stream(""));
+
+        assertNull(response.jobId());
+        assertEquals(0, response.created());
+        assertTrue(response.findingIds().isEmpty());
+        verifyNoInteractions(findingRepository, qaJobRepository, rollupService, entityManager);
+    }
+
+    @Test
+    void ingest_mixedJobs_throws() {
+        stubJobAndMembership();
+        String body = line(jobId, Severity.HIGH, "First") + line(UUID.randomUUID(), Severity.HIGH, "Second");
+
+        assertThrows(IllegalArgumentException.class, () -> ingestService.ingest(stream(body)));
+        verifyNoInteractions(rollupService);
+    }
+
+    @Test
+    void ingest_malformedLine_throwsValidationWithLineNumber() {
+        stubJobAndMembership();
+        String body = line(jobId, Severity.HIGH, "First") + "{not json}\n";
+
+        ValidationException ex = assertThrows(ValidationException.class, () -> ingestService.ingest(stream(body)));
+        assertTrue(ex.getMessage().contains("line 2"));
+    }
+
+    @Test
+    void ingest_invalidFinding_throwsValidation() {
+        String body = line(jobId, Severity.HIGH, "");
+
+        ValidationException ex = assertThrows(ValidationException.class, () -> ingestService.ingest(stream(body)));
+        assertTrue(ex.getMessage().contains("title"));
+        verifyNoInteractions(findingRepository, qaJobRepository);
+    }
+
+    @Test
+    void ingest_notTeamMember_throws() {
+        when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(false);
+
+        assertThrows(AccessDeniedException.class,
+                () -> ingestService.ingest(stream(line(jobId, Severity.HIGH, "First"))));
+        verify(findingRepository, never()).saveAll(any());
+    }
+}
@@ -2,14 +2,16 @@ package com.codeops.service;
 
 import com.codeops.dto.request.BulkUpdateFindingsRequest;
 import com.codeops.dto.request.CreateFindingRequest;
+import com.codeops.dto.request.KeysetCursor;
 import com.codeops.dto.request.UpdateFindingStatusRequest;
+import com.codeops.dto.response.CursorPageResponse;
 import com.codeops.dto.response.FindingResponse;
 import com.codeops.dto.response.PageResponse;
 import com.codeops.entity.*;
 import com.codeops.entity.enums.*;
+import com.codeops.exception.ValidationException;
 import com.codeops.repository.FindingRepository;
 import com.codeops.repository.QaJobRepository;
-import com.codeops.repository.TeamMemberRepository;
 import com.codeops.repository.UserRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.AfterEach;
@@ -19,6 +21,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -43,7 +46,8 @@ class FindingServiceTest {
     @Mock private FindingRepository findingRepository;
     @Mock private QaJobRepository qaJobRepository;
     @Mock private UserRepository userRepository;
-    @Mock private TeamMemberRepository teamMemberRepository;
+    @Mock private TeamMembershipCache teamMembershipCache;
+    @Mock private ProjectMetricsRollupService rollupService;
 
     @InjectMocks
     private FindingService findingService;
@@ -61,6 +65,9 @@ class FindingServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().doCallRealMethod().when(teamMembershipCache).verifyMember(any());
+        lenient().doCallRealMethod().when(teamMembershipCache).verifyAdmin(any());
+        lenient().doCallRealMethod().when(teamMembershipCache).requireRole(any());
         userId = UUID.randomUUID();
         teamId = UUID.randomUUID();
         projectId = UUID.randomUUID();
@@ -134,7 +141,7 @@ class FindingServiceTest {
         );
 
         when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(findingRepository.save(any(Finding.class))).thenReturn(finding);
 
         FindingResponse response = findingService.createFinding(request);
@@ -147,6 +154,7 @@ class FindingServiceTest {
         assertEquals("SQL Injection", response.title());
         assertEquals(FindingStatus.OPEN, response.status());
         verify(findingRepository).save(any(Finding.class));
+        verify(rollupService).adjustOpenFindings(any(), eq(jobId), eq(0), eq(1));
     }
 
     @Test
@@ -170,7 +178,7 @@ class FindingServiceTest {
         );
 
         when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(false);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(false);
 
         assertThrows(AccessDeniedException.class, () -> findingService.createFinding(request));
         verify(findingRepository, never()).save(any());
@@ -200,7 +208,7 @@ class FindingServiceTest {
         finding2.setCreatedAt(Instant.now());
 
         when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(findingRepository.saveAll(anyList())).thenReturn(List.of(finding, finding2));
 
         List<FindingResponse> responses = findingService.createFindings(List.of(req1, req2));
@@ -250,8 +258,9 @@ class FindingServiceTest {
 
     @Test
     void getFinding_success() {
+        when(findingRepository.findTeamIdById(findingId)).thenReturn(Optional.of(teamId));
         when(findingRepository.findById(findingId)).thenReturn(Optional.of(finding));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
 
         FindingResponse response = findingService.getFinding(findingId);
 
@@ -261,15 +270,15 @@ class FindingServiceTest {
 
     @Test
     void getFinding_notFound_throws() {
-        when(findingRepository.findById(findingId)).thenReturn(Optional.empty());
+        when(findingRepository.findTeamIdById(findingId)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> findingService.getFinding(findingId));
     }
 
     @Test
     void getFinding_notTeamMember_throws() {
-        when(findingRepository.findById(findingId)).thenReturn(Optional.of(finding));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(false);
+        when(findingRepository.findTeamIdById(findingId)).thenReturn(Optional.of(teamId));
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(false);
 
         assertThrows(AccessDeniedException.class, () -> findingService.getFinding(findingId));
     }
@@ -281,8 +290,8 @@ class FindingServiceTest {
         Pageable pageable = PageRequest.of(0, 20);
         Page<Finding> page = new PageImpl<>(List.of(finding), pageable, 1);
 
-        when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(qaJobRepository.findTeamIdById(jobId)).thenReturn(Optional.of(teamId));
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(findingRepository.findByJobId(jobId, pageable)).thenReturn(page);
 
         PageResponse<FindingResponse> response = findingService.getFindingsForJob(jobId, pageable);
@@ -295,11 +304,71 @@ class FindingServiceTest {
     @Test
     void getFindingsForJob_jobNotFound_throws() {
         Pageable pageable = PageRequest.of(0, 20);
-        when(qaJobRepository.findById(jobId)).thenReturn(Optional.empty());
+        when(qaJobRepository.findTeamIdById(jobId)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> findingService.getFindingsForJob(jobId, pageable));
     }
 
+    // --- getFindingsForJobAfter ---
+
+    @Test
+    void getFindingsForJobAfter_firstPage_returnsCursorWhenMoreRows() {
+        Finding older = Finding.builder().job(job).agentType(AgentType.SECURITY).severity(Severity.LOW)
+                .title("Older").build();
+        older.setId(UUID.randomUUID());
+        older.setCreatedAt(finding.getCreatedAt().minusSeconds(60));
+
+        when(qaJobRepository.findTeamIdById(jobId)).thenReturn(Optional.of(teamId));
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
+        when(findingRepository.findByJobIdOrderByCreatedAtDescIdDesc(jobId, Limit.of(2)))
+                .thenReturn(List.of(finding, older));
+
+        CursorPageResponse<FindingResponse> response = findingService.getFindingsForJobAfter(jobId, "", 1);
+
+        assertEquals(1, response.content().size());
+        assertEquals(findingId, response.content().get(0).id());
+        assertTrue(response.hasNext());
+        assertEquals(KeysetCursor.encode(finding.getCreatedAt(), findingId), response.nextCursor());
+        verify(findingRepository, never()).findByJobId(any(UUID.class), any(Pageable.class));
+    }
+
+    @Test
+    void getFindingsForJobAfter_withCursor_queriesAfterPosition() {
+        Instant createdAt = Instant.parse("2026-01-01T00:00:00.123456Z");
+        UUID lastId = UUID.randomUUID();
+        String after = KeysetCursor.encode(createdAt, lastId);
+
+        when(qaJobRepository.findTeamIdById(jobId)).thenReturn(Optional.of(teamId));
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
+        when(findingRepository.findByJobIdAfter(jobId, createdAt, lastId, Limit.of(21)))
+                .thenReturn(List.of(finding));
+
+        CursorPageResponse<FindingResponse> response = findingService.getFindingsForJobAfter(jobId, after, 20);
+
+        assertEquals(1, response.content().size());
+        assertFalse(response.hasNext());
+        assertNull(response.nextCursor());
+    }
+
+    @Test
+    void getFindingsForJobAfter_malformedCursor_throws() {
+        when(qaJobRepository.findTeamIdById(jobId)).thenReturn(Optional.of(teamId));
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
+
+        assertThrows(ValidationException.class,
+                () -> findingService.getFindingsForJobAfter(jobId, "not-a-cursor", 20));
+        verifyNoInteractions(findingRepository);
+    }
+
+    @Test
+    void getFindingsForJobAfter_notTeamMember_throws() {
+        when(qaJobRepository.findTeamIdById(jobId)).thenReturn(Optional.of(teamId));
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(false);
+
+        assertThrows(AccessDeniedException.class, () -> findingService.getFindingsForJobAfter(jobId, "", 20));
+        verifyNoInteractions(findingRepository);
+    }
+
     // --- getFindingsByJobAndSeverity ---
 
     @Test
@@ -307,8 +376,8 @@ class FindingServiceTest {
         Pageable pageable = PageRequest.of(0, 20);
         Page<Finding> page = new PageImpl<>(List.of(finding), pageable, 1);
 
-        when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(qaJobRepository.findTeamIdById(jobId)).thenReturn(Optional.of(teamId));
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(findingRepository.findByJobIdAndSeverity(jobId, Severity.HIGH, pageable)).thenReturn(page);
 
         PageResponse<FindingResponse> response = findingService.getFindingsByJobAndSeverity(jobId, Severity.HIGH, pageable);
@@ -320,7 +389,7 @@ class FindingServiceTest {
     @Test
     void getFindingsByJobAndSeverity_jobNotFound_throws() {
         Pageable pageable = PageRequest.of(0, 20);
-        when(qaJobRepository.findById(jobId)).thenReturn(Optional.empty());
+        when(qaJobRepository.findTeamIdById(jobId)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class,
                 () -> findingService.getFindingsByJobAndSeverity(jobId, Severity.HIGH, pageable));
@@ -333,8 +402,8 @@ class FindingServiceTest {
         Pageable pageable = PageRequest.of(0, 20);
         Page<Finding> page = new PageImpl<>(List.of(finding), pageable, 1);
 
-        when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(qaJobRepository.findTeamIdById(jobId)).thenReturn(Optional.of(teamId));
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(findingRepository.findByJobIdAndAgentType(jobId, AgentType.SECURITY, pageable)).thenReturn(page);
 
         PageResponse<FindingResponse> response = findingService.getFindingsByJobAndAgent(jobId, AgentType.SECURITY, pageable);
@@ -346,7 +415,7 @@ class FindingServiceTest {
     @Test
     void getFindingsByJobAndAgent_jobNotFound_throws() {
         Pageable pageable = PageRequest.of(0, 20);
-        when(qaJobRepository.findById(jobId)).thenReturn(Optional.empty());
+        when(qaJobRepository.findTeamIdById(jobId)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class,
                 () -> findingService.getFindingsByJobAndAgent(jobId, AgentType.SECURITY, pageable));
@@ -359,8 +428,8 @@ class FindingServiceTest {
         Pageable pageable = PageRequest.of(0, 20);
         Page<Finding> page = new PageImpl<>(List.of(finding), pageable, 1);
 
-        when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(qaJobRepository.findTeamIdById(jobId)).thenReturn(Optional.of(teamId));
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(findingRepository.findByJobIdAndStatus(jobId, FindingStatus.OPEN, pageable)).thenReturn(page);
 
         PageResponse<FindingResponse> response = findingService.getFindingsByJobAndStatus(jobId, FindingStatus.OPEN, pageable);
@@ -372,7 +441,7 @@ class FindingServiceTest {
     @Test
     void getFindingsByJobAndStatus_jobNotFound_throws() {
         Pageable pageable = PageRequest.of(0, 20);
-        when(qaJobRepository.findById(jobId)).thenReturn(Optional.empty());
+        when(qaJobRepository.findTeamIdById(jobId)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class,
                 () -> findingService.getFindingsByJobAndStatus(jobId, FindingStatus.OPEN, pageable));
@@ -385,7 +454,7 @@ class FindingServiceTest {
         UpdateFindingStatusRequest request = new UpdateFindingStatusRequest(FindingStatus.ACKNOWLEDGED);
 
         when(findingRepository.findById(findingId)).thenReturn(Optional.of(finding));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
         when(findingRepository.save(any(Finding.class))).thenReturn(finding);
 
@@ -412,7 +481,7 @@ class FindingServiceTest {
         UpdateFindingStatusRequest request = new UpdateFindingStatusRequest(FindingStatus.FIXED);
 
         when(findingRepository.findById(findingId)).thenReturn(Optional.of(finding));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(userRepository.findById(userId)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class,
@@ -424,7 +493,7 @@ class FindingServiceTest {
         UpdateFindingStatusRequest request = new UpdateFindingStatusRequest(FindingStatus.FIXED);
 
         when(findingRepository.findById(findingId)).thenReturn(Optional.of(finding));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(false);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(false);
 
         assertThrows(AccessDeniedException.class,
                 () -> findingService.updateFindingStatus(findingId, request));
@@ -448,7 +517,7 @@ class FindingServiceTest {
         BulkUpdateFindingsRequest request = new BulkUpdateFindingsRequest(ids, FindingStatus.ACKNOWLEDGED);
 
         when(findingRepository.findAllById(ids)).thenReturn(List.of(finding, finding2));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
         when(findingRepository.saveAll(anyList())).thenReturn(List.of(finding, finding2));
 
@@ -507,7 +576,7 @@ class FindingServiceTest {
         BulkUpdateFindingsRequest request = new BulkUpdateFindingsRequest(ids, FindingStatus.FIXED);
 
         when(findingRepository.findAllById(ids)).thenReturn(List.of(finding));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(false);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(false);
 
         assertThrows(AccessDeniedException.class, () -> findingService.bulkUpdateFindingStatus(request));
     }
@@ -518,7 +587,7 @@ class FindingServiceTest {
         BulkUpdateFindingsRequest request = new BulkUpdateFindingsRequest(ids, FindingStatus.FIXED);
 
         when(findingRepository.findAllById(ids)).thenReturn(List.of(finding));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(userRepository.findById(userId)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> findingService.bulkUpdateFindingStatus(request));
@@ -528,8 +597,8 @@ class FindingServiceTest {
 
     @Test
     void countFindingsBySeverity_success() {
-        when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(qaJobRepository.findTeamIdById(jobId)).thenReturn(Optional.of(teamId));
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(findingRepository.countByJobIdAndSeverity(jobId, Severity.CRITICAL)).thenReturn(2L);
         when(findingRepository.countByJobIdAndSeverity(jobId, Severity.HIGH)).thenReturn(5L);
         when(findingRepository.countByJobIdAndSeverity(jobId, Severity.MEDIUM)).thenReturn(10L);
@@ -546,15 +615,15 @@ class FindingServiceTest {
 
     @Test
     void countFindingsBySeverity_jobNotFound_throws() {
-        when(qaJobRepository.findById(jobId)).thenReturn(Optional.empty());
+        when(qaJobRepository.findTeamIdById(jobId)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> findingService.countFindingsBySeverity(jobId));
     }
 
     @Test
     void countFindingsBySeverity_notTeamMember_throws() {
-        when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(false);
+        when(qaJobRepository.findTeamIdById(jobId)).thenReturn(Optional.of(teamId));
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(false);
 
         assertThrows(AccessDeniedException.class, () -> findingService.countFindingsBySeverity(jobId));
     }
@@ -565,8 +634,9 @@ class FindingServiceTest {
     void mapToResponse_statusChangedByNull_returnsNullUserId() {
         finding.setStatusChangedBy(null);
 
+        when(findingRepository.findTeamIdById(findingId)).thenReturn(Optional.of(teamId));
         when(findingRepository.findById(findingId)).thenReturn(Optional.of(finding));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
 
         FindingResponse response = findingService.getFinding(findingId);
 
@@ -577,8 +647,9 @@ class FindingServiceTest {
     void mapToResponse_statusChangedByPresent_returnsUserId() {
         finding.setStatusChangedBy(user);
 
+        when(findingRepository.findTeamIdById(findingId)).thenReturn(Optional.of(teamId));
         when(findingRepository.findById(findingId)).thenReturn(Optional.of(finding));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
 
         FindingResponse response = findingService.getFinding(findingId);
 
@@ -9,7 +9,6 @@ import com.codeops.entity.User;
 import com.codeops.entity.enums.GitHubAuthType;
 import com.codeops.entity.enums.TeamRole;
 import com.codeops.repository.GitHubConnectionRepository;
-import com.codeops.repository.TeamMemberRepository;
 import com.codeops.repository.TeamRepository;
 import com.codeops.repository.UserRepository;
 import jakarta.persistence.EntityNotFoundException;
@@ -37,7 +36,7 @@ import static org.mockito.Mockito.*;
 class GitHubConnectionServiceTest {
 
     @Mock private GitHubConnectionRepository gitHubConnectionRepository;
-    @Mock private TeamMemberRepository teamMemberRepository;
+    @Mock private TeamMembershipCache teamMembershipCache;
     @Mock private EncryptionService encryptionService;
     @Mock private TeamRepository teamRepository;
     @Mock private UserRepository userRepository;
@@ -56,6 +55,9 @@ class GitHubConnectionServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().doCallRealMethod().when(teamMembershipCache).verifyMember(any());
+        lenient().doCallRealMethod().when(teamMembershipCache).verifyAdmin(any());
+        lenient().doCallRealMethod().when(teamMembershipCache).requireRole(any());
         userId = UUID.randomUUID();
         teamId = UUID.randomUUID();
         connectionId = UUID.randomUUID();
@@ -117,7 +119,7 @@ class GitHubConnectionServiceTest {
         CreateGitHubConnectionRequest request = new CreateGitHubConnectionRequest(
                 "My PAT", GitHubAuthType.PAT, "ghp_abc123", "testuser");
 
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.of(adminMember));
+        when(teamMembershipCache.findRole(teamId, userId)).thenReturn(Optional.of(adminMember.getRole()));
         when(encryptionService.encrypt("ghp_abc123")).thenReturn("encrypted-value");
         when(teamRepository.findById(teamId)).thenReturn(Optional.of(testTeam));
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
@@ -151,7 +153,7 @@ class GitHubConnectionServiceTest {
         CreateGitHubConnectionRequest request = new CreateGitHubConnectionRequest(
                 "SSH Key", GitHubAuthType.SSH, "ssh-rsa AAAA...", null);
 
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.of(ownerMember));
+        when(teamMembershipCache.findRole(teamId, userId)).thenReturn(Optional.of(ownerMember.getRole()));
         when(encryptionService.encrypt("ssh-rsa AAAA...")).thenReturn("encrypted-ssh");
         when(teamRepository.findById(teamId)).thenReturn(Optional.of(testTeam));
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
@@ -170,7 +172,7 @@ class GitHubConnectionServiceTest {
     @Test
     void createConnection_asMember_throwsAccessDenied() {
         setSecurityContext(userId);
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.of(regularMember));
+        when(teamMembershipCache.findRole(teamId, userId)).thenReturn(Optional.of(regularMember.getRole()));
 
         CreateGitHubConnectionRequest request = new CreateGitHubConnectionRequest(
                 "PAT", GitHubAuthType.PAT, "creds", "user");
@@ -183,7 +185,7 @@ class GitHubConnectionServiceTest {
     @Test
     void createConnection_notAMember_throwsAccessDenied() {
         setSecurityContext(userId);
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.empty());
+        when(teamMembershipCache.findRole(teamId, userId)).thenReturn(Optional.empty());
 
         CreateGitHubConnectionRequest request = new CreateGitHubConnectionRequest(
                 "PAT", GitHubAuthType.PAT, "creds", "user");
@@ -195,7 +197,7 @@ class GitHubConnectionServiceTest {
     @Test
     void createConnection_teamNotFound_throwsEntityNotFound() {
         setSecurityContext(userId);
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.of(adminMember));
+        when(teamMembershipCache.findRole(teamId, userId)).thenReturn(Optional.of(adminMember.getRole()));
         when(encryptionService.encrypt(any())).thenReturn("encrypted");
         when(teamRepository.findById(teamId)).thenReturn(Optional.empty());
 
@@ -209,7 +211,7 @@ class GitHubConnectionServiceTest {
     @Test
     void createConnection_userNotFound_throwsEntityNotFound() {
         setSecurityContext(userId);
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.of(adminMember));
+        when(teamMembershipCache.findRole(teamId, userId)).thenReturn(Optional.of(adminMember.getRole()));
         when(encryptionService.encrypt(any())).thenReturn("encrypted");
         when(teamRepository.findById(teamId)).thenReturn(Optional.of(testTeam));
         when(userRepository.findById(userId)).thenReturn(Optional.empty());
@@ -226,7 +228,7 @@ class GitHubConnectionServiceTest {
     @Test
     void getConnections_asMember_success() {
         setSecurityContext(userId);
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(gitHubConnectionRepository.findByTeamIdAndIsActiveTrue(teamId))
                 .thenReturn(List.of(testConnection));
 
@@ -240,7 +242,7 @@ class GitHubConnectionServiceTest {
     @Test
     void getConnections_emptyList() {
         setSecurityContext(userId);
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(gitHubConnectionRepository.findByTeamIdAndIsActiveTrue(teamId)).thenReturn(List.of());
 
         List<GitHubConnectionResponse> result = gitHubConnectionService.getConnections(teamId);
@@ -250,7 +252,7 @@ class GitHubConnectionServiceTest {
     @Test
     void getConnections_notAMember_throwsAccessDenied() {
         setSecurityContext(userId);
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(false);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(false);
 
         assertThrows(AccessDeniedException.class, () ->
                 gitHubConnectionService.getConnections(teamId));
@@ -262,7 +264,7 @@ class GitHubConnectionServiceTest {
     void getConnection_asMember_success() {
         setSecurityContext(userId);
         when(gitHubConnectionRepository.findById(connectionId)).thenReturn(Optional.of(testConnection));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
 
         GitHubConnectionResponse response = gitHubConnectionService.getConnection(connectionId);
 
@@ -282,7 +284,7 @@ class GitHubConnectionServiceTest {
     void getConnection_notAMember_throwsAccessDenied() {
         setSecurityContext(userId);
         when(gitHubConnectionRepository.findById(connectionId)).thenReturn(Optional.of(testConnection));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(false);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(false);
 
         assertThrows(AccessDeniedException.class, () ->
                 gitHubConnectionService.getConnection(connectionId));
@@ -294,7 +296,7 @@ class GitHubConnectionServiceTest {
     void deleteConnection_asAdmin_success() {
         setSecurityContext(userId);
         when(gitHubConnectionRepository.findById(connectionId)).thenReturn(Optional.of(testConnection));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.of(adminMember));
+        when(teamMembershipCache.findRole(teamId, userId)).thenReturn(Optional.of(adminMember.getRole()));
         when(gitHubConnectionRepository.save(any(GitHubConnection.class))).thenReturn(testConnection);
 
         gitHubConnectionService.deleteConnection(connectionId);
@@ -315,7 +317,7 @@ class GitHubConnectionServiceTest {
     void deleteConnection_asMember_throwsAccessDenied() {
         setSecurityContext(userId);
         when(gitHubConnectionRepository.findById(connectionId)).thenReturn(Optional.of(testConnection));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.of(regularMember));
+        when(teamMembershipCache.findRole(teamId, userId)).thenReturn(Optional.of(regularMember.getRole()));
 
         assertThrows(AccessDeniedException.class, () ->
                 gitHubConnectionService.deleteConnection(connectionId));
@@ -328,7 +330,7 @@ class GitHubConnectionServiceTest {
     void getDecryptedCredentials_asAdmin_success() {
         setSecurityContext(userId);
         when(gitHubConnectionRepository.findById(connectionId)).thenReturn(Optional.of(testConnection));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.of(adminMember));
+        when(teamMembershipCache.findRole(teamId, userId)).thenReturn(Optional.of(adminMember.getRole()));
         when(encryptionService.decrypt("encrypted-creds")).thenReturn("ghp_abc123");
 
         String result = gitHubConnectionService.getDecryptedCredentials(connectionId);
@@ -345,7 +347,7 @@ class GitHubConnectionServiceTest {
         ownerMember.setId(UUID.randomUUID());
 
         when(gitHubConnectionRepository.findById(connectionId)).thenReturn(Optional.of(testConnection));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.of(ownerMember));
+        when(teamMembershipCache.findRole(teamId, userId)).thenReturn(Optional.of(ownerMember.getRole()));
         when(encryptionService.decrypt("encrypted-creds")).thenReturn("ghp_abc123");
 
         String result = gitHubConnectionService.getDecryptedCredentials(connectionId);
@@ -356,7 +358,7 @@ class GitHubConnectionServiceTest {
     void getDecryptedCredentials_asMember_throwsAccessDenied() {
         setSecurityContext(userId);
         when(gitHubConnectionRepository.findById(connectionId)).thenReturn(Optional.of(testConnection));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.of(regularMember));
+        when(teamMembershipCache.findRole(teamId, userId)).thenReturn(Optional.of(regularMember.getRole()));
 
         assertThrows(AccessDeniedException.class, () ->
                 gitHubConnectionService.getDecryptedCredentials(connectionId));
@@ -371,7 +373,7 @@ class GitHubConnectionServiceTest {
         viewerMember.setId(UUID.randomUUID());
 
         when(gitHubConnectionRepository.findById(connectionId)).thenReturn(Optional.of(testConnection));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.of(viewerMember));
+        when(teamMembershipCache.findRole(teamId, userId)).thenReturn(Optional.of(viewerMember.getRole()));
 
         assertThrows(AccessDeniedException.class, () ->
                 gitHubConnectionService.getDecryptedCredentials(connectionId));
@@ -381,7 +383,7 @@ class GitHubConnectionServiceTest {
     void getDecryptedCredentials_notAMember_throwsAccessDenied() {
         setSecurityContext(userId);
         when(gitHubConnectionRepository.findById(connectionId)).thenReturn(Optional.of(testConnection));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.empty());
+        when(teamMembershipCache.findRole(teamId, userId)).thenReturn(Optional.empty());
 
         assertThrows(AccessDeniedException.class, () ->
                 gitHubConnectionService.getDecryptedCredentials(connectionId));
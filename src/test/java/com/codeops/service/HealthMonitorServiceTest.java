@@ -9,6 +9,7 @@ import com.codeops.entity.*;
 import com.codeops.entity.enums.AgentType;
 import com.codeops.entity.enums.ScheduleType;
 import com.codeops.entity.enums.TeamRole;
+import com.codeops.exception.ValidationException;
 import com.codeops.repository.*;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -17,9 +18,11 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -29,7 +32,10 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -45,9 +51,12 @@ class HealthMonitorServiceTest {
     @Mock private HealthSnapshotRepository healthSnapshotRepository;
     @Mock private ProjectRepository projectRepository;
     @Mock private TeamMemberRepository teamMemberRepository;
+    @Mock private TeamMembershipCache teamMembershipCache;
     @Mock private UserRepository userRepository;
     @Mock private QaJobRepository qaJobRepository;
     @Mock private ObjectMapper objectMapper;
+    @Mock private ProjectMetricsRollupService rollupService;
+    @Mock private HealthTrendService healthTrendService;
 
     @InjectMocks
     private HealthMonitorService healthMonitorService;
@@ -67,6 +76,9 @@ class HealthMonitorServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().doCallRealMethod().when(teamMembershipCache).verifyMember(any());
+        lenient().doCallRealMethod().when(teamMembershipCache).verifyAdmin(any());
+        lenient().doCallRealMethod().when(teamMembershipCache).requireRole(any());
         userId = UUID.randomUUID();
         teamId = UUID.randomUUID();
         projectId = UUID.randomUUID();
@@ -127,7 +139,7 @@ class HealthMonitorServiceTest {
         TeamMember adminMember = TeamMember.builder().role(TeamRole.ADMIN).build();
 
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.of(adminMember));
+        when(teamMembershipCache.findRole(teamId, userId)).thenReturn(Optional.of(adminMember.getRole()));
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
         when(objectMapper.writeValueAsString(anyList())).thenReturn("[\"SECURITY\",\"CODE_QUALITY\"]");
         when(objectMapper.readValue(anyString(), any(com.fasterxml.jackson.core.type.TypeReference.class)))
@@ -154,7 +166,7 @@ class HealthMonitorServiceTest {
         TeamMember memberRole = TeamMember.builder().role(TeamRole.MEMBER).build();
 
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.of(memberRole));
+        when(teamMembershipCache.findRole(teamId, userId)).thenReturn(Optional.of(memberRole.getRole()));
 
         assertThrows(AccessDeniedException.class, () -> healthMonitorService.createSchedule(request));
     }
@@ -168,12 +180,45 @@ class HealthMonitorServiceTest {
         assertThrows(EntityNotFoundException.class, () -> healthMonitorService.createSchedule(request));
     }
 
+    @Test
+    void createSchedule_invalidCron_throws() {
+        CreateHealthScheduleRequest request = new CreateHealthScheduleRequest(
+                projectId, ScheduleType.ON_COMMIT, "every day", List.of(AgentType.SECURITY));
+
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+        when(teamMembershipCache.findRole(teamId, userId)).thenReturn(Optional.of(TeamRole.ADMIN));
+
+        assertThrows(ValidationException.class, () -> healthMonitorService.createSchedule(request));
+        verify(healthScheduleRepository, never()).save(any());
+    }
+
+    @Test
+    void createSchedule_cron_setsNextRunFromExpression() throws JsonProcessingException {
+        CreateHealthScheduleRequest request = new CreateHealthScheduleRequest(
+                projectId, ScheduleType.WEEKLY, "30 6 * * MON", List.of(AgentType.SECURITY));
+
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+        when(teamMembershipCache.findRole(teamId, userId)).thenReturn(Optional.of(TeamRole.ADMIN));
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(objectMapper.writeValueAsString(anyList())).thenReturn("[\"SECURITY\"]");
+        when(healthScheduleRepository.save(any(HealthSchedule.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        healthMonitorService.createSchedule(request);
+
+        ArgumentCaptor<HealthSchedule> saved = ArgumentCaptor.forClass(HealthSchedule.class);
+        verify(healthScheduleRepository).save(saved.capture());
+        Instant nextRunAt = saved.getValue().getNextRunAt();
+        assertTrue(nextRunAt.isAfter(Instant.now()));
+        assertTrue(nextRunAt.isBefore(Instant.now().plus(Duration.ofDays(7)).plus(Duration.ofHours(1))));
+        assertEquals(DayOfWeek.MONDAY, nextRunAt.atZone(ZoneId.systemDefault()).getDayOfWeek());
+    }
+
     // --- getSchedulesForProject ---
 
     @Test
     void getSchedulesForProject_success() throws JsonProcessingException {
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(healthScheduleRepository.findByProjectId(projectId)).thenReturn(List.of(schedule));
         when(objectMapper.readValue(anyString(), any(com.fasterxml.jackson.core.type.TypeReference.class)))
                 .thenReturn(List.of(AgentType.SECURITY, AgentType.CODE_QUALITY));
@@ -233,7 +278,7 @@ class HealthMonitorServiceTest {
         TeamMember adminMember = TeamMember.builder().role(TeamRole.ADMIN).build();
 
         when(healthScheduleRepository.findById(scheduleId)).thenReturn(Optional.of(schedule));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.of(adminMember));
+        when(teamMembershipCache.findRole(teamId, userId)).thenReturn(Optional.of(adminMember.getRole()));
         when(healthScheduleRepository.save(any(HealthSchedule.class))).thenReturn(schedule);
         when(objectMapper.readValue(anyString(), any(com.fasterxml.jackson.core.type.TypeReference.class)))
                 .thenReturn(List.of(AgentType.SECURITY));
@@ -249,7 +294,7 @@ class HealthMonitorServiceTest {
         TeamMember ownerMember = TeamMember.builder().role(TeamRole.OWNER).build();
 
         when(healthScheduleRepository.findById(scheduleId)).thenReturn(Optional.of(schedule));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.of(ownerMember));
+        when(teamMembershipCache.findRole(teamId, userId)).thenReturn(Optional.of(ownerMember.getRole()));
         when(healthScheduleRepository.save(any(HealthSchedule.class))).thenReturn(schedule);
         when(objectMapper.readValue(anyString(), any(com.fasterxml.jackson.core.type.TypeReference.class)))
                 .thenReturn(List.of(AgentType.SECURITY));
@@ -271,7 +316,7 @@ class HealthMonitorServiceTest {
         TeamMember memberRole = TeamMember.builder().role(TeamRole.MEMBER).build();
 
         when(healthScheduleRepository.findById(scheduleId)).thenReturn(Optional.of(schedule));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.of(memberRole));
+        when(teamMembershipCache.findRole(teamId, userId)).thenReturn(Optional.of(memberRole.getRole()));
 
         assertThrows(AccessDeniedException.class, () -> healthMonitorService.updateSchedule(scheduleId, false));
     }
@@ -283,7 +328,7 @@ class HealthMonitorServiceTest {
         TeamMember adminMember = TeamMember.builder().role(TeamRole.ADMIN).build();
 
         when(healthScheduleRepository.findById(scheduleId)).thenReturn(Optional.of(schedule));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.of(adminMember));
+        when(teamMembershipCache.findRole(teamId, userId)).thenReturn(Optional.of(adminMember.getRole()));
 
         healthMonitorService.deleteSchedule(scheduleId);
 
@@ -322,7 +367,7 @@ class HealthMonitorServiceTest {
                 projectId, null, 85, "{}", 70, 90, new BigDecimal("78.50"));
 
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(healthSnapshotRepository.save(any(HealthSnapshot.class))).thenAnswer(inv -> {
             HealthSnapshot s = inv.getArgument(0);
             s.setId(snapshotId);
@@ -333,6 +378,28 @@ class HealthMonitorServiceTest {
 
         assertNotNull(response);
         assertEquals(85, response.healthScore());
+        verify(rollupService).recordHealthSnapshot(projectId, 85);
+        verify(healthTrendService).record(eq(projectId), any(HealthSnapshot.class));
+    }
+
+    @Test
+    void createSnapshot_storesTypedSeverityCounts() {
+        CreateHealthSnapshotRequest request = new CreateHealthSnapshotRequest(
+                projectId, null, 72, "{\"CRITICAL\":2,\"HIGH\":5,\"low\":1}", null, null, null);
+
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
+        when(healthSnapshotRepository.save(any(HealthSnapshot.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        healthMonitorService.createSnapshot(request);
+
+        ArgumentCaptor<HealthSnapshot> saved = ArgumentCaptor.forClass(HealthSnapshot.class);
+        verify(healthSnapshotRepository).save(saved.capture());
+        assertEquals(2, saved.getValue().getCriticalCount());
+        assertEquals(5, saved.getValue().getHighCount());
+        assertEquals(0, saved.getValue().getMediumCount());
+        assertEquals(1, saved.getValue().getLowCount());
+        assertEquals("{\"CRITICAL\":2,\"HIGH\":5,\"low\":1}", saved.getValue().getFindingsBySeverity());
     }
 
     @Test
@@ -341,7 +408,7 @@ class HealthMonitorServiceTest {
                 projectId, jobId, 85, null, null, null, null);
 
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(qaJob));
         when(healthSnapshotRepository.save(any(HealthSnapshot.class))).thenAnswer(inv -> {
             HealthSnapshot s = inv.getArgument(0);
@@ -371,7 +438,7 @@ class HealthMonitorServiceTest {
         Page<HealthSnapshot> page = new PageImpl<>(List.of(snapshot), pageable, 1);
 
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(healthSnapshotRepository.findByProjectId(projectId, pageable)).thenReturn(page);
 
         PageResponse<HealthSnapshotResponse> result = healthMonitorService.getSnapshots(projectId, pageable);
@@ -411,8 +478,8 @@ class HealthMonitorServiceTest {
         s2.setId(UUID.randomUUID());
 
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
-        when(healthSnapshotRepository.findByProjectIdOrderByCapturedAtDesc(projectId))
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
+        when(healthSnapshotRepository.findByProjectIdOrderByCapturedAtDescIdDesc(projectId, Limit.of(10)))
                 .thenReturn(List.of(s2, s1));
 
         List<HealthSnapshotResponse> result = healthMonitorService.getHealthTrend(projectId, 10);
@@ -436,13 +503,15 @@ class HealthMonitorServiceTest {
         s3.setId(UUID.randomUUID());
 
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
-        when(healthSnapshotRepository.findByProjectIdOrderByCapturedAtDesc(projectId))
-                .thenReturn(List.of(s3, s2, s1));
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
+        when(healthSnapshotRepository.findByProjectIdOrderByCapturedAtDescIdDesc(projectId, Limit.of(2)))
+                .thenReturn(List.of(s3, s2));
 
         List<HealthSnapshotResponse> result = healthMonitorService.getHealthTrend(projectId, 2);
 
         assertEquals(2, result.size());
+        assertEquals(85, result.get(0).healthScore());
+        assertEquals(90, result.get(1).healthScore());
     }
 
     private void setSecurityContext(UUID userId) {
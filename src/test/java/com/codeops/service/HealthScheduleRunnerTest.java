@@ -0,0 +1,147 @@
+package com.codeops.service;
+
+import com.codeops.config.AppConstants;
+import com.codeops.entity.HealthSchedule;
+import com.codeops.entity.Project;
+import com.codeops.entity.QaJob;
+import com.codeops.entity.User;
+import com.codeops.entity.enums.JobMode;
+import com.codeops.entity.enums.JobStatus;
+import com.codeops.entity.enums.ScheduleType;
+import com.codeops.repository.HealthScheduleRepository;
+import com.codeops.repository.QaJobRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HealthScheduleRunnerTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-14T00:05:00Z");
+
+    @Mock private HealthScheduleRepository healthScheduleRepository;
+    @Mock private QaJobRepository qaJobRepository;
+    @Mock private ProjectMetricsRollupService rollupService;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private HealthScheduleRunner runner;
+
+    @BeforeEach
+    void setUp() {
+        runner = new HealthScheduleRunner(healthScheduleRepository, qaJobRepository, rollupService, objectMapper,
+                transactionManager, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private static HealthSchedule schedule(String cron) {
+        Project project = Project.builder().name("api").build();
+        project.setId(UUID.randomUUID());
+        User user = User.builder().email("owner@codeops.dev").build();
+        user.setId(UUID.randomUUID());
+        HealthSchedule schedule = HealthSchedule.builder()
+                .project(project)
+                .scheduleType(ScheduleType.DAILY)
+                .cronExpression(cron)
+                .agentTypes("[\"SECURITY\",\"CODE_QUALITY\"]")
+                .isActive(true)
+                .createdBy(user)
+                .nextRunAt(NOW.minusSeconds(300))
+                .build();
+        schedule.setId(UUID.randomUUID());
+        return schedule;
+    }
+
+    @Test
+    void runDue_queuesJobAndAdvancesSchedule() throws Exception {
+        HealthSchedule schedule = schedule(null);
+        schedule.getProject().setId(new UUID(0L, 0L));  // no jitter offset
+        when(healthScheduleRepository.lockDue(NOW, AppConstants.HEALTH_SCHEDULE_BATCH_SIZE))
+                .thenReturn(List.of(schedule));
+
+        assertEquals(1, runner.runDue());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<QaJob>> saved = ArgumentCaptor.forClass(List.class);
+        verify(qaJobRepository).saveAll(saved.capture());
+        QaJob job = saved.getValue().get(0);
+        assertEquals(JobMode.HEALTH_MONITOR, job.getMode());
+        assertEquals(JobStatus.PENDING, job.getStatus());
+        assertSame(schedule.getProject(), job.getProject());
+        assertSame(schedule.getCreatedBy(), job.getStartedBy());
+        JsonNode config = objectMapper.readTree(job.getConfigJson());
+        assertEquals(schedule.getId().toString(), config.get("healthScheduleId").asText());
+        assertEquals("SECURITY", config.get("agentTypes").get(0).asText());
+        verify(rollupService).recordJobCreated(schedule.getProject().getId());
+
+        assertEquals(NOW, schedule.getLastRunAt());
+        assertEquals(Instant.parse("2026-10-15T00:00:00Z"), schedule.getNextRunAt());
+    }
+
+    @Test
+    void runDue_overdueSchedule_firesOnceAndMovesToNextSlot() {
+        HealthSchedule schedule = schedule("0 * * * *");
+        schedule.setNextRunAt(NOW.minusSeconds(86_400 * 3));
+        when(healthScheduleRepository.lockDue(NOW, AppConstants.HEALTH_SCHEDULE_BATCH_SIZE))
+                .thenReturn(List.of(schedule));
+
+        runner.runDue();
+
+        verify(qaJobRepository).saveAll(argThat(jobs -> ((List<?>) jobs).size() == 1));
+        assertTrue(schedule.getNextRunAt().isAfter(NOW));
+        assertTrue(schedule.getNextRunAt().isBefore(NOW.plusSeconds(3600)));
+    }
+
+    @Test
+    void runDue_invalidStoredCron_deactivatesSchedule() {
+        HealthSchedule schedule = schedule("not a cron");
+        when(healthScheduleRepository.lockDue(NOW, AppConstants.HEALTH_SCHEDULE_BATCH_SIZE))
+                .thenReturn(List.of(schedule));
+
+        runner.runDue();
+
+        assertFalse(schedule.getIsActive());
+        assertNull(schedule.getNextRunAt());
+        verifyNoInteractions(qaJobRepository, rollupService);
+    }
+
+    @Test
+    void runDue_fullBatch_claimsAgain() {
+        List<HealthSchedule> full = new ArrayList<>();
+        for (int i = 0; i < AppConstants.HEALTH_SCHEDULE_BATCH_SIZE; i++) {
+            full.add(schedule(null));
+        }
+        when(healthScheduleRepository.lockDue(NOW, AppConstants.HEALTH_SCHEDULE_BATCH_SIZE))
+                .thenReturn(full, List.of());
+
+        assertEquals(AppConstants.HEALTH_SCHEDULE_BATCH_SIZE, runner.runDue());
+
+        verify(healthScheduleRepository, times(2)).lockDue(any(), anyInt());
+        verify(rollupService, times(AppConstants.HEALTH_SCHEDULE_BATCH_SIZE)).recordJobCreated(any());
+    }
+
+    @Test
+    void runDue_nothingDue_createsNoJobs() {
+        when(healthScheduleRepository.lockDue(NOW, AppConstants.HEALTH_SCHEDULE_BATCH_SIZE)).thenReturn(List.of());
+
+        assertEquals(0, runner.runDue());
+
+        verifyNoInteractions(qaJobRepository);
+    }
+}
@@ -0,0 +1,79 @@
+package com.codeops.service;
+
+import com.codeops.entity.enums.ScheduleType;
+import com.codeops.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.support.CronExpression;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HealthScheduleTimesTest {
+
+    private static final ZonedDateTime NOW = ZonedDateTime.of(2026, 10, 14, 10, 15, 0, 0, ZoneOffset.UTC);
+    private static final UUID KEY = new UUID(0L, 90_000L);
+
+    @Test
+    void parse_acceptsUnixAndSpringForms() {
+        assertEquals(ZonedDateTime.of(2026, 10, 15, 0, 0, 0, 0, ZoneOffset.UTC),
+                HealthScheduleTimes.parse("0 0 * * *").next(NOW));
+        assertEquals(ZonedDateTime.of(2026, 10, 14, 10, 30, 15, 0, ZoneOffset.UTC),
+                HealthScheduleTimes.parse("15 30 10 * * *").next(NOW));
+    }
+
+    @Test
+    void parse_malformed_throwsValidationException() {
+        assertThrows(ValidationException.class, () -> HealthScheduleTimes.parse("every day"));
+        assertThrows(ValidationException.class, () -> HealthScheduleTimes.parse("0 0 32 * *"));
+    }
+
+    @Test
+    void nextRun_onCommit_isNull() {
+        assertNull(HealthScheduleTimes.nextRun(ScheduleType.ON_COMMIT, "0 0 * * *", KEY, NOW));
+    }
+
+    @Test
+    void nextRun_withoutCron_usesTypeDefault() {
+        assertEquals(Instant.parse("2026-10-15T00:00:00Z"),
+                HealthScheduleTimes.nextRun(ScheduleType.DAILY, null, null, NOW));
+        assertEquals(Instant.parse("2026-10-19T00:00:00Z"),
+                HealthScheduleTimes.nextRun(ScheduleType.WEEKLY, " ", null, NOW));
+    }
+
+    @Test
+    void nextRun_appliesStableOffsetPerKey() {
+        Instant first = HealthScheduleTimes.nextRun(ScheduleType.DAILY, null, KEY, NOW);
+        Instant second = HealthScheduleTimes.nextRun(ScheduleType.DAILY, null, KEY, first.atZone(ZoneOffset.UTC));
+
+        assertEquals(Instant.parse("2026-10-15T00:01:30Z"), first);
+        assertEquals(Duration.ofDays(1), Duration.between(first, second));
+        assertNotEquals(first, HealthScheduleTimes.nextRun(ScheduleType.DAILY, null, new UUID(0L, 600_000L), NOW));
+    }
+
+    @Test
+    void nextRun_isAlwaysAfterTheGivenTime() {
+        ZonedDateTime justBeforeSlot = ZonedDateTime.of(2026, 10, 15, 0, 1, 0, 0, ZoneOffset.UTC);
+
+        Instant next = HealthScheduleTimes.nextRun(ScheduleType.DAILY, null, KEY, justBeforeSlot);
+
+        assertEquals(Instant.parse("2026-10-15T00:01:30Z"), next);
+        assertEquals(Instant.parse("2026-10-16T00:01:30Z"),
+                HealthScheduleTimes.nextRun(ScheduleType.DAILY, null, KEY, next.atZone(ZoneOffset.UTC)));
+    }
+
+    @Test
+    void jitter_isBoundedByHalfTheInterval() {
+        CronExpression everyMinute = HealthScheduleTimes.parse("* * * * *");
+        CronExpression daily = HealthScheduleTimes.parse("0 0 * * *");
+        UUID key = UUID.randomUUID();
+
+        assertTrue(HealthScheduleTimes.jitter(everyMinute, key, NOW).compareTo(Duration.ofSeconds(30)) < 0);
+        assertTrue(HealthScheduleTimes.jitter(daily, key, NOW).compareTo(Duration.ofMinutes(30)) < 0);
+        assertEquals(Duration.ZERO, HealthScheduleTimes.jitter(daily, null, NOW));
+    }
+}
@@ -0,0 +1,91 @@
+package com.codeops.service;
+
+import com.codeops.config.AppConstants;
+import com.codeops.entity.HealthSnapshot;
+import com.codeops.repository.HealthSnapshotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HealthSnapshotSeverityBackfillTest {
+
+    @Mock private HealthSnapshotRepository healthSnapshotRepository;
+    @Mock private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private HealthSnapshotSeverityBackfill backfill;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(inv -> {
+            TransactionCallback<?> callback = inv.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+    }
+
+    private static final UUID MIN_ID = new UUID(0L, 0L);
+
+    private static List<HealthSnapshot> snapshots(int count, String json) {
+        List<HealthSnapshot> snapshots = new ArrayList<>();
+        IntStream.range(0, count).forEach(i -> {
+            HealthSnapshot snapshot = HealthSnapshot.builder().healthScore(70).findingsBySeverity(json).build();
+            snapshot.setId(UUID.randomUUID());
+            snapshots.add(snapshot);
+        });
+        return snapshots;
+    }
+
+    @Test
+    void backfill_convertsBatchesUntilPartialBatch() {
+        List<HealthSnapshot> full = snapshots(AppConstants.HEALTH_SNAPSHOT_BACKFILL_BATCH_SIZE, "{\"HIGH\":2}");
+        List<HealthSnapshot> partial = snapshots(3, "{\"CRITICAL\":1}");
+        UUID lastOfFull = full.get(full.size() - 1).getId();
+        when(healthSnapshotRepository.findWithoutSeverityCountsAfter(eq(MIN_ID), any(Limit.class))).thenReturn(full);
+        when(healthSnapshotRepository.findWithoutSeverityCountsAfter(eq(lastOfFull), any(Limit.class))).thenReturn(partial);
+
+        int converted = backfill.backfill();
+
+        assertEquals(AppConstants.HEALTH_SNAPSHOT_BACKFILL_BATCH_SIZE + 3, converted);
+        assertEquals(2, full.get(0).getHighCount());
+        assertEquals(0, full.get(0).getCriticalCount());
+        assertEquals(1, partial.get(2).getCriticalCount());
+        verify(transactionTemplate, times(2)).execute(any());
+    }
+
+    @Test
+    void backfill_afterCompletion_doesNothing() {
+        when(healthSnapshotRepository.findWithoutSeverityCountsAfter(any(), any(Limit.class))).thenReturn(List.of());
+
+        assertEquals(0, backfill.backfill());
+        assertEquals(0, backfill.backfill());
+
+        verify(healthSnapshotRepository, times(1)).findWithoutSeverityCountsAfter(any(), any(Limit.class));
+    }
+
+    @Test
+    void backfill_malformedJson_storesZeros() {
+        List<HealthSnapshot> batch = snapshots(1, "not json");
+        when(healthSnapshotRepository.findWithoutSeverityCountsAfter(any(), any(Limit.class))).thenReturn(batch);
+
+        backfill.backfill();
+
+        assertEquals(0, batch.get(0).getCriticalCount());
+        assertEquals(0, batch.get(0).getLowCount());
+    }
+}
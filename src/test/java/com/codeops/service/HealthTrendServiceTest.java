@@ -0,0 +1,150 @@
+package com.codeops.service;
+
+import com.codeops.dto.response.HealthSnapshotResponse;
+import com.codeops.entity.HealthSnapshot;
+import com.codeops.entity.HealthSnapshotBucket;
+import com.codeops.entity.HealthSnapshotBucketId;
+import com.codeops.entity.Project;
+import com.codeops.entity.enums.TrendResolution;
+import com.codeops.repository.HealthSnapshotBucketRepository;
+import com.codeops.repository.HealthSnapshotRepository;
+import com.codeops.repository.ProjectRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HealthTrendServiceTest {
+
+    @Mock private HealthSnapshotRepository healthSnapshotRepository;
+    @Mock private HealthSnapshotBucketRepository bucketRepository;
+    @Mock private ProjectRepository projectRepository;
+    @Mock private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private HealthTrendService healthTrendService;
+
+    private UUID projectId;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        projectId = UUID.randomUUID();
+        project = Project.builder().name("api").build();
+        project.setId(projectId);
+    }
+
+    @Test
+    void resolutionFor_picksFinestResolutionWithinPointBudget() {
+        assertEquals(TrendResolution.RAW, HealthTrendService.resolutionFor(Duration.ofHours(48)));
+        assertEquals(TrendResolution.HOUR, HealthTrendService.resolutionFor(Duration.ofDays(7)));
+        assertEquals(TrendResolution.DAY, HealthTrendService.resolutionFor(Duration.ofDays(30)));
+        assertEquals(TrendResolution.DAY, HealthTrendService.resolutionFor(Duration.ofDays(365)));
+        assertEquals(TrendResolution.WEEK, HealthTrendService.resolutionFor(Duration.ofDays(3 * 365)));
+    }
+
+    @Test
+    void bucketStart_truncatesToUtcBoundaries() {
+        Instant instant = Instant.parse("2026-10-15T13:47:12Z");  // Thursday
+
+        assertEquals(Instant.parse("2026-10-15T13:00:00Z"), HealthTrendService.bucketStart(TrendResolution.HOUR, instant));
+        assertEquals(Instant.parse("2026-10-15T00:00:00Z"), HealthTrendService.bucketStart(TrendResolution.DAY, instant));
+        assertEquals(Instant.parse("2026-10-12T00:00:00Z"), HealthTrendService.bucketStart(TrendResolution.WEEK, instant));
+        assertThrows(IllegalArgumentException.class, () -> HealthTrendService.bucketStart(TrendResolution.RAW, instant));
+    }
+
+    @Test
+    void record_accumulatesEveryResolution() {
+        HealthSnapshot snapshot = HealthSnapshot.builder().project(project).healthScore(82).techDebtScore(60)
+                .testCoveragePercent(new BigDecimal("71.25")).capturedAt(Instant.parse("2026-10-15T13:47:12Z")).build();
+
+        healthTrendService.record(projectId, snapshot);
+
+        verify(bucketRepository).accumulate(projectId, "HOUR", Instant.parse("2026-10-15T13:00:00Z"), 82,
+                60, 1, 0, 0, new BigDecimal("71.25"), 1);
+        verify(bucketRepository).accumulate(projectId, "DAY", Instant.parse("2026-10-15T00:00:00Z"), 82,
+                60, 1, 0, 0, new BigDecimal("71.25"), 1);
+        verify(bucketRepository).accumulate(projectId, "WEEK", Instant.parse("2026-10-12T00:00:00Z"), 82,
+                60, 1, 0, 0, new BigDecimal("71.25"), 1);
+    }
+
+    @Test
+    void trend_shortWindow_readsSnapshotRange() {
+        Instant to = Instant.parse("2026-10-15T12:00:00Z");
+        Instant from = to.minus(Duration.ofHours(24));
+        HealthSnapshot snapshot = HealthSnapshot.builder().project(project).healthScore(77)
+                .capturedAt(to.minusSeconds(60)).build();
+        snapshot.setId(UUID.randomUUID());
+        when(healthSnapshotRepository.findRange(projectId, from, to)).thenReturn(List.of(snapshot));
+
+        List<HealthSnapshotResponse> result = healthTrendService.trend(projectId, from, to);
+
+        assertEquals(1, result.size());
+        assertEquals(snapshot.getId(), result.get(0).id());
+        assertEquals(77, result.get(0).healthScore());
+        verifyNoInteractions(bucketRepository);
+    }
+
+    @Test
+    void trend_longWindow_returnsBucketAverages() {
+        Instant to = Instant.parse("2026-10-15T12:34:00Z");
+        Instant from = to.minus(Duration.ofDays(90));
+        Instant dayStart = Instant.parse("2026-10-01T00:00:00Z");
+        HealthSnapshotBucket bucket = HealthSnapshotBucket.builder()
+                .id(new HealthSnapshotBucketId(projectId, TrendResolution.DAY, dayStart))
+                .sampleCount(3).healthScoreSum(250L).healthScoreMin(80).healthScoreMax(86)
+                .techDebtSum(0L).techDebtCount(0)
+                .dependencySum(181L).dependencyCount(2)
+                .coverageSum(new BigDecimal("150.50")).coverageCount(2)
+                .build();
+        when(bucketRepository.findRange(projectId, TrendResolution.DAY, Instant.parse("2026-07-17T00:00:00Z"), to))
+                .thenReturn(List.of(bucket));
+
+        List<HealthSnapshotResponse> result = healthTrendService.trend(projectId, from, to);
+
+        HealthSnapshotResponse point = result.get(0);
+        assertNull(point.id());
+        assertEquals(projectId, point.projectId());
+        assertEquals(83, point.healthScore());
+        assertNull(point.techDebtScore());
+        assertEquals(91, point.dependencyScore());
+        assertEquals(new BigDecimal("75.25"), point.testCoveragePercent());
+        assertEquals(dayStart, point.capturedAt());
+        verifyNoInteractions(healthSnapshotRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rebuildAll_rebuildsEachProjectInItsOwnTransaction() {
+        UUID other = UUID.randomUUID();
+        when(projectRepository.findAllIds()).thenReturn(List.of(projectId, other));
+        doAnswer(inv -> {
+            ((Consumer<TransactionStatus>) inv.getArgument(0)).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        assertEquals(2, healthTrendService.rebuildAll());
+
+        verify(transactionTemplate, times(2)).executeWithoutResult(any());
+        verify(bucketRepository).deleteAllByProjectId(projectId);
+        verify(bucketRepository).rebuild(projectId, "HOUR", "hour");
+        verify(bucketRepository).rebuild(projectId, "DAY", "day");
+        verify(bucketRepository).rebuild(other, "WEEK", "week");
+    }
+}
@@ -8,7 +8,6 @@ import com.codeops.entity.TeamMember;
 import com.codeops.entity.User;
 import com.codeops.entity.enums.TeamRole;
 import com.codeops.repository.JiraConnectionRepository;
-import com.codeops.repository.TeamMemberRepository;
 import com.codeops.repository.TeamRepository;
 import com.codeops.repository.UserRepository;
 import jakarta.persistence.EntityNotFoundException;
@@ -36,7 +35,7 @@ import static org.mockito.Mockito.*;
 class JiraConnectionServiceTest {
 
     @Mock private JiraConnectionRepository jiraConnectionRepository;
-    @Mock private TeamMemberRepository teamMemberRepository;
+    @Mock private TeamMembershipCache teamMembershipCache;
     @Mock private EncryptionService encryptionService;
     @Mock private TeamRepository teamRepository;
     @Mock private UserRepository userRepository;
@@ -55,6 +54,9 @@ class JiraConnectionServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().doCallRealMethod().when(teamMembershipCache).verifyMember(any());
+        lenient().doCallRealMethod().when(teamMembershipCache).verifyAdmin(any());
+        lenient().doCallRealMethod().when(teamMembershipCache).requireRole(any());
         userId = UUID.randomUUID();
         teamId = UUID.randomUUID();
         connectionId = UUID.randomUUID();
@@ -116,7 +118,7 @@ class JiraConnectionServiceTest {
         CreateJiraConnectionRequest request = new CreateJiraConnectionRequest(
                 "My Jira", "https://mycompany.atlassian.net", "jira@codeops.dev", "token123");
 
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.of(adminMember));
+        when(teamMembershipCache.findRole(teamId, userId)).thenReturn(Optional.of(adminMember.getRole()));
         when(encryptionService.encrypt("token123")).thenReturn("encrypted-token");
         when(teamRepository.findById(teamId)).thenReturn(Optional.of(testTeam));
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
@@ -150,7 +152,7 @@ class JiraConnectionServiceTest {
         CreateJiraConnectionRequest request = new CreateJiraConnectionRequest(
                 "Jira Cloud", "https://example.atlassian.net", "admin@example.com", "api-token");
 
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.of(ownerMember));
+        when(teamMembershipCache.findRole(teamId, userId)).thenReturn(Optional.of(ownerMember.getRole()));
         when(encryptionService.encrypt("api-token")).thenReturn("encrypted");
         when(teamRepository.findById(teamId)).thenReturn(Optional.of(testTeam));
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
@@ -169,7 +171,7 @@ class JiraConnectionServiceTest {
     @Test
     void createConnection_asMember_throwsAccessDenied() {
         setSecurityContext(userId);
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.of(regularMember));
+        when(teamMembershipCache.findRole(teamId, userId)).thenReturn(Optional.of(regularMember.getRole()));
 
         CreateJiraConnectionRequest request = new CreateJiraConnectionRequest(
                 "Jira", "https://example.atlassian.net", "user@example.com", "token");
@@ -182,7 +184,7 @@ class JiraConnectionServiceTest {
     @Test
     void createConnection_notAMember_throwsAccessDenied() {
         setSecurityContext(userId);
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.empty());
+        when(teamMembershipCache.findRole(teamId, userId)).thenReturn(Optional.empty());
 
         CreateJiraConnectionRequest request = new CreateJiraConnectionRequest(
                 "Jira", "https://example.atlassian.net", "user@example.com", "token");
@@ -194,7 +196,7 @@ class JiraConnectionServiceTest {
     @Test
     void createConnection_teamNotFound_throwsEntityNotFound() {
         setSecurityContext(userId);
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.of(adminMember));
+        when(teamMembershipCache.findRole(teamId, userId)).thenReturn(Optional.of(adminMember.getRole()));
         when(encryptionService.encrypt(any())).thenReturn("encrypted");
         when(teamRepository.findById(teamId)).thenReturn(Optional.empty());
 
@@ -208,7 +210,7 @@ class JiraConnectionServiceTest {
     @Test
     void createConnection_userNotFound_throwsEntityNotFound() {
         setSecurityContext(userId);
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.of(adminMember));
+        when(teamMembershipCache.findRole(teamId, userId)).thenReturn(Optional.of(adminMember.getRole()));
         when(encryptionService.encrypt(any())).thenReturn("encrypted");
         when(teamRepository.findById(teamId)).thenReturn(Optional.of(testTeam));
         when(userRepository.findById(userId)).thenReturn(Optional.empty());
@@ -225,7 +227,7 @@ class JiraConnectionServiceTest {
     @Test
     void getConnections_asMember_success() {
         setSecurityContext(userId);
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(jiraConnectionRepository.findByTeamIdAndIsActiveTrue(teamId))
                 .thenReturn(List.of(testConnection));
 
@@ -240,7 +242,7 @@ class JiraConnectionServiceTest {
     @Test
     void getConnections_emptyList() {
         setSecurityContext(userId);
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(jiraConnectionRepository.findByTeamIdAndIsActiveTrue(teamId)).thenReturn(List.of());
 
         List<JiraConnectionResponse> result = jiraConnectionService.getConnections(teamId);
@@ -250,7 +252,7 @@ class JiraConnectionServiceTest {
     @Test
     void getConnections_notAMember_throwsAccessDenied() {
         setSecurityContext(userId);
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(false);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(false);
 
         assertThrows(AccessDeniedException.class, () ->
                 jiraConnectionService.getConnections(teamId));
@@ -262,7 +264,7 @@ class JiraConnectionServiceTest {
     void getConnection_asMember_success() {
         setSecurityContext(userId);
         when(jiraConnectionRepository.findById(connectionId)).thenReturn(Optional.of(testConnection));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
 
         JiraConnectionResponse response = jiraConnectionService.getConnection(connectionId);
 
@@ -282,7 +284,7 @@ class JiraConnectionServiceTest {
     void getConnection_notAMember_throwsAccessDenied() {
         setSecurityContext(userId);
         when(jiraConnectionRepository.findById(connectionId)).thenReturn(Optional.of(testConnection));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(false);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(false);
 
         assertThrows(AccessDeniedException.class, () ->
                 jiraConnectionService.getConnection(connectionId));
@@ -294,7 +296,7 @@ class JiraConnectionServiceTest {
     void deleteConnection_asAdmin_success() {
         setSecurityContext(userId);
         when(jiraConnectionRepository.findById(connectionId)).thenReturn(Optional.of(testConnection));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.of(adminMember));
+        when(teamMembershipCache.findRole(teamId, userId)).thenReturn(Optional.of(adminMember.getRole()));
         when(jiraConnectionRepository.save(any(JiraConnection.class))).thenReturn(testConnection);
 
         jiraConnectionService.deleteConnection(connectionId);
@@ -315,7 +317,7 @@ class JiraConnectionServiceTest {
     void deleteConnection_asMember_throwsAccessDenied() {
         setSecurityContext(userId);
         when(jiraConnectionRepository.findById(connectionId)).thenReturn(Optional.of(testConnection));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.of(regularMember));
+        when(teamMembershipCache.findRole(teamId, userId)).thenReturn(Optional.of(regularMember.getRole()));
 
         assertThrows(AccessDeniedException.class, () ->
                 jiraConnectionService.deleteConnection(connectionId));
@@ -328,7 +330,7 @@ class JiraConnectionServiceTest {
     void getDecryptedApiToken_asAdmin_success() {
         setSecurityContext(userId);
         when(jiraConnectionRepository.findById(connectionId)).thenReturn(Optional.of(testConnection));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.of(adminMember));
+        when(teamMembershipCache.findRole(teamId, userId)).thenReturn(Optional.of(adminMember.getRole()));
         when(encryptionService.decrypt("encrypted-token")).thenReturn("token123");
 
         String result = jiraConnectionService.getDecryptedApiToken(connectionId);
@@ -345,7 +347,7 @@ class JiraConnectionServiceTest {
         ownerMember.setId(UUID.randomUUID());
 
         when(jiraConnectionRepository.findById(connectionId)).thenReturn(Optional.of(testConnection));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.of(ownerMember));
+        when(teamMembershipCache.findRole(teamId, userId)).thenReturn(Optional.of(ownerMember.getRole()));
         when(encryptionService.decrypt("encrypted-token")).thenReturn("token123");
 
         String result = jiraConnectionService.getDecryptedApiToken(connectionId);
@@ -356,7 +358,7 @@ class JiraConnectionServiceTest {
     void getDecryptedApiToken_asMember_throwsAccessDenied() {
         setSecurityContext(userId);
         when(jiraConnectionRepository.findById(connectionId)).thenReturn(Optional.of(testConnection));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.of(regularMember));
+        when(teamMembershipCache.findRole(teamId, userId)).thenReturn(Optional.of(regularMember.getRole()));
 
         assertThrows(AccessDeniedException.class, () ->
                 jiraConnectionService.getDecryptedApiToken(connectionId));
@@ -371,7 +373,7 @@ class JiraConnectionServiceTest {
         viewerMember.setId(UUID.randomUUID());
 
         when(jiraConnectionRepository.findById(connectionId)).thenReturn(Optional.of(testConnection));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.of(viewerMember));
+        when(teamMembershipCache.findRole(teamId, userId)).thenReturn(Optional.of(viewerMember.getRole()));
 
         assertThrows(AccessDeniedException.class, () ->
                 jiraConnectionService.getDecryptedApiToken(connectionId));
@@ -381,7 +383,7 @@ class JiraConnectionServiceTest {
     void getDecryptedApiToken_notAMember_throwsAccessDenied() {
         setSecurityContext(userId);
         when(jiraConnectionRepository.findById(connectionId)).thenReturn(Optional.of(testConnection));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.empty());
+        when(teamMembershipCache.findRole(teamId, userId)).thenReturn(Optional.empty());
 
         assertThrows(AccessDeniedException.class, () ->
                 jiraConnectionService.getDecryptedApiToken(connectionId));
@@ -401,7 +403,7 @@ class JiraConnectionServiceTest {
     void getConnectionDetails_asAdmin_success() {
         setSecurityContext(userId);
         when(jiraConnectionRepository.findById(connectionId)).thenReturn(Optional.of(testConnection));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.of(adminMember));
+        when(teamMembershipCache.findRole(teamId, userId)).thenReturn(Optional.of(adminMember.getRole()));
         when(encryptionService.decrypt("encrypted-token")).thenReturn("decrypted-token");
 
         JiraConnectionService.JiraConnectionDetails details =
@@ -420,7 +422,7 @@ class JiraConnectionServiceTest {
         ownerMember.setId(UUID.randomUUID());
 
         when(jiraConnectionRepository.findById(connectionId)).thenReturn(Optional.of(testConnection));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.of(ownerMember));
+        when(teamMembershipCache.findRole(teamId, userId)).thenReturn(Optional.of(ownerMember.getRole()));
         when(encryptionService.decrypt("encrypted-token")).thenReturn("decrypted-token");
 
         JiraConnectionService.JiraConnectionDetails details =
@@ -434,7 +436,7 @@ class JiraConnectionServiceTest {
     void getConnectionDetails_asMember_throwsAccessDenied() {
         setSecurityContext(userId);
         when(jiraConnectionRepository.findById(connectionId)).thenReturn(Optional.of(testConnection));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.of(regularMember));
+        when(teamMembershipCache.findRole(teamId, userId)).thenReturn(Optional.of(regularMember.getRole()));
 
         assertThrows(AccessDeniedException.class, () ->
                 jiraConnectionService.getConnectionDetails(connectionId));
@@ -452,7 +454,7 @@ class JiraConnectionServiceTest {
     void getConnectionDetails_notAMember_throwsAccessDenied() {
         setSecurityContext(userId);
         when(jiraConnectionRepository.findById(connectionId)).thenReturn(Optional.of(testConnection));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.empty());
+        when(teamMembershipCache.findRole(teamId, userId)).thenReturn(Optional.empty());
 
         assertThrows(AccessDeniedException.class, () ->
                 jiraConnectionService.getConnectionDetails(connectionId));
@@ -0,0 +1,252 @@
+package com.codeops.service;
+
+import com.codeops.config.AppConstants;
+import com.codeops.exception.NotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalStorageServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private LocalStorageService storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new LocalStorageService(tempDir);
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] pattern(int size) {
+        byte[] data = new byte[size];
+        for (int i = 0; i < size; i++) data[i] = (byte) (i * 31);
+        return data;
+    }
+
+    // --- write ---
+
+    @Test
+    void write_createsFileAndLeavesNoTempFiles() throws IOException {
+        long size = storage.write("reports/job/summary.md", stream("# Summary"));
+
+        assertEquals(9, size);
+        assertEquals("# Summary", Files.readString(tempDir.resolve("reports/job/summary.md")));
+        try (Stream<Path> files = Files.list(tempDir.resolve("reports/job"))) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void write_replacesExistingFile() throws IOException {
+        storage.write("spec.yaml", stream("old content that is longer"));
+        storage.write("spec.yaml", stream("new"));
+
+        assertEquals("new", Files.readString(tempDir.resolve("spec.yaml")));
+    }
+
+    @Test
+    void write_failedStream_keepsPreviousFileAndRemovesTemp() throws IOException {
+        storage.write("spec.yaml", stream("previous"));
+        InputStream failing = new InputStream() {
+            private int remaining = 5;
+
+            @Override
+            public int read() throws IOException {
+                if (remaining-- > 0) return 'x';
+                throw new IOException("connection reset");
+            }
+        };
+
+        assertThrows(IOException.class, () -> storage.write("spec.yaml", failing));
+
+        assertEquals("previous", Files.readString(tempDir.resolve("spec.yaml")));
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void write_keyEscapingRoot_throws() {
+        assertThrows(IllegalArgumentException.class, () -> storage.write("../outside.txt", stream("x")));
+        assertThrows(IllegalArgumentException.class, () -> storage.write("a/../../outside.txt", stream("x")));
+    }
+
+    // --- read / stat / delete ---
+
+    @Test
+    void readAndStat_existingFile() throws IOException {
+        storage.write("a/b.txt", stream("hello"));
+
+        assertArrayEquals("hello".getBytes(StandardCharsets.UTF_8), storage.read("a/b.txt"));
+        assertEquals(new StoredObjectInfo(5, null), storage.stat("a/b.txt"));
+    }
+
+    @Test
+    void readStatAndTransfer_missingFile_throwNotFound() {
+        assertThrows(NotFoundException.class, () -> storage.read("missing.txt"));
+        assertThrows(NotFoundException.class, () -> storage.stat("missing.txt"));
+        assertThrows(NotFoundException.class, () -> storage.copyTo("missing.txt", new ByteArrayOutputStream()));
+        assertThrows(NotFoundException.class, () ->
+                storage.transferTo("missing.txt", 0, 10, new ByteArrayOutputStream()));
+    }
+
+    @Test
+    void delete_removesFile_missingIsNoOp() throws IOException {
+        storage.write("gone.txt", stream("x"));
+
+        storage.delete("gone.txt");
+        storage.delete("gone.txt");
+
+        assertFalse(Files.exists(tempDir.resolve("gone.txt")));
+    }
+
+    // --- content encoding ---
+
+    @Test
+    void write_gzip_storesEncodedFileAndReadsDecoded() throws IOException {
+        String report = "## Finding\n\nUnvalidated input reaches a SQL query.\n".repeat(200);
+
+        long size = storage.write("reports/job/summary.md", stream(report), StorageCompression.GZIP);
+
+        Path stored = tempDir.resolve("reports/job/summary.md" + LocalStorageService.GZIP_SUFFIX);
+        assertEquals(report.length(), size);
+        assertFalse(Files.exists(tempDir.resolve("reports/job/summary.md")));
+        assertTrue(Files.size(stored) < report.length() / 4);
+        assertEquals(new StoredObjectInfo(Files.size(stored), StorageCompression.GZIP), storage.stat("reports/job/summary.md"));
+        assertEquals(report, new String(storage.read("reports/job/summary.md"), StandardCharsets.UTF_8));
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        assertEquals(report.length(), storage.copyTo("reports/job/summary.md", decoded));
+        assertEquals(report, decoded.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void transferTo_gzip_copiesStoredBytes() throws IOException {
+        storage.write("reports/job/summary.md", stream("# Summary\n".repeat(500)), StorageCompression.GZIP);
+        byte[] stored = Files.readAllBytes(tempDir.resolve("reports/job/summary.md" + LocalStorageService.GZIP_SUFFIX));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(stored.length, storage.transferTo("reports/job/summary.md", 0, Long.MAX_VALUE, out));
+        assertArrayEquals(stored, out.toByteArray());
+    }
+
+    @Test
+    void write_changingEncoding_removesOtherVariant() throws IOException {
+        storage.write("reports/job/summary.md", stream("plain"));
+        storage.write("reports/job/summary.md", stream("compressed"), StorageCompression.GZIP);
+
+        assertFalse(Files.exists(tempDir.resolve("reports/job/summary.md")));
+        assertEquals("compressed", new String(storage.read("reports/job/summary.md"), StandardCharsets.UTF_8));
+
+        storage.write("reports/job/summary.md", stream("plain again"));
+
+        assertFalse(Files.exists(tempDir.resolve("reports/job/summary.md" + LocalStorageService.GZIP_SUFFIX)));
+        assertEquals(new StoredObjectInfo(11, null), storage.stat("reports/job/summary.md"));
+    }
+
+    @Test
+    void write_concurrentWritesInDifferentEncodings_leaveExactlyOneObject() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < 200; round++) {
+                String key = "reports/job/race-" + round + ".md";
+                CountDownLatch start = new CountDownLatch(1);
+                Future<Long> plain = executor.submit(() -> {
+                    start.await();
+                    return storage.write(key, stream("plain"));
+                });
+                Future<Long> encoded = executor.submit(() -> {
+                    start.await();
+                    return storage.write(key, stream("compressed"), StorageCompression.GZIP);
+                });
+                start.countDown();
+                plain.get(10, TimeUnit.SECONDS);
+                encoded.get(10, TimeUnit.SECONDS);
+
+                boolean plainExists = Files.exists(tempDir.resolve(key));
+                boolean encodedExists = Files.exists(tempDir.resolve(key + LocalStorageService.GZIP_SUFFIX));
+                assertTrue(plainExists ^ encodedExists, "exactly one variant of " + key);
+                assertEquals(plainExists ? "plain" : "compressed",
+                        new String(storage.read(key), StandardCharsets.UTF_8));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void delete_removesEncodedFile() throws IOException {
+        storage.write("gone.md", stream("x"), StorageCompression.GZIP);
+
+        storage.delete("gone.md");
+
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void write_keyWithEncodingSuffix_throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> storage.write("a.md" + LocalStorageService.GZIP_SUFFIX, stream("x")));
+    }
+
+    // --- transferTo ---
+
+    @Test
+    void transferTo_smallRange_copiesBytes() throws IOException {
+        storage.write("small.txt", stream("0123456789"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(3, storage.transferTo("small.txt", 4, 3, out));
+        assertEquals("456", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void transferTo_rangePastEnd_isTruncated() throws IOException {
+        storage.write("small.txt", stream("0123456789"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(2, storage.transferTo("small.txt", 8, Long.MAX_VALUE, out));
+        assertEquals("89", out.toString(StandardCharsets.UTF_8));
+        assertEquals(0, storage.transferTo("small.txt", 10, 5, new ByteArrayOutputStream()));
+    }
+
+    @Test
+    void transferTo_largeFile_mapsInWindows() throws IOException {
+        int size = (int) AppConstants.LOCAL_STORAGE_MMAP_WINDOW_BYTES + 1_500_000;
+        byte[] data = pattern(size);
+        storage.write("specs/large.bin", new ByteArrayInputStream(data));
+
+        ByteArrayOutputStream whole = new ByteArrayOutputStream();
+        assertEquals(size, storage.transferTo("specs/large.bin", 0, Long.MAX_VALUE, whole));
+        assertArrayEquals(data, whole.toByteArray());
+
+        int offset = (int) AppConstants.LOCAL_STORAGE_MMAP_WINDOW_BYTES - 500_000;
+        int length = 2_000_000;
+        ByteArrayOutputStream part = new ByteArrayOutputStream();
+        assertEquals(length, storage.transferTo("specs/large.bin", offset, length, part));
+        assertArrayEquals(Arrays.copyOfRange(data, offset, offset + length), part.toByteArray());
+    }
+}
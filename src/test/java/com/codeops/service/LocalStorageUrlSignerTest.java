@@ -0,0 +1,106 @@
+package com.codeops.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalStorageUrlSignerTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-01T12:00:00Z");
+
+    private final LocalStorageUrlSigner signer =
+            new LocalStorageUrlSigner("test-signing-secret", Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    void presignDownload_buildsUrlThatVerifies() {
+        UriComponents url = parse(signer.presignDownload("reports/job1/summary.md", Duration.ofMinutes(15)));
+
+        assertEquals(LocalStorageUrlSigner.PATH, url.getPath());
+        assertEquals("reports/job1/summary.md",
+                URLDecoder.decode(url.getQueryParams().getFirst("key"), StandardCharsets.UTF_8));
+        long expires = Long.parseLong(url.getQueryParams().getFirst("expires"));
+        assertEquals(NOW.plus(Duration.ofMinutes(15)).getEpochSecond(), expires);
+        assertTrue(signer.isValidDownload("reports/job1/summary.md", expires, url.getQueryParams().getFirst("signature")));
+    }
+
+    @Test
+    void presignDownload_encodesReservedCharactersInKey() {
+        String key = "specs/job1/a+b c&d.pdf";
+        UriComponents url = parse(signer.presignDownload(key, Duration.ofMinutes(15)));
+
+        // Servlet containers decode '+' in a query string as a space, so it must be sent as %2B
+        String rawKey = url.getQueryParams().getFirst("key");
+        assertEquals("specs%2Fjob1%2Fa%2Bb%20c%26d.pdf", rawKey);
+        String decoded = URLDecoder.decode(rawKey, StandardCharsets.UTF_8);
+        long expires = Long.parseLong(url.getQueryParams().getFirst("expires"));
+        assertTrue(signer.isValidDownload(decoded, expires,
+                URLDecoder.decode(url.getQueryParams().getFirst("signature"), StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void isValidDownload_rejectsOtherKey() {
+        UriComponents url = parse(signer.presignDownload("reports/job1/summary.md", Duration.ofMinutes(15)));
+        long expires = Long.parseLong(url.getQueryParams().getFirst("expires"));
+
+        assertFalse(signer.isValidDownload("reports/job2/summary.md", expires, url.getQueryParams().getFirst("signature")));
+    }
+
+    @Test
+    void isValidDownload_rejectsExtendedExpiry() {
+        UriComponents url = parse(signer.presignDownload("reports/job1/summary.md", Duration.ofMinutes(15)));
+        long expires = Long.parseLong(url.getQueryParams().getFirst("expires"));
+
+        assertFalse(signer.isValidDownload("reports/job1/summary.md", expires + 3600,
+                url.getQueryParams().getFirst("signature")));
+    }
+
+    @Test
+    void isValidDownload_rejectsExpiredUrl() {
+        LocalStorageUrlSigner earlier = new LocalStorageUrlSigner("test-signing-secret",
+                Clock.fixed(NOW.minus(Duration.ofHours(1)), ZoneOffset.UTC));
+        UriComponents url = parse(earlier.presignDownload("reports/job1/summary.md", Duration.ofMinutes(15)));
+        long expires = Long.parseLong(url.getQueryParams().getFirst("expires"));
+
+        assertFalse(signer.isValidDownload("reports/job1/summary.md", expires, url.getQueryParams().getFirst("signature")));
+    }
+
+    @Test
+    void isValidDownload_rejectsUrlSignedWithOtherSecret() {
+        LocalStorageUrlSigner other = new LocalStorageUrlSigner("other-secret", Clock.fixed(NOW, ZoneOffset.UTC));
+        UriComponents url = parse(other.presignDownload("reports/job1/summary.md", Duration.ofMinutes(15)));
+        long expires = Long.parseLong(url.getQueryParams().getFirst("expires"));
+
+        assertFalse(signer.isValidDownload("reports/job1/summary.md", expires, url.getQueryParams().getFirst("signature")));
+    }
+
+    @Test
+    void isValidUpload_requiresSignedContentTypeAndLength() {
+        UriComponents url = parse(signer.presignUpload("specs/job1/spec.pdf", "application/pdf", 2048,
+                Duration.ofMinutes(15)));
+        long expires = Long.parseLong(url.getQueryParams().getFirst("expires"));
+        String signature = url.getQueryParams().getFirst("signature");
+
+        assertTrue(signer.isValidUpload("specs/job1/spec.pdf", expires, "application/pdf", 2048, signature));
+        assertFalse(signer.isValidUpload("specs/job1/spec.pdf", expires, "application/pdf", 4096, signature));
+        assertFalse(signer.isValidUpload("specs/job1/spec.pdf", expires, "text/html", 2048, signature));
+        assertFalse(signer.isValidDownload("specs/job1/spec.pdf", expires, signature));
+    }
+
+    @Test
+    void constructor_rejectsBlankSecret() {
+        assertThrows(IllegalStateException.class, () -> new LocalStorageUrlSigner(" ", Clock.systemUTC()));
+    }
+
+    private static UriComponents parse(String url) {
+        return UriComponentsBuilder.fromUriString(url).build(true);
+    }
+}
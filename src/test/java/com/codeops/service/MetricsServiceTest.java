@@ -1,24 +1,30 @@
 package com.codeops.service;
 
+import com.codeops.dto.response.CriticalRegressionResponse;
 import com.codeops.dto.response.HealthSnapshotResponse;
 import com.codeops.dto.response.ProjectMetricsResponse;
 import com.codeops.dto.response.TeamMetricsResponse;
 import com.codeops.entity.*;
 import com.codeops.entity.enums.*;
 import com.codeops.repository.*;
+import com.codeops.repository.projection.CriticalRegressionRow;
+import com.codeops.repository.projection.TeamMetricsAggregate;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
@@ -32,13 +38,11 @@ import static org.mockito.Mockito.*;
 class MetricsServiceTest {
 
     @Mock private ProjectRepository projectRepository;
-    @Mock private QaJobRepository qaJobRepository;
-    @Mock private FindingRepository findingRepository;
-    @Mock private TechDebtItemRepository techDebtItemRepository;
-    @Mock private DependencyVulnerabilityRepository vulnerabilityRepository;
-    @Mock private DependencyScanRepository dependencyScanRepository;
     @Mock private HealthSnapshotRepository healthSnapshotRepository;
-    @Mock private TeamMemberRepository teamMemberRepository;
+    @Mock private HealthTrendService healthTrendService;
+    @Mock private TeamMembershipCache teamMembershipCache;
+    @Mock private ProjectMetricsRollupRepository rollupRepository;
+    @Mock private ProjectMetricsRollupService rollupService;
 
     @InjectMocks
     private MetricsService metricsService;
@@ -51,6 +55,9 @@ class MetricsServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().doCallRealMethod().when(teamMembershipCache).verifyMember(any());
+        lenient().doCallRealMethod().when(teamMembershipCache).verifyAdmin(any());
+        lenient().doCallRealMethod().when(teamMembershipCache).requireRole(any());
         userId = UUID.randomUUID();
         teamId = UUID.randomUUID();
         projectId = UUID.randomUUID();
@@ -74,35 +81,16 @@ class MetricsServiceTest {
 
     @Test
     void getProjectMetrics_success() {
-        UUID jobId = UUID.randomUUID();
-        UUID scanId = UUID.randomUUID();
-        QaJob completedJob = QaJob.builder().project(project).status(JobStatus.COMPLETED).totalFindings(10).build();
-        completedJob.setId(jobId);
-        completedJob.setCreatedAt(Instant.now());
-
-        DependencyScan scan = DependencyScan.builder().project(project).build();
-        scan.setId(scanId);
-
-        HealthSnapshot snap1 = HealthSnapshot.builder().project(project).healthScore(85)
-                .capturedAt(Instant.now()).build();
-        snap1.setId(UUID.randomUUID());
-        HealthSnapshot snap2 = HealthSnapshot.builder().project(project).healthScore(80)
-                .capturedAt(Instant.now().minusSeconds(3600)).build();
-        snap2.setId(UUID.randomUUID());
+        ProjectMetricsRollup rollup = ProjectMetricsRollup.builder()
+                .projectId(projectId).totalJobs(1).totalFindings(10)
+                .openCriticalFindings(2).openHighFindings(5)
+                .activeTechDebtItems(6).openVulnerabilities(4)
+                .latestSnapshotScore(85).previousSnapshotScore(80)
+                .build();
 
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
-        when(healthSnapshotRepository.findByProjectIdOrderByCapturedAtDesc(projectId))
-                .thenReturn(List.of(snap1, snap2));
-        when(qaJobRepository.findByProjectIdOrderByCreatedAtDesc(projectId)).thenReturn(List.of(completedJob));
-        when(findingRepository.countByJobIdAndSeverityAndStatus(jobId, Severity.CRITICAL, FindingStatus.OPEN)).thenReturn(2L);
-        when(findingRepository.countByJobIdAndSeverityAndStatus(jobId, Severity.HIGH, FindingStatus.OPEN)).thenReturn(5L);
-        when(techDebtItemRepository.countByProjectIdAndStatus(projectId, DebtStatus.IDENTIFIED)).thenReturn(3L);
-        when(techDebtItemRepository.countByProjectIdAndStatus(projectId, DebtStatus.PLANNED)).thenReturn(2L);
-        when(techDebtItemRepository.countByProjectIdAndStatus(projectId, DebtStatus.IN_PROGRESS)).thenReturn(1L);
-        when(dependencyScanRepository.findFirstByProjectIdOrderByCreatedAtDesc(projectId))
-                .thenReturn(Optional.of(scan));
-        when(vulnerabilityRepository.countByScanIdAndStatus(scanId, VulnerabilityStatus.OPEN)).thenReturn(4L);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
+        when(rollupRepository.findById(projectId)).thenReturn(Optional.of(rollup));
 
         ProjectMetricsResponse response = metricsService.getProjectMetrics(projectId);
 
@@ -115,28 +103,44 @@ class MetricsServiceTest {
         assertEquals(10, response.totalFindings());
         assertEquals(2, response.openCritical());
         assertEquals(5, response.openHigh());
-        assertEquals(6, response.techDebtItemCount()); // 3 + 2 + 1
+        assertEquals(6, response.techDebtItemCount());
         assertEquals(4, response.openVulnerabilities());
+        verify(rollupService, never()).rebuildProject(any());
+        verifyNoInteractions(healthTrendService);
     }
 
     @Test
-    void getProjectMetrics_noCompletedJobs_zeroCriticalHigh() {
-        QaJob pendingJob = QaJob.builder().project(project).status(JobStatus.PENDING).totalFindings(0).build();
-        pendingJob.setId(UUID.randomUUID());
-        pendingJob.setCreatedAt(Instant.now());
+    void getProjectMetrics_noRollupRow_rebuildsFromSource() {
+        ProjectMetricsRollup rebuilt = ProjectMetricsRollup.builder().projectId(projectId).totalJobs(3).build();
 
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
-        when(healthSnapshotRepository.findByProjectIdOrderByCapturedAtDesc(projectId)).thenReturn(List.of());
-        when(qaJobRepository.findByProjectIdOrderByCreatedAtDesc(projectId)).thenReturn(List.of(pendingJob));
-        when(techDebtItemRepository.countByProjectIdAndStatus(eq(projectId), any())).thenReturn(0L);
-        when(dependencyScanRepository.findFirstByProjectIdOrderByCreatedAtDesc(projectId)).thenReturn(Optional.empty());
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
+        when(rollupRepository.findById(projectId)).thenReturn(Optional.empty());
+        when(rollupService.rebuildProject(projectId)).thenReturn(rebuilt);
 
         ProjectMetricsResponse response = metricsService.getProjectMetrics(projectId);
 
+        assertEquals(3, response.totalJobs());
         assertEquals(0, response.openCritical());
         assertEquals(0, response.openHigh());
         assertNull(response.previousHealthScore());
+        verify(rollupService).rebuildProject(projectId);
+    }
+
+    @Test
+    void getProjectMetrics_rollupCreatedConcurrently_readsExistingRow() {
+        ProjectMetricsRollup existing = ProjectMetricsRollup.builder().projectId(projectId).totalJobs(7).build();
+
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
+        when(rollupRepository.findById(projectId)).thenReturn(Optional.empty(), Optional.of(existing));
+        when(rollupService.rebuildProject(projectId))
+                .thenThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint"));
+
+        ProjectMetricsResponse response = metricsService.getProjectMetrics(projectId);
+
+        assertEquals(7, response.totalJobs());
+        verify(rollupRepository, times(2)).findById(projectId);
     }
 
     @Test
@@ -148,42 +152,19 @@ class MetricsServiceTest {
     @Test
     void getProjectMetrics_notTeamMember_throws() {
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(false);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(false);
 
         assertThrows(AccessDeniedException.class, () -> metricsService.getProjectMetrics(projectId));
-    }
-
-    @Test
-    void getProjectMetrics_nullTotalFindings_treatsAsZero() {
-        QaJob jobWithNull = QaJob.builder().project(project).status(JobStatus.RUNNING).totalFindings(null).build();
-        jobWithNull.setId(UUID.randomUUID());
-        jobWithNull.setCreatedAt(Instant.now());
-
-        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
-        when(healthSnapshotRepository.findByProjectIdOrderByCapturedAtDesc(projectId)).thenReturn(List.of());
-        when(qaJobRepository.findByProjectIdOrderByCreatedAtDesc(projectId)).thenReturn(List.of(jobWithNull));
-        when(techDebtItemRepository.countByProjectIdAndStatus(eq(projectId), any())).thenReturn(0L);
-        when(dependencyScanRepository.findFirstByProjectIdOrderByCreatedAtDesc(projectId)).thenReturn(Optional.empty());
-
-        ProjectMetricsResponse response = metricsService.getProjectMetrics(projectId);
-
-        assertEquals(0, response.totalFindings());
+        verifyNoInteractions(rollupRepository, rollupService);
     }
 
     // --- getTeamMetrics ---
 
     @Test
     void getTeamMetrics_success() {
-        UUID jobId = UUID.randomUUID();
-        QaJob completedJob = QaJob.builder().project(project).status(JobStatus.COMPLETED).totalFindings(5).build();
-        completedJob.setId(jobId);
-        completedJob.setCreatedAt(Instant.now());
-
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
-        when(projectRepository.findByTeamIdAndIsArchivedFalse(teamId)).thenReturn(List.of(project));
-        when(qaJobRepository.findByProjectIdOrderByCreatedAtDesc(projectId)).thenReturn(List.of(completedJob));
-        when(findingRepository.countByJobIdAndSeverityAndStatus(jobId, Severity.CRITICAL, FindingStatus.OPEN)).thenReturn(1L);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
+        when(projectRepository.aggregateTeamMetrics(teamId, Severity.CRITICAL, FindingStatus.OPEN, JobStatus.COMPLETED))
+                .thenReturn(new TeamMetricsAggregate(1L, 85.0, 0L, 1L, 5L, 1L));
 
         TeamMetricsResponse response = metricsService.getTeamMetrics(teamId);
 
@@ -199,11 +180,9 @@ class MetricsServiceTest {
 
     @Test
     void getTeamMetrics_projectBelowThreshold() {
-        project.setHealthScore(60);
-
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
-        when(projectRepository.findByTeamIdAndIsArchivedFalse(teamId)).thenReturn(List.of(project));
-        when(qaJobRepository.findByProjectIdOrderByCreatedAtDesc(projectId)).thenReturn(List.of());
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
+        when(projectRepository.aggregateTeamMetrics(teamId, Severity.CRITICAL, FindingStatus.OPEN, JobStatus.COMPLETED))
+                .thenReturn(new TeamMetricsAggregate(1L, 60.0, 1L, 0L, null, 0L));
 
         TeamMetricsResponse response = metricsService.getTeamMetrics(teamId);
 
@@ -212,58 +191,58 @@ class MetricsServiceTest {
 
     @Test
     void getTeamMetrics_noProjects() {
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
-        when(projectRepository.findByTeamIdAndIsArchivedFalse(teamId)).thenReturn(List.of());
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
+        when(projectRepository.aggregateTeamMetrics(teamId, Severity.CRITICAL, FindingStatus.OPEN, JobStatus.COMPLETED))
+                .thenReturn(new TeamMetricsAggregate(0L, null, null, 0L, null, 0L));
 
         TeamMetricsResponse response = metricsService.getTeamMetrics(teamId);
 
         assertEquals(0, response.totalProjects());
         assertEquals(0, response.totalJobs());
+        assertEquals(0, response.totalFindings());
+        assertEquals(0, response.projectsBelowThreshold());
         assertEquals(0.0, response.averageHealthScore());
     }
 
     @Test
     void getTeamMetrics_notTeamMember_throws() {
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(false);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(false);
         assertThrows(AccessDeniedException.class, () -> metricsService.getTeamMetrics(teamId));
+        verify(projectRepository, never()).aggregateTeamMetrics(any(), any(), any(), any());
     }
 
     @Test
-    void getTeamMetrics_nullHealthScore_excludedFromAverage() {
-        project.setHealthScore(null);
-        Project project2 = Project.builder().team(team).name("P2").healthScore(90).build();
-        project2.setId(UUID.randomUUID());
-
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
-        when(projectRepository.findByTeamIdAndIsArchivedFalse(teamId)).thenReturn(List.of(project, project2));
-        when(qaJobRepository.findByProjectIdOrderByCreatedAtDesc(any())).thenReturn(List.of());
+    void getTeamMetrics_usesSingleAggregateQuery() {
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
+        when(projectRepository.aggregateTeamMetrics(teamId, Severity.CRITICAL, FindingStatus.OPEN, JobStatus.COMPLETED))
+                .thenReturn(new TeamMetricsAggregate(100L, 75.5, 10L, 2000L, 40000L, 12L));
 
         TeamMetricsResponse response = metricsService.getTeamMetrics(teamId);
 
-        assertEquals(90.0, response.averageHealthScore());
+        assertEquals(100, response.totalProjects());
+        assertEquals(12, response.openCriticalFindings());
+        verify(projectRepository, never()).findByTeamIdAndIsArchivedFalse(any());
     }
 
     // --- getHealthTrend ---
 
     @Test
     void getHealthTrend_success() {
-        HealthSnapshot recent = HealthSnapshot.builder().project(project).healthScore(90)
-                .capturedAt(Instant.now().minusSeconds(3600)).build();
-        recent.setId(UUID.randomUUID());
-        HealthSnapshot old = HealthSnapshot.builder().project(project).healthScore(70)
-                .capturedAt(Instant.now().minusSeconds(86400 * 60L)).build();
-        old.setId(UUID.randomUUID());
+        HealthSnapshotResponse point = new HealthSnapshotResponse(null, projectId, null, 90, null,
+                null, null, null, Instant.now().minusSeconds(86400));
 
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
-        when(healthSnapshotRepository.findByProjectIdOrderByCapturedAtDesc(projectId))
-                .thenReturn(List.of(recent, old));
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
+        when(healthTrendService.trend(eq(projectId), any(Instant.class), any(Instant.class)))
+                .thenReturn(List.of(point));
 
-        // 30 days - should only include 'recent', not 'old' (60 days ago)
         List<HealthSnapshotResponse> result = metricsService.getHealthTrend(projectId, 30);
 
-        assertEquals(1, result.size());
-        assertEquals(90, result.get(0).healthScore());
+        assertEquals(List.of(point), result);
+        ArgumentCaptor<Instant> from = ArgumentCaptor.forClass(Instant.class);
+        ArgumentCaptor<Instant> to = ArgumentCaptor.forClass(Instant.class);
+        verify(healthTrendService).trend(eq(projectId), from.capture(), to.capture());
+        assertEquals(Duration.ofDays(30), Duration.between(from.getValue(), to.getValue()));
     }
 
     @Test
@@ -275,11 +254,43 @@ class MetricsServiceTest {
     @Test
     void getHealthTrend_notTeamMember_throws() {
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(false);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(false);
 
         assertThrows(AccessDeniedException.class, () -> metricsService.getHealthTrend(projectId, 30));
     }
 
+    // --- getCriticalRegressions ---
+
+    @Test
+    void getCriticalRegressions_comparesLastTwoWeeks() {
+        UUID otherId = UUID.randomUUID();
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
+        when(healthSnapshotRepository.findCriticalRegressions(eq(teamId), any(Instant.class), any(Instant.class),
+                any(Instant.class)))
+                .thenReturn(List.of(new CriticalRegressionRow(projectId, "Test Project", 1, 4),
+                        new CriticalRegressionRow(otherId, "Other", 0, 1)));
+
+        List<CriticalRegressionResponse> result = metricsService.getCriticalRegressions(teamId);
+
+        assertEquals(List.of(new CriticalRegressionResponse(projectId, "Test Project", 1, 4),
+                new CriticalRegressionResponse(otherId, "Other", 0, 1)), result);
+        ArgumentCaptor<Instant> previousFrom = ArgumentCaptor.forClass(Instant.class);
+        ArgumentCaptor<Instant> currentFrom = ArgumentCaptor.forClass(Instant.class);
+        ArgumentCaptor<Instant> to = ArgumentCaptor.forClass(Instant.class);
+        verify(healthSnapshotRepository).findCriticalRegressions(eq(teamId), previousFrom.capture(),
+                currentFrom.capture(), to.capture());
+        assertEquals(Duration.ofDays(7), Duration.between(previousFrom.getValue(), currentFrom.getValue()));
+        assertEquals(Duration.ofDays(7), Duration.between(currentFrom.getValue(), to.getValue()));
+    }
+
+    @Test
+    void getCriticalRegressions_notTeamMember_throws() {
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(false);
+
+        assertThrows(AccessDeniedException.class, () -> metricsService.getCriticalRegressions(teamId));
+        verifyNoInteractions(healthSnapshotRepository);
+    }
+
     private void setSecurityContext(UUID userId) {
         var auth = new UsernamePasswordAuthenticationToken(userId, null, List.of());
         SecurityContextHolder.getContext().setAuthentication(auth);
@@ -13,7 +13,6 @@ import com.codeops.entity.enums.AgentType;
 import com.codeops.entity.enums.Scope;
 import com.codeops.entity.enums.TeamRole;
 import com.codeops.repository.PersonaRepository;
-import com.codeops.repository.TeamMemberRepository;
 import com.codeops.repository.TeamRepository;
 import com.codeops.repository.UserRepository;
 import jakarta.persistence.EntityNotFoundException;
@@ -46,7 +45,7 @@ import static org.mockito.Mockito.*;
 class PersonaServiceTest {
 
     @Mock private PersonaRepository personaRepository;
-    @Mock private TeamMemberRepository teamMemberRepository;
+    @Mock private TeamMembershipCache teamMembershipCache;
     @Mock private UserRepository userRepository;
     @Mock private TeamRepository teamRepository;
 
@@ -63,6 +62,9 @@ class PersonaServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().doCallRealMethod().when(teamMembershipCache).verifyMember(any());
+        lenient().doCallRealMethod().when(teamMembershipCache).verifyAdmin(any());
+        lenient().doCallRealMethod().when(teamMembershipCache).requireRole(any());
         userId = UUID.randomUUID();
         teamId = UUID.randomUUID();
         personaId = UUID.randomUUID();
@@ -122,8 +124,8 @@ class PersonaServiceTest {
                 "New Persona", AgentType.SECURITY, "desc", "# content",
                 Scope.TEAM, teamId, false);
 
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId))
-                .thenReturn(Optional.of(adminMember));
+        when(teamMembershipCache.findRole(teamId, userId))
+                .thenReturn(Optional.of(adminMember.getRole()));
         when(personaRepository.findByTeamId(teamId)).thenReturn(Collections.emptyList());
         when(teamRepository.findById(teamId)).thenReturn(Optional.of(testTeam));
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
@@ -166,7 +168,7 @@ class PersonaServiceTest {
         assertNotNull(response);
         assertEquals(Scope.USER, response.scope());
         assertNull(response.teamId());
-        verify(teamMemberRepository, never()).findByTeamIdAndUserId(any(), any());
+        verify(teamMembershipCache, never()).findRole(any(), any());
     }
 
     @Test
@@ -199,8 +201,8 @@ class PersonaServiceTest {
 
         TeamMember viewer = TeamMember.builder()
                 .team(testTeam).user(testUser).role(TeamRole.VIEWER).joinedAt(Instant.now()).build();
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId))
-                .thenReturn(Optional.of(viewer));
+        when(teamMembershipCache.findRole(teamId, userId))
+                .thenReturn(Optional.of(viewer.getRole()));
 
         assertThrows(AccessDeniedException.class,
                 () -> personaService.createPersona(request));
@@ -212,8 +214,8 @@ class PersonaServiceTest {
                 "Persona", AgentType.SECURITY, "desc", "# content",
                 Scope.TEAM, teamId, false);
 
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId))
-                .thenReturn(Optional.of(adminMember));
+        when(teamMembershipCache.findRole(teamId, userId))
+                .thenReturn(Optional.of(adminMember.getRole()));
 
         List<Persona> existingPersonas = IntStream.range(0, AppConstants.MAX_PERSONAS_PER_TEAM)
                 .mapToObj(i -> testPersona)
@@ -238,8 +240,8 @@ class PersonaServiceTest {
         existingDefault.setCreatedAt(Instant.now());
         existingDefault.setUpdatedAt(Instant.now());
 
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId))
-                .thenReturn(Optional.of(adminMember));
+        when(teamMembershipCache.findRole(teamId, userId))
+                .thenReturn(Optional.of(adminMember.getRole()));
         when(personaRepository.findByTeamId(teamId)).thenReturn(Collections.emptyList());
         when(teamRepository.findById(teamId)).thenReturn(Optional.of(testTeam));
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
@@ -267,7 +269,7 @@ class PersonaServiceTest {
     @Test
     void getPersona_teamScoped_success() {
         when(personaRepository.findById(personaId)).thenReturn(Optional.of(testPersona));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
 
         PersonaResponse response = personaService.getPersona(personaId);
 
@@ -291,7 +293,7 @@ class PersonaServiceTest {
         PersonaResponse response = personaService.getPersona(userPersona.getId());
 
         assertNotNull(response);
-        verify(teamMemberRepository, never()).existsByTeamIdAndUserId(any(), any());
+        verify(teamMembershipCache, never()).isMember(any(), any());
     }
 
     @Test
@@ -305,7 +307,7 @@ class PersonaServiceTest {
     @Test
     void getPersona_notTeamMember_throws() {
         when(personaRepository.findById(personaId)).thenReturn(Optional.of(testPersona));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(false);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(false);
 
         assertThrows(AccessDeniedException.class,
                 () -> personaService.getPersona(personaId));
@@ -318,7 +320,7 @@ class PersonaServiceTest {
         Pageable pageable = PageRequest.of(0, 20);
         var page = new PageImpl<>(List.of(testPersona), pageable, 1);
 
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(personaRepository.findByTeamId(teamId, pageable)).thenReturn(page);
 
         PageResponse<PersonaResponse> response = personaService.getPersonasForTeam(teamId, pageable);
@@ -332,7 +334,7 @@ class PersonaServiceTest {
 
     @Test
     void getPersonasForTeam_notMember_throws() {
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(false);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(false);
 
         assertThrows(AccessDeniedException.class,
                 () -> personaService.getPersonasForTeam(teamId, PageRequest.of(0, 20)));
@@ -342,7 +344,7 @@ class PersonaServiceTest {
 
     @Test
     void getPersonasByAgentType_success() {
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(personaRepository.findByTeamIdAndAgentType(teamId, AgentType.CODE_QUALITY))
                 .thenReturn(List.of(testPersona));
 
@@ -354,7 +356,7 @@ class PersonaServiceTest {
 
     @Test
     void getPersonasByAgentType_notMember_throws() {
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(false);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(false);
 
         assertThrows(AccessDeniedException.class,
                 () -> personaService.getPersonasByAgentType(teamId, AgentType.SECURITY));
@@ -522,8 +524,8 @@ class PersonaServiceTest {
                 .team(testTeam).user(adminUser).role(TeamRole.OWNER).joinedAt(Instant.now()).build();
 
         when(personaRepository.findById(personaId)).thenReturn(Optional.of(testPersona));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, adminId))
-                .thenReturn(Optional.of(admin));
+        when(teamMembershipCache.findRole(teamId, adminId))
+                .thenReturn(Optional.of(admin.getRole()));
         when(personaRepository.save(any(Persona.class))).thenReturn(testPersona);
 
         var request = new UpdatePersonaRequest("Admin Updated", null, null, null);
@@ -541,8 +543,8 @@ class PersonaServiceTest {
                 .team(testTeam).user(testUser).role(TeamRole.MEMBER).joinedAt(Instant.now()).build();
 
         when(personaRepository.findById(personaId)).thenReturn(Optional.of(testPersona));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, otherId))
-                .thenReturn(Optional.of(viewer));
+        when(teamMembershipCache.findRole(teamId, otherId))
+                .thenReturn(Optional.of(viewer.getRole()));
 
         var request = new UpdatePersonaRequest("Fail", null, null, null);
         assertThrows(AccessDeniedException.class,
@@ -600,8 +602,8 @@ class PersonaServiceTest {
                 .team(testTeam).user(testUser).role(TeamRole.VIEWER).joinedAt(Instant.now()).build();
 
         when(personaRepository.findById(personaId)).thenReturn(Optional.of(testPersona));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, otherId))
-                .thenReturn(Optional.of(viewer));
+        when(teamMembershipCache.findRole(teamId, otherId))
+                .thenReturn(Optional.of(viewer.getRole()));
 
         assertThrows(AccessDeniedException.class,
                 () -> personaService.deletePersona(personaId));
@@ -613,8 +615,8 @@ class PersonaServiceTest {
     @Test
     void setAsDefault_success() {
         when(personaRepository.findById(personaId)).thenReturn(Optional.of(testPersona));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId))
-                .thenReturn(Optional.of(adminMember));
+        when(teamMembershipCache.findRole(teamId, userId))
+                .thenReturn(Optional.of(adminMember.getRole()));
         when(personaRepository.findByTeamIdAndAgentTypeAndIsDefaultTrue(teamId, AgentType.CODE_QUALITY))
                 .thenReturn(Optional.empty());
         when(personaRepository.save(any(Persona.class))).thenAnswer(invocation -> invocation.getArgument(0));
@@ -635,8 +637,8 @@ class PersonaServiceTest {
         existingDefault.setUpdatedAt(Instant.now());
 
         when(personaRepository.findById(personaId)).thenReturn(Optional.of(testPersona));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId))
-                .thenReturn(Optional.of(adminMember));
+        when(teamMembershipCache.findRole(teamId, userId))
+                .thenReturn(Optional.of(adminMember.getRole()));
         when(personaRepository.findByTeamIdAndAgentTypeAndIsDefaultTrue(teamId, AgentType.CODE_QUALITY))
                 .thenReturn(Optional.of(existingDefault));
         when(personaRepository.save(any(Persona.class))).thenAnswer(invocation -> invocation.getArgument(0));
@@ -680,8 +682,8 @@ class PersonaServiceTest {
                 .team(testTeam).user(testUser).role(TeamRole.MEMBER).joinedAt(Instant.now()).build();
 
         when(personaRepository.findById(personaId)).thenReturn(Optional.of(testPersona));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId))
-                .thenReturn(Optional.of(member));
+        when(teamMembershipCache.findRole(teamId, userId))
+                .thenReturn(Optional.of(member.getRole()));
 
         assertThrows(AccessDeniedException.class,
                 () -> personaService.setAsDefault(personaId));
@@ -702,8 +704,8 @@ class PersonaServiceTest {
         testPersona.setIsDefault(true);
 
         when(personaRepository.findById(personaId)).thenReturn(Optional.of(testPersona));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId))
-                .thenReturn(Optional.of(adminMember));
+        when(teamMembershipCache.findRole(teamId, userId))
+                .thenReturn(Optional.of(adminMember.getRole()));
         when(personaRepository.save(any(Persona.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         PersonaResponse response = personaService.removeDefault(personaId);
@@ -727,7 +729,7 @@ class PersonaServiceTest {
         PersonaResponse response = personaService.removeDefault(noTeam.getId());
 
         assertFalse(response.isDefault());
-        verify(teamMemberRepository, never()).findByTeamIdAndUserId(any(), any());
+        verify(teamMembershipCache, never()).findRole(any(), any());
     }
 
     @Test
@@ -744,8 +746,8 @@ class PersonaServiceTest {
                 .team(testTeam).user(testUser).role(TeamRole.MEMBER).joinedAt(Instant.now()).build();
 
         when(personaRepository.findById(personaId)).thenReturn(Optional.of(testPersona));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId))
-                .thenReturn(Optional.of(member));
+        when(teamMembershipCache.findRole(teamId, userId))
+                .thenReturn(Optional.of(member.getRole()));
 
         assertThrows(AccessDeniedException.class,
                 () -> personaService.removeDefault(personaId));
@@ -0,0 +1,289 @@
+package com.codeops.service;
+
+import com.codeops.entity.DependencyScan;
+import com.codeops.entity.HealthSnapshot;
+import com.codeops.entity.ProjectMetricsRollup;
+import com.codeops.entity.enums.*;
+import com.codeops.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectMetricsRollupServiceTest {
+
+    @Mock private ProjectMetricsRollupRepository rollupRepository;
+    @Mock private ProjectRepository projectRepository;
+    @Mock private QaJobRepository qaJobRepository;
+    @Mock private FindingRepository findingRepository;
+    @Mock private TechDebtItemRepository techDebtItemRepository;
+    @Mock private DependencyScanRepository dependencyScanRepository;
+    @Mock private DependencyVulnerabilityRepository vulnerabilityRepository;
+    @Mock private HealthSnapshotRepository healthSnapshotRepository;
+    @Mock private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private ProjectMetricsRollupService rollupService;
+
+    private UUID projectId;
+    private UUID jobId;
+
+    @BeforeEach
+    void setUp() {
+        projectId = UUID.randomUUID();
+        jobId = UUID.randomUUID();
+    }
+
+    // --- initialize ---
+
+    @Test
+    void initialize_savesZeroedRow() {
+        rollupService.initialize(projectId);
+
+        ArgumentCaptor<ProjectMetricsRollup> captor = ArgumentCaptor.forClass(ProjectMetricsRollup.class);
+        verify(rollupRepository).save(captor.capture());
+        ProjectMetricsRollup saved = captor.getValue();
+        assertEquals(projectId, saved.getProjectId());
+        assertEquals(0, saved.getTotalJobs());
+        assertEquals(0, saved.getOpenCriticalFindings());
+        assertNull(saved.getLatestCompletedJobId());
+        assertNotNull(saved.getRebuiltAt());
+    }
+
+    // --- jobs ---
+
+    @Test
+    void recordJobCreated_incrementsJobCount() {
+        rollupService.recordJobCreated(projectId);
+        verify(rollupRepository).adjustJobTotals(projectId, 1, 0);
+    }
+
+    @Test
+    void recordJobUpdated_findingTotalChanged_appliesDelta() {
+        rollupService.recordJobUpdated(projectId, JobStatus.RUNNING, JobStatus.RUNNING, 3, 10);
+
+        verify(rollupRepository).adjustJobTotals(projectId, 0, 7);
+        verify(rollupRepository, never()).setLatestCompletedJob(any(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void recordJobUpdated_completed_refreshesLatestCompletedJob() {
+        when(qaJobRepository.findIdsByProjectIdAndStatusNewestFirst(projectId, JobStatus.COMPLETED, Limit.of(1)))
+                .thenReturn(List.of(jobId));
+        when(findingRepository.countByJobIdAndSeverityAndStatus(jobId, Severity.CRITICAL, FindingStatus.OPEN)).thenReturn(2L);
+        when(findingRepository.countByJobIdAndSeverityAndStatus(jobId, Severity.HIGH, FindingStatus.OPEN)).thenReturn(5L);
+
+        rollupService.recordJobUpdated(projectId, JobStatus.RUNNING, JobStatus.COMPLETED, 0, 0);
+
+        verify(rollupRepository, never()).adjustJobTotals(any(), anyInt(), anyInt());
+        verify(rollupRepository).setLatestCompletedJob(projectId, jobId, 2, 5);
+    }
+
+    @Test
+    void recordJobUpdated_nullTotals_treatedAsZero() {
+        rollupService.recordJobUpdated(projectId, JobStatus.PENDING, JobStatus.RUNNING, null, 4);
+        verify(rollupRepository).adjustJobTotals(projectId, 0, 4);
+    }
+
+    @Test
+    void recordJobDeleted_completedJob_decrementsAndRefreshes() {
+        when(qaJobRepository.findIdsByProjectIdAndStatusNewestFirst(projectId, JobStatus.COMPLETED, Limit.of(1)))
+                .thenReturn(List.of());
+
+        rollupService.recordJobDeleted(projectId, JobStatus.COMPLETED, 8);
+
+        verify(rollupRepository).adjustJobTotals(projectId, -1, -8);
+        verify(rollupRepository).setLatestCompletedJob(projectId, null, 0, 0);
+        verifyNoInteractions(findingRepository);
+    }
+
+    // --- findings, tech debt, vulnerabilities, snapshots ---
+
+    @Test
+    void adjustOpenFindings_zeroDeltas_skipsUpdate() {
+        rollupService.adjustOpenFindings(projectId, jobId, 0, 0);
+        verifyNoInteractions(rollupRepository);
+    }
+
+    @Test
+    void adjustOpenFindings_delegatesConditionalUpdate() {
+        rollupService.adjustOpenFindings(projectId, jobId, 1, -2);
+        verify(rollupRepository).adjustOpenFindings(projectId, jobId, 1, -2);
+    }
+
+    @Test
+    void adjustActiveTechDebt_delegates() {
+        rollupService.adjustActiveTechDebt(projectId, -1);
+        verify(rollupRepository).adjustActiveTechDebt(projectId, -1);
+    }
+
+    @Test
+    void recordScanCreated_setsLatestScan() {
+        UUID scanId = UUID.randomUUID();
+        rollupService.recordScanCreated(projectId, scanId);
+        verify(rollupRepository).setLatestScan(projectId, scanId);
+    }
+
+    @Test
+    void adjustOpenVulnerabilities_delegatesConditionalUpdate() {
+        UUID scanId = UUID.randomUUID();
+        rollupService.adjustOpenVulnerabilities(projectId, scanId, 3);
+        verify(rollupRepository).adjustOpenVulnerabilities(projectId, scanId, 3);
+    }
+
+    @Test
+    void recordHealthSnapshot_shiftsScores() {
+        rollupService.recordHealthSnapshot(projectId, 77);
+        verify(rollupRepository).recordSnapshotScore(projectId, 77);
+    }
+
+    @Test
+    void delete_removesRow() {
+        rollupService.delete(projectId);
+        verify(rollupRepository).deleteByProjectId(projectId);
+    }
+
+    // --- rebuild ---
+
+    @Test
+    void rebuildProject_recomputesAllCountersFromSource() {
+        UUID scanId = UUID.randomUUID();
+        DependencyScan scan = DependencyScan.builder().build();
+        scan.setId(scanId);
+        HealthSnapshot latest = HealthSnapshot.builder().healthScore(90).build();
+        HealthSnapshot previous = HealthSnapshot.builder().healthScore(70).build();
+
+        when(rollupRepository.findById(projectId)).thenReturn(Optional.empty());
+        when(qaJobRepository.countByProjectId(projectId)).thenReturn(4L);
+        when(qaJobRepository.sumTotalFindingsByProjectId(projectId)).thenReturn(25L);
+        when(qaJobRepository.findIdsByProjectIdAndStatusNewestFirst(projectId, JobStatus.COMPLETED, Limit.of(1)))
+                .thenReturn(List.of(jobId));
+        when(findingRepository.countByJobIdAndSeverityAndStatus(jobId, Severity.CRITICAL, FindingStatus.OPEN)).thenReturn(1L);
+        when(findingRepository.countByJobIdAndSeverityAndStatus(jobId, Severity.HIGH, FindingStatus.OPEN)).thenReturn(3L);
+        when(techDebtItemRepository.countByProjectIdAndStatusIn(projectId, ProjectMetricsRollupService.ACTIVE_DEBT_STATUSES))
+                .thenReturn(6L);
+        when(dependencyScanRepository.findFirstByProjectIdOrderByCreatedAtDesc(projectId)).thenReturn(Optional.of(scan));
+        when(vulnerabilityRepository.countByScanIdAndStatus(scanId, VulnerabilityStatus.OPEN)).thenReturn(2L);
+        when(healthSnapshotRepository.findTop2ByProjectIdOrderByCapturedAtDesc(projectId))
+                .thenReturn(List.of(latest, previous));
+        when(rollupRepository.save(any(ProjectMetricsRollup.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        ProjectMetricsRollup rollup = rollupService.rebuildProject(projectId);
+
+        assertEquals(projectId, rollup.getProjectId());
+        assertEquals(4, rollup.getTotalJobs());
+        assertEquals(25, rollup.getTotalFindings());
+        assertEquals(jobId, rollup.getLatestCompletedJobId());
+        assertEquals(1, rollup.getOpenCriticalFindings());
+        assertEquals(3, rollup.getOpenHighFindings());
+        assertEquals(6, rollup.getActiveTechDebtItems());
+        assertEquals(scanId, rollup.getLatestScanId());
+        assertEquals(2, rollup.getOpenVulnerabilities());
+        assertEquals(90, rollup.getLatestSnapshotScore());
+        assertEquals(70, rollup.getPreviousSnapshotScore());
+        assertNotNull(rollup.getRebuiltAt());
+    }
+
+    @Test
+    void rebuildProject_emptyProject_zeroesCounters() {
+        ProjectMetricsRollup stale = ProjectMetricsRollup.builder()
+                .projectId(projectId).totalJobs(9).openCriticalFindings(4).latestSnapshotScore(50).build();
+
+        when(rollupRepository.findById(projectId)).thenReturn(Optional.of(stale));
+        when(qaJobRepository.countByProjectId(projectId)).thenReturn(0L);
+        when(qaJobRepository.sumTotalFindingsByProjectId(projectId)).thenReturn(null);
+        when(qaJobRepository.findIdsByProjectIdAndStatusNewestFirst(projectId, JobStatus.COMPLETED, Limit.of(1)))
+                .thenReturn(List.of());
+        when(techDebtItemRepository.countByProjectIdAndStatusIn(eq(projectId), any())).thenReturn(0L);
+        when(dependencyScanRepository.findFirstByProjectIdOrderByCreatedAtDesc(projectId)).thenReturn(Optional.empty());
+        when(healthSnapshotRepository.findTop2ByProjectIdOrderByCapturedAtDesc(projectId)).thenReturn(List.of());
+        when(rollupRepository.save(any(ProjectMetricsRollup.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        ProjectMetricsRollup rollup = rollupService.rebuildProject(projectId);
+
+        assertSame(stale, rollup);
+        assertEquals(0, rollup.getTotalJobs());
+        assertEquals(0, rollup.getTotalFindings());
+        assertEquals(0, rollup.getOpenCriticalFindings());
+        assertNull(rollup.getLatestScanId());
+        assertNull(rollup.getLatestSnapshotScore());
+        verifyNoInteractions(findingRepository, vulnerabilityRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rebuildAll_rebuildsEachProjectInOwnTransaction() {
+        UUID otherProjectId = UUID.randomUUID();
+        when(projectRepository.findAllIds()).thenReturn(List.of(projectId, otherProjectId));
+        doAnswer(inv -> {
+            ((Consumer<TransactionStatus>) inv.getArgument(0)).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(rollupRepository.findById(any())).thenReturn(Optional.empty());
+        when(qaJobRepository.findIdsByProjectIdAndStatusNewestFirst(any(), eq(JobStatus.COMPLETED), any()))
+                .thenReturn(List.of());
+        when(dependencyScanRepository.findFirstByProjectIdOrderByCreatedAtDesc(any())).thenReturn(Optional.empty());
+        when(rollupRepository.save(any(ProjectMetricsRollup.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        int rebuilt = rollupService.rebuildAll();
+
+        assertEquals(2, rebuilt);
+        verify(transactionTemplate, times(2)).executeWithoutResult(any());
+        verify(rollupRepository, times(2)).save(any(ProjectMetricsRollup.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rebuildMissing_projectWithFindingsButNoRollup_buildsRollupWithOpenCounts() {
+        when(projectRepository.findIdsWithoutMetricsRollup()).thenReturn(List.of(projectId));
+        doAnswer(inv -> {
+            ((Consumer<TransactionStatus>) inv.getArgument(0)).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(rollupRepository.findById(projectId)).thenReturn(Optional.empty());
+        when(qaJobRepository.findIdsByProjectIdAndStatusNewestFirst(eq(projectId), eq(JobStatus.COMPLETED), any()))
+                .thenReturn(List.of(jobId));
+        when(findingRepository.countByJobIdAndSeverityAndStatus(jobId, Severity.CRITICAL, FindingStatus.OPEN)).thenReturn(3L);
+        when(findingRepository.countByJobIdAndSeverityAndStatus(jobId, Severity.HIGH, FindingStatus.OPEN)).thenReturn(5L);
+        when(dependencyScanRepository.findFirstByProjectIdOrderByCreatedAtDesc(projectId)).thenReturn(Optional.empty());
+        when(rollupRepository.save(any(ProjectMetricsRollup.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        assertEquals(1, rollupService.rebuildMissing());
+
+        ArgumentCaptor<ProjectMetricsRollup> captor = ArgumentCaptor.forClass(ProjectMetricsRollup.class);
+        verify(rollupRepository).save(captor.capture());
+        assertEquals(projectId, captor.getValue().getProjectId());
+        assertEquals(3, captor.getValue().getOpenCriticalFindings());
+        assertEquals(5, captor.getValue().getOpenHighFindings());
+    }
+
+    @Test
+    void rebuildMissing_rowCreatedConcurrently_continuesWithNextProject() {
+        UUID otherProjectId = UUID.randomUUID();
+        when(projectRepository.findIdsWithoutMetricsRollup()).thenReturn(List.of(projectId, otherProjectId));
+        doThrow(new DataIntegrityViolationException("duplicate key"))
+                .doNothing()
+                .when(transactionTemplate).executeWithoutResult(any());
+
+        assertEquals(1, rollupService.rebuildMissing());
+
+        verify(transactionTemplate, times(2)).executeWithoutResult(any());
+    }
+}
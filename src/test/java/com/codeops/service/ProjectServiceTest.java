@@ -40,7 +40,7 @@ import static org.mockito.Mockito.*;
 class ProjectServiceTest {
 
     @Mock private ProjectRepository projectRepository;
-    @Mock private TeamMemberRepository teamMemberRepository;
+    @Mock private TeamMembershipCache teamMembershipCache;
     @Mock private UserRepository userRepository;
     @Mock private TeamRepository teamRepository;
     @Mock private GitHubConnectionRepository gitHubConnectionRepository;
@@ -56,10 +56,12 @@ class ProjectServiceTest {
     @Mock private DependencyVulnerabilityRepository dependencyVulnerabilityRepository;
     @Mock private DependencyScanRepository dependencyScanRepository;
     @Mock private HealthSnapshotRepository healthSnapshotRepository;
+    @Mock private HealthSnapshotBucketRepository healthSnapshotBucketRepository;
     @Mock private QaJobRepository qaJobRepository;
     @Mock private HealthScheduleRepository healthScheduleRepository;
     @Mock private ProjectDirectiveRepository projectDirectiveRepository;
     @Mock private DirectiveRepository directiveRepository;
+    @Mock private ProjectMetricsRollupService rollupService;
 
     @InjectMocks
     private ProjectService projectService;
@@ -75,6 +77,9 @@ class ProjectServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().doCallRealMethod().when(teamMembershipCache).verifyMember(any());
+        lenient().doCallRealMethod().when(teamMembershipCache).verifyAdmin(any());
+        lenient().doCallRealMethod().when(teamMembershipCache).requireRole(any());
         userId = UUID.randomUUID();
         teamId = UUID.randomUUID();
         projectId = UUID.randomUUID();
@@ -145,8 +150,8 @@ class ProjectServiceTest {
                 List.of("label1"), "backend", "Java"
         );
 
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId))
-                .thenReturn(Optional.of(adminMember));
+        when(teamMembershipCache.findRole(teamId, userId))
+                .thenReturn(Optional.of(adminMember.getRole()));
         when(projectRepository.countByTeamId(teamId)).thenReturn(0L);
         when(teamRepository.findById(teamId)).thenReturn(Optional.of(testTeam));
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
@@ -176,8 +181,8 @@ class ProjectServiceTest {
                 null, null, null, null, null, null, null
         );
 
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId))
-                .thenReturn(Optional.of(adminMember));
+        when(teamMembershipCache.findRole(teamId, userId))
+                .thenReturn(Optional.of(adminMember.getRole()));
         when(projectRepository.countByTeamId(teamId))
                 .thenReturn((long) AppConstants.MAX_PROJECTS_PER_TEAM);
 
@@ -197,8 +202,8 @@ class ProjectServiceTest {
                 null, null, null, null, null, null, null
         );
 
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId))
-                .thenReturn(Optional.of(memberRole));
+        when(teamMembershipCache.findRole(teamId, userId))
+                .thenReturn(Optional.of(memberRole.getRole()));
 
         assertThrows(AccessDeniedException.class,
                 () -> projectService.createProject(teamId, request));
@@ -213,7 +218,7 @@ class ProjectServiceTest {
                 null, null, null, null, null, null, null
         );
 
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId))
+        when(teamMembershipCache.findRole(teamId, userId))
                 .thenReturn(Optional.empty());
 
         assertThrows(AccessDeniedException.class,
@@ -237,8 +242,8 @@ class ProjectServiceTest {
                 null, "frontend", "React"
         );
 
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId))
-                .thenReturn(Optional.of(adminMember));
+        when(teamMembershipCache.findRole(teamId, userId))
+                .thenReturn(Optional.of(adminMember.getRole()));
         when(projectRepository.countByTeamId(teamId)).thenReturn(0L);
         when(teamRepository.findById(teamId)).thenReturn(Optional.of(testTeam));
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
@@ -269,8 +274,8 @@ class ProjectServiceTest {
                 null, null, null, null, null, null, null
         );
 
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId))
-                .thenReturn(Optional.of(adminMember));
+        when(teamMembershipCache.findRole(teamId, userId))
+                .thenReturn(Optional.of(adminMember.getRole()));
         when(projectRepository.countByTeamId(teamId)).thenReturn(0L);
         when(teamRepository.findById(teamId)).thenReturn(Optional.of(testTeam));
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
@@ -295,7 +300,7 @@ class ProjectServiceTest {
     void getProject_success() {
         setSecurityContext(userId);
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(testProject));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
 
         ProjectResponse response = projectService.getProject(projectId);
 
@@ -317,7 +322,7 @@ class ProjectServiceTest {
     void getProject_notTeamMember_throws() {
         setSecurityContext(userId);
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(testProject));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(false);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(false);
 
         assertThrows(AccessDeniedException.class,
                 () -> projectService.getProject(projectId));
@@ -335,7 +340,7 @@ class ProjectServiceTest {
         project2.setCreatedAt(Instant.now());
         project2.setUpdatedAt(Instant.now());
 
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(projectRepository.findByTeamIdAndIsArchivedFalse(teamId))
                 .thenReturn(List.of(testProject, project2));
 
@@ -349,7 +354,7 @@ class ProjectServiceTest {
     @Test
     void getProjectsForTeam_notMember_throws() {
         setSecurityContext(userId);
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(false);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(false);
 
         assertThrows(AccessDeniedException.class,
                 () -> projectService.getProjectsForTeam(teamId));
@@ -363,7 +368,7 @@ class ProjectServiceTest {
         Pageable pageable = PageRequest.of(0, 20);
         Page<Project> page = new PageImpl<>(List.of(testProject), pageable, 1);
 
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(projectRepository.findByTeamIdAndIsArchivedFalse(teamId, pageable)).thenReturn(page);
 
         PageResponse<ProjectResponse> response = projectService.getAllProjectsForTeam(teamId, false, pageable);
@@ -381,7 +386,7 @@ class ProjectServiceTest {
         Pageable pageable = PageRequest.of(0, 20);
         Page<Project> page = new PageImpl<>(List.of(testProject), pageable, 1);
 
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(projectRepository.findByTeamId(teamId, pageable)).thenReturn(page);
 
         PageResponse<ProjectResponse> response = projectService.getAllProjectsForTeam(teamId, true, pageable);
@@ -402,8 +407,8 @@ class ProjectServiceTest {
         );
 
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(testProject));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId))
-                .thenReturn(Optional.of(adminMember));
+        when(teamMembershipCache.findRole(teamId, userId))
+                .thenReturn(Optional.of(adminMember.getRole()));
         when(projectRepository.save(any(Project.class))).thenReturn(testProject);
 
         ProjectResponse response = projectService.updateProject(projectId, request);
@@ -434,8 +439,8 @@ class ProjectServiceTest {
                 .team(testTeam).user(testUser).role(TeamRole.MEMBER).joinedAt(Instant.now()).build();
 
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(testProject));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId))
-                .thenReturn(Optional.of(memberRole));
+        when(teamMembershipCache.findRole(teamId, userId))
+                .thenReturn(Optional.of(memberRole.getRole()));
 
         UpdateProjectRequest request = new UpdateProjectRequest(
                 "Name", null, null, null, null, null,
@@ -460,8 +465,8 @@ class ProjectServiceTest {
         );
 
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(testProject));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId))
-                .thenReturn(Optional.of(adminMember));
+        when(teamMembershipCache.findRole(teamId, userId))
+                .thenReturn(Optional.of(adminMember.getRole()));
         when(projectRepository.save(any(Project.class))).thenReturn(testProject);
 
         projectService.updateProject(projectId, request);
@@ -487,8 +492,8 @@ class ProjectServiceTest {
         );
 
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(testProject));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId))
-                .thenReturn(Optional.of(adminMember));
+        when(teamMembershipCache.findRole(teamId, userId))
+                .thenReturn(Optional.of(adminMember.getRole()));
         when(gitHubConnectionRepository.findById(ghConnId)).thenReturn(Optional.of(ghConn));
         when(jiraConnectionRepository.findById(jiraConnId)).thenReturn(Optional.of(jiraConn));
         when(projectRepository.save(any(Project.class))).thenReturn(testProject);
@@ -508,8 +513,8 @@ class ProjectServiceTest {
         );
 
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(testProject));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId))
-                .thenReturn(Optional.of(adminMember));
+        when(teamMembershipCache.findRole(teamId, userId))
+                .thenReturn(Optional.of(adminMember.getRole()));
         when(projectRepository.save(any(Project.class))).thenReturn(testProject);
 
         projectService.updateProject(projectId, request);
@@ -523,8 +528,8 @@ class ProjectServiceTest {
     void archiveProject_success() {
         setSecurityContext(userId);
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(testProject));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId))
-                .thenReturn(Optional.of(adminMember));
+        when(teamMembershipCache.findRole(teamId, userId))
+                .thenReturn(Optional.of(adminMember.getRole()));
 
         projectService.archiveProject(projectId);
 
@@ -547,8 +552,8 @@ class ProjectServiceTest {
                 .team(testTeam).user(testUser).role(TeamRole.VIEWER).joinedAt(Instant.now()).build();
 
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(testProject));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId))
-                .thenReturn(Optional.of(memberRole));
+        when(teamMembershipCache.findRole(teamId, userId))
+                .thenReturn(Optional.of(memberRole.getRole()));
 
         assertThrows(AccessDeniedException.class,
                 () -> projectService.archiveProject(projectId));
@@ -563,8 +568,8 @@ class ProjectServiceTest {
         testProject.setIsArchived(true);
 
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(testProject));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId))
-                .thenReturn(Optional.of(adminMember));
+        when(teamMembershipCache.findRole(teamId, userId))
+                .thenReturn(Optional.of(adminMember.getRole()));
 
         projectService.unarchiveProject(projectId);
 
@@ -587,8 +592,8 @@ class ProjectServiceTest {
                 .team(testTeam).user(testUser).role(TeamRole.MEMBER).joinedAt(Instant.now()).build();
 
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(testProject));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId))
-                .thenReturn(Optional.of(memberRole));
+        when(teamMembershipCache.findRole(teamId, userId))
+                .thenReturn(Optional.of(memberRole.getRole()));
 
         assertThrows(AccessDeniedException.class,
                 () -> projectService.unarchiveProject(projectId));
@@ -601,8 +606,8 @@ class ProjectServiceTest {
     void deleteProject_ownerOnly_success() {
         setSecurityContext(userId);
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(testProject));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId))
-                .thenReturn(Optional.of(ownerMember));
+        when(teamMembershipCache.findRole(teamId, userId))
+                .thenReturn(Optional.of(ownerMember.getRole()));
 
         projectService.deleteProject(projectId);
 
@@ -613,7 +618,7 @@ class ProjectServiceTest {
                 agentRunRepository, bugInvestigationRepository,
                 techDebtItemRepository, dependencyVulnerabilityRepository,
                 dependencyScanRepository, healthSnapshotRepository,
-                qaJobRepository, healthScheduleRepository,
+                healthSnapshotBucketRepository, qaJobRepository, healthScheduleRepository,
                 projectDirectiveRepository, directiveRepository,
                 projectRepository
         );
@@ -628,6 +633,7 @@ class ProjectServiceTest {
         inOrder.verify(dependencyVulnerabilityRepository).deleteAllByProjectId(projectId);
         inOrder.verify(dependencyScanRepository).deleteAllByProjectId(projectId);
         inOrder.verify(healthSnapshotRepository).deleteAllByProjectId(projectId);
+        inOrder.verify(healthSnapshotBucketRepository).deleteAllByProjectId(projectId);
         inOrder.verify(qaJobRepository).deleteAllByProjectId(projectId);
         inOrder.verify(healthScheduleRepository).deleteAllByProjectId(projectId);
         inOrder.verify(projectDirectiveRepository).deleteAllByProjectId(projectId);
@@ -639,8 +645,8 @@ class ProjectServiceTest {
     void deleteProject_adminRole_throws() {
         setSecurityContext(userId);
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(testProject));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId))
-                .thenReturn(Optional.of(adminMember));
+        when(teamMembershipCache.findRole(teamId, userId))
+                .thenReturn(Optional.of(adminMember.getRole()));
 
         assertThrows(AccessDeniedException.class,
                 () -> projectService.deleteProject(projectId));
@@ -654,8 +660,8 @@ class ProjectServiceTest {
                 .team(testTeam).user(testUser).role(TeamRole.MEMBER).joinedAt(Instant.now()).build();
 
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(testProject));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId))
-                .thenReturn(Optional.of(memberRole));
+        when(teamMembershipCache.findRole(teamId, userId))
+                .thenReturn(Optional.of(memberRole.getRole()));
 
         assertThrows(AccessDeniedException.class,
                 () -> projectService.deleteProject(projectId));
@@ -674,7 +680,7 @@ class ProjectServiceTest {
     void deleteProject_notTeamMember_throws() {
         setSecurityContext(userId);
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(testProject));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId))
+        when(teamMembershipCache.findRole(teamId, userId))
                 .thenReturn(Optional.empty());
 
         assertThrows(AccessDeniedException.class,
@@ -724,8 +730,8 @@ class ProjectServiceTest {
                 null, null, null, null, null, null, null
         );
 
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId))
-                .thenReturn(Optional.of(ownerMember));
+        when(teamMembershipCache.findRole(teamId, userId))
+                .thenReturn(Optional.of(ownerMember.getRole()));
         when(projectRepository.countByTeamId(teamId)).thenReturn(0L);
         when(teamRepository.findById(teamId)).thenReturn(Optional.of(testTeam));
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
@@ -41,8 +41,9 @@ class QaJobServiceTest {
     @Mock private FindingRepository findingRepository;
     @Mock private ProjectRepository projectRepository;
     @Mock private UserRepository userRepository;
-    @Mock private TeamMemberRepository teamMemberRepository;
+    @Mock private TeamMembershipCache teamMembershipCache;
     @Mock private ProjectService projectService;
+    @Mock private ProjectMetricsRollupService rollupService;
 
     @InjectMocks
     private QaJobService qaJobService;
@@ -58,6 +59,9 @@ class QaJobServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().doCallRealMethod().when(teamMembershipCache).verifyMember(any());
+        lenient().doCallRealMethod().when(teamMembershipCache).verifyAdmin(any());
+        lenient().doCallRealMethod().when(teamMembershipCache).requireRole(any());
         userId = UUID.randomUUID();
         teamId = UUID.randomUUID();
         projectId = UUID.randomUUID();
@@ -120,7 +124,7 @@ class QaJobServiceTest {
         );
 
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
         when(qaJobRepository.save(any(QaJob.class))).thenReturn(job);
 
@@ -138,6 +142,7 @@ class QaJobServiceTest {
         assertEquals(userId, response.startedBy());
         assertEquals("Test User", response.startedByName());
         verify(qaJobRepository).save(any(QaJob.class));
+        verify(rollupService).recordJobCreated(projectId);
     }
 
     @Test
@@ -157,7 +162,7 @@ class QaJobServiceTest {
                 projectId, JobMode.AUDIT, "Job", null, null, null
         );
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(false);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(false);
 
         assertThrows(AccessDeniedException.class, () -> qaJobService.createJob(request));
         verify(qaJobRepository, never()).save(any());
@@ -169,7 +174,7 @@ class QaJobServiceTest {
                 projectId, JobMode.AUDIT, "Job", null, null, null
         );
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(userRepository.findById(userId)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> qaJobService.createJob(request));
@@ -180,7 +185,7 @@ class QaJobServiceTest {
     @Test
     void getJob_success() {
         when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
 
         JobResponse response = qaJobService.getJob(jobId);
 
@@ -199,7 +204,7 @@ class QaJobServiceTest {
     @Test
     void getJob_notTeamMember_throws() {
         when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(false);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(false);
 
         assertThrows(AccessDeniedException.class, () -> qaJobService.getJob(jobId));
     }
@@ -212,7 +217,7 @@ class QaJobServiceTest {
         Page<QaJob> page = new PageImpl<>(List.of(job), pageable, 1);
 
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(qaJobRepository.findByProjectId(projectId, pageable)).thenReturn(page);
 
         PageResponse<JobSummaryResponse> response = qaJobService.getJobsForProject(projectId, pageable);
@@ -236,7 +241,7 @@ class QaJobServiceTest {
     void getJobsForProject_notTeamMember_throws() {
         Pageable pageable = PageRequest.of(0, 20);
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(false);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(false);
 
         assertThrows(AccessDeniedException.class,
                 () -> qaJobService.getJobsForProject(projectId, pageable));
@@ -282,7 +287,7 @@ class QaJobServiceTest {
         );
 
         when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(qaJobRepository.save(any(QaJob.class))).thenReturn(job);
 
         JobResponse response = qaJobService.updateJob(jobId, request);
@@ -309,7 +314,7 @@ class QaJobServiceTest {
         );
 
         when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(qaJobRepository.save(any(QaJob.class))).thenReturn(job);
 
         qaJobService.updateJob(jobId, request);
@@ -329,12 +334,13 @@ class QaJobServiceTest {
         );
 
         when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(qaJobRepository.save(any(QaJob.class))).thenReturn(job);
 
         qaJobService.updateJob(jobId, request);
 
         verify(projectService).updateHealthScore(projectId, 85);
+        verify(rollupService).recordJobUpdated(eq(projectId), any(), eq(JobStatus.COMPLETED), any(), any());
     }
 
     @Test
@@ -344,7 +350,7 @@ class QaJobServiceTest {
         );
 
         when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(qaJobRepository.save(any(QaJob.class))).thenReturn(job);
 
         qaJobService.updateJob(jobId, request);
@@ -359,7 +365,7 @@ class QaJobServiceTest {
         );
 
         when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(qaJobRepository.save(any(QaJob.class))).thenReturn(job);
 
         qaJobService.updateJob(jobId, request);
@@ -383,7 +389,7 @@ class QaJobServiceTest {
                 JobStatus.RUNNING, null, null, null, null, null, null, null, null, null, null
         );
         when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(false);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(false);
 
         assertThrows(AccessDeniedException.class, () -> qaJobService.updateJob(jobId, request));
     }
@@ -400,7 +406,7 @@ class QaJobServiceTest {
                 .build();
 
         when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.of(ownerMember));
+        when(teamMembershipCache.findRole(teamId, userId)).thenReturn(Optional.of(ownerMember.getRole()));
 
         qaJobService.deleteJob(jobId);
 
@@ -417,7 +423,7 @@ class QaJobServiceTest {
                 .build();
 
         when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.of(adminMember));
+        when(teamMembershipCache.findRole(teamId, userId)).thenReturn(Optional.of(adminMember.getRole()));
 
         qaJobService.deleteJob(jobId);
 
@@ -434,7 +440,7 @@ class QaJobServiceTest {
                 .build();
 
         when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.of(member));
+        when(teamMembershipCache.findRole(teamId, userId)).thenReturn(Optional.of(member.getRole()));
 
         assertThrows(AccessDeniedException.class, () -> qaJobService.deleteJob(jobId));
         verify(qaJobRepository, never()).delete(any());
@@ -450,7 +456,7 @@ class QaJobServiceTest {
                 .build();
 
         when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.of(viewer));
+        when(teamMembershipCache.findRole(teamId, userId)).thenReturn(Optional.of(viewer.getRole()));
 
         assertThrows(AccessDeniedException.class, () -> qaJobService.deleteJob(jobId));
         verify(qaJobRepository, never()).delete(any());
@@ -459,7 +465,7 @@ class QaJobServiceTest {
     @Test
     void deleteJob_notTeamMember_throws() {
         when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.empty());
+        when(teamMembershipCache.findRole(teamId, userId)).thenReturn(Optional.empty());
 
         assertThrows(AccessDeniedException.class, () -> qaJobService.deleteJob(jobId));
         verify(qaJobRepository, never()).delete(any());
@@ -488,7 +494,7 @@ class QaJobServiceTest {
         job.setCompletedAt(Instant.now());
 
         when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
 
         JobResponse response = qaJobService.getJob(jobId);
 
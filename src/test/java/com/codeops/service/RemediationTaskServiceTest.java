@@ -28,6 +28,7 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -40,7 +41,7 @@ class RemediationTaskServiceTest {
     @Mock private RemediationTaskRepository remediationTaskRepository;
     @Mock private QaJobRepository qaJobRepository;
     @Mock private UserRepository userRepository;
-    @Mock private TeamMemberRepository teamMemberRepository;
+    @Mock private TeamMembershipCache teamMembershipCache;
     @Mock private FindingRepository findingRepository;
     @Mock private S3StorageService s3StorageService;
 
@@ -60,6 +61,9 @@ class RemediationTaskServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().doCallRealMethod().when(teamMembershipCache).verifyMember(any());
+        lenient().doCallRealMethod().when(teamMembershipCache).verifyAdmin(any());
+        lenient().doCallRealMethod().when(teamMembershipCache).requireRole(any());
         userId = UUID.randomUUID();
         teamId = UUID.randomUUID();
         jobId = UUID.randomUUID();
@@ -109,7 +113,7 @@ class RemediationTaskServiceTest {
                 "Parameterize query", "## Fix", null, List.of(), Priority.P0);
 
         when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(remediationTaskRepository.save(any(RemediationTask.class))).thenAnswer(inv -> {
             RemediationTask t = inv.getArgument(0);
             t.setId(taskId);
@@ -142,7 +146,7 @@ class RemediationTaskServiceTest {
                 null, null, null, null, Priority.P1);
 
         when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(false);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(false);
 
         assertThrows(AccessDeniedException.class, () -> remediationTaskService.createTask(request));
     }
@@ -160,7 +164,7 @@ class RemediationTaskServiceTest {
                 null, null, null, List.of(findingId1, findingId2), Priority.P1);
 
         when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(findingRepository.findAllById(List.of(findingId1, findingId2))).thenReturn(List.of(f1, f2));
         when(remediationTaskRepository.save(any(RemediationTask.class))).thenAnswer(inv -> {
             RemediationTask t = inv.getArgument(0);
@@ -189,7 +193,7 @@ class RemediationTaskServiceTest {
         CreateTaskRequest req2 = new CreateTaskRequest(jobId, 2, "Task 2", null, null, null, null, Priority.P2);
 
         when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(remediationTaskRepository.saveAll(anyList())).thenAnswer(inv -> {
             List<RemediationTask> tasks = inv.getArgument(0);
             for (int i = 0; i < tasks.size(); i++) {
@@ -205,6 +209,43 @@ class RemediationTaskServiceTest {
         verify(remediationTaskRepository).saveAll(anyList());
     }
 
+    @Test
+    void createTasks_withFindings_resolvesAllFindingsInOneQuery() {
+        UUID findingId1 = UUID.randomUUID();
+        UUID findingId2 = UUID.randomUUID();
+        UUID findingId3 = UUID.randomUUID();
+        Finding f1 = Finding.builder().build();
+        f1.setId(findingId1);
+        Finding f2 = Finding.builder().build();
+        f2.setId(findingId2);
+        Finding f3 = Finding.builder().build();
+        f3.setId(findingId3);
+
+        CreateTaskRequest req1 = new CreateTaskRequest(jobId, 1, "Task 1", null, null, null,
+                List.of(findingId1, findingId2), Priority.P1);
+        CreateTaskRequest req2 = new CreateTaskRequest(jobId, 2, "Task 2", null, null, null,
+                List.of(findingId2, findingId3), Priority.P2);
+
+        when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
+        when(findingRepository.findAllById(Set.of(findingId1, findingId2, findingId3)))
+                .thenReturn(List.of(f1, f2, f3));
+        when(remediationTaskRepository.saveAll(anyList())).thenAnswer(inv -> {
+            List<RemediationTask> tasks = inv.getArgument(0);
+            for (RemediationTask task : tasks) {
+                task.setId(UUID.randomUUID());
+                task.setCreatedAt(Instant.now());
+            }
+            return tasks;
+        });
+
+        List<TaskResponse> responses = remediationTaskService.createTasks(List.of(req1, req2));
+
+        assertEquals(List.of(findingId1, findingId2), responses.get(0).findingIds());
+        assertEquals(List.of(findingId2, findingId3), responses.get(1).findingIds());
+        verify(findingRepository, times(1)).findAllById(any());
+    }
+
     @Test
     void createTasks_differentJobs_throws() {
         UUID otherJobId = UUID.randomUUID();
@@ -222,8 +263,8 @@ class RemediationTaskServiceTest {
         Pageable pageable = PageRequest.of(0, 20);
         Page<RemediationTask> page = new PageImpl<>(List.of(task), pageable, 1);
 
-        when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(qaJobRepository.findTeamIdById(jobId)).thenReturn(Optional.of(teamId));
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(remediationTaskRepository.findByJobId(jobId, pageable)).thenReturn(page);
 
         PageResponse<TaskResponse> result = remediationTaskService.getTasksForJob(jobId, pageable);
@@ -234,7 +275,7 @@ class RemediationTaskServiceTest {
 
     @Test
     void getTasksForJob_jobNotFound_throws() {
-        when(qaJobRepository.findById(jobId)).thenReturn(Optional.empty());
+        when(qaJobRepository.findTeamIdById(jobId)).thenReturn(Optional.empty());
         assertThrows(EntityNotFoundException.class,
                 () -> remediationTaskService.getTasksForJob(jobId, PageRequest.of(0, 20)));
     }
@@ -243,8 +284,9 @@ class RemediationTaskServiceTest {
 
     @Test
     void getTask_success() {
+        when(remediationTaskRepository.findTeamIdById(taskId)).thenReturn(Optional.of(teamId));
         when(remediationTaskRepository.findById(taskId)).thenReturn(Optional.of(task));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
 
         TaskResponse response = remediationTaskService.getTask(taskId);
 
@@ -255,14 +297,14 @@ class RemediationTaskServiceTest {
 
     @Test
     void getTask_notFound_throws() {
-        when(remediationTaskRepository.findById(taskId)).thenReturn(Optional.empty());
+        when(remediationTaskRepository.findTeamIdById(taskId)).thenReturn(Optional.empty());
         assertThrows(EntityNotFoundException.class, () -> remediationTaskService.getTask(taskId));
     }
 
     @Test
     void getTask_notTeamMember_throws() {
-        when(remediationTaskRepository.findById(taskId)).thenReturn(Optional.of(task));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(false);
+        when(remediationTaskRepository.findTeamIdById(taskId)).thenReturn(Optional.of(teamId));
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(false);
 
         assertThrows(AccessDeniedException.class, () -> remediationTaskService.getTask(taskId));
     }
@@ -287,8 +329,9 @@ class RemediationTaskServiceTest {
     void updateTask_statusUpdate_success() {
         UpdateTaskRequest request = new UpdateTaskRequest(TaskStatus.ASSIGNED, null, null);
 
+        when(remediationTaskRepository.findTeamIdById(taskId)).thenReturn(Optional.of(teamId));
         when(remediationTaskRepository.findById(taskId)).thenReturn(Optional.of(task));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(remediationTaskRepository.save(any(RemediationTask.class))).thenReturn(task);
 
         TaskResponse response = remediationTaskService.updateTask(taskId, request);
@@ -302,8 +345,9 @@ class RemediationTaskServiceTest {
         UUID assigneeId = assignedUser.getId();
         UpdateTaskRequest request = new UpdateTaskRequest(null, assigneeId, null);
 
+        when(remediationTaskRepository.findTeamIdById(taskId)).thenReturn(Optional.of(teamId));
         when(remediationTaskRepository.findById(taskId)).thenReturn(Optional.of(task));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(userRepository.findById(assigneeId)).thenReturn(Optional.of(assignedUser));
         when(remediationTaskRepository.save(any(RemediationTask.class))).thenReturn(task);
 
@@ -319,8 +363,9 @@ class RemediationTaskServiceTest {
         UUID assigneeId = UUID.randomUUID();
         UpdateTaskRequest request = new UpdateTaskRequest(null, assigneeId, null);
 
+        when(remediationTaskRepository.findTeamIdById(taskId)).thenReturn(Optional.of(teamId));
         when(remediationTaskRepository.findById(taskId)).thenReturn(Optional.of(task));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(userRepository.findById(assigneeId)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> remediationTaskService.updateTask(taskId, request));
@@ -330,8 +375,9 @@ class RemediationTaskServiceTest {
     void updateTask_jiraKey_success() {
         UpdateTaskRequest request = new UpdateTaskRequest(null, null, "PROJ-123");
 
+        when(remediationTaskRepository.findTeamIdById(taskId)).thenReturn(Optional.of(teamId));
         when(remediationTaskRepository.findById(taskId)).thenReturn(Optional.of(task));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(remediationTaskRepository.save(any(RemediationTask.class))).thenReturn(task);
 
         remediationTaskService.updateTask(taskId, request);
@@ -342,7 +388,7 @@ class RemediationTaskServiceTest {
     @Test
     void updateTask_taskNotFound_throws() {
         UpdateTaskRequest request = new UpdateTaskRequest(TaskStatus.COMPLETED, null, null);
-        when(remediationTaskRepository.findById(taskId)).thenReturn(Optional.empty());
+        when(remediationTaskRepository.findTeamIdById(taskId)).thenReturn(Optional.empty());
         assertThrows(EntityNotFoundException.class, () -> remediationTaskService.updateTask(taskId, request));
     }
 
@@ -370,8 +416,9 @@ class RemediationTaskServiceTest {
     void getTask_withAssignedUser_includesAssignedInfo() {
         task.setAssignedTo(assignedUser);
 
+        when(remediationTaskRepository.findTeamIdById(taskId)).thenReturn(Optional.of(teamId));
         when(remediationTaskRepository.findById(taskId)).thenReturn(Optional.of(task));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
 
         TaskResponse response = remediationTaskService.getTask(taskId);
 
@@ -383,8 +430,9 @@ class RemediationTaskServiceTest {
     void getTask_withNoAssignedUser_nullAssignedInfo() {
         task.setAssignedTo(null);
 
+        when(remediationTaskRepository.findTeamIdById(taskId)).thenReturn(Optional.of(teamId));
         when(remediationTaskRepository.findById(taskId)).thenReturn(Optional.of(task));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
 
         TaskResponse response = remediationTaskService.getTask(taskId);
 
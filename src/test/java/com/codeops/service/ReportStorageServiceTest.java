@@ -1,6 +1,7 @@
 package com.codeops.service;
 
 import com.codeops.config.AppConstants;
+import com.codeops.dto.response.PresignedUrlResponse;
 import com.codeops.entity.AgentRun;
 import com.codeops.entity.enums.AgentType;
 import com.codeops.repository.AgentRunRepository;
@@ -11,7 +12,13 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -88,6 +95,42 @@ class ReportStorageServiceTest {
         );
     }
 
+    @Test
+    void uploadReport_stream_passesStreamAndLength() {
+        String expectedKey = AppConstants.S3_REPORTS + jobId + "/security-report.md";
+        InputStream content = new ByteArrayInputStream("# Report".getBytes(StandardCharsets.UTF_8));
+
+        String key = reportStorageService.uploadReport(jobId, AgentType.SECURITY, content, 8);
+
+        assertEquals(expectedKey, key);
+        verify(s3StorageService).upload(expectedKey, content, 8, "text/markdown");
+    }
+
+    @Test
+    void uploadReport_stream_declaredLengthOverLimit_throws() {
+        long tooLarge = AppConstants.MAX_REPORT_SIZE_MB * 1024L * 1024L + 1;
+
+        assertThrows(IllegalArgumentException.class, () -> reportStorageService.uploadReport(
+                jobId, AgentType.SECURITY, new ByteArrayInputStream(new byte[0]), tooLarge));
+        verifyNoInteractions(s3StorageService);
+    }
+
+    @Test
+    void uploadSummaryReport_stream_unknownLength_limitsStream() throws Exception {
+        int maxBytes = AppConstants.MAX_REPORT_SIZE_MB * 1024 * 1024;
+        when(s3StorageService.upload(any(), any(InputStream.class), eq(-1L), eq("text/markdown")))
+                .thenAnswer(inv -> {
+                    InputStream limited = inv.getArgument(1);
+                    limited.transferTo(new ByteArrayOutputStream());
+                    return inv.getArgument(0);
+                });
+
+        assertThrows(IllegalArgumentException.class, () -> reportStorageService.uploadSummaryReport(
+                jobId, new ByteArrayInputStream(new byte[maxBytes + 1]), -1));
+        assertEquals(AppConstants.S3_REPORTS + jobId + "/summary.md", reportStorageService.uploadSummaryReport(
+                jobId, new ByteArrayInputStream(new byte[maxBytes]), -1));
+    }
+
     // --- downloadReport ---
 
     @Test
@@ -197,6 +240,17 @@ class ReportStorageServiceTest {
         assertEquals(expectedKey, key);
     }
 
+    @Test
+    void uploadSpecification_file_passesPath() {
+        Path file = Path.of("/tmp/upload-123.tmp");
+        String expectedKey = AppConstants.S3_SPECS + jobId + "/api-spec.yaml";
+
+        String key = reportStorageService.uploadSpecification(jobId, "api-spec.yaml", file, "application/yaml");
+
+        assertEquals(expectedKey, key);
+        verify(s3StorageService).upload(expectedKey, file, "application/yaml");
+    }
+
     // --- downloadSpecification ---
 
     @Test
@@ -210,4 +264,59 @@ class ReportStorageServiceTest {
         assertArrayEquals(expectedData, result);
         verify(s3StorageService).download(s3Key);
     }
+
+    // --- getStoredObject / downloads ---
+
+    @Test
+    void getStoredObject_delegatesToStorage() {
+        StoredObjectInfo info = new StoredObjectInfo(1234L, "gzip");
+        when(s3StorageService.stat("specs/x/spec.pdf")).thenReturn(info);
+
+        assertEquals(info, reportStorageService.getStoredObject("specs/x/spec.pdf"));
+    }
+
+    @Test
+    void download_whole_delegatesToDecodingDownload() {
+        String s3Key = "reports/" + jobId + "/summary.md";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        when(s3StorageService.download(s3Key, out)).thenReturn(5000L);
+
+        assertEquals(5000L, reportStorageService.download(s3Key, out));
+    }
+
+    @Test
+    void download_range_delegatesToStorage() {
+        String s3Key = "specs/" + jobId + "/api-spec.yaml";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        when(s3StorageService.download(s3Key, 100L, 50L, out)).thenReturn(50L);
+
+        assertEquals(50L, reportStorageService.download(s3Key, 100, 50, out));
+    }
+
+    // --- presigned URLs ---
+
+    @Test
+    void createDownloadUrl_presignsForConfiguredExpiry() {
+        Duration expiry = Duration.ofMinutes(AppConstants.PRESIGNED_URL_EXPIRY_MINUTES);
+        when(s3StorageService.generatePresignedUrl("reports/x/summary.md", expiry)).thenReturn("https://signed");
+
+        PresignedUrlResponse result = reportStorageService.createDownloadUrl("reports/x/summary.md");
+
+        assertEquals("reports/x/summary.md", result.s3Key());
+        assertEquals("https://signed", result.url());
+        assertTrue(result.expiresAt().isAfter(Instant.now()));
+    }
+
+    @Test
+    void createSpecificationUploadUrl_presignsSpecKey() {
+        String expectedKey = "specs/" + jobId + "/api-spec.pdf";
+        when(s3StorageService.generatePresignedUploadUrl(expectedKey, "application/pdf", 2048L,
+                Duration.ofMinutes(AppConstants.PRESIGNED_URL_EXPIRY_MINUTES))).thenReturn("https://signed-put");
+
+        PresignedUrlResponse result = reportStorageService.createSpecificationUploadUrl(jobId, "api-spec.pdf",
+                "application/pdf", 2048L);
+
+        assertEquals(expectedKey, result.s3Key());
+        assertEquals("https://signed-put", result.url());
+    }
 }
@@ -0,0 +1,106 @@
+package com.codeops.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class S3MultipartUploaderTest {
+
+    private static final int PART_SIZE = 1024;
+
+    @TempDir
+    Path tempDir;
+
+    private final FakeS3Client s3 = new FakeS3Client();
+    private ExecutorService executor;
+
+    @AfterEach
+    void tearDown() {
+        if (executor != null) executor.shutdownNow();
+    }
+
+    private S3MultipartUploader uploader(int threads) {
+        executor = Executors.newFixedThreadPool(threads);
+        return new S3MultipartUploader(executor, PART_SIZE);
+    }
+
+    private Path file(int size) throws IOException {
+        byte[] data = new byte[size];
+        for (int i = 0; i < size; i++) data[i] = (byte) (i * 7 + i / PART_SIZE);
+        Path file = tempDir.resolve("spec-" + size + ".bin");
+        Files.write(file, data);
+        return file;
+    }
+
+    @Test
+    void upload_splitsIntoPartsAndAssemblesObject() throws IOException {
+        Path file = file(PART_SIZE * 2 + 300);
+
+        int parts = uploader(4).upload(s3, "bucket", "specs/job/spec.pdf", file, "application/pdf");
+
+        assertEquals(3, parts);
+        assertArrayEquals(Files.readAllBytes(file), s3.object("bucket", "specs/job/spec.pdf"));
+        assertTrue(s3.pendingUploads.isEmpty());
+    }
+
+    @Test
+    void upload_exactMultipleOfPartSize() throws IOException {
+        Path file = file(PART_SIZE * 3);
+
+        int parts = uploader(2).upload(s3, "bucket", "k", file, "application/pdf");
+
+        assertEquals(3, parts);
+        assertArrayEquals(Files.readAllBytes(file), s3.object("bucket", "k"));
+    }
+
+    @Test
+    void upload_sendsPartsConcurrently() throws IOException {
+        Path file = file(PART_SIZE * 3);
+        s3.partGate = new CountDownLatch(3);
+
+        uploader(3).upload(s3, "bucket", "k", file, "application/pdf");
+
+        assertEquals(3, s3.maxPartsInFlight.get());
+        assertArrayEquals(Files.readAllBytes(file), s3.object("bucket", "k"));
+    }
+
+    @Test
+    void upload_concurrencyIsBoundedByPool() throws IOException {
+        Path file = file(PART_SIZE * 8);
+
+        uploader(2).upload(s3, "bucket", "k", file, "application/pdf");
+
+        assertTrue(s3.maxPartsInFlight.get() <= 2);
+        assertArrayEquals(Files.readAllBytes(file), s3.object("bucket", "k"));
+    }
+
+    @Test
+    void upload_partFails_abortsAndStoresNothing() throws IOException {
+        Path file = file(PART_SIZE * 4);
+        s3.failingPart = 2;
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> uploader(4).upload(s3, "bucket", "k", file, "application/pdf"));
+
+        assertTrue(e.getCause().getMessage().contains("injected failure"));
+        assertEquals(1, s3.abortedUploads.size());
+        assertTrue(s3.pendingUploads.isEmpty());
+        assertNull(s3.object("bucket", "k"));
+    }
+
+    @Test
+    void upload_missingFile_throwsWithoutCreatingUpload() {
+        assertThrows(RuntimeException.class, () ->
+                uploader(1).upload(s3, "bucket", "k", tempDir.resolve("missing.bin"), "application/pdf"));
+        assertTrue(s3.pendingUploads.isEmpty());
+    }
+}
@@ -1,5 +1,7 @@
 package com.codeops.service;
 
+import com.codeops.config.AppConstants;
+import com.codeops.exception.NotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -7,23 +9,39 @@ import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectResponse;
 import software.amazon.awssdk.services.s3.model.DeleteObjectResponse;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
 import java.io.IOException;
 import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
 import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -33,6 +51,7 @@ import static org.mockito.Mockito.*;
 class S3StorageServiceTest {
 
     @Mock private S3Client s3Client;
+    @Mock private S3MultipartUploader multipartUploader;
 
     private S3StorageService s3StorageService;
 
@@ -42,7 +61,9 @@ class S3StorageServiceTest {
     @BeforeEach
     void setUp() throws Exception {
         s3StorageService = new S3StorageService();
-        setField(s3StorageService, "localStoragePath", tempDir.toString());
+        setField(s3StorageService, "localStorage", new LocalStorageService(tempDir));
+        setField(s3StorageService, "multipartUploader", multipartUploader);
+        setField(s3StorageService, "urlSigner", new LocalStorageUrlSigner("test-signing-secret", Clock.systemUTC()));
         setField(s3StorageService, "bucket", "test-bucket");
     }
 
@@ -158,6 +179,326 @@ class S3StorageServiceTest {
         assertEquals("reports/file.md", reqCaptor.getValue().key());
     }
 
+    // --- streaming upload/download ---
+
+    @Test
+    void uploadStream_localMode_writesFile() throws IOException {
+        setField(s3StorageService, "s3Enabled", false);
+
+        byte[] data = "streamed content".getBytes(StandardCharsets.UTF_8);
+        s3StorageService.upload("stream/file.bin", new ByteArrayInputStream(data), -1, "application/octet-stream");
+
+        assertArrayEquals(data, Files.readAllBytes(tempDir.resolve("stream/file.bin")));
+    }
+
+    @Test
+    void uploadStream_localMode_failedRead_removesPartialFile() {
+        setField(s3StorageService, "s3Enabled", false);
+        InputStream failing = new InputStream() {
+            private int remaining = 10;
+
+            @Override
+            public int read() throws IOException {
+                if (remaining-- > 0) return 'x';
+                throw new IOException("connection reset");
+            }
+        };
+
+        assertThrows(RuntimeException.class, () ->
+                s3StorageService.upload("stream/partial.md", failing, -1, "text/markdown"));
+        assertFalse(Files.exists(tempDir.resolve("stream/partial.md")));
+        assertFalse(Files.exists(tempDir.resolve("stream/partial.md" + LocalStorageService.GZIP_SUFFIX)));
+    }
+
+    @Test
+    void uploadStream_s3Mode_knownLength_sendsStream() {
+        setField(s3StorageService, "s3Enabled", true);
+        setField(s3StorageService, "s3Client", s3Client);
+        when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
+                .thenReturn(PutObjectResponse.builder().build());
+
+        s3StorageService.upload("reports/file.md", new ByteArrayInputStream(new byte[4]), 4, "text/markdown");
+
+        ArgumentCaptor<RequestBody> bodyCaptor = ArgumentCaptor.forClass(RequestBody.class);
+        verify(s3Client).putObject(any(PutObjectRequest.class), bodyCaptor.capture());
+        assertEquals(4L, bodyCaptor.getValue().optionalContentLength().orElseThrow());
+    }
+
+    @Test
+    void uploadStream_s3Mode_unknownLength_spoolsToGetLength() {
+        setField(s3StorageService, "s3Enabled", true);
+        setField(s3StorageService, "s3Client", s3Client);
+        when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
+                .thenReturn(PutObjectResponse.builder().build());
+
+        s3StorageService.upload("specs/file.bin", new ByteArrayInputStream(new byte[7]), -1, "application/octet-stream");
+
+        ArgumentCaptor<RequestBody> bodyCaptor = ArgumentCaptor.forClass(RequestBody.class);
+        verify(s3Client).putObject(any(PutObjectRequest.class), bodyCaptor.capture());
+        assertEquals(7L, bodyCaptor.getValue().optionalContentLength().orElseThrow());
+    }
+
+    @Test
+    void downloadStream_localMode_transfersFile() throws IOException {
+        setField(s3StorageService, "s3Enabled", false);
+        byte[] data = new byte[200_000];
+        for (int i = 0; i < data.length; i++) data[i] = (byte) i;
+        Files.write(tempDir.resolve("large.bin"), data);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long size = s3StorageService.download("large.bin", out);
+
+        assertEquals(data.length, size);
+        assertArrayEquals(data, out.toByteArray());
+    }
+
+    @Test
+    void downloadStream_localMode_fileNotFound_throwsRuntime() {
+        setField(s3StorageService, "s3Enabled", false);
+
+        assertThrows(RuntimeException.class, () ->
+                s3StorageService.download("missing.bin", new ByteArrayOutputStream()));
+    }
+
+    @Test
+    void downloadStream_s3Mode_copiesResponse() {
+        setField(s3StorageService, "s3Enabled", true);
+        setField(s3StorageService, "s3Client", s3Client);
+        byte[] s3Data = "s3 data".getBytes(StandardCharsets.UTF_8);
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenReturn(
+                new ResponseInputStream<>(GetObjectResponse.builder().build(), new ByteArrayInputStream(s3Data)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long size = s3StorageService.download("reports/file.md", out);
+
+        assertEquals(s3Data.length, size);
+        assertArrayEquals(s3Data, out.toByteArray());
+    }
+
+    // --- file upload ---
+
+    @Test
+    void uploadFile_s3Mode_smallFile_usesSinglePut() throws IOException {
+        setField(s3StorageService, "s3Enabled", true);
+        setField(s3StorageService, "s3Client", s3Client);
+        when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
+                .thenReturn(PutObjectResponse.builder().build());
+        Path file = Files.write(tempDir.resolve("small.pdf"), new byte[1024]);
+
+        s3StorageService.upload("specs/small.pdf", file, "application/pdf");
+
+        verify(s3Client).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+        verifyNoInteractions(multipartUploader);
+    }
+
+    @Test
+    void uploadFile_s3Mode_largeFile_usesMultipart() throws IOException {
+        setField(s3StorageService, "s3Enabled", true);
+        setField(s3StorageService, "s3Client", s3Client);
+        Path file = tempDir.resolve("large.pdf");
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[1]), AppConstants.S3_MULTIPART_THRESHOLD_BYTES - 1);
+        }
+
+        s3StorageService.upload("specs/large.pdf", file, "application/pdf");
+
+        verify(multipartUploader).upload(s3Client, "test-bucket", "specs/large.pdf", file, "application/pdf", null);
+        verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    }
+
+    @Test
+    void uploadFile_localMode_copiesFile() throws IOException {
+        setField(s3StorageService, "s3Enabled", false);
+        Path file = Files.write(tempDir.resolve("source.yaml"), "openapi: 3.0.0".getBytes(StandardCharsets.UTF_8));
+
+        s3StorageService.upload("specs/job/api.yaml", file, "application/yaml");
+
+        assertEquals("openapi: 3.0.0", Files.readString(tempDir.resolve("specs/job/api.yaml")));
+        assertTrue(Files.exists(file));
+    }
+
+    @Test
+    void uploadFile_s3Mode_againstFakeS3_roundTrips() throws IOException {
+        FakeS3Client fakeS3 = new FakeS3Client();
+        setField(s3StorageService, "s3Enabled", true);
+        setField(s3StorageService, "s3Client", fakeS3);
+        byte[] data = new byte[(int) AppConstants.S3_MULTIPART_THRESHOLD_BYTES + 100];
+        for (int i = 0; i < data.length; i++) data[i] = (byte) i;
+        Path file = Files.write(tempDir.resolve("spec.bin"), data);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            setField(s3StorageService, "multipartUploader",
+                    new S3MultipartUploader(executor, AppConstants.S3_MULTIPART_PART_SIZE_BYTES));
+
+            s3StorageService.upload("specs/spec.bin", file, "application/octet-stream");
+
+            assertArrayEquals(data, fakeS3.object("test-bucket", "specs/spec.bin"));
+            assertArrayEquals(data, s3StorageService.download("specs/spec.bin"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // --- ranges and size ---
+
+    @Test
+    void downloadRange_localMode_writesRange() throws IOException {
+        setField(s3StorageService, "s3Enabled", false);
+        Files.write(tempDir.resolve("range.txt"), "0123456789".getBytes(StandardCharsets.UTF_8));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = s3StorageService.download("range.txt", 3, 4, out);
+
+        assertEquals(4, written);
+        assertEquals("3456", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void downloadRange_s3Mode_sendsRangeHeader() {
+        setField(s3StorageService, "s3Enabled", true);
+        setField(s3StorageService, "s3Client", s3Client);
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenReturn(
+                new ResponseInputStream<>(GetObjectResponse.builder().build(), new ByteArrayInputStream(new byte[4])));
+
+        s3StorageService.download("reports/file.md", 3, 4, new ByteArrayOutputStream());
+
+        ArgumentCaptor<GetObjectRequest> reqCaptor = ArgumentCaptor.forClass(GetObjectRequest.class);
+        verify(s3Client).getObject(reqCaptor.capture());
+        assertEquals("bytes=3-6", reqCaptor.getValue().range());
+    }
+
+    @Test
+    void download_s3Mode_wholeObject_sendsNoRangeHeader() {
+        setField(s3StorageService, "s3Enabled", true);
+        setField(s3StorageService, "s3Client", s3Client);
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenReturn(
+                new ResponseInputStream<>(GetObjectResponse.builder().build(), new ByteArrayInputStream(new byte[4])));
+
+        s3StorageService.download("reports/file.md", new ByteArrayOutputStream());
+
+        ArgumentCaptor<GetObjectRequest> reqCaptor = ArgumentCaptor.forClass(GetObjectRequest.class);
+        verify(s3Client).getObject(reqCaptor.capture());
+        assertNull(reqCaptor.getValue().range());
+    }
+
+    @Test
+    void stat_localMode_returnsFileSize() throws IOException {
+        setField(s3StorageService, "s3Enabled", false);
+        Files.write(tempDir.resolve("sized.bin"), new byte[123]);
+
+        assertEquals(new StoredObjectInfo(123, null), s3StorageService.stat("sized.bin"));
+        assertThrows(NotFoundException.class, () -> s3StorageService.stat("missing.bin"));
+    }
+
+    @Test
+    void stat_s3Mode_usesHeadObject() {
+        setField(s3StorageService, "s3Enabled", true);
+        setField(s3StorageService, "s3Client", s3Client);
+        when(s3Client.headObject(any(HeadObjectRequest.class)))
+                .thenReturn(HeadObjectResponse.builder().contentLength(456L).contentEncoding("gzip").build())
+                .thenThrow(NoSuchKeyException.builder().build());
+
+        assertEquals(new StoredObjectInfo(456, "gzip"), s3StorageService.stat("reports/file.md"));
+        assertThrows(NotFoundException.class, () -> s3StorageService.stat("reports/missing.md"));
+    }
+
+    // --- compression ---
+
+    @Test
+    void upload_s3Mode_compressibleContent_storesGzip() {
+        setField(s3StorageService, "s3Enabled", true);
+        setField(s3StorageService, "s3Client", s3Client);
+        when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
+                .thenReturn(PutObjectResponse.builder().build());
+        byte[] report = markdownReport(20_000);
+
+        s3StorageService.upload("reports/job/summary.md", report, "text/markdown");
+
+        ArgumentCaptor<PutObjectRequest> reqCaptor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        ArgumentCaptor<RequestBody> bodyCaptor = ArgumentCaptor.forClass(RequestBody.class);
+        verify(s3Client).putObject(reqCaptor.capture(), bodyCaptor.capture());
+        assertEquals("gzip", reqCaptor.getValue().contentEncoding());
+        assertEquals("text/markdown", reqCaptor.getValue().contentType());
+        assertTrue(bodyCaptor.getValue().optionalContentLength().orElseThrow() < report.length / 4);
+    }
+
+    @Test
+    void upload_s3Mode_binaryContent_storesUnencoded() {
+        setField(s3StorageService, "s3Enabled", true);
+        setField(s3StorageService, "s3Client", s3Client);
+        when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
+                .thenReturn(PutObjectResponse.builder().build());
+
+        s3StorageService.upload("specs/job/spec.pdf", new byte[20_000], "application/pdf");
+
+        ArgumentCaptor<PutObjectRequest> reqCaptor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        verify(s3Client).putObject(reqCaptor.capture(), any(RequestBody.class));
+        assertNull(reqCaptor.getValue().contentEncoding());
+    }
+
+    @Test
+    void upload_s3Mode_compressibleContent_roundTripsAgainstFakeS3() {
+        FakeS3Client fakeS3 = new FakeS3Client();
+        setField(s3StorageService, "s3Enabled", true);
+        setField(s3StorageService, "s3Client", fakeS3);
+        byte[] report = markdownReport(50_000);
+
+        s3StorageService.upload("reports/job/a.md", report, "text/markdown");
+        s3StorageService.upload("reports/job/b.md", new ByteArrayInputStream(report), report.length, "text/markdown");
+
+        for (String key : List.of("reports/job/a.md", "reports/job/b.md")) {
+            StoredObjectInfo info = s3StorageService.stat(key);
+            assertEquals("gzip", info.contentEncoding());
+            assertEquals(fakeS3.object("test-bucket", key).length, info.size());
+            assertArrayEquals(report, s3StorageService.download(key));
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            assertEquals(report.length, s3StorageService.download(key, out));
+            assertArrayEquals(report, out.toByteArray());
+        }
+    }
+
+    @Test
+    void uploadFile_s3Mode_compressibleFile_uploadsCompressedSpool() throws IOException {
+        FakeS3Client fakeS3 = new FakeS3Client();
+        setField(s3StorageService, "s3Enabled", true);
+        setField(s3StorageService, "s3Client", fakeS3);
+        byte[] spec = markdownReport(100_000);
+        Path file = Files.write(tempDir.resolve("spec.json"), spec);
+
+        s3StorageService.upload("specs/job/spec.json", file, "application/json");
+
+        assertEquals("gzip", fakeS3.contentEncodings.get("test-bucket/specs/job/spec.json"));
+        assertTrue(fakeS3.object("test-bucket", "specs/job/spec.json").length < spec.length / 4);
+        assertArrayEquals(spec, s3StorageService.download("specs/job/spec.json"));
+        assertArrayEquals(spec, Files.readAllBytes(file));
+    }
+
+    @Test
+    void upload_localMode_compressibleContent_storesGzipFile() throws IOException {
+        setField(s3StorageService, "s3Enabled", false);
+        byte[] report = markdownReport(20_000);
+
+        s3StorageService.upload("reports/job/summary.md", new ByteArrayInputStream(report), -1, "text/markdown");
+
+        Path stored = tempDir.resolve("reports/job/summary.md" + LocalStorageService.GZIP_SUFFIX);
+        assertTrue(Files.exists(stored));
+        assertFalse(Files.exists(tempDir.resolve("reports/job/summary.md")));
+        assertEquals(new StoredObjectInfo(Files.size(stored), "gzip"), s3StorageService.stat("reports/job/summary.md"));
+        assertArrayEquals(report, s3StorageService.download("reports/job/summary.md"));
+    }
+
+    @Test
+    void download_s3Mode_objectWrittenBeforeCompression_readsAsIs() {
+        setField(s3StorageService, "s3Enabled", true);
+        setField(s3StorageService, "s3Client", s3Client);
+        byte[] legacy = markdownReport(5_000);
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenReturn(
+                new ResponseInputStream<>(GetObjectResponse.builder().build(), new ByteArrayInputStream(legacy)));
+
+        assertArrayEquals(legacy, s3StorageService.download("reports/job/legacy.md"));
+    }
+
     // --- delete (local mode) ---
 
     @Test
@@ -199,20 +540,65 @@ class S3StorageServiceTest {
     // --- generatePresignedUrl ---
 
     @Test
-    void generatePresignedUrl_s3Mode_returnsS3Uri() {
+    void generatePresignedUrl_s3Mode_returnsSignedBucketUrl() {
         setField(s3StorageService, "s3Enabled", true);
         setField(s3StorageService, "s3Client", s3Client);
+        try (S3Presigner presigner = testPresigner()) {
+            setField(s3StorageService, "s3Presigner", presigner);
 
-        String url = s3StorageService.generatePresignedUrl("reports/file.md", Duration.ofHours(1));
-        assertEquals("s3://test-bucket/reports/file.md", url);
+            String url = s3StorageService.generatePresignedUrl("reports/file.md", Duration.ofHours(1));
+
+            assertTrue(url.startsWith("https://test-bucket.s3"), url);
+            assertTrue(url.contains("/reports/file.md?"), url);
+            assertTrue(url.contains("X-Amz-Expires=3600"), url);
+            assertTrue(url.contains("X-Amz-Signature="), url);
+        }
+    }
+
+    @Test
+    void generatePresignedUrl_s3ModeWithoutPresigner_throws() {
+        setField(s3StorageService, "s3Enabled", true);
+        setField(s3StorageService, "s3Client", s3Client);
+
+        assertThrows(IllegalStateException.class,
+                () -> s3StorageService.generatePresignedUrl("reports/file.md", Duration.ofHours(1)));
     }
 
     @Test
-    void generatePresignedUrl_localMode_returnsLocalUri() {
+    void generatePresignedUrl_localMode_returnsSignedLocalUrl() {
         setField(s3StorageService, "s3Enabled", false);
 
         String url = s3StorageService.generatePresignedUrl("reports/file.md", Duration.ofHours(1));
-        assertEquals("local://reports/file.md", url);
+
+        assertTrue(url.startsWith(LocalStorageUrlSigner.PATH + "?key=reports%2Ffile.md&expires="), url);
+        assertTrue(url.contains("&signature="), url);
+    }
+
+    @Test
+    void generatePresignedUploadUrl_s3Mode_signsContentTypeAndLength() {
+        setField(s3StorageService, "s3Enabled", true);
+        setField(s3StorageService, "s3Client", s3Client);
+        try (S3Presigner presigner = testPresigner()) {
+            setField(s3StorageService, "s3Presigner", presigner);
+
+            String url = s3StorageService.generatePresignedUploadUrl("specs/spec.pdf", "application/pdf", 2048,
+                    Duration.ofMinutes(15));
+
+            assertTrue(url.startsWith("https://test-bucket.s3"), url);
+            assertTrue(url.contains("/specs/spec.pdf?"), url);
+            assertTrue(url.contains("X-Amz-SignedHeaders=content-length%3Bcontent-type%3Bhost"), url);
+        }
+    }
+
+    @Test
+    void generatePresignedUploadUrl_localMode_returnsSignedLocalUrl() {
+        setField(s3StorageService, "s3Enabled", false);
+
+        String url = s3StorageService.generatePresignedUploadUrl("specs/spec.pdf", "application/pdf", 2048,
+                Duration.ofMinutes(15));
+
+        assertTrue(url.startsWith(LocalStorageUrlSigner.PATH + "?key=specs%2Fspec.pdf&expires="), url);
+        assertNotEquals(s3StorageService.generatePresignedUrl("specs/spec.pdf", Duration.ofMinutes(15)), url);
     }
 
     // --- round-trip (local mode) ---
@@ -231,6 +617,22 @@ class S3StorageServiceTest {
     /**
      * Helper to set private/injected fields via reflection.
      */
+    private static byte[] markdownReport(int size) {
+        StringBuilder report = new StringBuilder("# Security Report\n\n");
+        for (int i = 0; report.length() < size; i++) {
+            report.append("## Finding ").append(i).append("\n\n- **Severity:** HIGH\n- **File:** src/main/java/Service")
+                    .append(i % 17).append(".java\n\nUnvalidated input reaches a SQL query.\n\n");
+        }
+        return report.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static S3Presigner testPresigner() {
+        return S3Presigner.builder()
+                .region(Region.US_EAST_1)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("AKIDTEST", "secret")))
+                .build();
+    }
+
     private void setField(Object target, String fieldName, Object value) {
         try {
             Field field = target.getClass().getDeclaredField(fieldName);
@@ -0,0 +1,47 @@
+package com.codeops.service;
+
+import com.codeops.entity.HealthSnapshot;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeverityCountsTest {
+
+    @Test
+    void parse_readsEachSeverity() {
+        assertEquals(new SeverityCounts(1, 3, 5, 7),
+                SeverityCounts.parse("{\"CRITICAL\":1,\"HIGH\":3,\"MEDIUM\":5,\"LOW\":7}"));
+    }
+
+    @Test
+    void parse_keysAreCaseInsensitive_unknownKeysIgnored() {
+        assertEquals(new SeverityCounts(2, 0, 4, 0),
+                SeverityCounts.parse("{\"critical\":2,\"Medium\":4,\"INFO\":9}"));
+    }
+
+    @Test
+    void parse_negativeOrNonNumericCountsReadAsZero() {
+        assertEquals(new SeverityCounts(0, 0, 0, 6),
+                SeverityCounts.parse("{\"CRITICAL\":-1,\"HIGH\":\"many\",\"LOW\":6}"));
+    }
+
+    @Test
+    void parse_nullBlankOrMalformed_returnsNone() {
+        assertEquals(SeverityCounts.NONE, SeverityCounts.parse(null));
+        assertEquals(SeverityCounts.NONE, SeverityCounts.parse("  "));
+        assertEquals(SeverityCounts.NONE, SeverityCounts.parse("{not json"));
+        assertEquals(SeverityCounts.NONE, SeverityCounts.parse("[1,2,3]"));
+    }
+
+    @Test
+    void applyTo_setsTypedColumns() {
+        HealthSnapshot snapshot = HealthSnapshot.builder().healthScore(80).build();
+
+        new SeverityCounts(1, 2, 3, 4).applyTo(snapshot);
+
+        assertEquals(1, snapshot.getCriticalCount());
+        assertEquals(2, snapshot.getHighCount());
+        assertEquals(3, snapshot.getMediumCount());
+        assertEquals(4, snapshot.getLowCount());
+    }
+}
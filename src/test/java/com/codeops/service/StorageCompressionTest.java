@@ -0,0 +1,149 @@
+package com.codeops.service;
+
+import com.codeops.config.AppConstants;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StorageCompressionTest {
+
+    private static final Logger log = LoggerFactory.getLogger(StorageCompressionTest.class);
+
+    private static final long LARGE = AppConstants.STORAGE_COMPRESSION_MIN_BYTES;
+
+    @Test
+    void encodingFor_textLikeTypes_isGzip() {
+        assertEquals("gzip", StorageCompression.encodingFor("text/markdown", LARGE));
+        assertEquals("gzip", StorageCompression.encodingFor("text/plain; charset=UTF-8", LARGE));
+        assertEquals("gzip", StorageCompression.encodingFor("application/json", LARGE));
+        assertEquals("gzip", StorageCompression.encodingFor("Application/YAML", LARGE));
+        assertEquals("gzip", StorageCompression.encodingFor("image/svg+xml", LARGE));
+    }
+
+    @Test
+    void encodingFor_unknownLength_isGzipForText() {
+        assertEquals("gzip", StorageCompression.encodingFor("text/markdown", -1));
+    }
+
+    @Test
+    void encodingFor_binaryOrSmallOrUntyped_isNull() {
+        assertNull(StorageCompression.encodingFor("application/pdf", LARGE));
+        assertNull(StorageCompression.encodingFor("application/zip", LARGE));
+        assertNull(StorageCompression.encodingFor("application/octet-stream", -1));
+        assertNull(StorageCompression.encodingFor("text/markdown", LARGE - 1));
+        assertNull(StorageCompression.encodingFor(null, LARGE));
+    }
+
+    @Test
+    void encodeAndDecode_roundTrip() throws IOException {
+        byte[] content = markdownReport(50_000);
+
+        byte[] stored = StorageCompression.encode(content, "gzip");
+
+        assertTrue(stored.length < content.length);
+        assertArrayEquals(content, decode(stored, "gzip"));
+    }
+
+    @Test
+    void encode_withoutEncoding_returnsContent() {
+        byte[] content = "# Summary".getBytes(StandardCharsets.UTF_8);
+
+        assertSame(content, StorageCompression.encode(content, null));
+    }
+
+    @Test
+    void decoder_unknownOrNoEncoding_passesThrough() throws IOException {
+        byte[] content = "# Summary".getBytes(StandardCharsets.UTF_8);
+
+        assertArrayEquals(content, decode(content, null));
+        assertArrayEquals(content, decode(content, "br"));
+    }
+
+    @Test
+    void decoder_encodingIsCaseInsensitive() throws IOException {
+        byte[] content = markdownReport(4_096);
+
+        assertArrayEquals(content, decode(StorageCompression.encode(content, "gzip"), "GZIP"));
+    }
+
+    @Test
+    void markdownReports_compressAtLeastFourfold() throws IOException {
+        for (int size : new int[] {10_000, 100_000, 1_000_000, 10_000_000}) {
+            byte[] content = markdownReport(size);
+
+            long begin = System.nanoTime();
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            try (OutputStream out = StorageCompression.encoder(buffer, "gzip")) {
+                out.write(content);
+            }
+            long compressNanos = System.nanoTime() - begin;
+            byte[] stored = buffer.toByteArray();
+
+            begin = System.nanoTime();
+            byte[] decoded = decode(stored, "gzip");
+            long decompressNanos = System.nanoTime() - begin;
+
+            double ratio = (double) content.length / stored.length;
+            log.info("Markdown report of {} bytes: stored {} bytes ({}x), compress {} MB/s, decompress {} MB/s",
+                    content.length, stored.length, String.format("%.1f", ratio),
+                    String.format("%.0f", throughput(content.length, compressNanos)),
+                    String.format("%.0f", throughput(content.length, decompressNanos)));
+            assertArrayEquals(content, decoded);
+            assertTrue(ratio >= 4, "compression ratio " + ratio + " for " + size + " bytes");
+        }
+    }
+
+    private static byte[] decode(byte[] stored, String encoding) throws IOException {
+        try (InputStream in = StorageCompression.decoder(new ByteArrayInputStream(stored), encoding)) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static double throughput(long bytes, long nanos) {
+        return bytes / (1024.0 * 1024.0) / (Math.max(nanos, 1) / 1e9);
+    }
+
+    /**
+     * Builds a markdown report resembling agent output: headings, finding tables and prose drawn
+     * from a fixed vocabulary, with varying file paths, line numbers and severities.
+     */
+    private static byte[] markdownReport(int size) {
+        String[] severities = {"CRITICAL", "HIGH", "MEDIUM", "LOW"};
+        String[] modules = {"service", "controller", "repository", "security", "config", "entity"};
+        String[] issues = {
+                "Unvalidated input reaches a SQL query built by string concatenation.",
+                "Exception is caught and ignored, hiding failures from the caller.",
+                "Collection is iterated while being modified from another thread.",
+                "Secret is read from configuration and written to the application log.",
+                "Method exceeds the complexity threshold and lacks unit test coverage.",
+                "Dependency version has a known vulnerability; upgrade is recommended."
+        };
+        Random random = new Random(42);
+        StringBuilder report = new StringBuilder(size + 256);
+        report.append("# Security Report\n\n## Summary\n\n| Severity | File | Line | Finding |\n|---|---|---|---|\n");
+        int finding = 0;
+        while (report.length() < size) {
+            if (finding % 25 == 0) {
+                report.append("\n## Findings batch ").append(finding / 25 + 1).append("\n\n");
+            }
+            String module = modules[random.nextInt(modules.length)];
+            report.append("| ").append(severities[random.nextInt(severities.length)])
+                    .append(" | src/main/java/com/example/").append(module).append('/')
+                    .append(Character.toUpperCase(module.charAt(0))).append(module.substring(1))
+                    .append(random.nextInt(40)).append(".java | ").append(1 + random.nextInt(900))
+                    .append(" | ").append(issues[random.nextInt(issues.length)]).append(" |\n");
+            finding++;
+        }
+        return report.substring(0, size).getBytes(StandardCharsets.UTF_8);
+    }
+}
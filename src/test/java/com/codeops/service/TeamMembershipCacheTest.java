@@ -0,0 +1,192 @@
+package com.codeops.service;
+
+import com.codeops.config.AppConstants;
+import com.codeops.entity.TeamMember;
+import com.codeops.entity.enums.TeamRole;
+import com.codeops.repository.TeamMemberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TeamMembershipCacheTest {
+
+    @Mock private TeamMemberRepository teamMemberRepository;
+
+    private final AtomicLong clock = new AtomicLong(5_000_000_000L);
+    private TeamMembershipCache cache;
+    private UUID teamId;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        cache = new TeamMembershipCache(teamMemberRepository, clock::get);
+        teamId = UUID.randomUUID();
+        userId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static TeamMember member(TeamRole role) {
+        return TeamMember.builder().role(role).build();
+    }
+
+    private void setSecurityContext(UUID userId) {
+        var auth = new UsernamePasswordAuthenticationToken(userId, null, List.of());
+        SecurityContextHolder.getContext().setAuthentication(auth);
+    }
+
+    @Test
+    void verifyMember_currentUserIsMember_passes() {
+        setSecurityContext(userId);
+        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.of(member(TeamRole.MEMBER)));
+
+        assertDoesNotThrow(() -> cache.verifyMember(teamId));
+    }
+
+    @Test
+    void verifyMember_currentUserNotMember_throws() {
+        setSecurityContext(userId);
+        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.empty());
+
+        assertThrows(AccessDeniedException.class, () -> cache.verifyMember(teamId));
+    }
+
+    @Test
+    void verifyAdmin_ownerOrAdmin_passes() {
+        setSecurityContext(userId);
+        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.of(member(TeamRole.OWNER)));
+
+        assertDoesNotThrow(() -> cache.verifyAdmin(teamId));
+    }
+
+    @Test
+    void verifyAdmin_plainMember_throws() {
+        setSecurityContext(userId);
+        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.of(member(TeamRole.MEMBER)));
+
+        AccessDeniedException ex = assertThrows(AccessDeniedException.class, () -> cache.verifyAdmin(teamId));
+        assertEquals("Requires OWNER or ADMIN role", ex.getMessage());
+    }
+
+    @Test
+    void requireRole_returnsRoleOrThrows() {
+        setSecurityContext(userId);
+        UUID otherTeam = UUID.randomUUID();
+        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.of(member(TeamRole.ADMIN)));
+        when(teamMemberRepository.findByTeamIdAndUserId(otherTeam, userId)).thenReturn(Optional.empty());
+
+        assertEquals(TeamRole.ADMIN, cache.requireRole(teamId));
+        assertThrows(AccessDeniedException.class, () -> cache.requireRole(otherTeam));
+    }
+
+    @Test
+    void findRole_secondLookupServedFromCache() {
+        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.of(member(TeamRole.ADMIN)));
+
+        assertEquals(Optional.of(TeamRole.ADMIN), cache.findRole(teamId, userId));
+        assertTrue(cache.isMember(teamId, userId));
+
+        verify(teamMemberRepository, times(1)).findByTeamIdAndUserId(teamId, userId);
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    void isMember_nonMemberIsCachedToo() {
+        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.empty());
+
+        assertFalse(cache.isMember(teamId, userId));
+        assertFalse(cache.isMember(teamId, userId));
+
+        verify(teamMemberRepository, times(1)).findByTeamIdAndUserId(teamId, userId);
+    }
+
+    @Test
+    void findRole_reloadsAfterTtl() {
+        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId))
+                .thenReturn(Optional.of(member(TeamRole.MEMBER)), Optional.of(member(TeamRole.OWNER)));
+
+        assertEquals(Optional.of(TeamRole.MEMBER), cache.findRole(teamId, userId));
+        clock.addAndGet(Duration.ofSeconds(AppConstants.TEAM_MEMBERSHIP_CACHE_TTL_SECONDS).toNanos());
+
+        assertEquals(Optional.of(TeamRole.OWNER), cache.findRole(teamId, userId));
+        assertEquals(2, cache.missCount());
+    }
+
+    @Test
+    void evict_forcesReload() {
+        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId))
+                .thenReturn(Optional.of(member(TeamRole.ADMIN)), Optional.empty());
+
+        assertTrue(cache.isMember(teamId, userId));
+        cache.evict(teamId, userId);
+
+        assertFalse(cache.isMember(teamId, userId));
+    }
+
+    @Test
+    void evictTeam_removesOnlyThatTeam() {
+        UUID otherTeamId = UUID.randomUUID();
+        when(teamMemberRepository.findByTeamIdAndUserId(any(), any())).thenReturn(Optional.of(member(TeamRole.MEMBER)));
+        cache.findRole(teamId, userId);
+        cache.findRole(teamId, UUID.randomUUID());
+        cache.findRole(otherTeamId, userId);
+
+        cache.evictTeam(teamId);
+
+        assertEquals(1, cache.size());
+        cache.findRole(otherTeamId, userId);
+        assertEquals(1, cache.hitCount());
+    }
+
+    @Test
+    void evict_inTransaction_evictsAgainAfterCommit() {
+        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.of(member(TeamRole.ADMIN)));
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.evict(teamId, userId);
+        // A concurrent request reads the row before the writing transaction commits
+        cache.findRole(teamId, userId);
+        assertEquals(1, cache.size());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void evictExpired_removesExpiredEntries() {
+        when(teamMemberRepository.findByTeamIdAndUserId(any(), any())).thenReturn(Optional.of(member(TeamRole.MEMBER)));
+        cache.findRole(teamId, userId);
+        clock.addAndGet(Duration.ofSeconds(AppConstants.TEAM_MEMBERSHIP_CACHE_TTL_SECONDS / 2).toNanos());
+        cache.findRole(teamId, UUID.randomUUID());
+        clock.addAndGet(Duration.ofSeconds(AppConstants.TEAM_MEMBERSHIP_CACHE_TTL_SECONDS / 2).toNanos());
+
+        assertEquals(1, cache.evictExpired());
+        assertEquals(1, cache.size());
+    }
+}
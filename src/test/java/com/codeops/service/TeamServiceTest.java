@@ -46,6 +46,7 @@ class TeamServiceTest {
     @Mock private TeamMemberRepository teamMemberRepository;
     @Mock private UserRepository userRepository;
     @Mock private InvitationRepository invitationRepository;
+    @Mock private TeamMembershipCache teamMembershipCache;
 
     @InjectMocks
     private TeamService teamService;
@@ -58,6 +59,9 @@ class TeamServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().doCallRealMethod().when(teamMembershipCache).verifyMember(any());
+        lenient().doCallRealMethod().when(teamMembershipCache).verifyAdmin(any());
+        lenient().doCallRealMethod().when(teamMembershipCache).requireRole(any());
         currentUserId = UUID.randomUUID();
         teamId = UUID.randomUUID();
 
@@ -148,7 +152,7 @@ class TeamServiceTest {
         setSecurityContext(currentUserId);
 
         when(teamRepository.findById(teamId)).thenReturn(Optional.of(testTeam));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, currentUserId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, currentUserId)).thenReturn(true);
         when(teamMemberRepository.countByTeamId(teamId)).thenReturn(3L);
 
         TeamResponse response = teamService.getTeam(teamId);
@@ -163,7 +167,7 @@ class TeamServiceTest {
         setSecurityContext(currentUserId);
 
         when(teamRepository.findById(teamId)).thenReturn(Optional.of(testTeam));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, currentUserId)).thenReturn(false);
+        when(teamMembershipCache.isMember(teamId, currentUserId)).thenReturn(false);
 
         assertThrows(AccessDeniedException.class, () -> teamService.getTeam(teamId));
     }
@@ -219,8 +223,8 @@ class TeamServiceTest {
         UpdateTeamRequest request = new UpdateTeamRequest("Updated Name", "Updated Desc", "https://new-webhook.url");
 
         when(teamRepository.findById(teamId)).thenReturn(Optional.of(testTeam));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, currentUserId))
-                .thenReturn(Optional.of(ownerMember));
+        when(teamMembershipCache.findRole(teamId, currentUserId))
+                .thenReturn(Optional.of(ownerMember.getRole()));
         when(teamRepository.save(any(Team.class))).thenAnswer(inv -> inv.getArgument(0));
         when(teamMemberRepository.countByTeamId(teamId)).thenReturn(1L);
 
@@ -237,8 +241,8 @@ class TeamServiceTest {
         UpdateTeamRequest request = new UpdateTeamRequest(null, null, null);
 
         when(teamRepository.findById(teamId)).thenReturn(Optional.of(testTeam));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, currentUserId))
-                .thenReturn(Optional.of(ownerMember));
+        when(teamMembershipCache.findRole(teamId, currentUserId))
+                .thenReturn(Optional.of(ownerMember.getRole()));
         when(teamRepository.save(any(Team.class))).thenAnswer(inv -> inv.getArgument(0));
         when(teamMemberRepository.countByTeamId(teamId)).thenReturn(1L);
 
@@ -258,8 +262,8 @@ class TeamServiceTest {
         viewerMember.setId(UUID.randomUUID());
 
         when(teamRepository.findById(teamId)).thenReturn(Optional.of(testTeam));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, currentUserId))
-                .thenReturn(Optional.of(viewerMember));
+        when(teamMembershipCache.findRole(teamId, currentUserId))
+                .thenReturn(Optional.of(viewerMember.getRole()));
 
         assertThrows(AccessDeniedException.class, () -> teamService.updateTeam(teamId, request));
         verify(teamRepository, never()).save(any());
@@ -272,12 +276,13 @@ class TeamServiceTest {
         setSecurityContext(currentUserId);
 
         when(teamRepository.findById(teamId)).thenReturn(Optional.of(testTeam));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, currentUserId))
-                .thenReturn(Optional.of(ownerMember));
+        when(teamMembershipCache.findRole(teamId, currentUserId))
+                .thenReturn(Optional.of(ownerMember.getRole()));
 
         teamService.deleteTeam(teamId);
 
         verify(teamRepository).delete(testTeam);
+        verify(teamMembershipCache).evictTeam(teamId);
     }
 
     @Test
@@ -289,8 +294,8 @@ class TeamServiceTest {
         adminMember.setId(UUID.randomUUID());
 
         when(teamRepository.findById(teamId)).thenReturn(Optional.of(testTeam));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, currentUserId))
-                .thenReturn(Optional.of(adminMember));
+        when(teamMembershipCache.findRole(teamId, currentUserId))
+                .thenReturn(Optional.of(adminMember.getRole()));
 
         assertThrows(AccessDeniedException.class, () -> teamService.deleteTeam(teamId));
         verify(teamRepository, never()).delete(any());
@@ -326,7 +331,7 @@ class TeamServiceTest {
                 .team(testTeam).user(otherUser).role(TeamRole.MEMBER).joinedAt(Instant.now()).build();
         memberEntry.setId(UUID.randomUUID());
 
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, currentUserId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, currentUserId)).thenReturn(true);
         when(teamMemberRepository.findByTeamId(teamId)).thenReturn(List.of(ownerMember, memberEntry));
 
         List<TeamMemberResponse> result = teamService.getTeamMembers(teamId);
@@ -342,7 +347,7 @@ class TeamServiceTest {
     void getTeamMembers_notMember_throwsAccessDenied() {
         setSecurityContext(currentUserId);
 
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, currentUserId)).thenReturn(false);
+        when(teamMembershipCache.isMember(teamId, currentUserId)).thenReturn(false);
 
         assertThrows(AccessDeniedException.class, () -> teamService.getTeamMembers(teamId));
     }
@@ -366,8 +371,8 @@ class TeamServiceTest {
 
         UpdateMemberRoleRequest request = new UpdateMemberRoleRequest(TeamRole.ADMIN);
 
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, currentUserId))
-                .thenReturn(Optional.of(ownerMember));
+        when(teamMembershipCache.findRole(teamId, currentUserId))
+                .thenReturn(Optional.of(ownerMember.getRole()));
         when(teamMemberRepository.findByTeamIdAndUserId(teamId, targetUserId))
                 .thenReturn(Optional.of(targetMember));
         when(teamMemberRepository.save(any(TeamMember.class))).thenAnswer(inv -> inv.getArgument(0));
@@ -376,6 +381,7 @@ class TeamServiceTest {
 
         assertEquals(TeamRole.ADMIN, response.role());
         assertEquals("Target User", response.displayName());
+        verify(teamMembershipCache).evict(teamId, targetUserId);
     }
 
     @Test
@@ -395,8 +401,8 @@ class TeamServiceTest {
 
         UpdateMemberRoleRequest request = new UpdateMemberRoleRequest(TeamRole.ADMIN);
 
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, currentUserId))
-                .thenReturn(Optional.of(ownerMember));
+        when(teamMembershipCache.findRole(teamId, currentUserId))
+                .thenReturn(Optional.of(ownerMember.getRole()));
         when(teamMemberRepository.findByTeamIdAndUserId(teamId, ownerTargetId))
                 .thenReturn(Optional.of(ownerTargetMember));
 
@@ -421,8 +427,9 @@ class TeamServiceTest {
 
         UpdateMemberRoleRequest request = new UpdateMemberRoleRequest(TeamRole.OWNER);
 
-        // First call for verifyTeamAdmin, second call for getCurrentUserTeamRole inside ownership transfer,
-        // third call for fetching currentOwnerMember
+        // Role checks go through the cache; the current owner's row is then fetched to demote it
+        when(teamMembershipCache.findRole(teamId, currentUserId))
+                .thenReturn(Optional.of(ownerMember.getRole()));
         when(teamMemberRepository.findByTeamIdAndUserId(teamId, currentUserId))
                 .thenReturn(Optional.of(ownerMember));
         when(teamMemberRepository.findByTeamIdAndUserId(teamId, targetUserId))
@@ -440,6 +447,8 @@ class TeamServiceTest {
         ));
         // Verify team owner was updated
         verify(teamRepository).save(argThat(t -> t.getOwner().equals(targetUser)));
+        verify(teamMembershipCache).evict(teamId, currentUserId);
+        verify(teamMembershipCache).evict(teamId, targetUserId);
     }
 
     @Test
@@ -453,8 +462,8 @@ class TeamServiceTest {
 
         UpdateMemberRoleRequest request = new UpdateMemberRoleRequest(TeamRole.ADMIN);
 
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, currentUserId))
-                .thenReturn(Optional.of(memberRole));
+        when(teamMembershipCache.findRole(teamId, currentUserId))
+                .thenReturn(Optional.of(memberRole.getRole()));
 
         assertThrows(AccessDeniedException.class,
                 () -> teamService.updateMemberRole(teamId, targetUserId, request));
@@ -476,6 +485,7 @@ class TeamServiceTest {
         teamService.removeMember(teamId, currentUserId);
 
         verify(teamMemberRepository).delete(selfMember);
+        verify(teamMembershipCache).evict(teamId, currentUserId);
     }
 
     @Test
@@ -494,14 +504,15 @@ class TeamServiceTest {
         targetMember.setId(UUID.randomUUID());
 
         // verifyTeamAdmin needs to find current user as OWNER/ADMIN
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, currentUserId))
-                .thenReturn(Optional.of(ownerMember));
+        when(teamMembershipCache.findRole(teamId, currentUserId))
+                .thenReturn(Optional.of(ownerMember.getRole()));
         when(teamMemberRepository.findByTeamIdAndUserId(teamId, targetUserId))
                 .thenReturn(Optional.of(targetMember));
 
         teamService.removeMember(teamId, targetUserId);
 
         verify(teamMemberRepository).delete(targetMember);
+        verify(teamMembershipCache).evict(teamId, targetUserId);
     }
 
     @Test
@@ -514,6 +525,7 @@ class TeamServiceTest {
         assertThrows(IllegalArgumentException.class,
                 () -> teamService.removeMember(teamId, currentUserId));
         verify(teamMemberRepository, never()).delete(any(TeamMember.class));
+        verify(teamMembershipCache, never()).evict(any(), any());
     }
 
     @Test
@@ -521,8 +533,8 @@ class TeamServiceTest {
         setSecurityContext(currentUserId);
         UUID targetUserId = UUID.randomUUID();
 
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, currentUserId))
-                .thenReturn(Optional.of(ownerMember));
+        when(teamMembershipCache.findRole(teamId, currentUserId))
+                .thenReturn(Optional.of(ownerMember.getRole()));
         when(teamMemberRepository.findByTeamIdAndUserId(teamId, targetUserId))
                 .thenReturn(Optional.empty());
 
@@ -537,8 +549,8 @@ class TeamServiceTest {
         setSecurityContext(currentUserId);
         InviteMemberRequest request = new InviteMemberRequest("newmember@codeops.dev", TeamRole.MEMBER);
 
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, currentUserId))
-                .thenReturn(Optional.of(ownerMember));
+        when(teamMembershipCache.findRole(teamId, currentUserId))
+                .thenReturn(Optional.of(ownerMember.getRole()));
         when(teamMemberRepository.countByTeamId(teamId)).thenReturn(5L);
         when(userRepository.findByEmail("newmember@codeops.dev")).thenReturn(Optional.empty());
         when(invitationRepository.findByTeamIdAndEmailAndStatusForUpdate(teamId, "newmember@codeops.dev", InvitationStatus.PENDING))
@@ -566,8 +578,8 @@ class TeamServiceTest {
         setSecurityContext(currentUserId);
         InviteMemberRequest request = new InviteMemberRequest("newmember@codeops.dev", TeamRole.MEMBER);
 
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, currentUserId))
-                .thenReturn(Optional.of(ownerMember));
+        when(teamMembershipCache.findRole(teamId, currentUserId))
+                .thenReturn(Optional.of(ownerMember.getRole()));
         when(teamMemberRepository.countByTeamId(teamId)).thenReturn(50L);
 
         assertThrows(IllegalArgumentException.class,
@@ -588,8 +600,8 @@ class TeamServiceTest {
 
         InviteMemberRequest request = new InviteMemberRequest("existing@codeops.dev", TeamRole.MEMBER);
 
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, currentUserId))
-                .thenReturn(Optional.of(ownerMember));
+        when(teamMembershipCache.findRole(teamId, currentUserId))
+                .thenReturn(Optional.of(ownerMember.getRole()));
         when(teamMemberRepository.countByTeamId(teamId)).thenReturn(5L);
         when(userRepository.findByEmail("existing@codeops.dev")).thenReturn(Optional.of(existingUser));
         when(teamMemberRepository.existsByTeamIdAndUserId(teamId, existingUserId)).thenReturn(true);
@@ -610,8 +622,8 @@ class TeamServiceTest {
                 .expiresAt(Instant.now().plus(7, ChronoUnit.DAYS)).build();
         existingInvitation.setId(UUID.randomUUID());
 
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, currentUserId))
-                .thenReturn(Optional.of(ownerMember));
+        when(teamMembershipCache.findRole(teamId, currentUserId))
+                .thenReturn(Optional.of(ownerMember.getRole()));
         when(teamMemberRepository.countByTeamId(teamId)).thenReturn(5L);
         when(userRepository.findByEmail("duplicate@codeops.dev")).thenReturn(Optional.empty());
         when(invitationRepository.findByTeamIdAndEmailAndStatusForUpdate(teamId, "duplicate@codeops.dev", InvitationStatus.PENDING))
@@ -653,6 +665,7 @@ class TeamServiceTest {
         verify(invitationRepository).save(argThat(inv ->
                 inv.getStatus() == InvitationStatus.ACCEPTED
         ));
+        verify(teamMembershipCache).evict(teamId, currentUserId);
     }
 
     @Test
@@ -737,8 +750,8 @@ class TeamServiceTest {
         invitation.setId(invitationId);
 
         when(invitationRepository.findById(invitationId)).thenReturn(Optional.of(invitation));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, currentUserId))
-                .thenReturn(Optional.of(ownerMember));
+        when(teamMembershipCache.findRole(teamId, currentUserId))
+                .thenReturn(Optional.of(ownerMember.getRole()));
         when(invitationRepository.save(any(Invitation.class))).thenAnswer(inv -> inv.getArgument(0));
 
         teamService.cancelInvitation(invitationId);
@@ -775,8 +788,8 @@ class TeamServiceTest {
         viewerMember.setId(UUID.randomUUID());
 
         when(invitationRepository.findById(invitationId)).thenReturn(Optional.of(invitation));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, currentUserId))
-                .thenReturn(Optional.of(viewerMember));
+        when(teamMembershipCache.findRole(teamId, currentUserId))
+                .thenReturn(Optional.of(viewerMember.getRole()));
 
         assertThrows(AccessDeniedException.class,
                 () -> teamService.cancelInvitation(invitationId));
@@ -9,7 +9,6 @@ import com.codeops.entity.enums.*;
 import com.codeops.repository.ProjectRepository;
 import com.codeops.repository.QaJobRepository;
 import com.codeops.repository.TechDebtItemRepository;
-import com.codeops.repository.TeamMemberRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -30,6 +29,7 @@ import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -41,8 +41,9 @@ class TechDebtServiceTest {
 
     @Mock private TechDebtItemRepository techDebtItemRepository;
     @Mock private ProjectRepository projectRepository;
-    @Mock private TeamMemberRepository teamMemberRepository;
+    @Mock private TeamMembershipCache teamMembershipCache;
     @Mock private QaJobRepository qaJobRepository;
+    @Mock private ProjectMetricsRollupService rollupService;
 
     @InjectMocks
     private TechDebtService techDebtService;
@@ -59,6 +60,9 @@ class TechDebtServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().doCallRealMethod().when(teamMembershipCache).verifyMember(any());
+        lenient().doCallRealMethod().when(teamMembershipCache).verifyAdmin(any());
+        lenient().doCallRealMethod().when(teamMembershipCache).requireRole(any());
         userId = UUID.randomUUID();
         teamId = UUID.randomUUID();
         projectId = UUID.randomUUID();
@@ -105,7 +109,7 @@ class TechDebtServiceTest {
                 "src/UserService.java", Effort.M, BusinessImpact.MEDIUM, null);
 
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(techDebtItemRepository.save(any(TechDebtItem.class))).thenAnswer(inv -> {
             TechDebtItem item = inv.getArgument(0);
             item.setId(itemId);
@@ -127,7 +131,7 @@ class TechDebtServiceTest {
                 projectId, DebtCategory.ARCHITECTURE, "Title", null, null, null, null, jobId);
 
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(qaJob));
         when(techDebtItemRepository.save(any(TechDebtItem.class))).thenAnswer(inv -> {
             TechDebtItem item = inv.getArgument(0);
@@ -158,7 +162,7 @@ class TechDebtServiceTest {
                 projectId, DebtCategory.CODE, "Title", null, null, null, null, null);
 
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(false);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(false);
 
         assertThrows(AccessDeniedException.class, () -> techDebtService.createTechDebtItem(request));
     }
@@ -179,7 +183,7 @@ class TechDebtServiceTest {
                 projectId, DebtCategory.TEST, "Item 2", null, null, null, null, null);
 
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(techDebtItemRepository.saveAll(anyList())).thenAnswer(inv -> {
             List<TechDebtItem> items = inv.getArgument(0);
             for (TechDebtItem item : items) {
@@ -194,6 +198,52 @@ class TechDebtServiceTest {
         assertEquals(2, responses.size());
     }
 
+    @Test
+    void createTechDebtItems_sharedFirstDetectedJob_resolvedOnce() {
+        CreateTechDebtItemRequest req1 = new CreateTechDebtItemRequest(
+                projectId, DebtCategory.CODE, "Item 1", null, null, null, null, jobId);
+        CreateTechDebtItemRequest req2 = new CreateTechDebtItemRequest(
+                projectId, DebtCategory.TEST, "Item 2", null, null, null, null, jobId);
+        CreateTechDebtItemRequest req3 = new CreateTechDebtItemRequest(
+                projectId, DebtCategory.DOCUMENTATION, "Item 3", null, null, null, null, null);
+
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
+        when(qaJobRepository.findAllById(Set.of(jobId))).thenReturn(List.of(qaJob));
+        when(techDebtItemRepository.saveAll(anyList())).thenAnswer(inv -> {
+            List<TechDebtItem> items = inv.getArgument(0);
+            for (TechDebtItem item : items) {
+                item.setId(UUID.randomUUID());
+                item.setCreatedAt(Instant.now());
+                item.setUpdatedAt(Instant.now());
+            }
+            return items;
+        });
+
+        List<TechDebtItemResponse> responses = techDebtService.createTechDebtItems(List.of(req1, req2, req3));
+
+        assertEquals(3, responses.size());
+        assertEquals(jobId, responses.get(0).firstDetectedJobId());
+        assertEquals(jobId, responses.get(1).firstDetectedJobId());
+        assertNull(responses.get(2).firstDetectedJobId());
+        verify(qaJobRepository, times(1)).findAllById(any());
+        verify(qaJobRepository, never()).findById(any());
+    }
+
+    @Test
+    void createTechDebtItems_firstDetectedJobNotFound_throws() {
+        CreateTechDebtItemRequest req1 = new CreateTechDebtItemRequest(
+                projectId, DebtCategory.CODE, "Item 1", null, null, null, null, jobId);
+
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
+        when(qaJobRepository.findAllById(Set.of(jobId))).thenReturn(List.of());
+
+        assertThrows(EntityNotFoundException.class,
+                () -> techDebtService.createTechDebtItems(List.of(req1)));
+        verify(techDebtItemRepository, never()).saveAll(anyList());
+    }
+
     @Test
     void createTechDebtItems_differentProjects_throws() {
         UUID otherProjectId = UUID.randomUUID();
@@ -211,7 +261,7 @@ class TechDebtServiceTest {
     @Test
     void getTechDebtItem_success() {
         when(techDebtItemRepository.findById(itemId)).thenReturn(Optional.of(debtItem));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
 
         TechDebtItemResponse response = techDebtService.getTechDebtItem(itemId);
 
@@ -234,7 +284,7 @@ class TechDebtServiceTest {
         Page<TechDebtItem> page = new PageImpl<>(List.of(debtItem), pageable, 1);
 
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(techDebtItemRepository.findByProjectId(projectId, pageable)).thenReturn(page);
 
         PageResponse<TechDebtItemResponse> result = techDebtService.getTechDebtForProject(projectId, pageable);
@@ -250,7 +300,7 @@ class TechDebtServiceTest {
         Page<TechDebtItem> page = new PageImpl<>(List.of(debtItem), pageable, 1);
 
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(techDebtItemRepository.findByProjectIdAndStatus(projectId, DebtStatus.IDENTIFIED, pageable)).thenReturn(page);
 
         PageResponse<TechDebtItemResponse> result =
@@ -267,7 +317,7 @@ class TechDebtServiceTest {
         Page<TechDebtItem> page = new PageImpl<>(List.of(debtItem), pageable, 1);
 
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(techDebtItemRepository.findByProjectIdAndCategory(projectId, DebtCategory.CODE, pageable)).thenReturn(page);
 
         PageResponse<TechDebtItemResponse> result =
@@ -283,7 +333,7 @@ class TechDebtServiceTest {
         UpdateTechDebtStatusRequest request = new UpdateTechDebtStatusRequest(DebtStatus.RESOLVED, jobId);
 
         when(techDebtItemRepository.findById(itemId)).thenReturn(Optional.of(debtItem));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(qaJobRepository.findById(jobId)).thenReturn(Optional.of(qaJob));
         when(techDebtItemRepository.save(any(TechDebtItem.class))).thenReturn(debtItem);
 
@@ -298,7 +348,7 @@ class TechDebtServiceTest {
         UpdateTechDebtStatusRequest request = new UpdateTechDebtStatusRequest(DebtStatus.PLANNED, null);
 
         when(techDebtItemRepository.findById(itemId)).thenReturn(Optional.of(debtItem));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(techDebtItemRepository.save(any(TechDebtItem.class))).thenReturn(debtItem);
 
         techDebtService.updateTechDebtStatus(itemId, request);
@@ -320,7 +370,7 @@ class TechDebtServiceTest {
         TeamMember ownerMember = TeamMember.builder().role(TeamRole.OWNER).build();
 
         when(techDebtItemRepository.findById(itemId)).thenReturn(Optional.of(debtItem));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.of(ownerMember));
+        when(teamMembershipCache.findRole(teamId, userId)).thenReturn(Optional.of(ownerMember.getRole()));
 
         techDebtService.deleteTechDebtItem(itemId);
 
@@ -332,7 +382,7 @@ class TechDebtServiceTest {
         TeamMember adminMember = TeamMember.builder().role(TeamRole.ADMIN).build();
 
         when(techDebtItemRepository.findById(itemId)).thenReturn(Optional.of(debtItem));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.of(adminMember));
+        when(teamMembershipCache.findRole(teamId, userId)).thenReturn(Optional.of(adminMember.getRole()));
 
         techDebtService.deleteTechDebtItem(itemId);
 
@@ -344,7 +394,7 @@ class TechDebtServiceTest {
         TeamMember memberRole = TeamMember.builder().role(TeamRole.MEMBER).build();
 
         when(techDebtItemRepository.findById(itemId)).thenReturn(Optional.of(debtItem));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.of(memberRole));
+        when(teamMembershipCache.findRole(teamId, userId)).thenReturn(Optional.of(memberRole.getRole()));
 
         assertThrows(AccessDeniedException.class, () -> techDebtService.deleteTechDebtItem(itemId));
     }
@@ -352,7 +402,7 @@ class TechDebtServiceTest {
     @Test
     void deleteTechDebtItem_notTeamMember_throws() {
         when(techDebtItemRepository.findById(itemId)).thenReturn(Optional.of(debtItem));
-        when(teamMemberRepository.findByTeamIdAndUserId(teamId, userId)).thenReturn(Optional.empty());
+        when(teamMembershipCache.findRole(teamId, userId)).thenReturn(Optional.empty());
 
         assertThrows(AccessDeniedException.class, () -> techDebtService.deleteTechDebtItem(itemId));
     }
@@ -375,7 +425,7 @@ class TechDebtServiceTest {
                 .title("t3").status(DebtStatus.PLANNED).businessImpact(BusinessImpact.MEDIUM).build();
 
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
-        when(teamMemberRepository.existsByTeamIdAndUserId(teamId, userId)).thenReturn(true);
+        when(teamMembershipCache.isMember(teamId, userId)).thenReturn(true);
         when(techDebtItemRepository.findByProjectId(projectId)).thenReturn(List.of(item1, item2, item3));
 
         Map<String, Object> summary = techDebtService.getDebtSummary(projectId);
@@ -1,19 +1,36 @@
 package com.codeops.service;
 
+import com.codeops.entity.RevokedToken;
+import com.codeops.repository.RevokedTokenRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Instant;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
 
+@ExtendWith(MockitoExtension.class)
 class TokenBlacklistServiceTest {
 
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
     private TokenBlacklistService service;
 
     @BeforeEach
     void setUp() {
-        service = new TokenBlacklistService();
+        service = new TokenBlacklistService(revokedTokenRepository);
+    }
+
+    private RevokedToken revoked(String jti, Instant expiresAt) {
+        return RevokedToken.builder().jti(jti).expiresAt(expiresAt).revokedAt(Instant.now()).build();
     }
 
     @Test
@@ -23,6 +40,26 @@ class TokenBlacklistServiceTest {
         assertTrue(service.isBlacklisted(jti));
     }
 
+    @Test
+    void blacklist_persistsRevocation() {
+        Instant expiry = Instant.now().plusSeconds(3600);
+        service.blacklist("jti-persisted", expiry);
+
+        ArgumentCaptor<RevokedToken> captor = ArgumentCaptor.forClass(RevokedToken.class);
+        verify(revokedTokenRepository).save(captor.capture());
+        assertEquals("jti-persisted", captor.getValue().getJti());
+        assertEquals(expiry, captor.getValue().getExpiresAt());
+        assertNotNull(captor.getValue().getRevokedAt());
+    }
+
+    @Test
+    void blacklist_alreadyExpiredToken_notRecorded() {
+        service.blacklist("expired-jti", Instant.now().minusSeconds(1));
+
+        assertFalse(service.isBlacklisted("expired-jti"));
+        verifyNoInteractions(revokedTokenRepository);
+    }
+
     @Test
     void isBlacklisted_returnsFalseForUnknownToken() {
         assertFalse(service.isBlacklisted("unknown-jti"));
@@ -32,6 +69,7 @@ class TokenBlacklistServiceTest {
     void blacklist_nullJti_noOp() {
         service.blacklist(null, Instant.now());
         assertFalse(service.isBlacklisted(null));
+        verifyNoInteractions(revokedTokenRepository);
     }
 
     @Test
@@ -47,4 +85,47 @@ class TokenBlacklistServiceTest {
         assertTrue(service.isBlacklisted("jti-2"));
         assertFalse(service.isBlacklisted("jti-3"));
     }
+
+    @Test
+    void loadRevokedTokens_restoresUnexpiredRevocations() {
+        when(revokedTokenRepository.findByExpiresAtAfter(any()))
+                .thenReturn(List.of(revoked("persisted-jti", Instant.now().plusSeconds(600))));
+
+        service.loadRevokedTokens();
+
+        assertTrue(service.isBlacklisted("persisted-jti"));
+    }
+
+    @Test
+    void syncFromDatabase_picksUpRevocationsFromOtherNodes() {
+        when(revokedTokenRepository.findByRevokedAtAfterAndExpiresAtAfter(any(), any()))
+                .thenReturn(List.of(revoked("remote-jti", Instant.now().plusSeconds(600))));
+
+        service.syncFromDatabase();
+
+        assertTrue(service.isBlacklisted("remote-jti"));
+    }
+
+    @Test
+    void evictExpired_dropsOnlyFullyExpiredBuckets() {
+        Instant now = Instant.now();
+        service.blacklist("short-lived", now.plusSeconds(30));
+        service.blacklist("long-lived", now.plusSeconds(3600));
+
+        assertEquals(0, service.evictExpired(now));
+        assertEquals(1, service.evictExpired(now.plusSeconds(120)));
+
+        assertFalse(service.isBlacklisted("short-lived"));
+        assertTrue(service.isBlacklisted("long-lived"));
+        assertEquals(1, service.size());
+    }
+
+    @Test
+    void purgeExpired_deletesExpiredRows() {
+        when(revokedTokenRepository.deleteExpired(any())).thenReturn(3);
+
+        service.purgeExpired();
+
+        verify(revokedTokenRepository).deleteExpired(any());
+    }
 }